@@ -323,6 +323,7 @@ dependencies {
     testImplementation(google.hilt.android.test)
     testImplementation(androidx.work.test)
     testImplementation(androidx.navigation.testing)
+    testImplementation(androidx.paging.testing)
 
     //jUnit 5
     testImplementation(platform(testlib.junit5.bom))
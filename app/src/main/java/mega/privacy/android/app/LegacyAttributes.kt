@@ -0,0 +1,94 @@
+package mega.privacy.android.app
+
+import mega.privacy.android.data.model.MegaAttributes
+import mega.privacy.android.domain.entity.StorageState
+import nz.mega.sdk.MegaApiJava
+
+/**
+ * Decrypted row of the attributes table of the legacy database
+ *
+ * The values the app reads as numbers, flags or states are parsed once, when the row is loaded.
+ *
+ * @property online
+ * @property attempts
+ * @property askSizeDownload
+ * @property askNoAppDownload
+ * @property accountDetailsTimeStamp
+ * @property extendedAccountDetailsTimeStamp
+ * @property invalidateSdkCache
+ * @property useHttpsOnly
+ * @property showCopyright
+ * @property showNotifOff
+ * @property lastPublicHandle
+ * @property lastPublicHandleTimeStamp
+ * @property lastPublicHandleType
+ * @property storageState
+ * @property myChatFilesFolderHandle
+ * @property transferQueueStatus
+ */
+internal data class LegacyAttributes(
+    val online: String? = null,
+    val attempts: Int = 0,
+    val askSizeDownload: String? = null,
+    val askNoAppDownload: String? = null,
+    val accountDetailsTimeStamp: String? = null,
+    val extendedAccountDetailsTimeStamp: String? = null,
+    val invalidateSdkCache: String? = null,
+    val useHttpsOnly: String? = null,
+    val showCopyright: String? = null,
+    val showNotifOff: String? = null,
+    val lastPublicHandle: Long? = null,
+    val lastPublicHandleTimeStamp: Long? = null,
+    val lastPublicHandleType: Int = MegaApiJava.AFFILIATE_TYPE_INVALID,
+    val storageState: StorageState = StorageState.Unknown,
+    val myChatFilesFolderHandle: Long? = null,
+    val transferQueueStatus: Boolean? = null,
+)
+
+/**
+ * Maps the attributes to the model shared with the rest of the app
+ *
+ * @return The attributes.
+ */
+internal fun LegacyAttributes.toMegaAttributes() = MegaAttributes(
+    online,
+    attempts,
+    askSizeDownload,
+    askNoAppDownload,
+    accountDetailsTimeStamp,
+    extendedAccountDetailsTimeStamp,
+    invalidateSdkCache,
+    useHttpsOnly,
+    showCopyright,
+    showNotifOff,
+    lastPublicHandle?.toString(),
+    lastPublicHandleTimeStamp?.toString(),
+    lastPublicHandleType,
+    storageState,
+    myChatFilesFolderHandle?.toString(),
+    transferQueueStatus?.toString(),
+)
+
+/**
+ * Maps the attributes shared with the rest of the app
+ *
+ * @return The attributes.
+ */
+internal fun MegaAttributes.toLegacyAttributes() = LegacyAttributes(
+    online = online,
+    attempts = attempts,
+    askSizeDownload = askSizeDownload,
+    askNoAppDownload = askNoAppDownload,
+    accountDetailsTimeStamp = accountDetailsTimeStamp,
+    extendedAccountDetailsTimeStamp = extendedAccountDetailsTimeStamp,
+    invalidateSdkCache = invalidateSdkCache,
+    useHttpsOnly = useHttpsOnly,
+    showCopyright = showCopyright,
+    showNotifOff = showNotifOff,
+    lastPublicHandle = lastPublicHandle,
+    lastPublicHandleTimeStamp = lastPublicHandleTimeStamp,
+    lastPublicHandleType = lastPublicHandleType,
+    storageState = storageState,
+    myChatFilesFolderHandle = myChatFilesFolderHandle,
+    transferQueueStatus = transferQueueStatus?.toBooleanStrictOrNull(),
+)
@@ -0,0 +1,149 @@
+package mega.privacy.android.app
+
+import mega.privacy.android.data.model.MegaPreferences
+
+/**
+ * Decrypted row of the preferences table of the legacy database
+ *
+ * The values the app reads as flags are parsed once, when the row is loaded.
+ *
+ * @property firstTime
+ * @property camSyncWifi
+ * @property camSyncEnabled
+ * @property camSyncHandle
+ * @property camSyncLocalPath
+ * @property camSyncFileUpload
+ * @property camSyncTimeStamp
+ * @property passcodeLockEnabled
+ * @property passcodeLockCode
+ * @property storageAskAlways
+ * @property storageDownloadLocation
+ * @property lastFolderUpload
+ * @property lastFolderCloud
+ * @property secondaryMediaFolderEnabled
+ * @property localPathSecondaryFolder
+ * @property megaHandleSecondaryFolder
+ * @property secSyncTimeStamp
+ * @property keepFileNames
+ * @property storageAdvancedDevices
+ * @property preferredViewList
+ * @property preferredViewListCameraUploads
+ * @property uriExternalSDCard
+ * @property cameraFolderExternalSDCard
+ * @property passcodeLockType
+ * @property preferredSortCloud
+ * @property preferredSortOthers
+ * @property firstTimeChat
+ * @property uploadVideoQuality
+ * @property conversionOnCharging
+ * @property chargingOnSize
+ * @property camVideoSyncTimeStamp
+ * @property secVideoSyncTimeStamp
+ * @property isAutoPlayEnabled
+ * @property removeGPS
+ * @property showInviteBanner
+ * @property preferredSortCameraUpload
+ * @property sdCardUri
+ * @property askForDisplayOver
+ * @property askForSetDownloadLocation
+ * @property mediaSDCardUri
+ * @property isMediaOnSDCard
+ * @property passcodeLockRequireTime
+ * @property fingerprintLock
+ */
+internal data class LegacyPreferences(
+    val firstTime: String? = null,
+    val camSyncWifi: String? = null,
+    val camSyncEnabled: String? = null,
+    val camSyncHandle: String? = null,
+    val camSyncLocalPath: String? = null,
+    val camSyncFileUpload: String? = null,
+    val camSyncTimeStamp: String? = null,
+    val passcodeLockEnabled: Boolean? = null,
+    val passcodeLockCode: String? = null,
+    val storageAskAlways: String? = null,
+    val storageDownloadLocation: String? = null,
+    val lastFolderUpload: String? = null,
+    val lastFolderCloud: String? = null,
+    val secondaryMediaFolderEnabled: String? = null,
+    val localPathSecondaryFolder: String? = null,
+    val megaHandleSecondaryFolder: String? = null,
+    val secSyncTimeStamp: String? = null,
+    val keepFileNames: String? = null,
+    val storageAdvancedDevices: String? = null,
+    val preferredViewList: String? = null,
+    val preferredViewListCameraUploads: String? = null,
+    val uriExternalSDCard: String? = null,
+    val cameraFolderExternalSDCard: String? = null,
+    val passcodeLockType: String? = null,
+    val preferredSortCloud: String? = null,
+    val preferredSortOthers: String? = null,
+    val firstTimeChat: String? = null,
+    val uploadVideoQuality: String? = null,
+    val conversionOnCharging: String? = null,
+    val chargingOnSize: String? = null,
+    val camVideoSyncTimeStamp: String? = null,
+    val secVideoSyncTimeStamp: String? = null,
+    val isAutoPlayEnabled: String? = null,
+    val removeGPS: String? = null,
+    val showInviteBanner: String? = null,
+    val preferredSortCameraUpload: String? = null,
+    val sdCardUri: String? = null,
+    val askForDisplayOver: String? = null,
+    val askForSetDownloadLocation: Boolean? = null,
+    val mediaSDCardUri: String? = null,
+    val isMediaOnSDCard: String? = null,
+    val passcodeLockRequireTime: String? = null,
+    val fingerprintLock: Boolean? = false,
+)
+
+/**
+ * Maps the preferences to the model shared with the rest of the app
+ *
+ * @return Preferences.
+ */
+internal fun LegacyPreferences.toMegaPreferences() = MegaPreferences(
+    firstTime,
+    camSyncWifi,
+    camSyncEnabled,
+    camSyncHandle,
+    camSyncLocalPath,
+    camSyncFileUpload,
+    camSyncTimeStamp,
+    passcodeLockEnabled?.toString(),
+    passcodeLockCode,
+    storageAskAlways,
+    storageDownloadLocation,
+    lastFolderUpload,
+    lastFolderCloud,
+    secondaryMediaFolderEnabled,
+    localPathSecondaryFolder,
+    megaHandleSecondaryFolder,
+    secSyncTimeStamp,
+    keepFileNames,
+    storageAdvancedDevices,
+    preferredViewList,
+    preferredViewListCameraUploads,
+    uriExternalSDCard,
+    cameraFolderExternalSDCard,
+    passcodeLockType,
+    preferredSortCloud,
+    preferredSortOthers,
+    firstTimeChat,
+    uploadVideoQuality,
+    conversionOnCharging,
+    chargingOnSize,
+    camVideoSyncTimeStamp,
+    secVideoSyncTimeStamp,
+    isAutoPlayEnabled,
+    removeGPS,
+    showInviteBanner,
+    preferredSortCameraUpload,
+    sdCardUri,
+    askForDisplayOver,
+    askForSetDownloadLocation?.toString(),
+    mediaSDCardUri,
+    isMediaOnSDCard,
+    passcodeLockRequireTime,
+    fingerprintLock?.toString(),
+)
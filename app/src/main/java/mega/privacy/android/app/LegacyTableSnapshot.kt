@@ -0,0 +1,155 @@
+package mega.privacy.android.app
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import timber.log.Timber
+
+/**
+ * Decrypted in-memory snapshot of a single row table of the legacy database, such as the
+ * preferences or the attributes
+ *
+ * The row is read, decrypted and parsed into its typed model once by [load], which is expected to
+ * be called in a background thread before the first reader arrives; a reader arriving earlier
+ * loads it. From then on readers get the immutable model, without locks or database queries.
+ * Writes update the model at once and are written to the database in the background. Values
+ * written while a previous write is in progress are coalesced into a single update of the row.
+ *
+ * @param T the typed model of the row
+ * @param readRow reads, decrypts and parses the row, or returns null if there is no row
+ * @param emptyRow the model of a row without values, updated by the writes when there is no row
+ * @param writeColumns encrypts and writes some columns of the row, creating it if there is none
+ * @param scope the scope of the background writes
+ * @param ioDispatcher the dispatcher of the background writes
+ */
+internal class LegacyTableSnapshot<T : Any>(
+    private val readRow: () -> T?,
+    private val emptyRow: T,
+    private val writeColumns: (Map<String, String?>) -> Unit,
+    scope: CoroutineScope,
+    ioDispatcher: CoroutineDispatcher,
+) {
+
+    /**
+     * Loaded row, with a null [row] if the table has no row
+     */
+    private class Snapshot<T>(val row: T?)
+
+    private val snapshot = MutableStateFlow<Snapshot<T>?>(null)
+
+    private val loadLock = Any()
+
+    private val writeLock = Any()
+
+    /**
+     * Guards the [snapshot] updates together with the [pendingValues], so a value set in memory
+     * is always written to disk unless a [clear] discards both
+     */
+    private val stateLock = Any()
+
+    private val pendingValues = LinkedHashMap<String, String?>()
+
+    private val writeRequests = Channel<Unit>(Channel.CONFLATED)
+
+    init {
+        scope.launch(ioDispatcher) {
+            for (request in writeRequests) {
+                writePendingValues()
+            }
+        }
+    }
+
+    /**
+     * Reads the row if it is not loaded yet. A failed read is retried by the next reader.
+     */
+    fun load() {
+        if (snapshot.value != null) return
+        synchronized(loadLock) {
+            if (snapshot.value != null) return
+            runCatching { readRow() }
+                .onSuccess { snapshot.value = Snapshot(it) }
+                .onFailure { Timber.e(it, "Exception reading legacy table") }
+        }
+    }
+
+    /**
+     * Gets the row
+     *
+     * @return the row, or null if there is no row
+     */
+    fun getRow(): T? {
+        load()
+        return snapshot.value?.row
+    }
+
+    /**
+     * Monitors the row, emitting it again every time a value changes
+     *
+     * @return flow of the row, or null if there is no row
+     */
+    fun monitorRow(): Flow<T?> = flow {
+        load()
+        emitAll(snapshot.filterNotNull().map { it.row })
+    }
+
+    /**
+     * Sets a value
+     *
+     * @param column the column
+     * @param value the value to write in the column
+     * @param update sets the value in the row
+     */
+    fun set(column: String, value: String?, update: (T) -> T) =
+        setAll(mapOf(column to value), update)
+
+    /**
+     * Sets several values at once
+     *
+     * @param values the values to write by column
+     * @param update sets the values in the row
+     */
+    fun setAll(values: Map<String, String?>, update: (T) -> T) {
+        load()
+        synchronized(stateLock) {
+            // A row that could not be read stays unloaded, to be read again with the written values
+            snapshot.update { current -> current?.let { Snapshot(update(it.row ?: emptyRow)) } }
+            pendingValues.putAll(values)
+        }
+        writeRequests.trySend(Unit)
+    }
+
+    /**
+     * Deletes the row, discarding the values not written yet
+     *
+     * @param deleteRow deletes the row, or the whole table, in the database
+     */
+    fun clear(deleteRow: () -> Unit) {
+        // The write lock waits for a write in progress, so it cannot recreate the row afterwards
+        synchronized(writeLock) {
+            synchronized(stateLock) {
+                pendingValues.clear()
+                deleteRow()
+                snapshot.value = Snapshot(null)
+            }
+        }
+    }
+
+    private fun writePendingValues() {
+        synchronized(writeLock) {
+            val values = synchronized(stateLock) {
+                LinkedHashMap(pendingValues).also { pendingValues.clear() }
+            }
+            if (values.isEmpty()) return
+            runCatching { writeColumns(values) }
+                .onFailure { Timber.e(it, "Exception writing legacy table") }
+        }
+    }
+}
@@ -11,6 +11,7 @@ import androidx.lifecycle.ProcessLifecycleOwner
 import androidx.multidex.MultiDexApplication
 import coil.ImageLoader
 import coil.ImageLoaderFactory
+import coil.memory.MemoryCache
 import coil.decode.GifDecoder
 import coil.decode.ImageDecoderDecoder
 import coil.decode.SvgDecoder
@@ -56,8 +57,8 @@ import mega.privacy.android.domain.monitoring.CrashReporter
 import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.usecase.IsUserLoggedIn
 import mega.privacy.android.domain.usecase.apiserver.UpdateApiServerUseCase
-import mega.privacy.android.domain.usecase.appstart.AppStartTask
 import mega.privacy.android.domain.usecase.appstart.AppStopTask
+import mega.privacy.android.domain.usecase.appstart.RunAppStartTasksUseCase
 import mega.privacy.android.domain.usecase.setting.GetMiscFlagsUseCase
 import mega.privacy.android.domain.usecase.setting.UpdateCrashAndPerformanceReportersUseCase
 import nz.mega.sdk.MegaApiAndroid
@@ -124,10 +125,10 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
         }
 
     @Inject
-    lateinit var getMiscFlagsUseCase: GetMiscFlagsUseCase
+    lateinit var getMiscFlagsUseCase: Lazy<GetMiscFlagsUseCase>
 
     @Inject
-    lateinit var isUserLoggedIn: IsUserLoggedIn
+    lateinit var isUserLoggedIn: Lazy<IsUserLoggedIn>
 
     @Inject
     lateinit var myAccountInfo: MyAccountInfo
@@ -139,7 +140,7 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     lateinit var crashReporter: CrashReporter
 
     @Inject
-    lateinit var updateCrashAndPerformanceReportersUseCase: UpdateCrashAndPerformanceReportersUseCase
+    lateinit var updateCrashAndPerformanceReportersUseCase: Lazy<UpdateCrashAndPerformanceReportersUseCase>
 
     @Inject
     lateinit var monitorCallSoundsUseCase: MonitorCallSoundsUseCase
@@ -173,7 +174,7 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     lateinit var chatRequestHandler: MegaChatRequestHandler
 
     @Inject
-    lateinit var rtcAudioManagerGateway: RTCAudioManagerGateway
+    lateinit var rtcAudioManagerGateway: Lazy<RTCAudioManagerGateway>
 
     @Inject
     lateinit var callChangesObserver: CallChangesObserver
@@ -194,10 +195,10 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     internal lateinit var avatarFactory: MegaAvatarFetcher.Factory
 
     @Inject
-    internal lateinit var updateApiServerUseCase: UpdateApiServerUseCase
+    internal lateinit var updateApiServerUseCase: Lazy<UpdateApiServerUseCase>
 
     @Inject
-    internal lateinit var appStartTasks: Set<@JvmSuppressWildcards AppStartTask>
+    internal lateinit var runAppStartTasksUseCase: Lazy<RunAppStartTasksUseCase>
 
     @Inject
     internal lateinit var appStopTasks: Set<@JvmSuppressWildcards AppStopTask>
@@ -251,7 +252,7 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
             }
         }
         applicationScope.launch {
-            runCatching { updateApiServerUseCase() }
+            runCatching { updateApiServerUseCase.get().invoke() }
             // clear the cache files stored in the external cache folder.
             clearPublicCache()
         }
@@ -265,6 +266,11 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     override fun newImageLoader(): ImageLoader {
         return ImageLoader.Builder(this)
             .respectCacheHeaders(false)
+            .memoryCache {
+                MemoryCache.Builder(this)
+                    .maxSizePercent(IMAGE_MEMORY_CACHE_PERCENT)
+                    .build()
+            }
             .components {
                 if (SDK_INT >= Build.VERSION_CODES.P) {
                     add(ImageDecoderDecoder.Factory())
@@ -292,7 +298,8 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
             if (backgroundStatus != -1 && backgroundStatus != 0) {
                 megaChatApi.setBackgroundStatus(false)
             }
-            appStartTasks.forEach { it() }
+            runCatching { runAppStartTasksUseCase.get().invoke() }
+                .onFailure { Timber.e(it, "App start tasks failed") }
         }
     }
 
@@ -393,9 +400,9 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     private fun getMiscFlagsIfNeeded() {
         applicationScope.launch {
             runCatching {
-                val isUserLoggedOut = isUserLoggedIn().not()
+                val isUserLoggedOut = isUserLoggedIn.get().invoke().not()
                 if (isUserLoggedOut) {
-                    getMiscFlagsUseCase()
+                    getMiscFlagsUseCase.get().invoke()
                 }
             }.onFailure {
                 Timber.e("Failed to get misc flags: $it")
@@ -409,7 +416,7 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     fun checkEnabledCookies() {
         applicationScope.launch {
             runCatching {
-                updateCrashAndPerformanceReportersUseCase()
+                updateCrashAndPerformanceReportersUseCase.get().invoke()
             }.onFailure {
                 Timber.e("Failed to get cookie settings: $it")
             }
@@ -451,18 +458,18 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     fun createOrUpdateAudioManager(isSpeakerOn: Boolean, type: Int) {
         Timber.d("Create or update audio manager, type is %s", type)
         chatManagement.registerScreenReceiver()
-        rtcAudioManagerGateway.createOrUpdateAudioManager(isSpeakerOn, type)
+        rtcAudioManagerGateway.get().createOrUpdateAudioManager(isSpeakerOn, type)
     }
 
     /**
      * Remove the incoming call AppRTCAudioManager.
      */
-    fun removeRTCAudioManagerRingIn() = rtcAudioManagerGateway.removeRTCAudioManagerRingIn()
+    fun removeRTCAudioManagerRingIn() = rtcAudioManagerGateway.get().removeRTCAudioManagerRingIn()
 
     /**
      * Activate the proximity sensor.
      */
-    fun startProximitySensor() = rtcAudioManagerGateway.startProximitySensor { isNear: Boolean ->
+    fun startProximitySensor() = rtcAudioManagerGateway.get().startProximitySensor { isNear: Boolean ->
         chatManagement.controlProximitySensor(isNear)
     }
 
@@ -494,6 +501,11 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
         get() = activityLifecycleHandler.getCurrentActivity()
 
     companion object {
+        /**
+         * Share of the app memory used to keep decoded images, thumbnails and previews included
+         */
+        private const val IMAGE_MEMORY_CACHE_PERCENT = 0.25
+
         /**
          * App Key
          */
@@ -1,7 +1,6 @@
 package mega.privacy.android.app
 
 import android.content.ContentValues
-import android.database.Cursor
 import android.database.sqlite.SQLiteDatabase
 import android.database.sqlite.SQLiteException
 import android.provider.Settings
@@ -9,7 +8,10 @@ import android.util.Base64
 import androidx.sqlite.db.SupportSQLiteDatabase
 import androidx.sqlite.db.SupportSQLiteOpenHelper
 import dagger.Lazy
+import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import mega.privacy.android.app.utils.Constants
@@ -33,6 +35,7 @@ import mega.privacy.android.domain.entity.settings.ChatSettings
 import mega.privacy.android.domain.entity.settings.ChatSettings.Companion.VIBRATION_ON
 import mega.privacy.android.domain.entity.user.UserCredentials
 import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
 import nz.mega.sdk.MegaApiJava
 import timber.log.Timber
 import javax.inject.Inject
@@ -48,10 +51,35 @@ class SqliteDatabaseHandler @Inject constructor(
     private val megaLocalRoomGateway: MegaLocalRoomGateway,
     private val sqLiteOpenHelper: Lazy<SupportSQLiteOpenHelper>,
     private val legacyDatabaseMigration: LegacyDatabaseMigration,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : LegacyDatabaseHandler {
     private val writableDatabase: SupportSQLiteDatabase by lazy { sqLiteOpenHelper.get().writableDatabase }
     private val readableDatabase: SupportSQLiteDatabase by lazy { sqLiteOpenHelper.get().readableDatabase }
 
+    private val preferencesSnapshot = LegacyTableSnapshot(
+        readRow = { readRow(TABLE_PREFERENCES, PREFERENCES_COLUMNS)?.toLegacyPreferences() },
+        emptyRow = LegacyPreferences(),
+        writeColumns = { writeColumns(TABLE_PREFERENCES, it) },
+        scope = applicationScope,
+        ioDispatcher = ioDispatcher,
+    )
+
+    private val attributesSnapshot = LegacyTableSnapshot(
+        readRow = { readRow(TABLE_ATTRIBUTES, ATTRIBUTES_COLUMNS)?.toLegacyAttributes() },
+        emptyRow = LegacyAttributes(),
+        writeColumns = { writeColumns(TABLE_ATTRIBUTES, it) },
+        scope = applicationScope,
+        ioDispatcher = ioDispatcher,
+    )
+
+    init {
+        // Preferences and attributes are read at start up, so they are decrypted in advance
+        applicationScope.launch(ioDispatcher) {
+            preferencesSnapshot.load()
+            attributesSnapshot.load()
+        }
+    }
+
     //get the credential of last login
     override val credentials: UserCredentials?
         get() {
@@ -108,242 +136,65 @@ class SqliteDatabaseHandler @Inject constructor(
      * @return Preferences.
      */
     override val preferences: MegaPreferences?
-        get() = getPreferences(writableDatabase)
+        get() = preferencesSnapshot.getRow()?.toMegaPreferences()
+
+    override fun monitorPreferences(): Flow<MegaPreferences?> =
+        preferencesSnapshot.monitorRow().map { it?.toMegaPreferences() }
 
     /**
-     * Gets preferences.
+     * Maps the decrypted row of the preferences table.
      *
-     * @param db Current DB.
      * @return Preferences.
      */
-    private fun getPreferences(db: SupportSQLiteDatabase): MegaPreferences? {
-        var prefs: MegaPreferences? = null
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        try {
-            db.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val firstTime =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_FIRST_LOGIN)))
-                    val camSyncEnabled =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_CAM_SYNC_ENABLED)))
-                    val camSyncHandle =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_CAM_SYNC_HANDLE)))
-                    val camSyncLocalPath =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_CAM_SYNC_LOCAL_PATH)))
-                    val wifi = decrypt(cursor.getString(getColumnIndex(cursor, KEY_CAM_SYNC_WIFI)))
-                    val fileUpload =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_CAM_SYNC_FILE_UPLOAD)))
-                    val pinLockEnabled =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_PASSCODE_LOCK_ENABLED)))
-                    val pinLockCode =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_PASSCODE_LOCK_CODE)))
-                    val askAlways =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_STORAGE_ASK_ALWAYS)))
-                    val downloadLocation = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_STORAGE_DOWNLOAD_LOCATION
-                            )
-                        )
-                    )
-                    val camSyncTimeStamp =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_CAM_SYNC_TIMESTAMP)))
-                    val lastFolderUpload =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_LAST_UPLOAD_FOLDER)))
-                    val lastFolderCloud = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_LAST_CLOUD_FOLDER_HANDLE
-                            )
-                        )
-                    )
-                    val secondaryFolderEnabled =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SEC_FOLDER_ENABLED)))
-                    val secondaryPath =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SEC_FOLDER_LOCAL_PATH)))
-                    val secondaryHandle =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SEC_FOLDER_HANDLE)))
-                    val secSyncTimeStamp =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SEC_SYNC_TIMESTAMP)))
-                    val keepFileNames =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_KEEP_FILE_NAMES)))
-                    val storageAdvancedDevices = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_STORAGE_ADVANCED_DEVICES
-                            )
-                        )
-                    )
-                    val preferredViewList =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_PREFERRED_VIEW_LIST)))
-                    val preferredViewListCamera = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_PREFERRED_VIEW_LIST_CAMERA
-                            )
-                        )
-                    )
-                    val uriExternalSDCard =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_URI_EXTERNAL_SD_CARD)))
-                    val cameraFolderExternalSDCard = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_CAMERA_FOLDER_EXTERNAL_SD_CARD
-                            )
-                        )
-                    )
-                    val pinLockType =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_PASSCODE_LOCK_TYPE)))
-                    val preferredSortCloud =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_PREFERRED_SORT_CLOUD)))
-                    val preferredSortOthers =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_PREFERRED_SORT_OTHERS)))
-                    val firstTimeChat =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_FIRST_LOGIN_CHAT)))
-                    val isAutoPlayEnabled =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_AUTO_PLAY)))
-                    val uploadVideoQuality =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_UPLOAD_VIDEO_QUALITY)))
-                    val conversionOnCharging = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_CONVERSION_ON_CHARGING
-                            )
-                        )
-                    )
-                    val chargingOnSize =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_CHARGING_ON_SIZE)))
-                    val camVideoSyncTimeStamp = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_CAM_VIDEO_SYNC_TIMESTAMP
-                            )
-                        )
-                    )
-                    val secVideoSyncTimeStamp = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_SEC_VIDEO_SYNC_TIMESTAMP
-                            )
-                        )
-                    )
-                    val removeGPS =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_REMOVE_GPS)))
-                    val closeInviteBanner =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SHOW_INVITE_BANNER)))
-                    val preferredSortCameraUpload = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_PREFERRED_SORT_CAMERA_UPLOAD
-                            )
-                        )
-                    )
-                    val sdCardUri =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SD_CARD_URI)))
-                    val askForDisplayOver =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_ASK_FOR_DISPLAY_OVER)))
-                    val askForSetDownloadLocation = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_ASK_SET_DOWNLOAD_LOCATION
-                            )
-                        )
-                    )
-                    val mediaSDCardUri = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_URI_MEDIA_EXTERNAL_SD_CARD
-                            )
-                        )
-                    )
-                    val isMediaOnSDCard = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_MEDIA_FOLDER_EXTERNAL_SD_CARD
-                            )
-                        )
-                    )
-                    val passcodeLockRequireTime = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_PASSCODE_LOCK_REQUIRE_TIME
-                            )
-                        )
-                    )
-                    val fingerprintLock =
-                        if (cursor.getColumnIndex(KEY_FINGERPRINT_LOCK) != Constants.INVALID_VALUE) decrypt(
-                            cursor.getString(
-                                getColumnIndex(
-                                    cursor,
-                                    KEY_FINGERPRINT_LOCK
-                                )
-                            )
-                        ) else "false"
-                    prefs = MegaPreferences(
-                        firstTime,
-                        wifi,
-                        camSyncEnabled,
-                        camSyncHandle,
-                        camSyncLocalPath,
-                        fileUpload,
-                        camSyncTimeStamp,
-                        pinLockEnabled,
-                        pinLockCode,
-                        askAlways,
-                        downloadLocation,
-                        lastFolderUpload,
-                        lastFolderCloud,
-                        secondaryFolderEnabled,
-                        secondaryPath,
-                        secondaryHandle,
-                        secSyncTimeStamp,
-                        keepFileNames,
-                        storageAdvancedDevices,
-                        preferredViewList,
-                        preferredViewListCamera,
-                        uriExternalSDCard,
-                        cameraFolderExternalSDCard,
-                        pinLockType,
-                        preferredSortCloud,
-                        preferredSortOthers,
-                        firstTimeChat,
-                        uploadVideoQuality,
-                        conversionOnCharging,
-                        chargingOnSize,
-                        camVideoSyncTimeStamp,
-                        secVideoSyncTimeStamp,
-                        isAutoPlayEnabled,
-                        removeGPS,
-                        closeInviteBanner,
-                        preferredSortCameraUpload,
-                        sdCardUri,
-                        askForDisplayOver,
-                        askForSetDownloadLocation,
-                        mediaSDCardUri,
-                        isMediaOnSDCard,
-                        passcodeLockRequireTime,
-                        fingerprintLock
-                    )
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
-        return prefs
-    }
+    private fun Map<String, String?>.toLegacyPreferences() = LegacyPreferences(
+        firstTime = this[KEY_FIRST_LOGIN],
+        camSyncWifi = this[KEY_CAM_SYNC_WIFI],
+        camSyncEnabled = this[KEY_CAM_SYNC_ENABLED],
+        camSyncHandle = this[KEY_CAM_SYNC_HANDLE],
+        camSyncLocalPath = this[KEY_CAM_SYNC_LOCAL_PATH],
+        camSyncFileUpload = this[KEY_CAM_SYNC_FILE_UPLOAD],
+        camSyncTimeStamp = this[KEY_CAM_SYNC_TIMESTAMP],
+        passcodeLockEnabled = this[KEY_PASSCODE_LOCK_ENABLED]?.toBooleanStrictOrNull(),
+        passcodeLockCode = this[KEY_PASSCODE_LOCK_CODE],
+        storageAskAlways = this[KEY_STORAGE_ASK_ALWAYS],
+        storageDownloadLocation = this[KEY_STORAGE_DOWNLOAD_LOCATION],
+        lastFolderUpload = this[KEY_LAST_UPLOAD_FOLDER],
+        lastFolderCloud = this[KEY_LAST_CLOUD_FOLDER_HANDLE],
+        secondaryMediaFolderEnabled = this[KEY_SEC_FOLDER_ENABLED],
+        localPathSecondaryFolder = this[KEY_SEC_FOLDER_LOCAL_PATH],
+        megaHandleSecondaryFolder = this[KEY_SEC_FOLDER_HANDLE],
+        secSyncTimeStamp = this[KEY_SEC_SYNC_TIMESTAMP],
+        keepFileNames = this[KEY_KEEP_FILE_NAMES],
+        storageAdvancedDevices = this[KEY_STORAGE_ADVANCED_DEVICES],
+        preferredViewList = this[KEY_PREFERRED_VIEW_LIST],
+        preferredViewListCameraUploads = this[KEY_PREFERRED_VIEW_LIST_CAMERA],
+        uriExternalSDCard = this[KEY_URI_EXTERNAL_SD_CARD],
+        cameraFolderExternalSDCard = this[KEY_CAMERA_FOLDER_EXTERNAL_SD_CARD],
+        passcodeLockType = this[KEY_PASSCODE_LOCK_TYPE],
+        preferredSortCloud = this[KEY_PREFERRED_SORT_CLOUD],
+        preferredSortOthers = this[KEY_PREFERRED_SORT_OTHERS],
+        firstTimeChat = this[KEY_FIRST_LOGIN_CHAT],
+        uploadVideoQuality = this[KEY_UPLOAD_VIDEO_QUALITY],
+        conversionOnCharging = this[KEY_CONVERSION_ON_CHARGING],
+        chargingOnSize = this[KEY_CHARGING_ON_SIZE],
+        camVideoSyncTimeStamp = this[KEY_CAM_VIDEO_SYNC_TIMESTAMP],
+        secVideoSyncTimeStamp = this[KEY_SEC_VIDEO_SYNC_TIMESTAMP],
+        isAutoPlayEnabled = this[KEY_AUTO_PLAY],
+        removeGPS = this[KEY_REMOVE_GPS],
+        showInviteBanner = this[KEY_SHOW_INVITE_BANNER],
+        preferredSortCameraUpload = this[KEY_PREFERRED_SORT_CAMERA_UPLOAD],
+        sdCardUri = this[KEY_SD_CARD_URI],
+        askForDisplayOver = this[KEY_ASK_FOR_DISPLAY_OVER],
+        askForSetDownloadLocation = this[KEY_ASK_SET_DOWNLOAD_LOCATION]?.toBooleanStrictOrNull(),
+        mediaSDCardUri = this[KEY_URI_MEDIA_EXTERNAL_SD_CARD],
+        isMediaOnSDCard = this[KEY_MEDIA_FOLDER_EXTERNAL_SD_CARD],
+        passcodeLockRequireTime = this[KEY_PASSCODE_LOCK_REQUIRE_TIME],
+        fingerprintLock = if (containsKey(KEY_FINGERPRINT_LOCK)) {
+            this[KEY_FINGERPRINT_LOCK]?.toBooleanStrictOrNull()
+        } else {
+            false
+        },
+    )
 
     /**
      * Get chat settings from the current DB.
@@ -489,163 +340,55 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     /**
-     * Saves attributes in DB.
+     * Maps the decrypted row of the attributes table.
      *
-     * @param db   DB object to save the attributes.
-     * @param attr Attributes to save.
+     * @return The attributes.
      */
-    private fun setAttributes(db: SupportSQLiteDatabase, attr: MegaAttributes?) {
-        if (attr == null) {
-            Timber.e("Error: Attributes are null")
-            return
-        }
-        val values = ContentValues()
-        values.put(KEY_ATTR_ONLINE, encrypt(attr.online))
-        values.put(KEY_ATTR_INTENTS, encrypt(Integer.toString(attr.attempts)))
-        values.put(KEY_ATTR_ASK_SIZE_DOWNLOAD, encrypt(attr.askSizeDownload))
-        values.put(KEY_ATTR_ASK_NOAPP_DOWNLOAD, encrypt(attr.askNoAppDownload))
-        values.put(KEY_ACCOUNT_DETAILS_TIMESTAMP, encrypt(attr.accountDetailsTimeStamp))
-        values.put(
-            KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP,
-            encrypt(attr.extendedAccountDetailsTimeStamp)
-        )
-        values.put(KEY_INVALIDATE_SDK_CACHE, encrypt(attr.invalidateSdkCache))
-        values.put(KEY_USE_HTTPS_ONLY, encrypt(attr.useHttpsOnly))
-        values.put(KEY_USE_HTTPS_ONLY, encrypt(attr.useHttpsOnly))
-        values.put(KEY_SHOW_COPYRIGHT, encrypt(attr.showCopyright))
-        values.put(KEY_SHOW_NOTIF_OFF, encrypt(attr.showNotifOff))
-        values.put(KEY_LAST_PUBLIC_HANDLE, encrypt(attr.lastPublicHandle.toString()))
-        values.put(
-            KEY_LAST_PUBLIC_HANDLE_TIMESTAMP,
-            encrypt(attr.lastPublicHandleTimeStamp.toString())
-        )
-        values.put(
-            KEY_STORAGE_STATE,
-            encrypt(storageStateIntMapper(attr.storageState).toString())
-        )
-        values.put(
-            KEY_LAST_PUBLIC_HANDLE_TYPE,
-            encrypt(attr.lastPublicHandleType.toString())
-        )
-        values.put(
-            KEY_MY_CHAT_FILES_FOLDER_HANDLE,
-            encrypt(attr.myChatFilesFolderHandle.toString())
-        )
-        values.put(KEY_TRANSFER_QUEUE_STATUS, encrypt(attr.transferQueueStatus))
-        db.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-    }
+    private fun Map<String, String?>.toLegacyAttributes() = LegacyAttributes(
+        online = this[KEY_ATTR_ONLINE],
+        attempts = this[KEY_ATTR_INTENTS]?.toIntOrNull() ?: 0,
+        askSizeDownload = this[KEY_ATTR_ASK_SIZE_DOWNLOAD],
+        askNoAppDownload = this[KEY_ATTR_ASK_NOAPP_DOWNLOAD],
+        accountDetailsTimeStamp = this[KEY_ACCOUNT_DETAILS_TIMESTAMP],
+        extendedAccountDetailsTimeStamp = this[KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP],
+        invalidateSdkCache = this[KEY_INVALIDATE_SDK_CACHE],
+        useHttpsOnly = this[KEY_USE_HTTPS_ONLY],
+        showCopyright = this[KEY_SHOW_COPYRIGHT],
+        showNotifOff = this[KEY_SHOW_NOTIF_OFF],
+        lastPublicHandle = this[KEY_LAST_PUBLIC_HANDLE]?.toLongOrNull(),
+        lastPublicHandleTimeStamp = this[KEY_LAST_PUBLIC_HANDLE_TIMESTAMP]?.toLongOrNull(),
+        lastPublicHandleType = this[KEY_LAST_PUBLIC_HANDLE_TYPE]?.toIntOrNull()
+            ?: MegaApiJava.AFFILIATE_TYPE_INVALID,
+        storageState = this[KEY_STORAGE_STATE]?.toIntOrNull()?.let { storageStateMapper(it) }
+            ?: StorageState.Unknown,
+        myChatFilesFolderHandle = this[KEY_MY_CHAT_FILES_FOLDER_HANDLE]?.toLongOrNull(),
+        transferQueueStatus = this[KEY_TRANSFER_QUEUE_STATUS]?.toBooleanStrictOrNull(),
+    )
 
     /**
-     * Gets attributes.
+     * Maps the attributes to the values of the attributes table, by column.
      *
-     * @param db Current DB.
-     * @return The attributes.
+     * @return The values to save.
      */
-    private fun getAttributes(db: SupportSQLiteDatabase): MegaAttributes? {
-        var attr: MegaAttributes? = null
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        try {
-            db.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val online = decrypt(cursor.getString(getColumnIndex(cursor, KEY_ATTR_ONLINE)))
-                    val intents =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_ATTR_INTENTS)))
-                    val askSizeDownload = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_ATTR_ASK_SIZE_DOWNLOAD
-                            )
-                        )
-                    )
-                    val askNoAppDownload = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_ATTR_ASK_NOAPP_DOWNLOAD
-                            )
-                        )
-                    )
-                    val accountDetailsTimeStamp = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_ACCOUNT_DETAILS_TIMESTAMP
-                            )
-                        )
-                    )
-                    val extendedAccountDetailsTimeStamp = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP
-                            )
-                        )
-                    )
-                    val invalidateSdkCache =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_INVALIDATE_SDK_CACHE)))
-                    val useHttpsOnly =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_USE_HTTPS_ONLY)))
-                    val showCopyright =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SHOW_COPYRIGHT)))
-                    val showNotifOff =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_SHOW_NOTIF_OFF)))
-                    val lastPublicHandle =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_LAST_PUBLIC_HANDLE)))
-                    val lastPublicHandleTimeStamp = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_LAST_PUBLIC_HANDLE_TIMESTAMP
-                            )
-                        )
-                    )
-                    val storageState =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_STORAGE_STATE)))
-                    val lastPublicHandleType = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_LAST_PUBLIC_HANDLE_TYPE
-                            )
-                        )
-                    )
-                    val myChatFilesFolderHandle = decrypt(
-                        cursor.getString(
-                            getColumnIndex(
-                                cursor,
-                                KEY_MY_CHAT_FILES_FOLDER_HANDLE
-                            )
-                        )
-                    )
-                    val transferQueueStatus =
-                        decrypt(cursor.getString(getColumnIndex(cursor, KEY_TRANSFER_QUEUE_STATUS)))
-                    attr = MegaAttributes(
-                        online,
-                        intents?.toIntOrNull() ?: 0,
-                        askSizeDownload,
-                        askNoAppDownload,
-                        accountDetailsTimeStamp,
-                        extendedAccountDetailsTimeStamp,
-                        invalidateSdkCache,
-                        useHttpsOnly,
-                        showCopyright,
-                        showNotifOff,
-                        lastPublicHandle,
-                        lastPublicHandleTimeStamp,
-                        lastPublicHandleType?.toIntOrNull() ?: MegaApiJava.AFFILIATE_TYPE_INVALID,
-                        storageState?.toIntOrNull()?.let { storageStateMapper(it) }
-                            ?: StorageState.Unknown,
-                        myChatFilesFolderHandle,
-                        transferQueueStatus
-                    )
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
-        return attr
-    }
+    private fun LegacyAttributes.toColumns(): Map<String, String?> = mapOf(
+        KEY_ATTR_ONLINE to online,
+        KEY_ATTR_INTENTS to attempts.toString(),
+        KEY_ATTR_ASK_SIZE_DOWNLOAD to askSizeDownload,
+        KEY_ATTR_ASK_NOAPP_DOWNLOAD to askNoAppDownload,
+        KEY_ACCOUNT_DETAILS_TIMESTAMP to accountDetailsTimeStamp,
+        KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP to extendedAccountDetailsTimeStamp,
+        KEY_INVALIDATE_SDK_CACHE to invalidateSdkCache,
+        KEY_USE_HTTPS_ONLY to useHttpsOnly,
+        KEY_SHOW_COPYRIGHT to showCopyright,
+        KEY_SHOW_NOTIF_OFF to showNotifOff,
+        KEY_LAST_PUBLIC_HANDLE to lastPublicHandle?.toString(),
+        KEY_LAST_PUBLIC_HANDLE_TIMESTAMP to lastPublicHandleTimeStamp?.toString(),
+        KEY_STORAGE_STATE to storageStateIntMapper(storageState).toString(),
+        KEY_LAST_PUBLIC_HANDLE_TYPE to lastPublicHandleType.toString(),
+        KEY_MY_CHAT_FILES_FOLDER_HANDLE to myChatFilesFolderHandle?.toString(),
+        KEY_TRANSFER_QUEUE_STATUS to transferQueueStatus?.toString(),
+    )
+
     /**
      * Gets attributes.
      *
@@ -657,11 +400,19 @@ class SqliteDatabaseHandler @Inject constructor(
      * @param attr Attributes to save.
      */
     override var attributes: MegaAttributes?
-        get() = getAttributes(writableDatabase)
+        get() = attributesSnapshot.getRow()?.toMegaAttributes()
         set(attr) {
-            setAttributes(writableDatabase, attr)
+            if (attr == null) {
+                Timber.e("Error: Attributes are null")
+                return
+            }
+            val row = attr.toLegacyAttributes()
+            attributesSnapshot.setAll(row.toColumns()) { row }
         }
 
+    override fun monitorAttributes(): Flow<MegaAttributes?> =
+        attributesSnapshot.monitorRow().map { it?.toMegaAttributes() }
+
     override fun setNonContactFirstName(name: String?, handle: String?): Int {
         Timber.d("setContactName: %s %s", name, handle)
         val values = ContentValues().apply {
@@ -810,89 +561,34 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     override fun setFirstTime(firstTime: Boolean) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_FIRST_LOGIN= '${encrypt(firstTime.toString())}' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_FIRST_LOGIN, encrypt(firstTime.toString()))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        preferencesSnapshot.set(KEY_FIRST_LOGIN, firstTime.toString()) {
+            it.copy(firstTime = firstTime.toString())
         }
     }
 
     override fun setPreferredSortCloud(order: String?) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_PREFERRED_SORT_CLOUD= '${encrypt(order)}' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_PREFERRED_SORT_CLOUD, encrypt(order))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        preferencesSnapshot.set(KEY_PREFERRED_SORT_CLOUD, order) {
+            it.copy(preferredSortCloud = order)
         }
     }
 
     override fun setPreferredSortCameraUpload(order: String?) {
         Timber.d("set sort camera upload order: %s", order)
-        setStringValue(TABLE_PREFERENCES, KEY_PREFERRED_SORT_CAMERA_UPLOAD, order)
+        preferencesSnapshot.set(KEY_PREFERRED_SORT_CAMERA_UPLOAD, order) {
+            it.copy(preferredSortCameraUpload = order)
+        }
     }
 
     override fun setPreferredSortOthers(order: String?) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_PREFERRED_SORT_OTHERS= '${encrypt(order)}' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_PREFERRED_SORT_OTHERS, encrypt(order))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        preferencesSnapshot.set(KEY_PREFERRED_SORT_OTHERS, order) {
+            it.copy(preferredSortOthers = order)
         }
     }
 
     override fun setLastCloudFolder(folderHandle: String) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_LAST_CLOUD_FOLDER_HANDLE= '${
-                            encrypt(folderHandle)
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                    Timber.d(
-                        "KEY_LAST_CLOUD_FOLDER_HANDLE UPLOAD FOLDER: %s",
-                        UPDATE_PREFERENCES_TABLE
-                    )
-                } else {
-                    values.put(KEY_LAST_CLOUD_FOLDER_HANDLE, encrypt(folderHandle))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        Timber.d("KEY_LAST_CLOUD_FOLDER_HANDLE UPLOAD FOLDER: %s", folderHandle)
+        preferencesSnapshot.set(KEY_LAST_CLOUD_FOLDER_HANDLE, folderHandle) {
+            it.copy(lastFolderCloud = folderHandle)
         }
     }
 
@@ -906,79 +602,27 @@ class SqliteDatabaseHandler @Inject constructor(
 
     private fun setAccountDetailsTimeStamp(accountDetailsTimeStamp: Long) {
         Timber.d("setAccountDetailsTimeStamp")
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTE_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_ACCOUNT_DETAILS_TIMESTAMP= '${
-                            encrypt(accountDetailsTimeStamp.toString())
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTE_TABLE)
-                } else {
-                    values.put(
-                        KEY_ACCOUNT_DETAILS_TIMESTAMP,
-                        encrypt(accountDetailsTimeStamp.toString())
-                    )
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        attributesSnapshot.set(KEY_ACCOUNT_DETAILS_TIMESTAMP, accountDetailsTimeStamp.toString()) {
+            it.copy(accountDetailsTimeStamp = accountDetailsTimeStamp.toString())
         }
     }
 
     override fun setExtendedAccountDetailsTimestamp() {
         Timber.d("setExtendedAccountDetailsTimestamp")
         val extendedAccountDetailsTimestamp = System.currentTimeMillis() / 1000
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTE_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP= '${
-                            encrypt(extendedAccountDetailsTimestamp.toString())
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTE_TABLE)
-                } else {
-                    values.put(
-                        KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP,
-                        encrypt(extendedAccountDetailsTimestamp.toString())
-                    )
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        attributesSnapshot.set(
+            KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP,
+            extendedAccountDetailsTimestamp.toString()
+        ) { it.copy(extendedAccountDetailsTimeStamp = extendedAccountDetailsTimestamp.toString()) }
     }
 
     override fun resetExtendedAccountDetailsTimestamp() {
         Timber.d("resetExtendedAccountDetailsTimestamp")
         val extendedAccountDetailsTimestamp: Long = -1
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTE_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP= '${
-                            encrypt(extendedAccountDetailsTimestamp.toString())
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTE_TABLE)
-                } else {
-                    values.put(
-                        KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP,
-                        encrypt(extendedAccountDetailsTimestamp.toString())
-                    )
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        attributesSnapshot.set(
+            KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP,
+            extendedAccountDetailsTimestamp.toString()
+        ) { it.copy(extendedAccountDetailsTimeStamp = extendedAccountDetailsTimestamp.toString()) }
     }
 
     /**
@@ -1004,37 +648,6 @@ class SqliteDatabaseHandler @Inject constructor(
         getStringValue(tableName, columnName, defaultValue.toString())?.toIntOrNull()
             ?: defaultValue
 
-    /**
-     * Set a long value into the database.
-     *
-     * @param tableName  Name of the database's table.
-     * @param columnName Name of the table's column.
-     * @param value      Value to set.
-     */
-    private fun setLongValue(tableName: String, columnName: String, value: Long) {
-        setStringValue(tableName, columnName, value.toString())
-    }
-
-    /**
-     * Get a long value from the database.
-     *
-     * @param tableName    Name of the database's table.
-     * @param columnName   Name of the table's column.
-     * @param defaultValue Default value to return if no result found.
-     * @return Long value selected from the database.
-     */
-    private fun getLongValue(tableName: String, columnName: String, defaultValue: Long): Long {
-        try {
-            val value = getStringValue(tableName, columnName, defaultValue.toString())
-            if (!TextUtil.isTextEmpty(value)) {
-                return value!!.toLong()
-            }
-        } catch (e: Exception) {
-            Timber.w(e, "EXCEPTION - Return default value: %s", defaultValue)
-        }
-        return defaultValue
-    }
-
     /**
      * Set a String value into the database.
      *
@@ -1099,78 +712,19 @@ class SqliteDatabaseHandler @Inject constructor(
         return value
     }
 
-    /**
-     * Get a boolean value from the database.
-     *
-     * @param tableName    Name of the database's table.
-     * @param columnName   Name of the table's column.
-     * @param defaultValue Default value to return if no result found.
-     * @return Boolean value selected from the database.
-     */
-    private fun getBooleanValue(
-        tableName: String,
-        columnName: String,
-        defaultValue: Boolean,
-    ): Boolean =
-        getStringValue(tableName, columnName, defaultValue.toString())?.toBooleanStrictOrNull()
-            ?: defaultValue
-
     override var isPasscodeLockEnabled: Boolean
-        get() = getBooleanValue(TABLE_PREFERENCES, KEY_PASSCODE_LOCK_ENABLED, false)
+        get() = preferencesSnapshot.getRow()?.passcodeLockEnabled ?: false
         set(passcodeLockEnabled) {
-            val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-            val values = ContentValues()
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        val UPDATE_PREFERENCES_TABLE =
-                            "UPDATE $TABLE_PREFERENCES SET $KEY_PASSCODE_LOCK_ENABLED= '${
-                                encrypt(passcodeLockEnabled.toString())
-                            }' WHERE $KEY_ID = '1'"
-                        writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                    } else {
-                        values.put(
-                            KEY_PASSCODE_LOCK_ENABLED,
-                            encrypt(passcodeLockEnabled.toString())
-                        )
-                        writableDatabase.insert(
-                            TABLE_PREFERENCES,
-                            SQLiteDatabase.CONFLICT_NONE,
-                            values
-                        )
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
+            preferencesSnapshot.set(KEY_PASSCODE_LOCK_ENABLED, passcodeLockEnabled.toString()) {
+                it.copy(passcodeLockEnabled = passcodeLockEnabled)
             }
         }
 
     override var passcodeLockCode: String
-        get() = getStringValue(TABLE_PREFERENCES, KEY_PASSCODE_LOCK_CODE, "")!!
+        get() = preferencesSnapshot.getRow()?.passcodeLockCode.orEmpty()
         set(passcodeLockCode: String) {
-            val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-            val values = ContentValues()
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        val UPDATE_PREFERENCES_TABLE =
-                            "UPDATE $TABLE_PREFERENCES SET $KEY_PASSCODE_LOCK_CODE= '${
-                                encrypt(
-                                    passcodeLockCode
-                                )
-                            }' WHERE $KEY_ID = '1'"
-                        writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                    } else {
-                        values.put(KEY_PASSCODE_LOCK_CODE, encrypt(passcodeLockCode))
-                        writableDatabase.insert(
-                            TABLE_PREFERENCES,
-                            SQLiteDatabase.CONFLICT_NONE,
-                            values
-                        )
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
+            preferencesSnapshot.set(KEY_PASSCODE_LOCK_CODE, passcodeLockCode) {
+                it.copy(passcodeLockCode = passcodeLockCode)
             }
         }
 
@@ -1185,13 +739,17 @@ class SqliteDatabaseHandler @Inject constructor(
      * @param enabled True if the fingerprint is enabled, false otherwise.
      */
     override var isFingerprintLockEnabled: Boolean
-        get() = getBooleanValue(TABLE_PREFERENCES, KEY_FINGERPRINT_LOCK, false)
+        get() = preferencesSnapshot.getRow()?.fingerprintLock ?: false
         set(enabled) {
-            setStringValue(TABLE_PREFERENCES, KEY_FINGERPRINT_LOCK, "" + enabled)
+            preferencesSnapshot.set(KEY_FINGERPRINT_LOCK, enabled.toString()) {
+                it.copy(fingerprintLock = enabled)
+            }
         }
 
     override fun setStorageAskAlways(storageAskAlways: Boolean) {
-        setStringValue(TABLE_PREFERENCES, KEY_STORAGE_ASK_ALWAYS, storageAskAlways.toString())
+        preferencesSnapshot.set(KEY_STORAGE_ASK_ALWAYS, storageAskAlways.toString()) {
+            it.copy(storageAskAlways = storageAskAlways.toString())
+        }
     }
     /**
      * Gets the flag which indicates if should ask the user about set the current path as default download location.
@@ -1204,191 +762,63 @@ class SqliteDatabaseHandler @Inject constructor(
      * @param askSetDownloadLocation true if should ask, false otherwise.
      */
     override var askSetDownloadLocation: Boolean
-        get() = getBooleanValue(TABLE_PREFERENCES, KEY_ASK_SET_DOWNLOAD_LOCATION, true)
+        get() = preferencesSnapshot.getRow()?.askForSetDownloadLocation ?: true
         set(askSetDownloadLocation) {
-            setStringValue(
-                TABLE_PREFERENCES,
+            preferencesSnapshot.set(
                 KEY_ASK_SET_DOWNLOAD_LOCATION,
                 askSetDownloadLocation.toString()
-            )
+            ) { it.copy(askForSetDownloadLocation = askSetDownloadLocation) }
         }
 
     override fun setStorageDownloadLocation(storageDownloadLocation: String?) {
         if (storageDownloadLocation == null) return
 
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_STORAGE_DOWNLOAD_LOCATION= '${
-                            encrypt(storageDownloadLocation)
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_STORAGE_DOWNLOAD_LOCATION, encrypt(storageDownloadLocation))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        preferencesSnapshot.set(KEY_STORAGE_DOWNLOAD_LOCATION, storageDownloadLocation) {
+            it.copy(storageDownloadLocation = storageDownloadLocation)
         }
     }
 
     override fun setAttrAskSizeDownload(askSizeDownload: String?) {
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_ATTR_ASK_SIZE_DOWNLOAD='${
-                            encrypt(askSizeDownload)
-                        }' WHERE $KEY_ID ='1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                    Timber.d("UPDATE_ATTRIBUTES_TABLE : %s", UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(KEY_ATTR_ASK_SIZE_DOWNLOAD, encrypt(askSizeDownload))
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        attributesSnapshot.set(KEY_ATTR_ASK_SIZE_DOWNLOAD, askSizeDownload) {
+            it.copy(askSizeDownload = askSizeDownload)
         }
     }
 
     override fun setUseHttpsOnly(useHttpsOnly: Boolean) {
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_USE_HTTPS_ONLY='${encrypt(useHttpsOnly.toString())}' WHERE $KEY_ID ='1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                    Timber.d("UPDATE_ATTRIBUTES_TABLE : %s", UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(KEY_USE_HTTPS_ONLY, encrypt(useHttpsOnly.toString()))
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        attributesSnapshot.set(KEY_USE_HTTPS_ONLY, useHttpsOnly.toString()) {
+            it.copy(useHttpsOnly = useHttpsOnly.toString())
         }
     }
 
     override val useHttpsOnly: String?
-        get() {
-            val selectQuery =
-                "SELECT $KEY_USE_HTTPS_ONLY FROM $TABLE_ATTRIBUTES WHERE $KEY_ID = '1'"
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        return decrypt(cursor.getString(0))
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
-            }
-            return "false"
-        }
+        get() = attributesSnapshot.getRow()?.useHttpsOnly ?: "false"
 
     override fun setShowCopyright(showCopyright: Boolean) {
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_SHOW_COPYRIGHT='${encrypt(showCopyright.toString())}' WHERE $KEY_ID ='1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(KEY_SHOW_COPYRIGHT, encrypt(showCopyright.toString()))
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        attributesSnapshot.set(KEY_SHOW_COPYRIGHT, showCopyright.toString()) {
+            it.copy(showCopyright = showCopyright.toString())
         }
     }
 
     override val shouldShowCopyright: Boolean
-        get() {
-            val selectQuery =
-                "SELECT $KEY_SHOW_COPYRIGHT FROM $TABLE_ATTRIBUTES WHERE $KEY_ID = '1'"
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        return decrypt(cursor.getString(0))?.toBoolean() ?: true
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
-            }
-            return true
-        }
+        get() = attributesSnapshot.getRow()?.showCopyright?.toBoolean() ?: true
 
     override fun setShowNotifOff(showNotifOff: Boolean) {
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_SHOW_NOTIF_OFF='${encrypt(showNotifOff.toString())}' WHERE $KEY_ID ='1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(KEY_SHOW_NOTIF_OFF, encrypt(showNotifOff.toString()))
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        attributesSnapshot.set(KEY_SHOW_NOTIF_OFF, showNotifOff.toString()) {
+            it.copy(showNotifOff = showNotifOff.toString())
         }
     }
 
     override fun setLastPublicHandle(handle: Long) {
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_LAST_PUBLIC_HANDLE= '${encrypt(handle.toString())}' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(KEY_LAST_PUBLIC_HANDLE, encrypt(handle.toString()))
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        attributesSnapshot.set(KEY_LAST_PUBLIC_HANDLE, handle.toString()) {
+            it.copy(lastPublicHandle = handle)
         }
     }
 
     override fun setLastPublicHandleTimeStamp(lastPublicHandleTimeStamp: Long) {
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTE_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_LAST_PUBLIC_HANDLE_TIMESTAMP= '${
-                            encrypt(lastPublicHandleTimeStamp.toString())
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTE_TABLE)
-                } else {
-                    values.put(
-                        KEY_LAST_PUBLIC_HANDLE_TIMESTAMP,
-                        encrypt(lastPublicHandleTimeStamp.toString())
-                    )
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        attributesSnapshot.set(
+            KEY_LAST_PUBLIC_HANDLE_TIMESTAMP,
+            lastPublicHandleTimeStamp.toString()
+        ) { it.copy(lastPublicHandleTimeStamp = lastPublicHandleTimeStamp) }
     }
 
     override fun setLastPublicHandleTimeStamp() {
@@ -1409,15 +839,14 @@ class SqliteDatabaseHandler @Inject constructor(
     override var lastPublicHandleType: Int
         get() {
             Timber.i("Getting the last public handle type from DB")
-            return getIntValue(
-                TABLE_ATTRIBUTES,
-                KEY_LAST_PUBLIC_HANDLE_TYPE,
-                MegaApiJava.AFFILIATE_TYPE_INVALID
-            )
+            return attributesSnapshot.getRow()?.lastPublicHandleType
+                ?: MegaApiJava.AFFILIATE_TYPE_INVALID
         }
         set(lastPublicHandleType) {
             Timber.i("Setting the last public handle type in the DB")
-            setIntValue(TABLE_ATTRIBUTES, KEY_LAST_PUBLIC_HANDLE_TYPE, lastPublicHandleType)
+            attributesSnapshot.set(KEY_LAST_PUBLIC_HANDLE_TYPE, lastPublicHandleType.toString()) {
+                it.copy(lastPublicHandleType = lastPublicHandleType)
+            }
         }
 
     /**
@@ -1433,15 +862,15 @@ class SqliteDatabaseHandler @Inject constructor(
     override var myChatFilesFolderHandle: Long
         get() {
             Timber.i("Getting the storage state from DB")
-            return getLongValue(
-                TABLE_ATTRIBUTES,
-                KEY_MY_CHAT_FILES_FOLDER_HANDLE,
-                MegaApiJava.INVALID_HANDLE
-            )
+            return attributesSnapshot.getRow()?.myChatFilesFolderHandle
+                ?: MegaApiJava.INVALID_HANDLE
         }
         set(myChatFilesFolderHandle) {
             Timber.i("Setting the storage state in the DB")
-            setLongValue(TABLE_ATTRIBUTES, KEY_MY_CHAT_FILES_FOLDER_HANDLE, myChatFilesFolderHandle)
+            attributesSnapshot.set(
+                KEY_MY_CHAT_FILES_FOLDER_HANDLE,
+                myChatFilesFolderHandle.toString()
+            ) { it.copy(myChatFilesFolderHandle = myChatFilesFolderHandle) }
         }
     /**
      * Get the status of the transfer queue.
@@ -1456,55 +885,21 @@ class SqliteDatabaseHandler @Inject constructor(
     override var transferQueueStatus: Boolean
         get() {
             Timber.i("Getting the storage state from DB")
-            return getBooleanValue(TABLE_ATTRIBUTES, KEY_TRANSFER_QUEUE_STATUS, false)
+            return attributesSnapshot.getRow()?.transferQueueStatus ?: false
         }
         set(transferQueueStatus) {
             Timber.i("Setting the storage state in the DB")
-            setStringValue(
-                TABLE_ATTRIBUTES,
-                KEY_TRANSFER_QUEUE_STATUS,
-                transferQueueStatus.toString()
-            )
+            attributesSnapshot.set(KEY_TRANSFER_QUEUE_STATUS, transferQueueStatus.toString()) {
+                it.copy(transferQueueStatus = transferQueueStatus)
+            }
         }
 
     override val showNotifOff: String?
-        get() {
-            val selectQuery =
-                "SELECT $KEY_SHOW_NOTIF_OFF FROM $TABLE_ATTRIBUTES WHERE $KEY_ID = '1'"
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        return decrypt(cursor.getString(0))
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
-            }
-            return "true"
-        }
+        get() = attributesSnapshot.getRow()?.showNotifOff ?: "true"
 
     override fun setInvalidateSdkCache(invalidateSdkCache: Boolean) {
-        val selectQuery = "SELECT * FROM $TABLE_ATTRIBUTES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_ATTRIBUTES SET $KEY_INVALIDATE_SDK_CACHE='" + encrypt(
-                            invalidateSdkCache.toString()
-                        ) + "' WHERE " + KEY_ID + " ='1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                    Timber.d("UPDATE_ATTRIBUTES_TABLE : %s", UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(
-                        KEY_INVALIDATE_SDK_CACHE,
-                        encrypt(invalidateSdkCache.toString())
-                    )
-                    writableDatabase.insert(TABLE_ATTRIBUTES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
+        attributesSnapshot.set(KEY_INVALIDATE_SDK_CACHE, invalidateSdkCache.toString()) {
+            it.copy(invalidateSdkCache = invalidateSdkCache.toString())
         }
     }
 
@@ -1519,8 +914,10 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     override fun clearPreferences() {
-        writableDatabase.execSQL("DROP TABLE IF EXISTS $TABLE_PREFERENCES")
-        legacyDatabaseMigration.onCreate(writableDatabase)
+        preferencesSnapshot.clear {
+            writableDatabase.execSQL("DROP TABLE IF EXISTS $TABLE_PREFERENCES")
+            legacyDatabaseMigration.onCreate(writableDatabase)
+        }
     }
 
     override fun clearAttributes() {
@@ -1536,8 +933,10 @@ class SqliteDatabaseHandler @Inject constructor(
             Timber.w(e, "EXCEPTION getting last public handle info.")
             lastPublicHandle = MegaApiJava.INVALID_HANDLE
         }
-        writableDatabase.execSQL("DROP TABLE IF EXISTS $TABLE_ATTRIBUTES")
-        legacyDatabaseMigration.onCreate(writableDatabase)
+        attributesSnapshot.clear {
+            writableDatabase.execSQL("DROP TABLE IF EXISTS $TABLE_ATTRIBUTES")
+            legacyDatabaseMigration.onCreate(writableDatabase)
+        }
         if (lastPublicHandle != MegaApiJava.INVALID_HANDLE) {
             try {
                 setLastPublicHandle(lastPublicHandle)
@@ -1649,56 +1048,55 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     override val autoPlayEnabled: String?
-        get() {
-            val selectQuery =
-                "SELECT $KEY_AUTO_PLAY FROM $TABLE_PREFERENCES WHERE $KEY_ID = '1'"
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        return decrypt(cursor.getString(0))
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
-            }
-            return "false"
-        }
+        get() = preferencesSnapshot.getRow()?.isAutoPlayEnabled ?: "false"
+
     override var sdCardUri: String?
-        get() = getStringValue(TABLE_PREFERENCES, KEY_SD_CARD_URI, "")
+        get() = preferencesSnapshot.getRow()?.sdCardUri ?: ""
         set(sdCardUri) {
-            setStringValue(TABLE_PREFERENCES, KEY_SD_CARD_URI, sdCardUri)
+            preferencesSnapshot.set(KEY_SD_CARD_URI, sdCardUri) { it.copy(sdCardUri = sdCardUri) }
         }
 
     override fun setAutoPlayEnabled(enabled: String) {
         Timber.d("setAutoPlayEnabled")
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_AUTO_PLAY='${encrypt(enabled)}' WHERE $KEY_ID ='1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(KEY_AUTO_PLAY, encrypt(enabled))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        preferencesSnapshot.set(KEY_AUTO_PLAY, enabled) { it.copy(isAutoPlayEnabled = enabled) }
     }
 
     /**
-     * Get the index of a column in a cursor.
-     * Avoid to access column with hardcode index.
+     * Reads and decrypts the first row of a single row table.
+     *
+     * @param tableName Name of the table.
+     * @param columns   Columns to read, the ones missing in the table are skipped.
+     * @return The decrypted values by column, or null if the table has no row.
+     */
+    private fun readRow(tableName: String, columns: List<String>): Map<String, String?>? =
+        readableDatabase.query("SELECT * FROM $tableName").use { cursor ->
+            if (!cursor.moveToFirst()) return@use null
+            columns.mapNotNull { column ->
+                cursor.getColumnIndex(column).takeIf { it >= 0 }
+                    ?.let { column to decrypt(cursor.getString(it)) }
+            }.toMap()
+        }
+
+    /**
+     * Encrypts and writes some columns of a single row table, creating the row if there is none.
      *
-     * @param cursor     Cursor object which has the column.
-     * @param columnName Name of the column.
-     * @return The index of the column in the cursor.
+     * @param tableName Name of the table.
+     * @param values    Values to write by column.
      */
-    private fun getColumnIndex(cursor: Cursor, columnName: String): Int {
-        return cursor.getColumnIndex(columnName)
+    private fun writeColumns(tableName: String, values: Map<String, String?>) {
+        val contentValues = ContentValues().apply {
+            values.forEach { (column, value) -> put(column, encrypt(value)) }
+        }
+        val updatedRows = writableDatabase.update(
+            tableName,
+            SQLiteDatabase.CONFLICT_NONE,
+            contentValues,
+            "$KEY_ID = '1'",
+            emptyArray()
+        )
+        if (updatedRows == 0) {
+            writableDatabase.insert(tableName, SQLiteDatabase.CONFLICT_NONE, contentValues)
+        }
     }
 
     companion object {
@@ -1883,5 +1281,69 @@ class SqliteDatabaseHandler @Inject constructor(
                 }
             }
 
+        private val PREFERENCES_COLUMNS = listOf(
+            KEY_FIRST_LOGIN,
+            KEY_CAM_SYNC_WIFI,
+            KEY_CAM_SYNC_ENABLED,
+            KEY_CAM_SYNC_HANDLE,
+            KEY_CAM_SYNC_LOCAL_PATH,
+            KEY_CAM_SYNC_FILE_UPLOAD,
+            KEY_CAM_SYNC_TIMESTAMP,
+            KEY_PASSCODE_LOCK_ENABLED,
+            KEY_PASSCODE_LOCK_CODE,
+            KEY_STORAGE_ASK_ALWAYS,
+            KEY_STORAGE_DOWNLOAD_LOCATION,
+            KEY_LAST_UPLOAD_FOLDER,
+            KEY_LAST_CLOUD_FOLDER_HANDLE,
+            KEY_SEC_FOLDER_ENABLED,
+            KEY_SEC_FOLDER_LOCAL_PATH,
+            KEY_SEC_FOLDER_HANDLE,
+            KEY_SEC_SYNC_TIMESTAMP,
+            KEY_KEEP_FILE_NAMES,
+            KEY_STORAGE_ADVANCED_DEVICES,
+            KEY_PREFERRED_VIEW_LIST,
+            KEY_PREFERRED_VIEW_LIST_CAMERA,
+            KEY_URI_EXTERNAL_SD_CARD,
+            KEY_CAMERA_FOLDER_EXTERNAL_SD_CARD,
+            KEY_PASSCODE_LOCK_TYPE,
+            KEY_PREFERRED_SORT_CLOUD,
+            KEY_PREFERRED_SORT_OTHERS,
+            KEY_FIRST_LOGIN_CHAT,
+            KEY_UPLOAD_VIDEO_QUALITY,
+            KEY_CONVERSION_ON_CHARGING,
+            KEY_CHARGING_ON_SIZE,
+            KEY_CAM_VIDEO_SYNC_TIMESTAMP,
+            KEY_SEC_VIDEO_SYNC_TIMESTAMP,
+            KEY_AUTO_PLAY,
+            KEY_REMOVE_GPS,
+            KEY_SHOW_INVITE_BANNER,
+            KEY_PREFERRED_SORT_CAMERA_UPLOAD,
+            KEY_SD_CARD_URI,
+            KEY_ASK_FOR_DISPLAY_OVER,
+            KEY_ASK_SET_DOWNLOAD_LOCATION,
+            KEY_URI_MEDIA_EXTERNAL_SD_CARD,
+            KEY_MEDIA_FOLDER_EXTERNAL_SD_CARD,
+            KEY_PASSCODE_LOCK_REQUIRE_TIME,
+            KEY_FINGERPRINT_LOCK,
+        )
+
+        private val ATTRIBUTES_COLUMNS = listOf(
+            KEY_ATTR_ONLINE,
+            KEY_ATTR_INTENTS,
+            KEY_ATTR_ASK_SIZE_DOWNLOAD,
+            KEY_ATTR_ASK_NOAPP_DOWNLOAD,
+            KEY_ACCOUNT_DETAILS_TIMESTAMP,
+            KEY_EXTENDED_ACCOUNT_DETAILS_TIMESTAMP,
+            KEY_INVALIDATE_SDK_CACHE,
+            KEY_USE_HTTPS_ONLY,
+            KEY_SHOW_COPYRIGHT,
+            KEY_SHOW_NOTIF_OFF,
+            KEY_LAST_PUBLIC_HANDLE,
+            KEY_LAST_PUBLIC_HANDLE_TIMESTAMP,
+            KEY_STORAGE_STATE,
+            KEY_LAST_PUBLIC_HANDLE_TYPE,
+            KEY_MY_CHAT_FILES_FOLDER_HANDLE,
+            KEY_TRANSFER_QUEUE_STATUS,
+        )
     }
 }
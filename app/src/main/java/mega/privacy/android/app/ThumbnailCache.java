@@ -7,27 +7,32 @@ import android.graphics.Bitmap;
 import androidx.collection.LruCache;
 
 /*
- * LRU thumbnails cache to display in list
+ * LRU thumbnails cache to display in list, bounded by the size in bytes of the bitmaps
  */
 public class ThumbnailCache {
+
+	/*
+	 * Share of the app memory used by each cache
+	 */
+	private static final int MEMORY_FRACTION = 16;
 	
 	List<Long>nulls;
 	LruThumbnailCache cache;
 	LruThumbnailCachePath cachePath;
 	
 	public ThumbnailCache() {
-		cache = new LruThumbnailCache(70);
-		cachePath = new LruThumbnailCachePath(70);
+		cache = new LruThumbnailCache(getMaxBytes());
+		cachePath = new LruThumbnailCachePath(getMaxBytes());
 		nulls = new ArrayList<Long>();
 	}
 	
 	public ThumbnailCache(int value){
 		if (value == 0){
-			cache = new LruThumbnailCache(70);
+			cache = new LruThumbnailCache(getMaxBytes());
 			nulls = new ArrayList<Long>();
 		}
 		else{
-			cachePath = new LruThumbnailCachePath(70);
+			cachePath = new LruThumbnailCachePath(getMaxBytes());
 		}
 	}
 	
@@ -89,11 +94,23 @@ public class ThumbnailCache {
 		return false;
 	}
 	
+	/*
+	 * Maximum size in bytes of each cache
+	 */
+	private static int getMaxBytes() {
+		return (int) Math.min(Runtime.getRuntime().maxMemory() / MEMORY_FRACTION, Integer.MAX_VALUE);
+	}
+
 	private static class LruThumbnailCache extends LruCache<Long, Bitmap> {
 
 		public LruThumbnailCache(int maxSize) {
 			super(maxSize);
 		}
+
+		@Override
+		protected int sizeOf(Long key, Bitmap value) {
+			return value.getByteCount();
+		}
 	
 		protected void entryRemoved (boolean evicted, String key, Bitmap oldValue, Bitmap newValue)
 		{
@@ -108,6 +125,11 @@ public class ThumbnailCache {
 		public LruThumbnailCachePath(int maxSize) {
 			super(maxSize);
 		}
+
+		@Override
+		protected int sizeOf(String key, Bitmap value) {
+			return value.getByteCount();
+		}
 	
 		protected void entryRemoved (boolean evicted, String key, Bitmap oldValue, Bitmap newValue)
 		{
@@ -6,6 +6,7 @@ import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
 import dagger.multibindings.IntoSet
 import mega.privacy.android.domain.usecase.appstart.AppStartTask
+import mega.privacy.android.domain.usecase.appstart.PreloadStartupDataStoresTask
 import mega.privacy.android.feature.sync.domain.usecase.sync.worker.StopSyncWorkerTask
 
 /**
@@ -23,5 +24,13 @@ interface AppStartModule {
         @IntoSet
         fun provideStopSyncWorkerTask(task: StopSyncWorkerTask): AppStartTask =
             task
+
+        /**
+         * Provides the task to preload the DataStores needed at start up
+         */
+        @Provides
+        @IntoSet
+        fun providePreloadStartupDataStoresTask(task: PreloadStartupDataStoresTask): AppStartTask =
+            task
     }
 }
\ No newline at end of file
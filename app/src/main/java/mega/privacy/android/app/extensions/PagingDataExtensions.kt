@@ -0,0 +1,20 @@
+package mega.privacy.android.app.extensions
+
+import androidx.paging.PagingData
+import androidx.paging.insertSeparators
+import mega.privacy.android.app.presentation.data.NodeUIItem
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.FolderNode
+import mega.privacy.android.domain.entity.node.TypedNode
+
+/**
+ * Insert an invisible copy of the last folder between the folders and the files, it closes the
+ * last row of folders in the grid and the list does not show it
+ *
+ * @return [PagingData] with the separator
+ */
+fun <T : TypedNode> PagingData<NodeUIItem<T>>.insertFoldersEndSeparator(): PagingData<NodeUIItem<T>> =
+    insertSeparators { before, after ->
+        before?.takeIf { it.node is FolderNode && after?.node is FileNode }
+            ?.copy(isSelected = false, isInvisible = true)
+    }
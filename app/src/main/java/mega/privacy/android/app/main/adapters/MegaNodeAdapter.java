@@ -107,6 +107,11 @@ public class MegaNodeAdapter extends RecyclerView.Adapter<MegaNodeAdapter.ViewHo
     public static final int ITEM_VIEW_TYPE_GRID = 1;
     public static final int ITEM_VIEW_TYPE_HEADER = 2;
 
+    /**
+     * Number of items ahead of the bound one whose thumbnails are prefetched
+     */
+    private static final int THUMBNAIL_PREFETCH_DISTANCE = 10;
+
     private Context context;
     private MegaApiAndroid megaApi;
 
@@ -150,6 +155,14 @@ public class MegaNodeAdapter extends RecyclerView.Adapter<MegaNodeAdapter.ViewHo
 
     private SortByHeaderViewModel sortByViewModel;
 
+    /**
+     * Downloader of the thumbnails, null if the nodes are not in the account, like in folder links
+     */
+    @Nullable
+    private NodeThumbnailDownloader thumbnailDownloader;
+
+    private int lastBoundPosition = INVALID_POSITION;
+
     public static class ViewHolderBrowser extends RecyclerView.ViewHolder {
 
         private ViewHolderBrowser(View v) {
@@ -612,6 +625,9 @@ public class MegaNodeAdapter extends RecyclerView.Adapter<MegaNodeAdapter.ViewHo
                     .getMegaApi();
         }
 
+        if (type != FOLDER_LINK_ADAPTER) {
+            thumbnailDownloader = NodeThumbnailDownloader.create();
+        }
     }
 
     public void setNodes(List<MegaNode> nodes) {
@@ -809,9 +825,66 @@ public class MegaNodeAdapter extends RecyclerView.Adapter<MegaNodeAdapter.ViewHo
                 break;
         }
 
+        prefetchThumbnails(position);
         reSelectUnhandledNode();
     }
 
+    @Override
+    public void onViewRecycled(@NonNull ViewHolderBrowser holder) {
+        super.onViewRecycled(holder);
+        if (thumbnailDownloader != null) {
+            thumbnailDownloader.cancel(holder.document);
+        }
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        if (thumbnailDownloader != null) {
+            thumbnailDownloader.cancelAll();
+        }
+    }
+
+    /**
+     * Prefetches the thumbnails of the next items in the scroll direction.
+     *
+     * @param position Position of the bound item.
+     */
+    private void prefetchThumbnails(int position) {
+        if (thumbnailDownloader == null || nodes == null) return;
+
+        int direction = position >= lastBoundPosition ? 1 : -1;
+        lastBoundPosition = position;
+
+        List<Long> handles = new ArrayList<>();
+        for (int i = 1; i <= THUMBNAIL_PREFETCH_DISTANCE; i++) {
+            int prefetchPosition = position + i * direction;
+            if (prefetchPosition < 0 || prefetchPosition >= nodes.size()) break;
+
+            MegaNode node = nodes.get(prefetchPosition);
+            if (node != null && node.hasThumbnail()) {
+                handles.add(node.getHandle());
+            }
+        }
+        thumbnailDownloader.prefetch(handles);
+    }
+
+    /**
+     * Downloads the thumbnail of a bound item, the item is updated once it is downloaded.
+     *
+     * @param holder Holder of the item.
+     * @param node   Node of the item.
+     */
+    private void downloadThumbnail(ViewHolderBrowser holder, MegaNode node) {
+        long handle = node.getHandle();
+        thumbnailDownloader.download(handle, () -> {
+            int position = holder.getAbsoluteAdapterPosition();
+            if (holder.document == handle && position != RecyclerView.NO_POSITION) {
+                notifyItemChanged(position);
+            }
+        });
+    }
+
     public void onBindViewHolderGrid(ViewHolderBrowserGrid holder, int position) {
         Timber.d("Position: %s", position);
         MegaNode node = getItem(position);
@@ -886,6 +959,8 @@ public class MegaNodeAdapter extends RecyclerView.Adapter<MegaNodeAdapter.ViewHo
 
                     if (temp != null) {
                         setImageThumbnail(holder, temp);
+                    } else if (thumbnailDownloader != null) {
+                        downloadThumbnail(holder, node);
                     } else {
                         try {
                             temp = ThumbnailUtils.getThumbnailFromMegaGrid(node, context, holder, megaApi, this);
@@ -1180,7 +1255,11 @@ public class MegaNodeAdapter extends RecyclerView.Adapter<MegaNodeAdapter.ViewHo
     }
 
     private void getThumbAndSetView(ViewHolderBrowserList holder, MegaNode node) {
-        getThumbAndSetViewForList(context, node, holder, megaApi, this, holder.imageView);
+        if (thumbnailDownloader == null) {
+            getThumbAndSetViewForList(context, node, holder, megaApi, this, holder.imageView);
+        } else if (!ThumbnailUtils.setThumbViewForListIfAvailable(context, node, holder.imageView)) {
+            downloadThumbnail(holder, node);
+        }
     }
 
     private void getThumbAndSetViewOrCreate(ViewHolderBrowserList holder, MegaNode node) {
@@ -0,0 +1,127 @@
+package mega.privacy.android.app.main.adapters
+
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.job
+import kotlinx.coroutines.launch
+import mega.privacy.android.app.MegaApplication
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.MainDispatcher
+import mega.privacy.android.domain.usecase.thumbnailpreview.DownloadThumbnailUseCase
+import timber.log.Timber
+import javax.inject.Inject
+
+/**
+ * Downloads the thumbnails of the nodes of a list adapter through [DownloadThumbnailUseCase], so
+ * they are scheduled by priority with the rest of thumbnail downloads.
+ *
+ * The thumbnails of the items on screen are downloaded with [ThumbnailRequestPriority.VISIBLE] and
+ * the ones of the next items with [ThumbnailRequestPriority.PREFETCH]. Every download is cancelled
+ * when it is no longer needed, so the scheduler drops it if it has not started yet.
+ *
+ * It must be used from the main thread.
+ */
+class NodeThumbnailDownloader @Inject constructor(
+    private val downloadThumbnailUseCase: DownloadThumbnailUseCase,
+    @ApplicationScope private val applicationScope: CoroutineScope,
+    @MainDispatcher private val mainDispatcher: CoroutineDispatcher,
+) {
+    private val visibleRequests = mutableMapOf<Long, Job>()
+    private val prefetchRequests = mutableMapOf<Long, Job>()
+
+    /**
+     * Downloads the thumbnail of a node on screen
+     *
+     * @param handle the handle of the node
+     * @param onDownloaded called in the main thread once the thumbnail is in the thumbnail folder
+     */
+    fun download(handle: Long, onDownloaded: Runnable) {
+        if (visibleRequests.containsKey(handle)) return
+        // a prefetch of the same thumbnail is joined by the scheduler, which raises its priority
+        visibleRequests[handle] =
+            download(handle, ThumbnailRequestPriority.VISIBLE, visibleRequests, onDownloaded)
+    }
+
+    /**
+     * Prefetches the thumbnails of the nodes about to be shown, the prefetch of any other node is
+     * cancelled
+     *
+     * @param handles the handles of the nodes, in the order they will be shown
+     */
+    fun prefetch(handles: List<Long>) {
+        prefetchRequests.keys.filter { it !in handles }
+            .forEach { prefetchRequests.remove(it)?.cancel() }
+        handles.filterNot { prefetchRequests.containsKey(it) || visibleRequests.containsKey(it) }
+            .forEach { handle ->
+                prefetchRequests[handle] =
+                    download(handle, ThumbnailRequestPriority.PREFETCH, prefetchRequests, null)
+            }
+    }
+
+    /**
+     * Cancels the download of the thumbnail of a node no longer on screen
+     *
+     * @param handle the handle of the node
+     */
+    fun cancel(handle: Long) {
+        visibleRequests.remove(handle)?.cancel()
+    }
+
+    /**
+     * Cancels every download, when the list is no longer shown
+     */
+    fun cancelAll() {
+        (visibleRequests.values + prefetchRequests.values).forEach { it.cancel() }
+        visibleRequests.clear()
+        prefetchRequests.clear()
+    }
+
+    private fun download(
+        handle: Long,
+        priority: ThumbnailRequestPriority,
+        requests: MutableMap<Long, Job>,
+        onDownloaded: Runnable?,
+    ) = applicationScope.launch(mainDispatcher) {
+        try {
+            var isDownloaded = false
+            downloadThumbnailUseCase(handle, priority) { isDownloaded = it }
+            if (isDownloaded) onDownloaded?.run()
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Timber.w(e, "Error downloading the thumbnail of $handle")
+        } finally {
+            if (requests[handle] == coroutineContext.job) requests.remove(handle)
+        }
+    }
+
+    /**
+     * Entry point to get a [NodeThumbnailDownloader] in the Java adapters
+     */
+    @EntryPoint
+    @InstallIn(SingletonComponent::class)
+    interface NodeThumbnailDownloaderEntryPoint {
+        /**
+         * A new downloader
+         */
+        fun nodeThumbnailDownloader(): NodeThumbnailDownloader
+    }
+
+    companion object {
+        /**
+         * Creates a downloader for a Java adapter
+         */
+        @JvmStatic
+        fun create(): NodeThumbnailDownloader = EntryPointAccessors.fromApplication(
+            MegaApplication.getInstance(),
+            NodeThumbnailDownloaderEntryPoint::class.java
+        ).nodeThumbnailDownloader()
+    }
+}
@@ -33,6 +33,7 @@ import androidx.fragment.app.activityViewModels
 import androidx.fragment.app.viewModels
 import androidx.lifecycle.compose.collectAsStateWithLifecycle
 import androidx.lifecycle.lifecycleScope
+import androidx.paging.compose.collectAsLazyPagingItems
 import com.google.firebase.crashlytics.ktx.crashlytics
 import com.google.firebase.ktx.Firebase
 import dagger.hilt.android.AndroidEntryPoint
@@ -184,6 +185,7 @@ class FileBrowserComposeFragment : Fragment() {
                 val themeMode by getThemeMode()
                     .collectAsStateWithLifecycle(initialValue = ThemeMode.System)
                 val uiState by fileBrowserViewModel.state.collectAsStateWithLifecycle()
+                val nodeUIItems = fileBrowserViewModel.nodes.collectAsLazyPagingItems()
                 val nodeActionState by nodeActionsViewModel.state.collectAsStateWithLifecycle()
                 val scaffoldState = rememberScaffoldState()
                 val snackbarHostState = scaffoldState.snackbarHostState
@@ -198,6 +200,7 @@ class FileBrowserComposeFragment : Fragment() {
                     ) {
                         FileBrowserComposeView(
                             uiState = uiState,
+                            nodeUIItems = nodeUIItems,
                             emptyState = getEmptyFolderDrawable(uiState.isFileBrowserEmpty),
                             onItemClick = {
                                 if (uiState.selectedNodeHandles.isEmpty()) {
@@ -428,7 +431,7 @@ class FileBrowserComposeFragment : Fragment() {
             }
         }
 
-        viewLifecycleOwner.collectFlow(fileBrowserViewModel.state.map { it.nodesList.isEmpty() }
+        viewLifecycleOwner.collectFlow(fileBrowserViewModel.state.map { it.nodeCount == 0 }
             .distinctUntilChanged()) {
             fileBrowserActionListener?.updateCloudDriveToolbarTitle(invalidateOptionsMenu = true)
         }
@@ -495,18 +498,18 @@ class FileBrowserComposeFragment : Fragment() {
             val selected =
                 fileBrowserViewModel.state.value.selectedNodeHandles.takeUnless { it.isEmpty() }
                     ?: return false
-            val nodeList = fileBrowserViewModel.state.value.nodesList
+            val selectedNodes = fileBrowserViewModel.state.value.selectedNodes
             menu.findItem(R.id.cab_menu_share_link).title =
                 resources.getQuantityString(sharedR.plurals.label_share_links, selected.size)
             lifecycleScope.launch {
                 runCatching {
                     val control = getOptionsForToolbarMapper(
                         selectedNodeHandleList = fileBrowserViewModel.state.value.selectedNodeHandles,
-                        totalNodes = fileBrowserViewModel.state.value.nodesList.size
+                        totalNodes = fileBrowserViewModel.state.value.nodeCount
                     )
                     CloudStorageOptionControlUtil.applyControl(menu, control)
 
-                    handleHiddeNodes(selected, nodeList, menu)
+                    handleHiddeNodes(selected, selectedNodes, menu)
                 }.onFailure {
                     Timber.e(it)
                 }
@@ -516,7 +519,7 @@ class FileBrowserComposeFragment : Fragment() {
 
         private suspend fun handleHiddeNodes(
             selected: List<Long>,
-            nodeList: List<NodeUIItem<TypedNode>>,
+            selectedNodes: List<TypedNode>,
             menu: Menu,
         ) {
             val isHiddenNodesEnabled = getFeatureFlagValueUseCase(AppFeatures.HiddenNodes)
@@ -526,10 +529,6 @@ class FileBrowserComposeFragment : Fragment() {
                 return
             }
 
-            val selectedNodes = selected.mapNotNull { nodeId ->
-                nodeList.find { it.id.longValue == nodeId }
-            }
-
             val isHidingActionAllowed = selected.all {
                 fileBrowserViewModel.isHidingActionAllowed(NodeId(it))
             }
@@ -4,15 +4,29 @@ import android.view.MenuItem
 import androidx.annotation.StringRes
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.PagingSource
+import androidx.paging.cachedIn
+import androidx.paging.filter
+import androidx.paging.map
 import dagger.hilt.android.lifecycle.HiltViewModel
 import de.palm.composestateevents.consumed
 import de.palm.composestateevents.triggered
+import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.async
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.combine
 import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
 import kotlinx.coroutines.flow.drop
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.fold
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.merge
@@ -20,7 +34,7 @@ import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
-import mega.privacy.android.app.extensions.updateItemAt
+import mega.privacy.android.app.extensions.insertFoldersEndSeparator
 import mega.privacy.android.app.featuretoggle.AppFeatures
 import mega.privacy.android.app.globalmanagement.TransfersManagement
 import mega.privacy.android.app.presentation.clouddrive.model.FileBrowserState
@@ -34,6 +48,7 @@ import mega.privacy.android.app.presentation.settings.model.MediaDiscoveryViewSe
 import mega.privacy.android.app.presentation.time.mapper.DurationInSecondsTextMapper
 import mega.privacy.android.app.presentation.transfers.starttransfer.model.TransferTriggerEvent
 import mega.privacy.android.data.mapper.FileDurationMapper
+import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.StorageState
 import mega.privacy.android.domain.entity.account.AccountStorageDetail
 import mega.privacy.android.domain.entity.account.business.BusinessAccountStatus
@@ -46,6 +61,7 @@ import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.preference.ViewType
 import mega.privacy.android.domain.usecase.GetBusinessStatusUseCase
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.GetNodeByIdUseCase
 import mega.privacy.android.domain.usecase.GetParentNodeUseCase
 import mega.privacy.android.domain.usecase.GetRootNodeUseCase
 import mega.privacy.android.domain.usecase.IsHiddenNodesOnboardedUseCase
@@ -55,13 +71,14 @@ import mega.privacy.android.domain.usecase.account.MonitorAccountDetailUseCase
 import mega.privacy.android.domain.usecase.account.MonitorRefreshSessionUseCase
 import mega.privacy.android.domain.usecase.account.MonitorStorageStateEventUseCase
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
-import mega.privacy.android.domain.usecase.filebrowser.GetFileBrowserNodeChildrenUseCase
-import mega.privacy.android.domain.usecase.folderlink.ContainsMediaItemUseCase
 import mega.privacy.android.domain.usecase.network.MonitorConnectivityUseCase
+import mega.privacy.android.domain.usecase.node.GetNodeChildrenPagingSourceUseCase
+import mega.privacy.android.domain.usecase.node.GetTypedChildrenNodeInBatchesUseCase
 import mega.privacy.android.domain.usecase.node.IsHidingActionAllowedUseCase
 import mega.privacy.android.domain.usecase.node.IsNodeInRubbishBinUseCase
 import mega.privacy.android.domain.usecase.node.MonitorNodeUpdatesUseCase
 import mega.privacy.android.domain.usecase.offline.MonitorOfflineNodeUpdatesUseCase
+import mega.privacy.android.domain.usecase.photos.mediadiscovery.ContainsMediaChildrenUseCase
 import mega.privacy.android.domain.usecase.photos.mediadiscovery.ShouldEnterMediaDiscoveryModeUseCase
 import mega.privacy.android.domain.usecase.quota.GetBandwidthOverQuotaDelayUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
@@ -80,7 +97,9 @@ import javax.inject.Inject
  * @param monitorNodeUpdatesUseCase Monitor node updates
  * @param getParentNodeUseCase To get parent node of current node
  * @param isNodeInRubbishBinUseCase To get current node is in rubbish
- * @param getFileBrowserNodeChildrenUseCase [GetFileBrowserNodeChildrenUseCase]
+ * @param getNodeChildrenPagingSourceUseCase [GetNodeChildrenPagingSourceUseCase]
+ * @param getTypedChildrenNodeInBatchesUseCase [GetTypedChildrenNodeInBatchesUseCase]
+ * @param getNodeByIdUseCase [GetNodeByIdUseCase]
  * @param getCloudSortOrder [GetCloudSortOrder]
  * @param monitorViewType [MonitorViewType] check view type
  * @param setViewType [SetViewType] to set view type
@@ -88,7 +107,7 @@ import javax.inject.Inject
  * @param monitorRefreshSessionUseCase [MonitorRefreshSessionUseCase]
  * @param getBandwidthOverQuotaDelayUseCase [GetBandwidthOverQuotaDelayUseCase]
  * @param transfersManagement [TransfersManagement]
- * @param containsMediaItemUseCase [ContainsMediaItemUseCase]
+ * @param containsMediaChildrenUseCase [ContainsMediaChildrenUseCase]
  * @param fileDurationMapper [FileDurationMapper]
  */
 @HiltViewModel
@@ -98,7 +117,9 @@ class FileBrowserViewModel @Inject constructor(
     private val monitorNodeUpdatesUseCase: MonitorNodeUpdatesUseCase,
     private val getParentNodeUseCase: GetParentNodeUseCase,
     private val isNodeInRubbishBinUseCase: IsNodeInRubbishBinUseCase,
-    private val getFileBrowserNodeChildrenUseCase: GetFileBrowserNodeChildrenUseCase,
+    private val getNodeChildrenPagingSourceUseCase: GetNodeChildrenPagingSourceUseCase,
+    private val getTypedChildrenNodeInBatchesUseCase: GetTypedChildrenNodeInBatchesUseCase,
+    private val getNodeByIdUseCase: GetNodeByIdUseCase,
     private val getCloudSortOrder: GetCloudSortOrder,
     private val monitorViewType: MonitorViewType,
     private val setViewType: SetViewType,
@@ -106,7 +127,7 @@ class FileBrowserViewModel @Inject constructor(
     private val monitorRefreshSessionUseCase: MonitorRefreshSessionUseCase,
     private val getBandwidthOverQuotaDelayUseCase: GetBandwidthOverQuotaDelayUseCase,
     private val transfersManagement: TransfersManagement,
-    private val containsMediaItemUseCase: ContainsMediaItemUseCase,
+    private val containsMediaChildrenUseCase: ContainsMediaChildrenUseCase,
     private val fileDurationMapper: FileDurationMapper,
     private val monitorOfflineNodeUpdatesUseCase: MonitorOfflineNodeUpdatesUseCase,
     private val monitorConnectivityUseCase: MonitorConnectivityUseCase,
@@ -134,7 +155,44 @@ class FileBrowserViewModel @Inject constructor(
      */
     private val handleStack = Stack<Long>()
 
-    private var showHiddenItems: Boolean = true
+    private val showHiddenItems = MutableStateFlow(true)
+
+    /**
+     * The folder and the sort order of the children being paged, null until the first refresh
+     */
+    private val nodesPagingRequest = MutableStateFlow<Pair<NodeId, SortOrder>?>(null)
+
+    private var nodesPagingSource: PagingSource<Int, TypedNode>? = null
+
+    /**
+     * The children of the current folder, a page at a time. The sensitive nodes are filtered out
+     * and the selection is set on the loaded pages only.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val nodes: Flow<PagingData<NodeUIItem<TypedNode>>> = nodesPagingRequest
+        .flatMapLatest { request ->
+            request?.let { (parentNodeId, sortOrder) ->
+                Pager(PagingConfig(pageSize = NODES_PAGE_SIZE)) {
+                    getNodeChildrenPagingSourceUseCase(parentNodeId, sortOrder)
+                        .also { nodesPagingSource = it }
+                }.flow
+            } ?: flowOf(PagingData.empty())
+        }
+        .map { pagingData -> pagingData.map { node -> getNodeUiItem(node) } }
+        .cachedIn(viewModelScope)
+        .combine(
+            combine(
+                _state.map { state -> state.selectedNodeHandles.toSet() }.distinctUntilChanged(),
+                monitorHideSensitiveNodes(),
+                ::Pair,
+            )
+        ) { pagingData, (selectedNodeHandles, hideSensitiveNodes) ->
+            pagingData
+                .filter { !hideSensitiveNodes || !it.node.isSensitive() }
+                .map { it.copy(isSelected = it.id.longValue in selectedNodeHandles) }
+                .insertFoldersEndSeparator()
+        }
+        .cachedIn(viewModelScope)
 
     private var cachedAccountStorageDetails: AccountStorageDetail? = null
 
@@ -370,8 +428,8 @@ class FileBrowserViewModel @Inject constructor(
 
     private suspend fun refreshNodesState() {
         val fileBrowserHandle = _state.value.fileBrowserHandle
-        val rootNode = getRootNodeUseCase()?.id?.longValue
-        val isRootNode = fileBrowserHandle == rootNode
+        val rootNodeId = getRootNodeUseCase()?.id
+        val isRootNode = fileBrowserHandle == rootNodeId?.longValue
 
         /**
          * When a folder is opened, and user clicks on cloud drive bottom drawer item, clear the openedFolderNodeHandles
@@ -385,18 +443,26 @@ class FileBrowserViewModel @Inject constructor(
             }
         }
 
-        val childrenNodes = getFileBrowserNodeChildrenUseCase(fileBrowserHandle)
-        val showMediaDiscoveryIcon = !isRootNode && containsMediaItemUseCase(childrenNodes)
-        val sourceNodeUIItems = getNodeUiItems(childrenNodes)
-        val nodeUIItems = filterNonSensitiveNodes(sourceNodeUIItems)
+        val parentNodeId =
+            if (fileBrowserHandle != MegaApiJava.INVALID_HANDLE) NodeId(fileBrowserHandle) else rootNodeId
         val sortOrder = getCloudSortOrder()
+        val parentNode = parentNodeId?.let { getNodeByIdUseCase(it) } as? FolderNode
+        val showMediaDiscoveryIcon =
+            !isRootNode && parentNodeId != null && containsMediaChildrenUseCase(parentNodeId)
         val isFileBrowserEmpty = isRootNode || (fileBrowserHandle == MegaApiJava.INVALID_HANDLE)
 
+        val request = parentNodeId?.let { it to sortOrder }
+        if (request != null && request == nodesPagingRequest.value) {
+            nodesPagingSource?.invalidate()
+        } else {
+            nodesPagingRequest.value = request
+        }
+
         _state.update {
             it.copy(
                 showMediaDiscoveryIcon = showMediaDiscoveryIcon,
-                nodesList = nodeUIItems,
-                sourceNodesList = sourceNodeUIItems,
+                nodeCount = parentNode?.let { node -> node.childFolderCount + node.childFileCount }
+                    ?: 0,
                 isLoading = false,
                 sortOrder = sortOrder,
                 isFileBrowserEmpty = isFileBrowserEmpty,
@@ -405,22 +471,17 @@ class FileBrowserViewModel @Inject constructor(
     }
 
     /**
-     * This will map list of [Node] to [NodeUIItem]
+     * This will map a [TypedNode] to [NodeUIItem]
      */
-    private fun getNodeUiItems(nodeList: List<TypedNode>): List<NodeUIItem<TypedNode>> {
-        val existingNodeList = state.value.nodesList
-        return nodeList.mapIndexed { index, node ->
-            val isSelected = state.value.selectedNodeHandles.contains(node.id.longValue)
-            val fileDuration = if (node is FileNode) {
-                fileDurationMapper(node.type)?.let { durationInSecondsTextMapper(it) }
-            } else null
-            NodeUIItem(
-                node = node,
-                isSelected = if (existingNodeList.size > index) isSelected else false,
-                isInvisible = if (existingNodeList.size > index) existingNodeList[index].isInvisible else false,
-                fileDuration = fileDuration
-            )
-        }
+    private fun getNodeUiItem(node: TypedNode): NodeUIItem<TypedNode> {
+        val fileDuration = if (node is FileNode) {
+            fileDurationMapper(node.type)?.let { durationInSecondsTextMapper(it) }
+        } else null
+        return NodeUIItem(
+            node = node,
+            isSelected = false,
+            fileDuration = fileDuration
+        )
     }
 
     /**
@@ -572,34 +633,32 @@ class FileBrowserViewModel @Inject constructor(
 
     /**
      * Select all [NodeUIItem]
+     *
+     * Only some pages of the children are loaded, so all of them are loaded here.
      */
     fun selectAllNodes() {
-        val selectedNodeList = selectAllNodesUiList()
-        var totalFolderNode = 0
-        var totalFileNode = 0
-        val selectedNodeHandle = mutableListOf<Long>()
-        selectedNodeList.forEach {
-            if (it.node is FileNode) totalFolderNode++
-            if (it.node is FolderNode) totalFileNode++
-            selectedNodeHandle.add(it.node.id.longValue)
-        }
-        _state.update {
-            it.copy(
-                nodesList = selectedNodeList,
-                isInSelection = true,
-                selectedFolderNodes = totalFolderNode,
-                selectedFileNodes = totalFileNode,
-                selectedNodeHandles = selectedNodeHandle
-            )
-        }
-    }
-
-    /**
-     * Returns list of all selected Nodes
-     */
-    private fun selectAllNodesUiList(): List<NodeUIItem<TypedNode>> {
-        return _state.value.nodesList.map {
-            it.copy(isSelected = true)
+        val (parentNodeId, sortOrder) = nodesPagingRequest.value ?: return
+        viewModelScope.launch {
+            runCatching {
+                val hideSensitiveNodes = shouldHideSensitiveNodes(showHiddenItems.value)
+                getTypedChildrenNodeInBatchesUseCase(parentNodeId, sortOrder)
+                    .fold(mutableListOf<TypedNode>()) { nodes, batch ->
+                        nodes.apply {
+                            addAll(batch.filter { !hideSensitiveNodes || !it.isSensitive() })
+                        }
+                    }
+            }.onSuccess { selectedNodes ->
+                _state.update {
+                    it.copy(
+                        isInSelection = true,
+                        selectedFolderNodes = selectedNodes.count { node -> node is FolderNode },
+                        selectedFileNodes = selectedNodes.count { node -> node is FileNode },
+                        selectedNodes = selectedNodes,
+                    )
+                }
+            }.onFailure {
+                Timber.e(it)
+            }
         }
     }
 
@@ -610,26 +669,16 @@ class FileBrowserViewModel @Inject constructor(
         viewModelScope.launch {
             _state.update {
                 it.copy(
-                    nodesList = clearNodeUiItemList(),
                     selectedFileNodes = 0,
                     selectedFolderNodes = 0,
                     isInSelection = false,
-                    selectedNodeHandles = emptyList(),
+                    selectedNodes = emptyList(),
                     optionsItemInfo = null
                 )
             }
         }
     }
 
-    /**
-     * Clear the selections of items from NodesUiList
-     */
-    private fun clearNodeUiItemList(): List<NodeUIItem<TypedNode>> {
-        return _state.value.nodesList.map {
-            it.copy(isSelected = false)
-        }
-    }
-
     /**
      *  Changes the Transfer Over Quota banner visibility based on certain conditions
      */
@@ -660,10 +709,8 @@ class FileBrowserViewModel @Inject constructor(
      * @param nodeUIItem [NodeUIItem]
      */
     fun onItemClicked(nodeUIItem: NodeUIItem<TypedNode>) {
-        val index =
-            _state.value.nodesList.indexOfFirst { it.node.id.longValue == nodeUIItem.id.longValue }
         if (_state.value.isInSelection) {
-            updateNodeInSelectionState(nodeUIItem = nodeUIItem, index = index)
+            updateNodeInSelectionState(nodeUIItem = nodeUIItem)
         }
     }
 
@@ -673,34 +720,29 @@ class FileBrowserViewModel @Inject constructor(
      * @param nodeUIItem [NodeUIItem]
      */
     fun onLongItemClicked(nodeUIItem: NodeUIItem<TypedNode>) {
-        val index =
-            _state.value.nodesList.indexOfFirst { it.node.id.longValue == nodeUIItem.id.longValue }
-        updateNodeInSelectionState(nodeUIItem = nodeUIItem, index = index)
+        updateNodeInSelectionState(nodeUIItem = nodeUIItem)
     }
 
     /**
-     * This will update [NodeUIItem] list based on and update it on to the UI
+     * This will update the selected nodes, the paged [NodeUIItem] are updated from them
      * @param nodeUIItem [NodeUIItem] to be updated
-     * @param index Index of [NodeUIItem] in [state]
      */
-    private fun updateNodeInSelectionState(nodeUIItem: NodeUIItem<TypedNode>, index: Int) {
-        nodeUIItem.isSelected = !nodeUIItem.isSelected
-        val selectedNodeHandle = state.value.selectedNodeHandles.toMutableList()
-        val pair = if (nodeUIItem.isSelected) {
-            selectedNodeHandle.add(nodeUIItem.node.id.longValue)
+    private fun updateNodeInSelectionState(nodeUIItem: NodeUIItem<TypedNode>) {
+        val selectedNodes = state.value.selectedNodes.toMutableList()
+        val isSelected = selectedNodes.none { it.id == nodeUIItem.id }
+        val pair = if (isSelected) {
+            selectedNodes.add(nodeUIItem.node)
             selectNode(nodeUIItem)
         } else {
-            selectedNodeHandle.remove(nodeUIItem.node.id.longValue)
+            selectedNodes.removeAll { it.id == nodeUIItem.id }
             unSelectNode(nodeUIItem)
         }
-        val newNodesList = _state.value.nodesList.updateItemAt(index = index, item = nodeUIItem)
         _state.update {
             it.copy(
                 selectedFileNodes = pair.first,
                 selectedFolderNodes = pair.second,
-                nodesList = newNodesList,
                 isInSelection = pair.first > 0 || pair.second > 0,
-                selectedNodeHandles = selectedNodeHandle,
+                selectedNodes = selectedNodes,
                 optionsItemInfo = null
             )
         }
@@ -859,10 +901,6 @@ class FileBrowserViewModel @Inject constructor(
                             hiddenNodeEnabled = true
                         )
                     }
-                    if (_state.value.isLoading) return@onEach
-
-                    val nodes = filterNonSensitiveNodes(nodes = _state.value.sourceNodesList)
-                    _state.update { it.copy(nodesList = nodes) }
                 }
             }
             .launchIn(viewModelScope)
@@ -884,13 +922,7 @@ class FileBrowserViewModel @Inject constructor(
     private fun monitorShowHiddenItems() {
         monitorShowHiddenItemsUseCase()
             .conflate()
-            .onEach { show ->
-                showHiddenItems = show
-                if (_state.value.isLoading) return@onEach
-
-                val nodes = filterNonSensitiveNodes(nodes = _state.value.sourceNodesList)
-                _state.update { it.copy(nodesList = nodes) }
-            }
+            .onEach { show -> showHiddenItems.value = show }
             .launchIn(viewModelScope)
     }
 
@@ -912,17 +944,20 @@ class FileBrowserViewModel @Inject constructor(
         }
     }
 
-    private fun filterNonSensitiveNodes(nodes: List<NodeUIItem<TypedNode>>): List<NodeUIItem<TypedNode>> {
-        val showHiddenItems = showHiddenItems
-        val accountType = _state.value.accountType ?: return nodes
+    private fun monitorHideSensitiveNodes() = combine(showHiddenItems, _state) { showHiddenItems, state ->
+        shouldHideSensitiveNodes(showHiddenItems, state)
+    }.distinctUntilChanged()
 
-        return if (showHiddenItems || !accountType.isPaid || _state.value.isBusinessAccountExpired) {
-            nodes
-        } else {
-            nodes.filter { !it.node.isMarkedSensitive && !it.node.isSensitiveInherited }
-        }
+    private fun shouldHideSensitiveNodes(
+        showHiddenItems: Boolean,
+        state: FileBrowserState = _state.value,
+    ): Boolean {
+        val accountType = state.accountType ?: return false
+        return !showHiddenItems && accountType.isPaid && !state.isBusinessAccountExpired
     }
 
+    private fun TypedNode.isSensitive() = isMarkedSensitive || isSensitiveInherited
+
     /**
      * This method will handle the sort order change event
      */
@@ -944,4 +979,8 @@ class FileBrowserViewModel @Inject constructor(
             it.copy(storageCapacity = DEFAULT)
         }
     }
+
+    companion object {
+        private const val NODES_PAGE_SIZE = 50
+    }
 }
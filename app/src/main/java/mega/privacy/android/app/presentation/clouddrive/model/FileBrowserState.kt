@@ -5,7 +5,6 @@ import de.palm.composestateevents.StateEvent
 import de.palm.composestateevents.StateEventWithContent
 import de.palm.composestateevents.consumed
 import mega.privacy.android.app.presentation.clouddrive.model.StorageOverQuotaCapacity.DEFAULT
-import mega.privacy.android.app.presentation.data.NodeUIItem
 import mega.privacy.android.app.presentation.mapper.OptionsItemInfo
 import mega.privacy.android.app.presentation.settings.model.MediaDiscoveryViewSettings
 import mega.privacy.android.app.presentation.transfers.starttransfer.model.TransferTriggerEvent
@@ -27,14 +26,14 @@ import mega.privacy.android.domain.entity.preference.ViewType
  * [accessedFolderHandle]
  * @property mediaDiscoveryViewSettings current settings for displaying discovery view
  * @property isPendingRefresh
- * @property nodesList list of [NodeUIItem]
- * @property sourceNodesList list of [NodeUIItem]
+ * @property nodeCount number of children of the current folder, the children themselves are paged
  * @property isInSelection if list is in selection mode or not
  * @property itemIndex index of item clicked
  * @property currentFileNode [FileNode]
+ * @property selectedNodes List of selected nodes
  * @property selectedNodeHandles List of selected node handles
- * @property selectedFileNodes number of selected file [NodeUIItem] on Compose
- * @property selectedFolderNodes number of selected folder [NodeUIItem] on Compose
+ * @property selectedFileNodes number of selected file nodes
+ * @property selectedFolderNodes number of selected folder nodes
  * @property sortOrder [SortOrder] of current list
  * @property optionsItemInfo information when option selected clicked
  * @property isFileBrowserEmpty information about file browser empty
@@ -65,10 +64,9 @@ data class FileBrowserState(
     val isAccessedFolderExited: Boolean = false,
     val mediaDiscoveryViewSettings: Int = MediaDiscoveryViewSettings.INITIAL.ordinal,
     val isPendingRefresh: Boolean = false,
-    val nodesList: List<NodeUIItem<TypedNode>> = emptyList(),
-    val sourceNodesList: List<NodeUIItem<TypedNode>> = emptyList(),
+    val nodeCount: Int = 0,
     val isInSelection: Boolean = false,
-    val selectedNodeHandles: List<Long> = emptyList(),
+    val selectedNodes: List<TypedNode> = emptyList(),
     val selectedFileNodes: Int = 0,
     val selectedFolderNodes: Int = 0,
     val sortOrder: SortOrder = SortOrder.ORDER_NONE,
@@ -92,4 +90,6 @@ data class FileBrowserState(
     val hiddenNodeEnabled: Boolean = false,
 ) {
     val hasNoOpenedFolders get() = openedFolderNodeHandles.isEmpty()
+
+    val selectedNodeHandles get() = selectedNodes.map { it.id.longValue }
 }
\ No newline at end of file
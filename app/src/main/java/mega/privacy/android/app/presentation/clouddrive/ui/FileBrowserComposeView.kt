@@ -21,6 +21,8 @@ import androidx.compose.ui.res.stringResource
 import androidx.compose.ui.semantics.semantics
 import androidx.compose.ui.semantics.testTagsAsResourceId
 import androidx.compose.ui.unit.dp
+import androidx.paging.LoadState
+import androidx.paging.compose.LazyPagingItems
 import mega.privacy.android.app.presentation.clouddrive.model.FileBrowserState
 import mega.privacy.android.app.presentation.clouddrive.model.StorageOverQuotaCapacity
 import mega.privacy.android.app.presentation.data.NodeUIItem
@@ -40,6 +42,7 @@ import mega.privacy.android.shared.original.core.ui.utils.sync
 /**
  * Composable view for FileBrowser
  * @param uiState
+ * @param nodeUIItems the paged children of the current folder
  * @param emptyState
  * @param onItemClick
  * @param onLongClick
@@ -54,6 +57,7 @@ import mega.privacy.android.shared.original.core.ui.utils.sync
 @Composable
 fun FileBrowserComposeView(
     uiState: FileBrowserState,
+    nodeUIItems: LazyPagingItems<NodeUIItem<TypedNode>>,
     emptyState: Pair<Int, Int>,
     onItemClick: (NodeUIItem<TypedNode>) -> Unit,
     onLongClick: (NodeUIItem<TypedNode>) -> Unit,
@@ -77,7 +81,7 @@ fun FileBrowserComposeView(
     /**
      * When back navigation performed from a folder, remove the listState/gridState of that node handle
      */
-    LaunchedEffect(uiState.openedFolderNodeHandles, uiState.nodesList, uiState.fileBrowserHandle) {
+    LaunchedEffect(uiState.openedFolderNodeHandles, uiState.nodeCount, uiState.fileBrowserHandle) {
         listStateMap = listStateMap.sync(
             uiState.openedFolderNodeHandles,
             uiState.fileBrowserHandle
@@ -104,8 +108,9 @@ fun FileBrowserComposeView(
 
         val currentListState = listStateMap.getState(uiState.fileBrowserHandle)
 
-        if (!uiState.isLoading) {
-            if (uiState.nodesList.isNotEmpty()) {
+        val isRefreshing = nodeUIItems.loadState.refresh is LoadState.Loading
+        if (!uiState.isLoading && (nodeUIItems.itemCount > 0 || !isRefreshing)) {
+            if (nodeUIItems.itemCount > 0) {
                 Column {
                     OverQuotaView(
                         bannerTime = uiState.bannerTime,
@@ -115,7 +120,7 @@ fun FileBrowserComposeView(
                     )
 
                     NodesView(
-                        nodeUIItems = uiState.nodesList,
+                        nodeUIItems = nodeUIItems,
                         onMenuClick = onMenuClick,
                         onItemClicked = onItemClick,
                         onLongClick = onLongClick,
@@ -13,8 +13,9 @@ import mega.privacy.android.domain.entity.chat.ChatHistoryLoadStatus
 import mega.privacy.android.domain.entity.chat.ChatMessage
 import mega.privacy.android.domain.entity.chat.messages.TypedMessage
 import mega.privacy.android.domain.entity.chat.messages.paging.FetchMessagePageResponse
-import mega.privacy.android.domain.usecase.chat.message.paging.ClearChatMessagesUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.FetchMessagePageUseCase
+import mega.privacy.android.domain.usecase.chat.message.paging.GetCachedChatMessageIdsUseCase
+import mega.privacy.android.domain.usecase.chat.message.paging.ReconcileChatMessagesUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.SaveChatMessagesUseCase
 import timber.log.Timber
 import kotlin.coroutines.coroutineContext
@@ -22,9 +23,16 @@ import kotlin.coroutines.coroutineContext
 /**
  * Paged chat message remote mediator
  *
+ * The messages stored from previous sessions are kept and shown straight away. A refresh fetches
+ * the newest messages until they reach the stored ones and reconciles them, so only the messages
+ * received, edited or deleted since then are written. An append fetches until it gets a page of
+ * messages older than the stored ones, saving every fetched page without the stored messages as it
+ * arrives.
+ *
  * @property fetchMessages
  * @property saveMessages
- * @property clearChatMessagesUseCase
+ * @property getCachedChatMessageIdsUseCase
+ * @property reconcileChatMessagesUseCase
  * @property chatId
  * @property coroutineScope
  */
@@ -32,7 +40,8 @@ import kotlin.coroutines.coroutineContext
 class PagedChatMessageRemoteMediator @AssistedInject constructor(
     private val fetchMessages: FetchMessagePageUseCase,
     private val saveMessages: SaveChatMessagesUseCase,
-    private val clearChatMessagesUseCase: ClearChatMessagesUseCase,
+    private val getCachedChatMessageIdsUseCase: GetCachedChatMessageIdsUseCase,
+    private val reconcileChatMessagesUseCase: ReconcileChatMessagesUseCase,
     @Assisted private val chatId: Long,
     @Assisted private val coroutineScope: CoroutineScope,
 ) : RemoteMediator<Int, TypedMessage>() {
@@ -48,24 +57,46 @@ class PagedChatMessageRemoteMediator @AssistedInject constructor(
                 return MediatorResult.Success(endOfPaginationReached = true)
             }
 
-            if (loadType == LoadType.REFRESH) {
-                clearChatMessagesUseCase(chatId, false)
-            }
-
             val count = when (loadType) {
                 LoadType.REFRESH -> state.config.initialLoadSize
                 else -> state.config.pageSize
             }
 
+            val cachedMessageIds = getCachedChatMessageIdsUseCase(chatId)
             val messages = mutableListOf<ChatMessage>()
+            var newMessageCount = 0
+            var reachesCachedMessages = cachedMessageIds.isEmpty()
             lateinit var response: FetchMessagePageResponse
-            while (messages.size < count && coroutineContext.isActive) {
+            do {
                 response = fetchMessages(chatId, coroutineScope)
-                messages.addAll(response.messages)
+                val newMessages = response.messages.filterNot { it.messageId in cachedMessageIds }
+                newMessageCount += newMessages.size
+                if (newMessages.size < response.messages.size) reachesCachedMessages = true
+                if (loadType == LoadType.REFRESH) {
+                    messages.addAll(response.messages)
+                } else if (newMessages.isNotEmpty()) {
+                    saveMessagesPage(newMessages)
+                }
                 if (response.loadResponse == ChatHistoryLoadStatus.NONE) break
-            }
-            runCatching { saveMessages(chatId = chatId, messages = messages) }.onFailure {
-                Timber.e(it, "Failed to save chat messages")
+
+                val isLoaded = if (loadType == LoadType.REFRESH) {
+                    messages.size >= count &&
+                            (reachesCachedMessages || messages.size >= count * MAX_REFRESH_PAGES)
+                } else {
+                    newMessageCount >= count
+                }
+            } while (!isLoaded && coroutineContext.isActive)
+
+            if (loadType == LoadType.REFRESH) {
+                runCatching {
+                    reconcileChatMessagesUseCase(
+                        chatId = chatId,
+                        messages = messages,
+                        isHistoryComplete = response.loadResponse == ChatHistoryLoadStatus.NONE,
+                    )
+                }.onFailure {
+                    Timber.e(it, "Failed to reconcile chat messages")
+                }
             }
 
             MediatorResult.Success(endOfPaginationReached = response.loadResponse == ChatHistoryLoadStatus.NONE)
@@ -78,4 +109,24 @@ class PagedChatMessageRemoteMediator @AssistedInject constructor(
             MediatorResult.Error(e)
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves a page of appended messages as soon as it is fetched, the messages already stored are
+     * left out before
+     */
+    private suspend fun saveMessagesPage(messages: List<ChatMessage>) {
+        runCatching {
+            saveMessages(chatId = chatId, messages = messages)
+        }.onFailure {
+            Timber.e(it, "Failed to save chat messages")
+        }
+    }
+
+    companion object {
+        /**
+         * Maximum number of pages a refresh fetches looking for the stored messages, the stored
+         * messages are replaced if it does not reach them
+         */
+        private const val MAX_REFRESH_PAGES = 5
+    }
+}
@@ -1,15 +1,12 @@
 package mega.privacy.android.app.presentation.photos
 
 import androidx.lifecycle.ViewModel
-import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineDispatcher
-import kotlinx.coroutines.ExperimentalCoroutinesApi
-import kotlinx.coroutines.channels.BufferOverflow
-import kotlinx.coroutines.channels.Channel
-import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.usecase.thumbnailpreview.DownloadPreviewUseCase
 import mega.privacy.android.domain.usecase.thumbnailpreview.DownloadPublicNodePreviewUseCase
@@ -27,53 +24,39 @@ class PhotoDownloaderViewModel @Inject constructor(
     private val downloadPublicNodePreviewUseCase: DownloadPublicNodePreviewUseCase,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : ViewModel() {
-    private val channel = Channel<PhotoCover>(
-        capacity = 300,
-        onBufferOverflow = BufferOverflow.DROP_OLDEST
-    )
-
-    init {
-        viewModelScope.launch(ioDispatcher) {
-            handleChannel()
-        }
-    }
-
-    private suspend fun handleChannel() {
-        for (photoCover in channel) {
-            if (photoCover.isPublicNode) {
-                downloadPhotoCover(photoCover)
-            } else {
-                downloadPublicNodePhotoCover(photoCover)
-            }
-        }
-    }
-
-    private suspend fun downloadPublicNodePhotoCover(
-        photoCover: PhotoCover,
+    /**
+     * Downloads the image of a node, the download is scheduled with the rest of thumbnail and
+     * preview downloads. Cancelling the caller, for instance when the image scrolls out of view,
+     * drops the download if it has not started yet.
+     */
+    private suspend fun downloadNodeImage(
+        isPreview: Boolean,
+        photo: Photo,
+        callback: (success: Boolean) -> Unit,
     ) {
-        if (photoCover.isPreview) {
-            downloadPreviewUseCase(photoCover.photo.id) {
-                photoCover.callback(it)
-            }
+        if (isPreview) {
+            downloadPreviewUseCase(photo.id, callback)
         } else {
-            downloadThumbnailUseCase(photoCover.photo.id) {
-                photoCover.callback(it)
-            }
+            // requested by the grid items when they are composed, so they are on screen
+            downloadThumbnailUseCase(photo.id, ThumbnailRequestPriority.VISIBLE, callback)
         }
     }
 
-    private suspend fun downloadPhotoCover(
-        photoCover: PhotoCover,
+    private suspend fun downloadPublicNodeImage(
+        isPreview: Boolean,
+        photo: Photo,
+        callback: (success: Boolean) -> Unit,
     ) {
         runCatching {
-            if (photoCover.isPreview) {
-                downloadPublicNodePreviewUseCase(photoCover.photo.id)
+            if (isPreview) {
+                downloadPublicNodePreviewUseCase(photo.id)
             } else {
-                downloadPublicNodeThumbnailUseCase(photoCover.photo.id)
+                downloadPublicNodeThumbnailUseCase(photo.id)
             }
         }.onSuccess {
-            photoCover.callback(it)
+            callback(it)
         }.onFailure {
+            if (it is CancellationException) throw it
             Timber.e(it)
         }
     }
@@ -100,13 +83,7 @@ class PhotoDownloaderViewModel @Inject constructor(
                 }
             }
 
-            enterChannel(
-                PhotoCover(
-                    isPreview = isPreview,
-                    photo = photo,
-                    callback = callback
-                )
-            )
+            downloadNodeImage(isPreview, photo, callback)
         }
     }
 
@@ -132,35 +109,7 @@ class PhotoDownloaderViewModel @Inject constructor(
                 }
             }
 
-            enterChannel(
-                PhotoCover(
-                    isPreview = isPreview,
-                    photo = photo,
-                    callback = callback,
-                    isPublicNode = true
-                )
-            )
+            downloadPublicNodeImage(isPreview, photo, callback)
         }
     }
-
-    @OptIn(ExperimentalCoroutinesApi::class)
-    private suspend fun enterChannel(
-        cover: PhotoCover,
-    ) {
-        if (channel.isClosedForSend)
-            return
-        channel.send(cover)
-    }
-
-    override fun onCleared() {
-        channel.close()
-        super.onCleared()
-    }
 }
-
-data class PhotoCover(
-    val isPreview: Boolean,
-    val photo: Photo,
-    val callback: (success: Boolean) -> Unit,
-    val isPublicNode: Boolean = false,
-)
\ No newline at end of file
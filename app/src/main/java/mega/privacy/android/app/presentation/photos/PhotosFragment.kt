@@ -627,20 +627,14 @@ class PhotosFragment : Fragment() {
     private fun handleZoomOut() {
         with(timelineViewModel) {
             zoomOut()
-            handleAndUpdatePhotosUIState(
-                state.value.photos,
-                state.value.currentShowingPhotos
-            )
+            handleAndUpdatePhotosUIState()
         }
     }
 
     private fun handleZoomIn() {
         with(timelineViewModel) {
             zoomIn()
-            handleAndUpdatePhotosUIState(
-                state.value.photos,
-                state.value.currentShowingPhotos
-            )
+            handleAndUpdatePhotosUIState()
         }
     }
 
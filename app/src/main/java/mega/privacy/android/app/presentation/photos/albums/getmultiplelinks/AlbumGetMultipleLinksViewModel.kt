@@ -23,6 +23,7 @@ import mega.privacy.android.app.presentation.photos.albums.getlink.AlbumSummary
 import mega.privacy.android.domain.entity.photos.Album
 import mega.privacy.android.domain.entity.photos.AlbumId
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
 import mega.privacy.android.domain.qualifier.DefaultDispatcher
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.usecase.thumbnailpreview.DownloadThumbnailUseCase
@@ -138,7 +139,11 @@ class AlbumGetMultipleLinksViewModel @Inject constructor(
         val thumbnailFilePath = photo.thumbnailFilePath ?: return@launch
 
         if (File(thumbnailFilePath).exists()) callback(true)
-        else downloadThumbnailUseCase(nodeId = photo.id, callback)
+        else downloadThumbnailUseCase(
+            nodeId = photo.id,
+            priority = ThumbnailRequestPriority.VISIBLE,
+            callback = callback,
+        )
     }
 
     fun hideCopyright() {
@@ -33,6 +33,7 @@ import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.photos.Album
 import mega.privacy.android.domain.entity.photos.AlbumId
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
 import mega.privacy.android.domain.qualifier.DefaultDispatcher
 import mega.privacy.android.domain.usecase.AddPhotosToAlbum
 import mega.privacy.android.domain.usecase.FilterCameraUploadPhotos
@@ -277,7 +278,11 @@ class AlbumPhotosSelectionViewModel @Inject constructor(
         val thumbnailFilePath = photo.thumbnailFilePath ?: return@withContext
 
         if (File(thumbnailFilePath).exists()) callback(true)
-        else downloadThumbnailUseCase(nodeId = photo.id, callback)
+        else downloadThumbnailUseCase(
+            nodeId = photo.id,
+            priority = ThumbnailRequestPriority.VISIBLE,
+            callback = callback,
+        )
     }
 
     fun selectAllPhotos() = viewModelScope.launch {
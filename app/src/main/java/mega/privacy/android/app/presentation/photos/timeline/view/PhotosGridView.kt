@@ -15,10 +15,14 @@ import androidx.compose.foundation.lazy.grid.rememberLazyGridState
 import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.runtime.remember
+import androidx.compose.ui.ExperimentalComposeUiApi
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.platform.LocalConfiguration
 import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.platform.testTag
 import androidx.compose.ui.res.colorResource
+import androidx.compose.ui.semantics.semantics
+import androidx.compose.ui.semantics.testTagsAsResourceId
 import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.unit.dp
 import mega.privacy.android.app.R
@@ -39,6 +43,12 @@ const val DATE_FORMAT_MONTH = "LLLL"
 const val DATE_FORMAT_DAY = "dd"
 const val DATE_FORMAT_MONTH_WITH_DAY = "MMMM"
 
+/**
+ * Test tag of the timeline photos grid, exposed as resource id for the startup benchmarks
+ */
+const val TIMELINE_PHOTOS_GRID_TAG = "timeline_photos:grid"
+
+@OptIn(ExperimentalComposeUiApi::class)
 @Composable
 fun PhotosGridView(
     modifier: Modifier,
@@ -76,7 +86,10 @@ fun PhotosGridView(
     FastScrollLazyVerticalGrid(
         totalItems = totalItems,
         columns = GridCells.Fixed(spanCount),
-        modifier = modifier.fillMaxSize(),
+        modifier = modifier
+            .fillMaxSize()
+            .semantics { testTagsAsResourceId = true }
+            .testTag(TIMELINE_PHOTOS_GRID_TAG),
         state = lazyGridState,
         tooltipText = { index ->
             val item = uiPhotoList.getOrNull(index)
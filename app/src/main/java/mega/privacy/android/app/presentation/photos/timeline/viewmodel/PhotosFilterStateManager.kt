@@ -2,7 +2,6 @@ package mega.privacy.android.app.presentation.photos.timeline.viewmodel
 
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.withContext
-import mega.privacy.android.domain.entity.photos.Photo
 import mega.privacy.android.app.presentation.photos.timeline.model.ApplyFilterMediaType
 import mega.privacy.android.app.presentation.photos.model.FilterMediaType
 import mega.privacy.android.app.presentation.photos.timeline.model.TimelinePhotosSource
@@ -38,7 +37,7 @@ suspend fun TimelineViewModel.applyFilter(rememberFilter: Boolean) {
         createAndUpdateFilterType()
         updateRememberPreferences(rememberFilter)
         saveTimelineFilterPreferences(_state.value.rememberFilter)
-        handleAndUpdatePhotosUIState(_state.value.photos, filterMedias(_state.value.photos))
+        handleAndUpdatePhotosUIState()
     }
 }
 
@@ -66,20 +65,6 @@ fun TimelineViewModel.createAndUpdateFilterType() {
     }
 }
 
-internal suspend fun TimelineViewModel.filterMedias(photos: List<Photo>): List<Photo> {
-    return when (_state.value.applyFilterMediaType) {
-        ApplyFilterMediaType.ALL_MEDIA_IN_CD_AND_CU -> filterAllPhotos(photos)
-        ApplyFilterMediaType.ALL_MEDIA_IN_CD -> filterCloudDrivePhotos(photos)
-        ApplyFilterMediaType.ALL_MEDIA_IN_CU -> filterCameraUploadPhotos(photos)
-        ApplyFilterMediaType.IMAGES_IN_CD_AND_CU -> filterAllImages(photos)
-        ApplyFilterMediaType.IMAGES_IN_CD -> filterCloudDriveImages(photos)
-        ApplyFilterMediaType.IMAGES_IN_CU -> filterCameraUploadImages(photos)
-        ApplyFilterMediaType.VIDEOS_IN_CD_AND_CU -> filterAllVideos(photos)
-        ApplyFilterMediaType.VIDEOS_IN_CD -> filterCloudDriveVideos(photos)
-        ApplyFilterMediaType.VIDEOS_IN_CU -> filterCameraUploadVideos(photos)
-    }
-}
-
 internal fun TimelineViewModel.updateFilterState(
     showFilterDialog: Boolean,
     scrollStartIndex: Int,
@@ -102,51 +87,3 @@ internal fun TimelineViewModel.updateFilterState(
 fun TimelineViewModel.updateRememberPreferences(rememberFilter: Boolean) = _state.update {
     it.copy(rememberFilter = rememberFilter)
 }
-
-private fun filterAllPhotos(photos: List<Photo>): List<Photo> = photos
-
-private suspend fun TimelineViewModel.filterCloudDrivePhotos(photos: List<Photo>): List<Photo> =
-    getCloudDrivePhotos(photos)
-
-private suspend fun TimelineViewModel.filterCameraUploadPhotos(photos: List<Photo>): List<Photo> =
-    getCameraUploadPhotos(photos)
-
-
-private fun filterAllImages(photos: List<Photo>): List<Photo> =
-    photos.filterIsInstance<Photo.Image>()
-
-
-private suspend fun TimelineViewModel.filterCloudDriveImages(photos: List<Photo>): List<Photo> =
-    getCloudDrivePhotos(photos).filterIsInstance<Photo.Image>()
-
-private suspend fun TimelineViewModel.filterCameraUploadImages(photos: List<Photo>): List<Photo> =
-    getCameraUploadPhotos(photos).filterIsInstance<Photo.Image>()
-
-private fun filterAllVideos(photos: List<Photo>): List<Photo> =
-    photos.filterIsInstance<Photo.Video>()
-
-
-private suspend fun TimelineViewModel.filterCloudDriveVideos(photos: List<Photo>): List<Photo> =
-    getCloudDrivePhotos(photos).filterIsInstance<Photo.Video>()
-
-private suspend fun TimelineViewModel.filterCameraUploadVideos(photos: List<Photo>): List<Photo> =
-    getCameraUploadPhotos(photos).filterIsInstance<Photo.Video>()
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
@@ -5,6 +5,7 @@ import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.asStateFlow
@@ -14,11 +15,14 @@ import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.app.domain.usecase.GetNodeListByIds
 import mega.privacy.android.app.featuretoggle.AppFeatures
 import mega.privacy.android.app.presentation.mapper.TimelinePreferencesMapper
 import mega.privacy.android.app.presentation.photos.model.DateCard
+import mega.privacy.android.app.presentation.photos.model.FilterMediaType
 import mega.privacy.android.app.presentation.photos.model.LocationPreference
 import mega.privacy.android.app.presentation.photos.model.MediaTypePreference
 import mega.privacy.android.app.presentation.photos.model.RememberPreferences
@@ -28,11 +32,11 @@ import mega.privacy.android.app.presentation.photos.model.TimelineFilterPreferen
 import mega.privacy.android.app.presentation.photos.model.ZoomLevel
 import mega.privacy.android.app.presentation.photos.timeline.model.CameraUploadsStatus
 import mega.privacy.android.app.presentation.photos.timeline.model.PhotoListItem
+import mega.privacy.android.app.presentation.photos.timeline.model.TimelinePhotosSource
 import mega.privacy.android.app.presentation.photos.timeline.model.TimelineViewState
 import mega.privacy.android.app.presentation.photos.util.createDaysCardList
 import mega.privacy.android.app.presentation.photos.util.createMonthsCardList
 import mega.privacy.android.app.presentation.photos.util.createYearsCardList
-import mega.privacy.android.app.presentation.photos.util.groupPhotosByDay
 import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.entity.account.EnableCameraUploadsStatus.CAN_ENABLE_CAMERA_UPLOADS
@@ -46,12 +50,18 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadsStatusInfo
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotoChangeSet
+import mega.privacy.android.domain.entity.photos.TimelinePhotoBuckets
+import mega.privacy.android.domain.entity.photos.TimelinePhotoDay
+import mega.privacy.android.domain.entity.photos.TimelinePhotoFilter
+import mega.privacy.android.domain.entity.photos.TimelinePhotoGroup
 import mega.privacy.android.domain.entity.photos.TimelinePreferencesJSON
+import mega.privacy.android.domain.entity.photos.groupByMonth
+import mega.privacy.android.domain.entity.photos.groupByYear
 import mega.privacy.android.domain.qualifier.DefaultDispatcher
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.qualifier.MainDispatcher
 import mega.privacy.android.domain.usecase.FilterCameraUploadPhotos
-import mega.privacy.android.domain.usecase.FilterCloudDrivePhotos
 import mega.privacy.android.domain.usecase.GetBusinessStatusUseCase
 import mega.privacy.android.domain.usecase.GetNodeByIdUseCase
 import mega.privacy.android.domain.usecase.IsHiddenNodesOnboardedUseCase
@@ -66,13 +76,15 @@ import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCas
 import mega.privacy.android.domain.usecase.permisison.HasMediaPermissionUseCase
 import mega.privacy.android.domain.usecase.photos.EnableCameraUploadsInPhotosUseCase
 import mega.privacy.android.domain.usecase.photos.GetTimelineFilterPreferencesUseCase
-import mega.privacy.android.domain.usecase.photos.GetTimelinePhotosUseCase
+import mega.privacy.android.domain.usecase.photos.MonitorTimelinePhotoChangesUseCase
 import mega.privacy.android.domain.usecase.photos.SetTimelineFilterPreferencesUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
 import mega.privacy.android.domain.usecase.workers.StartCameraUploadUseCase
 import mega.privacy.android.domain.usecase.workers.StopCameraUploadsUseCase
 import nz.mega.sdk.MegaNode
 import timber.log.Timber
+import java.time.LocalDate
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
 import kotlin.time.Duration.Companion.seconds
 
@@ -80,9 +92,8 @@ import kotlin.time.Duration.Companion.seconds
  * View Model for Timeline
  *
  * @property IsCameraUploadsEnabledUseCase
- * @property getTimelinePhotosUseCase
+ * @property monitorTimelinePhotoChangesUseCase
  * @property getCameraUploadPhotos
- * @property getCloudDrivePhotos
  * @property setInitialCUPreferences
  * @property enableCameraUploadsInPhotosUseCase
  * @property getNodeListByIds
@@ -98,9 +109,8 @@ import kotlin.time.Duration.Companion.seconds
 @HiltViewModel
 class TimelineViewModel @Inject constructor(
     private val isCameraUploadsEnabledUseCase: IsCameraUploadsEnabledUseCase,
-    private val getTimelinePhotosUseCase: GetTimelinePhotosUseCase,
+    private val monitorTimelinePhotoChangesUseCase: MonitorTimelinePhotoChangesUseCase,
     val getCameraUploadPhotos: FilterCameraUploadPhotos,
-    val getCloudDrivePhotos: FilterCloudDrivePhotos,
     val setInitialCUPreferences: SetInitialCUPreferences,
     private val enableCameraUploadsInPhotosUseCase: EnableCameraUploadsInPhotosUseCase,
     val getNodeListByIds: GetNodeListByIds,
@@ -138,6 +148,28 @@ class TimelineViewModel @Inject constructor(
     private var isCameraUploadsUploading = false
     private var showHiddenItems: Boolean? = null
 
+    /**
+     * Version of the [PhotoChangeSet] the showing photos were built from
+     */
+    @Volatile
+    private var showingPhotosChangesVersion: Long? = null
+
+    /**
+     * All the source photos by day, filtered and sorted when building the UI state
+     */
+    private val photoBuckets = TimelinePhotoBuckets()
+    private val photoBucketsMutex = Mutex()
+
+    /**
+     * The photo items of every showing day, built again only when the photos of the day change
+     */
+    private val dayPhotoItems = ConcurrentHashMap<LocalDate, DayPhotoItems>()
+
+    private class DayPhotoItems(
+        val photos: List<Photo>,
+        val items: List<PhotoListItem.PhotoGridItem>,
+    )
+
     init {
         monitorPhotos()
         monitorCameraUploadsStatus()
@@ -152,10 +184,38 @@ class TimelineViewModel @Inject constructor(
     }
 
     private fun monitorPhotos() = viewModelScope.launch {
-        getTimelinePhotosUseCase()
+        monitorTimelinePhotoChangesUseCase()
             .catch { throwable ->
                 Timber.e(throwable)
-            }.collectLatest(::handlePhotos)
+            }.collectLatest(::handlePhotoChanges)
+    }
+
+    private suspend fun handlePhotoChanges(changeSet: PhotoChangeSet) {
+        if (changeSet.isIncrementalFrom(showingPhotosChangesVersion)) {
+            applyPhotoChanges(changeSet)
+        } else {
+            handlePhotos(changeSet.photos.values.toList(), changeSet.version)
+        }
+    }
+
+    /**
+     * Moves only the changed photos in the [photoBuckets], the photos that did not change keep
+     * their buckets
+     */
+    private suspend fun applyPhotoChanges(changeSet: PhotoChangeSet) {
+        Timber.v("TimelineViewModel photo changes flow=>" + changeSet.version)
+        val sourcePhotos = changeSet.photos.values.toList()
+        val changedPhotos = (changeSet.addedIds + changeSet.updatedIds)
+            .mapNotNull { changeSet.photos[it] }
+        val cameraUploadPhotoIds = getCameraUploadPhotoIds(changedPhotos)
+        photoBucketsMutex.withLock {
+            changeSet.removedIds.forEach(photoBuckets::remove)
+            changedPhotos.forEach { photoBuckets.put(it, it.id in cameraUploadPhotoIds) }
+        }
+        handleAndUpdatePhotosUIState(
+            sourcePhotos = sourcePhotos,
+            photoChangesVersion = changeSet.version,
+        )
     }
 
     private fun monitorCameraUploadsStatus() = viewModelScope.launch {
@@ -184,10 +244,7 @@ class TimelineViewModel @Inject constructor(
             showHiddenItems = it
             if (!_state.value.loadPhotosDone) return@onEach
 
-            handleAndUpdatePhotosUIState(
-                sourcePhotos = _state.value.photos,
-                showingPhotos = filterMedias(_state.value.photos),
-            )
+            handleAndUpdatePhotosUIState()
         }.launchIn(viewModelScope)
 
     private fun monitorAccountDetail() = monitorAccountDetailUseCase()
@@ -208,10 +265,7 @@ class TimelineViewModel @Inject constructor(
 
             if (!_state.value.loadPhotosDone) return@onEach
 
-            handleAndUpdatePhotosUIState(
-                sourcePhotos = _state.value.photos,
-                showingPhotos = filterMedias(_state.value.photos),
-            )
+            handleAndUpdatePhotosUIState()
         }.launchIn(viewModelScope)
 
     private fun handleCameraUploadsCheckStatus() {
@@ -294,18 +348,26 @@ class TimelineViewModel @Inject constructor(
         }
     }
 
-    private suspend fun handlePhotos(photos: List<Photo>) {
+    private suspend fun handlePhotos(photos: List<Photo>, photoChangesVersion: Long) {
         Timber.v("TimelineViewModel photos flow=>" + photos.size)
         if (getFeatureFlagValueUseCase(AppFeatures.RememberTimelinePreferences)) {
             handleTimelinePhotosUseCase()
         }
-        val showingPhotos = withContext(defaultDispatcher) { filterMedias(photos) }
+        val cameraUploadPhotoIds = getCameraUploadPhotoIds(photos)
+        photoBucketsMutex.withLock {
+            photoBuckets.setPhotos(photos, cameraUploadPhotoIds)
+        }
         handleAndUpdatePhotosUIState(
             sourcePhotos = photos,
-            showingPhotos = showingPhotos
+            photoChangesVersion = photoChangesVersion,
         )
     }
 
+    private suspend fun getCameraUploadPhotoIds(photos: List<Photo>): Set<Long> =
+        withContext(defaultDispatcher) {
+            getCameraUploadPhotos(photos).mapTo(HashSet()) { it.id }
+        }
+
     private suspend fun handleTimelinePhotosUseCase() {
         runCatching {
             getTimelineFilterPreferencesUseCase()
@@ -409,38 +471,63 @@ class TimelineViewModel @Inject constructor(
         _state.update { it.copy(shouldShowBusinessAccountPrompt = shouldShow) }
     }
 
+    /**
+     * Filters and sorts the showing photos and updates the UI state with them
+     *
+     * The photos are read from the [photoBuckets], so only the buckets selected by the current
+     * filter are visited and the day, month and year cards come from the day buckets.
+     *
+     * @param sourcePhotos the source photos, the current ones if they did not change
+     * @param photoChangesVersion the version of the [PhotoChangeSet] of the source photos, null to
+     * keep the current one as the source photos did not change
+     */
     internal fun handleAndUpdatePhotosUIState(
-        sourcePhotos: List<Photo>,
-        showingPhotos: List<Photo>,
+        sourcePhotos: List<Photo> = _state.value.photos,
+        photoChangesVersion: Long? = null,
     ) = viewModelScope.launch(defaultDispatcher) {
-        val nonSensitivePhotos = filterNonSensitivePhotos(showingPhotos)
-        val sortedPhotos = sortPhotos(nonSensitivePhotos)
+        updatePhotosUIState(
+            sourcePhotos = sourcePhotos,
+            photoChangesVersion = photoChangesVersion,
+        )
+    }
+
+    private suspend fun updatePhotosUIState(
+        sourcePhotos: List<Photo>,
+        photoChangesVersion: Long?,
+    ) = coroutineScope {
+        val filter = getPhotoFilter()
+        val photoDays = photoBucketsMutex.withLock {
+            photoBuckets.setNewestFirst(_state.value.currentSort == Sort.NEWEST)
+            photoBuckets.getPhotosByDay(filter)
+        }
+        val sortedPhotos = photoDays.flatMapTo(ArrayList()) { it.photos }
+        val days = photoDays.map {
+            TimelinePhotoGroup(date = it.date, cover = it.photos.first(), count = it.photos.size)
+        }
 
         async {
-            val items = handleAllPhotoItems(showingPhotos = sortedPhotos)
+            val items = handleAllPhotoItems(photoDays = photoDays)
             _state.update {
                 it.copy(photosListItems = items)
             }
         }
 
-        val dayPhotos = groupPhotosByDay(sortedPhotos = sortedPhotos)
-
         async {
-            val items = createYearsCardList(dayPhotos = dayPhotos)
+            val items = createYearsCardList(years = days.groupByYear())
             _state.update {
                 it.copy(yearsCardPhotos = items)
             }
         }
 
         async {
-            val items = createMonthsCardList(dayPhotos = dayPhotos)
+            val items = createMonthsCardList(months = days.groupByMonth())
             _state.update {
                 it.copy(monthsCardPhotos = items)
             }
         }
 
         async {
-            val items = createDaysCardList(dayPhotos = dayPhotos)
+            val items = createDaysCardList(days = days)
             _state.update {
                 it.copy(daysCardPhotos = items)
             }
@@ -454,30 +541,41 @@ class TimelineViewModel @Inject constructor(
                 enableCameraUploadPageShowing = sortedPhotos.isEmpty(),
             )
         }
+        photoChangesVersion?.let { showingPhotosChangesVersion = it }
         handleEnableZoomAndSortOptions()
     }
 
-    private fun handleAllPhotoItems(showingPhotos: List<Photo>): List<PhotoListItem> {
+    /**
+     * Builds the photo items day by day, reusing the items of the days whose photos did not change
+     * and only setting their selection again
+     */
+    private fun handleAllPhotoItems(photoDays: List<TimelinePhotoDay>): List<PhotoListItem> {
         val currentZoomLevel = _state.value.currentZoomLevel
-        val photoListItem = mutableListOf<PhotoListItem>()
-        showingPhotos.forEachIndexed { index, photo ->
-            val shouldShowDate = if (index == 0)
-                true
-            else
-                needsDateSeparator(
-                    current = photo,
-                    previous = showingPhotos[index - 1],
-                    currentZoomLevel = currentZoomLevel
-                )
+        val photoListItem = ArrayList<PhotoListItem>(photoDays.sumOf { it.photos.size + 1 })
+        photoDays.forEachIndexed { index, day ->
+            val shouldShowDate = index == 0 || needsDateSeparator(
+                currentDate = day.date,
+                previousDate = photoDays[index - 1].date,
+                currentZoomLevel = currentZoomLevel
+            )
             if (shouldShowDate) {
-                photoListItem.add(PhotoListItem.Separator(photo.modificationTime))
+                photoListItem.add(PhotoListItem.Separator(day.photos.first().modificationTime))
+            }
+            val dayItems = dayPhotoItems[day.date]?.takeIf { it.photos === day.photos }
+                ?: DayPhotoItems(
+                    photos = day.photos,
+                    items = day.photos.map {
+                        PhotoListItem.PhotoGridItem(photo = it, isSelected = false)
+                    },
+                ).also { dayPhotoItems[day.date] = it }
+            dayItems.items.mapTo(photoListItem) { item ->
+                val isSelected = item.photo.id in selectedPhotosIds
+                if (item.isSelected == isSelected) item else item.copy(isSelected = isSelected)
             }
-            photoListItem.add(
-                PhotoListItem.PhotoGridItem(
-                    photo = photo,
-                    isSelected = selectedPhotosIds.contains(photo.id),
-                )
-            )
+        }
+        if (dayPhotoItems.size > photoDays.size) {
+            val showingDates = photoDays.mapTo(HashSet()) { it.date }
+            dayPhotoItems.keys.retainAll(showingDates)
         }
         return photoListItem
     }
@@ -489,12 +587,10 @@ class TimelineViewModel @Inject constructor(
     }
 
     private fun needsDateSeparator(
-        current: Photo,
-        previous: Photo,
+        currentDate: LocalDate,
+        previousDate: LocalDate,
         currentZoomLevel: ZoomLevel,
     ): Boolean {
-        val currentDate = current.modificationTime.toLocalDate()
-        val previousDate = previous.modificationTime.toLocalDate()
         return if (currentZoomLevel == ZoomLevel.Grid_1) {
             currentDate != previousDate
         } else {
@@ -502,35 +598,29 @@ class TimelineViewModel @Inject constructor(
         }
     }
 
-    private fun sortPhotos(photos: List<Photo>): List<Photo> {
-        return if (_state.value.currentSort == Sort.NEWEST) {
-            photos.sortedWith(compareByDescending<Photo> { it.modificationTime }.thenByDescending { it.id })
-        } else {
-            photos.sortedWith(compareBy<Photo> { it.modificationTime }.thenByDescending { it.id })
-        }
+    private fun getPhotoFilter(): TimelinePhotoFilter {
+        val applyFilterMediaType = _state.value.applyFilterMediaType
+        return TimelinePhotoFilter(
+            includeImages = applyFilterMediaType.type != FilterMediaType.VIDEOS,
+            includeVideos = applyFilterMediaType.type != FilterMediaType.IMAGES,
+            includeCameraUploads = applyFilterMediaType.source != TimelinePhotosSource.CLOUD_DRIVE,
+            includeCloudDrive = applyFilterMediaType.source != TimelinePhotosSource.CAMERA_UPLOAD,
+            includeSensitive = isShowingSensitivePhotos(),
+        )
     }
 
-    private fun filterNonSensitivePhotos(photos: List<Photo>): List<Photo> {
-        val showHiddenItems = showHiddenItems ?: return photos
-        val isPaid = _state.value.accountType?.isPaid ?: return photos
+    private fun isShowingSensitivePhotos(): Boolean {
+        val showHiddenItems = showHiddenItems ?: return true
+        val isPaid = _state.value.accountType?.isPaid ?: return true
 
-        return if (showHiddenItems || !isPaid || _state.value.isBusinessAccountExpired) {
-            photos
-        } else {
-            photos.filter { !it.isSensitive && !it.isSensitiveInherited }
-        }
+        return showHiddenItems || !isPaid || _state.value.isBusinessAccountExpired
     }
 
     /**
      * Sorts the content by order
      */
     fun sortByOrder() {
-        viewModelScope.launch {
-            handleAndUpdatePhotosUIState(
-                _state.value.photos,
-                _state.value.currentShowingPhotos
-            )
-        }
+        handleAndUpdatePhotosUIState()
     }
 
     /**
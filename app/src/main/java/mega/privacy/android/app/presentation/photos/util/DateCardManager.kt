@@ -3,6 +3,7 @@ package mega.privacy.android.app.presentation.photos.util
 import mega.privacy.android.app.presentation.photos.model.DateCard
 import mega.privacy.android.app.presentation.photos.model.Sort
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.TimelinePhotoGroup
 import java.text.SimpleDateFormat
 import java.time.LocalDate
 import java.time.Year
@@ -26,6 +27,10 @@ internal fun createYearsCardList(dayPhotos: Map<Photo, Int>): List<DateCard> =
         .map { createYearCard(it) }.toList()
 
 
+@JvmName("createYearsCardListFromGroups")
+internal fun createYearsCardList(years: List<TimelinePhotoGroup>): List<DateCard> =
+    years.map { createYearCard(it.cover) }
+
 private fun createYearCard(photo: Photo): DateCard {
     val year = DateTimeFormatter.ofPattern(DATE_FORMAT_YEAR)
         .format(photo.modificationTime)
@@ -40,6 +45,10 @@ internal fun createMonthsCardList(dayPhotos: Map<Photo, Int>): List<DateCard> =
     dayPhotos.keys.distinctBy { YearMonth.from(it.modificationTime) }
         .map { createMonthCard(it) }.toList()
 
+@JvmName("createMonthsCardListFromGroups")
+internal fun createMonthsCardList(months: List<TimelinePhotoGroup>): List<DateCard> =
+    months.map { createMonthCard(it.cover) }
+
 private fun createMonthCard(photo: Photo): DateCard {
     val sameYear = Year.from(LocalDate.now()) == Year.from(photo.modificationTime)
     val month = SimpleDateFormat(DATE_FORMAT_MONTH, Locale.getDefault()).format(
@@ -70,6 +79,10 @@ internal fun createDaysCardList(dayPhotos: Map<Photo, Int>): List<DateCard> =
         createDaysCard(key, value)
     }.toList()
 
+@JvmName("createDaysCardListFromGroups")
+internal fun createDaysCardList(days: List<TimelinePhotoGroup>): List<DateCard> =
+    days.map { createDaysCard(it.cover, it.count) }
+
 private fun createDaysCard(photo: Photo, photosCount: Int): DateCard {
     val sameYear = Year.from(LocalDate.now()) == Year.from(photo.modificationTime)
     val showDate = DateTimeFormatter.ofPattern(
@@ -4,18 +4,32 @@ import androidx.annotation.StringRes
 import androidx.lifecycle.SavedStateHandle
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.PagingSource
+import androidx.paging.cachedIn
+import androidx.paging.filter
+import androidx.paging.map
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.combine
 import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.merge
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
-import mega.privacy.android.app.extensions.updateItemAt
+import mega.privacy.android.app.extensions.insertFoldersEndSeparator
 import mega.privacy.android.app.featuretoggle.AppFeatures
 import mega.privacy.android.app.presentation.data.NodeUIItem
 import mega.privacy.android.app.presentation.search.mapper.DateFilterOptionStringResMapper
@@ -49,6 +63,7 @@ import mega.privacy.android.domain.usecase.canceltoken.CancelCancelTokenUseCase
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
 import mega.privacy.android.domain.usecase.node.MonitorNodeUpdatesUseCase
 import mega.privacy.android.domain.usecase.offline.MonitorOfflineNodeUpdatesUseCase
+import mega.privacy.android.domain.usecase.search.GetSearchPagingSourceUseCase
 import mega.privacy.android.domain.usecase.search.SearchUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
 import mega.privacy.android.domain.usecase.viewtype.MonitorViewType
@@ -56,12 +71,12 @@ import mega.privacy.android.domain.usecase.viewtype.SetViewType
 import nz.mega.sdk.MegaApiJava
 import timber.log.Timber
 import javax.inject.Inject
-import kotlin.coroutines.cancellation.CancellationException
 
 /**
  * SearchActivity View Model
  * @property getFeatureFlagValueUseCase [GetFeatureFlagValueUseCase]
  * @property monitorNodeUpdatesUseCase [MonitorNodeUpdatesUseCase]
+ * @property getSearchPagingSourceUseCase [GetSearchPagingSourceUseCase]
  * @property searchFilterMapper [SearchFilterMapper]
  * @property nodeSourceTypeToSearchTargetMapper [NodeSourceTypeToSearchTargetMapper]
  * @property typeFilterToSearchMapper [TypeFilterToSearchMapper]
@@ -77,6 +92,7 @@ class SearchActivityViewModel @Inject constructor(
     private val getFeatureFlagValueUseCase: GetFeatureFlagValueUseCase,
     private val monitorNodeUpdatesUseCase: MonitorNodeUpdatesUseCase,
     private val searchUseCase: SearchUseCase,
+    private val getSearchPagingSourceUseCase: GetSearchPagingSourceUseCase,
     private val searchFilterMapper: SearchFilterMapper,
     private val nodeSourceTypeToSearchTargetMapper: NodeSourceTypeToSearchTargetMapper,
     private val typeFilterToSearchMapper: TypeFilterToSearchMapper,
@@ -109,7 +125,48 @@ class SearchActivityViewModel @Inject constructor(
     private val parentHandle =
         stateHandle.get<Long>(SearchActivity.PARENT_HANDLE) ?: MegaApiJava.INVALID_HANDLE
 
-    private var showHiddenItems: Boolean = true
+    private val showHiddenItems = MutableStateFlow(true)
+
+    /**
+     * The parent and the parameters of the search being paged, null until the first search
+     */
+    private val searchRequest = MutableStateFlow<Pair<NodeId, SearchParameters>?>(null)
+
+    private var searchPagingSource: PagingSource<Int, TypedNode>? = null
+
+    /**
+     * The search results, a page at a time. The sensitive nodes are filtered out and the
+     * selection is set on the loaded pages only.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val searchResults: Flow<PagingData<NodeUIItem<TypedNode>>> = searchRequest
+        .flatMapLatest { request ->
+            request?.let { (parentNodeId, searchParameters) ->
+                Pager(PagingConfig(pageSize = SEARCH_PAGE_SIZE)) {
+                    getSearchPagingSourceUseCase(
+                        parentHandle = parentNodeId,
+                        nodeSourceType = nodeSourceType,
+                        searchParameters = searchParameters,
+                    ).also { searchPagingSource = it }
+                }.flow
+            } ?: flowOf(PagingData.empty())
+        }
+        .map { pagingData -> pagingData.map { node -> NodeUIItem(node = node, isSelected = false) } }
+        .cachedIn(viewModelScope)
+        .combine(
+            combine(
+                _state.map { state -> state.selectedNodes.map { it.id }.toSet() }
+                    .distinctUntilChanged(),
+                monitorHideSensitiveNodes(),
+                ::Pair,
+            )
+        ) { pagingData, (selectedNodeIds, hideSensitiveNodes) ->
+            pagingData
+                .filter { !hideSensitiveNodes || !it.node.isSensitive() }
+                .map { it.copy(isSelected = it.node.id in selectedNodeIds) }
+                .insertFoldersEndSeparator()
+        }
+        .cachedIn(viewModelScope)
 
     init {
         checkSearchFlags()
@@ -167,35 +224,37 @@ class SearchActivityViewModel @Inject constructor(
      */
     private fun performSearch() {
         searchJob?.cancel()
-        _state.update { it.copy(isSearching = true) }
         searchJob = viewModelScope.launch {
-            runCatching {
-                cancelCancelTokenUseCase()
-                searchUseCase(
-                    parentHandle = NodeId(getCurrentParentHandle()),
-                    nodeSourceType = nodeSourceType,
-                    searchParameters = SearchParameters(
-                        query = getCurrentQueryWithSearchByTags(),
-                        searchTarget = nodeSourceTypeToSearchTargetMapper(nodeSourceType),
-                        searchCategory = state.value.typeSelectedFilterOption?.let {
-                            typeFilterToSearchMapper(it.type)
-                        } ?: SearchCategory.ALL,
-                        modificationDate = state.value.dateModifiedSelectedFilterOption?.date,
-                        creationDate = state.value.dateAddedSelectedFilterOption?.date,
-                        description = if (state.value.searchDescriptionEnabled == true) getCurrentQueryWithSearchByTags() else null,
-                        tag = if (state.value.searchTagsEnabled == true) getCurrentSearchQuery().removePrefix(
-                            "#"
-                        ) else null,
-                    )
-                )
-            }.onSuccess {
-                onSearchSuccess(it)
-            }.onFailure { ex ->
-                onSearchFailure(ex)
+            runCatching { cancelCancelTokenUseCase() }.onFailure { Timber.e(it) }
+            val request = NodeId(getCurrentParentHandle()) to getSearchParameters()
+            if (request == searchRequest.value) {
+                searchPagingSource?.invalidate()
+            } else {
+                searchRequest.value = request
+            }
+            val cloudSortOrder =
+                runCatching { getCloudSortOrder() }.getOrDefault(SortOrder.ORDER_NONE)
+            val emptyState = getEmptySearchState()
+            _state.update {
+                it.copy(sortOrder = cloudSortOrder, emptyState = emptyState)
             }
         }
     }
 
+    private fun getSearchParameters() = SearchParameters(
+        query = getCurrentQueryWithSearchByTags(),
+        searchTarget = nodeSourceTypeToSearchTargetMapper(nodeSourceType),
+        searchCategory = state.value.typeSelectedFilterOption?.let {
+            typeFilterToSearchMapper(it.type)
+        } ?: SearchCategory.ALL,
+        modificationDate = state.value.dateModifiedSelectedFilterOption?.date,
+        creationDate = state.value.dateAddedSelectedFilterOption?.date,
+        description = if (state.value.searchDescriptionEnabled == true) getCurrentQueryWithSearchByTags() else null,
+        tag = if (state.value.searchTagsEnabled == true) getCurrentSearchQuery().removePrefix(
+            "#"
+        ) else null,
+    )
+
     // Get current query adjusted by search by tags
     private fun getCurrentQueryWithSearchByTags() =
         getCurrentSearchQuery().takeUnless {
@@ -211,59 +270,19 @@ class SearchActivityViewModel @Inject constructor(
     private fun getCurrentParentHandle() =
         state.value.navigationLevel.lastOrNull()?.first ?: parentHandle
 
-    private fun onSearchFailure(ex: Throwable) {
-        if (ex is CancellationException) {
-            return
-        }
-        Timber.e(ex)
-        val emptyState = getEmptySearchState()
-        _state.update {
-            it.copy(
-                searchItemList = emptyList(),
-                isSearching = false,
-                emptyState = emptyState
-            )
-        }
-    }
+    private fun monitorHideSensitiveNodes() = combine(showHiddenItems, _state) { showHiddenItems, state ->
+        shouldHideSensitiveNodes(showHiddenItems, state)
+    }.distinctUntilChanged()
 
-    private suspend fun onSearchSuccess(sourceSearchResults: List<TypedNode>?) {
-        val searchResults = filterNonSensitiveNodes(sourceSearchResults)
-        if (searchResults.isNullOrEmpty()) {
-            val emptyState = getEmptySearchState()
-            _state.update {
-                it.copy(
-                    searchItemList = emptyList(),
-                    isSearching = false,
-                    emptyState = emptyState
-                )
-            }
-        } else {
-            val nodeUIItems = searchResults.distinctBy { it.id.longValue }.map { typedNode ->
-                NodeUIItem(
-                    node = typedNode,
-                    isSelected = false,
-                )
-            }
-            val cloudSortOrder =
-                runCatching { getCloudSortOrder() }.getOrDefault(SortOrder.ORDER_NONE)
-            _state.update { state ->
-                state.copy(
-                    searchItemList = nodeUIItems,
-                    isSearching = false,
-                    sortOrder = cloudSortOrder
-                )
-            }
-        }
+    private fun shouldHideSensitiveNodes(
+        showHiddenItems: Boolean,
+        state: SearchActivityState = _state.value,
+    ): Boolean {
+        val accountType = state.accountType ?: return false
+        return !showHiddenItems && accountType.isPaid && !state.isBusinessAccountExpired
     }
 
-    private fun filterNonSensitiveNodes(nodes: List<TypedNode>?): List<TypedNode>? {
-        val accountType = _state.value.accountType ?: return nodes
-        return if (showHiddenItems || !accountType.isPaid || _state.value.isBusinessAccountExpired) {
-            nodes
-        } else {
-            nodes?.filter { !it.isMarkedSensitive && !it.isSensitiveInherited }
-        }
-    }
+    private fun TypedNode.isSensitive() = isMarkedSensitive || isSensitiveInherited
 
     private fun getEmptySearchState() =
         emptySearchViewMapper(
@@ -291,10 +310,8 @@ class SearchActivityViewModel @Inject constructor(
      * @param nodeUIItem [NodeUIItem]
      */
     fun onItemClicked(nodeUIItem: NodeUIItem<TypedNode>) {
-        val index =
-            _state.value.searchItemList.indexOfFirst { it.node.id.longValue == nodeUIItem.id.longValue }
         if (_state.value.selectedNodes.isNotEmpty()) {
-            updateNodeSelection(nodeUIItem = nodeUIItem, index = index)
+            updateNodeSelection(nodeUIItem = nodeUIItem)
         }
     }
 
@@ -302,59 +319,52 @@ class SearchActivityViewModel @Inject constructor(
      * Clear selection
      */
     fun clearSelection() {
-        val searchResultsUpdated = _state.value.searchItemList.asSequence().map {
-            it.copy(isSelected = false)
-        }
-        _state.update {
-            it.copy(
-                searchItemList = searchResultsUpdated.toList(),
-                selectedNodes = emptySet()
-            )
-        }
+        _state.update { it.copy(selectedNodes = emptySet()) }
     }
 
     /**
-     * Select ALl
+     * Select all, the results are paged so the whole list is loaded first
      */
     fun selectAll() = viewModelScope.launch {
-        val searchResultsUpdated = _state.value.searchItemList.asSequence().map {
-            it.copy(isSelected = true)
-        }
-        val selectedNodes = _state.value.searchItemList.asSequence().map {
-            it.node
-        }.toSet()
-        _state.update {
-            it.copy(
-                searchItemList = searchResultsUpdated.toList(),
-                selectedNodes = selectedNodes,
+        val (parentNodeId, searchParameters) = searchRequest.value ?: return@launch
+        runCatching {
+            searchUseCase(
+                parentHandle = parentNodeId,
+                nodeSourceType = nodeSourceType,
+                searchParameters = searchParameters,
             )
+        }.onSuccess { nodes ->
+            val hideSensitiveNodes = shouldHideSensitiveNodes(showHiddenItems.value)
+            val selectedNodes = nodes
+                .filter { !hideSensitiveNodes || !it.isSensitive() }
+                .distinctBy { it.id.longValue }
+                .toSet()
+            _state.update { it.copy(selectedNodes = selectedNodes) }
+        }.onFailure {
+            Timber.e(it)
         }
     }
 
     /**
-     * This will update [NodeUIItem] list based on and update it on to the UI
+     * This will add or remove the node of the [NodeUIItem] from the selected nodes
      * @param nodeUIItem [NodeUIItem] to be updated
-     * @param index Index of [NodeUIItem] in [state]
      */
-    private fun updateNodeSelection(nodeUIItem: NodeUIItem<TypedNode>, index: Int) =
-        viewModelScope.launch {
-            nodeUIItem.isSelected = !nodeUIItem.isSelected
-            val selectedNode = state.value.selectedNodes.toMutableSet()
-            if (state.value.selectedNodes.contains(nodeUIItem.node)) {
-                selectedNode.remove(nodeUIItem.node)
-            } else {
-                selectedNode.add(nodeUIItem.node)
-            }
-            val newNodesList =
-                _state.value.searchItemList.updateItemAt(index = index, item = nodeUIItem)
-            _state.update {
-                it.copy(
-                    searchItemList = newNodesList,
-                    optionsItemInfo = null,
-                    selectedNodes = selectedNode,
-                )
-            }
+    private fun updateNodeSelection(nodeUIItem: NodeUIItem<TypedNode>) {
+        _state.update { state ->
+            val selectedNodes = state.selectedNodes
+            state.copy(
+                optionsItemInfo = null,
+                selectedNodes = when {
+                    nodeUIItem.node in selectedNodes -> selectedNodes - nodeUIItem.node
+                    // The page was reloaded after the node was selected
+                    nodeUIItem.isSelected -> selectedNodes.filterNot { it.id == nodeUIItem.node.id }
+                        .toSet()
+
+                    else -> selectedNodes + nodeUIItem.node
+                },
+            )
         }
+    }
 
     /**
      * This method will handle Long click on a NodesView and check the selected item
@@ -362,9 +372,7 @@ class SearchActivityViewModel @Inject constructor(
      * @param nodeUIItem [NodeUIItem]
      */
     fun onLongItemClicked(nodeUIItem: NodeUIItem<TypedNode>) {
-        val index =
-            _state.value.searchItemList.indexOfFirst { it.node.id.longValue == nodeUIItem.id.longValue }
-        updateNodeSelection(nodeUIItem = nodeUIItem, index = index)
+        updateNodeSelection(nodeUIItem = nodeUIItem)
     }
 
     /**
@@ -584,9 +592,6 @@ class SearchActivityViewModel @Inject constructor(
                         isBusinessAccountExpired = businessStatus == BusinessAccountStatus.Expired
                     )
                 }
-                if (_state.value.isSearching) return@onEach
-
-                performSearch()
             }
             .launchIn(viewModelScope)
     }
@@ -595,11 +600,12 @@ class SearchActivityViewModel @Inject constructor(
         monitorShowHiddenItemsUseCase()
             .conflate()
             .onEach { show ->
-                showHiddenItems = show
-                if (_state.value.isSearching) return@onEach
-
-                performSearch()
+                showHiddenItems.value = show
             }
             .launchIn(viewModelScope)
     }
+
+    companion object {
+        private const val SEARCH_PAGE_SIZE = 50
+    }
 }
@@ -18,6 +18,7 @@ import androidx.compose.ui.semantics.semantics
 import androidx.compose.ui.semantics.testTagsAsResourceId
 import androidx.lifecycle.compose.collectAsStateWithLifecycle
 import androidx.navigation.NavHostController
+import androidx.paging.compose.collectAsLazyPagingItems
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.R
 import mega.privacy.android.app.fragments.homepage.SortByHeaderViewModel
@@ -46,6 +47,7 @@ fun SearchScreen(
     modifier: Modifier = Modifier,
 ) {
     val uiState by searchActivityViewModel.state.collectAsStateWithLifecycle()
+    val searchResults = searchActivityViewModel.searchResults.collectAsLazyPagingItems()
     val modalSheetState = rememberModalBottomSheetState(
         initialValue = ModalBottomSheetValue.Hidden,
     )
@@ -63,6 +65,7 @@ fun SearchScreen(
     SearchComposeView(
         modifier = modifier.semantics { testTagsAsResourceId = true },
         state = uiState,
+        searchResults = searchResults,
         sortOrder = stringResource(
             SortByHeaderViewModel.orderNameMap[uiState.sortOrder]
                 ?: R.string.sortby_name
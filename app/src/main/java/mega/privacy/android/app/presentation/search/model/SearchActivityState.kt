@@ -1,7 +1,6 @@
 package mega.privacy.android.app.presentation.search.model
 
 import androidx.annotation.StringRes
-import mega.privacy.android.app.presentation.data.NodeUIItem
 import mega.privacy.android.app.presentation.mapper.OptionsItemInfo
 import mega.privacy.android.app.presentation.node.view.ToolbarMenuItem
 import mega.privacy.android.domain.entity.AccountType
@@ -16,8 +15,6 @@ import mega.privacy.android.domain.entity.preference.ViewType
  * State for SearchActivity
  * @property searchDescriptionEnabled is search by description enabled via feature flag
  * @property searchTagsEnabled is search by tags enabled via feature flag
- * @property searchItemList list of search items in [TypedNode]
- * @property isSearching to show loading or not
  * @property sortOrder [SortOrder] to display nodes
  * @property currentViewType current [ViewType]
  * @property searchQuery current typed search query in search activity
@@ -41,8 +38,6 @@ import mega.privacy.android.domain.entity.preference.ViewType
 data class SearchActivityState(
     val searchDescriptionEnabled: Boolean? = null,
     val searchTagsEnabled: Boolean? = null,
-    val searchItemList: List<NodeUIItem<TypedNode>> = emptyList(),
-    val isSearching: Boolean = true,
     val sortOrder: SortOrder = SortOrder.ORDER_NONE,
     val currentViewType: ViewType = ViewType.LIST,
     val searchQuery: String = "",
@@ -17,11 +17,13 @@ import mega.privacy.mobile.analytics.event.SearchLastModifiedDropdownChipPressed
  *
  * @param state SearchActivityState
  * @param onFilterClicked Function to handle filter click
+ * @param enabled whether the filters can be changed, they are disabled while searching
  */
 @Composable
 fun FilterChipsView(
     state: SearchActivityState,
     onFilterClicked: (String) -> Unit,
+    enabled: Boolean = true,
 ) {
     DropdownChipToolbar(
         chipItems = listOf(
@@ -65,6 +67,6 @@ fun FilterChipsView(
                 testTag = DATE_ADDED_DROPDOWN_CHIP_TEST_TAG,
             ),
         ),
-        enabled = !state.isSearching,
+        enabled = enabled,
     )
 }
@@ -31,8 +31,13 @@ import androidx.compose.ui.semantics.testTagsAsResourceId
 import androidx.compose.ui.unit.dp
 import androidx.hilt.navigation.compose.hiltViewModel
 import androidx.navigation.NavHostController
+import androidx.paging.LoadState
+import androidx.paging.PagingData
+import androidx.paging.compose.LazyPagingItems
+import androidx.paging.compose.collectAsLazyPagingItems
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.R
 import mega.privacy.android.app.presentation.data.NodeUIItem
@@ -52,6 +57,7 @@ import mega.privacy.android.shared.original.core.ui.preview.CombinedThemePreview
 /**
  * View for Search compose
  * @param state [SearchActivityState]
+ * @param searchResults the paged search results
  * @param sortOrder String
  * @param onItemClick item click listener
  * @param onLongClick item long click listener
@@ -66,6 +72,7 @@ import mega.privacy.android.shared.original.core.ui.preview.CombinedThemePreview
 @Composable
 fun SearchComposeView(
     state: SearchActivityState,
+    searchResults: LazyPagingItems<NodeUIItem<TypedNode>>,
     sortOrder: String,
     onItemClick: (NodeUIItem<TypedNode>) -> Unit,
     onLongClick: (NodeUIItem<TypedNode>) -> Unit,
@@ -116,6 +123,10 @@ fun SearchComposeView(
 
     topBarPadding = if (state.navigationLevel.isNotEmpty()) 8.dp else 0.dp
 
+    val isSearching = searchResults.loadState.refresh is LoadState.Loading
+    // Only the loaded pages are counted, select all loads the rest
+    val loadedCount = searchResults.itemSnapshotList.count { it?.isInvisible == false }
+
     state.errorMessageId?.let {
         val errorMessage = stringResource(id = it)
         LaunchedEffect(key1 = scaffoldState.snackbarHostState) {
@@ -139,7 +150,7 @@ fun SearchComposeView(
                 },
                 onBackPressed = onBackPressed,
                 selectedNodes = state.selectedNodes,
-                totalCount = state.searchItemList.size,
+                totalCount = loadedCount,
                 navHostController = navHostController,
                 nodeActionHandler = nodeActionHandler,
                 clearSelection = clearSelection,
@@ -158,17 +169,18 @@ fun SearchComposeView(
                 FilterChipsView(
                     state = state,
                     onFilterClicked = onFilterClicked,
+                    enabled = !isSearching,
                 )
             }
-            if (state.isSearching) {
+            if (isSearching && searchResults.itemCount == 0) {
                 LoadingStateView(
                     isList = state.currentViewType == ViewType.LIST,
                     modifier = Modifier
                 )
             } else {
-                if (state.searchItemList.isNotEmpty()) {
+                if (searchResults.itemCount > 0) {
                     NodesView(
-                        nodeUIItems = state.searchItemList,
+                        nodeUIItems = searchResults,
                         onMenuClick = onMenuClick,
                         onItemClicked = onItemClick,
                         onLongClick = onLongClick,
@@ -228,6 +240,8 @@ private fun <T> T.useDebounce(
 private fun PreviewSearchComposeView() {
     SearchComposeView(
         state = SearchActivityState(),
+        searchResults = flowOf(PagingData.empty<NodeUIItem<TypedNode>>())
+            .collectAsLazyPagingItems(),
         sortOrder = SortOrder.ORDER_NONE.toString(),
         onItemClick = {},
         onLongClick = {},
@@ -13,6 +13,8 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.semantics.semantics
 import androidx.compose.ui.semantics.testTagsAsResourceId
 import androidx.compose.ui.unit.dp
+import androidx.paging.compose.LazyPagingItems
+import androidx.paging.compose.itemKey
 import mega.privacy.android.app.presentation.data.NodeUIItem
 import mega.privacy.android.app.presentation.view.extension.getIcon
 import mega.privacy.android.core.ui.mapper.FileTypeIconMapper
@@ -26,6 +28,7 @@ import mega.privacy.android.domain.entity.node.TypedFolderNode
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.node.thumbnail.ThumbnailRequest
 import mega.privacy.android.legacy.core.ui.controls.lists.HeaderViewItem
+import mega.privacy.android.legacy.core.ui.controls.lists.NodeLoadingGridViewItem
 import mega.privacy.android.shared.original.core.ui.controls.lists.NodeGridViewItem
 
 /**
@@ -110,28 +113,147 @@ fun <T : TypedNode> NodeGridView(
                 }
             },
         ) {
-            val node = nodeUIItems[it].node
-            NodeGridViewItem(
-                isSelected = nodeUIItems[it].isSelected,
-                name = nodeUIItems[it].node.name,
-                iconRes = nodeUIItems[it].node.getIcon(fileTypeIconMapper = fileTypeIconMapper),
-                thumbnailData = ThumbnailRequest(nodeUIItems[it].node.id, isPublicNode),
-                duration = nodeUIItems[it].fileDuration,
-                isTakenDown = nodeUIItems[it].isTakenDown,
-                onClick = { onItemClicked(nodeUIItems[it]) },
-                onLongClick = { onLongClick(nodeUIItems[it]) },
-                onMenuClick = { onMenuClick(nodeUIItems[it]) }.takeIf { !inSelectionMode },
-                isVideoNode = (nodeUIItems[it].node as? FileNode)?.type is VideoFileTypeInfo,
-                isFolderNode = nodeUIItems[it].node is TypedFolderNode,
-                isInvisible = nodeUIItems[it].isInvisible,
-                isSensitive = nodeSourceType != NodeSourceType.INCOMING_SHARES
-                        && nodeSourceType != NodeSourceType.OUTGOING_SHARES
-                        && nodeSourceType != NodeSourceType.LINKS
-                        && shouldApplySensitiveMode && (node.isMarkedSensitive || node.isSensitiveInherited),
-                showBlurEffect = (nodeUIItems[it].node as? FileNode)?.type?.let { fileTypeInfo ->
-                    fileTypeInfo is ImageFileTypeInfo || fileTypeInfo is VideoFileTypeInfo || fileTypeInfo is PdfFileTypeInfo || fileTypeInfo is AudioFileTypeInfo
-                } ?: false,
+            NodeUIItemGridViewItem(
+                nodeUIItem = nodeUIItems[it],
+                onMenuClick = onMenuClick,
+                onItemClicked = onItemClicked,
+                onLongClick = onLongClick,
+                fileTypeIconMapper = fileTypeIconMapper,
+                isPublicNode = isPublicNode,
+                inSelectionMode = inSelectionMode,
+                shouldApplySensitiveMode = shouldApplySensitiveMode,
+                nodeSourceType = nodeSourceType,
             )
         }
     }
 }
+
+/**
+ * This method will show the paged [NodeUIItem] in Grid manner based on span and getting thumbnail
+ * using [ThumbnailRequest], the items not loaded yet are shown as loading items
+ *
+ * The invisible item between the folders and the files fills the rest of the last folders row.
+ *
+ * @param nodeUIItems paged [NodeUIItem]
+ * @see NodeGridView
+ */
+@OptIn(ExperimentalComposeUiApi::class)
+@Composable
+fun <T : TypedNode> NodeGridView(
+    nodeUIItems: LazyPagingItems<NodeUIItem<T>>,
+    onMenuClick: (NodeUIItem<T>) -> Unit,
+    onItemClicked: (NodeUIItem<T>) -> Unit,
+    onLongClick: (NodeUIItem<T>) -> Unit,
+    onEnterMediaDiscoveryClick: () -> Unit,
+    sortOrder: String,
+    onSortOrderClick: () -> Unit,
+    onChangeViewTypeClick: () -> Unit,
+    showSortOrder: Boolean,
+    gridState: LazyGridState,
+    showMediaDiscoveryButton: Boolean,
+    fileTypeIconMapper: FileTypeIconMapper,
+    modifier: Modifier = Modifier,
+    spanCount: Int = 2,
+    showChangeViewType: Boolean = true,
+    isPublicNode: Boolean = false,
+    inSelectionMode: Boolean = false,
+    shouldApplySensitiveMode: Boolean = false,
+    listContentPadding: PaddingValues = PaddingValues(0.dp),
+    nodeSourceType: NodeSourceType = NodeSourceType.CLOUD_DRIVE,
+) {
+    LazyVerticalGrid(
+        state = gridState,
+        columns = GridCells.Fixed(spanCount),
+        modifier = modifier
+            .padding(horizontal = 4.dp)
+            .semantics { testTagsAsResourceId = true },
+        verticalArrangement = Arrangement.spacedBy(4.dp),
+        horizontalArrangement = Arrangement.spacedBy(4.dp),
+        contentPadding = listContentPadding
+    ) {
+        if (showSortOrder || showChangeViewType) {
+            item(
+                key = "header",
+                span = {
+                    GridItemSpan(currentLineSpan = spanCount)
+                }
+            ) {
+                HeaderViewItem(
+                    modifier = modifier.padding(bottom = 4.dp),
+                    onSortOrderClick = onSortOrderClick,
+                    onChangeViewTypeClick = onChangeViewTypeClick,
+                    onEnterMediaDiscoveryClick = onEnterMediaDiscoveryClick,
+                    sortOrder = sortOrder,
+                    isListView = false,
+                    showSortOrder = showSortOrder,
+                    showChangeViewType = showChangeViewType,
+                    showMediaDiscoveryButton = showMediaDiscoveryButton,
+                )
+            }
+        }
+        items(
+            count = nodeUIItems.itemCount,
+            key = nodeUIItems.itemKey { it.pagedItemKey },
+            span = {
+                if (nodeUIItems.peek(it)?.isInvisible == true) {
+                    GridItemSpan(maxCurrentLineSpan)
+                } else {
+                    GridItemSpan(1)
+                }
+            },
+        ) {
+            val nodeUIItem = nodeUIItems[it]
+            when {
+                nodeUIItem == null -> NodeLoadingGridViewItem()
+                nodeUIItem.isInvisible -> Unit
+                else -> NodeUIItemGridViewItem(
+                    nodeUIItem = nodeUIItem,
+                    onMenuClick = onMenuClick,
+                    onItemClicked = onItemClicked,
+                    onLongClick = onLongClick,
+                    fileTypeIconMapper = fileTypeIconMapper,
+                    isPublicNode = isPublicNode,
+                    inSelectionMode = inSelectionMode,
+                    shouldApplySensitiveMode = shouldApplySensitiveMode,
+                    nodeSourceType = nodeSourceType,
+                )
+            }
+        }
+    }
+}
+
+@Composable
+private fun <T : TypedNode> NodeUIItemGridViewItem(
+    nodeUIItem: NodeUIItem<T>,
+    onMenuClick: (NodeUIItem<T>) -> Unit,
+    onItemClicked: (NodeUIItem<T>) -> Unit,
+    onLongClick: (NodeUIItem<T>) -> Unit,
+    fileTypeIconMapper: FileTypeIconMapper,
+    isPublicNode: Boolean,
+    inSelectionMode: Boolean,
+    shouldApplySensitiveMode: Boolean,
+    nodeSourceType: NodeSourceType,
+) {
+    val node = nodeUIItem.node
+    NodeGridViewItem(
+        isSelected = nodeUIItem.isSelected,
+        name = node.name,
+        iconRes = node.getIcon(fileTypeIconMapper = fileTypeIconMapper),
+        thumbnailData = ThumbnailRequest(node.id, isPublicNode),
+        duration = nodeUIItem.fileDuration,
+        isTakenDown = nodeUIItem.isTakenDown,
+        onClick = { onItemClicked(nodeUIItem) },
+        onLongClick = { onLongClick(nodeUIItem) },
+        onMenuClick = { onMenuClick(nodeUIItem) }.takeIf { !inSelectionMode },
+        isVideoNode = (node as? FileNode)?.type is VideoFileTypeInfo,
+        isFolderNode = node is TypedFolderNode,
+        isInvisible = nodeUIItem.isInvisible,
+        isSensitive = nodeSourceType != NodeSourceType.INCOMING_SHARES
+                && nodeSourceType != NodeSourceType.OUTGOING_SHARES
+                && nodeSourceType != NodeSourceType.LINKS
+                && shouldApplySensitiveMode && (node.isMarkedSensitive || node.isSensitiveInherited),
+        showBlurEffect = (node as? FileNode)?.type?.let { fileTypeInfo ->
+            fileTypeInfo is ImageFileTypeInfo || fileTypeInfo is VideoFileTypeInfo || fileTypeInfo is PdfFileTypeInfo || fileTypeInfo is AudioFileTypeInfo
+        } ?: false,
+    )
+}
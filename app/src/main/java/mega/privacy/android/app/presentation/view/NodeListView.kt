@@ -12,6 +12,8 @@ import androidx.compose.ui.semantics.semantics
 import androidx.compose.ui.semantics.testTagsAsResourceId
 import androidx.compose.ui.tooling.preview.PreviewParameter
 import androidx.compose.ui.unit.dp
+import androidx.paging.compose.LazyPagingItems
+import androidx.paging.compose.itemKey
 import mega.privacy.android.app.presentation.data.NodeUIItem
 import mega.privacy.android.app.presentation.view.extension.getNodeItemDescription
 import mega.privacy.android.app.presentation.view.extension.getNodeItemThumbnail
@@ -34,6 +36,7 @@ import mega.privacy.android.legacy.core.ui.controls.lists.HeaderViewItem
 import mega.privacy.android.shared.original.core.ui.controls.dividers.DividerType
 import mega.privacy.android.shared.original.core.ui.controls.dividers.MegaDivider
 import mega.privacy.android.shared.original.core.ui.controls.lists.NodeListViewItem
+import mega.privacy.android.shared.original.core.ui.controls.skeleton.ListItemLoadingSkeleton
 import mega.privacy.android.shared.original.core.ui.controls.text.LongTextBehaviour
 import mega.privacy.android.shared.original.core.ui.preview.CombinedThemePreviews
 import mega.privacy.android.shared.original.core.ui.theme.OriginalTempTheme
@@ -112,43 +115,157 @@ fun <T : TypedNode> NodeListView(
                 nodeUIItemList[it].uniqueKey
             }
         ) {
-            val nodeUiItem = nodeUIItemList[it]
-            NodeListViewItem(
-                title = nodeUiItem.node.getNodeTitle(),
-                titleOverflow = LongTextBehaviour.MiddleEllipsis,
-                subtitle = nodeUiItem.node.getNodeItemDescription(
-                    showPublicLinkCreationTime = showPublicLinkCreationTime
-                ),
-                description = nodeUiItem.node.description,
-                tags = nodeUiItem.node.tags.takeIf { nodeSourceType != NodeSourceType.RUBBISH_BIN && nodeSourceType != NodeSourceType.INCOMING_SHARES },
-                icon = nodeUiItem.node.getNodeItemThumbnail(fileTypeIconMapper = fileTypeIconMapper),
-                thumbnailData = ThumbnailRequest(nodeUiItem.id, isPublicNode),
-                isSelected = nodeUiItem.isSelected,
-                onMoreClicked = { onMenuClick(nodeUiItem) }.takeUnless { _ -> inSelectionMode },
-                onItemClicked = { onItemClicked(nodeUiItem) },
-                onLongClick = { onLongClick(nodeUiItem) },
-                accessPermissionIcon = (nodeUiItem.node as? ShareFolderNode).getSharesIcon(),
-                labelColor = nodeUiItem.node.getNodeLabel(),
+            NodeUIItemListViewItem(
+                nodeUiItem = nodeUIItemList[it],
+                onMenuClick = onMenuClick,
+                onItemClicked = onItemClicked,
+                onLongClick = onLongClick,
+                fileTypeIconMapper = fileTypeIconMapper,
                 highlightText = highlightText,
-                showOffline = nodeUiItem.isAvailableOffline,
-                showLink = showLinkIcon && nodeUiItem.exportedData != null,
-                showFavourite = nodeUiItem.isFavourite && nodeUiItem.isIncomingShare.not(),
-                showIsVerified = nodeUiItem.isIncomingShare && (nodeUiItem.node as? ShareFolderNode)?.shareData?.isContactCredentialsVerified == true,
-                showVersion = nodeUiItem.hasVersion,
-                isTakenDown = nodeUiItem.isTakenDown,
-                isSensitive = nodeSourceType != NodeSourceType.INCOMING_SHARES
-                        && nodeSourceType != NodeSourceType.OUTGOING_SHARES
-                        && nodeSourceType != NodeSourceType.LINKS
-                        && shouldApplySensitiveMode && (nodeUiItem.isMarkedSensitive || nodeUiItem.isSensitiveInherited),
-                showBlurEffect = (nodeUiItem.node as? FileNode)?.type?.let { fileTypeInfo ->
-                    fileTypeInfo is ImageFileTypeInfo || fileTypeInfo is VideoFileTypeInfo || fileTypeInfo is PdfFileTypeInfo || fileTypeInfo is AudioFileTypeInfo
-                } ?: false,
+                showLinkIcon = showLinkIcon,
+                isPublicNode = isPublicNode,
+                showPublicLinkCreationTime = showPublicLinkCreationTime,
+                inSelectionMode = inSelectionMode,
+                shouldApplySensitiveMode = shouldApplySensitiveMode,
+                nodeSourceType = nodeSourceType,
             )
-            MegaDivider(dividerType = DividerType.BigStartPadding)
         }
     }
 }
 
+/**
+ * This method will show the paged [NodeUIItem] in vertical list using [ThumbnailRequest] to load
+ * thumbnails, the items not loaded yet are shown as loading skeletons
+ *
+ * @param nodeUIItems paged [NodeUIItem] to show
+ * @see NodeListView
+ */
+@OptIn(ExperimentalComposeUiApi::class)
+@Composable
+fun <T : TypedNode> NodeListView(
+    nodeUIItems: LazyPagingItems<NodeUIItem<T>>,
+    onMenuClick: (NodeUIItem<T>) -> Unit,
+    onItemClicked: (NodeUIItem<T>) -> Unit,
+    onLongClick: (NodeUIItem<T>) -> Unit,
+    onEnterMediaDiscoveryClick: () -> Unit,
+    sortOrder: String,
+    onSortOrderClick: () -> Unit,
+    onChangeViewTypeClick: () -> Unit,
+    showSortOrder: Boolean,
+    listState: LazyListState,
+    showMediaDiscoveryButton: Boolean,
+    shouldApplySensitiveMode: Boolean,
+    fileTypeIconMapper: FileTypeIconMapper,
+    modifier: Modifier = Modifier,
+    highlightText: String = "",
+    showLinkIcon: Boolean = true,
+    showChangeViewType: Boolean = true,
+    isPublicNode: Boolean = false,
+    showPublicLinkCreationTime: Boolean = false,
+    listContentPadding: PaddingValues = PaddingValues(0.dp),
+    inSelectionMode: Boolean = false,
+    nodeSourceType: NodeSourceType = NodeSourceType.CLOUD_DRIVE,
+) {
+    LazyColumn(
+        state = listState,
+        modifier = modifier.semantics { testTagsAsResourceId = true },
+        contentPadding = listContentPadding
+    ) {
+        if (showSortOrder || showChangeViewType) {
+            item(
+                key = "header"
+            ) {
+                HeaderViewItem(
+                    modifier = Modifier.padding(8.dp),
+                    onSortOrderClick = onSortOrderClick,
+                    onChangeViewTypeClick = onChangeViewTypeClick,
+                    onEnterMediaDiscoveryClick = onEnterMediaDiscoveryClick,
+                    sortOrder = sortOrder,
+                    isListView = true,
+                    showSortOrder = showSortOrder,
+                    showChangeViewType = showChangeViewType,
+                    showMediaDiscoveryButton = showMediaDiscoveryButton,
+                )
+            }
+        }
+
+        items(
+            count = nodeUIItems.itemCount,
+            key = nodeUIItems.itemKey { it.pagedItemKey },
+        ) {
+            val nodeUiItem = nodeUIItems[it]
+            when {
+                nodeUiItem == null -> ListItemLoadingSkeleton()
+                // The separator closing the folders row of the grid is not shown in the list
+                nodeUiItem.isInvisible -> Unit
+                else -> NodeUIItemListViewItem(
+                    nodeUiItem = nodeUiItem,
+                    onMenuClick = onMenuClick,
+                    onItemClicked = onItemClicked,
+                    onLongClick = onLongClick,
+                    fileTypeIconMapper = fileTypeIconMapper,
+                    highlightText = highlightText,
+                    showLinkIcon = showLinkIcon,
+                    isPublicNode = isPublicNode,
+                    showPublicLinkCreationTime = showPublicLinkCreationTime,
+                    inSelectionMode = inSelectionMode,
+                    shouldApplySensitiveMode = shouldApplySensitiveMode,
+                    nodeSourceType = nodeSourceType,
+                )
+            }
+        }
+    }
+}
+
+@Composable
+private fun <T : TypedNode> NodeUIItemListViewItem(
+    nodeUiItem: NodeUIItem<T>,
+    onMenuClick: (NodeUIItem<T>) -> Unit,
+    onItemClicked: (NodeUIItem<T>) -> Unit,
+    onLongClick: (NodeUIItem<T>) -> Unit,
+    fileTypeIconMapper: FileTypeIconMapper,
+    highlightText: String,
+    showLinkIcon: Boolean,
+    isPublicNode: Boolean,
+    showPublicLinkCreationTime: Boolean,
+    inSelectionMode: Boolean,
+    shouldApplySensitiveMode: Boolean,
+    nodeSourceType: NodeSourceType,
+) {
+    NodeListViewItem(
+        title = nodeUiItem.node.getNodeTitle(),
+        titleOverflow = LongTextBehaviour.MiddleEllipsis,
+        subtitle = nodeUiItem.node.getNodeItemDescription(
+            showPublicLinkCreationTime = showPublicLinkCreationTime
+        ),
+        description = nodeUiItem.node.description,
+        tags = nodeUiItem.node.tags.takeIf { nodeSourceType != NodeSourceType.RUBBISH_BIN && nodeSourceType != NodeSourceType.INCOMING_SHARES },
+        icon = nodeUiItem.node.getNodeItemThumbnail(fileTypeIconMapper = fileTypeIconMapper),
+        thumbnailData = ThumbnailRequest(nodeUiItem.id, isPublicNode),
+        isSelected = nodeUiItem.isSelected,
+        onMoreClicked = { onMenuClick(nodeUiItem) }.takeUnless { _ -> inSelectionMode },
+        onItemClicked = { onItemClicked(nodeUiItem) },
+        onLongClick = { onLongClick(nodeUiItem) },
+        accessPermissionIcon = (nodeUiItem.node as? ShareFolderNode).getSharesIcon(),
+        labelColor = nodeUiItem.node.getNodeLabel(),
+        highlightText = highlightText,
+        showOffline = nodeUiItem.isAvailableOffline,
+        showLink = showLinkIcon && nodeUiItem.exportedData != null,
+        showFavourite = nodeUiItem.isFavourite && nodeUiItem.isIncomingShare.not(),
+        showIsVerified = nodeUiItem.isIncomingShare && (nodeUiItem.node as? ShareFolderNode)?.shareData?.isContactCredentialsVerified == true,
+        showVersion = nodeUiItem.hasVersion,
+        isTakenDown = nodeUiItem.isTakenDown,
+        isSensitive = nodeSourceType != NodeSourceType.INCOMING_SHARES
+                && nodeSourceType != NodeSourceType.OUTGOING_SHARES
+                && nodeSourceType != NodeSourceType.LINKS
+                && shouldApplySensitiveMode && (nodeUiItem.isMarkedSensitive || nodeUiItem.isSensitiveInherited),
+        showBlurEffect = (nodeUiItem.node as? FileNode)?.type?.let { fileTypeInfo ->
+            fileTypeInfo is ImageFileTypeInfo || fileTypeInfo is VideoFileTypeInfo || fileTypeInfo is PdfFileTypeInfo || fileTypeInfo is AudioFileTypeInfo
+        } ?: false,
+    )
+    MegaDivider(dividerType = DividerType.BigStartPadding)
+}
+
 
 @CombinedThemePreviews
 @Composable
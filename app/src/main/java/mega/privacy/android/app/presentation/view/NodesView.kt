@@ -12,6 +12,7 @@ import androidx.compose.runtime.remember
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.platform.LocalConfiguration
 import androidx.compose.ui.unit.dp
+import androidx.paging.compose.LazyPagingItems
 import mega.privacy.android.app.presentation.data.NodeUIItem
 import mega.privacy.android.app.utils.Constants
 import mega.privacy.android.core.ui.mapper.FileTypeIconMapper
@@ -153,6 +154,127 @@ fun <T : TypedNode> NodesView(
     }
 }
 
+/**
+ * Nodes view of the paged [NodeUIItem], to load thumbnails using [ThumbnailRequest]
+ *
+ * The grid rows are not padded here, the paged items already have the invisible item that closes
+ * the last folders row.
+ *
+ * @param nodeUIItems paged [NodeUIItem]
+ * @see NodesView
+ */
+@Composable
+fun <T : TypedNode> NodesView(
+    nodeUIItems: LazyPagingItems<NodeUIItem<T>>,
+    onMenuClick: (NodeUIItem<T>) -> Unit,
+    onItemClicked: (NodeUIItem<T>) -> Unit,
+    onLongClick: (NodeUIItem<T>) -> Unit,
+    sortOrder: String,
+    isListView: Boolean,
+    onSortOrderClick: () -> Unit,
+    onChangeViewTypeClick: () -> Unit,
+    onLinkClicked: (String) -> Unit,
+    onDisputeTakeDownClicked: (String) -> Unit,
+    fileTypeIconMapper: FileTypeIconMapper,
+    modifier: Modifier = Modifier,
+    listState: LazyListState = LazyListState(),
+    gridState: LazyGridState = LazyGridState(),
+    highlightText: String = "",
+    spanCount: Int = 2,
+    showLinkIcon: Boolean = true,
+    showChangeViewType: Boolean = true,
+    shouldApplySensitiveMode: Boolean = false,
+    showSortOrder: Boolean = true,
+    showMediaDiscoveryButton: Boolean = false,
+    showPublicLinkCreationTime: Boolean = false,
+    isPublicNode: Boolean = false,
+    inSelectionMode: Boolean = false,
+    onEnterMediaDiscoveryClick: () -> Unit = {},
+    listContentPadding: PaddingValues = PaddingValues(0.dp),
+    nodeSourceType: NodeSourceType = NodeSourceType.CLOUD_DRIVE,
+) {
+    val takenDownDialog = remember { mutableStateOf(Pair(false, false)) }
+    val orientation = LocalConfiguration.current.orientation
+    val span = if (orientation == Configuration.ORIENTATION_PORTRAIT) spanCount else 4
+    val onNodeClicked: (NodeUIItem<T>) -> Unit = {
+        if (it.isTakenDown) {
+            takenDownDialog.value = Pair(true, it.node is FolderNode)
+        } else {
+            onItemClicked(it)
+        }
+    }
+    if (isListView) {
+        NodeListView(
+            modifier = modifier.background(MaterialTheme.colors.background),
+            listContentPadding = listContentPadding,
+            nodeUIItems = nodeUIItems,
+            onMenuClick = onMenuClick,
+            onItemClicked = onNodeClicked,
+            onLongClick = onLongClick,
+            onEnterMediaDiscoveryClick = onEnterMediaDiscoveryClick,
+            sortOrder = sortOrder,
+            highlightText = highlightText,
+            onSortOrderClick = onSortOrderClick,
+            onChangeViewTypeClick = onChangeViewTypeClick,
+            showSortOrder = showSortOrder,
+            showChangeViewType = showChangeViewType,
+            showLinkIcon = showLinkIcon,
+            listState = listState,
+            showMediaDiscoveryButton = showMediaDiscoveryButton,
+            isPublicNode = isPublicNode,
+            showPublicLinkCreationTime = showPublicLinkCreationTime,
+            fileTypeIconMapper = fileTypeIconMapper,
+            inSelectionMode = inSelectionMode,
+            shouldApplySensitiveMode = shouldApplySensitiveMode,
+            nodeSourceType = nodeSourceType,
+        )
+    } else {
+        NodeGridView(
+            modifier = modifier,
+            listContentPadding = listContentPadding,
+            nodeUIItems = nodeUIItems,
+            onMenuClick = onMenuClick,
+            onItemClicked = onNodeClicked,
+            onLongClick = onLongClick,
+            onEnterMediaDiscoveryClick = onEnterMediaDiscoveryClick,
+            spanCount = span,
+            sortOrder = sortOrder,
+            onSortOrderClick = onSortOrderClick,
+            onChangeViewTypeClick = onChangeViewTypeClick,
+            showSortOrder = showSortOrder,
+            showChangeViewType = showChangeViewType,
+            gridState = gridState,
+            showMediaDiscoveryButton = showMediaDiscoveryButton,
+            isPublicNode = isPublicNode,
+            fileTypeIconMapper = fileTypeIconMapper,
+            inSelectionMode = inSelectionMode,
+            shouldApplySensitiveMode = shouldApplySensitiveMode,
+            nodeSourceType = nodeSourceType,
+        )
+    }
+    if (takenDownDialog.value.first) {
+        TakeDownDialog(
+            isFolder = takenDownDialog.value.second, onConfirm = {
+                takenDownDialog.value = Pair(false, false)
+            }, onDeny = {
+                takenDownDialog.value = Pair(false, false)
+                onDisputeTakeDownClicked.invoke(Constants.DISPUTE_URL)
+            }, onLinkClick = {
+                onLinkClicked(it)
+            }
+        )
+    }
+}
+
+/**
+ * Key of a paged [NodeUIItem] in the lazy lists, the invisible item closing the folders row is the
+ * only one in a page
+ */
+internal val NodeUIItem<*>.pagedItemKey: String
+    get() = if (isInvisible) FOLDERS_END_KEY else uniqueKey
+
+private const val FOLDERS_END_KEY = "folders_end"
+
 /**
  * Remember function for [NodeGridView] to form empty items in case of folders count are not as per
  * span count
@@ -4,8 +4,10 @@ import androidx.lifecycle.SavedStateHandle
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.presentation.zipbrowser.mapper.ZipInfoUiEntityMapper
@@ -16,8 +18,8 @@ import mega.privacy.android.app.utils.Constants.EXTRA_PATH_ZIP
 import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.usecase.file.GetFileTypeInfoUseCase
-import mega.privacy.android.domain.usecase.zipbrowser.GetZipTreeMapUseCase
-import mega.privacy.android.domain.usecase.zipbrowser.UnzipFileUseCase
+import mega.privacy.android.domain.usecase.zipbrowser.MonitorUnzipFileUseCase
+import mega.privacy.android.domain.usecase.zipbrowser.MonitorZipTreeMapUseCase
 import timber.log.Timber
 import java.io.File
 import java.nio.charset.Charset
@@ -29,9 +31,9 @@ import javax.inject.Inject
  */
 @HiltViewModel
 class ZipBrowserViewModel @Inject constructor(
-    private val getZipTreeMapUseCase: GetZipTreeMapUseCase,
+    private val monitorZipTreeMapUseCase: MonitorZipTreeMapUseCase,
     private val zipInfoUiEntityMapper: ZipInfoUiEntityMapper,
-    private val unzipFileUseCase: UnzipFileUseCase,
+    private val monitorUnzipFileUseCase: MonitorUnzipFileUseCase,
     private val getFileTypeInfoUseCase: GetFileTypeInfoUseCase,
     savedStateHandle: SavedStateHandle,
 ) : ViewModel() {
@@ -64,15 +66,18 @@ class ZipBrowserViewModel @Inject constructor(
                 }.getOrNull()
             }.getOrNull()
 
-            zipNodeTree = runCatching {
-                getZipTreeMapUseCase(zipFile = zipFile)
-            }.recover { e ->
-                Timber.e(e)
-                updateShowAlertDialog(true)
-                null
-            }.getOrNull() ?: return
-
-            dataUpdated()
+            monitorZipTreeMapUseCase(zipFile = zipFile)
+                .catch { e ->
+                    Timber.e(e)
+                    updateShowAlertDialog(true)
+                }.collect { nodeTree ->
+                    zipNodeTree = nodeTree
+                    // Refresh the shown folder, as a partial tree is emitted first for big zip files
+                    dataUpdated(
+                        zipFolderPath = _uiState.value.currentZipTreeNode?.path,
+                        folderDepth = _uiState.value.folderDepth
+                    )
+                }
         }
     }
 
@@ -133,26 +138,42 @@ class ZipBrowserViewModel @Inject constructor(
                     }
                 }
 
-            ZipItemClickedEventType.ZipFileNotUnpacked -> {
-                viewModelScope.launch {
-                    val unzipResult = runCatching {
-                        unzipFileUseCase(zipFile, unzipRootPath)
-                    }.recover { Timber.e(it) }.getOrNull()
+            ZipItemClickedEventType.ZipFileNotUnpacked -> unzipItemFolder(item)
 
-                    if (unzipResult == true) {
-                        itemClicked(item)
-                    } else {
-                        updateShowAlertDialog(true)
-                    }
+            else -> {
+                Timber.e("zip entry: $item does not exist")
+                updateShowAlertDialog(true)
+            }
+        }
+    }
 
-                    _uiState.update {
-                        it.copy(showUnzipProgressBar = false)
-                    }
+    /**
+     * Extract the folder of the item, so the files next to it can be opened without extracting
+     * them again, and open the item. The extraction is cancelled with the screen.
+     *
+     * @param item the clicked item, not extracted yet
+     */
+    private fun unzipItemFolder(item: ZipInfoUiEntity) {
+        val unzipPath = unzipRootPath ?: return
+        viewModelScope.launch {
+            _uiState.update { it.copy(showUnzipProgressBar = true, unzipProgress = null) }
+            val isUnzipped = runCatching {
+                monitorUnzipFileUseCase(
+                    zipFile = requireNotNull(zipFile),
+                    unzipRootPath = unzipPath,
+                    zipTreeNodePath = zipNodeTree?.get(item.path)?.parentPath,
+                ).collect { extraction ->
+                    _uiState.update { it.copy(unzipProgress = extraction.progress) }
                 }
-            }
+            }.onFailure { e ->
+                if (e is CancellationException) throw e
+                Timber.e(e)
+            }.isSuccess
 
-            else -> {
-                Timber.e("zip entry: $item does not exist")
+            _uiState.update { it.copy(showUnzipProgressBar = false, unzipProgress = null) }
+            if (isUnzipped && File(unzipPath + item.path).exists()) {
+                handleItemClickedEventType(item, ZipItemClickedEventType.OpenFile)
+            } else {
                 updateShowAlertDialog(true)
             }
         }
@@ -166,16 +187,12 @@ class ZipBrowserViewModel @Inject constructor(
             zipInfoUiEntity.zipEntryType == ZipEntryType.Folder ->
                 ZipItemClickedEventType.OpenFolder
 
-            File(rootPath).exists().not() -> {
-                _uiState.update {
-                    it.copy(showUnzipProgressBar = true)
-                }
-                ZipItemClickedEventType.ZipFileNotUnpacked
-            }
-
             File(rootPath + zipInfoUiEntity.path).exists() ->
                 ZipItemClickedEventType.OpenFile
 
+            zipNodeTree?.containsKey(zipInfoUiEntity.path) == true ->
+                ZipItemClickedEventType.ZipFileNotUnpacked
+
             else ->
                 ZipItemClickedEventType.ZipItemNonExistent
         }
@@ -28,6 +28,7 @@ import androidx.compose.ui.window.Dialog
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.R
 import mega.privacy.android.app.presentation.zipbrowser.model.ZipInfoUiEntity
+import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
 import mega.privacy.android.shared.original.core.ui.controls.appbar.AppBarType
 import mega.privacy.android.shared.original.core.ui.controls.appbar.MegaAppBar
@@ -53,6 +54,7 @@ internal fun ZipBrowserView(
     showAlertDialog: Boolean,
     showSnackBar: Boolean,
     modifier: Modifier = Modifier,
+    unzipProgress: Progress? = null,
     onItemClicked: (ZipInfoUiEntity) -> Unit = {},
     onBackPressed: () -> Unit = {},
     onDialogDismiss: () -> Unit = {},
@@ -95,7 +97,7 @@ internal fun ZipBrowserView(
         }
 
         if (showProgressBar) {
-            UnzipProgressBarView()
+            UnzipProgressBarView(progress = unzipProgress)
         }
 
         if (items.isNotEmpty()) {
@@ -139,6 +141,7 @@ private fun ZipBrowserAlertDialog(
 
 @Composable
 private fun UnzipProgressBarView(
+    progress: Progress?,
     modifier: Modifier = Modifier,
 ) {
     Dialog(
@@ -160,7 +163,12 @@ private fun UnzipProgressBarView(
                 modifier = Modifier.padding(horizontal = 10.dp),
                 text = stringResource(
                     id = R.string.unzipping_process
-                ),
+                ) + progress?.let {
+                    " " + stringResource(
+                        id = R.string.used_storage_transfer_percentage,
+                        it.intValue.toString()
+                    )
+                }.orEmpty(),
                 textColor = TextColor.Primary
             )
         }
@@ -1203,6 +1203,28 @@ public class ThumbnailUtils {
         imageView.setLayoutParams(params1);
     }
 
+    /**
+     * Sets the thumbnail of a node of a list from the memory cache or the thumbnail folder, without
+     * downloading it.
+     *
+     * @param context   Current Context.
+     * @param node      Node of the thumbnail.
+     * @param imageView View in which the thumbnail is set.
+     * @return True if the thumbnail is set, false if it has to be downloaded.
+     */
+    public static boolean setThumbViewForListIfAvailable(Context context, MegaNode node, ImageView imageView) {
+        setThumbLayoutParamsForList(context, imageView);
+
+        Bitmap thumb;
+        if ((thumb = ThumbnailUtils.getThumbnailFromCache(node)) == null &&
+                ((thumb = ThumbnailUtils.getThumbnailFromFolder(node, context)) == null)) {
+            return false;
+        }
+
+        imageView.setImageBitmap(ThumbnailUtils.getRoundedBitmap(context, thumb, dp2px(THUMB_CORNER_RADIUS_DP)));
+        return true;
+    }
+
     public static void getThumbAndSetViewForList(Context context, MegaNode node, RecyclerView.ViewHolder holder,
                                                  MegaApiAndroid megaApi, RecyclerView.Adapter adapter, ImageView imageView) {
         Bitmap thumb;
@@ -3,11 +3,18 @@ package mega.privacy.android.app.presentation.settings
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.collect
 import kotlinx.coroutines.flow.onCompletion
+import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.domain.usecase.UpdateApp
+import mega.privacy.android.domain.entity.appstart.DataStoreLoadMetrics
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestMetrics
 import mega.privacy.android.domain.usecase.logging.GetZippedLogsUseCase
+import mega.privacy.android.domain.usecase.monitoring.MonitorDataStoreLoadMetricsUseCase
+import mega.privacy.android.domain.usecase.thumbnailpreview.MonitorThumbnailRequestMetricsUseCase
 import timber.log.Timber
 import java.io.File
 import javax.inject.Inject
@@ -16,8 +23,24 @@ import javax.inject.Inject
 class QASettingViewModel @Inject constructor(
     private val updateApp: UpdateApp,
     private val getLogFile: GetZippedLogsUseCase,
+    monitorDataStoreLoadMetricsUseCase: MonitorDataStoreLoadMetricsUseCase,
+    monitorThumbnailRequestMetricsUseCase: MonitorThumbnailRequestMetricsUseCase,
 ) : ViewModel() {
 
+    /**
+     * Load metrics of the DataStores loaded so far
+     */
+    val dataStoreLoadMetrics: StateFlow<List<DataStoreLoadMetrics>> =
+        monitorDataStoreLoadMetricsUseCase()
+            .stateIn(viewModelScope, SharingStarted.WhileSubscribed(), emptyList())
+
+    /**
+     * Metrics of the thumbnail and preview downloads since the app started
+     */
+    val thumbnailRequestMetrics: StateFlow<ThumbnailRequestMetrics> =
+        monitorThumbnailRequestMetricsUseCase()
+            .stateIn(viewModelScope, SharingStarted.WhileSubscribed(), ThumbnailRequestMetrics())
+
     fun checkUpdatePressed() {
         viewModelScope.launch {
             updateApp()
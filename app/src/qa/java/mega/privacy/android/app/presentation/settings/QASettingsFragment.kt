@@ -3,6 +3,7 @@ package mega.privacy.android.app.presentation.settings
 import android.content.Intent
 import android.net.Uri
 import android.os.Bundle
+import android.view.View
 import android.webkit.MimeTypeMap
 import androidx.core.content.FileProvider
 import androidx.fragment.app.viewModels
@@ -10,9 +11,12 @@ import androidx.preference.Preference
 import androidx.preference.PreferenceFragmentCompat
 import dagger.hilt.android.AndroidEntryPoint
 import mega.privacy.android.app.R
+import mega.privacy.android.app.arch.extensions.collectFlow
 import mega.privacy.android.app.presentation.extensions.canBeHandled
 import mega.privacy.android.app.presentation.featureflag.FeatureFlagActivity
 import mega.privacy.android.app.utils.Constants
+import mega.privacy.android.domain.entity.appstart.DataStoreLoadMetrics
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestMetrics
 import java.io.File
 
 @AndroidEntryPoint
@@ -23,11 +27,46 @@ class QASettingsFragment : PreferenceFragmentCompat() {
     private val exportLogsPreferenceKey = "settings_qa_export_logs"
     private val saveLogsPreferenceKey = "settings_qa_save_logs"
     private val featureFlagsPreferenceKey = "settings_qa_feature_flags"
+    private val dataStoreMetricsPreferenceKey = "settings_qa_datastore_metrics"
+    private val thumbnailMetricsPreferenceKey = "settings_qa_thumbnail_metrics"
 
     override fun onCreatePreferences(savedInstanceState: Bundle?, rootKey: String?) {
         setPreferencesFromResource(R.xml.preferences_qa, rootKey)
     }
 
+    override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
+        super.onViewCreated(view, savedInstanceState)
+        viewLifecycleOwner.collectFlow(viewModel.dataStoreLoadMetrics) { metrics ->
+            findPreference<Preference>(dataStoreMetricsPreferenceKey)?.summary =
+                if (metrics.isEmpty()) {
+                    getString(R.string.settings_qa_datastore_metrics_empty)
+                } else {
+                    metrics.joinToString(separator = "\n") { it.toSummary() }
+                }
+        }
+        viewLifecycleOwner.collectFlow(viewModel.thumbnailRequestMetrics) { metrics ->
+            findPreference<Preference>(thumbnailMetricsPreferenceKey)?.summary =
+                if (metrics.requested == 0L) {
+                    getString(R.string.settings_qa_thumbnail_metrics_empty)
+                } else {
+                    metrics.toSummary()
+                }
+        }
+    }
+
+    private fun DataStoreLoadMetrics.toSummary() = buildString {
+        append(storeName)
+        firstReadDuration?.let { append(": first read ${it.inWholeMilliseconds} ms") }
+        decryptDuration?.let { append(", decrypt ${it.inWholeMilliseconds} ms") }
+        if (isPreloaded) append(" (preloaded)")
+    }
+
+    private fun ThumbnailRequestMetrics.toSummary() = buildString {
+        appendLine("Queued $queueDepth, in flight $inFlight")
+        appendLine("Requested $requested, hit ratio ${(hitRatio * 100).toInt()}%")
+        append("Cancelled $cancelled, wasted $wasted")
+    }
+
 
     override fun onPreferenceTreeClick(preference: Preference): Boolean {
         return when (preference.key) {
@@ -0,0 +1,164 @@
+package mega.privacy.android.app
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LegacyTableSnapshotTest {
+
+    private data class Row(val value: String? = null, val count: Int = 0)
+
+    private var row: Row? = null
+    private var reads = 0
+    private val writes = mutableListOf<Map<String, String?>>()
+
+    private fun TestScope.initUnderTest(initialRow: Row?): LegacyTableSnapshot<Row> {
+        row = initialRow
+        reads = 0
+        writes.clear()
+        return LegacyTableSnapshot(
+            readRow = {
+                reads++
+                row
+            },
+            emptyRow = Row(),
+            writeColumns = { writes.add(it) },
+            scope = backgroundScope,
+            ioDispatcher = UnconfinedTestDispatcher(testScheduler),
+        )
+    }
+
+    @Test
+    fun `test that the row is read only once`() = runTest {
+        val underTest = initUnderTest(Row(value = "value"))
+
+        underTest.load()
+        underTest.getRow()
+        underTest.getRow()
+
+        assertThat(reads).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a failed read is retried by the next reader`() = runTest {
+        var isReadFailing = true
+        val underTest = LegacyTableSnapshot(
+            readRow = {
+                reads++
+                if (isReadFailing) throw RuntimeException() else Row(value = "value")
+            },
+            emptyRow = Row(),
+            writeColumns = {},
+            scope = backgroundScope,
+            ioDispatcher = UnconfinedTestDispatcher(testScheduler),
+        )
+        reads = 0
+
+        assertThat(underTest.getRow()).isNull()
+        isReadFailing = false
+
+        assertThat(underTest.getRow()).isEqualTo(Row(value = "value"))
+        assertThat(reads).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that a value set without a row updates the empty row`() = runTest {
+        val underTest = initUnderTest(null)
+
+        underTest.set(COLUMN, "5") { it.copy(count = 5) }
+
+        assertThat(underTest.getRow()).isEqualTo(Row(count = 5))
+        assertThat(writes).containsExactly(mapOf(COLUMN to "5"))
+    }
+
+    @Test
+    fun `test that a set value is read at once and written in the background`() = runTest {
+        val underTest = initUnderTest(Row(value = "old"))
+
+        underTest.set(COLUMN, "new") { it.copy(value = "new") }
+
+        assertThat(underTest.getRow()).isEqualTo(Row(value = "new"))
+        assertThat(writes).containsExactly(mapOf(COLUMN to "new"))
+    }
+
+    @Test
+    fun `test that values set before the write runs are written once`() = runTest {
+        val writerScope = TestScope(StandardTestDispatcher(testScheduler))
+        row = Row()
+        writes.clear()
+        val underTest = LegacyTableSnapshot(
+            readRow = { row },
+            emptyRow = Row(),
+            writeColumns = { writes.add(it) },
+            scope = writerScope,
+            ioDispatcher = StandardTestDispatcher(testScheduler),
+        )
+
+        underTest.set(COLUMN, "first") { it.copy(value = "first") }
+        underTest.set(COLUMN, "second") { it.copy(value = "second") }
+        underTest.set(OTHER_COLUMN, "other") { it }
+        advanceUntilIdle()
+
+        assertThat(writes).containsExactly(mapOf(COLUMN to "second", OTHER_COLUMN to "other"))
+    }
+
+    @Test
+    fun `test that clear deletes the row and discards the pending values`() = runTest {
+        val writerScope = TestScope(StandardTestDispatcher(testScheduler))
+        row = Row(value = "value")
+        writes.clear()
+        val underTest = LegacyTableSnapshot(
+            readRow = { row },
+            emptyRow = Row(),
+            writeColumns = { writes.add(it) },
+            scope = writerScope,
+            ioDispatcher = StandardTestDispatcher(testScheduler),
+        )
+        val deleted = CompletableDeferred<Unit>()
+
+        underTest.set(COLUMN, "new") { it.copy(value = "new") }
+        underTest.clear { deleted.complete(Unit) }
+        advanceUntilIdle()
+
+        assertThat(deleted.isCompleted).isTrue()
+        assertThat(underTest.getRow()).isNull()
+        assertThat(writes).isEmpty()
+    }
+
+    @Test
+    fun `test that a value set after clear is kept in memory and written`() = runTest {
+        val underTest = initUnderTest(Row(value = "value", count = 1))
+
+        underTest.clear {}
+        underTest.set(COLUMN, "new") { it.copy(value = "new") }
+
+        assertThat(underTest.getRow()).isEqualTo(Row(value = "new"))
+        assertThat(writes).containsExactly(mapOf(COLUMN to "new"))
+    }
+
+    @Test
+    fun `test that monitor row emits the row every time it changes`() = runTest {
+        val underTest = initUnderTest(Row(value = "old"))
+
+        underTest.monitorRow().test {
+            assertThat(awaitItem()).isEqualTo(Row(value = "old"))
+            underTest.set(COLUMN, "new") { it.copy(value = "new") }
+            assertThat(awaitItem()).isEqualTo(Row(value = "new"))
+            underTest.clear {}
+            assertThat(awaitItem()).isNull()
+        }
+    }
+
+    companion object {
+        private const val COLUMN = "column"
+        private const val OTHER_COLUMN = "other"
+    }
+}
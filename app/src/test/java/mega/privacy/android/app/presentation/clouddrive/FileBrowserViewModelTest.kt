@@ -1,6 +1,9 @@
 package mega.privacy.android.app.presentation.clouddrive
 
 import android.view.MenuItem
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import androidx.paging.testing.asSnapshot
 import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import de.palm.composestateevents.StateEventWithContentConsumed
@@ -40,9 +43,11 @@ import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.node.TypedFileNode
 import mega.privacy.android.domain.entity.node.TypedFolderNode
+import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.preference.ViewType
 import mega.privacy.android.domain.usecase.GetBusinessStatusUseCase
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.GetNodeByIdUseCase
 import mega.privacy.android.domain.usecase.GetParentNodeUseCase
 import mega.privacy.android.domain.usecase.GetRootNodeUseCase
 import mega.privacy.android.domain.usecase.IsHiddenNodesOnboardedUseCase
@@ -52,13 +57,14 @@ import mega.privacy.android.domain.usecase.account.MonitorAccountDetailUseCase
 import mega.privacy.android.domain.usecase.account.MonitorRefreshSessionUseCase
 import mega.privacy.android.domain.usecase.account.MonitorStorageStateEventUseCase
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
-import mega.privacy.android.domain.usecase.filebrowser.GetFileBrowserNodeChildrenUseCase
-import mega.privacy.android.domain.usecase.folderlink.ContainsMediaItemUseCase
 import mega.privacy.android.domain.usecase.network.MonitorConnectivityUseCase
+import mega.privacy.android.domain.usecase.node.GetNodeChildrenPagingSourceUseCase
+import mega.privacy.android.domain.usecase.node.GetTypedChildrenNodeInBatchesUseCase
 import mega.privacy.android.domain.usecase.node.IsHidingActionAllowedUseCase
 import mega.privacy.android.domain.usecase.node.IsNodeInRubbishBinUseCase
 import mega.privacy.android.domain.usecase.node.MonitorNodeUpdatesUseCase
 import mega.privacy.android.domain.usecase.offline.MonitorOfflineNodeUpdatesUseCase
+import mega.privacy.android.domain.usecase.photos.mediadiscovery.ContainsMediaChildrenUseCase
 import mega.privacy.android.domain.usecase.photos.mediadiscovery.ShouldEnterMediaDiscoveryModeUseCase
 import mega.privacy.android.domain.usecase.quota.GetBandwidthOverQuotaDelayUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
@@ -97,7 +103,9 @@ class FileBrowserViewModelTest {
     private val monitorNodeUpdatesFakeFlow = MutableSharedFlow<NodeUpdate>()
     private val monitorNodeUpdatesUseCase = mock<MonitorNodeUpdatesUseCase>()
     private val getParentNodeUseCase = mock<GetParentNodeUseCase>()
-    private val getFileBrowserNodeChildrenUseCase = mock<GetFileBrowserNodeChildrenUseCase>()
+    private val getNodeChildrenPagingSourceUseCase = mock<GetNodeChildrenPagingSourceUseCase>()
+    private val getTypedChildrenNodeInBatchesUseCase = mock<GetTypedChildrenNodeInBatchesUseCase>()
+    private val getNodeByIdUseCase = mock<GetNodeByIdUseCase>()
     private val getCloudSortOrder = mock<GetCloudSortOrder>()
     private val handleOptionClickMapper = mock<HandleOptionClickMapper>()
     private val monitorViewType = mock<MonitorViewType>()
@@ -105,7 +113,7 @@ class FileBrowserViewModelTest {
     private val monitorRefreshSessionUseCase = mock<MonitorRefreshSessionUseCase>()
     private val getBandwidthOverQuotaDelayUseCase = mock<GetBandwidthOverQuotaDelayUseCase>()
     private val transfersManagement = mock<TransfersManagement>()
-    private val containsMediaItemUseCase = mock<ContainsMediaItemUseCase>()
+    private val containsMediaChildrenUseCase = mock<ContainsMediaChildrenUseCase>()
     private val fileDurationMapper = mock<FileDurationMapper>()
     private val monitorOfflineNodeUpdatesUseCase = mock<MonitorOfflineNodeUpdatesUseCase>()
     private val monitorConnectivityUseCase = mock<MonitorConnectivityUseCase>()
@@ -128,6 +136,7 @@ class FileBrowserViewModelTest {
     private val monitorStorageStateEventUseCase = mock<MonitorStorageStateEventUseCase>()
     private val getFeatureFlagValueUseCase = mock<GetFeatureFlagValueUseCase>()
     private val getBusinessStatusUseCase = mock<GetBusinessStatusUseCase>()
+    private val rootNodeId = NodeId(987654321L)
 
     @BeforeEach
     fun setUp() {
@@ -144,7 +153,9 @@ class FileBrowserViewModelTest {
             monitorNodeUpdatesUseCase = monitorNodeUpdatesUseCase,
             getParentNodeUseCase = getParentNodeUseCase,
             isNodeInRubbishBinUseCase = isNodeInRubbishBinUseCase,
-            getFileBrowserNodeChildrenUseCase = getFileBrowserNodeChildrenUseCase,
+            getNodeChildrenPagingSourceUseCase = getNodeChildrenPagingSourceUseCase,
+            getTypedChildrenNodeInBatchesUseCase = getTypedChildrenNodeInBatchesUseCase,
+            getNodeByIdUseCase = getNodeByIdUseCase,
             getCloudSortOrder = getCloudSortOrder,
             setViewType = setViewType,
             monitorViewType = monitorViewType,
@@ -152,7 +163,7 @@ class FileBrowserViewModelTest {
             monitorRefreshSessionUseCase = monitorRefreshSessionUseCase,
             getBandwidthOverQuotaDelayUseCase = getBandwidthOverQuotaDelayUseCase,
             transfersManagement = transfersManagement,
-            containsMediaItemUseCase = containsMediaItemUseCase,
+            containsMediaChildrenUseCase = containsMediaChildrenUseCase,
             fileDurationMapper = fileDurationMapper,
             monitorOfflineNodeUpdatesUseCase = monitorOfflineNodeUpdatesUseCase,
             monitorConnectivityUseCase = monitorConnectivityUseCase,
@@ -234,7 +245,7 @@ class FileBrowserViewModelTest {
             assertThat(initial.fileBrowserHandle).isEqualTo(-1L)
             assertThat(initial.mediaDiscoveryViewSettings)
                 .isEqualTo(MediaDiscoveryViewSettings.INITIAL.ordinal)
-            assertThat(initial.nodesList).isEmpty()
+            assertThat(initial.nodeCount).isEqualTo(0)
         }
     }
 
@@ -269,9 +280,7 @@ class FileBrowserViewModelTest {
     fun `test that the nodes are returned when setting the file browser handle`() =
         runTest {
             val newValue = 123456789L
-            whenever(getFileBrowserNodeChildrenUseCase(newValue)).thenReturn(
-                listOf<TypedFolderNode>(mock(), mock())
-            )
+            stubChildren(NodeId(newValue), listOf<TypedFolderNode>(mock(), mock()))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             val update = mapOf<Node, List<NodeChanges>>(
                 mock<Node>() to emptyList(),
@@ -279,17 +288,60 @@ class FileBrowserViewModelTest {
             )
             monitorNodeUpdatesFakeFlow.emit(NodeUpdate(update))
             underTest.setFileBrowserHandle(newValue)
-            assertThat(underTest.state.value.nodesList.size).isEqualTo(2)
+            assertThat(underTest.nodes.asSnapshot()).hasSize(2)
         }
 
     @Test
     fun `test that no nodes are returned when setting the file browser handle and the file browser node is null`() =
         runTest {
             val newValue = 123456789L
-            whenever(getFileBrowserNodeChildrenUseCase.invoke(newValue)).thenReturn(emptyList())
             underTest.setFileBrowserHandle(newValue)
-            assertThat(underTest.state.value.nodesList.size).isEqualTo(0)
-            verify(getFileBrowserNodeChildrenUseCase).invoke(newValue)
+            assertThat(underTest.nodes.asSnapshot()).isEmpty()
+            verify(getNodeChildrenPagingSourceUseCase).invoke(NodeId(newValue), SortOrder.ORDER_NONE)
+        }
+
+    @Test
+    fun `test that the node count is the number of children of the file browser node`() =
+        runTest {
+            val newValue = 123456789L
+            val folderNode = mock<TypedFolderNode> {
+                on { childFolderCount }.thenReturn(2)
+                on { childFileCount }.thenReturn(3)
+            }
+            whenever(getNodeByIdUseCase(NodeId(newValue))).thenReturn(folderNode)
+
+            underTest.setFileBrowserHandle(newValue)
+
+            assertThat(underTest.state.value.nodeCount).isEqualTo(5)
+        }
+
+    @Test
+    fun `test that the paging source is invalidated when the same folder is refreshed`() =
+        runTest {
+            val source = FakeNodePagingSource(listOf<TypedFolderNode>(mock()))
+            whenever(getNodeChildrenPagingSourceUseCase(rootNodeId, SortOrder.ORDER_NONE))
+                .thenReturn(source)
+                .thenAnswer { FakeNodePagingSource(emptyList()) }
+            underTest.refreshNodes()
+            assertThat(underTest.nodes.asSnapshot()).hasSize(1)
+
+            underTest.refreshNodes()
+
+            assertThat(source.invalid).isTrue()
+        }
+
+    @Test
+    fun `test that an invisible item is inserted between the folders and the files`() =
+        runTest {
+            val folder = mock<TypedFolderNode> { on { id }.thenReturn(NodeId(1L)) }
+            val file = mock<TypedFileNode> { on { id }.thenReturn(NodeId(2L)) }
+            stubChildren(rootNodeId, listOf(folder, file))
+            underTest.refreshNodes()
+
+            val actual = underTest.nodes.asSnapshot()
+
+            assertThat(actual.map { it.isInvisible }).containsExactly(false, true, false).inOrder()
+            assertThat(actual[1].node).isEqualTo(folder)
         }
 
     @Test
@@ -381,7 +433,9 @@ class FileBrowserViewModelTest {
         runTest {
             val newValue = 123456789L
             underTest.performBackNavigation()
-            verify(getFileBrowserNodeChildrenUseCase, times(0)).invoke(newValue)
+            underTest.nodes.asSnapshot()
+            verify(getNodeChildrenPagingSourceUseCase, times(0))
+                .invoke(NodeId(newValue), SortOrder.ORDER_NONE)
         }
 
     @Test
@@ -389,12 +443,11 @@ class FileBrowserViewModelTest {
         runTest {
             val newValue = 123456789L
             // to update handles fileBrowserHandle
-            whenever(getFileBrowserNodeChildrenUseCase.invoke(newValue)).thenReturn(
-                listOf<TypedFolderNode>(mock(), mock())
-            )
+            stubChildren(NodeId(newValue), listOf<TypedFolderNode>(mock(), mock()))
             underTest.setFileBrowserHandle(newValue)
             underTest.performBackNavigation()
-            verify(getFileBrowserNodeChildrenUseCase).invoke(newValue)
+            underTest.nodes.asSnapshot()
+            verify(getNodeChildrenPagingSourceUseCase).invoke(NodeId(newValue), SortOrder.ORDER_NONE)
         }
 
     @Test
@@ -404,9 +457,7 @@ class FileBrowserViewModelTest {
             val nodesListItem2 = mock<TypedFileNode>()
             whenever(nodesListItem1.id.longValue).thenReturn(1L)
             whenever(nodesListItem2.id.longValue).thenReturn(2L)
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf(nodesListItem1, nodesListItem2)
-            )
+            stubChildren(rootNodeId, listOf(nodesListItem1, nodesListItem2))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             underTest.refreshNodes()
             underTest.onLongItemClicked(
@@ -431,9 +482,7 @@ class FileBrowserViewModelTest {
             val nodesListItem2 = mock<TypedFileNode>()
             whenever(nodesListItem1.id.longValue).thenReturn(1L)
             whenever(nodesListItem2.id.longValue).thenReturn(2L)
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf(nodesListItem1, nodesListItem2)
-            )
+            stubChildren(rootNodeId, listOf(nodesListItem1, nodesListItem2))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
 
             underTest.refreshNodes()
@@ -467,9 +516,7 @@ class FileBrowserViewModelTest {
             whenever(nodesListItem1.id.longValue).thenReturn(1L)
             whenever(nodesListItem2.id.longValue).thenReturn(2L)
 
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf(nodesListItem1, nodesListItem2)
-            )
+            stubChildren(rootNodeId, listOf(nodesListItem1, nodesListItem2))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             underTest.refreshNodes()
             underTest.onLongItemClicked(
@@ -502,16 +549,37 @@ class FileBrowserViewModelTest {
         }
 
     @Test
-    fun `test that the sizes of both selected node handles and the nodes are equal when selecting all nodes`() =
+    fun `test that the paged node is selected when it is long clicked`() =
+        runTest {
+            val nodesListItem1 = mock<TypedFolderNode> { on { id }.thenReturn(NodeId(1L)) }
+            val nodesListItem2 = mock<TypedFileNode> { on { id }.thenReturn(NodeId(2L)) }
+            stubChildren(rootNodeId, listOf(nodesListItem1, nodesListItem2))
+            underTest.refreshNodes()
+
+            underTest.onLongItemClicked(NodeUIItem(nodesListItem1, isSelected = false))
+
+            val actual = underTest.nodes.asSnapshot().filterNot { it.isInvisible }
+            assertThat(actual.map { it.isSelected }).containsExactly(true, false).inOrder()
+        }
+
+    @Test
+    fun `test that all the children are selected when selecting all nodes`() =
         runTest {
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf<TypedFolderNode>(mock(), mock())
+            val folder = mock<TypedFolderNode> { on { id }.thenReturn(NodeId(1L)) }
+            val file = mock<TypedFileNode> { on { id }.thenReturn(NodeId(2L)) }
+            whenever(getTypedChildrenNodeInBatchesUseCase(rootNodeId, SortOrder.ORDER_NONE)).thenReturn(
+                flowOf(listOf(folder), listOf(file))
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             underTest.refreshNodes()
             underTest.selectAllNodes()
-            assertThat(underTest.state.value.nodesList.size)
-                .isEqualTo(underTest.state.value.selectedNodeHandles.size)
+            advanceUntilIdle()
+
+            val state = underTest.state.value
+            assertThat(state.selectedNodeHandles).containsExactly(1L, 2L)
+            assertThat(state.selectedFolderNodes).isEqualTo(1)
+            assertThat(state.selectedFileNodes).isEqualTo(1)
+            assertThat(state.isInSelection).isTrue()
         }
 
     @Test
@@ -669,25 +737,33 @@ class FileBrowserViewModelTest {
         whenever(nodesListItem2.isMarkedSensitive).thenReturn(true)
         whenever(nodesListItem2.isSensitiveInherited).thenReturn(true)
 
-        whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle))
-            .thenReturn(listOf(nodesListItem1, nodesListItem2))
+        stubChildren(rootNodeId, listOf(nodesListItem1, nodesListItem2))
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
 
         // when
         underTest.refreshNodes()
 
         // then
-        underTest.state.test {
-            val state = awaitItem()
-            assertThat(state.sourceNodesList).hasSize(2)
-            assertThat(state.nodesList).hasSize(1)
-        }
+        val actual = underTest.nodes.asSnapshot()
+        assertThat(actual.map { it.node }).containsExactly(nodesListItem1)
+    }
+
+    private fun stubChildren(parentNodeId: NodeId, nodes: List<TypedNode>) {
+        whenever(getNodeChildrenPagingSourceUseCase(parentNodeId, SortOrder.ORDER_NONE))
+            .thenAnswer { FakeNodePagingSource(nodes) }
     }
 
     private suspend fun stubCommon() {
         whenever(monitorNodeUpdatesUseCase()).thenReturn(monitorNodeUpdatesFakeFlow)
         whenever(monitorViewType()).thenReturn(emptyFlow())
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(emptyList())
+        val rootNode = mock<TypedFolderNode>()
+        whenever(rootNode.id.longValue).thenReturn(rootNodeId.longValue)
+        whenever(getRootNodeUseCase()).thenReturn(rootNode)
+        whenever(getTypedChildrenNodeInBatchesUseCase(NodeId(any()), any())).thenReturn(emptyFlow())
+        whenever(getNodeChildrenPagingSourceUseCase(NodeId(any()), any()))
+            .thenAnswer { FakeNodePagingSource(emptyList()) }
+        whenever(getNodeByIdUseCase(NodeId(any()))).thenReturn(null)
+        whenever(containsMediaChildrenUseCase(NodeId(any()))).thenReturn(false)
         whenever(getParentNodeUseCase(NodeId(any()))).thenReturn(null)
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(monitorRefreshSessionUseCase()).thenReturn(emptyFlow())
@@ -722,7 +798,9 @@ class FileBrowserViewModelTest {
         reset(
             monitorNodeUpdatesUseCase,
             getParentNodeUseCase,
-            getFileBrowserNodeChildrenUseCase,
+            getNodeChildrenPagingSourceUseCase,
+            getTypedChildrenNodeInBatchesUseCase,
+            getNodeByIdUseCase,
             getCloudSortOrder,
             handleOptionClickMapper,
             monitorViewType,
@@ -730,7 +808,7 @@ class FileBrowserViewModelTest {
             monitorRefreshSessionUseCase,
             getBandwidthOverQuotaDelayUseCase,
             transfersManagement,
-            containsMediaItemUseCase,
+            containsMediaChildrenUseCase,
             fileDurationMapper,
             monitorOfflineNodeUpdatesUseCase,
             monitorConnectivityUseCase,
@@ -738,4 +816,13 @@ class FileBrowserViewModelTest {
             getFeatureFlagValueUseCase
         )
     }
+
+    private class FakeNodePagingSource(
+        private val nodes: List<TypedNode>,
+    ) : PagingSource<Int, TypedNode>() {
+        override fun getRefreshKey(state: PagingState<Int, TypedNode>): Int? = null
+
+        override suspend fun load(params: LoadParams<Int>): LoadResult<Int, TypedNode> =
+            LoadResult.Page(data = nodes, prevKey = null, nextKey = null)
+    }
 }
@@ -13,18 +13,24 @@ import mega.privacy.android.domain.entity.chat.ChatHistoryLoadStatus
 import mega.privacy.android.domain.entity.chat.ChatMessage
 import mega.privacy.android.domain.entity.chat.messages.TypedMessage
 import mega.privacy.android.domain.entity.chat.messages.paging.FetchMessagePageResponse
-import mega.privacy.android.domain.usecase.chat.message.paging.ClearChatMessagesUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.FetchMessagePageUseCase
+import mega.privacy.android.domain.usecase.chat.message.paging.GetCachedChatMessageIdsUseCase
+import mega.privacy.android.domain.usecase.chat.message.paging.ReconcileChatMessagesUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.SaveChatMessagesUseCase
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.mockito.Mockito
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.stub
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
+import org.mockito.kotlin.verifyNoMoreInteractions
 import org.mockito.kotlin.whenever
 
 @OptIn(ExperimentalPagingApi::class)
@@ -36,7 +42,8 @@ class PagedChatMessageRemoteMediatorTest {
     private val messageFlow: MutableStateFlow<ChatMessage?> = MutableStateFlow(null)
     private val fetchMessages = mock<FetchMessagePageUseCase>()
     private val saveChatMessagesUseCase = mock<SaveChatMessagesUseCase>()
-    private val clearChatMessagesUseCase = mock<ClearChatMessagesUseCase>()
+    private val getCachedChatMessageIdsUseCase = mock<GetCachedChatMessageIdsUseCase>()
+    private val reconcileChatMessagesUseCase = mock<ReconcileChatMessagesUseCase>()
 
     val pageSize = 10
     private val state = PagingState<Int, TypedMessage>(
@@ -54,17 +61,24 @@ class PagedChatMessageRemoteMediatorTest {
                 fetchMessages = fetchMessages,
                 saveMessages = saveChatMessagesUseCase,
                 coroutineScope = mock(),
-                clearChatMessagesUseCase = clearChatMessagesUseCase,
+                getCachedChatMessageIdsUseCase = getCachedChatMessageIdsUseCase,
+                reconcileChatMessagesUseCase = reconcileChatMessagesUseCase,
             )
     }
 
+    @BeforeEach
+    internal fun stubCachedMessageIds() = runTest {
+        whenever(getCachedChatMessageIdsUseCase(chatId)).thenReturn(emptySet())
+    }
+
     @AfterEach
     internal fun tearDown() {
         messageFlow.value = null
         Mockito.reset(
             fetchMessages,
             saveChatMessagesUseCase,
-            clearChatMessagesUseCase
+            getCachedChatMessageIdsUseCase,
+            reconcileChatMessagesUseCase,
         )
     }
 
@@ -138,11 +152,106 @@ class PagedChatMessageRemoteMediatorTest {
     }
 
     @Test
-    internal fun `test that message database is cleared when load type is refresh`() = runTest {
-        underTest.load(LoadType.REFRESH, state)
+    internal fun `test that stored messages are reconciled instead of saved when load type is refresh`() =
+        runTest {
+            val messages = List(pageSize) { index -> message(id = index.toLong()) }
+            fetchMessages.stub {
+                onBlocking { invoke(any(), any()) }.thenReturn(
+                    FetchMessagePageResponse(
+                        chatId = chatId,
+                        messages = messages,
+                        loadResponse = ChatHistoryLoadStatus.REMOTE
+                    )
+                )
+            }
 
-        verify(clearChatMessagesUseCase).invoke(chatId, false)
-    }
+            underTest.load(LoadType.REFRESH, state)
+
+            verify(reconcileChatMessagesUseCase).invoke(chatId, messages, false)
+            verifyNoInteractions(saveChatMessagesUseCase)
+        }
+
+    @Test
+    internal fun `test that refresh fetches until the messages reach the stored messages`() =
+        runTest {
+            val newMessages = List(pageSize) { index -> message(id = 100L + index) }
+            val storedMessages = List(pageSize) { index -> message(id = index.toLong()) }
+            whenever(getCachedChatMessageIdsUseCase(chatId))
+                .thenReturn(storedMessages.map { it.messageId }.toSet())
+            whenever(fetchMessages(any(), any())).thenReturn(
+                FetchMessagePageResponse(
+                    chatId = chatId,
+                    messages = newMessages,
+                    loadResponse = ChatHistoryLoadStatus.REMOTE
+                ),
+                FetchMessagePageResponse(
+                    chatId = chatId,
+                    messages = storedMessages,
+                    loadResponse = ChatHistoryLoadStatus.LOCAL
+                ),
+            )
+
+            underTest.load(LoadType.REFRESH, state)
+
+            verify(fetchMessages, times(2)).invoke(any(), anyOrNull())
+            verify(reconcileChatMessagesUseCase)
+                .invoke(chatId, newMessages + storedMessages, false)
+        }
+
+    @Test
+    internal fun `test that append fetches until it gets a page of messages that are not stored`() =
+        runTest {
+            val storedMessages = List(pageSize) { index -> message(id = index.toLong()) }
+            val olderMessages = List(pageSize) { index -> message(id = 100L + index) }
+            whenever(getCachedChatMessageIdsUseCase(chatId))
+                .thenReturn(storedMessages.map { it.messageId }.toSet())
+            whenever(fetchMessages(any(), any())).thenReturn(
+                FetchMessagePageResponse(
+                    chatId = chatId,
+                    messages = storedMessages,
+                    loadResponse = ChatHistoryLoadStatus.LOCAL
+                ),
+                FetchMessagePageResponse(
+                    chatId = chatId,
+                    messages = olderMessages,
+                    loadResponse = ChatHistoryLoadStatus.REMOTE
+                ),
+            )
+
+            underTest.load(LoadType.APPEND, state)
+
+            verify(fetchMessages, times(2)).invoke(any(), anyOrNull())
+            verify(saveChatMessagesUseCase).invoke(chatId, olderMessages)
+            verifyNoMoreInteractions(saveChatMessagesUseCase)
+        }
+
+    @Test
+    internal fun `test that append saves every page as it is fetched without the stored messages`() =
+        runTest {
+            val storedMessages = List(pageSize / 2) { index -> message(id = index.toLong()) }
+            val firstPage = List(pageSize / 2) { index -> message(id = 100L + index) }
+            val secondPage = List(pageSize / 2) { index -> message(id = 200L + index) }
+            whenever(getCachedChatMessageIdsUseCase(chatId))
+                .thenReturn(storedMessages.map { it.messageId }.toSet())
+            whenever(fetchMessages(any(), any())).thenReturn(
+                FetchMessagePageResponse(
+                    chatId = chatId,
+                    messages = storedMessages + firstPage,
+                    loadResponse = ChatHistoryLoadStatus.LOCAL
+                ),
+                FetchMessagePageResponse(
+                    chatId = chatId,
+                    messages = secondPage,
+                    loadResponse = ChatHistoryLoadStatus.REMOTE
+                ),
+            )
+
+            underTest.load(LoadType.APPEND, state)
+
+            verify(saveChatMessagesUseCase).invoke(chatId, firstPage)
+            verify(saveChatMessagesUseCase).invoke(chatId, secondPage)
+            verifyNoMoreInteractions(saveChatMessagesUseCase)
+        }
 
     @Test
     internal fun `test that end of pagination reached is only sent when load result is none`() =
@@ -179,4 +288,8 @@ class PagedChatMessageRemoteMediatorTest {
             assertThat((result as RemoteMediator.MediatorResult.Error).throwable)
                 .isInstanceOf(TimeoutCancellationException::class.java)
         }
-}
\ No newline at end of file
+
+    private fun message(id: Long) = mock<ChatMessage> {
+        on { messageId }.thenReturn(id)
+    }
+}
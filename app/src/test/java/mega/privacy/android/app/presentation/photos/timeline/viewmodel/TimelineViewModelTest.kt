@@ -36,10 +36,10 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadsFinishedRea
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRestartMode
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsStatusInfo
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotoChangeSet
 import mega.privacy.android.domain.entity.photos.TimelinePreferencesJSON
 import mega.privacy.android.domain.usecase.camerauploads.CheckEnableCameraUploadsStatusUseCase
 import mega.privacy.android.domain.usecase.FilterCameraUploadPhotos
-import mega.privacy.android.domain.usecase.FilterCloudDrivePhotos
 import mega.privacy.android.domain.usecase.GetBusinessStatusUseCase
 import mega.privacy.android.domain.usecase.GetNodeByIdUseCase
 import mega.privacy.android.domain.usecase.IsHiddenNodesOnboardedUseCase
@@ -53,7 +53,7 @@ import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCas
 import mega.privacy.android.domain.usecase.permisison.HasMediaPermissionUseCase
 import mega.privacy.android.domain.usecase.photos.EnableCameraUploadsInPhotosUseCase
 import mega.privacy.android.domain.usecase.photos.GetTimelineFilterPreferencesUseCase
-import mega.privacy.android.domain.usecase.photos.GetTimelinePhotosUseCase
+import mega.privacy.android.domain.usecase.photos.MonitorTimelinePhotoChangesUseCase
 import mega.privacy.android.domain.usecase.photos.SetTimelineFilterPreferencesUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
 import mega.privacy.android.domain.usecase.workers.StartCameraUploadUseCase
@@ -85,14 +85,11 @@ internal class TimelineViewModelTest {
     private val isCameraUploadsEnabledUseCase =
         mock<IsCameraUploadsEnabledUseCase> { onBlocking { invoke() }.thenReturn(true) }
 
-    private val getTimelinePhotosUseCase = mock<GetTimelinePhotosUseCase>()
+    private val monitorTimelinePhotoChangesUseCase = mock<MonitorTimelinePhotoChangesUseCase>()
 
     private val filterCameraUploadPhotos =
         mock<FilterCameraUploadPhotos> { onBlocking { invoke(any()) }.thenAnswer { it.arguments[0] } }
 
-    private val filterCloudDrivePhotos =
-        mock<FilterCloudDrivePhotos> { onBlocking { invoke(any()) }.thenAnswer { it.arguments[0] } }
-
     private val setInitialCUPreferences = mock<SetInitialCUPreferences>()
 
     private val enableCameraUploadsInPhotosUseCase = mock<EnableCameraUploadsInPhotosUseCase>()
@@ -141,7 +138,7 @@ internal class TimelineViewModelTest {
 
     @BeforeEach
     fun setUp() {
-        getTimelinePhotosUseCase.stub {
+        monitorTimelinePhotoChangesUseCase.stub {
             on { invoke() }.thenReturn(emptyFlow())
         }
         monitorCameraUploadsStatusInfoUseCase.stub {
@@ -164,9 +161,8 @@ internal class TimelineViewModelTest {
     fun initViewModel() {
         underTest = TimelineViewModel(
             isCameraUploadsEnabledUseCase = isCameraUploadsEnabledUseCase,
-            getTimelinePhotosUseCase = getTimelinePhotosUseCase,
+            monitorTimelinePhotoChangesUseCase = monitorTimelinePhotoChangesUseCase,
             getCameraUploadPhotos = filterCameraUploadPhotos,
-            getCloudDrivePhotos = filterCloudDrivePhotos,
             setInitialCUPreferences = setInitialCUPreferences,
             enableCameraUploadsInPhotosUseCase = enableCameraUploadsInPhotosUseCase,
             getNodeListByIds = getNodeListByIds,
@@ -264,6 +260,47 @@ internal class TimelineViewModelTest {
         }
     }
 
+    @Test
+    fun `test that the changed photos are applied to the sorted showing photos`() = runTest {
+        val now = LocalDateTime.now()
+        val olderPhoto = mock<Photo.Image> {
+            on { id }.thenReturn(1L)
+            on { modificationTime }.thenReturn(now.minusDays(1))
+        }
+        val newerPhoto = mock<Photo.Image> {
+            on { id }.thenReturn(2L)
+            on { modificationTime }.thenReturn(now)
+        }
+        val photoChanges = MutableSharedFlow<PhotoChangeSet>()
+        whenever(getFeatureFlagValueUseCase(AppFeatures.RememberTimelinePreferences)).thenReturn(
+            false
+        )
+        whenever(monitorTimelinePhotoChangesUseCase()).thenReturn(photoChanges)
+
+        initViewModel()
+        advanceUntilIdle()
+        photoChanges.emit(
+            PhotoChangeSet(version = 1L, photos = mapOf(1L to olderPhoto), isReset = true)
+        )
+        advanceUntilIdle()
+        photoChanges.emit(
+            PhotoChangeSet(
+                version = 2L,
+                photos = mapOf(1L to olderPhoto, 2L to newerPhoto),
+                addedIds = setOf(2L),
+            )
+        )
+        advanceUntilIdle()
+
+        underTest.state.test {
+            val state = awaitItem()
+            assertThat(state.photos).containsExactly(olderPhoto, newerPhoto)
+            assertThat(state.currentShowingPhotos)
+                .containsExactly(newerPhoto, olderPhoto)
+                .inOrder()
+        }
+    }
+
     @Test
     fun `test that a single photo returned is returned by the state`() = runTest {
         val expectedDate = LocalDateTime.now()
@@ -271,7 +308,9 @@ internal class TimelineViewModelTest {
         whenever(getFeatureFlagValueUseCase(AppFeatures.RememberTimelinePreferences)).thenReturn(
             false
         )
-        whenever(getTimelinePhotosUseCase()).thenReturn(flowOf(listOf(photo)))
+        whenever(monitorTimelinePhotoChangesUseCase()).thenReturn(
+            flowOf(PhotoChangeSet(version = 1L, photos = mapOf(photo.id to photo), isReset = true))
+        )
 
         initViewModel()
 
@@ -663,7 +702,9 @@ internal class TimelineViewModelTest {
 
         val expectedDate = LocalDateTime.now()
         val photo = mock<Photo.Image> { on { modificationTime }.thenReturn(expectedDate) }
-        whenever(getTimelinePhotosUseCase()).thenReturn(flowOf(listOf(photo)))
+        whenever(monitorTimelinePhotoChangesUseCase()).thenReturn(
+            flowOf(PhotoChangeSet(version = 1L, photos = mapOf(photo.id to photo), isReset = true))
+        )
 
         whenever(getFeatureFlagValueUseCase(AppFeatures.RememberTimelinePreferences)).thenReturn(
             true
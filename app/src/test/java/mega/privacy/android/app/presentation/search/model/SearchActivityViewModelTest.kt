@@ -1,6 +1,9 @@
 package mega.privacy.android.app.presentation.search.model
 
 import androidx.lifecycle.SavedStateHandle
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import androidx.paging.testing.asSnapshot
 import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.flow.MutableSharedFlow
@@ -44,6 +47,7 @@ import mega.privacy.android.domain.usecase.canceltoken.CancelCancelTokenUseCase
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
 import mega.privacy.android.domain.usecase.node.MonitorNodeUpdatesUseCase
 import mega.privacy.android.domain.usecase.offline.MonitorOfflineNodeUpdatesUseCase
+import mega.privacy.android.domain.usecase.search.GetSearchPagingSourceUseCase
 import mega.privacy.android.domain.usecase.search.SearchUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
 import mega.privacy.android.domain.usecase.viewtype.MonitorViewType
@@ -79,6 +83,7 @@ class SearchActivityViewModelTest {
     private val dateFilterStringMapper: DateFilterOptionStringResMapper = mock()
     private val monitorOfflineNodeUpdatesUseCase: MonitorOfflineNodeUpdatesUseCase = mock()
     private val searchUseCase: SearchUseCase = mock()
+    private val getSearchPagingSourceUseCase: GetSearchPagingSourceUseCase = mock()
     private val monitorAccountDetailUseCase: MonitorAccountDetailUseCase = mock()
     private val monitorShowHiddenItemsUseCase: MonitorShowHiddenItemsUseCase = mock()
     private val accountDetailFakeFlow = MutableSharedFlow<AccountDetail>()
@@ -115,6 +120,7 @@ class SearchActivityViewModelTest {
             typeFilterOptionStringResMapper = typeFilterStringMapper,
             dateFilterOptionStringResMapper = dateFilterStringMapper,
             searchUseCase = searchUseCase,
+            getSearchPagingSourceUseCase = getSearchPagingSourceUseCase,
             monitorAccountDetailUseCase = monitorAccountDetailUseCase,
             monitorShowHiddenItemsUseCase = monitorShowHiddenItemsUseCase,
             getBusinessStatusUseCase = getBusinessStatusUseCase,
@@ -138,6 +144,9 @@ class SearchActivityViewModelTest {
         whenever(monitorAccountDetailUseCase()).thenReturn(accountDetailFakeFlow)
         whenever(nodeSourceTypeToSearchTargetMapper(any())).thenReturn(SearchTarget.ROOT_NODES)
         whenever(getFeatureFlagValueUseCase(any())).thenReturn(false)
+        whenever(getSearchPagingSourceUseCase(NodeId(any()), any(), any())).thenAnswer {
+            FakeNodePagingSource(emptyList())
+        }
     }
 
     @AfterEach
@@ -159,6 +168,7 @@ class SearchActivityViewModelTest {
             typeFilterStringMapper,
             dateFilterStringMapper,
             searchUseCase,
+            getSearchPagingSourceUseCase,
             monitorAccountDetailUseCase,
             monitorShowHiddenItemsUseCase,
         )
@@ -342,21 +352,13 @@ class SearchActivityViewModelTest {
             nodeList.add(typedFileNode)
             nodeList.add(typedFolderNode)
 
-            whenever(
-                searchUseCase(
-                    parentHandle = NodeId(parentHandle),
-                    nodeSourceType = nodeSourceType,
-                    searchParameters = SearchParameters(
-                        query = query,
-                    ),
-                )
-            ).thenReturn(nodeList)
+            stubSearchResults(query, nodeList)
             underTest.updateSearchQuery(query)
             underTest.state.test {
                 val state = awaitItem()
                 assertThat(state.searchQuery).isEqualTo(query)
-                assertThat(state.searchItemList.size).isEqualTo(nodeList.size)
             }
+            assertThat(underTest.searchResults.asSnapshot()).hasSize(nodeList.size)
         }
 
     @Test
@@ -399,11 +401,12 @@ class SearchActivityViewModelTest {
                     ),
                 )
             ).thenReturn(listOf(typedFileNode, typedFolderNode))
+            stubSearchResults(query, listOf(typedFileNode, typedFolderNode))
             underTest.updateSearchQuery(query)
+            assertThat(underTest.searchResults.asSnapshot()).hasSize(2)
             underTest.state.test {
                 val state = awaitItem()
                 assertThat(state.searchQuery).isEqualTo(query)
-                assertThat(state.searchItemList.size).isEqualTo(2)
                 assertThat(state.selectedNodes).isEmpty()
                 underTest.selectAll()
                 val selectAllState = awaitItem()
@@ -449,24 +452,13 @@ class SearchActivityViewModelTest {
 
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(monitorViewType()).thenReturn(flowOf(ViewType.LIST))
-        whenever(
-            searchUseCase(
-                parentHandle = NodeId(parentHandle),
-                nodeSourceType = nodeSourceType,
-                searchParameters = SearchParameters(
-                    query = query,
-                ),
-            )
-        ).thenReturn(listOf(typedFileNode, typedFolderNode))
+        stubSearchResults(query, listOf(typedFileNode, typedFolderNode))
 
         // when
         underTest.updateSearchQuery(query)
 
         // then
-        underTest.state.test {
-            val state = awaitItem()
-            assertThat(state.searchItemList.size).isEqualTo(1)
-        }
+        assertThat(underTest.searchResults.asSnapshot()).hasSize(1)
     }
 
     @Test
@@ -504,24 +496,13 @@ class SearchActivityViewModelTest {
 
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(monitorViewType()).thenReturn(flowOf(ViewType.LIST))
-        whenever(
-            searchUseCase(
-                parentHandle = NodeId(parentHandle),
-                nodeSourceType = nodeSourceType,
-                searchParameters = SearchParameters(
-                    query = query,
-                ),
-            )
-        ).thenReturn(listOf(typedFileNode, typedFolderNode))
+        stubSearchResults(query, listOf(typedFileNode, typedFolderNode))
 
         // when
         underTest.updateSearchQuery(query)
 
         // then
-        underTest.state.test {
-            val state = awaitItem()
-            assertThat(state.searchItemList.size).isEqualTo(2)
-        }
+        assertThat(underTest.searchResults.asSnapshot()).hasSize(2)
     }
 
     @Test
@@ -546,4 +527,71 @@ class SearchActivityViewModelTest {
                 assertThat(state.navigationLevel.size).isEqualTo(0)
             }
         }
+
+    @Test
+    fun `test that the paging source is invalidated when the same search is performed again`() =
+        runTest {
+            val source = FakeNodePagingSource(emptyList())
+            whenever(getSearchPagingSourceUseCase(NodeId(any()), any(), any())).thenReturn(source)
+            underTest.updateSearchQuery("query")
+            underTest.searchResults.asSnapshot()
+
+            underTest.onSortOrderChanged()
+
+            assertThat(source.invalid).isTrue()
+        }
+
+    @Test
+    fun `test that a folder is shown before an invisible copy of it between folders and files`() =
+        runTest {
+            val query = "query"
+            val typedFolderNode = mock<TypedFolderNode> {
+                on { id }.thenReturn(NodeId(345L))
+            }
+            val typedFileNode = mock<TypedFileNode> {
+                on { id }.thenReturn(NodeId(123L))
+            }
+            stubSearchResults(query, listOf(typedFolderNode, typedFileNode))
+
+            underTest.updateSearchQuery(query)
+
+            val results = underTest.searchResults.asSnapshot()
+            assertThat(results.map { it.isInvisible }).containsExactly(false, true, false).inOrder()
+            assertThat(results[1].node).isEqualTo(typedFolderNode)
+        }
+
+    @Test
+    fun `test that the long clicked result is shown as selected`() = runTest {
+        val query = "query"
+        val typedFileNode = mock<TypedFileNode> {
+            on { id }.thenReturn(NodeId(123L))
+        }
+        stubSearchResults(query, listOf(typedFileNode))
+        underTest.updateSearchQuery(query)
+
+        underTest.onLongItemClicked(NodeUIItem(typedFileNode, isSelected = false))
+
+        assertThat(underTest.searchResults.asSnapshot().single().isSelected).isTrue()
+    }
+
+    private fun stubSearchResults(query: String, nodes: List<TypedNode>) {
+        whenever(
+            getSearchPagingSourceUseCase(
+                parentHandle = NodeId(parentHandle),
+                nodeSourceType = nodeSourceType,
+                searchParameters = SearchParameters(
+                    query = query,
+                ),
+            )
+        ).thenAnswer { FakeNodePagingSource(nodes) }
+    }
+
+    private class FakeNodePagingSource(
+        private val nodes: List<TypedNode>,
+    ) : PagingSource<Int, TypedNode>() {
+        override fun getRefreshKey(state: PagingState<Int, TypedNode>): Int? = null
+
+        override suspend fun load(params: LoadParams<Int>): LoadResult<Int, TypedNode> =
+            LoadResult.Page(data = nodes, prevKey = null, nextKey = null)
+    }
 }
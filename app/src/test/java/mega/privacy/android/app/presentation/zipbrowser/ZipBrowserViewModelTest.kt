@@ -6,6 +6,10 @@ import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.resetMain
 import kotlinx.coroutines.test.runTest
@@ -14,24 +18,31 @@ import mega.privacy.android.app.presentation.zipbrowser.ZipBrowserViewModel
 import mega.privacy.android.app.presentation.zipbrowser.mapper.ZipInfoUiEntityMapper
 import mega.privacy.android.app.presentation.zipbrowser.model.ZipInfoUiEntity
 import mega.privacy.android.app.utils.Constants.EXTRA_PATH_ZIP
+import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.VideoFileTypeInfo
 import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
+import mega.privacy.android.domain.entity.zipbrowser.ZipExtractionProgress
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.usecase.file.GetFileTypeInfoUseCase
-import mega.privacy.android.domain.usecase.zipbrowser.GetZipTreeMapUseCase
-import mega.privacy.android.domain.usecase.zipbrowser.UnzipFileUseCase
+import mega.privacy.android.domain.usecase.zipbrowser.MonitorUnzipFileUseCase
+import mega.privacy.android.domain.usecase.zipbrowser.MonitorZipTreeMapUseCase
 import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.api.io.TempDir
+import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.io.File
+import java.io.IOException
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
 import kotlin.time.Duration.Companion.seconds
 
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -42,9 +53,9 @@ class ZipBrowserViewModelTest {
 
     private lateinit var underTest: ZipBrowserViewModel
 
-    private val getZipTreeMapUseCase = mock<GetZipTreeMapUseCase>()
+    private val monitorZipTreeMapUseCase = mock<MonitorZipTreeMapUseCase>()
     private val zipInfoUiEntityMapper = mock<ZipInfoUiEntityMapper>()
-    private val unzipFileUseCase = mock<UnzipFileUseCase>()
+    private val monitorUnzipFileUseCase = mock<MonitorUnzipFileUseCase>()
     private val savedStateHandle = mock<SavedStateHandle>()
     private val getFileTypeInfoUseCase = mock<GetFileTypeInfoUseCase>()
 
@@ -98,9 +109,9 @@ class ZipBrowserViewModelTest {
 
     private fun initUnderTest() {
         underTest = ZipBrowserViewModel(
-            getZipTreeMapUseCase = getZipTreeMapUseCase,
+            monitorZipTreeMapUseCase = monitorZipTreeMapUseCase,
             zipInfoUiEntityMapper = zipInfoUiEntityMapper,
-            unzipFileUseCase = unzipFileUseCase,
+            monitorUnzipFileUseCase = monitorUnzipFileUseCase,
             savedStateHandle = savedStateHandle,
             getFileTypeInfoUseCase = getFileTypeInfoUseCase
         )
@@ -109,9 +120,9 @@ class ZipBrowserViewModelTest {
     @AfterEach
     fun resetMocks() {
         reset(
-            getZipTreeMapUseCase,
+            monitorZipTreeMapUseCase,
             zipInfoUiEntityMapper,
-            unzipFileUseCase,
+            monitorUnzipFileUseCase,
             savedStateHandle,
             getFileTypeInfoUseCase
         )
@@ -125,7 +136,7 @@ class ZipBrowserViewModelTest {
     @Test
     fun `test that the initial state is returned`() = runTest {
         whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-        whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(emptyMap())
+        whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(emptyMap()))
         initUnderTest()
 
         underTest.uiState.test {
@@ -142,7 +153,7 @@ class ZipBrowserViewModelTest {
     fun `test that the state is updated correctly when getting the root zip tree nodes`() =
         runTest {
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
             whenever(zipInfoUiEntityMapper(anyOrNull())).thenReturn(mock())
 
             initUnderTest()
@@ -158,10 +169,11 @@ class ZipBrowserViewModelTest {
         }
 
     @Test
-    fun `test that the state is updated correctly when getZipTreeMapUseCase throws an exception`() =
+    fun `test that the state is updated correctly when monitorZipTreeMapUseCase throws an exception`() =
         runTest {
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenThrow(IllegalArgumentException())
+            whenever(monitorZipTreeMapUseCase(anyOrNull()))
+                .thenReturn(flow { throw IllegalArgumentException() })
 
             initUnderTest()
 
@@ -173,7 +185,7 @@ class ZipBrowserViewModelTest {
     @Test
     fun `test that state is updated correctly when folder item is clicked`() = runTest {
         whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-        whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+        whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
         whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
         whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
 
@@ -196,10 +208,11 @@ class ZipBrowserViewModelTest {
     fun `test that shouldShowAlertDialog is true when zip file is not unpack and unzip is failed`() =
         runTest {
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(false)
+            whenever(monitorUnzipFileUseCase(any(), any(), anyOrNull()))
+                .thenReturn(flow { throw IOException() })
 
             initUnderTest()
             underTest.itemClicked(testFileEntity)
@@ -213,10 +226,11 @@ class ZipBrowserViewModelTest {
     fun `test that shouldShowAlertDialog is true when the zip item does not exist`() =
         runTest {
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(false)
+            whenever(monitorUnzipFileUseCase(any(), any(), anyOrNull()))
+                .thenReturn(flow { throw IOException() })
 
             initUnderTest()
             underTest.getUnzipRootPath()?.let { File(it).mkdirs() }
@@ -234,10 +248,11 @@ class ZipBrowserViewModelTest {
             File(temporaryFolder, "zipFile").apply { createNewFile() }
 
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(zipFile.path)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testZipFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(false)
+            whenever(monitorUnzipFileUseCase(any(), any(), anyOrNull()))
+                .thenReturn(flow { throw IOException() })
 
             initUnderTest()
             underTest.itemClicked(testZipFileEntity)
@@ -248,16 +263,17 @@ class ZipBrowserViewModelTest {
         }
 
     @Test
-    fun `test that shouldShowAlertDialog is true when the unzipFileUseCase throws an exception`() =
+    fun `test that shouldShowAlertDialog is true when the monitorUnzipFileUseCase throws an exception`() =
         runTest {
             val zipFile = File(temporaryFolder, "zipFile.txt").apply { createNewFile() }
             File(temporaryFolder, "zipFile").apply { createNewFile() }
 
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(zipFile.path)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testZipFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenThrow(NullPointerException())
+            whenever(monitorUnzipFileUseCase(any(), any(), anyOrNull()))
+                .thenThrow(NullPointerException())
 
             initUnderTest()
             underTest.itemClicked(testZipFileEntity)
@@ -278,10 +294,10 @@ class ZipBrowserViewModelTest {
             }
 
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(temporaryFolder.path + ".")
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(fileEntry)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(true)
+            whenever(monitorUnzipFileUseCase(any(), any(), anyOrNull())).thenReturn(emptyFlow())
 
             initUnderTest()
             underTest.itemClicked(fileEntry)
@@ -291,10 +307,73 @@ class ZipBrowserViewModelTest {
             }
         }
 
+    @Test
+    fun `test that the folder of the clicked file is extracted and the file is opened`() =
+        runTest {
+            val zipFile = createZipFile(subFilePath)
+            val unzipRootPath = zipFile.path.removeSuffix(".zip") + File.separator
+
+            whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(zipFile.path)
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
+            whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
+            whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
+            whenever(monitorUnzipFileUseCase(any(), eq(unzipRootPath), eq(folderPath)))
+                .thenReturn(flow {
+                    File(unzipRootPath + subFilePath).apply {
+                        parentFile?.mkdirs()
+                        createNewFile()
+                    }
+                    emit(ZipExtractionProgress(1, 1))
+                })
+
+            initUnderTest()
+            underTest.itemClicked(testFileEntity)
+
+            underTest.uiState.test {
+                val actual = awaitItem()
+                assertThat(actual.openedFile).isEqualTo(testFileEntity)
+                assertThat(actual.showUnzipProgressBar).isFalse()
+                assertThat(actual.showAlertDialog).isFalse()
+            }
+        }
+
+    @Test
+    fun `test that the extraction progress is shown while the file is extracted`() = runTest {
+        val zipFile = createZipFile(subFilePath)
+
+        whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(zipFile.path)
+        whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
+        whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
+        whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
+        whenever(monitorUnzipFileUseCase(any(), any(), anyOrNull())).thenReturn(flow {
+            emit(ZipExtractionProgress(1, 4))
+            awaitCancellation()
+        })
+
+        initUnderTest()
+        underTest.itemClicked(testFileEntity)
+
+        underTest.uiState.test {
+            val actual = awaitItem()
+            assertThat(actual.showUnzipProgressBar).isTrue()
+            assertThat(actual.unzipProgress).isEqualTo(Progress(0.25f))
+        }
+    }
+
+    private fun createZipFile(vararg entryNames: String) =
+        File(temporaryFolder, "archive.zip").apply {
+            ZipOutputStream(outputStream()).use { outputStream ->
+                entryNames.forEach {
+                    outputStream.putNextEntry(ZipEntry(it))
+                    outputStream.closeEntry()
+                }
+            }
+        }
+
     @Test
     fun `test that state is updated correctly when handleOnBackPressed is invoked`() = runTest {
         whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-        whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+        whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(testZipNodeTree))
         whenever(zipInfoUiEntityMapper(testZipTreeNode)).thenReturn(mock())
         whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
         whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
@@ -316,7 +395,7 @@ class ZipBrowserViewModelTest {
     @Test
     fun `test that unzipRootPath is returned correctly`() = runTest {
         whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-        whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(emptyMap())
+        whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(emptyMap()))
         initUnderTest()
 
         assertThat(underTest.getUnzipRootPath()).isEqualTo(
@@ -328,7 +407,7 @@ class ZipBrowserViewModelTest {
     fun `test that state is updated correctly when updateShouldShowAlertDialog is invoked`() =
         runTest {
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(emptyMap())
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(emptyMap()))
             initUnderTest()
 
             underTest.uiState.test {
@@ -344,7 +423,7 @@ class ZipBrowserViewModelTest {
     fun `test that state is updated correctly when updateShouldShowSnackBar is invoked`() =
         runTest {
             whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
-            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(emptyMap())
+            whenever(monitorZipTreeMapUseCase(anyOrNull())).thenReturn(flowOf(emptyMap()))
             initUnderTest()
 
             underTest.uiState.test {
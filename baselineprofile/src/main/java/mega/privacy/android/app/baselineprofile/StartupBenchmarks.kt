@@ -2,11 +2,24 @@ package mega.privacy.android.app.baselineprofile
 
 import androidx.benchmark.macro.BaselineProfileMode
 import androidx.benchmark.macro.CompilationMode
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.FrameTimingMetric
+import androidx.benchmark.macro.Metric
 import androidx.benchmark.macro.StartupMode
 import androidx.benchmark.macro.StartupTimingMetric
+import androidx.benchmark.macro.TraceSectionMetric
 import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.benchmark.perfetto.ExperimentalPerfettoCaptureApi
+import androidx.benchmark.perfetto.ExperimentalPerfettoTraceProcessorApi
+import androidx.benchmark.perfetto.PerfettoTrace
+import androidx.benchmark.perfetto.PerfettoTraceProcessor
 import androidx.test.ext.junit.runners.AndroidJUnit4
 import androidx.test.filters.LargeTest
+import androidx.test.platform.app.InstrumentationRegistry
+import androidx.test.uiautomator.By
+import androidx.test.uiautomator.UiDevice
+import androidx.test.uiautomator.Until
+import org.junit.Assert.assertTrue
 import org.junit.Rule
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -45,10 +58,84 @@ class StartupBenchmarks {
     fun startupCompilationBaselineProfiles() =
         benchmark(CompilationMode.Partial(BaselineProfileMode.Require))
 
-    private fun benchmark(compilationMode: CompilationMode) {
+    /**
+     * Cold start until the timeline photos are shown, it requires a logged in account with photos,
+     * see [BaselineProfileGenerator]
+     */
+    @Test
+    fun startupToTimelineCompilationNone() =
+        benchmarkStartupToTimeline(CompilationMode.None())
+
+    @Test
+    fun startupToTimelineCompilationBaselineProfiles() =
+        benchmarkStartupToTimeline(CompilationMode.Partial(BaselineProfileMode.Require))
+
+    /**
+     * Cold start with the time of the app start tasks, from the startup trace sections
+     */
+    @Test
+    fun startupTasksCompilationBaselineProfiles() =
+        benchmark(
+            compilationMode = CompilationMode.Partial(BaselineProfileMode.Require),
+            metrics = listOf(StartupTimingMetric()) + appStartTasksMetrics(),
+        )
+
+    /**
+     * Checks that a cold start records the trace sections measured by
+     * [startupTasksCompilationBaselineProfiles], so the metrics do not silently come out empty if
+     * the sections are renamed
+     */
+    @OptIn(ExperimentalPerfettoCaptureApi::class, ExperimentalPerfettoTraceProcessorApi::class)
+    @Test
+    fun startupTasksTraceSectionsAreRecorded() {
+        val device = UiDevice.getInstance(InstrumentationRegistry.getInstrumentation())
+        device.executeShellCommand("am force-stop $PACKAGE_NAME")
+        var tracePath: String? = null
+        PerfettoTrace.record(
+            fileLabel = "startupTasksTraceSections",
+            appTagPackages = listOf(PACKAGE_NAME),
+            traceCallback = { tracePath = it.path },
+        ) {
+            device.executeShellCommand(
+                "monkey -p $PACKAGE_NAME -c android.intent.category.LAUNCHER 1"
+            )
+            device.wait(Until.hasObject(By.pkg(PACKAGE_NAME).depth(0)), APP_START_TIMEOUT_MS)
+            // The app start tasks run in the background once the app is shown
+            Thread.sleep(APP_START_TASKS_WAIT_MS)
+        }
+
+        val sectionNames = PerfettoTraceProcessor.runSingleSessionServer(
+            requireNotNull(tracePath) { "The startup trace was not recorded" }
+        ) {
+            querySlices(
+                APP_START_TASKS_SECTION,
+                APP_START_TASK_SECTION_PREFIX + STOP_SYNC_WORKER_TASK,
+                packageName = PACKAGE_NAME,
+            ).map { it.name }.toSet()
+        }
+        assertTrue(
+            "Missing $APP_START_TASKS_SECTION section in $sectionNames",
+            APP_START_TASKS_SECTION in sectionNames,
+        )
+        assertTrue(
+            "Missing $STOP_SYNC_WORKER_TASK section in $sectionNames",
+            APP_START_TASK_SECTION_PREFIX + STOP_SYNC_WORKER_TASK in sectionNames,
+        )
+    }
+
+    @OptIn(ExperimentalMetricApi::class)
+    private fun appStartTasksMetrics() = listOf(
+        TraceSectionMetric(APP_START_TASKS_SECTION),
+        TraceSectionMetric(APP_START_TASK_SECTION_PREFIX + STOP_SYNC_WORKER_TASK),
+    )
+
+    private fun benchmark(
+        compilationMode: CompilationMode,
+        metrics: List<Metric> = listOf(StartupTimingMetric()),
+    ) {
         rule.measureRepeated(
             packageName = "mega.privacy.android.app",
-            metrics = listOf(StartupTimingMetric()),
+            metrics = metrics,
             compilationMode = compilationMode,
             startupMode = StartupMode.COLD,
             iterations = 10,
@@ -69,4 +156,37 @@ class StartupBenchmarks {
             }
         )
     }
+
+    private fun benchmarkStartupToTimeline(compilationMode: CompilationMode) {
+        rule.measureRepeated(
+            packageName = PACKAGE_NAME,
+            metrics = listOf(StartupTimingMetric(), FrameTimingMetric()),
+            compilationMode = compilationMode,
+            startupMode = StartupMode.COLD,
+            iterations = 10,
+            setupBlock = {
+                pressHome()
+            },
+            measureBlock = {
+                startActivityAndWait()
+
+                device.findObject(By.res(PACKAGE_NAME, PHOTOS_NAVIGATION_ITEM))?.click()
+                device.wait(Until.hasObject(By.res(TIMELINE_PHOTOS_GRID)), TIMELINE_TIMEOUT_MS)
+            }
+        )
+    }
+
+    companion object {
+        private const val PACKAGE_NAME = "mega.privacy.android.app"
+        private const val PHOTOS_NAVIGATION_ITEM = "bottom_navigation_item_camera_uploads"
+        private const val TIMELINE_PHOTOS_GRID = "timeline_photos:grid"
+        private const val TIMELINE_TIMEOUT_MS = 10_000L
+        private const val APP_START_TIMEOUT_MS = 10_000L
+        private const val APP_START_TASKS_WAIT_MS = 5_000L
+
+        // Startup trace sections of RunAppStartTasksUseCase
+        private const val APP_START_TASKS_SECTION = "AppStartTasks"
+        private const val APP_START_TASK_SECTION_PREFIX = "AppStartTask:"
+        private const val STOP_SYNC_WORKER_TASK = "StopSyncWorkerTask"
+    }
 }
\ No newline at end of file
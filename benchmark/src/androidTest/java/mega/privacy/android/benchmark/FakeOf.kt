@@ -0,0 +1,29 @@
+package mega.privacy.android.benchmark
+
+import java.lang.reflect.Proxy
+
+/**
+ * Create a fake implementation of the interface [T], in which only the given methods are answered
+ *
+ * Calling any other method throws an [UnsupportedOperationException]. Suspend functions can be
+ * answered directly, as their result is returned without suspending.
+ *
+ * @param answers the answers of the implemented methods, keyed by the JVM method name. Each answer
+ * receives the arguments of the call
+ */
+inline fun <reified T : Any> fakeOf(vararg answers: Pair<String, (Array<out Any?>) -> Any?>): T {
+    val answerMap = answers.toMap()
+    return Proxy.newProxyInstance(
+        T::class.java.classLoader,
+        arrayOf(T::class.java),
+    ) { proxy, method, args ->
+        when (method.name) {
+            "toString" -> "Fake ${T::class.java.simpleName}"
+            "hashCode" -> System.identityHashCode(proxy)
+            "equals" -> proxy === args?.firstOrNull()
+            else -> answerMap[method.name]?.invoke(args.orEmpty())
+                ?: if (method.name in answerMap) null
+                else throw UnsupportedOperationException("${method.name} is not faked")
+        }
+    } as T
+}
@@ -0,0 +1,142 @@
+package mega.privacy.android.benchmark.camerauploads
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import kotlinx.coroutines.runBlocking
+import mega.privacy.android.benchmark.fakeOf
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.MediaStoreFileType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordIndex
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import mega.privacy.android.domain.repository.EnvironmentRepository
+import mega.privacy.android.domain.repository.NodeRepository
+import mega.privacy.android.domain.usecase.GetDeviceCurrentNanoTimeUseCase
+import mega.privacy.android.domain.usecase.GetDeviceCurrentTimeUseCase
+import mega.privacy.android.domain.usecase.camerauploads.RetrieveMediaFromMediaStoreUseCase
+import mega.privacy.android.domain.usecase.camerauploads.mapper.CameraUploadsRecordMapper
+import mega.privacy.android.domain.usecase.file.GetFingerprintUseCase
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+ * Benchmark comparing a full scan of the media store with an incremental scan, as performed by
+ * [RetrieveMediaFromMediaStoreUseCase] on every Camera Uploads run
+ *
+ * The media store is faked: a full scan returns every media, while an incremental scan only
+ * returns the media newer than the scan cursor, as the incremental selection query would. The
+ * measurements include building the [CameraUploadsRecordIndex] of the records saved in the database.
+ *
+ * Run it with:
+ * ```
+ * ./gradlew :benchmark:connectedAndroidTest
+ * ```
+ *
+ * @property recordCount the number of records already saved in the database
+ */
+@RunWith(Parameterized::class)
+class CameraUploadsMediaScanBenchmark(private val recordCount: Int) {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val existingMedia = (0 until recordCount).map { createMedia(it) }
+    private val newMedia = (recordCount until recordCount + NEW_MEDIA_COUNT).map { createMedia(it) }
+    private val records = existingMedia.map { it.toRecord() }
+    private val scanCursor = existingMedia.maxOfOrNull { it.timestamp }
+
+    private val cameraUploadsRecordMapper = CameraUploadsRecordMapper(
+        getFingerprintUseCase = GetFingerprintUseCase(
+            fakeOf<NodeRepository>("getFingerprint" to { args -> args.first() })
+        ),
+        getDeviceCurrentNanoTimeUseCase = GetDeviceCurrentNanoTimeUseCase(
+            fakeOf<EnvironmentRepository>("getNanoTime" to { System.nanoTime() })
+        ),
+    )
+
+    /**
+     * Scan of the whole media store, matching every media against the saved records
+     */
+    @Test
+    fun fullScan() = benchmarkScan(scanCursor = null)
+
+    /**
+     * Scan of the media added or modified since the previous scan
+     */
+    @Test
+    fun incrementalScan() = benchmarkScan(scanCursor = scanCursor)
+
+    private fun benchmarkScan(scanCursor: Long?) {
+        val underTest = RetrieveMediaFromMediaStoreUseCase(
+            cameraUploadsRepository = createCameraUploadsRepository(scanCursor),
+            cameraUploadsRecordMapper = cameraUploadsRecordMapper,
+            getDeviceCurrentTimeUseCase = GetDeviceCurrentTimeUseCase(
+                fakeOf<EnvironmentRepository>("getNow" to { System.currentTimeMillis() })
+            ),
+        )
+        benchmarkRule.measureRepeated {
+            val result = runBlocking {
+                underTest(
+                    parentPath = PARENT_PATH,
+                    types = listOf(MediaStoreFileType.IMAGES_EXTERNAL),
+                    folderType = CameraUploadFolderType.Primary,
+                    fileType = CameraUploadsRecordType.TYPE_PHOTO,
+                    tempRoot = TEMP_ROOT,
+                    recordIndex = CameraUploadsRecordIndex(records),
+                )
+            }
+            check(result.records.size == NEW_MEDIA_COUNT)
+        }
+    }
+
+    private fun createCameraUploadsRepository(scanCursor: Long?) =
+        fakeOf<CameraUploadsRepository>(
+            "getMediaStoreScanCursor" to { scanCursor },
+            "getMediaSelectionQuery" to { FULL_SELECTION_QUERY },
+            "getIncrementalMediaSelectionQuery" to { INCREMENTAL_SELECTION_QUERY },
+            "getMediaList" to { args ->
+                if (args[1] == INCREMENTAL_SELECTION_QUERY) newMedia else existingMedia + newMedia
+            },
+        )
+
+    private fun createMedia(index: Int) = CameraUploadsMedia(
+        mediaId = index.toLong(),
+        displayName = "IMG_$index.jpg",
+        filePath = "$PARENT_PATH/IMG_$index.jpg",
+        timestamp = BASE_TIMESTAMP + index * 1000L,
+    )
+
+    private fun CameraUploadsMedia.toRecord() = CameraUploadsRecord(
+        mediaId = mediaId,
+        fileName = displayName,
+        filePath = filePath,
+        timestamp = timestamp,
+        folderType = CameraUploadFolderType.Primary,
+        type = CameraUploadsRecordType.TYPE_PHOTO,
+        uploadStatus = CameraUploadsRecordUploadStatus.UPLOADED,
+        originalFingerprint = filePath,
+        generatedFingerprint = null,
+        tempFilePath = "$TEMP_ROOT$mediaId.jpg",
+    )
+
+    companion object {
+        private const val NEW_MEDIA_COUNT = 100
+        private const val BASE_TIMESTAMP = 1_600_000_000_000L
+        private const val PARENT_PATH = "/storage/emulated/0/DCIM/Camera"
+        private const val TEMP_ROOT = "/data/cache/cu/"
+        private const val FULL_SELECTION_QUERY = "fullSelectionQuery"
+        private const val INCREMENTAL_SELECTION_QUERY = "incrementalSelectionQuery"
+
+        /**
+         * The number of records saved in the database
+         */
+        @JvmStatic
+        @Parameterized.Parameters(name = "records={0}")
+        fun parameters() = listOf(1_000, 10_000, 100_000)
+    }
+}
@@ -0,0 +1,145 @@
+package mega.privacy.android.benchmark.nodes
+
+import android.webkit.MimeTypeMap
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.runBlocking
+import mega.privacy.android.data.mapper.ChunkedMapper
+import mega.privacy.android.data.mapper.FileTypeInfoMapper
+import mega.privacy.android.domain.entity.FileTypeInfo
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Benchmark of the mapping of the children of a folder, comparing one coroutine per child with
+ * the batched mapping of [ChunkedMapper].
+ *
+ * Each child is mapped like a file node: its cache paths are built from the cache folders and its
+ * type is resolved from its extension. The one coroutine per child mapping resolves both for every
+ * child, the batched mapping resolves them once per list.
+ *
+ * Run it with:
+ * ```
+ * ./gradlew :benchmark:connectedAndroidTest
+ * ```
+ *
+ * @property childCount the number of children of the folder
+ */
+@RunWith(Parameterized::class)
+class NodeMappingBenchmark(private val childCount: Int) {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val children = List(childCount) { index ->
+        Child(
+            handle = FIRST_HANDLE + index,
+            name = "file_$index.${EXTENSIONS[index % EXTENSIONS.size]}",
+        )
+    }
+
+    private val fileTypeInfoMapper = FileTypeInfoMapper { extension ->
+        MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension.lowercase())
+            ?: "application/octet-stream"
+    }
+
+    private val cacheDir = File(System.getProperty("java.io.tmpdir") ?: "/data/local/tmp")
+
+    /**
+     * Total mapping time, one coroutine per child
+     */
+    @Test
+    fun asyncPerChildTotal() {
+        benchmarkRule.measureRepeated {
+            val mapped = runBlocking(Dispatchers.IO) {
+                coroutineScope {
+                    children.map { child ->
+                        async {
+                            child.map(thumbnailFolder(), fileTypeInfoMapper(child.name))
+                        }
+                    }.awaitAll()
+                }
+            }
+            check(mapped.size == childCount)
+        }
+    }
+
+    /**
+     * Total mapping time, in batches
+     */
+    @Test
+    fun batchedTotal() {
+        val chunkedMapper = ChunkedMapper(Dispatchers.IO)
+        benchmarkRule.measureRepeated {
+            val mapped = runBlocking(Dispatchers.IO) {
+                val thumbnailFolder = thumbnailFolder()
+                val mimeTypes = ConcurrentHashMap<String, String>()
+                chunkedMapper.mapAll(children) { child ->
+                    child.map(thumbnailFolder, fileTypeInfoMapper(child.name, 0, mimeTypes))
+                }
+            }
+            check(mapped.size == childCount)
+        }
+    }
+
+    /**
+     * Time until the first page of children is mapped, in batches
+     */
+    @Test
+    fun batchedFirstPage() {
+        val chunkedMapper = ChunkedMapper(Dispatchers.IO)
+        benchmarkRule.measureRepeated {
+            val firstPage = runBlocking(Dispatchers.IO) {
+                val thumbnailFolder = thumbnailFolder()
+                val mimeTypes = ConcurrentHashMap<String, String>()
+                chunkedMapper.mapInBatches(children) { child ->
+                    child.map(thumbnailFolder, fileTypeInfoMapper(child.name, 0, mimeTypes))
+                }.first()
+            }
+            check(firstPage.size == minOf(childCount, ChunkedMapper.DEFAULT_BATCH_SIZE))
+        }
+    }
+
+    /**
+     * Resolves the thumbnail cache folder, as the cache gateway does
+     */
+    private fun thumbnailFolder() = File(cacheDir, THUMBNAIL_FOLDER).apply { mkdirs() }
+
+    private data class Child(val handle: Long, val name: String)
+
+    private data class MappedChild(
+        val handle: Long,
+        val name: String,
+        val thumbnailPath: String,
+        val type: FileTypeInfo,
+    )
+
+    private fun Child.map(thumbnailFolder: File, type: FileTypeInfo) = MappedChild(
+        handle = handle,
+        name = name,
+        thumbnailPath = "$thumbnailFolder${File.separator}$handle.jpg",
+        type = type,
+    )
+
+    companion object {
+        private const val FIRST_HANDLE = 1_000_000L
+        private const val THUMBNAIL_FOLDER = "thumbnailsMEGA"
+        private val EXTENSIONS = listOf("jpg", "png", "mp4", "pdf", "txt", "zip", "mp3", "docx")
+
+        /**
+         * The number of children of the folder
+         */
+        @JvmStatic
+        @Parameterized.Parameters(name = "children={0}")
+        fun parameters() = listOf(1_000, 10_000, 50_000)
+    }
+}
@@ -0,0 +1,240 @@
+package mega.privacy.android.benchmark.photos
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.VideoFileTypeInfo
+import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.TimelinePhotoBuckets
+import mega.privacy.android.domain.entity.photos.TimelinePhotoFilter
+import mega.privacy.android.domain.entity.photos.groupByMonth
+import mega.privacy.android.domain.entity.photos.groupByYear
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+import java.time.LocalDateTime
+import java.time.YearMonth
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Benchmark of the timeline aggregation, comparing the sort and group of all the photos with the
+ * day buckets of [TimelinePhotoBuckets].
+ *
+ * The sort and group aggregation filters, sorts and groups all the photos by day, month and year
+ * every time something changes, as the timeline did before the buckets. The buckets aggregation
+ * moves only the changed photo and reads the days, months and years from the buckets.
+ *
+ * Run it with:
+ * ```
+ * ./gradlew :benchmark:connectedAndroidTest
+ * ```
+ *
+ * @property photoCount the number of photos of the timeline
+ */
+@RunWith(Parameterized::class)
+class TimelineAggregationBenchmark(private val photoCount: Int) {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val now = LocalDateTime.of(2024, 1, 1, 12, 0)
+
+    private val photos = List(photoCount) { index -> createPhoto(index.toLong()) }
+
+    private val cameraUploadPhotoIds =
+        photos.filter { it.parentId == CAMERA_UPLOADS_FOLDER_ID }.mapTo(HashSet()) { it.id }
+
+    private val comparator =
+        compareByDescending<Photo> { it.modificationTime }.thenByDescending { it.id }
+
+    /**
+     * Full aggregation time, sorting and grouping all the photos
+     */
+    @Test
+    fun sortAndGroupFullBuild() {
+        benchmarkRule.measureRepeated {
+            check(sortAndGroup(photos, ALL_PHOTOS).photos.size == photoCount)
+        }
+    }
+
+    /**
+     * Full aggregation time, filling the buckets
+     */
+    @Test
+    fun bucketsFullBuild() {
+        benchmarkRule.measureRepeated {
+            val buckets = TimelinePhotoBuckets()
+            buckets.setPhotos(photos, cameraUploadPhotoIds)
+            check(buckets.aggregate(ALL_PHOTOS).photos.size == photoCount)
+        }
+    }
+
+    /**
+     * Aggregation time after a photo is updated, sorting and grouping all the photos again
+     */
+    @Test
+    fun sortAndGroupSinglePhotoUpdate() {
+        val updatedPhotos = photos.toMutableList()
+        var version = 0L
+        benchmarkRule.measureRepeated {
+            val index = (version++ % photoCount).toInt()
+            updatedPhotos[index] = updatedPhotos[index].moved(version)
+            check(sortAndGroup(updatedPhotos, ALL_PHOTOS).photos.size == photoCount)
+        }
+    }
+
+    /**
+     * Aggregation time after a photo is updated, moving only that photo in the buckets
+     */
+    @Test
+    fun bucketsSinglePhotoUpdate() {
+        val buckets = TimelinePhotoBuckets().apply { setPhotos(photos, cameraUploadPhotoIds) }
+        val updatedPhotos = photos.toMutableList()
+        var version = 0L
+        benchmarkRule.measureRepeated {
+            val index = (version++ % photoCount).toInt()
+            val photo = updatedPhotos[index].moved(version)
+            updatedPhotos[index] = photo
+            buckets.put(photo, photo.id in cameraUploadPhotoIds)
+            check(buckets.aggregate(ALL_PHOTOS).photos.size == photoCount)
+        }
+    }
+
+    /**
+     * Aggregation time after the filter changes, filtering, sorting and grouping all the photos
+     */
+    @Test
+    fun sortAndGroupFilterChange() {
+        var version = 0
+        benchmarkRule.measureRepeated {
+            val filter = FILTERS[version++ % FILTERS.size]
+            check(sortAndGroup(photos, filter).photos.size <= photoCount)
+        }
+    }
+
+    /**
+     * Aggregation time after the filter changes, reading only the buckets selected by the filter
+     */
+    @Test
+    fun bucketsFilterChange() {
+        val buckets = TimelinePhotoBuckets().apply { setPhotos(photos, cameraUploadPhotoIds) }
+        var version = 0
+        benchmarkRule.measureRepeated {
+            val filter = FILTERS[version++ % FILTERS.size]
+            check(buckets.aggregate(filter).photos.size <= photoCount)
+        }
+    }
+
+    private class Aggregation(
+        val photos: List<Photo>,
+        val dayCount: Int,
+        val monthCount: Int,
+        val yearCount: Int,
+    )
+
+    /**
+     * Aggregates the photos as the timeline did before the buckets
+     */
+    private fun sortAndGroup(photos: List<Photo>, filter: TimelinePhotoFilter): Aggregation {
+        val sortedPhotos = photos.filter { it.matches(filter) }.sortedWith(comparator)
+        val dayPhotos = sortedPhotos
+            .groupBy { it.modificationTime.toLocalDate().toEpochDay() }
+            .map { (_, dayPhotos) -> dayPhotos.first() to dayPhotos.size }
+            .toMap()
+        return Aggregation(
+            photos = sortedPhotos,
+            dayCount = dayPhotos.size,
+            monthCount = dayPhotos.keys.distinctBy { YearMonth.from(it.modificationTime) }.size,
+            yearCount = dayPhotos.keys.distinctBy { it.modificationTime.year }.size,
+        )
+    }
+
+    private fun TimelinePhotoBuckets.aggregate(filter: TimelinePhotoFilter): Aggregation {
+        val days = getDays(filter)
+        return Aggregation(
+            photos = getPhotos(filter),
+            dayCount = days.size,
+            monthCount = days.groupByMonth().size,
+            yearCount = days.groupByYear().size,
+        )
+    }
+
+    private fun Photo.matches(filter: TimelinePhotoFilter) =
+        (if (this is Photo.Video) filter.includeVideos else filter.includeImages) &&
+                (if (id in cameraUploadPhotoIds) filter.includeCameraUploads else filter.includeCloudDrive) &&
+                (!isSensitive && !isSensitiveInherited || filter.includeSensitive)
+
+    /**
+     * Creates a photo every few hours back in time, one in ten is a video and one in three is in
+     * the camera uploads folder
+     */
+    private fun createPhoto(id: Long): Photo {
+        val modificationTime = now.minusHours(id * HOURS_BETWEEN_PHOTOS)
+        val parentId = if (id % 3 == 0L) CAMERA_UPLOADS_FOLDER_ID else CLOUD_DRIVE_FOLDER_ID
+        return if (id % 10 == 0L) {
+            Photo.Video(
+                id = id,
+                parentId = parentId,
+                name = "video_$id.mp4",
+                isFavourite = false,
+                creationTime = modificationTime,
+                modificationTime = modificationTime,
+                thumbnailFilePath = null,
+                previewFilePath = null,
+                fileTypeInfo = VideoFileTypeInfo(
+                    mimeType = "video/mp4",
+                    extension = "mp4",
+                    duration = 10.seconds,
+                ),
+                isSensitive = id % 50 == 0L,
+            )
+        } else {
+            Photo.Image(
+                id = id,
+                parentId = parentId,
+                name = "image_$id.jpg",
+                isFavourite = false,
+                creationTime = modificationTime,
+                modificationTime = modificationTime,
+                thumbnailFilePath = null,
+                previewFilePath = null,
+                fileTypeInfo = StaticImageFileTypeInfo(mimeType = "image/jpeg", extension = "jpg"),
+                isSensitive = id % 50 == 0L,
+            )
+        }
+    }
+
+    /**
+     * Moves the photo to another day, as an edit of the photo would
+     */
+    private fun Photo.moved(version: Long): Photo {
+        val modificationTime = now.minusDays(version % MAX_DAYS_BACK)
+        return when (this) {
+            is Photo.Image -> copy(modificationTime = modificationTime)
+            is Photo.Video -> copy(modificationTime = modificationTime)
+        }
+    }
+
+    companion object {
+        private const val CAMERA_UPLOADS_FOLDER_ID = 1L
+        private const val CLOUD_DRIVE_FOLDER_ID = 2L
+        private const val HOURS_BETWEEN_PHOTOS = 3L
+        private const val MAX_DAYS_BACK = 3650L
+
+        private val ALL_PHOTOS = TimelinePhotoFilter()
+        private val FILTERS = listOf(
+            TimelinePhotoFilter(includeVideos = false),
+            TimelinePhotoFilter(includeCloudDrive = false),
+            TimelinePhotoFilter(includeImages = false, includeCameraUploads = false),
+            ALL_PHOTOS,
+        )
+
+        /**
+         * The number of photos of the timeline
+         */
+        @JvmStatic
+        @Parameterized.Parameters(name = "photos={0}")
+        fun parameters() = listOf(10_000, 100_000)
+    }
+}
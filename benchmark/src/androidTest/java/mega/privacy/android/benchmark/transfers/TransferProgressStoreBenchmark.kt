@@ -0,0 +1,78 @@
+package mega.privacy.android.benchmark.transfers
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.update
+import mega.privacy.android.data.cache.TransferProgressStore
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+ * Benchmark of the in memory progress of the transfers in progress, comparing [TransferProgressStore]
+ * with a state flow of an immutable map copied on every progress event.
+ *
+ * Each measured iteration delivers one progress event for every transfer in progress, followed by
+ * a single snapshot, as read by the consumers of the progress.
+ *
+ * Run it with:
+ * ```
+ * ./gradlew :benchmark:connectedAndroidTest
+ * ```
+ *
+ * @property transferCount the number of transfers in progress
+ */
+@RunWith(Parameterized::class)
+class TransferProgressStoreBenchmark(private val transferCount: Int) {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val tags = IntArray(transferCount) { FIRST_TAG + it }
+
+    /**
+     * Progress kept in a state flow, copying the whole map on every progress event
+     */
+    @Test
+    fun mapCopyPerEvent() {
+        val progress = MutableStateFlow<Map<Int, Long>>(emptyMap())
+        var transferredBytes = 0L
+        benchmarkRule.measureRepeated {
+            transferredBytes += BYTES_PER_EVENT
+            tags.forEach { tag ->
+                progress.update { it + (tag to transferredBytes) }
+            }
+            check(progress.value.size == transferCount)
+        }
+    }
+
+    /**
+     * Progress kept in a [TransferProgressStore], updating the slot of the transfer in place
+     */
+    @Test
+    fun progressStore() {
+        val progress = TransferProgressStore<Long>()
+        var transferredBytes = 0L
+        benchmarkRule.measureRepeated {
+            transferredBytes += BYTES_PER_EVENT
+            tags.forEach { tag ->
+                progress.put(tag, transferredBytes)
+            }
+            check(progress.snapshot().size == transferCount)
+        }
+    }
+
+    companion object {
+        private const val FIRST_TAG = 1_000
+        private const val BYTES_PER_EVENT = 64 * 1024L
+
+        /**
+         * The number of transfers in progress
+         */
+        @JvmStatic
+        @Parameterized.Parameters(name = "transfers={0}")
+        fun parameters() = listOf(10, 100, 1_000)
+    }
+}
@@ -0,0 +1,167 @@
+package mega.privacy.android.benchmark.zipbrowser
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.platform.app.InstrumentationRegistry
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
+import mega.privacy.android.data.mapper.zipbrowser.ZipTreeNodeMapper
+import mega.privacy.android.data.repository.ZipBrowserRepositoryImpl
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+import java.io.ByteArrayOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
+import kotlin.random.Random
+
+/**
+ * Benchmark of the extraction throughput of a zip file, comparing the sequential copy through a
+ * 1 KB buffer, as the zip browser did before, with the parallel extraction of
+ * [ZipBrowserRepositoryImpl].
+ *
+ * The zip file is created once per size in the cache folder, with files of a few MB in several
+ * folders, as a project archive would have. Each measured iteration extracts the whole zip file
+ * into an empty folder.
+ *
+ * Run it with:
+ * ```
+ * ./gradlew :benchmark:connectedAndroidTest
+ * ```
+ *
+ * @property sizeInMegabytes the uncompressed size of the zip file
+ */
+@RunWith(Parameterized::class)
+class ZipExtractionBenchmark(private val sizeInMegabytes: Int) {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val cacheDir = InstrumentationRegistry.getInstrumentation().targetContext.cacheDir
+
+    private val zipFile = File(cacheDir, "zipExtractionBenchmark_$sizeInMegabytes.zip")
+
+    private val unzipRoot = File(cacheDir, "zipExtractionBenchmark_$sizeInMegabytes")
+
+    private val unzipRootPath = unzipRoot.canonicalPath + File.separator
+
+    private val zipBrowserRepository = ZipBrowserRepositoryImpl(
+        zipTreeNodeMapper = ZipTreeNodeMapper(),
+        ioDispatcher = Dispatchers.IO,
+    )
+
+    /**
+     * Creates the zip file, if it was not created by a previous benchmark
+     */
+    @Before
+    fun setUp() {
+        if (!zipFile.exists()) createZipFile()
+    }
+
+    /**
+     * Deletes the extracted files, keeping the zip file for the next benchmark
+     */
+    @After
+    fun tearDown() {
+        unzipRoot.deleteRecursively()
+    }
+
+    /**
+     * Extraction time copying every entry through a 1 KB buffer and a byte array stream
+     */
+    @Test
+    fun sequentialCopy() {
+        ZipFile(zipFile).use { zip ->
+            benchmarkRule.measureRepeated {
+                runWithTimingDisabled { unzipRoot.deleteRecursively() }
+                sequentialCopy(zip)
+                check(File(unzipRoot, lastFilePath()).exists())
+            }
+        }
+    }
+
+    /**
+     * Extraction time of [ZipBrowserRepositoryImpl], extracting the files in parallel
+     */
+    @Test
+    fun parallelExtraction() {
+        ZipFile(zipFile).use { zip ->
+            benchmarkRule.measureRepeated {
+                runWithTimingDisabled { unzipRoot.deleteRecursively() }
+                check(runBlocking { zipBrowserRepository.unzipFile(zip, unzipRootPath) })
+                check(File(unzipRoot, lastFilePath()).exists())
+            }
+        }
+    }
+
+    /**
+     * Extracts the zip file as the zip browser did before the parallel extraction
+     */
+    private fun sequentialCopy(zip: ZipFile) {
+        zip.entries().toList().forEach { zipEntry ->
+            val zipDestination = File(unzipRootPath + zipEntry.name)
+            if (zipEntry.isDirectory) {
+                zipDestination.mkdirs()
+            } else {
+                zipDestination.parentFile?.mkdirs()
+                zip.getInputStream(zipEntry).use { inputStream ->
+                    val byteArrayOutputStream = ByteArrayOutputStream()
+                    val buffer = ByteArray(1024)
+                    var count: Int
+                    FileOutputStream(zipDestination).use { outputStream ->
+                        while (inputStream.read(buffer).also { count = it } != -1) {
+                            byteArrayOutputStream.write(buffer, 0, count)
+                            outputStream.write(byteArrayOutputStream.toByteArray())
+                            byteArrayOutputStream.reset()
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates files of [FILE_SIZE_IN_MEGABYTES] in [FOLDER_COUNT] folders. Half of every file is
+     * random and the other half repeats it, so the files compress as usual documents do.
+     */
+    private fun createZipFile() {
+        val random = Random(sizeInMegabytes)
+        val half = ByteArray(BYTES_PER_MEGABYTE / 2)
+        ZipOutputStream(FileOutputStream(zipFile).buffered()).use { outputStream ->
+            repeat(fileCount()) { index ->
+                outputStream.putNextEntry(ZipEntry(filePath(index)))
+                repeat(FILE_SIZE_IN_MEGABYTES) {
+                    random.nextBytes(half)
+                    outputStream.write(half)
+                    outputStream.write(half)
+                }
+                outputStream.closeEntry()
+            }
+        }
+    }
+
+    private fun fileCount() = sizeInMegabytes / FILE_SIZE_IN_MEGABYTES
+
+    private fun filePath(index: Int) = "folder${index % FOLDER_COUNT}/file$index.bin"
+
+    private fun lastFilePath() = filePath(fileCount() - 1)
+
+    companion object {
+        private const val BYTES_PER_MEGABYTE = 1024 * 1024
+        private const val FILE_SIZE_IN_MEGABYTES = 4
+        private const val FOLDER_COUNT = 8
+
+        /**
+         * The uncompressed size of the zip file, in MB
+         */
+        @JvmStatic
+        @Parameterized.Parameters(name = "sizeInMegabytes={0}")
+        fun parameters() = listOf(100, 1_024)
+    }
+}
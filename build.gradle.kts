@@ -34,6 +34,7 @@ buildscript {
         classpath(plugin.kotlin.gradle)
         classpath(lib.kotlin.serialisation)
         classpath("androidx.benchmark:benchmark-baseline-profile-gradle-plugin:1.2.4")
+        classpath("androidx.benchmark:benchmark-gradle-plugin:1.2.4")
         classpath("org.jfrog.buildinfo:build-info-extractor-gradle:${plugin.versions.jfrog.artifactory.get()}")
     }
 }
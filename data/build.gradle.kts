@@ -47,6 +47,7 @@ dependencies {
 
     implementation(lib.coroutines.core)
     implementation(lib.kotlin.serialisation)
+    implementation(lib.kotlinx.collections.immutable)
     implementation(google.gson)
     implementation(google.zxing)
     implementation(androidx.java.core)
@@ -25,6 +25,29 @@ class SecureEncryptDecryptDataTest {
         }
     }
 
+    @Test
+    fun `test_that_batch_encrypt_and_decrypt_are_matching`() = runTest {
+        val aesKey = provideAesKey()
+        val data = List(100) { UUID.randomUUID().toString() } + listOf(null, "true", "false", "3")
+        val encryptData = EncryptData(aesKey)
+        val decryptData = DecryptData(aesKey)
+        val encryptedData = encryptData.encryptAll(data)
+        Truth.assertThat(encryptedData).isEqualTo(data.map { encryptData(it) })
+        Truth.assertThat(decryptData.decryptAll(encryptedData)).isEqualTo(data)
+    }
+
+    @Test
+    fun `test_that_memoized_values_are_encrypted_as_the_first_time`() = runTest {
+        val aesKey = provideAesKey()
+        val encryptData = EncryptData(aesKey)
+        val decryptData = DecryptData(aesKey)
+        val encryptedTrue = encryptData("true")
+        repeat(10) {
+            Truth.assertThat(encryptData("true")).isEqualTo(encryptedTrue)
+        }
+        Truth.assertThat(decryptData(encryptedTrue)).isEqualTo("true")
+    }
+
     private fun provideAesKey(): ByteArray {
         val key = Settings.Secure.ANDROID_ID + "fkvn8 w4y*(NC\$G*(G($*GR*(#)*huio4h389\$G"
         return key.toByteArray().copyOfRange(0, 32)
@@ -0,0 +1,105 @@
+package mega.privacy.android.data.database.dao
+
+import android.content.Context
+import androidx.paging.PagingSource
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.chat.ChatDatabase
+import mega.privacy.android.data.database.entity.chat.ChatMessageSearchEntity
+import mega.privacy.android.data.mapper.chat.ChatMessageSearchQueryMapper
+import mega.privacy.android.domain.entity.chat.messages.search.ChatMessageSearchResult
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.IOException
+
+@RunWith(AndroidJUnit4::class)
+class ChatMessageSearchDaoTest {
+    private lateinit var chatMessageSearchDao: ChatMessageSearchDao
+    private lateinit var db: ChatDatabase
+    private val queryMapper = ChatMessageSearchQueryMapper()
+
+    @Before
+    fun createDb() {
+        val context = ApplicationProvider.getApplicationContext<Context>()
+        db = Room.inMemoryDatabaseBuilder(
+            context, ChatDatabase::class.java
+        ).build()
+        chatMessageSearchDao = db.chatMessageSearchDao()
+    }
+
+    @After
+    @Throws(IOException::class)
+    fun closeDb() {
+        db.close()
+    }
+
+    @Test
+    fun `test_that_a_word_is_matched_by_its_prefix`() = runTest {
+        insertMessages("the shared link", "a blink", "nothing")
+
+        assertThat(search("lin").map { it.messageId }).containsExactly(1L)
+    }
+
+    @Test
+    fun `test_that_all_the_words_need_to_match`() = runTest {
+        insertMessages("the shared link", "a shared folder")
+
+        assertThat(search("shar lin").map { it.messageId }).containsExactly(1L)
+    }
+
+    @Test
+    fun `test_that_query_syntax_is_searched_as_text`() = runTest {
+        insertMessages("this OR that", "this one", "that one")
+
+        assertThat(search("this OR that").map { it.messageId }).containsExactly(1L)
+        assertThat(search("\"this\" -that").map { it.messageId }).containsExactly(1L)
+    }
+
+    @Test
+    fun `test_that_results_are_filtered_by_chat`() = runTest {
+        insertMessages("link", "link")
+
+        val actual = chatMessageSearchDao.load(queryMapper("link"), chatId = 2L)
+
+        assertThat(actual.map { it.messageId }).containsExactly(2L)
+    }
+
+    @Test
+    fun `test_that_the_matches_are_marked_in_the_snippet`() = runTest {
+        insertMessages("the shared link")
+
+        assertThat(search("link").single().snippet).isEqualTo(
+            "the shared ${ChatMessageSearchResult.MATCH_START}link${ChatMessageSearchResult.MATCH_END}"
+        )
+    }
+
+    private suspend fun insertMessages(vararg texts: String) {
+        chatMessageSearchDao.insertAll(
+            texts.mapIndexed { index, text ->
+                ChatMessageSearchEntity(
+                    messageId = index + 1L,
+                    chatId = index + 1L,
+                    timestamp = index + 1L,
+                    text = text,
+                )
+            }
+        )
+    }
+
+    private suspend fun search(text: String) =
+        chatMessageSearchDao.load(queryMapper(text), chatId = null)
+
+    private suspend fun ChatMessageSearchDao.load(query: String, chatId: Long?) =
+        (search(query, chatId).load(
+            PagingSource.LoadParams.Refresh(
+                key = null,
+                loadSize = 20,
+                placeholdersEnabled = false,
+            )
+        ) as PagingSource.LoadResult.Page).data
+}
@@ -114,6 +114,59 @@ class MegaDatabaseMigrationTest {
         }
     }
 
+    @Test
+    @Throws(IOException::class)
+    fun migrate93To94() {
+        helper.createDatabase(testDatabaseName, 93).apply {
+            execSQL(
+                """
+                INSERT INTO offline (
+                    handle,
+                    path,
+                    name,
+                    parentId,
+                    type,
+                    incoming,
+                    incomingHandle,
+                    lastModifiedTime
+                ) VALUES (
+                    'handle',
+                    '/path',
+                    'name',
+                    -1,
+                    'file',
+                    0,
+                    NULL,
+                    0
+                );
+            """.trimIndent()
+            )
+            close()
+        }
+
+        val db =
+            helper.runMigrationsAndValidate(testDatabaseName, 94, true, *MegaDatabase.MIGRATIONS)
+        db.query("SELECT * FROM offline WHERE handle = 'handle'").use {
+            assert(it.count == 1)
+        }
+        db.query("SELECT * FROM offline_name_index").use {
+            assert(it.count == 0)
+        }
+    }
+
+    @Test
+    @Throws(IOException::class)
+    fun migrate94To95() {
+        helper.createDatabase(testDatabaseName, 94).apply {
+            close()
+        }
+        val db =
+            helper.runMigrationsAndValidate(testDatabaseName, 95, true, *MegaDatabase.MIGRATIONS)
+        db.query("SELECT * FROM timeline_photos").use {
+            assert(it.count == 0)
+        }
+    }
+
     companion object {
         const val TABLE_COMPLETED_TRANSFERS = "completedtransfers"
         const val KEY_TRANSFER_FILENAME = "transferfilename"
@@ -0,0 +1,255 @@
+package mega.privacy.android.data.cache
+
+import timber.log.Timber
+import java.io.File
+
+/**
+ * Size bounded index of the files of a cache folder, evicting the least recently accessed files
+ *
+ * The size and access order of the files are kept in memory and persisted in a journal file in the
+ * same folder, so they can be restored on startup. The folder is listed once when the index is
+ * loaded: without a journal the index is built from it, and with a journal the files written by
+ * someone else are adopted as the least recently accessed ones and the files deleted by someone
+ * else are dropped. Reads never check the folder again, writes check if the folder was cleared.
+ *
+ * Every write is appended to the journal as a line:
+ * - `A <name> <size>`: a file was added or updated
+ * - `R <name>`: a file was read, these lines are buffered and appended with the next write
+ * - `D <name>`: a file was deleted
+ *
+ * The journal is compacted once it has grown well beyond the number of files.
+ *
+ * The index does IO, so it needs to be used on a background thread.
+ *
+ * @param directory the cache folder
+ * @param maxBytes the maximum total size of the files, least recently accessed files are deleted
+ * to stay below it
+ */
+internal class DiskLruIndex(
+    private val directory: File,
+    private val maxBytes: Long,
+) {
+    /**
+     * Size of the files by name, in access order
+     */
+    private val entries = LinkedHashMap<String, Long>(0, 0.75f, true)
+
+    private val pendingReads = mutableListOf<String>()
+
+    private val journalFile = File(directory, JOURNAL_FILE_NAME)
+
+    private var totalBytes = 0L
+
+    private var journalLineCount = 0
+
+    private var isLoaded = false
+
+    /**
+     * Records that a file was read, adding it to the index if it was written by someone else
+     *
+     * @param name the file name
+     */
+    @Synchronized
+    fun onRead(name: String) {
+        ensureLoaded()
+        if (entries[name] == null) {
+            add(name)
+        } else {
+            pendingReads.add(name)
+            if (pendingReads.size >= MAX_PENDING_READS) appendToJournal(emptyList())
+        }
+    }
+
+    /**
+     * Records that a file was written, deleting the least recently accessed files if the folder
+     * goes above the maximum size
+     *
+     * @param name the file name
+     */
+    @Synchronized
+    fun onWrite(name: String) {
+        // The folder is cleared without going through the index, so a write reloads it if so
+        if (isLoaded && !journalFile.exists()) isLoaded = false
+        ensureLoaded()
+        add(name)
+    }
+
+    /**
+     * Records that a file was deleted
+     *
+     * @param name the file name
+     */
+    @Synchronized
+    fun onDelete(name: String) {
+        ensureLoaded()
+        entries.remove(name)?.let {
+            totalBytes -= it
+            appendToJournal(listOf("$DELETE $name"))
+        }
+    }
+
+    /**
+     * Total size of the indexed files
+     */
+    @Synchronized
+    fun size(): Long {
+        ensureLoaded()
+        return totalBytes
+    }
+
+    private fun add(name: String) {
+        val size = File(directory, name).takeIf { it.isFile }?.length() ?: return
+        entries.put(name, size)?.let { totalBytes -= it }
+        totalBytes += size
+        appendToJournal(listOf("$ADD $name $size") + trim())
+    }
+
+    /**
+     * @return the journal lines of the evicted files
+     */
+    private fun trim(): List<String> {
+        val evicted = mutableListOf<String>()
+        val iterator = entries.entries.iterator()
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            val (name, size) = iterator.next()
+            iterator.remove()
+            totalBytes -= size
+            File(directory, name).delete()
+            evicted.add("$DELETE $name")
+        }
+        return evicted
+    }
+
+    /**
+     * Loads the index if it is not loaded yet
+     */
+    private fun ensureLoaded() {
+        if (isLoaded) return
+        entries.clear()
+        pendingReads.clear()
+        totalBytes = 0L
+        if (journalFile.exists() && readJournal().isSuccess) {
+            adoptUntrackedFiles()
+        } else {
+            rebuildFromDirectory()
+        }
+        isLoaded = true
+    }
+
+    private fun readJournal() = runCatching {
+        var lineCount = 0
+        journalFile.forEachLine { line ->
+            lineCount++
+            val parts = line.split(' ')
+            when (parts.firstOrNull()) {
+                ADD -> parts.getOrNull(2)?.toLongOrNull()?.let { size ->
+                    entries.put(parts[1], size)?.let { totalBytes -= it }
+                    totalBytes += size
+                }
+
+                READ -> parts.getOrNull(1)?.let { entries[it] }
+                DELETE -> parts.getOrNull(1)?.let { name ->
+                    entries.remove(name)?.let { totalBytes -= it }
+                }
+            }
+        }
+        journalLineCount = lineCount
+    }.onFailure {
+        Timber.e(it, "Unable to read the cache journal of $directory")
+    }
+
+    private fun rebuildFromDirectory() {
+        entries.clear()
+        totalBytes = 0L
+        listCacheFiles().forEach {
+            entries[it.name] = it.length()
+            totalBytes += it.length()
+        }
+        trim()
+        compactJournal()
+    }
+
+    /**
+     * Puts the files missing in the journal before the journal entries, as the least recently
+     * accessed ones, and drops the entries of the files that no longer exist
+     */
+    private fun adoptUntrackedFiles() {
+        val files = listCacheFiles()
+        val fileNames = files.mapTo(HashSet(files.size)) { it.name }
+        val untrackedFiles = files.filter { it.name !in entries }
+        val hasMissingFiles = entries.keys.any { it !in fileNames }
+        if (untrackedFiles.isEmpty() && !hasMissingFiles) return
+
+        val trackedEntries = entries.filterKeys { it in fileNames }
+        entries.clear()
+        totalBytes = 0L
+        untrackedFiles.forEach {
+            entries[it.name] = it.length()
+            totalBytes += it.length()
+        }
+        trackedEntries.forEach { (name, size) ->
+            entries[name] = size
+            totalBytes += size
+        }
+        trim()
+        compactJournal()
+    }
+
+    /**
+     * @return the files of the folder, from the least to the most recently modified
+     */
+    private fun listCacheFiles(): List<File> = directory.listFiles()
+        ?.filter {
+            it.isFile && it.name != JOURNAL_FILE_NAME && it.name != JOURNAL_TEMP_FILE_NAME
+        }
+        ?.sortedBy { it.lastModified() }
+        .orEmpty()
+
+    private fun appendToJournal(lines: List<String>) {
+        val allLines = pendingReads.map { "$READ $it" } + lines
+        pendingReads.clear()
+        if (allLines.isEmpty() || !directory.exists()) return
+        runCatching {
+            journalFile.appendText(allLines.joinToString(separator = "\n", postfix = "\n"))
+            journalLineCount += allLines.size
+        }.onFailure {
+            Timber.e(it, "Unable to write the cache journal of $directory")
+        }
+        if (journalLineCount > COMPACTION_MIN_LINES && journalLineCount > entries.size * 2) {
+            compactJournal()
+        }
+    }
+
+    private fun compactJournal() = runCatching {
+        if (!directory.exists()) return@runCatching
+        val tempFile = File(directory, JOURNAL_TEMP_FILE_NAME)
+        tempFile.bufferedWriter().use { writer ->
+            entries.forEach { (name, size) ->
+                writer.write("$ADD $name $size")
+                writer.newLine()
+            }
+        }
+        if (!tempFile.renameTo(journalFile)) {
+            journalFile.delete()
+            tempFile.renameTo(journalFile)
+        }
+        journalLineCount = entries.size
+    }.onFailure {
+        Timber.e(it, "Unable to compact the cache journal of $directory")
+    }
+
+    companion object {
+        /**
+         * Journal file name, it is not a valid thumbnail or preview file name
+         */
+        const val JOURNAL_FILE_NAME = ".journal"
+        private const val JOURNAL_TEMP_FILE_NAME = ".journal.tmp"
+
+        private const val ADD = "A"
+        private const val READ = "R"
+        private const val DELETE = "D"
+
+        private const val MAX_PENDING_READS = 64
+        private const val COMPACTION_MIN_LINES = 1_000
+    }
+}
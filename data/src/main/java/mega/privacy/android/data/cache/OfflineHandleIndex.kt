@@ -0,0 +1,114 @@
+package mega.privacy.android.data.cache
+
+import dagger.Lazy
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.domain.entity.Offline
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Process wide index of the nodes available offline, keyed by node handle
+ *
+ * The offline table is encrypted, so reading it means decrypting every row. The index is loaded
+ * from the table once, on first use, and then kept up to date by the offline write operations, so
+ * node listings can look up the offline information of each node in constant time.
+ */
+@Singleton
+internal class OfflineHandleIndex @Inject constructor(
+    private val offlineDao: Lazy<OfflineDao>,
+    private val offlineModelMapper: OfflineModelMapper,
+) {
+    private val offlineByHandle = ConcurrentHashMap<Long, Offline>()
+
+    private val readOnlyOfflineByHandle = Collections.unmodifiableMap(offlineByHandle)
+
+    /**
+     * Guards loading and updates, so an update cannot be overwritten by a load in progress
+     */
+    private val mutex = Mutex()
+
+    @Volatile
+    private var isLoaded = false
+
+    /**
+     * Gets the offline information of a node
+     *
+     * @param handle node handle
+     * @return the offline information, or null if the node is not available offline
+     */
+    suspend fun get(handle: Long): Offline? {
+        ensureLoaded()
+        return offlineByHandle[handle]
+    }
+
+    /**
+     * Checks if a node is available offline
+     *
+     * @param handle node handle
+     */
+    suspend fun isAvailableOffline(handle: Long) = get(handle) != null
+
+    /**
+     * Gets a read only view of the index, kept up to date with later changes
+     */
+    suspend fun getAll(): Map<Long, Offline> {
+        ensureLoaded()
+        return readOnlyOfflineByHandle
+    }
+
+    /**
+     * Adds or updates the offline information of a node
+     */
+    suspend fun put(offline: Offline) = update {
+        offline.handle.toLongOrNull()?.let { offlineByHandle[it] = offline }
+    }
+
+    /**
+     * Removes the offline information of a node
+     *
+     * @param handle node handle
+     */
+    suspend fun remove(handle: Long) = update {
+        offlineByHandle.remove(handle)
+    }
+
+    /**
+     * Removes the offline information with the given ids
+     *
+     * @param ids ids of the offline information
+     */
+    suspend fun removeByIds(ids: Collection<Int>) = update {
+        val idSet = ids.toSet()
+        offlineByHandle.values.removeAll { it.id in idSet }
+    }
+
+    /**
+     * Removes all the offline information
+     */
+    suspend fun clear() = update {
+        offlineByHandle.clear()
+    }
+
+    /**
+     * Nothing to update until the index is loaded, it will be loaded with the latest data
+     */
+    private suspend fun update(block: () -> Unit) = mutex.withLock {
+        if (isLoaded) block()
+    }
+
+    private suspend fun ensureLoaded() {
+        if (isLoaded) return
+        mutex.withLock {
+            if (isLoaded) return
+            offlineDao.get().getOfflineFiles()?.let { offlineModelMapper(it) }?.forEach { offline ->
+                offline.handle.toLongOrNull()?.let { offlineByHandle[it] = offline }
+            }
+            isLoaded = true
+        }
+    }
+}
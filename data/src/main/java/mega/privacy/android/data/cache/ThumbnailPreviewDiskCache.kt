@@ -0,0 +1,69 @@
+package mega.privacy.android.data.cache
+
+import mega.privacy.android.data.constant.CacheFolderConstant
+import mega.privacy.android.data.gateway.CacheGateway
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Disk tier of the thumbnails and previews
+ *
+ * Keeps the thumbnail and preview cache folders below their maximum size, deleting the least
+ * recently accessed files. Every read, write and deletion of a thumbnail or preview file needs to
+ * be recorded here. Decoded images are kept in memory by the image loader, which is the memory tier.
+ */
+@Singleton
+internal class ThumbnailPreviewDiskCache @Inject constructor(
+    private val cacheGateway: CacheGateway,
+) {
+    private val indices = ConcurrentHashMap<String, DiskLruIndex>()
+
+    /**
+     * Records that a file of a cache folder was read
+     *
+     * @param folderName [CacheFolderConstant.THUMBNAIL_FOLDER] or [CacheFolderConstant.PREVIEW_FOLDER]
+     * @param file the file read
+     */
+    suspend fun onRead(folderName: String, file: File) {
+        getIndex(folderName)?.onRead(file.name)
+    }
+
+    /**
+     * Records that a file of a cache folder was written
+     *
+     * @param folderName [CacheFolderConstant.THUMBNAIL_FOLDER] or [CacheFolderConstant.PREVIEW_FOLDER]
+     * @param file the file written
+     */
+    suspend fun onWrite(folderName: String, file: File) {
+        getIndex(folderName)?.onWrite(file.name)
+    }
+
+    /**
+     * Records that a file of a cache folder was deleted
+     *
+     * @param folderName [CacheFolderConstant.THUMBNAIL_FOLDER] or [CacheFolderConstant.PREVIEW_FOLDER]
+     * @param file the file deleted
+     */
+    suspend fun onDelete(folderName: String, file: File) {
+        getIndex(folderName)?.onDelete(file.name)
+    }
+
+    private suspend fun getIndex(folderName: String): DiskLruIndex? {
+        indices[folderName]?.let { return it }
+        val maxBytes = maxBytesByFolder[folderName] ?: return null
+        val folder = cacheGateway.getOrCreateCacheFolder(folderName) ?: return null
+        return indices.getOrPut(folderName) { DiskLruIndex(folder, maxBytes) }
+    }
+
+    companion object {
+        private const val MAX_THUMBNAIL_BYTES = 100L * 1024 * 1024
+        private const val MAX_PREVIEW_BYTES = 300L * 1024 * 1024
+
+        private val maxBytesByFolder = mapOf(
+            CacheFolderConstant.THUMBNAIL_FOLDER to MAX_THUMBNAIL_BYTES,
+            CacheFolderConstant.PREVIEW_FOLDER to MAX_PREVIEW_BYTES,
+        )
+    }
+}
@@ -0,0 +1,209 @@
+package mega.privacy.android.data.cache
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.update
+
+/**
+ * In memory store for the progress of the transfers in progress, keyed by transfer tag.
+ *
+ * The SDK reports progress for every transfer several times per second, so instead of copying a
+ * whole map on each event, every tag owns a slot of a primitive int keyed table that is updated in
+ * place, without boxing the tags or allocating per event. Readers get coalesced snapshots from
+ * [monitor], emitted at most once every [snapshotIntervalMillis].
+ *
+ * @param snapshotIntervalMillis minimum time between two snapshots emitted by [monitor]
+ */
+class TransferProgressStore<V : Any>(
+    private val snapshotIntervalMillis: Long = DEFAULT_SNAPSHOT_INTERVAL_MILLIS,
+) {
+    private val slots = IntSlots<V>()
+
+    private val lock = Any()
+
+    /**
+     * Incremented on every change, so [monitor] knows when a new snapshot is needed
+     */
+    private val version = MutableStateFlow(0L)
+
+    /**
+     * Sets or updates the value of the transfer with this [tag]
+     */
+    fun put(tag: Int, value: V) {
+        synchronized(lock) { slots.put(tag, value) }
+        onChanged()
+    }
+
+    /**
+     * Sets or updates the values of all the given transfers, notifying a single change
+     */
+    fun putAll(values: Map<Int, V>) {
+        if (values.isEmpty()) return
+        synchronized(lock) {
+            values.forEach { (tag, value) -> slots.put(tag, value) }
+        }
+        onChanged()
+    }
+
+    /**
+     * Removes the transfer with this [tag], if present
+     */
+    fun remove(tag: Int) {
+        if (synchronized(lock) { slots.remove(tag) }) onChanged()
+    }
+
+    /**
+     * Removes all the transfers with the given [tags], notifying a single change
+     */
+    fun removeAll(tags: Set<Int>) {
+        var changed = false
+        synchronized(lock) {
+            tags.forEach { tag ->
+                if (slots.remove(tag)) changed = true
+            }
+        }
+        if (changed) onChanged()
+    }
+
+    /**
+     * Removes all the transfers
+     */
+    fun clear() {
+        synchronized(lock) {
+            if (slots.size == 0) return
+            slots.clear()
+        }
+        onChanged()
+    }
+
+    /**
+     * @return a copy of the current values
+     */
+    fun snapshot(): Map<Int, V> = synchronized(lock) {
+        HashMap<Int, V>(slots.size).also { snapshot ->
+            slots.forEach { tag, value -> snapshot[tag] = value }
+        }
+    }
+
+    /**
+     * Monitors the values of this store.
+     *
+     * The current snapshot is emitted immediately, later changes are coalesced so that at most one
+     * snapshot is emitted every [snapshotIntervalMillis].
+     */
+    fun monitor(): Flow<Map<Int, V>> = flow {
+        var emittedVersion = -1L
+        while (true) {
+            emittedVersion = version.first { it != emittedVersion }
+            emit(snapshot())
+            delay(snapshotIntervalMillis)
+        }
+    }.distinctUntilChanged()
+
+    private fun onChanged() = version.update { it + 1 }
+
+    companion object {
+        /**
+         * Default minimum time between two snapshots emitted by [monitor]
+         */
+        const val DEFAULT_SNAPSHOT_INTERVAL_MILLIS = 250L
+    }
+}
+
+/**
+ * Open addressing table of values keyed by a primitive int, with linear probing.
+ *
+ * An empty slot has a null value. Removals shift the following entries of the probe sequence back,
+ * so lookups never need tombstones. It is not thread safe.
+ */
+private class IntSlots<V : Any> {
+    private var keys = IntArray(INITIAL_CAPACITY)
+    private var values = arrayOfNulls<Any>(INITIAL_CAPACITY)
+    private var mask = INITIAL_CAPACITY - 1
+
+    /**
+     * Number of values
+     */
+    var size = 0
+        private set
+
+    fun put(key: Int, value: V) {
+        val index = indexOf(key)
+        if (values[index] == null) {
+            keys[index] = key
+            values[index] = value
+            size++
+            if (size * 4 > keys.size * 3) resize(keys.size * 2)
+        } else {
+            values[index] = value
+        }
+    }
+
+    fun remove(key: Int): Boolean {
+        var hole = indexOf(key)
+        if (values[hole] == null) return false
+        values[hole] = null
+        size--
+        var next = (hole + 1) and mask
+        while (values[next] != null) {
+            val home = slotOf(keys[next])
+            if (((next - home) and mask) >= ((next - hole) and mask)) {
+                keys[hole] = keys[next]
+                values[hole] = values[next]
+                values[next] = null
+                hole = next
+            }
+            next = (next + 1) and mask
+        }
+        return true
+    }
+
+    fun clear() {
+        keys = IntArray(INITIAL_CAPACITY)
+        values = arrayOfNulls(INITIAL_CAPACITY)
+        mask = INITIAL_CAPACITY - 1
+        size = 0
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    fun forEach(action: (key: Int, value: V) -> Unit) {
+        for (index in values.indices) {
+            val value = values[index] ?: continue
+            action(keys[index], value as V)
+        }
+    }
+
+    private fun indexOf(key: Int): Int {
+        var index = slotOf(key)
+        while (values[index] != null && keys[index] != key) index = (index + 1) and mask
+        return index
+    }
+
+    private fun slotOf(key: Int): Int {
+        val hash = key * HASH_MULTIPLIER
+        return (hash xor (hash ushr 16)) and mask
+    }
+
+    private fun resize(capacity: Int) {
+        val oldKeys = keys
+        val oldValues = values
+        keys = IntArray(capacity)
+        values = arrayOfNulls(capacity)
+        mask = capacity - 1
+        for (index in oldValues.indices) {
+            val value = oldValues[index] ?: continue
+            val newIndex = indexOf(oldKeys[index])
+            keys[newIndex] = oldKeys[index]
+            values[newIndex] = value
+        }
+    }
+
+    private companion object {
+        const val INITIAL_CAPACITY = 16
+        const val HASH_MULTIPLIER = -0x61c88647
+    }
+}
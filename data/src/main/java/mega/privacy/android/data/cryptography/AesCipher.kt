@@ -0,0 +1,57 @@
+package mega.privacy.android.data.cryptography
+
+import android.util.Base64
+import javax.crypto.Cipher
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * AES cipher used to encrypt and decrypt DB fields
+ *
+ * Creating a [Cipher] is expensive compared to encrypting a single field, so the key is built once
+ * and every thread keeps its own initialised [Cipher] for each mode. [Cipher.doFinal] resets the
+ * cipher to its initialised state, so it can be reused for the next field.
+ *
+ * @param aesKey the key used to encrypt and decrypt
+ */
+@Suppress("GetInstance")
+internal class AesCipher(aesKey: ByteArray) {
+    private val keySpec = SecretKeySpec(aesKey, ALGORITHM)
+
+    private val encryptCipher = cipherForMode(Cipher.ENCRYPT_MODE)
+
+    private val decryptCipher = cipherForMode(Cipher.DECRYPT_MODE)
+
+    /**
+     * Encrypts [data]
+     *
+     * @return the encrypted data, base64 encoded
+     */
+    fun encrypt(data: String): String = encryptCipher.withCipher {
+        Base64.encodeToString(it.doFinal(data.toByteArray()), Base64.DEFAULT)
+    }
+
+    /**
+     * Decrypts [data] encrypted by [encrypt]
+     *
+     * @return the decrypted data
+     */
+    fun decrypt(data: String): String = decryptCipher.withCipher {
+        String(it.doFinal(Base64.decode(data, Base64.DEFAULT)))
+    }
+
+    private fun cipherForMode(mode: Int) = ThreadLocal.withInitial {
+        Cipher.getInstance(ALGORITHM).apply { init(mode, keySpec) }
+    }
+
+    /**
+     * A failed operation can leave the cipher in an unknown state, so it is discarded
+     */
+    private inline fun <T> ThreadLocal<Cipher>.withCipher(block: (Cipher) -> T): T =
+        runCatching { block(get()) }
+            .onFailure { remove() }
+            .getOrThrow()
+
+    companion object {
+        private const val ALGORITHM = "AES"
+    }
+}
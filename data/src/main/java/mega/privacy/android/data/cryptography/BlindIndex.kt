@@ -0,0 +1,74 @@
+package mega.privacy.android.data.cryptography
+
+import java.util.Base64
+import java.util.Locale
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+import javax.inject.Inject
+import javax.inject.Named
+import javax.inject.Singleton
+
+/**
+ * Blind index for encrypted DB fields
+ *
+ * Encrypted fields cannot be searched with SQL, so searchable fields also store a keyed HMAC of
+ * their n-grams. A query is searched by the HMAC of its own n-grams, which only reveals which rows
+ * share n-grams, not their values. Matches can be false positives, so the decrypted values of the
+ * candidates need to be checked.
+ *
+ * The HMAC key is derived from the DB encryption key, so no other key needs to be stored.
+ */
+@Singleton
+internal class BlindIndex @Inject constructor(
+    @Named("aes_key") aesKey: ByteArray,
+) {
+    private val indexKey = SecretKeySpec(
+        Mac.getInstance(ALGORITHM).apply { init(SecretKeySpec(aesKey, ALGORITHM)) }
+            .doFinal(KEY_LABEL.toByteArray()),
+        ALGORITHM
+    )
+
+    private val mac = ThreadLocal.withInitial {
+        Mac.getInstance(ALGORITHM).apply { init(indexKey) }
+    }
+
+    private val encoder = Base64.getEncoder().withoutPadding()
+
+    /**
+     * Gets the tokens to index [value] with
+     *
+     * The value is indexed by its n-grams, and by the whole value so that values shorter than an
+     * n-gram are indexed too.
+     *
+     * @return the distinct tokens of [value]
+     */
+    fun getIndexTokens(value: String): Set<String> =
+        (normalize(value).nGrams() + normalize(value)).mapTo(mutableSetOf()) { token(it) }
+
+    /**
+     * Gets the tokens to search [query] with
+     *
+     * @return the distinct tokens every value containing [query] is indexed with, or an empty set
+     * if [query] is shorter than an n-gram, as it cannot be searched with the index
+     */
+    fun getQueryTokens(query: String): Set<String> =
+        normalize(query).nGrams().mapTo(mutableSetOf()) { token(it) }
+
+    private fun normalize(value: String) = value.lowercase(Locale.ROOT)
+
+    private fun String.nGrams() = windowed(N_GRAM_LENGTH)
+
+    private fun token(value: String): String =
+        encoder.encodeToString(mac.get().doFinal(value.toByteArray()).copyOf(TOKEN_BYTES))
+
+    companion object {
+        private const val ALGORITHM = "HmacSHA256"
+        private const val KEY_LABEL = "mega_blind_index"
+        private const val N_GRAM_LENGTH = 3
+
+        /**
+         * Tokens are truncated, collisions only add false positives that are checked anyway
+         */
+        private const val TOKEN_BYTES = 8
+    }
+}
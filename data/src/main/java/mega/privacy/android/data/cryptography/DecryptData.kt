@@ -1,9 +1,6 @@
 package mega.privacy.android.data.cryptography
 
-import android.util.Base64
 import timber.log.Timber
-import javax.crypto.Cipher
-import javax.crypto.spec.SecretKeySpec
 import javax.inject.Inject
 import javax.inject.Named
 import javax.inject.Singleton
@@ -11,26 +8,31 @@ import javax.inject.Singleton
 /**
  * Decrypt the data encrypted by EncryptData
  */
-@Suppress("RedundantSuspendModifier", "GetInstance")
+@Suppress("RedundantSuspendModifier")
 @Singleton
 class DecryptData @Inject constructor(
-    @Named("aes_key") private val aesKey: ByteArray,
+    @Named("aes_key") aesKey: ByteArray,
 ) {
+    private val aesCipher = AesCipher(aesKey)
+
     /**
      * Invoke
      * @param data encrypted String
      * @return decrypted data
      */
-    suspend operator fun invoke(data: String?) = data?.let {
-        runCatching {
-            val encoded = Base64.decode(data, Base64.DEFAULT)
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.DECRYPT_MODE, skeySpec)
-            val original = cipher.doFinal(encoded)
-            String(original)
-        }.onFailure {
-            Timber.e(it, "Error decrypting DB field")
-        }.getOrNull()
-    }
-}
\ No newline at end of file
+    suspend operator fun invoke(data: String?) = data?.let { decrypt(it) }
+
+    /**
+     * Decrypts all the given values, reusing the same cipher
+     *
+     * @param data encrypted Strings
+     * @return decrypted values, in the same order
+     */
+    suspend fun decryptAll(data: List<String?>) = data.map { value -> value?.let { decrypt(it) } }
+
+    private fun decrypt(data: String) = runCatching {
+        aesCipher.decrypt(data)
+    }.onFailure {
+        Timber.e(it, "Error decrypting DB field")
+    }.getOrNull()
+}
@@ -1,9 +1,7 @@
 package mega.privacy.android.data.cryptography
 
-import android.util.Base64
+import android.util.LruCache
 import timber.log.Timber
-import javax.crypto.Cipher
-import javax.crypto.spec.SecretKeySpec
 import javax.inject.Inject
 import javax.inject.Named
 import javax.inject.Singleton
@@ -11,25 +9,47 @@ import javax.inject.Singleton
 /**
  * Class to encrypt given value
  */
-@Suppress("RedundantSuspendModifier", "GetInstance")
+@Suppress("RedundantSuspendModifier")
 @Singleton
 class EncryptData @Inject constructor(
-    @Named("aes_key") private val aesKey: ByteArray,
+    @Named("aes_key") aesKey: ByteArray,
 ) {
+    private val aesCipher = AesCipher(aesKey)
+
+    /**
+     * Encrypted values of short data such as booleans and states, which are encrypted over and
+     * over to build queries. The encryption is deterministic, so they can be reused.
+     */
+    private val memoizedValues = LruCache<String, String>(MEMOIZED_VALUES_MAX_SIZE)
+
     /**
      * Invoke
      * @param data string to be encrypted
      * @return encrypted value
      */
-    suspend operator fun invoke(data: String?) = data?.let {
-        runCatching {
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.ENCRYPT_MODE, skeySpec)
-            val encrypted = cipher.doFinal(it.toByteArray())
-            Base64.encodeToString(encrypted, Base64.DEFAULT)
-        }.onFailure {
-            Timber.e(it, "Error encrypting DB field")
-        }.getOrNull()
+    suspend operator fun invoke(data: String?) = data?.let { encrypt(it) }
+
+    /**
+     * Encrypts all the given values, reusing the same cipher
+     *
+     * @param data strings to be encrypted
+     * @return encrypted values, in the same order
+     */
+    suspend fun encryptAll(data: List<String?>) = data.map { value -> value?.let { encrypt(it) } }
+
+    private fun encrypt(data: String): String? {
+        if (data.length > MEMOIZED_VALUE_MAX_LENGTH) return encryptOrNull(data)
+        return memoizedValues[data] ?: encryptOrNull(data)?.also { memoizedValues.put(data, it) }
+    }
+
+    private fun encryptOrNull(data: String) = runCatching {
+        aesCipher.encrypt(data)
+    }.onFailure {
+        Timber.e(it, "Error encrypting DB field")
+    }.getOrNull()
+
+    companion object {
+        private const val MEMOIZED_VALUE_MAX_LENGTH = 5
+        private const val MEMOIZED_VALUES_MAX_SIZE = 64
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package mega.privacy.android.data.database
 
+import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.model.MegaAttributes
 import mega.privacy.android.data.model.MegaPreferences
 import mega.privacy.android.data.model.chat.NonContactInfo
@@ -23,6 +24,13 @@ interface DatabaseHandler {
      */
     val preferences: MegaPreferences?
 
+    /**
+     * Monitors preferences.
+     *
+     * @return Flow of the preferences, emitted again every time they change.
+     */
+    fun monitorPreferences(): Flow<MegaPreferences?>
+
     /**
      * Save chat settings in the current DB.
      *
@@ -93,6 +101,13 @@ interface DatabaseHandler {
      */
     var attributes: MegaAttributes?
 
+    /**
+     * Monitors attributes.
+     *
+     * @return Flow of the attributes, emitted again every time they change.
+     */
+    fun monitorAttributes(): Flow<MegaAttributes?>
+
     fun setNotificationSoundChat(sound: String?)
     fun setVibrationEnabledChat(enabled: String?)
     fun setNonContactFirstName(name: String?, handle: String?): Int
@@ -19,6 +19,7 @@ import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.SyncShownNotificationDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
+import mega.privacy.android.data.database.dao.TimelinePhotoDao
 import mega.privacy.android.data.database.dao.UserPausedSyncsDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
 import mega.privacy.android.data.database.entity.ActiveTransferEntity
@@ -29,10 +30,12 @@ import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntityLegacy
 import mega.privacy.android.data.database.entity.ContactEntity
 import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.database.entity.OfflineNameIndexEntity
 import mega.privacy.android.data.database.entity.PendingTransferEntity
 import mega.privacy.android.data.database.entity.SdTransferEntity
 import mega.privacy.android.data.database.entity.SyncShownNotificationEntity
 import mega.privacy.android.data.database.entity.SyncSolvedIssueEntity
+import mega.privacy.android.data.database.entity.TimelinePhotoEntity
 import mega.privacy.android.data.database.entity.UserPausedSyncEntity
 import mega.privacy.android.data.database.entity.VideoRecentlyWatchedEntity
 import mega.privacy.android.data.database.spec.AutoMigrationSpec73to74
@@ -55,6 +58,8 @@ import timber.log.Timber
         VideoRecentlyWatchedEntity::class,
         PendingTransferEntity::class,
         SyncShownNotificationEntity::class,
+        OfflineNameIndexEntity::class,
+        TimelinePhotoEntity::class,
     ],
     version = MegaDatabaseConstant.DATABASE_VERSION,
     exportSchema = true,
@@ -105,6 +110,8 @@ internal abstract class MegaDatabase : RoomDatabase() {
 
     abstract fun pendingTransferDao(): PendingTransferDao
 
+    abstract fun timelinePhotoDao(): TimelinePhotoDao
+
     companion object {
 
         /**
@@ -242,6 +249,27 @@ internal abstract class MegaDatabase : RoomDatabase() {
             }
         }
 
+        private val MIGRATION_93_94 = object : Migration(93, 94) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                // Encrypted fields are deterministic, so equality lookups can use regular indices.
+                // The offline name blind index is filled on the first offline search, as building it
+                // needs the decrypted names
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_offline_handle` ON `offline` (`handle`)")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_offline_parentId` ON `offline` (`parentId`)")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_contacts_handle` ON `contacts` (`handle`)")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_contacts_mail` ON `contacts` (`mail`)")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_completedtransfers_2_transferstate` ON `completedtransfers_2` (`transferstate`)")
+                database.execSQL("CREATE TABLE IF NOT EXISTS `offline_name_index` (`token` TEXT NOT NULL, `offline_id` INTEGER NOT NULL, PRIMARY KEY(`token`, `offline_id`))")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_offline_name_index_offline_id` ON `offline_name_index` (`offline_id`)")
+            }
+        }
+
+        private val MIGRATION_94_95 = object : Migration(94, 95) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL("CREATE TABLE IF NOT EXISTS `timeline_photos` (`id` INTEGER NOT NULL, `parent_id` INTEGER NOT NULL, `name` TEXT NOT NULL, `is_video` INTEGER NOT NULL, `is_favourite` INTEGER NOT NULL, `creation_time` INTEGER NOT NULL, `modification_time` INTEGER NOT NULL, `thumbnail_path` TEXT, `preview_path` TEXT, `duration` INTEGER NOT NULL, `size` INTEGER NOT NULL, `is_taken_down` INTEGER NOT NULL, `is_sensitive` INTEGER NOT NULL, `is_sensitive_inherited` INTEGER NOT NULL, PRIMARY KEY(`id`))")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_timeline_photos_modification_time` ON `timeline_photos` (`modification_time`)")
+            }
+        }
 
         val MIGRATIONS = arrayOf(
             MIGRATION_67_68,
@@ -253,6 +281,8 @@ internal abstract class MegaDatabase : RoomDatabase() {
             MIGRATION_76_77,
             MIGRATION_77_78,
             MIGRATION_85_86,
+            MIGRATION_93_94,
+            MIGRATION_94_95,
         )
     }
 }
@@ -8,7 +8,7 @@ object MegaDatabaseConstant {
     /**
      * Database Version
      */
-    const val DATABASE_VERSION = 93
+    const val DATABASE_VERSION = 95
 
     /**
      * Database Name
@@ -55,6 +55,16 @@ object MegaDatabaseConstant {
      */
     const val TABLE_OFFLINE = "offline"
 
+    /**
+     * Table Offline name blind index
+     */
+    const val TABLE_OFFLINE_NAME_INDEX = "offline_name_index"
+
+    /**
+     * Table Timeline photos index
+     */
+    const val TABLE_TIMELINE_PHOTOS = "timeline_photos"
+
     /**
      * Table For Android Sync solved issues list
      */
@@ -7,11 +7,14 @@ import androidx.room.Room
 import androidx.room.RoomDatabase
 import androidx.sqlite.db.SupportSQLiteOpenHelper
 import mega.privacy.android.data.database.chat.spec.AutoMigrationSpecChat2to3
+import mega.privacy.android.data.database.chat.spec.AutoMigrationSpecChat4to5
 import mega.privacy.android.data.database.dao.ChatMessageMetaDao
+import mega.privacy.android.data.database.dao.ChatMessageSearchDao
 import mega.privacy.android.data.database.dao.ChatNodeDao
 import mega.privacy.android.data.database.dao.PendingMessageDao
 import mega.privacy.android.data.database.dao.TypedMessageDao
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
+import mega.privacy.android.data.database.entity.chat.ChatMessageSearchEntity
 import mega.privacy.android.data.database.entity.chat.ChatNodeEntity
 import mega.privacy.android.data.database.entity.chat.GiphyEntity
 import mega.privacy.android.data.database.entity.chat.NodeMessageCrossRef
@@ -25,7 +28,7 @@ import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
  */
 const val CHAT_DATABASE_NAME = "chat_database"
 
-private const val DATABASE_VERSION = 4
+private const val DATABASE_VERSION = 5
 
 /**
  * In memory chat database
@@ -41,12 +44,14 @@ private const val DATABASE_VERSION = 4
         ChatNodeEntity::class,
         PendingMessageEntity::class,
         NodeMessageCrossRef::class,
+        ChatMessageSearchEntity::class,
     ],
     version = DATABASE_VERSION,
     autoMigrations = [
         AutoMigration(1, 2),
         AutoMigration(2, 3, spec = AutoMigrationSpecChat2to3::class),
         AutoMigration(3, 4),
+        AutoMigration(4, 5, spec = AutoMigrationSpecChat4to5::class),
     ],
 )
 abstract class ChatDatabase : RoomDatabase() {
@@ -71,6 +76,11 @@ abstract class ChatDatabase : RoomDatabase() {
      */
     abstract fun pendingMessageDao(): PendingMessageDao
 
+    /**
+     * Chat message search dao
+     */
+    abstract fun chatMessageSearchDao(): ChatMessageSearchDao
+
     companion object {
 
         /**
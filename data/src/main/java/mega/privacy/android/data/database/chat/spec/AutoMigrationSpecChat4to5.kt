@@ -0,0 +1,21 @@
+package mega.privacy.android.data.database.chat.spec
+
+import androidx.room.migration.AutoMigrationSpec
+import androidx.sqlite.db.SupportSQLiteDatabase
+
+/**
+ * Indexes the messages stored before the chat_message_search table was added
+ */
+internal class AutoMigrationSpecChat4to5 : AutoMigrationSpec {
+    override fun onPostMigrate(db: SupportSQLiteDatabase) {
+        db.execSQL(
+            "INSERT INTO chat_message_search (rowid, chatId, timestamp, text) " +
+                    "SELECT messageId, chatId, timestamp, " +
+                    "CASE WHEN textMessage IS NULL OR textMessage = content THEN content " +
+                    "ELSE trim(coalesce(content, '') || ' ' || textMessage) END " +
+                    "FROM typed_messages " +
+                    "WHERE isDeleted = 0 AND isManagementMessage = 0 " +
+                    "AND (length(content) > 0 OR length(textMessage) > 0)"
+        )
+    }
+}
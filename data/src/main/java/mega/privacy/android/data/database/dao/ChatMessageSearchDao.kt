@@ -0,0 +1,57 @@
+package mega.privacy.android.data.database.dao
+
+import androidx.paging.PagingSource
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.Query
+import mega.privacy.android.data.database.entity.chat.ChatMessageSearchEntity
+import mega.privacy.android.domain.entity.chat.messages.search.ChatMessageSearchResult
+
+/**
+ * Chat message full text search dao
+ */
+@Dao
+interface ChatMessageSearchDao {
+
+    /**
+     * Insert all
+     *
+     * The entries of the messages need to be deleted first, the search table does not replace
+     * rows with the same id.
+     *
+     * @param entries
+     */
+    @Insert
+    suspend fun insertAll(entries: List<ChatMessageSearchEntity>)
+
+    /**
+     * Delete the entries of some messages
+     *
+     * @param messageIds
+     */
+    @Query("DELETE FROM chat_message_search WHERE rowid IN (:messageIds)")
+    fun deleteByMessageIds(messageIds: List<Long>)
+
+    /**
+     * Search messages
+     *
+     * Results are ranked by their number of matches, then from the newest to the oldest.
+     *
+     * @param query full text search query
+     * @param chatId Chat ID to search in, null to search in all the chats
+     * @return paging source of the matching messages
+     */
+    @Query(
+        "SELECT rowid AS messageId, chatId, timestamp, " +
+                "snippet(chat_message_search, '${ChatMessageSearchResult.MATCH_START}', '${ChatMessageSearchResult.MATCH_END}', '…', -1, $SNIPPET_TOKENS) AS snippet " +
+                "FROM chat_message_search " +
+                "WHERE chat_message_search MATCH :query AND (:chatId IS NULL OR chatId = :chatId) " +
+                "ORDER BY length(offsets(chat_message_search)) - length(replace(offsets(chat_message_search), ' ', '')) DESC, timestamp DESC"
+    )
+    fun search(query: String, chatId: Long?): PagingSource<Int, ChatMessageSearchResult>
+}
+
+/**
+ * Maximum number of tokens in the snippet of a search result
+ */
+private const val SNIPPET_TOKENS = 16
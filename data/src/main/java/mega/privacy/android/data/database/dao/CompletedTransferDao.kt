@@ -17,7 +17,7 @@ internal interface CompletedTransferDao {
     fun getAllCompletedTransfers(): Flow<List<CompletedTransferEntity>>
 
     @Query("SELECT * FROM $TABLE_COMPLETED_TRANSFERS WHERE transferstate IN(:states)")
-    fun getCompletedTransfersByState(states: List<String>): List<CompletedTransferEntity>
+    fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransferEntity>
 
     @Query("SELECT * FROM $TABLE_COMPLETED_TRANSFERS WHERE id = :id")
     suspend fun getCompletedTransferById(id: Int): CompletedTransferEntity?
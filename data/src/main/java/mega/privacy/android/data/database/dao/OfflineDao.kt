@@ -4,8 +4,10 @@ import androidx.room.Dao
 import androidx.room.Insert
 import androidx.room.OnConflictStrategy
 import androidx.room.Query
+import androidx.room.Transaction
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.database.entity.OfflineNameIndexEntity
 
 @Dao
 internal interface OfflineDao {
@@ -18,6 +20,44 @@ internal interface OfflineDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     suspend fun insertOrUpdateOffline(entity: OfflineEntity): Long
 
+    /**
+     * Transaction to insert or update an entity together with the blind index tokens of its name
+     */
+    @Transaction
+    suspend fun insertOrUpdateOffline(entity: OfflineEntity, nameTokens: Set<String>): Long {
+        val id = insertOrUpdateOffline(entity)
+        deleteOfflineNameIndexByOfflineId(id.toInt())
+        insertOfflineNameIndex(nameTokens.map { OfflineNameIndexEntity(token = it, offlineId = id.toInt()) })
+        return id
+    }
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertOfflineNameIndex(entities: List<OfflineNameIndexEntity>)
+
+    @Query("DELETE FROM offline_name_index WHERE offline_id = :offlineId")
+    suspend fun deleteOfflineNameIndexByOfflineId(offlineId: Int)
+
+    @Query("DELETE FROM offline_name_index WHERE offline_id NOT IN (SELECT id FROM offline)")
+    suspend fun deleteOrphanOfflineNameIndex()
+
+    @Query("SELECT * FROM offline WHERE id NOT IN (SELECT offline_id FROM offline_name_index)")
+    suspend fun getOfflineWithoutNameIndex(): List<OfflineEntity>
+
+    /**
+     * Gets the entities whose name is indexed with all the given tokens, in the given parent or
+     * in any parent if [parentId] is -1
+     */
+    @Query(
+        "SELECT * FROM offline WHERE (:parentId = -1 OR parentId = :parentId) AND id IN " +
+                "(SELECT offline_id FROM offline_name_index WHERE token IN (:tokens) " +
+                "GROUP BY offline_id HAVING COUNT(token) = :tokenCount)"
+    )
+    suspend fun getOfflineByNameTokens(
+        tokens: List<String>,
+        tokenCount: Int,
+        parentId: Int,
+    ): List<OfflineEntity>
+
     @Query("SELECT * FROM offline WHERE handle = :handle")
     suspend fun getOfflineByHandle(handle: String?): OfflineEntity?
 
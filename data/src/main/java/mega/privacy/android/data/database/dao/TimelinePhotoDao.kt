@@ -0,0 +1,40 @@
+package mega.privacy.android.data.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import mega.privacy.android.data.database.MegaDatabaseConstant
+import mega.privacy.android.data.database.entity.TimelinePhotoEntity
+
+@Dao
+internal interface TimelinePhotoDao {
+    @Query("SELECT * FROM ${MegaDatabaseConstant.TABLE_TIMELINE_PHOTOS} ORDER BY modification_time DESC")
+    suspend fun getAllTimelinePhotos(): List<TimelinePhotoEntity>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertOrUpdateTimelinePhotos(entities: List<TimelinePhotoEntity>)
+
+    @Query("DELETE FROM ${MegaDatabaseConstant.TABLE_TIMELINE_PHOTOS} WHERE id IN (:ids)")
+    suspend fun deleteTimelinePhotosByIds(ids: List<Long>)
+
+    @Query("DELETE FROM ${MegaDatabaseConstant.TABLE_TIMELINE_PHOTOS}")
+    suspend fun deleteAllTimelinePhotos()
+
+    /**
+     * Transaction to replace all the timeline photos
+     */
+    @Transaction
+    suspend fun replaceTimelinePhotos(entities: List<TimelinePhotoEntity>) {
+        deleteAllTimelinePhotos()
+        insertOrUpdateTimelinePhotos(entities)
+    }
+
+    companion object {
+        /**
+         * Maximum ids deleted by statement, to keep the bound variables below the SQLite limit
+         */
+        const val MAX_DELETE_SIZE = 500
+    }
+}
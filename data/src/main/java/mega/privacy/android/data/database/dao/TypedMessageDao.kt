@@ -118,6 +118,16 @@ interface TypedMessageDao {
     @Query("SELECT messageId FROM typed_messages WHERE chatId = :chatId AND timestamp <= :truncateTimestamp")
     fun getMsgIdsByChatIdAndLatestDate(chatId: Long, truncateTimestamp: Long): List<Long>
 
+    /**
+     * Get msg ids by chat id and earliest date
+     *
+     * @param chatId
+     * @param fromTimestamp
+     * @return ids of the messages with the same or a newer timestamp
+     */
+    @Query("SELECT messageId FROM typed_messages WHERE chatId = :chatId AND timestamp >= :fromTimestamp")
+    fun getMsgIdsByChatIdAndEarliestDate(chatId: Long, fromTimestamp: Long): List<Long>
+
     /**
      * Update message exists
      *
@@ -2,6 +2,7 @@ package mega.privacy.android.data.database.entity
 
 import androidx.room.ColumnInfo
 import androidx.room.Entity
+import androidx.room.Index
 import androidx.room.PrimaryKey
 import mega.privacy.android.data.database.MegaDatabaseConstant
 
@@ -15,7 +16,10 @@ import mega.privacy.android.data.database.MegaDatabaseConstant
  * @property lastName
  * @property nickName
  */
-@Entity(MegaDatabaseConstant.TABLE_CONTACTS)
+@Entity(
+    MegaDatabaseConstant.TABLE_CONTACTS,
+    indices = [Index(value = ["handle"]), Index(value = ["mail"])]
+)
 internal data class ContactEntity(
     @PrimaryKey(autoGenerate = true)
     @ColumnInfo(name = "id") val id: Int? = null,
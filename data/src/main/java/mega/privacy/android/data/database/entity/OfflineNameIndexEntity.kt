@@ -0,0 +1,22 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import mega.privacy.android.data.database.MegaDatabaseConstant
+
+/**
+ * Offline name blind index entity, one for each token of the name of an offline entity
+ *
+ * @property token blind index token of the name
+ * @property offlineId id of the [OfflineEntity]
+ */
+@Entity(
+    MegaDatabaseConstant.TABLE_OFFLINE_NAME_INDEX,
+    primaryKeys = ["token", "offline_id"],
+    indices = [Index(value = ["offline_id"])]
+)
+internal data class OfflineNameIndexEntity(
+    @ColumnInfo(name = "token") val token: String,
+    @ColumnInfo(name = "offline_id") val offlineId: Int,
+)
@@ -0,0 +1,47 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import mega.privacy.android.data.database.MegaDatabaseConstant
+
+/**
+ * Timeline photo entity, the fields of a timeline photo needed to show it before the nodes are
+ * searched again
+ *
+ * @property id node handle
+ * @property parentId parent node handle
+ * @property name node name
+ * @property isVideo true if it is a video, false if it is an image
+ * @property isFavourite is favourite
+ * @property creationTime creation time in seconds
+ * @property modificationTime modification time in seconds
+ * @property thumbnailPath thumbnail file path
+ * @property previewPath preview file path
+ * @property duration video duration in seconds
+ * @property size size in bytes
+ * @property isTakenDown is taken down
+ * @property isSensitive is marked as sensitive
+ * @property isSensitiveInherited is sensitive inherited from a parent
+ */
+@Entity(
+    tableName = MegaDatabaseConstant.TABLE_TIMELINE_PHOTOS,
+    indices = [Index(value = ["modification_time"])]
+)
+internal data class TimelinePhotoEntity(
+    @PrimaryKey @ColumnInfo(name = "id") val id: Long,
+    @ColumnInfo(name = "parent_id") val parentId: Long,
+    @ColumnInfo(name = "name") val name: String,
+    @ColumnInfo(name = "is_video") val isVideo: Boolean,
+    @ColumnInfo(name = "is_favourite") val isFavourite: Boolean,
+    @ColumnInfo(name = "creation_time") val creationTime: Long,
+    @ColumnInfo(name = "modification_time") val modificationTime: Long,
+    @ColumnInfo(name = "thumbnail_path") val thumbnailPath: String?,
+    @ColumnInfo(name = "preview_path") val previewPath: String?,
+    @ColumnInfo(name = "duration") val duration: Int,
+    @ColumnInfo(name = "size") val size: Long,
+    @ColumnInfo(name = "is_taken_down") val isTakenDown: Boolean,
+    @ColumnInfo(name = "is_sensitive") val isSensitive: Boolean,
+    @ColumnInfo(name = "is_sensitive_inherited") val isSensitiveInherited: Boolean,
+)
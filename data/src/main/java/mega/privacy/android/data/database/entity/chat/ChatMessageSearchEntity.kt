@@ -0,0 +1,27 @@
+package mega.privacy.android.data.database.entity.chat
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Fts4
+import androidx.room.FtsOptions
+import androidx.room.PrimaryKey
+
+/**
+ * Full text search entry of a stored chat message
+ *
+ * @property messageId Message ID, used as the row id of the search table.
+ * @property chatId Chat ID. Not indexed.
+ * @property timestamp Timestamp of the message. Not indexed.
+ * @property text Searchable text of the message.
+ */
+@Fts4(
+    tokenizer = FtsOptions.TOKENIZER_UNICODE61,
+    notIndexed = ["chatId", "timestamp"],
+)
+@Entity(tableName = "chat_message_search")
+data class ChatMessageSearchEntity(
+    @PrimaryKey @ColumnInfo(name = "rowid") val messageId: Long,
+    val chatId: Long,
+    val timestamp: Long,
+    val text: String,
+)
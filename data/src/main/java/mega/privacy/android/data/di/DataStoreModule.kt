@@ -17,7 +17,9 @@ import dagger.hilt.components.SingletonComponent
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import mega.privacy.android.data.preferences.RequestPhoneNumberPreferencesDataStore.Companion.REQUEST_PHONE_NUMBER_FILE
+import mega.privacy.android.data.preferences.base.DataStoreLoadMetricsRecorder
 import mega.privacy.android.data.preferences.base.createEncrypted
+import mega.privacy.android.data.preferences.base.withLoadMetrics
 import mega.privacy.android.data.preferences.cameraUploadsSettingsPreferenceDataStoreName
 import mega.privacy.android.data.preferences.credentialDataStoreName
 import mega.privacy.android.data.preferences.migration.CameraUploadsSettingsPreferenceDataStoreMigration
@@ -47,6 +49,7 @@ internal object DataStoreModule {
     fun provideRequestPhoneNumberPreferencesDataStore(
         @ApplicationContext context: Context,
         @IoDispatcher ioDispatcher: CoroutineDispatcher,
+        dataStoreLoadMetricsRecorder: DataStoreLoadMetricsRecorder,
     ): DataStore<Preferences> {
         return PreferenceDataStoreFactory.create(
             corruptionHandler = ReplaceFileCorruptionHandler(
@@ -60,7 +63,7 @@ internal object DataStoreModule {
             ),
             scope = CoroutineScope(ioDispatcher),
             produceFile = { context.preferencesDataStoreFile(REQUEST_PHONE_NUMBER_FILE) }
-        )
+        ).withLoadMetrics(REQUEST_PHONE_NUMBER_FILE, dataStoreLoadMetricsRecorder)
     }
 
     @Singleton
@@ -70,6 +73,7 @@ internal object DataStoreModule {
         @ApplicationContext context: Context,
         @IoDispatcher ioDispatcher: CoroutineDispatcher,
         passcodeDatastoreMigration: PasscodeDatastoreMigration,
+        dataStoreLoadMetricsRecorder: DataStoreLoadMetricsRecorder,
     ): DataStore<Preferences> =
         PreferenceDataStoreFactory.create(
             corruptionHandler = ReplaceFileCorruptionHandler(
@@ -80,7 +84,7 @@ internal object DataStoreModule {
             ),
             scope = CoroutineScope(ioDispatcher),
             produceFile = { context.preferencesDataStoreFile(passcodeDatastoreName) }
-        )
+        ).withLoadMetrics(passcodeDatastoreName, dataStoreLoadMetricsRecorder)
 
     @Singleton
     @Provides
@@ -89,6 +93,7 @@ internal object DataStoreModule {
         @ApplicationContext context: Context,
         @IoDispatcher ioDispatcher: CoroutineDispatcher,
         migration: CameraUploadsSettingsPreferenceDataStoreMigration,
+        dataStoreLoadMetricsRecorder: DataStoreLoadMetricsRecorder,
     ): DataStore<Preferences> =
         PreferenceDataStoreFactory.create(
             corruptionHandler = ReplaceFileCorruptionHandler(
@@ -103,6 +108,9 @@ internal object DataStoreModule {
                     cameraUploadsSettingsPreferenceDataStoreName
                 )
             }
+        ).withLoadMetrics(
+            storeName = cameraUploadsSettingsPreferenceDataStoreName,
+            recorder = dataStoreLoadMetricsRecorder,
         )
 
     @Singleton
@@ -111,13 +119,14 @@ internal object DataStoreModule {
     fun providePsaPreferenceDataStore(
         @ApplicationContext context: Context,
         @IoDispatcher ioDispatcher: CoroutineDispatcher,
+        dataStoreLoadMetricsRecorder: DataStoreLoadMetricsRecorder,
     ): DataStore<Preferences> = PreferenceDataStoreFactory.create(
         corruptionHandler = ReplaceFileCorruptionHandler(
             produceNewData = { emptyPreferences() }
         ),
         scope = CoroutineScope(ioDispatcher),
         produceFile = { context.preferencesDataStoreFile(psaPreferenceDataStoreName) }
-    )
+    ).withLoadMetrics(psaPreferenceDataStoreName, dataStoreLoadMetricsRecorder)
 
     @Singleton
     @Provides
@@ -127,6 +136,7 @@ internal object DataStoreModule {
         @IoDispatcher ioDispatcher: CoroutineDispatcher,
         migration: CredentialsPreferencesMigration,
         masterKey: MasterKey?,
+        dataStoreLoadMetricsRecorder: DataStoreLoadMetricsRecorder,
     ): DataStore<Preferences> {
         return PreferenceDataStoreFactory.createEncrypted(
             corruptionHandler = ReplaceFileCorruptionHandler(
@@ -138,8 +148,11 @@ internal object DataStoreModule {
             scope = CoroutineScope(ioDispatcher),
             masterKey = masterKey,
             context = context,
-            fileName = credentialDataStoreName
-        )
+            fileName = credentialDataStoreName,
+            onDecrypted = {
+                dataStoreLoadMetricsRecorder.recordDecrypt(credentialDataStoreName, it)
+            }
+        ).withLoadMetrics(credentialDataStoreName, dataStoreLoadMetricsRecorder)
     }
 
     @Singleton
@@ -149,6 +162,7 @@ internal object DataStoreModule {
         @ApplicationContext context: Context,
         @IoDispatcher ioDispatcher: CoroutineDispatcher,
         passcodeDatastoreMigration: PasscodeDatastoreMigration,
+        dataStoreLoadMetricsRecorder: DataStoreLoadMetricsRecorder,
     ): DataStore<Preferences> =
         PreferenceDataStoreFactory.create(
             corruptionHandler = ReplaceFileCorruptionHandler(
@@ -159,5 +173,5 @@ internal object DataStoreModule {
             ),
             scope = CoroutineScope(ioDispatcher),
             produceFile = { context.preferencesDataStoreFile(transfersPreferencesDataStoreName) }
-        )
+        ).withLoadMetrics(transfersPreferencesDataStoreName, dataStoreLoadMetricsRecorder)
 }
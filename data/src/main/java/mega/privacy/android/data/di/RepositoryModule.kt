@@ -64,9 +64,12 @@ import mega.privacy.android.data.repository.ZipBrowserRepositoryImpl
 import mega.privacy.android.data.repository.account.BusinessRepositoryImpl
 import mega.privacy.android.data.repository.account.DefaultAccountRepository
 import mega.privacy.android.data.repository.apiserver.ApiServerRepositoryImpl
+import mega.privacy.android.data.repository.chat.ChatListItemRepositoryImpl
 import mega.privacy.android.data.repository.chat.ChatMessageRepositoryImpl
 import mega.privacy.android.data.repository.filemanagement.ShareRepositoryImpl
 import mega.privacy.android.data.repository.files.PdfRepositoryImpl
+import mega.privacy.android.data.repository.monitoring.AppStartTraceRepositoryImpl
+import mega.privacy.android.data.repository.monitoring.DataStorePreloadRepositoryImpl
 import mega.privacy.android.data.repository.monitoring.PerformanceReporterRepositoryImpl
 import mega.privacy.android.data.repository.photos.DefaultPhotosRepository
 import mega.privacy.android.data.repository.psa.PsaRepositoryImpl
@@ -126,9 +129,12 @@ import mega.privacy.android.domain.repository.VideoSectionRepository
 import mega.privacy.android.domain.repository.ViewTypeRepository
 import mega.privacy.android.domain.repository.ZipBrowserRepository
 import mega.privacy.android.domain.repository.apiserver.ApiServerRepository
+import mega.privacy.android.domain.repository.chat.ChatListItemRepository
 import mega.privacy.android.domain.repository.chat.ChatMessageRepository
 import mega.privacy.android.domain.repository.filemanagement.ShareRepository
 import mega.privacy.android.domain.repository.files.PdfRepository
+import mega.privacy.android.domain.repository.monitoring.AppStartTraceRepository
+import mega.privacy.android.domain.repository.monitoring.DataStorePreloadRepository
 import mega.privacy.android.domain.repository.monitoring.PerformanceReporterRepository
 import mega.privacy.android.domain.repository.psa.PsaRepository
 import mega.privacy.android.domain.repository.security.LoginRepository
@@ -315,6 +321,12 @@ internal abstract class RepositoryModule {
     @Binds
     abstract fun providePerformanceReporterRepository(implementation: PerformanceReporterRepositoryImpl): PerformanceReporterRepository
 
+    @Binds
+    abstract fun bindAppStartTraceRepository(implementation: AppStartTraceRepositoryImpl): AppStartTraceRepository
+
+    @Binds
+    abstract fun bindDataStorePreloadRepository(implementation: DataStorePreloadRepositoryImpl): DataStorePreloadRepository
+
     @Binds
     abstract fun bindSearchRepository(implementation: SearchRepositoryImpl): SearchRepository
 
@@ -355,6 +367,10 @@ internal abstract class RepositoryModule {
     @Binds
     abstract fun bindChatMessageRepository(implementation: ChatMessageRepositoryImpl): ChatMessageRepository
 
+    @Binds
+    @Singleton
+    abstract fun bindChatListItemRepository(implementation: ChatListItemRepositoryImpl): ChatListItemRepository
+
     @Binds
     @Singleton
     abstract fun bindMediaRecorderRepository(implementation: MediaRecorderRepositoryImpl): MediaRecorderRepository
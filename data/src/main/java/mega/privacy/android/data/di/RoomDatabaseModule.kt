@@ -28,6 +28,7 @@ import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.SyncShownNotificationDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
+import mega.privacy.android.data.database.dao.TimelinePhotoDao
 import mega.privacy.android.data.database.dao.TypedMessageDao
 import mega.privacy.android.data.database.dao.UserPausedSyncsDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
@@ -196,6 +197,11 @@ internal object RoomDatabaseModule {
     internal fun provideOfflineDao(database: MegaDatabase): OfflineDao =
         database.offlineDao()
 
+    @Provides
+    @Singleton
+    internal fun provideTimelinePhotoDao(database: MegaDatabase): TimelinePhotoDao =
+        database.timelinePhotoDao()
+
     @Provides
     @Singleton
     internal fun provideSyncSolvedIssuesDao(database: MegaDatabase): SyncSolvedIssuesDao =
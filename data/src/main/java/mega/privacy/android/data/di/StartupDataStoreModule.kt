@@ -0,0 +1,75 @@
+package mega.privacy.android.data.di
+
+import android.content.Context
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import dagger.Binds
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.IntoMap
+import dagger.multibindings.StringKey
+import mega.privacy.android.data.preferences.USER_INTERFACE_PREFERENCES
+import mega.privacy.android.data.preferences.cameraUploadsSettingsPreferenceDataStoreName
+import mega.privacy.android.data.preferences.chatDataStore
+import mega.privacy.android.data.preferences.chatPreferencesDataStoreName
+import mega.privacy.android.data.preferences.credentialDataStoreName
+import mega.privacy.android.data.preferences.security.passcodeDatastoreName
+import mega.privacy.android.data.preferences.uiPreferenceDataStore
+import mega.privacy.android.data.qualifier.StartupDataStore
+import javax.inject.Named
+
+/**
+ * Module of the DataStores needed at start up, by store name.
+ *
+ * They are preloaded in parallel when the app starts, the rest of the stores are loaded on first
+ * use. Only add a store here if it is read before the first screen is shown.
+ */
+@Module
+@InstallIn(SingletonComponent::class)
+internal abstract class StartupDataStoreModule {
+
+    @Binds
+    @IntoMap
+    @StringKey(credentialDataStoreName)
+    @StartupDataStore
+    abstract fun bindCredentialDataStore(
+        @Named(credentialDataStoreName) dataStore: DataStore<Preferences>,
+    ): DataStore<Preferences>
+
+    @Binds
+    @IntoMap
+    @StringKey(passcodeDatastoreName)
+    @StartupDataStore
+    abstract fun bindPasscodeDataStore(
+        @Named(passcodeDatastoreName) dataStore: DataStore<Preferences>,
+    ): DataStore<Preferences>
+
+    @Binds
+    @IntoMap
+    @StringKey(cameraUploadsSettingsPreferenceDataStoreName)
+    @StartupDataStore
+    abstract fun bindCameraUploadsSettingsPreferenceDataStore(
+        @Named(cameraUploadsSettingsPreferenceDataStoreName) dataStore: DataStore<Preferences>,
+    ): DataStore<Preferences>
+
+    companion object {
+        @Provides
+        @IntoMap
+        @StringKey(USER_INTERFACE_PREFERENCES)
+        @StartupDataStore
+        fun provideUIPreferencesDataStore(
+            @ApplicationContext context: Context,
+        ): DataStore<Preferences> = context.uiPreferenceDataStore
+
+        @Provides
+        @IntoMap
+        @StringKey(chatPreferencesDataStoreName)
+        @StartupDataStore
+        fun provideChatPreferencesDataStore(
+            @ApplicationContext context: Context,
+        ): DataStore<Preferences> = context.chatDataStore
+    }
+}
@@ -46,6 +46,15 @@ internal class CameraUploadsMediaFacade @Inject constructor(
     override fun getMediaSelectionQuery(parentPath: String): String =
         "${MediaStore.MediaColumns.DATA} LIKE '${parentPath}%'"
 
+    override fun getIncrementalMediaSelectionQuery(parentPath: String, scanCursor: Long): String {
+        // The media store dates are stored in seconds, while the media timestamp is in milliseconds.
+        // The bound is inclusive so that media created within the same second are not missed
+        val scanCursorInSeconds = scanCursor / 1000
+        return "${getMediaSelectionQuery(parentPath)} AND " +
+                "(${MediaStore.MediaColumns.DATE_ADDED} >= $scanCursorInSeconds OR " +
+                "${MediaStore.MediaColumns.DATE_MODIFIED} >= $scanCursorInSeconds)"
+    }
+
     /**
      *  Return the column of the media store to retrieve data from
      *
@@ -4,6 +4,8 @@ import dagger.Lazy
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.map
+import mega.privacy.android.data.cache.OfflineHandleIndex
+import mega.privacy.android.data.cryptography.BlindIndex
 import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.dao.ActiveTransferDao
@@ -15,7 +17,9 @@ import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
+import mega.privacy.android.data.database.dao.TimelinePhotoDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
+import mega.privacy.android.data.database.entity.OfflineNameIndexEntity
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.mapper.backup.BackupEntityMapper
 import mega.privacy.android.data.mapper.backup.BackupInfoTypeIntMapper
@@ -28,6 +32,8 @@ import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.data.mapper.photos.TimelinePhotoEntityMapper
+import mega.privacy.android.data.mapper.photos.TimelinePhotoModelMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferLegacyModelMapper
@@ -50,6 +56,7 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.chat.ChatPendingChanges
+import mega.privacy.android.domain.entity.photos.Photo
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
 import mega.privacy.android.domain.entity.transfer.TransferType
@@ -60,6 +67,7 @@ import mega.privacy.android.domain.entity.transfer.pending.UpdateAlreadyTransfer
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferRequest
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferState
 import mega.privacy.android.domain.entity.transfer.pending.UpdateScanningFoldersData
+import java.util.Locale
 import javax.inject.Inject
 
 internal class MegaLocalRoomFacade @Inject constructor(
@@ -84,9 +92,11 @@ internal class MegaLocalRoomFacade @Inject constructor(
     private val cameraUploadsRecordModelMapper: CameraUploadsRecordModelMapper,
     private val encryptData: EncryptData,
     private val decryptData: DecryptData,
+    private val blindIndex: BlindIndex,
     private val offlineDao: Lazy<OfflineDao>,
     private val offlineModelMapper: OfflineModelMapper,
     private val offlineEntityMapper: OfflineEntityMapper,
+    private val offlineHandleIndex: OfflineHandleIndex,
     private val chatPendingChangesDao: Lazy<ChatPendingChangesDao>,
     private val chatRoomPendingChangesEntityMapper: ChatRoomPendingChangesEntityMapper,
     private val chatRoomPendingChangesModelMapper: ChatRoomPendingChangesModelMapper,
@@ -97,6 +107,9 @@ internal class MegaLocalRoomFacade @Inject constructor(
     private val pendingTransferEntityMapper: PendingTransferEntityMapper,
     private val pendingTransferModelMapper: PendingTransferModelMapper,
     private val insertPendingTransferRequestMapper: InsertPendingTransferRequestMapper,
+    private val timelinePhotoDao: Lazy<TimelinePhotoDao>,
+    private val timelinePhotoEntityMapper: TimelinePhotoEntityMapper,
+    private val timelinePhotoModelMapper: TimelinePhotoModelMapper,
 ) : MegaLocalRoomGateway {
     override suspend fun insertContact(contact: Contact) {
         contactDao.get().insertOrUpdateContact(contactEntityMapper(contact))
@@ -153,7 +166,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
     override suspend fun getAllContacts(): List<Contact> {
         val entities = contactDao.get().getAllContact().first()
-        return entities.map { contactModelMapper(it) }
+        return contactModelMapper(entities)
     }
 
     override fun getCompletedTransfers(size: Int?) =
@@ -185,15 +198,12 @@ internal class MegaLocalRoomFacade @Inject constructor(
     override suspend fun deleteAllCompletedTransfers() =
         completedTransferDao.get().deleteAllCompletedTransfers()
 
-    override suspend fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
-        val encryptedStates = states.mapNotNull { encryptData(it.toString()) }
-        return completedTransferDao.get().getCompletedTransfersByState(encryptedStates)
+    override suspend fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> =
+        completedTransferDao.get().getCompletedTransfersByState(states)
             .map { entity -> completedTransferModelMapper(entity) }
-    }
 
     override suspend fun deleteCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
-        val encryptedStates = states.mapNotNull { encryptData(it.toString()) }
-        val entities = completedTransferDao.get().getCompletedTransfersByState(encryptedStates)
+        val entities = completedTransferDao.get().getCompletedTransfersByState(states)
         deleteCompletedTransferBatch(entities.mapNotNull { it.id })
         return entities.map { entity -> completedTransferModelMapper(entity) }
     }
@@ -416,38 +426,78 @@ internal class MegaLocalRoomFacade @Inject constructor(
     }
 
     override suspend fun isOfflineInformationAvailable(nodeHandle: Long) =
-        offlineDao.get().getOfflineByHandle("${encryptData("$nodeHandle")}") != null
+        offlineHandleIndex.isAvailableOffline(nodeHandle)
 
     override suspend fun getOfflineInformation(nodeHandle: Long) =
-        offlineDao.get().getOfflineByHandle("${encryptData("$nodeHandle")}")?.let {
-            offlineModelMapper(it)
-        }
+        offlineHandleIndex.get(nodeHandle)
+
+    override suspend fun getOfflineInformationByHandle() = offlineHandleIndex.getAll()
 
     override suspend fun saveOfflineInformation(offline: Offline) =
         offlineEntityMapper(offline).let {
-            offlineDao.get().insertOrUpdateOffline(it)
+            offlineDao.get().insertOrUpdateOffline(it, blindIndex.getIndexTokens(offline.name))
+        }.also { id ->
+            offlineHandleIndex.put(offline.copy(id = id.toInt()))
         }
 
-    override suspend fun clearOffline() = offlineDao.get().deleteAllOffline()
+    override suspend fun clearOffline() {
+        offlineDao.get().deleteAllOffline()
+        offlineDao.get().deleteOrphanOfflineNameIndex()
+        offlineHandleIndex.clear()
+    }
 
     override fun monitorOfflineUpdates() = offlineDao.get().monitorOffline()
-        .map { it.map { offlineEntity -> offlineModelMapper(offlineEntity) } }
+        .map { offlineModelMapper(it) }
 
 
     override suspend fun getAllOfflineInfo() =
-        offlineDao.get().getOfflineFiles()?.map { offlineModelMapper(it) } ?: emptyList()
+        offlineDao.get().getOfflineFiles()?.let { offlineModelMapper(it) } ?: emptyList()
 
     override suspend fun removeOfflineInformation(nodeId: String) {
         encryptData(nodeId)?.let {
             offlineDao.get().deleteOfflineByHandle(it)
+            offlineDao.get().deleteOrphanOfflineNameIndex()
         }
+        nodeId.toLongOrNull()?.let { offlineHandleIndex.remove(it) }
     }
 
     override suspend fun getOfflineInfoByParentId(parentId: Int): List<Offline> =
-        offlineDao.get().getOfflineByParentId(parentId)?.map {
+        offlineDao.get().getOfflineByParentId(parentId)?.let {
             offlineModelMapper(it)
         } ?: emptyList()
 
+    override suspend fun searchOfflineInfo(query: String, parentId: Int): List<Offline> {
+        indexOfflineNames()
+        val tokens = blindIndex.getQueryTokens(query).toList()
+        val candidates = when {
+            tokens.isNotEmpty() -> offlineModelMapper(
+                offlineDao.get().getOfflineByNameTokens(tokens, tokens.size, parentId)
+            )
+
+            parentId == -1 -> getAllOfflineInfo()
+            else -> getOfflineInfoByParentId(parentId)
+        }
+        // Blind index matches may be false positives
+        val lowercaseQuery = query.lowercase(Locale.ROOT)
+        return candidates.filter { it.name.lowercase(Locale.ROOT).contains(lowercaseQuery) }
+    }
+
+    /**
+     * Indexes the names of the offline entities that are not indexed yet, as the ones existing
+     * before the blind index was added
+     */
+    private suspend fun indexOfflineNames() {
+        val entities = offlineDao.get().getOfflineWithoutNameIndex()
+        if (entities.isEmpty()) return
+        val nameIndex = entities.zip(offlineModelMapper(entities)) { entity, offline ->
+            val offlineId = entity.id ?: return@zip emptyList()
+            blindIndex.getIndexTokens(offline.name).map {
+                OfflineNameIndexEntity(token = it, offlineId = offlineId)
+            }
+        }.flatten()
+        offlineDao.get().insertOfflineNameIndex(nameIndex)
+    }
+
     override suspend fun getOfflineLineById(id: Int): Offline? =
         offlineDao.get().getOfflineById(id)?.let {
             offlineModelMapper(it)
@@ -455,10 +505,14 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
     override suspend fun removeOfflineInformationById(id: Int) {
         offlineDao.get().deleteOfflineById(id)
+        offlineDao.get().deleteOfflineNameIndexByOfflineId(id)
+        offlineHandleIndex.removeByIds(listOf(id))
     }
 
     override suspend fun removeOfflineInformationByIds(ids: List<Int>) {
         offlineDao.get().deleteOfflineByIds(ids)
+        offlineDao.get().deleteOrphanOfflineNameIndex()
+        offlineHandleIndex.removeByIds(ids)
     }
 
     private suspend fun deleteCompletedTransferBatch(ids: List<Int>) {
@@ -551,6 +605,27 @@ internal class MegaLocalRoomFacade @Inject constructor(
         pendingTransferDao.get().deleteAllPendingTransfers()
     }
 
+    override suspend fun getTimelinePhotos(): List<Photo> {
+        val mimeTypes = mutableMapOf<String, String>()
+        return timelinePhotoDao.get().getAllTimelinePhotos()
+            .mapNotNull { timelinePhotoModelMapper(it, mimeTypes) }
+    }
+
+    override suspend fun setTimelinePhotos(photos: List<Photo>) =
+        timelinePhotoDao.get().replaceTimelinePhotos(photos.map { timelinePhotoEntityMapper(it) })
+
+    override suspend fun insertOrUpdateTimelinePhotos(photos: List<Photo>) =
+        timelinePhotoDao.get()
+            .insertOrUpdateTimelinePhotos(photos.map { timelinePhotoEntityMapper(it) })
+
+    override suspend fun deleteTimelinePhotos(ids: List<Long>) =
+        ids.chunked(TimelinePhotoDao.MAX_DELETE_SIZE).forEach {
+            timelinePhotoDao.get().deleteTimelinePhotosByIds(it)
+        }
+
+    override suspend fun clearTimelinePhotos() =
+        timelinePhotoDao.get().deleteAllTimelinePhotos()
+
     companion object {
         private const val MAX_COMPLETED_TRANSFER_ROWS = 100
         internal const val MAX_INSERT_LIST_SIZE = 200
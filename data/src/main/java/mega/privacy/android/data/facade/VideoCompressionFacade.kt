@@ -8,9 +8,13 @@ import android.media.MediaFormat
 import android.media.MediaMetadataRetriever
 import android.media.MediaMuxer
 import android.view.Surface
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.channels.ProducerScope
 import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.flow.callbackFlow
 import kotlinx.coroutines.flow.cancellable
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.isActive
 import kotlinx.coroutines.suspendCancellableCoroutine
 import mega.privacy.android.data.compression.video.InputSurface
 import mega.privacy.android.data.compression.video.OutputSurface
@@ -37,6 +41,7 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
 
     private companion object {
         const val TIMEOUT_USEC = 10000
+        const val MAX_CONCURRENT_COMPRESSIONS = 3
         const val OUTPUT_VIDEO_MIME_TYPE = "video/avc"
         const val OUTPUT_VIDEO_FRAME_RATE = 30
         const val OUTPUT_VIDEO_IFRAME_INTERVAL = 10
@@ -73,47 +78,14 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
                     }?.let {
                         File(it).length()
                     } ?: 0
-                    runCatching {
-                        attachment?.let {
-                            outputRoot?.run {
-                                if (!fileGateway.hasEnoughStorage(
-                                        rootPath = this,
-                                        File(it.originalPath)
-                                    )
-                                ) {
-                                    send(VideoCompressionState.InsufficientStorage)
-                                } else {
-                                    prepareAndChangeResolution(attachment) { progress ->
-                                        trySend(
-                                            VideoCompressionState.Progress(
-                                                progress,
-                                                currentFileIndex,
-                                                config.total,
-                                                attachment.newPath
-                                            )
-                                        )
-                                    }
-                                    send(
-                                        VideoCompressionState.FinishedCompression(
-                                            attachment.newPath,
-                                            true,
-                                            attachment.pendingMessageId,
-                                        )
-                                    )
-                                }
-                            } ?: run {
-                                send(VideoCompressionState.InsufficientStorage)
-                            }
-                        }
-                    }.onSuccess {
-                        send(VideoCompressionState.Successful(attachment?.id))
-                    }.onFailure {
-                        Timber.d("Video Compression Failed $it")
-                        attachment?.let { videoAttachment ->
-                            File(videoAttachment.newPath).takeIf { file -> file.exists() }?.delete()
-                        }
-                        send(VideoCompressionState.Failed(attachment?.id))
-                    }
+                    compressAttachment(
+                        attachment = attachment,
+                        outputRoot = outputRoot,
+                        videoQuality = videoQuality,
+                        currentIndex = currentFileIndex,
+                        total = total,
+                        isRunning = { isRunning() },
+                    )
                 }
             }
         } catch (exception: Exception) {
@@ -125,6 +97,94 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
         channel.close()
     }.cancellable()
 
+    override fun compress(
+        videoAttachment: VideoAttachment,
+        outputRoot: String,
+        videoQuality: VideoQuality,
+    ) = channelFlow {
+        compressAttachment(
+            attachment = videoAttachment,
+            outputRoot = outputRoot,
+            videoQuality = videoQuality,
+            currentIndex = 1,
+            total = 1,
+            isRunning = { isActive },
+        )
+        send(VideoCompressionState.Finished)
+    }
+
+    override fun getMaxConcurrentCompressions(): Int {
+        val encoderInstances = runCatching {
+            selectCodec(OUTPUT_VIDEO_MIME_TYPE)
+                ?.getCapabilitiesForType(OUTPUT_VIDEO_MIME_TYPE)
+                ?.maxSupportedInstances
+        }.onFailure { Timber.e(it, "Video encoder capabilities not available") }.getOrNull()
+        Timber.d("Video encoder supported instances: $encoderInstances")
+        return (encoderInstances ?: 1).coerceIn(1, MAX_CONCURRENT_COMPRESSIONS)
+    }
+
+    /**
+     * Compresses a video attachment, sending its progress and result
+     *
+     * @param attachment the video attachment
+     * @param outputRoot root path of the compressed video, to check the available storage
+     * @param videoQuality the quality of the compressed video
+     * @param currentIndex index of the video attachment in the compressed ones
+     * @param total number of video attachments to compress
+     * @param isRunning false when the compression needs to stop
+     */
+    private suspend fun ProducerScope<VideoCompressionState>.compressAttachment(
+        attachment: VideoAttachment?,
+        outputRoot: String?,
+        videoQuality: VideoQuality,
+        currentIndex: Int,
+        total: Int,
+        isRunning: () -> Boolean,
+    ) {
+        runCatching {
+            attachment?.let {
+                outputRoot?.run {
+                    if (!fileGateway.hasEnoughStorage(
+                            rootPath = this,
+                            File(it.originalPath)
+                        )
+                    ) {
+                        send(VideoCompressionState.InsufficientStorage)
+                    } else {
+                        prepareAndChangeResolution(attachment, videoQuality, isRunning) { progress ->
+                            trySend(
+                                VideoCompressionState.Progress(
+                                    progress,
+                                    currentIndex,
+                                    total,
+                                    attachment.newPath
+                                )
+                            )
+                        }
+                        send(
+                            VideoCompressionState.FinishedCompression(
+                                attachment.newPath,
+                                true,
+                                attachment.pendingMessageId,
+                            )
+                        )
+                    }
+                } ?: run {
+                    send(VideoCompressionState.InsufficientStorage)
+                }
+            }
+        }.onSuccess {
+            send(VideoCompressionState.Successful(attachment?.id))
+        }.onFailure {
+            Timber.d("Video Compression Failed $it")
+            attachment?.let { videoAttachment ->
+                File(videoAttachment.newPath).takeIf { file -> file.exists() }?.delete()
+            }
+            if (it is CancellationException) throw it
+            send(VideoCompressionState.Failed(attachment?.id))
+        }
+    }
+
     override fun addItems(videoAttachments: List<VideoAttachment>) {
         config.queue.addAll(videoAttachments)
         config.total += videoAttachments.size
@@ -134,10 +194,6 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
         config.apply {
             isRunning = false
             videoQuality = VideoQuality.ORIGINAL
-            width = 0
-            height = 0
-            resultWidth = 0
-            resultHeight = 0
             outputRoot = null
             currentFileIndex = 0
             totalSizeProcessed = 0
@@ -149,10 +205,14 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
     /**
      * Prepare Encoder and Decoders and Change the resolution,bitrate  and mux Audio and Video
      * @param videoAttachment [VideoAttachment]
+     * @param videoQuality [VideoQuality] of the compressed video
+     * @param isRunning false when the compression needs to stop
      * @param block a callback to return video compression progress
      */
     private suspend fun prepareAndChangeResolution(
         videoAttachment: VideoAttachment,
+        videoQuality: VideoQuality,
+        isRunning: () -> Boolean,
         block: (Float) -> Unit,
     ) = suspendCancellableCoroutine {
         Timber.d("prepareAndChangeResolution")
@@ -201,11 +261,11 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
             val inputFormat = videoExtractor.getTrackFormat(videoInputTrack)
             val metadataRetriever = MediaMetadataRetriever()
             metadataRetriever.setDataSource(inputFile)
-            getOriginalWidthAndHeight(metadataRetriever)
+            val (resultWidth, resultHeight) = getResultWidthAndHeight(metadataRetriever)
             val bitrate = getBitrate(
                 (metadataRetriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_BITRATE)
                     ?: return@suspendCancellableCoroutine)
-                    .toInt(), config.videoQuality
+                    .toInt(), videoQuality
             )
             val frameRate =
                 if (inputFormat.containsKey(MediaFormat.KEY_FRAME_RATE)) inputFormat.getInteger(
@@ -216,13 +276,13 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
                     ?: return@suspendCancellableCoroutine).toLong()
             videoAttachment.totalDuration = duration
 
-            Timber.d("Video result width: ${config.resultWidth}, result height: ${config.resultHeight}, encode bitrate: $bitrate, encode frame rate: $frameRate")
+            Timber.d("Video result width: $resultWidth, result height: $resultHeight, encode bitrate: $bitrate, encode frame rate: $frameRate")
 
             val outputVideoFormat =
                 MediaFormat.createVideoFormat(
                     OUTPUT_VIDEO_MIME_TYPE,
-                    config.resultWidth,
-                    config.resultHeight,
+                    resultWidth,
+                    resultHeight,
                 ).apply {
                     setInteger(MediaFormat.KEY_COLOR_FORMAT, OUTPUT_VIDEO_COLOR_FORMAT)
                     setInteger(MediaFormat.KEY_BIT_RATE, bitrate)
@@ -269,6 +329,7 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
                 inputSurface = inputSurface,
                 outputSurface = outputSurface,
                 video = videoAttachment,
+                isRunning = isRunning,
             ) { progress ->
                 Timber.d("Current Video Compression Progress $progress")
                 block(progress)
@@ -303,6 +364,7 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
      * @param [inputSurface] [InputSurface]
      * @param [outputSurface] [OutputSurface]
      * @param [video] [VideoAttachment]
+     * @param isRunning false when the compression needs to stop
      */
     private fun changeResolution(
         videoExtractor: MediaExtractor?, audioExtractor: MediaExtractor?,
@@ -312,6 +374,7 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
         inputSurface: InputSurface,
         outputSurface: OutputSurface,
         video: VideoAttachment,
+        isRunning: () -> Boolean,
         block: (Float) -> Unit,
     ) {
         Timber.d("change Resolution")
@@ -340,6 +403,9 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
         var pendingAudioDecoderOutputBufferIndex = -1
         var muxing = false
         while ((!videoEncoderDone || !audioEncoderDone) && isRunning()) {
+            // The audio buffers are polled without waiting while the video is transcoded, so the
+            // audio is processed in the gaps of the video chain instead of blocking it
+            val audioTimeoutUs = if (videoEncoderDone) TIMEOUT_USEC.toLong() else 0L
             while (!videoExtractorDone && (encoderOutputVideoFormat == null || muxing)) {
                 val decoderInputBufferIndex =
                     videoDecoder?.dequeueInputBuffer(TIMEOUT_USEC.toLong()) ?: return
@@ -370,7 +436,7 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
                 break
             }
             while (audioDecoder != null && !audioExtractorDone && (encoderOutputAudioFormat == null || muxing)) {
-                val decoderInputBufferIndex = audioDecoder.dequeueInputBuffer(TIMEOUT_USEC.toLong())
+                val decoderInputBufferIndex = audioDecoder.dequeueInputBuffer(audioTimeoutUs)
                 if (decoderInputBufferIndex == MediaCodec.INFO_TRY_AGAIN_LATER) break
                 val decoderInputBuffer = audioDecoder.getInputBuffer(decoderInputBufferIndex)
                 val size =
@@ -430,7 +496,7 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
             }
             while (audioDecoder != null && !audioDecoderDone && (encoderOutputAudioFormat == null || muxing)) {
                 val decoderOutputBufferIndex = audioDecoder.dequeueOutputBuffer(
-                    audioDecoderOutputBufferInfo, TIMEOUT_USEC.toLong()
+                    audioDecoderOutputBufferInfo, audioTimeoutUs
                 )
                 if (decoderOutputBufferIndex == MediaCodec.INFO_TRY_AGAIN_LATER) break
                 if (decoderOutputBufferIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
@@ -508,7 +574,7 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
             }
             while (audioEncoder != null && !audioEncoderDone && (encoderOutputAudioFormat == null || muxing)) {
                 val encoderOutputBufferIndex = audioEncoder.dequeueOutputBuffer(
-                    audioEncoderOutputBufferInfo, TIMEOUT_USEC.toLong()
+                    audioEncoderOutputBufferInfo, audioTimeoutUs
                 )
                 if (encoderOutputBufferIndex == MediaCodec.INFO_TRY_AGAIN_LATER) {
                     break
@@ -562,37 +628,35 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
 
 
     /**
-     * Retrieves the original width and height of the video
+     * Retrieves the original width and height of the video and generates the new ones
      *
      * @param metadataRetriever The video metadata
+     * @return new width and height pair
      */
-    private fun getOriginalWidthAndHeight(metadataRetriever: MediaMetadataRetriever) {
-        with(config) {
-            try {
-                width =
-                    (metadataRetriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_WIDTH)
-                        ?: return).toInt()
-                height =
-                    (metadataRetriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_HEIGHT)
-                        ?: return)
-                        .toInt()
-
-                // If the rotation is 90 or 270, the video is in portrait mode, so we need to swap the width and height
-                val rotation =
-                    metadataRetriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_ROTATION)
-                rotation
-                    ?.toIntOrNull()
-                    ?.takeIf { it == 90 || it == 270 }
-                    ?.let { width = height.also { height = width } }
-                Timber.d("Video original width: $width, original height: $height original rotation: $rotation")
-            } catch (e: Exception) {
-                Timber.e("Metadata Retrieval Exception: $e")
-            }
-            val (newWidth, newHeight) = generateWidthAndHeight(width, height)
-            resultWidth = newWidth
-            resultHeight = newHeight
+    private fun getResultWidthAndHeight(metadataRetriever: MediaMetadataRetriever): Pair<Int, Int> {
+        var width = 0
+        var height = 0
+        try {
+            width =
+                (metadataRetriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_WIDTH)
+                    ?: return generateWidthAndHeight(width, height)).toInt()
+            height =
+                (metadataRetriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_HEIGHT)
+                    ?: return generateWidthAndHeight(width, height))
+                    .toInt()
+
+            // If the rotation is 90 or 270, the video is in portrait mode, so we need to swap the width and height
+            val rotation =
+                metadataRetriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_ROTATION)
+            rotation
+                ?.toIntOrNull()
+                ?.takeIf { it == 90 || it == 270 }
+                ?.let { width = height.also { height = width } }
+            Timber.d("Video original width: $width, original height: $height original rotation: $rotation")
+        } catch (e: Exception) {
+            Timber.e("Metadata Retrieval Exception: $e")
         }
-
+        return generateWidthAndHeight(width, height)
     }
 
     /**
@@ -798,10 +862,6 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
      *
      * @param isRunning [Boolean] video compression is running or not
      * @param videoQuality [VideoQuality] Video Quality based on the User Settings
-     * @param width [Int] Original width of the video
-     * @param height [Int] Original height of the video
-     * @param resultWidth [Int] Calculated new width of the video
-     * @param resultHeight [Int] Calculated new height of the video
      * @param outputRoot [String] root path to check whether enough disk space is available or not
      * @param currentFileIndex [Int] current video index which is being compressed
      * @param totalSizeProcessed [Long] total size processed for the current video
@@ -811,10 +871,6 @@ internal class VideoCompressionFacade @Inject constructor(private val fileGatewa
     inner class VideoCompressionConfig(
         var isRunning: Boolean = false,
         var videoQuality: VideoQuality = VideoQuality.ORIGINAL,
-        var width: Int = 0,
-        var height: Int = 0,
-        var resultWidth: Int = 0,
-        var resultHeight: Int = 0,
         var outputRoot: String? = null,
         var currentFileIndex: Int = 0,
         var totalSizeProcessed: Long = 0,
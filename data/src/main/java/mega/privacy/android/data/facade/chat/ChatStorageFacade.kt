@@ -5,8 +5,10 @@ import dagger.Lazy
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.database.chat.ChatDatabase
 import mega.privacy.android.data.database.dao.ChatMessageMetaDao
+import mega.privacy.android.data.database.dao.ChatMessageSearchDao
 import mega.privacy.android.data.database.dao.ChatNodeDao
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
+import mega.privacy.android.data.database.entity.chat.ChatMessageSearchEntity
 import mega.privacy.android.data.database.entity.chat.ChatNodeEntity
 import mega.privacy.android.data.database.entity.chat.GiphyEntity
 import mega.privacy.android.data.database.entity.chat.NodeMessageCrossRef
@@ -59,10 +61,15 @@ internal class ChatStorageFacade @Inject constructor(
             val chatNodeDao = chatNodeDao()
             val typedMessageDao = typedMessageDao()
             val metaDao = chatMessageMetaDao()
+            val searchDao = chatMessageSearchDao()
             withTransaction {
-                typedMessageDao.deleteStaleMessagesByTempIds(messages.map { it.tempId }
-                    .filterNot { it == -1L })
+                val tempIds = messages.map { it.tempId }.filterNot { it == -1L }
+                typedMessageDao.deleteStaleMessagesByTempIds(tempIds)
                 typedMessageDao.insertAll(messages)
+                searchDao.deleteByMessageIds(tempIds + messages.map { it.messageId })
+                messages.mapNotNull { it.toSearchEntity() }
+                    .takeUnless { it.isEmpty() }
+                    ?.let { searchDao.insertAll(it) }
                 richPreviews.takeUnless { it.isEmpty() }
                     ?.let { metaDao.insertRichPreviews(it) }
                 giphys.takeUnless { it.isEmpty() }?.let { metaDao.insertGiphys(it) }
@@ -94,11 +101,12 @@ internal class ChatStorageFacade @Inject constructor(
         with(database.get()) {
             val chatNodeDao = chatNodeDao()
             val metaDao = chatMessageMetaDao()
+            val searchDao = chatMessageSearchDao()
             val typedMessageDao = typedMessageDao()
             withTransaction {
                 val messagesToDelete = typedMessageDao.getMsgIdsByChatId(chatId)
                 typedMessageDao.deleteMessagesByChatId(chatId)
-                cascadeMessageDeletion(metaDao, messagesToDelete, chatNodeDao)
+                cascadeMessageDeletion(metaDao, searchDao, messagesToDelete, chatNodeDao)
             }
         }
     }
@@ -176,21 +184,51 @@ internal class ChatStorageFacade @Inject constructor(
         with(database.get()) {
             val chatNodeDao = chatNodeDao()
             val metaDao = chatMessageMetaDao()
+            val searchDao = chatMessageSearchDao()
             val typedMessageDao = typedMessageDao()
             withTransaction {
                 val messagesToDelete =
                     typedMessageDao.getMsgIdsByChatIdAndLatestDate(chatId, truncateTimestamp)
                 typedMessageDao.deleteMessagesById(messagesToDelete)
-                cascadeMessageDeletion(metaDao, messagesToDelete, chatNodeDao)
+                cascadeMessageDeletion(metaDao, searchDao, messagesToDelete, chatNodeDao)
             }
         }
     }
 
+    override suspend fun getMessageIds(chatId: Long) =
+        database.get().typedMessageDao().getMsgIdsByChatId(chatId)
+
+    override suspend fun deleteStaleMessages(
+        chatId: Long,
+        fromTimestamp: Long,
+        keptMessageIds: Set<Long>,
+    ) {
+        with(database.get()) {
+            val chatNodeDao = chatNodeDao()
+            val metaDao = chatMessageMetaDao()
+            val searchDao = chatMessageSearchDao()
+            val typedMessageDao = typedMessageDao()
+            withTransaction {
+                val messagesToDelete =
+                    typedMessageDao.getMsgIdsByChatIdAndEarliestDate(chatId, fromTimestamp)
+                        .filterNot { it in keptMessageIds }
+                if (messagesToDelete.isEmpty()) return@withTransaction
+                typedMessageDao.deleteMessagesById(messagesToDelete)
+                cascadeMessageDeletion(metaDao, searchDao, messagesToDelete, chatNodeDao)
+            }
+        }
+    }
+
+    override fun searchMessages(query: String, chatId: Long?) =
+        database.get().chatMessageSearchDao().search(query, chatId)
+
     private fun cascadeMessageDeletion(
         metaDao: ChatMessageMetaDao,
+        searchDao: ChatMessageSearchDao,
         messagesToDelete: List<Long>,
         chatNodeDao: ChatNodeDao,
     ) {
+        searchDao.deleteByMessageIds(messagesToDelete)
         metaDao.deleteRichPreviewsByMessageId(messagesToDelete)
         metaDao.deleteGiphysByMessageId(messagesToDelete)
         metaDao.deleteGeolocationsByMessageId(messagesToDelete)
@@ -212,4 +250,22 @@ internal class ChatStorageFacade @Inject constructor(
     override suspend fun clearAllData() {
         database.get().clearAllTables()
     }
-}
\ No newline at end of file
+
+    /**
+     * Maps a message to its search entry, null if it has no searchable text
+     */
+    private fun TypedMessageEntity.toSearchEntity(): ChatMessageSearchEntity? {
+        if (isDeleted || isManagementMessage) return null
+        val text = listOfNotNull(content, textMessage)
+            .filter { it.isNotBlank() }
+            .distinct()
+            .joinToString(separator = " ")
+            .takeIf { it.isNotEmpty() } ?: return null
+        return ChatMessageSearchEntity(
+            messageId = messageId,
+            chatId = chatId,
+            timestamp = timestamp,
+            text = text,
+        )
+    }
+}
@@ -27,4 +27,13 @@ interface CameraUploadsMediaGateway {
      * @param parentPath path that contains the media
      */
     fun getMediaSelectionQuery(parentPath: String): String
+
+    /**
+     * Get the selection query to filter the media based on the parent path, restricted to the media
+     * added or modified since the given scan cursor
+     *
+     * @param parentPath path that contains the media
+     * @param scanCursor the high-water mark of the previous scan, in milliseconds
+     */
+    fun getIncrementalMediaSelectionQuery(parentPath: String, scanCursor: Long): String
 }
@@ -5,6 +5,7 @@ import mega.privacy.android.data.model.VideoRecentlyWatchedItem
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.Contact
 import mega.privacy.android.domain.entity.Offline
+import mega.privacy.android.domain.entity.photos.Photo
 import mega.privacy.android.domain.entity.SdTransfer
 import mega.privacy.android.domain.entity.backup.Backup
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
@@ -404,6 +405,13 @@ interface MegaLocalRoomGateway {
      */
     suspend fun getOfflineInformation(nodeHandle: Long): Offline?
 
+    /**
+     * Get the offline information of all the nodes available offline
+     *
+     * @return offline information by node handle
+     */
+    suspend fun getOfflineInformationByHandle(): Map<Long, Offline>
+
     /**
      * Save offline information
      *
@@ -436,6 +444,14 @@ interface MegaLocalRoomGateway {
      */
     suspend fun getOfflineInfoByParentId(parentId: Int): List<Offline>
 
+    /**
+     * Search offline nodes by name
+     *
+     * @param query text the name of the nodes needs to contain, case insensitive
+     * @param parentId id of the parent of the nodes, or -1 to search in any parent
+     */
+    suspend fun searchOfflineInfo(query: String, parentId: Int): List<Offline>
+
     /**
      * Get offline node by ID
      */
@@ -540,4 +556,37 @@ interface MegaLocalRoomGateway {
      * Delete all pending transfers
      */
     suspend fun deleteAllPendingTransfers()
+
+    /**
+     * Get the timeline photos index
+     *
+     * @return the timeline photos, sorted by modification time descending
+     */
+    suspend fun getTimelinePhotos(): List<Photo>
+
+    /**
+     * Replace the timeline photos index
+     *
+     * @param photos all the timeline photos
+     */
+    suspend fun setTimelinePhotos(photos: List<Photo>)
+
+    /**
+     * Insert or update timeline photos in the index
+     *
+     * @param photos the timeline photos
+     */
+    suspend fun insertOrUpdateTimelinePhotos(photos: List<Photo>)
+
+    /**
+     * Delete timeline photos from the index
+     *
+     * @param ids the node handles of the photos
+     */
+    suspend fun deleteTimelinePhotos(ids: List<Long>)
+
+    /**
+     * Clear the timeline photos index
+     */
+    suspend fun clearTimelinePhotos()
 }
@@ -40,4 +40,24 @@ internal interface VideoCompressorGateway {
      * add list to queue
      */
     fun addItems(videoAttachments: List<VideoAttachment>)
+
+    /**
+     * compress a single video, independently of the queue, so several videos can be compressed
+     * at the same time
+     *
+     * @param videoAttachment the video to compress
+     * @param outputRoot root path to check whether enough disk space is available or not
+     * @param videoQuality quality of the compressed video
+     * @return flow of [VideoCompressionState], ending with [VideoCompressionState.Finished]
+     */
+    fun compress(
+        videoAttachment: VideoAttachment,
+        outputRoot: String,
+        videoQuality: VideoQuality,
+    ): Flow<VideoCompressionState>
+
+    /**
+     * get the number of videos the video codecs of the device can compress at the same time
+     */
+    fun getMaxConcurrentCompressions(): Int
 }
@@ -12,6 +12,7 @@ import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
 import mega.privacy.android.domain.entity.chat.ChatMessageType
 import mega.privacy.android.domain.entity.chat.PendingMessageState
 import mega.privacy.android.domain.entity.chat.messages.pending.UpdatePendingMessageRequest
+import mega.privacy.android.domain.entity.chat.messages.search.ChatMessageSearchResult
 
 /**
  * Chat storage gateway
@@ -158,6 +159,32 @@ interface ChatStorageGateway {
      */
     suspend fun truncateMessages(chatId: Long, truncateTimestamp: Long)
 
+    /**
+     * Get the ids of the stored messages of a chat
+     *
+     * @param chatId Chat ID
+     * @return message ids
+     */
+    suspend fun getMessageIds(chatId: Long): List<Long>
+
+    /**
+     * Delete the stored messages of a chat that are no longer in its history
+     *
+     * @param chatId Chat ID
+     * @param fromTimestamp Only messages with the same or a newer timestamp are deleted
+     * @param keptMessageIds Ids of the messages still in the history, they are not deleted
+     */
+    suspend fun deleteStaleMessages(chatId: Long, fromTimestamp: Long, keptMessageIds: Set<Long>)
+
+    /**
+     * Search the stored messages
+     *
+     * @param query Full text search query
+     * @param chatId Chat ID to search in, null to search in all the chats
+     * @return paging source of the matching messages, ranked by relevance
+     */
+    fun searchMessages(query: String, chatId: Long?): PagingSource<Int, ChatMessageSearchResult>
+
     /**
      * Clear chat pending messages
      *
@@ -1,6 +1,8 @@
 package mega.privacy.android.data.gateway.preferences
 
 import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 
 /**
  * CameraUploads Settings Preference Gateway
@@ -205,4 +207,29 @@ interface CameraUploadsSettingsPreferenceGateway {
      * @param chargingRequired the new Device charging state
      */
     suspend fun setChargingRequiredToUploadContent(chargingRequired: Boolean)
+
+    /**
+     * Gets the high-water mark of the last media store scan for the given folder and file types
+     *
+     * @param folderType the [CameraUploadFolderType] scanned
+     * @param fileType the [CameraUploadsRecordType] scanned
+     * @return the scan cursor in milliseconds, or null if none has been saved
+     */
+    suspend fun getMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ): Long?
+
+    /**
+     * Sets the high-water mark of the last media store scan for the given folder and file types
+     *
+     * @param folderType the [CameraUploadFolderType] scanned
+     * @param fileType the [CameraUploadsRecordType] scanned
+     * @param scanCursor the scan cursor in milliseconds. If null, the saved value is removed
+     */
+    suspend fun setMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        scanCursor: Long?,
+    )
 }
@@ -0,0 +1,86 @@
+package mega.privacy.android.data.mapper
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+
+/**
+ * Maps lists in fixed size batches, with a bounded number of parallel workers
+ *
+ * Mapping a large list with one coroutine per item creates as many coroutines as items, all of them
+ * competing for the dispatcher, and nothing is available until every item is mapped. Instead, the
+ * items are mapped batch by batch, each batch split in slices mapped by at most [parallelism]
+ * workers, shared by every list mapped with the same instance. Each batch is available as soon as
+ * it is mapped.
+ *
+ * @param dispatcher dispatcher the workers run on
+ * @param batchSize the number of items of each batch
+ * @param parallelism the maximum number of workers mapping items at the same time
+ */
+class ChunkedMapper(
+    private val dispatcher: CoroutineDispatcher,
+    private val batchSize: Int = DEFAULT_BATCH_SIZE,
+    private val parallelism: Int = DEFAULT_PARALLELISM,
+) {
+    init {
+        require(batchSize > 0) { "batchSize must be positive" }
+        require(parallelism > 0) { "parallelism must be positive" }
+    }
+
+    private val workers = Semaphore(parallelism)
+
+    /**
+     * Maps [items] in batches
+     *
+     * @param items the items to map
+     * @param transform the mapping of each item
+     * @return a flow emitting the mapped items of each batch, in the order of [items]
+     */
+    fun <T, R> mapInBatches(items: List<T>, transform: suspend (T) -> R): Flow<List<R>> = flow {
+        for (start in items.indices step batchSize) {
+            emit(mapBatch(items.subList(start, minOf(start + batchSize, items.size)), transform))
+        }
+    }
+
+    /**
+     * Maps all the [items], batch by batch
+     *
+     * @param items the items to map
+     * @param transform the mapping of each item
+     * @return the mapped items, in the order of [items]
+     */
+    suspend fun <T, R> mapAll(items: List<T>, transform: suspend (T) -> R): List<R> {
+        val mapped = ArrayList<R>(items.size)
+        mapInBatches(items, transform).collect { mapped.addAll(it) }
+        return mapped
+    }
+
+    private suspend fun <T, R> mapBatch(
+        batch: List<T>,
+        transform: suspend (T) -> R,
+    ): List<R> = coroutineScope {
+        val sliceSize = (batch.size + parallelism - 1) / parallelism
+        batch.chunked(sliceSize).map { slice ->
+            async(dispatcher) {
+                workers.withPermit { slice.map { transform(it) } }
+            }
+        }.awaitAll().flatten()
+    }
+
+    companion object {
+        /**
+         * Default batch size, about the number of items of the first page of a node list
+         */
+        const val DEFAULT_BATCH_SIZE = 100
+
+        /**
+         * Default number of parallel workers
+         */
+        const val DEFAULT_PARALLELISM = 4
+    }
+}
@@ -39,6 +39,28 @@ class FileTypeInfoMapper @Inject constructor(private val mimeTypeMapper: MimeTyp
             duration = duration
         )
     }
+
+    /**
+     * Get FileTypeInfo by filename and duration, reusing the mime types already resolved for the
+     * same extension
+     *
+     * @param fileName file name
+     * @param duration the duration of media item
+     * @param mimeTypes the mime types resolved by extension, shared by the files mapped together
+     */
+    operator fun invoke(
+        fileName: String,
+        duration: Int,
+        mimeTypes: MutableMap<String, String>,
+    ): FileTypeInfo {
+        val extension = fileName.substringAfterLast('.', "")
+        val mimeType = mimeTypes.getOrPut(extension) { mimeTypeMapper(extension) }
+        return getFileTypeInfoForExtension(
+            mimeType = mimeType,
+            extension = extension,
+            duration = duration
+        )
+    }
 }
 
 internal fun getFileTypeInfoForExtension(
@@ -0,0 +1,23 @@
+package mega.privacy.android.data.mapper.chat
+
+import javax.inject.Inject
+
+/**
+ * Mapper for converting the text typed by the user to a full text search query
+ *
+ * Every word is quoted, so the characters of the query syntax are searched as text, and matched
+ * as a prefix, so results show up while the last word is being typed. All the words need to
+ * match. The search table is FTS4, so the prefix mark goes inside the quotes.
+ */
+internal class ChatMessageSearchQueryMapper @Inject constructor() {
+
+    operator fun invoke(text: String) = text
+        .split(WHITESPACE)
+        .map { it.replace("\"", "") }
+        .filter { it.isNotEmpty() }
+        .joinToString(separator = " ") { "\"$it*\"" }
+
+    companion object {
+        private val WHITESPACE = Regex("\\s+")
+    }
+}
@@ -15,4 +15,29 @@ internal class ContactModelMapper @Inject constructor(
         nickname = decryptData(entity.nickName),
         email = decryptData(entity.mail),
     )
-}
\ No newline at end of file
+
+    /**
+     * Maps a list of entities, decrypting the fields of all of them in a single batch
+     */
+    suspend operator fun invoke(entities: List<ContactEntity>): List<Contact> {
+        if (entities.isEmpty()) return emptyList()
+        val decryptedFields = decryptData.decryptAll(
+            entities.flatMap {
+                listOf(it.handle, it.firstName, it.lastName, it.nickName, it.mail)
+            }
+        ).chunked(ENCRYPTED_FIELD_COUNT)
+        return decryptedFields.map { (handle, firstName, lastName, nickname, email) ->
+            Contact(
+                userId = handle?.toLongOrNull() ?: 0L,
+                firstName = firstName,
+                lastName = lastName,
+                nickname = nickname,
+                email = email,
+            )
+        }
+    }
+
+    companion object {
+        private const val ENCRYPTED_FIELD_COUNT = 5
+    }
+}
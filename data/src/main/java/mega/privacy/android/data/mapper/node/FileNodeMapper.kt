@@ -39,12 +39,14 @@ internal class FileNodeMapper @Inject constructor(
      *
      * @param megaNode
      * @param requireSerializedData
+     * @param batchContext lookups shared with the other nodes mapped together, if any
      * @return
      */
     suspend operator fun invoke(
         megaNode: MegaNode,
         requireSerializedData: Boolean,
         offline: Offline?,
+        batchContext: NodeBatchContext? = null,
     ): FileNode = DefaultFileNode(
         id = NodeId(megaNode.handle),
         name = megaNode.name,
@@ -59,17 +61,19 @@ internal class FileNodeMapper @Inject constructor(
         modificationTime = megaNode.modificationTime,
         thumbnailPath = getThumbnailCacheFilePath(
             megaNode,
-            cacheGateway.getThumbnailCacheFolder()
+            batchContext?.thumbnailFolder ?: cacheGateway.getThumbnailCacheFolder()
         ),
         previewPath = getPreviewCacheFilePath(
             megaNode,
-            cacheGateway.getPreviewCacheFolder()
+            batchContext?.previewFolder ?: cacheGateway.getPreviewCacheFolder()
         ),
         fullSizePath = getFullSizeCacheFilePath(
             megaNode,
-            cacheGateway.getFullSizeCacheFolder()
+            batchContext?.fullSizeFolder ?: cacheGateway.getFullSizeCacheFolder()
         ),
-        type = fileTypeInfoMapper(megaNode.name, megaNode.duration),
+        type = batchContext?.let {
+            fileTypeInfoMapper(megaNode.name, megaNode.duration, it.mimeTypes)
+        } ?: fileTypeInfoMapper(megaNode.name, megaNode.duration),
         isFavourite = megaNode.isFavourite,
         isMarkedSensitive = megaNode.isMarkedSensitive,
         isSensitiveInherited = megaApiGateway.isSensitiveInherited(megaNode),
@@ -90,6 +94,15 @@ internal class FileNodeMapper @Inject constructor(
         tags = megaNode.tags?.let { stringListMapper(it) }
     )
 
+    /**
+     * Creates the lookups shared by the nodes mapped together
+     */
+    suspend fun createBatchContext() = NodeBatchContext(
+        thumbnailFolder = cacheGateway.getThumbnailCacheFolder(),
+        previewFolder = cacheGateway.getPreviewCacheFolder(),
+        fullSizeFolder = cacheGateway.getFullSizeCacheFolder(),
+    )
+
     private fun getThumbnailCacheFilePath(megaNode: MegaNode, thumbnailFolder: File?): String? =
         thumbnailFolder?.let {
             "$it${File.separator}${megaNode.getThumbnailFileName()}"
@@ -0,0 +1,23 @@
+package mega.privacy.android.data.mapper.node
+
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Lookups shared by the nodes mapped together
+ *
+ * Mapping a file node needs the cache folders and the mime type of its extension. They are the
+ * same for every node of a list, so they are resolved once for the whole list instead of once per
+ * node.
+ *
+ * @property thumbnailFolder the thumbnail cache folder
+ * @property previewFolder the preview cache folder
+ * @property fullSizeFolder the full size cache folder
+ * @property mimeTypes the mime types already resolved, by extension
+ */
+internal class NodeBatchContext(
+    val thumbnailFolder: File?,
+    val previewFolder: File?,
+    val fullSizeFolder: File?,
+    val mimeTypes: MutableMap<String, String> = ConcurrentHashMap(),
+)
@@ -21,12 +21,15 @@ internal class NodeMapper @Inject constructor(
      * @param megaNode  Mega node to map
      * @param fromFolderLink    If the node mapping is from folder link
      * @param requireSerializedData To se the serializedData only when required and not always
+     * @param offline   Offline information of the node, if available offline
+     * @param batchContext  Lookups shared with the other nodes mapped together, if any
      */
     suspend operator fun invoke(
         megaNode: MegaNode,
         fromFolderLink: Boolean = false,
         requireSerializedData: Boolean = false,
         offline: Offline? = null,
+        batchContext: NodeBatchContext? = null,
     ) = if (megaNode.isFolder) {
         folderNodeMapper(
             megaNode = megaNode,
@@ -38,7 +41,13 @@ internal class NodeMapper @Inject constructor(
         fileNodeMapper(
             megaNode = megaNode,
             requireSerializedData = requireSerializedData,
-            offline = offline
+            offline = offline,
+            batchContext = batchContext
         )
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the lookups shared by the nodes mapped together
+     */
+    suspend fun createBatchContext() = fileNodeMapper.createBatchContext()
+}
@@ -8,15 +8,55 @@ import javax.inject.Inject
 internal class OfflineModelMapper @Inject constructor(
     private val decryptData: DecryptData,
 ) {
-    suspend operator fun invoke(offlineEntity: OfflineEntity) = Offline(
-        id = offlineEntity.id ?: -1,
-        handle = decryptData(offlineEntity.encryptedHandle).orEmpty(),
-        path = decryptData(offlineEntity.encryptedPath).orEmpty(),
-        name = decryptData(offlineEntity.encryptedName).orEmpty(),
-        parentId = offlineEntity.parentId ?: -1,
-        type = decryptData(offlineEntity.encryptedType).orEmpty(),
-        origin = offlineEntity.incoming ?: -1,
-        handleIncoming = decryptData(offlineEntity.encryptedIncomingHandle).orEmpty(),
-        lastModifiedTime = offlineEntity.lastModifiedTime ?: 0
+    suspend operator fun invoke(offlineEntity: OfflineEntity) = offlineEntity.toOffline(
+        handle = decryptData(offlineEntity.encryptedHandle),
+        path = decryptData(offlineEntity.encryptedPath),
+        name = decryptData(offlineEntity.encryptedName),
+        type = decryptData(offlineEntity.encryptedType),
+        incomingHandle = decryptData(offlineEntity.encryptedIncomingHandle),
     )
-}
\ No newline at end of file
+
+    /**
+     * Maps a list of entities, decrypting the fields of all of them in a single batch
+     */
+    suspend operator fun invoke(offlineEntities: List<OfflineEntity>): List<Offline> {
+        if (offlineEntities.isEmpty()) return emptyList()
+        val decryptedFields = decryptData.decryptAll(
+            offlineEntities.flatMap {
+                listOf(
+                    it.encryptedHandle,
+                    it.encryptedPath,
+                    it.encryptedName,
+                    it.encryptedType,
+                    it.encryptedIncomingHandle,
+                )
+            }
+        ).chunked(ENCRYPTED_FIELD_COUNT)
+        return offlineEntities.zip(decryptedFields) { offlineEntity, fields ->
+            val (handle, path, name, type, incomingHandle) = fields
+            offlineEntity.toOffline(handle, path, name, type, incomingHandle)
+        }
+    }
+
+    private fun OfflineEntity.toOffline(
+        handle: String?,
+        path: String?,
+        name: String?,
+        type: String?,
+        incomingHandle: String?,
+    ) = Offline(
+        id = id ?: -1,
+        handle = handle.orEmpty(),
+        path = path.orEmpty(),
+        name = name.orEmpty(),
+        parentId = parentId ?: -1,
+        type = type.orEmpty(),
+        origin = incoming ?: -1,
+        handleIncoming = incomingHandle.orEmpty(),
+        lastModifiedTime = lastModifiedTime ?: 0
+    )
+
+    companion object {
+        private const val ENCRYPTED_FIELD_COUNT = 5
+    }
+}
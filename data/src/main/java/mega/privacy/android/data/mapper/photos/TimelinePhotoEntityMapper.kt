@@ -0,0 +1,29 @@
+package mega.privacy.android.data.mapper.photos
+
+import mega.privacy.android.data.database.entity.TimelinePhotoEntity
+import mega.privacy.android.domain.entity.photos.Photo
+import java.time.ZoneId
+import javax.inject.Inject
+
+/**
+ * Maps a timeline [Photo] to a [TimelinePhotoEntity]
+ */
+internal class TimelinePhotoEntityMapper @Inject constructor() {
+
+    operator fun invoke(photo: Photo) = TimelinePhotoEntity(
+        id = photo.id,
+        parentId = photo.parentId,
+        name = photo.name,
+        isVideo = photo is Photo.Video,
+        isFavourite = photo.isFavourite,
+        creationTime = photo.creationTime.atZone(ZoneId.systemDefault()).toEpochSecond(),
+        modificationTime = photo.modificationTime.atZone(ZoneId.systemDefault()).toEpochSecond(),
+        thumbnailPath = photo.thumbnailFilePath,
+        previewPath = photo.previewFilePath,
+        duration = (photo as? Photo.Video)?.fileTypeInfo?.duration?.inWholeSeconds?.toInt() ?: 0,
+        size = photo.size,
+        isTakenDown = photo.isTakenDown,
+        isSensitive = photo.isSensitive,
+        isSensitiveInherited = photo.isSensitiveInherited,
+    )
+}
@@ -0,0 +1,68 @@
+package mega.privacy.android.data.mapper.photos
+
+import mega.privacy.android.data.database.entity.TimelinePhotoEntity
+import mega.privacy.android.data.mapper.FileTypeInfoMapper
+import mega.privacy.android.data.wrapper.DateUtilWrapper
+import mega.privacy.android.domain.entity.VideoFileTypeInfo
+import mega.privacy.android.domain.entity.photos.Photo
+import javax.inject.Inject
+
+/**
+ * Maps a [TimelinePhotoEntity] to a timeline [Photo]
+ */
+internal class TimelinePhotoModelMapper @Inject constructor(
+    private val fileTypeInfoMapper: FileTypeInfoMapper,
+    private val dateUtilWrapper: DateUtilWrapper,
+) {
+
+    /**
+     * Invoke
+     *
+     * @param entity the timeline photo entity
+     * @param mimeTypes the mime types resolved by extension, shared by the photos mapped together
+     * @return the photo, or null if the type of a video can not be resolved anymore
+     */
+    operator fun invoke(
+        entity: TimelinePhotoEntity,
+        mimeTypes: MutableMap<String, String> = mutableMapOf(),
+    ): Photo? {
+        val fileTypeInfo = fileTypeInfoMapper(entity.name, entity.duration, mimeTypes)
+        val creationTime = dateUtilWrapper.fromEpoch(entity.creationTime)
+        val modificationTime = dateUtilWrapper.fromEpoch(entity.modificationTime)
+        return if (entity.isVideo) {
+            (fileTypeInfo as? VideoFileTypeInfo)?.let {
+                Photo.Video(
+                    id = entity.id,
+                    parentId = entity.parentId,
+                    name = entity.name,
+                    isFavourite = entity.isFavourite,
+                    creationTime = creationTime,
+                    modificationTime = modificationTime,
+                    thumbnailFilePath = entity.thumbnailPath,
+                    previewFilePath = entity.previewPath,
+                    fileTypeInfo = it,
+                    size = entity.size,
+                    isTakenDown = entity.isTakenDown,
+                    isSensitive = entity.isSensitive,
+                    isSensitiveInherited = entity.isSensitiveInherited,
+                )
+            }
+        } else {
+            Photo.Image(
+                id = entity.id,
+                parentId = entity.parentId,
+                name = entity.name,
+                isFavourite = entity.isFavourite,
+                creationTime = creationTime,
+                modificationTime = modificationTime,
+                thumbnailFilePath = entity.thumbnailPath,
+                previewFilePath = entity.previewPath,
+                fileTypeInfo = fileTypeInfo,
+                size = entity.size,
+                isTakenDown = entity.isTakenDown,
+                isSensitive = entity.isSensitive,
+                isSensitiveInherited = entity.isSensitiveInherited,
+            )
+        }
+    }
+}
@@ -8,7 +8,6 @@ import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.emptyPreferences
 import androidx.datastore.preferences.core.longPreferencesKey
 import androidx.datastore.preferences.core.stringPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.flow.Flow
@@ -19,6 +18,7 @@ import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.AccountPreferencesGateway
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import java.io.IOException
 import javax.inject.Inject
@@ -33,7 +33,7 @@ private const val LATEST_TARGET_PATH_TIMESTAMP_COPY = "LATEST_TARGET_PATH_TIMEST
 private const val LATEST_TARGET_PATH_TIMESTAMP_MOVE = "LATEST_TARGET_PATH_TIMESTAMP_MOVE"
 private const val LAST_REGISTERED_EMAIL = "LAST_REGISTERED_EMAIL"
 
-private val Context.accountPreferencesDataStore: DataStore<Preferences> by preferencesDataStore(
+private val Context.accountPreferencesDataStore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
     name = accountPreferenceFileName,
 )
 
@@ -7,19 +7,19 @@ import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.emptyPreferences
 import androidx.datastore.preferences.core.intPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.map
 import mega.privacy.android.data.gateway.preferences.AppInfoPreferencesGateway
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import java.io.IOException
 import javax.inject.Inject
 
 private const val APP_INFO_FILE = "APP_INFO"
 private const val APP_VERSION_CODE_KEY = "APP_VERSION_CODE"
 private const val appInfoPreferenceFileName = APP_INFO_FILE
-private val Context.appInfoPreferenceDataStore: DataStore<Preferences> by preferencesDataStore(
+private val Context.appInfoPreferenceDataStore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
     name = appInfoPreferenceFileName,
     produceMigrations = {
         listOf(
@@ -12,7 +12,6 @@ import androidx.datastore.preferences.core.intPreferencesKey
 import androidx.datastore.preferences.core.longPreferencesKey
 import androidx.datastore.preferences.core.stringPreferencesKey
 import androidx.datastore.preferences.core.stringSetPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import androidx.preference.PreferenceManager
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
@@ -20,12 +19,13 @@ import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.preferences.AppPreferencesGateway
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.usecase.KEY_APPEARANCE_COLOR_THEME
 import java.io.IOException
 import javax.inject.Inject
 
-private val Context.appPreferencesDatastore: DataStore<Preferences> by preferencesDataStore(
+private val Context.appPreferencesDatastore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
 
     name = "app_preferences",
     produceMigrations = {
@@ -13,6 +13,8 @@ import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.CameraUploadsSettingsPreferenceGateway
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import javax.inject.Inject
 import javax.inject.Named
 
@@ -304,4 +306,33 @@ internal class CameraUploadsSettingsPreferenceDataStore(
             }
         }
     }
+
+    override suspend fun getMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ): Long? {
+        return getPreferenceFlow().monitor(getMediaStoreScanCursorKey(folderType, fileType))
+            .map { decryptData(it)?.toLongOrNull() }.firstOrNull()
+    }
+
+    override suspend fun setMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        scanCursor: Long?,
+    ) {
+        val key = getMediaStoreScanCursorKey(folderType, fileType)
+        val encryptedValue = encryptData(scanCursor?.toString())
+        editPreferences {
+            if (encryptedValue == null) {
+                it.remove(key)
+            } else {
+                it[key] = encryptedValue
+            }
+        }
+    }
+
+    private fun getMediaStoreScanCursorKey(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ) = stringPreferencesKey("mediaStoreScanCursorKey_${folderType.name}_${fileType.name}")
 }
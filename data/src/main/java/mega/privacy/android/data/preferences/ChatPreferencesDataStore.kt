@@ -7,7 +7,6 @@ import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.emptyPreferences
 import androidx.datastore.preferences.core.longPreferencesKey
 import androidx.datastore.preferences.core.stringPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import dagger.Lazy
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
@@ -18,14 +17,17 @@ import kotlinx.coroutines.withContext
 import mega.privacy.android.data.database.DatabaseHandler
 import mega.privacy.android.data.gateway.preferences.ChatPreferencesGateway
 import mega.privacy.android.data.mapper.VideoQualityMapper
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import mega.privacy.android.domain.entity.ChatImageQuality
 import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import java.io.IOException
 import javax.inject.Inject
 
-private val Context.chatDataStore: DataStore<Preferences> by preferencesDataStore(
-    name = "CHAT_PREFERENCES"
+internal const val chatPreferencesDataStoreName = "CHAT_PREFERENCES"
+
+internal val Context.chatDataStore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
+    name = chatPreferencesDataStoreName
 )
 
 /**
@@ -7,7 +7,6 @@ import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.emptyPreferences
 import androidx.datastore.preferences.core.stringPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
@@ -16,6 +15,7 @@ import kotlinx.coroutines.flow.map
 import mega.privacy.android.data.gateway.preferences.EphemeralCredentialsGateway
 import mega.privacy.android.data.mapper.login.EphemeralCredentialsMapper
 import mega.privacy.android.data.mapper.login.EphemeralCredentialsPreferenceMapper
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import mega.privacy.android.data.preferences.migration.EphemeralCredentialsMigration
 import mega.privacy.android.domain.entity.login.EphemeralCredentials
 import mega.privacy.android.domain.qualifier.IoDispatcher
@@ -28,7 +28,7 @@ internal class EphemeralCredentialsDataStore @Inject constructor(
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
     @ApplicationContext private val context: Context,
 ) : EphemeralCredentialsGateway {
-    private val Context.ephemeralCredentialsDataStore: DataStore<Preferences> by preferencesDataStore(
+    private val Context.ephemeralCredentialsDataStore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
         name = DATA_STORE_NAME,
         corruptionHandler = ReplaceFileCorruptionHandler(
             produceNewData = { emptyPreferences() }
@@ -7,15 +7,15 @@ import androidx.datastore.preferences.core.booleanPreferencesKey
 import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.intPreferencesKey
 import androidx.datastore.preferences.core.longPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.flow.firstOrNull
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.InAppUpdatePreferencesGateway
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import javax.inject.Inject
 
 private val inAppUpdatePreferenceFileName = "IN_APP_UPDATE"
-private val Context.appInfoPreferenceDataStore: DataStore<Preferences> by preferencesDataStore(
+private val Context.appInfoPreferenceDataStore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
     name = inAppUpdatePreferenceFileName
 )
 
@@ -7,10 +7,10 @@ import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.booleanPreferencesKey
 import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.intPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import dagger.hilt.android.qualifiers.ApplicationContext
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.MediaPlayerPreferencesGateway
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import javax.inject.Inject
 
 private const val MEDIA_PLAYER_PREFERENCES = "MEDIA_PLAYER_PREFERENCES"
@@ -19,7 +19,7 @@ private const val KEY_AUDIO_SHUFFLE_ENABLED = "settings_audio_shuffle_enabled"
 private const val KEY_AUDIO_REPEAT_MODE = "settings_audio_repeat_mode"
 private const val KEY_VIDEO_REPEAT_MODE = "settings_video_repeat_mode"
 private const val mediaPlayerPreferenceFileName = MEDIA_PLAYER_PREFERENCES
-private val Context.mediaPlayerPreferenceDataStore: DataStore<Preferences> by preferencesDataStore(
+private val Context.mediaPlayerPreferenceDataStore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
     name = mediaPlayerPreferenceFileName,
     produceMigrations = {
         listOf(
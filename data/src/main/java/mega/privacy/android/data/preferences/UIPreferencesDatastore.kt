@@ -7,21 +7,21 @@ import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.booleanPreferencesKey
 import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.intPreferencesKey
-import androidx.datastore.preferences.preferencesDataStore
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.UIPreferencesGateway
+import mega.privacy.android.data.preferences.base.loadMeasuredPreferencesDataStore
 import javax.inject.Inject
 
-private const val USER_INTERFACE_PREFERENCES = "USER_INTERFACE_PREFERENCES"
+internal const val USER_INTERFACE_PREFERENCES = "USER_INTERFACE_PREFERENCES"
 private const val PREFERRED_START_SCREEN = "PREFERRED_START_SCREEN"
 private const val HIDE_RECENT_ACTIVITY = "HIDE_RECENT_ACTIVITY"
 private const val MEDIA_DISCOVERY_VIEW = "MEDIA_DISCOVERY_VIEW"
 private const val SUBFOLDER_MEDIA_DISCOVERY = "SUBFOLDER_MEDIA_DISCOVERY"
 private const val SHOW_OFFLINE_WARNING_VIEW = "SHOW_OFFLINE_WARNING_VIEW"
 private const val VIEW_TYPE = "VIEW_TYPE"
-private val Context.uiPreferenceDataStore: DataStore<Preferences> by preferencesDataStore(
+internal val Context.uiPreferenceDataStore: DataStore<Preferences> by loadMeasuredPreferencesDataStore(
     name = USER_INTERFACE_PREFERENCES,
     produceMigrations = {
         listOf(
@@ -0,0 +1,75 @@
+package mega.privacy.android.data.preferences.base
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.update
+import mega.privacy.android.domain.entity.appstart.DataStoreLoadMetrics
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.time.Duration
+
+/**
+ * Recorder of the load metrics of the DataStores, by store name
+ *
+ * Only the first read and the first decryption of every store are recorded, later ones come from
+ * writes and do not delay any reader. It is thread safe.
+ */
+@Singleton
+internal class DataStoreLoadMetricsRecorder @Inject constructor() {
+
+    private val metrics = MutableStateFlow<Map<String, DataStoreLoadMetrics>>(emptyMap())
+    private val preloadedStoreNames = MutableStateFlow<Set<String>>(emptySet())
+
+    /**
+     * Records that a store is going to be preloaded at start up, so its first read is recorded
+     * as preloaded if no one else read it before
+     *
+     * @param storeName the name of the store
+     */
+    fun recordPreloadStart(storeName: String) = preloadedStoreNames.update { it + storeName }
+
+    /**
+     * Records the first read of a store
+     *
+     * @param storeName the name of the store
+     * @param duration the time the read took, including the creation of the store
+     */
+    fun recordFirstRead(storeName: String, duration: Duration) {
+        val isPreloaded = storeName in preloadedStoreNames.value
+        updateMetrics(storeName) {
+            if (it.firstReadDuration != null) it
+            else it.copy(firstReadDuration = duration, isPreloaded = isPreloaded)
+        }
+    }
+
+    /**
+     * Records the decryption of the file of a store
+     *
+     * @param storeName the name of the store
+     * @param duration the time the decryption took
+     */
+    fun recordDecrypt(storeName: String, duration: Duration) = updateMetrics(storeName) {
+        if (it.decryptDuration != null) it else it.copy(decryptDuration = duration)
+    }
+
+    /**
+     * Monitors the metrics
+     *
+     * @return flow of the metrics of the stores loaded so far, in load order
+     */
+    fun monitorMetrics(): Flow<List<DataStoreLoadMetrics>> = metrics.map { it.values.toList() }
+
+    private fun updateMetrics(
+        storeName: String,
+        transform: (DataStoreLoadMetrics) -> DataStoreLoadMetrics,
+    ) = metrics.update { current ->
+        val storeMetrics = current[storeName] ?: DataStoreLoadMetrics(
+            storeName = storeName,
+            firstReadDuration = null,
+            decryptDuration = null,
+            isPreloaded = false,
+        )
+        current + (storeName to transform(storeMetrics))
+    }
+}
@@ -11,6 +11,7 @@ import androidx.security.crypto.streamingAead
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.SupervisorJob
+import kotlin.time.Duration
 
 /**
  * Creates DataStore instance stored in [EncryptedFile].
@@ -26,6 +27,7 @@ import kotlinx.coroutines.SupervisorJob
  *     ).build()
  * }
  *
+ * @param onDecrypted called with the time taken every time the file is read and decrypted
  * @see DataStoreFactory.create
  */
 internal fun <T> DataStoreFactory.createEncrypted(
@@ -33,6 +35,7 @@ internal fun <T> DataStoreFactory.createEncrypted(
     corruptionHandler: ReplaceFileCorruptionHandler<T>? = null,
     migrations: List<DataMigration<T>> = listOf(),
     scope: CoroutineScope = CoroutineScope(Dispatchers.IO + SupervisorJob()),
+    onDecrypted: (Duration) -> Unit = {},
     produceFile: () -> EncryptedFile
 ): DataStore<T> {
     val encryptedFile = produceFile()
@@ -42,7 +45,7 @@ internal fun <T> DataStoreFactory.createEncrypted(
     val associatedData = file.name.toByteArray()
 
     return create(
-        serializer = serializer.encrypted(streamingAead, associatedData),
+        serializer = serializer.encrypted(streamingAead, associatedData, onDecrypted),
         corruptionHandler = corruptionHandler,
         migrations = migrations,
         scope = scope,
@@ -18,6 +18,7 @@ import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
 import timber.log.Timber
+import kotlin.time.Duration
 
 /**
  * Creates Preferences DataStore instance stored in [EncryptedFile].
@@ -34,6 +35,7 @@ import timber.log.Timber
  *     ).build()
  * }
  * ```
+ * @param onDecrypted called with the time taken every time the file is read and decrypted
  * @see PreferenceDataStoreFactory.create
  */
 fun PreferenceDataStoreFactory.createEncrypted(
@@ -43,6 +45,7 @@ fun PreferenceDataStoreFactory.createEncrypted(
     scope: CoroutineScope = CoroutineScope(Dispatchers.IO + SupervisorJob()),
     masterKey: MasterKey?,
     fileName: String,
+    onDecrypted: (Duration) -> Unit = {},
 ): DataStore<Preferences> {
     return try {
         masterKey ?: throw IllegalArgumentException("Failed to create MasterKey")
@@ -57,6 +60,7 @@ fun PreferenceDataStoreFactory.createEncrypted(
             corruptionHandler = corruptionHandler,
             migrations = migrations,
             scope = scope,
+            onDecrypted = onDecrypted,
             produceFile = { encryptedFile },
         )
         PreferenceDataStore(delegate)
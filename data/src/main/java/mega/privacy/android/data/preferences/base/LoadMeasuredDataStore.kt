@@ -0,0 +1,100 @@
+package mega.privacy.android.data.preferences.base
+
+import android.content.Context
+import androidx.datastore.core.DataMigration
+import androidx.datastore.core.DataStore
+import androidx.datastore.core.handlers.ReplaceFileCorruptionHandler
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.preferencesDataStore
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlin.properties.ReadOnlyProperty
+import kotlin.reflect.KProperty
+import kotlin.time.TimeSource
+
+/**
+ * Wraps the DataStore to record the time its first read takes in [recorder]
+ *
+ * The read is timed from the collection of [DataStore.data] to its first value, which includes
+ * the creation of the file, the migrations and the decryption if any.
+ *
+ * @param storeName the name of the store
+ */
+internal fun DataStore<Preferences>.withLoadMetrics(
+    storeName: String,
+    recorder: DataStoreLoadMetricsRecorder,
+): DataStore<Preferences> = LoadMeasuredDataStore(storeName, this, recorder)
+
+/**
+ * Same as [preferencesDataStore], but the first read of the store is recorded in the
+ * [DataStoreLoadMetricsRecorder] of the application.
+ *
+ * @see preferencesDataStore
+ */
+internal fun loadMeasuredPreferencesDataStore(
+    name: String,
+    corruptionHandler: ReplaceFileCorruptionHandler<Preferences>? = null,
+    produceMigrations: (Context) -> List<DataMigration<Preferences>> = { listOf() },
+    scope: CoroutineScope = CoroutineScope(Dispatchers.IO + SupervisorJob()),
+): ReadOnlyProperty<Context, DataStore<Preferences>> = LoadMeasuredDataStoreDelegate(
+    name = name,
+    delegate = preferencesDataStore(name, corruptionHandler, produceMigrations, scope),
+)
+
+/**
+ * Entry point to get the [DataStoreLoadMetricsRecorder] where it cannot be injected
+ */
+@EntryPoint
+@InstallIn(SingletonComponent::class)
+internal interface DataStoreLoadMetricsEntryPoint {
+    fun dataStoreLoadMetricsRecorder(): DataStoreLoadMetricsRecorder
+}
+
+private class LoadMeasuredDataStore(
+    private val storeName: String,
+    private val delegate: DataStore<Preferences>,
+    private val recorder: DataStoreLoadMetricsRecorder,
+) : DataStore<Preferences> by delegate {
+
+    override val data: Flow<Preferences> = flow {
+        val start = TimeSource.Monotonic.markNow()
+        var isFirst = true
+        delegate.data.collect {
+            if (isFirst) {
+                isFirst = false
+                // the recorder keeps the first read of the store only
+                recorder.recordFirstRead(storeName, start.elapsedNow())
+            }
+            emit(it)
+        }
+    }
+}
+
+private class LoadMeasuredDataStoreDelegate(
+    private val name: String,
+    private val delegate: ReadOnlyProperty<Context, DataStore<Preferences>>,
+) : ReadOnlyProperty<Context, DataStore<Preferences>> {
+
+    private val lock = Any()
+
+    @Volatile
+    private var instance: DataStore<Preferences>? = null
+
+    override fun getValue(thisRef: Context, property: KProperty<*>): DataStore<Preferences> =
+        instance ?: synchronized(lock) {
+            instance ?: delegate.getValue(thisRef, property).withLoadMetrics(
+                storeName = name,
+                recorder = EntryPointAccessors.fromApplication(
+                    thisRef.applicationContext,
+                    DataStoreLoadMetricsEntryPoint::class.java
+                ).dataStoreLoadMetricsRecorder()
+            ).also { instance = it }
+        }
+}
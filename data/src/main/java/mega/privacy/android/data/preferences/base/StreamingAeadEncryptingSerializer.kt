@@ -4,20 +4,27 @@ import androidx.datastore.core.Serializer
 import com.google.crypto.tink.StreamingAead
 import java.io.InputStream
 import java.io.OutputStream
+import kotlin.time.Duration
+import kotlin.time.measureTimedValue
 
 internal class StreamingAeadEncryptingSerializer<T>(
     private val streamingAead: StreamingAead,
     private val associatedData: ByteArray,
     val delegate: Serializer<T>,
+    private val onDecrypted: (Duration) -> Unit = {},
 ) : Serializer<T> {
 
     override val defaultValue: T
         get() = delegate.defaultValue
 
     override suspend fun readFrom(input: InputStream): T {
-        return streamingAead.newDecryptingStream(input, associatedData).use { decryptingStream ->
-            delegate.readFrom(decryptingStream)
+        val (value, duration) = measureTimedValue {
+            streamingAead.newDecryptingStream(input, associatedData).use { decryptingStream ->
+                delegate.readFrom(decryptingStream)
+            }
         }
+        onDecrypted(duration)
+        return value
     }
 
     override suspend fun writeTo(t: T, output: OutputStream) {
@@ -34,8 +41,16 @@ internal class StreamingAeadEncryptingSerializer<T>(
  * Associated data is authenticated but not encrypted. In some cases, binding ciphertext
  * to associated data strengthens security:
  * [I want to bind ciphertext to its context](https://developers.google.com/tink/bind-ciphertext)
+ *
+ * [onDecrypted] is called with the time taken every time the file is read and decrypted.
  */
 internal fun <T> Serializer<T>.encrypted(
     streamingAead: StreamingAead,
     associatedData: ByteArray = byteArrayOf(),
-) = StreamingAeadEncryptingSerializer(streamingAead, associatedData, delegate = this)
+    onDecrypted: (Duration) -> Unit = {},
+) = StreamingAeadEncryptingSerializer(
+    streamingAead,
+    associatedData,
+    delegate = this,
+    onDecrypted = onDecrypted
+)
@@ -8,3 +8,10 @@ import javax.inject.Qualifier
 @Retention(AnnotationRetention.RUNTIME)
 @Qualifier
 internal annotation class RequestPhoneNumberPreference
+
+/**
+ * Annotation for the DataStores needed at start up, preloaded in parallel when the app starts
+ */
+@Retention(AnnotationRetention.RUNTIME)
+@Qualifier
+internal annotation class StartupDataStore
@@ -46,7 +46,7 @@ internal class AudioSectionRepositoryImpl @Inject constructor(
             ).map { megaNode ->
                 typedAudioNodeMapper(
                     fileNode = megaNode.convertToFileNode(
-                        offlineItems?.get(megaNode.handle.toString())
+                        offlineItems?.get(megaNode.handle)
                     ),
                     duration = megaNode.duration,
                 )
@@ -54,7 +54,7 @@ internal class AudioSectionRepositoryImpl @Inject constructor(
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo()?.associateBy { it.handle }
+        megaLocalRoomGateway.getOfflineInformationByHandle()
 
     private suspend fun MegaNode.convertToFileNode(offline: Offline?) = fileNodeMapper(
         megaNode = this, requireSerializedData = false, offline = offline
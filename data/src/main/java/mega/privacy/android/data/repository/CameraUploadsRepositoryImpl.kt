@@ -121,6 +121,7 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
                 uploadOption
             )
         )
+        resetMediaStoreScanCursors(CameraUploadFolderType.entries)
     }
 
     override suspend fun doPreferencesExist(): Boolean = withContext(ioDispatcher) {
@@ -145,11 +146,13 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
 
     override suspend fun setPrimaryFolderLocalPath(localPath: String) = withContext(ioDispatcher) {
         cameraUploadsSettingsPreferenceGateway.setCameraUploadsLocalPath(localPath)
+        resetMediaStoreScanCursors(listOf(CameraUploadFolderType.Primary))
     }
 
     override suspend fun setSecondaryFolderLocalPath(localPath: String) =
         withContext(ioDispatcher) {
             cameraUploadsSettingsPreferenceGateway.setMediaUploadsLocalPath(localPath)
+            resetMediaStoreScanCursors(listOf(CameraUploadFolderType.Secondary))
         }
 
     override suspend fun setSecondaryEnabled(secondaryCameraUpload: Boolean) =
@@ -539,6 +542,45 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
     override fun getMediaSelectionQuery(parentPath: String): String =
         cameraUploadsMediaGateway.getMediaSelectionQuery(parentPath)
 
+    override fun getIncrementalMediaSelectionQuery(parentPath: String, scanCursor: Long): String =
+        cameraUploadsMediaGateway.getIncrementalMediaSelectionQuery(parentPath, scanCursor)
+
+    override suspend fun getMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ) = withContext(ioDispatcher) {
+        cameraUploadsSettingsPreferenceGateway.getMediaStoreScanCursor(folderType, fileType)
+    }
+
+    override suspend fun setMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        scanCursor: Long?,
+    ) = withContext(ioDispatcher) {
+        cameraUploadsSettingsPreferenceGateway.setMediaStoreScanCursor(
+            folderType,
+            fileType,
+            scanCursor,
+        )
+    }
+
+    /**
+     * Reset the media store scan cursors of the given folder types, so that the next scan
+     * of these folders is a full scan
+     *
+     * @param folderTypes a list of folder type (Primary, Secondary, or both)
+     */
+    private suspend fun resetMediaStoreScanCursors(folderTypes: List<CameraUploadFolderType>) =
+        folderTypes.forEach { folderType ->
+            CameraUploadsRecordType.entries.forEach { fileType ->
+                cameraUploadsSettingsPreferenceGateway.setMediaStoreScanCursor(
+                    folderType,
+                    fileType,
+                    null,
+                )
+            }
+        }
+
     override suspend fun insertOrUpdateCameraUploadsRecords(records: List<CameraUploadsRecord>) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.insertOrUpdateCameraUploadsRecords(records)
@@ -590,6 +632,7 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
         folderTypes: List<CameraUploadFolderType>,
     ) = withContext(ioDispatcher) {
         megaLocalRoomGateway.deleteCameraUploadsRecords(folderTypes)
+        resetMediaStoreScanCursors(folderTypes)
     }
 
     override fun monitorIsChargingRequiredToUploadContent(): Flow<Boolean?> =
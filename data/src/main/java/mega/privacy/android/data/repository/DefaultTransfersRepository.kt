@@ -14,19 +14,15 @@ import kotlinx.coroutines.flow.buffer
 import kotlinx.coroutines.flow.callbackFlow
 import kotlinx.coroutines.flow.cancellable
 import kotlinx.coroutines.flow.combine
-import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.firstOrNull
-import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.merge
-import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.TransferProgressStore
 import mega.privacy.android.data.extensions.failWithError
 import mega.privacy.android.data.extensions.getRequestListener
 import mega.privacy.android.data.gateway.AppEventGateway
@@ -121,13 +117,13 @@ internal class DefaultTransfersRepository @Inject constructor(
     /**
      * To store in progress transfers in memory instead of in database
      */
-    private val inProgressTransfersFlow = MutableStateFlow<Map<Int, InProgressTransfer>>(emptyMap())
+    private val inProgressTransfersStore = TransferProgressStore<InProgressTransfer>()
 
     /**
      * to store current transferred bytes in memory instead of in database
      */
-    private val transferredBytesFlows =
-        HashMap<TransferType, MutableStateFlow<Map<Int, Long>>>()
+    private val transferredBytesStores =
+        TransferType.entries.associateWith { TransferProgressStore<Long>() }
 
     init {
         //pause transfers if db indicates it should be paused
@@ -541,23 +537,19 @@ internal class DefaultTransfersRepository @Inject constructor(
 
     override suspend fun updateTransferredBytes(transfer: Transfer) {
         if (transfer.transferredBytes == 0L) return
-        transferredBytesFlow(transfer.transferType).update {
-            it + (transfer.tag to transfer.transferredBytes)
-        }
+        transferredBytesStore(transfer.transferType).put(transfer.tag, transfer.transferredBytes)
     }
 
     override suspend fun deleteAllActiveTransfersByType(transferType: TransferType) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.deleteAllActiveTransfersByType(transferType)
-            transferredBytesFlow(transferType).value = mapOf()
+            transferredBytesStore(transferType).clear()
         }
 
     override suspend fun deleteAllActiveTransfers() =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.deleteAllActiveTransfers()
-            TransferType.entries.forEach {
-                transferredBytesFlow(it).value = mapOf()
-            }
+            transferredBytesStores.values.forEach { it.clear() }
         }
 
     override suspend fun setActiveTransferAsFinishedByTag(tags: List<Int>) =
@@ -566,22 +558,17 @@ internal class DefaultTransfersRepository @Inject constructor(
         }
 
     override fun getActiveTransferTotalsByType(transferType: TransferType): Flow<ActiveTransferTotals> =
-        flow {
-            val transferredBytesFlow = transferredBytesFlow(transferType)
-            emitAll(
-                megaLocalRoomGateway.getActiveTransfersByType(transferType).flowOn(ioDispatcher)
-                    .combine(transferredBytesFlow) { activeTransfers, transferredBytes ->
-                        activeTransferTotalsMapper(transferType, activeTransfers, transferredBytes)
-                    }
-            )
-        }.cancellable()
+        megaLocalRoomGateway.getActiveTransfersByType(transferType).flowOn(ioDispatcher)
+            .combine(transferredBytesStore(transferType).monitor()) { activeTransfers, transferredBytes ->
+                activeTransferTotalsMapper(transferType, activeTransfers, transferredBytes)
+            }.cancellable()
 
     override suspend fun getCurrentActiveTransferTotalsByType(transferType: TransferType): ActiveTransferTotals =
         withContext(ioDispatcher) {
             activeTransferTotalsMapper(
                 type = transferType,
                 list = megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType),
-                transferredBytes = transferredBytesFlow(transferType).value
+                transferredBytes = transferredBytesStore(transferType).snapshot()
             )
         }
 
@@ -685,15 +672,8 @@ internal class DefaultTransfersRepository @Inject constructor(
             )
         }
 
-    private val transferredBytesFlowMutex = Mutex()
-    private suspend fun transferredBytesFlow(transferType: TransferType): MutableStateFlow<Map<Int, Long>> {
-        transferredBytesFlowMutex.withLock {
-            return transferredBytesFlows[transferType]
-                ?: MutableStateFlow<Map<Int, Long>>(mapOf()).also {
-                    transferredBytesFlows[transferType] = it
-                }
-        }
-    }
+    private fun transferredBytesStore(transferType: TransferType) =
+        transferredBytesStores.getValue(transferType)
 
     companion object {
         internal const val TRANSFERS_SD_TEMPORARY_FOLDER = "transfersSdTempMEGA"
@@ -716,39 +696,23 @@ internal class DefaultTransfersRepository @Inject constructor(
 
     override suspend fun updateInProgressTransfer(transfer: Transfer) {
         val inProgressTransfer = inProgressTransferMapper(transfer)
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it[transfer.tag] = inProgressTransfer
-            }
-        }
+        inProgressTransfersStore.put(transfer.tag, inProgressTransfer)
     }
 
     override suspend fun updateInProgressTransfers(transfers: List<Transfer>) {
         val newInProgressTransfers =
             transfers.map { inProgressTransferMapper(it) }.associateBy { it.tag }
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it.putAll(newInProgressTransfers)
-            }
-        }
+        inProgressTransfersStore.putAll(newInProgressTransfers)
     }
 
-    override fun monitorInProgressTransfers() = inProgressTransfersFlow
+    override fun monitorInProgressTransfers() = inProgressTransfersStore.monitor()
 
     override suspend fun removeInProgressTransfer(tag: Int) {
-        if (!inProgressTransfersFlow.value.containsKey(tag)) return
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it.remove(tag)
-            }
-        }
+        inProgressTransfersStore.remove(tag)
     }
 
     override suspend fun removeInProgressTransfers(tags: Set<Int>) {
-        if (tags.isEmpty()) return
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.filterKeys { it !in tags }
-        }
+        inProgressTransfersStore.removeAll(tags)
     }
 
     override fun getPendingTransfersByType(transferType: TransferType): Flow<List<PendingTransfer>> =
@@ -44,13 +44,13 @@ internal class DocumentSectionRepositoryImpl @Inject constructor(
             ).map { megaNode ->
                 convertToUnTypedNode(
                     node = megaNode,
-                    offline = offlineItems?.get(megaNode.handle.toString())
+                    offline = offlineItems?.get(megaNode.handle)
                 )
             }
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo()?.associateBy { it.handle }
+        megaLocalRoomGateway.getOfflineInformationByHandle()
 
     private suspend fun convertToUnTypedNode(
         node: MegaNode,
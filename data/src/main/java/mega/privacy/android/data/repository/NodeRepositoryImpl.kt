@@ -1,13 +1,16 @@
 package mega.privacy.android.data.repository
 
 import android.content.Context
+import androidx.paging.PagingSource
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.async
 import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.filterIsInstance
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
@@ -26,6 +29,7 @@ import mega.privacy.android.data.gateway.api.MegaChatApiGateway
 import mega.privacy.android.data.gateway.api.StreamingGateway
 import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
 import mega.privacy.android.data.mapper.ChatFilesFolderUserAttributeMapper
+import mega.privacy.android.data.mapper.ChunkedMapper
 import mega.privacy.android.data.mapper.FileTypeInfoMapper
 import mega.privacy.android.data.mapper.MegaExceptionMapper
 import mega.privacy.android.data.mapper.NodeUpdateMapper
@@ -44,6 +48,7 @@ import mega.privacy.android.data.mapper.shares.AccessPermissionIntMapper
 import mega.privacy.android.data.mapper.shares.AccessPermissionMapper
 import mega.privacy.android.data.mapper.shares.ShareDataMapper
 import mega.privacy.android.data.model.GlobalUpdate
+import mega.privacy.android.data.repository.paging.NodePagingSource
 import mega.privacy.android.domain.entity.FileTypeInfo
 import mega.privacy.android.domain.entity.FolderTreeInfo
 import mega.privacy.android.domain.entity.NodeLabel
@@ -72,7 +77,6 @@ import nz.mega.sdk.MegaChatRoom
 import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaNode
 import timber.log.Timber
-import java.util.Locale
 import javax.inject.Inject
 
 /**
@@ -127,6 +131,8 @@ internal class NodeRepositoryImpl @Inject constructor(
     private val stringListMapper: StringListMapper,
 ) : NodeRepository {
 
+    private val nodeChunkedMapper = ChunkedMapper(ioDispatcher)
+
     override suspend fun getNodeOutgoingShares(nodeId: NodeId) =
         withContext(ioDispatcher) {
             megaApiGateway.getMegaNodeByHandle(nodeId.longValue)?.let { megaNode ->
@@ -263,6 +269,45 @@ internal class NodeRepositoryImpl @Inject constructor(
         nodeId: NodeId,
         order: SortOrder?,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
+        val (childList, offlineItems) = getChildrenWithOfflineItems(nodeId, order)
+        nodeChunkedMapper.mapAll(childList, getUnTypedNodeTransform(offlineItems))
+    }
+
+    override fun getNodeChildrenInBatches(
+        nodeId: NodeId,
+        order: SortOrder?,
+    ): Flow<List<UnTypedNode>> = flow {
+        val (childList, offlineItems) = getChildrenWithOfflineItems(nodeId, order)
+        emitAll(
+            nodeChunkedMapper.mapInBatches(childList, getUnTypedNodeTransform(offlineItems))
+        )
+    }.flowOn(ioDispatcher)
+
+    override fun getNodeChildrenPagingSource(
+        nodeId: NodeId,
+        order: SortOrder?,
+    ): PagingSource<Int, UnTypedNode> = NodePagingSource(
+        getHandles = {
+            withContext(ioDispatcher) {
+                megaApiGateway.getChildren(
+                    megaSearchFilterMapper(parentHandle = nodeId),
+                    sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
+                    cancelTokenProvider.getOrCreateCancelToken()
+                ).map { it.handle }
+            }
+        },
+        mapNodes = { handles ->
+            withContext(ioDispatcher) {
+                val nodes = handles.mapNotNull { megaApiGateway.getMegaNodeByHandle(it) }
+                nodeChunkedMapper.mapAll(nodes, getUnTypedNodeTransform(getAllOfflineNodeHandle()))
+            }
+        },
+    )
+
+    private suspend fun getChildrenWithOfflineItems(
+        nodeId: NodeId,
+        order: SortOrder?,
+    ): Pair<List<MegaNode>, Map<Long, Offline>> = coroutineScope {
         val token = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             parentHandle = nodeId,
@@ -275,21 +320,23 @@ internal class NodeRepositoryImpl @Inject constructor(
                 token
             )
         }
-        mapMegaNodesToUnTypedNodes(childList.await(), offlineItems.await())
+        childList.await() to offlineItems.await()
     }
 
-    private suspend fun mapMegaNodesToUnTypedNodes(
-        childList: List<MegaNode>,
-        offlineItems: Map<String, Offline>?,
-    ): List<UnTypedNode> = coroutineScope {
-        childList.map { megaNode ->
-            async {
-                convertToUnTypedNode(
-                    node = megaNode,
-                    offline = offlineItems?.get(megaNode.handle.toString())
-                )
-            }
-        }.awaitAll()
+    /**
+     * The cache folders and mime types are resolved once and shared by all the batches of the list
+     */
+    private suspend fun getUnTypedNodeTransform(
+        offlineItems: Map<Long, Offline>,
+    ): suspend (MegaNode) -> UnTypedNode {
+        val batchContext = nodeMapper.createBatchContext()
+        return { megaNode ->
+            nodeMapper(
+                megaNode = megaNode,
+                offline = offlineItems[megaNode.handle],
+                batchContext = batchContext,
+            )
+        }
     }
 
     override suspend fun getNodeChildrenFileTypes(
@@ -986,7 +1033,7 @@ internal class NodeRepositoryImpl @Inject constructor(
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo().associateBy { it.handle }
+        megaLocalRoomGateway.getOfflineInformationByHandle()
 
     private suspend fun getOfflineNode(handle: Long) =
         megaLocalRoomGateway.getOfflineInformation(handle)
@@ -1116,14 +1163,7 @@ internal class NodeRepositoryImpl @Inject constructor(
         query: String,
         parentId: Int,
     ): List<OfflineNodeInformation> = withContext(ioDispatcher) {
-        // Database fields are encrypted, so we need to filter by name in memory
-        if (parentId == -1) {
-            megaLocalRoomGateway.getAllOfflineInfo()
-        } else {
-            megaLocalRoomGateway.getOfflineInfoByParentId(parentId)
-        }.filter {
-            it.name.lowercase(Locale.ROOT).contains(query.lowercase(Locale.ROOT))
-        }.map {
+        megaLocalRoomGateway.searchOfflineInfo(query, parentId).map {
             offlineNodeInformationMapper(it)
         }
     }
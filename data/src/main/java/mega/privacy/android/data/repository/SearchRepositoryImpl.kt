@@ -1,11 +1,13 @@
 package mega.privacy.android.data.repository
 
+import androidx.paging.PagingSource
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.SortOrderIntMapper
 import mega.privacy.android.data.mapper.node.NodeMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
+import mega.privacy.android.data.repository.paging.NodePagingSource
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.UnTypedNode
@@ -40,19 +42,7 @@ internal class SearchRepositoryImpl @Inject constructor(
         parameters: SearchParameters,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
         val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
-        val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
-        val queryFilter = megaSearchFilterMapper(
-            searchQuery = query,
-            parentHandle = nodeId ?: NodeId(-1L),
-            searchTarget = searchTarget,
-            searchCategory = searchCategory,
-            modificationDate = modificationDate,
-            creationDate = creationDate,
-            description = description,
-            tag = tag,
-            useAndForTextQuery = description == null && tag == null,
-        )
-        searchAndMap(queryFilter, order, megaCancelToken)
+        searchAndMap(getSearchFilter(nodeId, parameters), order, megaCancelToken)
     }
 
     private suspend fun searchAndMap(
@@ -74,23 +64,81 @@ internal class SearchRepositoryImpl @Inject constructor(
         parameters: SearchParameters,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
         val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
+        val searchList = megaApiGateway.getChildren(
+            filter = getChildrenFilter(nodeId, parameters),
+            order = sortOrderIntMapper(order),
+            megaCancelToken = megaCancelToken,
+        )
+        searchList.map { item -> nodeMapper(item) }
+    }
+
+    override fun getSearchPagingSource(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+    ): PagingSource<Int, UnTypedNode> = NodePagingSource(
+        getHandles = {
+            withContext(ioDispatcher) {
+                megaApiGateway.searchWithFilter(
+                    filter = getSearchFilter(nodeId, parameters),
+                    order = sortOrderIntMapper(order),
+                    megaCancelToken = cancelTokenProvider.getOrCreateCancelToken(),
+                ).map { it.handle }
+            }
+        },
+        mapNodes = ::mapNodesByHandle,
+    )
+
+    override fun getChildrenPagingSource(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+    ): PagingSource<Int, UnTypedNode> = NodePagingSource(
+        getHandles = {
+            withContext(ioDispatcher) {
+                megaApiGateway.getChildren(
+                    filter = getChildrenFilter(nodeId, parameters),
+                    order = sortOrderIntMapper(order),
+                    megaCancelToken = cancelTokenProvider.getOrCreateCancelToken(),
+                ).map { it.handle }
+            }
+        },
+        mapNodes = ::mapNodesByHandle,
+    )
+
+    private suspend fun mapNodesByHandle(handles: List<Long>) = withContext(ioDispatcher) {
+        val batchContext = nodeMapper.createBatchContext()
+        handles.mapNotNull { megaApiGateway.getMegaNodeByHandle(it) }
+            .map { nodeMapper(megaNode = it, batchContext = batchContext) }
+    }
+
+    private fun getSearchFilter(nodeId: NodeId?, parameters: SearchParameters): MegaSearchFilter {
         val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
-        val filter = megaSearchFilterMapper(
+        return megaSearchFilterMapper(
             searchQuery = query,
-            parentHandle = nodeId ?: NodeId(-1),
+            parentHandle = nodeId ?: NodeId(-1L),
             searchTarget = searchTarget,
             searchCategory = searchCategory,
             modificationDate = modificationDate,
             creationDate = creationDate,
             description = description,
             tag = tag,
+            useAndForTextQuery = description == null && tag == null,
         )
-        val searchList = megaApiGateway.getChildren(
-            filter = filter,
-            order = sortOrderIntMapper(order),
-            megaCancelToken = megaCancelToken,
+    }
+
+    private fun getChildrenFilter(nodeId: NodeId?, parameters: SearchParameters): MegaSearchFilter {
+        val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
+        return megaSearchFilterMapper(
+            searchQuery = query,
+            parentHandle = nodeId ?: NodeId(-1),
+            searchTarget = searchTarget,
+            searchCategory = searchCategory,
+            modificationDate = modificationDate,
+            creationDate = creationDate,
+            description = description,
+            tag = tag,
         )
-        searchList.map { item -> nodeMapper(item) }
     }
 
     override suspend fun getInShares() = withContext(ioDispatcher) {
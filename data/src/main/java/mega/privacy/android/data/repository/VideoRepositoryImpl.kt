@@ -4,6 +4,7 @@ import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.cancellable
 import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.VideoCompressorGateway
 import mega.privacy.android.domain.entity.VideoAttachment
 import mega.privacy.android.domain.entity.VideoCompressionState
@@ -23,22 +24,20 @@ internal class VideoRepositoryImpl @Inject constructor(
         newFilePath: String,
         quality: VideoQuality,
     ): Flow<VideoCompressionState> =
-        videoCompressorGateway.apply {
-            setOutputRoot(root)
-            setVideoQuality(quality)
-            addItems(
-                listOf(
-                    VideoAttachment(
-                        filePath,
-                        newFilePath,
-                        id = null,
-                        pendingMessageId = null,
-                    )
-                )
-            )
-        }.start()
-            .cancellable()
+        videoCompressorGateway.compress(
+            videoAttachment = VideoAttachment(
+                filePath,
+                newFilePath,
+                id = null,
+                pendingMessageId = null,
+            ),
+            outputRoot = root,
+            videoQuality = quality,
+        ).cancellable()
             .flowOn(ioDispatcher)
 
-
+    override suspend fun getMaxConcurrentVideoCompressions(): Int =
+        withContext(ioDispatcher) {
+            videoCompressorGateway.getMaxConcurrentCompressions()
+        }
 }
@@ -78,7 +78,7 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
                 val isOutShared =
                     megaApiGateway.getMegaNodeByHandle(megaNode.parentHandle)?.isOutShare == true
                 typedVideoNodeMapper(
-                    fileNode = megaNode.convertToFileNode(offlineItems[megaNode.handle.toString()]),
+                    fileNode = megaNode.convertToFileNode(offlineItems[megaNode.handle]),
                     duration = megaNode.duration,
                     isOutShared = isOutShared
                 )
@@ -99,7 +99,7 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
     }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo().associateBy { it.handle }
+        megaLocalRoomGateway.getOfflineInformationByHandle()
 
     private suspend fun MegaNode.convertToFileNode(offline: Offline?) = fileNodeMapper(
         megaNode = this, requireSerializedData = false, offline = offline
@@ -115,13 +115,13 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
             systemVideoPlaylist + userVideoPlaylists
         }
 
-    private suspend fun getFavouritesVideoPlaylist(offlineItems: Map<String, Offline>): FavouritesVideoPlaylist {
+    private suspend fun getFavouritesVideoPlaylist(offlineItems: Map<Long, Offline>): FavouritesVideoPlaylist {
         val favouriteVideos =
             getAllVideoMegaNodes(SortOrder.ORDER_NONE).filter { it.isFavourite }.map { megaNode ->
                 val isOutShared =
                     megaApiGateway.getMegaNodeByHandle(megaNode.parentHandle)?.isOutShare == true
                 typedVideoNodeMapper(
-                    fileNode = megaNode.convertToFileNode(offlineItems[megaNode.handle.toString()]),
+                    fileNode = megaNode.convertToFileNode(offlineItems[megaNode.handle]),
                     duration = megaNode.duration,
                     isOutShared = isOutShared
                 )
@@ -157,7 +157,7 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
         )
     }
 
-    private suspend fun UserSet.toVideoPlaylist(offlineMap: Map<String, Offline>?): VideoPlaylist {
+    private suspend fun UserSet.toVideoPlaylist(offlineMap: Map<Long, Offline>?): VideoPlaylist {
         val elementList = megaApiGateway.getSetElements(sid = id)
         val videoNodeList = (0 until elementList.size()).mapNotNull { index ->
             val element = elementList[index]
@@ -171,7 +171,7 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
                     .add(element.setId())
                 typedVideoNodeMapper(
                     fileNode = megaNode.convertToFileNode(
-                        offlineMap?.get(megaNode.handle.toString())
+                        offlineMap?.get(megaNode.handle)
                     ),
                     duration = megaNode.duration,
                     elementID = element.id()
@@ -372,7 +372,7 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
                         val title =
                             megaNode.getCollectionTitle(item.collectionId, item.collectionTitle)
                         typedVideoNodeMapper(
-                            fileNode = megaNode.convertToFileNode(offlineItems[megaNode.handle.toString()]),
+                            fileNode = megaNode.convertToFileNode(offlineItems[megaNode.handle]),
                             duration = megaNode.duration,
                             watchedTimestamp = item.watchedTimestamp,
                             collectionTitle = title
@@ -1,16 +1,31 @@
 package mega.privacy.android.data.repository
 
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineDispatcher
-import kotlinx.coroutines.withContext
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.collect
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import mega.privacy.android.data.mapper.zipbrowser.ZipTreeNodeMapper
-import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
+import mega.privacy.android.domain.entity.zipbrowser.ZipExtractionProgress
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.ZipBrowserRepository
 import timber.log.Timber
-import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.FileOutputStream
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.zip.ZipEntry
 import java.util.zip.ZipFile
 import javax.inject.Inject
 
@@ -22,140 +37,147 @@ class ZipBrowserRepositoryImpl @Inject constructor(
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : ZipBrowserRepository {
 
-    override suspend fun getZipNodeTree(zipFile: ZipFile?): Map<String, ZipTreeNode> =
-        withContext(ioDispatcher) {
-            val zipNodeTree = mutableMapOf<String, ZipTreeNode>()
-            zipFile?.entries()?.toList()?.forEach { zipEntry ->
-                zipEntry.name.let { name ->
-                    val nodeDepth = name.getZipTreeNodeDepth()
-                    for (i in 1..nodeDepth) {
-                        //Get every sub path of current zip entry. For example, the path zip entry
-                        // path is 1/2/3.txt, the sub paths respectively are 1 1/2 1/2/3.txt
-                        val subPath = name.getSubPathByDepth(i)
-                        //Get name of current sub path
-                        val subName = subPath.getZipTreeNodeName()
-                        //Get parent path of current sub path. For example, if current sub path is 1/2/
-                        //its parent path is 1/
-                        val subParentPath = if (i == 1) {
-                            null
-                        } else {
-                            name.getSubPathByDepth(i - 1)
-                        }
-                        //Get current zip tree node using sub path
-                        var zipTreeNode = zipNodeTree[subPath]
+    override fun monitorZipNodeTree(zipFile: ZipFile?): Flow<Map<String, ZipTreeNode>> = flow {
+        val zipNodeTreeBuilder = ZipNodeTreeBuilder(zipTreeNodeMapper)
+        zipFile?.entries()?.let { zipEntries ->
+            var entryCount = 0
+            while (zipEntries.hasMoreElements()) {
+                zipNodeTreeBuilder.add(zipEntries.nextElement())
+                // Emit the tree indexed so far once, so the top level can be shown while the
+                // rest of a big zip file is indexed
+                if (++entryCount == PARTIAL_TREE_ENTRY_COUNT && zipEntries.hasMoreElements()) {
+                    emit(zipNodeTreeBuilder.build())
+                }
+            }
+        }
+        emit(zipNodeTreeBuilder.build())
+    }.flowOn(ioDispatcher)
 
-                        // If node doesn't exist, create one, otherwise ignore it
-                        if (zipTreeNode == null) {
-                            zipTreeNode = zipTreeNodeMapper(
-                                zipEntry = zipEntry,
-                                name = subName,
-                                path = subPath,
-                                parentPath = subParentPath,
-                                zipEntryType = if (i == nodeDepth) {
-                                    when {
-                                        zipEntry.isDirectory -> ZipEntryType.Folder
-                                        name.endsWith(SUFFIX_ZIP) -> ZipEntryType.Zip
-                                        else -> ZipEntryType.File
-                                    }
-                                } else {
-                                    ZipEntryType.Folder
-                                }
-                            )
+    override suspend fun unzipFile(zipFile: ZipFile, unzipRootPath: String): Boolean =
+        runCatching {
+            monitorUnzipFile(zipFile, unzipRootPath).collect()
+            true
+        }.recover { e ->
+            if (e is CancellationException) throw e
+            Timber.e(e)
+            false
+        }.getOrNull() ?: false
 
-                            zipNodeTree[subPath] = zipTreeNode
+    override fun monitorUnzipFile(
+        zipFile: ZipFile,
+        unzipRootPath: String,
+        zipTreeNodePath: String?,
+    ): Flow<ZipExtractionProgress> = channelFlow {
+        val zipEntries = zipFile.entries().toList()
+            .filter { zipTreeNodePath == null || it.isInZipTreeNode(zipTreeNodePath) }
+            .map { zipEntry ->
+                val zipDestination = File(unzipRootPath + zipEntry.name)
+                if (!zipDestination.canonicalPath.startsWith(unzipRootPath)) {
+                    throw SecurityException()
+                }
+                zipEntry to zipDestination
+            }
+        val fileEntries = zipEntries.filter { (zipEntry, zipDestination) ->
+            !zipEntry.isDirectory && zipDestination.parentFile != null
+        }
+        val totalBytes = fileEntries.sumOf { (zipEntry, _) -> zipEntry.getEstimatedSize() }
+        val extractedBytes = MutableStateFlow(0L)
+        val progressJob = launch {
+            extractedBytes.collect { send(ZipExtractionProgress(it, totalBytes)) }
+        }
 
-                            // If parent path is not empty add current path to map
-                            // Empty path represents root directory
-                            if (!subParentPath.isNullOrEmpty()) {
-                                zipNodeTree[subParentPath]?.let { parentNode ->
-                                    val updatedChildren =
-                                        parentNode.children.toMutableList().apply {
-                                            add(zipTreeNode)
-                                        }
-                                    val updatedParentNode =
-                                        parentNode.copy(children = updatedChildren)
-                                    zipNodeTree[subParentPath] = updatedParentNode
+        // Create all the folders first, so the files can be extracted in any order
+        zipEntries.forEach { (zipEntry, zipDestination) ->
+            val folder = if (zipEntry.isDirectory) zipDestination else zipDestination.parentFile
+            if (folder?.exists() == false) {
+                folder.mkdirs()
+            }
+        }
+
+        // ZipFile reads the entries with random access, so files are inflated in parallel,
+        // every extraction reusing a buffer of the previous ones
+        val buffers = ConcurrentLinkedQueue<ByteArray>()
+        val semaphore = Semaphore(PARALLEL_EXTRACTIONS)
+        coroutineScope {
+            fileEntries.forEach { (zipEntry, zipDestination) ->
+                launch {
+                    semaphore.withPermit {
+                        val buffer = buffers.poll() ?: ByteArray(EXTRACTION_BUFFER_SIZE)
+                        // Every file counts its estimated size, whatever it really extracts
+                        val estimatedSize = zipEntry.getEstimatedSize()
+                        var countedBytes = 0L
+                        try {
+                            zipFile.extract(zipEntry, zipDestination, buffer) { count ->
+                                val counted = minOf(count.toLong(), estimatedSize - countedBytes)
+                                if (counted > 0) {
+                                    countedBytes += counted
+                                    extractedBytes.update { it + counted }
                                 }
                             }
+                            extractedBytes.update { it + estimatedSize - countedBytes }
+                        } finally {
+                            buffers.offer(buffer)
                         }
                     }
                 }
             }
-            zipNodeTree
         }
+        progressJob.cancel()
+        send(ZipExtractionProgress(extractedBytes.value, totalBytes))
+    }.distinctUntilChanged().flowOn(ioDispatcher)
 
     /**
-     * Get zip tree node name for init zip tree map
-     * @return zip tree name
+     * Check if the zip entry is the zip tree node or one of its children
+     * @param zipTreeNodePath path of the zip tree node, without the trailing separator
      */
-    private fun String.getZipTreeNodeName() =
-        removeSuffix(File.separator).split(File.separator).last()
+    private fun ZipEntry.isInZipTreeNode(zipTreeNodePath: String) =
+        name.removeSuffix(File.separator).let {
+            it == zipTreeNodePath || it.startsWith(zipTreeNodePath + File.separator)
+        }
 
     /**
-     * Get sub path for init zip tree map
-     * @param depth depth of sub path
-     * @return sub path
+     * Get the size of the zip entry for the extraction progress. The uncompressed size is
+     * unknown for some entries, then the compressed size is used, or a single byte if neither is
+     * known, so the entry still counts once it is extracted.
      */
-    private fun String.getSubPathByDepth(depth: Int) =
-        removeSuffix(File.separator).split(File.separator).take(depth).joinToString(File.separator)
+    private fun ZipEntry.getEstimatedSize() =
+        size.takeIf { it >= 0 } ?: compressedSize.takeIf { it >= 0 } ?: UNKNOWN_ENTRY_SIZE
 
     /**
-     * Get current zip tree node depth for init zip tree map
-     * @return zip tree node depth
+     * Extract a file zip entry, deleting the partial file if it fails or is cancelled
+     * @param zipEntry zip entry of a file
+     * @param zipDestination destination file
+     * @param buffer buffer for the copy
+     * @param onBytesExtracted called with the number of bytes of every write
      */
-    private fun String.getZipTreeNodeDepth() =
-        removeSuffix(File.separator).split(File.separator).size
-
-    override suspend fun unzipFile(zipFile: ZipFile, unzipRootPath: String): Boolean =
-        withContext(ioDispatcher) {
-            runCatching {
-                val zipEntries = zipFile.entries()
-                zipEntries.toList().forEach { zipEntry ->
-                    val zipDestination = File(unzipRootPath + zipEntry.name)
-                    val canonicalPath = zipDestination.canonicalPath
-                    if (canonicalPath.startsWith(unzipRootPath)) {
-                        if (zipEntry.isDirectory) {
-                            if (!zipDestination.exists()) {
-                                zipDestination.mkdirs()
-                            }
-                        } else {
-                            val inputStream = zipFile.getInputStream(zipEntry)
-                            //Get the parent file. If it is null or
-                            // doesn't exist, created the parent folder.
-                            val parentFile = zipDestination.parentFile
-                            if (parentFile != null) {
-                                if (!parentFile.exists()) {
-                                    parentFile.mkdirs()
-                                }
-                                val byteArrayOutputStream = ByteArrayOutputStream()
-                                val buffer = ByteArray(1024)
-                                var count: Int
-                                FileOutputStream(zipDestination).use { outputStream ->
-                                    //Write the file.
-                                    while (inputStream.read(buffer)
-                                            .also { readCount -> count = readCount } != -1
-                                    ) {
-                                        byteArrayOutputStream.write(buffer, 0, count)
-                                        val bytes = byteArrayOutputStream.toByteArray()
-                                        outputStream.write(bytes)
-                                        byteArrayOutputStream.reset()
-                                    }
-                                }
-                                inputStream.close()
-                            }
-                        }
-                    } else {
-                        throw SecurityException()
+    private suspend fun ZipFile.extract(
+        zipEntry: ZipEntry,
+        zipDestination: File,
+        buffer: ByteArray,
+        onBytesExtracted: (Int) -> Unit,
+    ) {
+        runCatching {
+            getInputStream(zipEntry).use { inputStream ->
+                FileOutputStream(zipDestination).use { outputStream ->
+                    while (true) {
+                        currentCoroutineContext().ensureActive()
+                        val count = inputStream.read(buffer)
+                        if (count < 0) break
+                        outputStream.write(buffer, 0, count)
+                        onBytesExtracted(count)
                     }
                 }
-                true
-            }.recover { e ->
-                Timber.e(e)
-                false
-            }.getOrNull() ?: false
+            }
+        }.onFailure { e ->
+            zipDestination.delete()
+            throw e
         }
+    }
 
     companion object {
-        private const val SUFFIX_ZIP = ".zip"
+        private const val PARTIAL_TREE_ENTRY_COUNT = 1_000
+        private const val PARALLEL_EXTRACTIONS = 4
+        private const val EXTRACTION_BUFFER_SIZE = 128 * 1024
+        private const val UNKNOWN_ENTRY_SIZE = 1L
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package mega.privacy.android.data.repository
+
+import mega.privacy.android.data.mapper.zipbrowser.ZipTreeNodeMapper
+import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
+import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
+import java.io.File
+import java.util.zip.ZipEntry
+
+/**
+ * Builder of the zip node tree, from the entries of a zip file
+ *
+ * Every entry path is parsed once, creating the nodes of its missing sub paths. The children of
+ * every node are kept in a mutable list until [build] freezes them into the [ZipTreeNode]s, so
+ * adding an entry does not copy its parents. [build] can be called while entries are still being
+ * added, to get the tree of the entries added so far.
+ *
+ * It is not thread safe, it needs to be used from a single thread or coroutine at a time.
+ *
+ * @param zipTreeNodeMapper the mapper of every new node
+ */
+internal class ZipNodeTreeBuilder(private val zipTreeNodeMapper: ZipTreeNodeMapper) {
+
+    private class Node(val zipTreeNode: ZipTreeNode) {
+        val children = mutableListOf<Node>()
+        lateinit var frozen: ZipTreeNode
+    }
+
+    /**
+     * Nodes by path, in creation order. Parents are always created before their children.
+     */
+    private val nodes = LinkedHashMap<String, Node>()
+
+    /**
+     * Adds a zip entry, with a node for every sub path not added yet.
+     * For example, the entry 1/2/3.txt adds the nodes 1, 1/2 and 1/2/3.txt
+     *
+     * @param zipEntry the zip entry
+     */
+    fun add(zipEntry: ZipEntry) {
+        val entryPath = zipEntry.name.removeSuffix(File.separator)
+        var parent: Node? = null
+        var parentPath: String? = null
+        var start = 0
+        while (true) {
+            val separatorIndex = entryPath.indexOf(File.separator, start)
+            val end = if (separatorIndex < 0) entryPath.length else separatorIndex
+            val isLast = separatorIndex < 0
+            val path = entryPath.substring(0, end)
+            val node = nodes[path] ?: Node(
+                zipTreeNodeMapper(
+                    zipEntry = zipEntry,
+                    name = entryPath.substring(start, end),
+                    path = path,
+                    parentPath = parentPath,
+                    zipEntryType = if (isLast) zipEntry.getZipEntryType() else ZipEntryType.Folder
+                )
+            ).also {
+                nodes[path] = it
+                parent?.children?.add(it)
+            }
+            if (isLast) return
+            parent = node
+            parentPath = path
+            start = end + File.separator.length
+        }
+    }
+
+    /**
+     * Freezes the nodes added so far
+     *
+     * @return the zip node tree, by path
+     */
+    fun build(): Map<String, ZipTreeNode> {
+        // Children are created after their parents, so they are frozen first in reverse order
+        nodes.values.reversed().forEach { node ->
+            node.frozen = if (node.children.isEmpty()) {
+                node.zipTreeNode
+            } else {
+                node.zipTreeNode.copy(children = node.children.map { it.frozen })
+            }
+        }
+        return nodes.mapValuesTo(LinkedHashMap(nodes.size)) { it.value.frozen }
+    }
+
+    private fun ZipEntry.getZipEntryType() = when {
+        isDirectory -> ZipEntryType.Folder
+        name.endsWith(SUFFIX_ZIP) -> ZipEntryType.Zip
+        else -> ZipEntryType.File
+    }
+
+    companion object {
+        private const val SUFFIX_ZIP = ".zip"
+    }
+}
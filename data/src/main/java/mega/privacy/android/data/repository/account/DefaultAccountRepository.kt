@@ -648,6 +648,7 @@ internal class DefaultAccountRepository @Inject constructor(
         megaLocalRoomGateway.deleteAllBackups()
         megaLocalRoomGateway.deleteAllCompletedTransfers()
         megaLocalRoomGateway.clearOffline()
+        megaLocalRoomGateway.clearTimelinePhotos()
         callsPreferencesGateway.clearPreferences()
         chatPreferencesGateway.clearPreferences()
         accountPreferencesGateway.clearPreferences()
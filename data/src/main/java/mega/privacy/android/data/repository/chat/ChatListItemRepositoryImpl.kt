@@ -0,0 +1,59 @@
+package mega.privacy.android.data.repository.chat
+
+import mega.privacy.android.domain.entity.chat.ChatRoomItem
+import mega.privacy.android.domain.repository.chat.ChatListItemRepository
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Implementation of [ChatListItemRepository]
+ *
+ * Each chat list keeps its items in its own [ChatListItemStore], a missing list has no items and
+ * ignores the changes.
+ */
+@Singleton
+internal class ChatListItemRepositoryImpl @Inject constructor() : ChatListItemRepository {
+
+    private val chatLists = ConcurrentHashMap<Long, ChatListItemStore>()
+
+    private val nextListId = AtomicLong()
+
+    override fun createChatList(): Long =
+        nextListId.incrementAndGet().also { chatLists[it] = ChatListItemStore() }
+
+    override suspend fun setChatListItems(listId: Long, items: List<ChatRoomItem>) {
+        chatLists[listId]?.setItems(items)
+    }
+
+    override suspend fun getChatListItems(listId: Long): List<ChatRoomItem> =
+        chatLists[listId]?.getItems().orEmpty()
+
+    override suspend fun getEnrichedChatListItem(listId: Long, chatId: Long): ChatRoomItem? =
+        chatLists[listId]?.getEnrichedItem(chatId)
+
+    override suspend fun findChatListItemId(
+        listId: Long,
+        predicate: (ChatRoomItem) -> Boolean,
+    ): Long? = chatLists[listId]?.findChatId(predicate)
+
+    override suspend fun putEnrichedChatListItem(
+        listId: Long,
+        item: ChatRoomItem,
+        onlyIfNotEnriched: Boolean,
+    ): Boolean = chatLists[listId]?.putEnriched(item, onlyIfNotEnriched) ?: false
+
+    override suspend fun updateChatListItem(
+        listId: Long,
+        chatId: Long,
+        transform: (ChatRoomItem) -> ChatRoomItem,
+    ): Boolean = chatLists[listId]?.update(chatId, transform) ?: false
+
+    override suspend fun removeChatListItem(listId: Long, chatId: Long): Boolean =
+        chatLists[listId]?.remove(chatId) ?: false
+
+    override fun clearChatList(listId: Long) {
+        chatLists.remove(listId)
+    }
+}
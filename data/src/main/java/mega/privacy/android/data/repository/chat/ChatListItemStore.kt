@@ -0,0 +1,105 @@
+package mega.privacy.android.data.repository.chat
+
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.domain.entity.chat.ChatRoomItem
+
+/**
+ * Items of a chat list of [ChatListItemRepositoryImpl], by chat id
+ *
+ * An item is enriched once its derived fields (avatars, mute state, last message, call, online
+ * status and peer email) have been fetched. From then on, those fields are kept in the item and
+ * only the ones invalidated by an update are fetched again, replacing that single item.
+ *
+ * It is thread safe.
+ */
+internal class ChatListItemStore {
+
+    private val mutex = Mutex()
+
+    private val items = LinkedHashMap<Long, ChatRoomItem>()
+
+    private val enrichedChatIds = HashSet<Long>()
+
+    /**
+     * Replaces all the items, none of them enriched yet
+     *
+     * @param newItems the items
+     */
+    suspend fun setItems(newItems: List<ChatRoomItem>) = mutex.withLock {
+        items.clear()
+        enrichedChatIds.clear()
+        newItems.forEach { items[it.chatId] = it }
+    }
+
+    /**
+     * Gets all the items
+     *
+     * @return the items, in insertion order
+     */
+    suspend fun getItems(): List<ChatRoomItem> = mutex.withLock { items.values.toList() }
+
+    /**
+     * Gets an item if its derived fields have been fetched
+     *
+     * @param chatId the chat id
+     * @return the enriched item, or null if there is no item or it is not enriched yet
+     */
+    suspend fun getEnrichedItem(chatId: Long): ChatRoomItem? = mutex.withLock {
+        items[chatId]?.takeIf { chatId in enrichedChatIds }
+    }
+
+    /**
+     * Finds the chat id of the first item matching a predicate
+     *
+     * @param predicate the predicate
+     * @return the chat id, or null if no item matches
+     */
+    suspend fun findChatId(predicate: (ChatRoomItem) -> Boolean): Long? = mutex.withLock {
+        items.values.firstOrNull(predicate)?.chatId
+    }
+
+    /**
+     * Adds or replaces an enriched item
+     *
+     * @param item the item with all its derived fields
+     * @param onlyIfNotEnriched true to only replace a current item that is not enriched yet, as
+     * an enriched one comes from a later update and a missing one has been removed since
+     * @return true if the items changed, false otherwise
+     */
+    suspend fun putEnriched(item: ChatRoomItem, onlyIfNotEnriched: Boolean = false): Boolean =
+        mutex.withLock {
+            if (onlyIfNotEnriched &&
+                (item.chatId in enrichedChatIds || !items.containsKey(item.chatId))
+            ) return@withLock false
+            enrichedChatIds.add(item.chatId)
+            items.put(item.chatId, item) != item
+        }
+
+    /**
+     * Updates an existing item
+     *
+     * @param chatId the chat id
+     * @param transform the update of the item
+     * @return true if the item exists and changed, false otherwise
+     */
+    suspend fun update(chatId: Long, transform: (ChatRoomItem) -> ChatRoomItem): Boolean =
+        mutex.withLock {
+            val currentItem = items[chatId] ?: return@withLock false
+            val updatedItem = transform(currentItem)
+            if (updatedItem == currentItem) return@withLock false
+            items[chatId] = updatedItem
+            true
+        }
+
+    /**
+     * Removes an item
+     *
+     * @param chatId the chat id
+     * @return true if the item was removed, false if there was no item
+     */
+    suspend fun remove(chatId: Long): Boolean = mutex.withLock {
+        enrichedChatIds.remove(chatId)
+        items.remove(chatId) != null
+    }
+}
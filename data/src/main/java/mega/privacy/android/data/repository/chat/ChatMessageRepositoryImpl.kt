@@ -16,6 +16,7 @@ import mega.privacy.android.data.gateway.api.MegaChatApiGateway
 import mega.privacy.android.data.gateway.chat.ChatStorageGateway
 import mega.privacy.android.data.mapper.StringListMapper
 import mega.privacy.android.data.mapper.chat.ChatMessageMapper
+import mega.privacy.android.data.mapper.chat.ChatMessageSearchQueryMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageEntityMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageMapper
 import mega.privacy.android.data.mapper.chat.paging.TypedMessagePagingSourceMapper
@@ -55,6 +56,7 @@ internal class ChatMessageRepositoryImpl @Inject constructor(
     @OriginalPathForNodeCache private val originalPathCache: Cache<Map<NodeId, String>>,
     @OriginalPathForPendingMessageCache private val originalPathForPendingMessageCache: Cache<Map<Long, String>>,
     private val typedMessagePagingSourceMapper: TypedMessagePagingSourceMapper,
+    private val chatMessageSearchQueryMapper: ChatMessageSearchQueryMapper,
 ) : ChatMessageRepository {
 
     private val compressionProgressFlow = MutableStateFlow<Map<Long, Progress>>(emptyMap())
@@ -327,6 +329,28 @@ internal class ChatMessageRepositoryImpl @Inject constructor(
         }
     }
 
+    override suspend fun getCachedMessageIds(chatId: Long): Set<Long> =
+        withContext(ioDispatcher) {
+            chatStorageGateway.getMessageIds(chatId).toSet()
+        }
+
+    override suspend fun deleteStaleMessages(
+        chatId: Long,
+        fromTimestamp: Long,
+        keptMessageIds: Set<Long>,
+    ) {
+        withContext(ioDispatcher) {
+            chatStorageGateway.deleteStaleMessages(
+                chatId = chatId,
+                fromTimestamp = fromTimestamp,
+                keptMessageIds = keptMessageIds
+            )
+        }
+    }
+
+    override fun searchMessages(query: String, chatId: Long?) =
+        chatStorageGateway.searchMessages(chatMessageSearchQueryMapper(query), chatId)
+
     override suspend fun clearChatPendingMessages(chatId: Long) = withContext(ioDispatcher) {
         chatStorageGateway.clearChatPendingMessages(chatId)
     }
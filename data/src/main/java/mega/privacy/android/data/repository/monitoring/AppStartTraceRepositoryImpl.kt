@@ -0,0 +1,39 @@
+package mega.privacy.android.data.repository.monitoring
+
+import android.os.Build
+import android.os.Trace
+import mega.privacy.android.domain.entity.appstart.AppStartTaskTrace
+import mega.privacy.android.domain.repository.monitoring.AppStartTraceRepository
+import timber.log.Timber
+import javax.inject.Inject
+
+/**
+ * Records the startup trace as async sections of the system trace, so it shows in Perfetto and in
+ * the trace section metrics of the startup benchmarks
+ */
+internal class AppStartTraceRepositoryImpl @Inject constructor() : AppStartTraceRepository {
+
+    override fun startSection(sectionName: String, cookie: Int) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(sectionName, cookie)
+        }
+    }
+
+    override fun stopSection(sectionName: String, cookie: Int) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(sectionName, cookie)
+        }
+    }
+
+    override fun recordTaskTrace(taskTrace: AppStartTaskTrace) {
+        with(taskTrace) {
+            val message = "App start task $taskName took ${duration.inWholeMilliseconds} ms " +
+                    "in the ${if (isMainThread) "main" else "background"} thread"
+            if (error == null) {
+                Timber.d(message)
+            } else {
+                Timber.e(error, "$message and failed")
+            }
+        }
+    }
+}
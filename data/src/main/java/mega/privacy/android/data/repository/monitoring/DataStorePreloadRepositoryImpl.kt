@@ -0,0 +1,50 @@
+package mega.privacy.android.data.repository.monitoring
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import mega.privacy.android.data.preferences.base.DataStoreLoadMetricsRecorder
+import mega.privacy.android.data.qualifier.StartupDataStore
+import mega.privacy.android.domain.entity.appstart.DataStoreLoadMetrics
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import mega.privacy.android.domain.repository.monitoring.DataStorePreloadRepository
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Provider
+import kotlin.time.measureTime
+
+/**
+ * Preloads the [StartupDataStore]s in parallel in a background thread. The stores are created
+ * by their providers on first use, so the rest of them stay lazy.
+ */
+internal class DataStorePreloadRepositoryImpl @Inject constructor(
+    @StartupDataStore private val startupDataStores: Map<String, @JvmSuppressWildcards Provider<DataStore<Preferences>>>,
+    private val dataStoreLoadMetricsRecorder: DataStoreLoadMetricsRecorder,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) : DataStorePreloadRepository {
+
+    override suspend fun preloadStartupDataStores() = withContext(ioDispatcher) {
+        // withContext waits for every store
+        startupDataStores.forEach { (storeName, dataStore) ->
+            launch { preload(storeName, dataStore) }
+        }
+    }
+
+    private suspend fun preload(storeName: String, dataStore: Provider<DataStore<Preferences>>) {
+        // the first read itself is recorded by the store
+        dataStoreLoadMetricsRecorder.recordPreloadStart(storeName)
+        runCatching { measureTime { dataStore.get().data.first() } }
+            .onSuccess { duration ->
+                Timber.d("DataStore $storeName preloaded in ${duration.inWholeMilliseconds} ms")
+            }.onFailure {
+                Timber.w(it, "Error preloading DataStore $storeName")
+            }
+    }
+
+    override fun monitorDataStoreLoadMetrics(): Flow<List<DataStoreLoadMetrics>> =
+        dataStoreLoadMetricsRecorder.monitorMetrics()
+}
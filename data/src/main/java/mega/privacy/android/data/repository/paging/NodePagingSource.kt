@@ -0,0 +1,61 @@
+package mega.privacy.android.data.repository.paging
+
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.domain.entity.node.UnTypedNode
+
+/**
+ * Paging source of a list of nodes, such as the children of a folder or search results
+ *
+ * The handles of the nodes are fetched once, on the first load, so the list is a snapshot of the
+ * nodes at that moment. Only the nodes of each loaded page are mapped, so very large folders do not
+ * need to be mapped as a whole before showing them. The paging source needs to be invalidated for
+ * the nodes to be fetched again.
+ *
+ * Keys are positions in the list of handles. A handle returned more than once is kept only once,
+ * as the nodes are keyed by handle in the lists.
+ *
+ * @property getHandles fetches the handles of the nodes, in order
+ * @property mapNodes maps the nodes with the given handles, skipping the ones no longer available
+ */
+internal class NodePagingSource(
+    private val getHandles: suspend () -> List<Long>,
+    private val mapNodes: suspend (List<Long>) -> List<UnTypedNode>,
+) : PagingSource<Int, UnTypedNode>() {
+
+    private val mutex = Mutex()
+
+    private var handles: List<Long>? = null
+
+    override val jumpingSupported = true
+
+    override fun getRefreshKey(state: PagingState<Int, UnTypedNode>) =
+        state.anchorPosition?.let { maxOf(0, it - (state.config.initialLoadSize / 2)) }
+
+    override suspend fun load(params: LoadParams<Int>): LoadResult<Int, UnTypedNode> = try {
+        val handles = getOrFetchHandles()
+        val key = (params.key ?: 0).coerceIn(0, handles.size)
+        val (start, end) = when (params) {
+            is LoadParams.Prepend -> (key - params.loadSize).coerceAtLeast(0) to key
+            else -> key to (key + params.loadSize).coerceAtMost(handles.size)
+        }
+        LoadResult.Page(
+            data = mapNodes(handles.subList(start, end)),
+            prevKey = start.takeIf { it > 0 },
+            nextKey = end.takeIf { it < handles.size },
+            itemsBefore = start,
+            itemsAfter = handles.size - end,
+        )
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: Exception) {
+        LoadResult.Error(e)
+    }
+
+    private suspend fun getOrFetchHandles() = mutex.withLock {
+        handles ?: getHandles().distinct().also { handles = it }
+    }
+}
@@ -1,5 +1,8 @@
 package mega.privacy.android.data.repository.photos
 
+import kotlinx.collections.immutable.PersistentMap
+import kotlinx.collections.immutable.persistentMapOf
+import kotlinx.collections.immutable.toPersistentMap
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
@@ -11,10 +14,13 @@ import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.filterNotNull
 import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.extensions.decodeBase64
@@ -27,6 +33,7 @@ import mega.privacy.android.data.extensions.getValueFor
 import mega.privacy.android.data.extensions.toException
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.FileGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -62,6 +69,7 @@ import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.node.TypedFileNode
 import mega.privacy.android.domain.entity.photos.AlbumPhotoId
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotoChangeSet
 import mega.privacy.android.domain.entity.photos.TimelinePreferencesJSON
 import mega.privacy.android.domain.entity.search.SearchCategory
 import mega.privacy.android.domain.entity.search.SearchTarget
@@ -110,6 +118,7 @@ internal class DefaultPhotosRepository @Inject constructor(
     private val megaSearchFilterMapper: MegaSearchFilterMapper,
     private val cancelTokenProvider: CancelTokenProvider,
     private val monitorFetchNodesFinishUseCase: MonitorFetchNodesFinishUseCase,
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
 ) : PhotosRepository {
     @Volatile
     private var isInitialized: Boolean = false
@@ -118,11 +127,22 @@ internal class DefaultPhotosRepository @Inject constructor(
 
     private var previewFolderPath: String? = null
 
-    private val photosFlow: MutableStateFlow<List<Photo>?> = MutableStateFlow(null)
+    private val photoChangesFlow: MutableStateFlow<PhotoChangeSet?> = MutableStateFlow(null)
+
+    /**
+     * Version of the last emitted [PhotoChangeSet], it is not reset with the cache so consumers
+     * never take a change set emitted after clearing the cache as a continuation
+     */
+    private var photoChangesVersion = 0L
 
     private val imageNodesFlow: MutableStateFlow<List<ImageNode>?> = MutableStateFlow(null)
 
-    private val photosCache: MutableMap<NodeId, Photo> = mutableMapOf()
+    /**
+     * The photos by id, it is only replaced on [photosDispatcher]. Every emitted [PhotoChangeSet]
+     * shares the snapshot of its version instead of copying the photos
+     */
+    @Volatile
+    private var photosCache: PersistentMap<Long, Photo> = persistentMapOf()
 
     private val imageNodesCache: MutableMap<NodeId, ImageNode> = mutableMapOf()
 
@@ -141,6 +161,12 @@ internal class DefaultPhotosRepository @Inject constructor(
 
     private var monitorOfflineNodeJob: Job? = null
 
+    /**
+     * Held while a change is emitted and written to the timeline index, so the writes are applied
+     * in the same order as the emissions and a full replace can not overwrite a later change
+     */
+    private val timelineIndexMutex = Mutex()
+
     private val constraints: List<suspend (Node) -> Boolean> = listOf(
         ::checkMediaNode,
         ::checkCloudDriveNode,
@@ -154,9 +180,12 @@ internal class DefaultPhotosRepository @Inject constructor(
         }
     }
 
-    override fun monitorPhotos(): Flow<List<Photo>> {
+    override fun monitorPhotos(): Flow<List<Photo>> = monitorPhotoChanges()
+        .map { it.photos.values.toList() }
+
+    override fun monitorPhotoChanges(): Flow<PhotoChangeSet> {
         initialize()
-        return photosFlow.filterNotNull()
+        return photoChangesFlow.filterNotNull()
     }
 
     private fun initialize() {
@@ -184,6 +213,7 @@ internal class DefaultPhotosRepository @Inject constructor(
     private fun populateNodes() {
         populateNodesJob?.cancel()
         populateNodesJob = appScope.launch {
+            loadTimelineIndex()
             val (imageNodes, videoNodes) = fetchNodes()
 
             updatePhotos(imageNodes, videoNodes)
@@ -191,6 +221,51 @@ internal class DefaultPhotosRepository @Inject constructor(
         }
     }
 
+    /**
+     * Serves the photos persisted in the timeline index while the nodes are searched, so the
+     * timeline can be shown on startup without waiting for the search of the whole cloud drive
+     */
+    private suspend fun loadTimelineIndex() {
+        val photos = runCatching { megaLocalRoomGateway.getTimelinePhotos() }
+            .onFailure { Timber.e(it, "Unable to load the timeline index") }
+            .getOrNull()
+        if (photos.isNullOrEmpty()) return
+
+        withContext(photosDispatcher) {
+            if (photoChangesFlow.value != null) return@withContext
+            photosCache = photos.associateBy { it.id }.toPersistentMap()
+            emitPhotoChanges(isReset = true)
+        }
+    }
+
+    /**
+     * Emits the current photos with the changes since the last emission, it needs to be called
+     * on [photosDispatcher]
+     */
+    private fun emitPhotoChanges(
+        changes: PhotoChanges = PhotoChanges(),
+        isReset: Boolean = false,
+    ): PhotoChangeSet {
+        val changeSet = PhotoChangeSet(
+            version = ++photoChangesVersion,
+            photos = photosCache,
+            addedIds = changes.addedIds.toSet(),
+            updatedIds = changes.updatedIds.toSet(),
+            removedIds = changes.removedIds.toSet(),
+            isReset = isReset,
+        )
+        photoChangesFlow.value = changeSet
+        return changeSet
+    }
+
+    /**
+     * Writes a change to the timeline index, it needs to be called holding [timelineIndexMutex]
+     */
+    private suspend fun updateTimelineIndex(update: suspend MegaLocalRoomGateway.() -> Unit) {
+        runCatching { megaLocalRoomGateway.update() }
+            .onFailure { Timber.e(it, "Unable to update the timeline index") }
+    }
+
     private suspend fun fetchNodes(): List<List<MegaNode>> = withContext(ioDispatcher) {
         awaitAll(
             async { fetchImageNodes() },
@@ -239,12 +314,12 @@ internal class DefaultPhotosRepository @Inject constructor(
             async { videoNodes.map { mapMegaNodeToVideo(it) } },
         ).flatten()
 
-        withContext(photosDispatcher) {
-            photosCache.clear()
-            photosCache.putAll(photos.associateBy { NodeId(it.id) })
-
-            val newPhotos = photosCache.values.toList()
-            photosFlow.update { newPhotos }
+        timelineIndexMutex.withLock {
+            withContext(photosDispatcher) {
+                photosCache = photos.associateBy { it.id }.toPersistentMap()
+                emitPhotoChanges(isReset = true)
+            }
+            updateTimelineIndex { setTimelinePhotos(photos) }
         }
     }
 
@@ -278,21 +353,39 @@ internal class DefaultPhotosRepository @Inject constructor(
     }
 
     private suspend fun handleNodeUpdate(nodeUpdate: NodeUpdate) {
+        val photoChanges = PhotoChanges()
+
         for ((node, changes) in nodeUpdate.changes) {
             if (node is FolderNode && changes.contains(NodeChanges.Sensitive)) {
-                refreshSensitivePhotos()
-                refreshSensitiveImageNodes()
+                val subtreeNodes = runCatching { fetchMediaNodesInFolder(node.id) }
+                    .onFailure { Timber.e(it, "Unable to search the media of ${node.id}") }
+                    .getOrNull()
+                if (subtreeNodes == null) {
+                    refreshSensitivePhotos(photoChanges)
+                    refreshSensitiveImageNodes()
+                } else {
+                    refreshSensitivePhotos(subtreeNodes, photoChanges)
+                    refreshSensitiveImageNodes(subtreeNodes.map { NodeId(it.handle) }.toSet())
+                }
             } else {
                 val isPotentialNode = constraints.all { it(node) }
 
-                refreshPhotos(node, isPotentialNode)
+                refreshPhotos(node, isPotentialNode, photoChanges)
                 refreshImageNodes(node, isPotentialNode)
             }
         }
 
-        withContext(photosDispatcher) {
-            val newPhotos = photosCache.values.toList()
-            photosFlow.update { newPhotos }
+        if (!photoChanges.isEmpty()) {
+            timelineIndexMutex.withLock {
+                val changeSet = withContext(photosDispatcher) { emitPhotoChanges(photoChanges) }
+                updateTimelineIndex {
+                    deleteTimelinePhotos(changeSet.removedIds.toList())
+                    insertOrUpdateTimelinePhotos(
+                        (changeSet.addedIds + changeSet.updatedIds)
+                            .mapNotNull { changeSet.photos[it] }
+                    )
+                }
+            }
         }
 
         withContext(imageNodesDispatcher) {
@@ -304,45 +397,80 @@ internal class DefaultPhotosRepository @Inject constructor(
     private suspend fun refreshPhotos(
         node: Node,
         isPotentialNode: Boolean,
+        photoChanges: PhotoChanges,
     ) = withContext(photosDispatcher) {
-        if (!isPotentialNode) {
-            photosCache.remove(node.id)
-            return@withContext
+        val photo = if (isPotentialNode) {
+            getMegaNode(nodeId = node.id)?.let { mapMegaNodeToTimelinePhoto(it) }
+        } else {
+            null
         }
+        putOrRemovePhoto(node.id, photo, photoChanges)
+    }
 
-        val photo = getMegaNode(nodeId = node.id)?.let { megaNode ->
-            if (isImageNodeValid(megaNode)) {
-                mapMegaNodeToImage(megaNode)
-            } else if (isVideoNodeValid(megaNode)) {
-                mapMegaNodeToVideo(megaNode)
-            } else {
-                null
+    /**
+     * Refreshes the cached photos inside a folder whose sensitive flag changed
+     *
+     * @param subtreeNodes the image and video nodes inside the folder and its sub folders
+     */
+    private suspend fun refreshSensitivePhotos(
+        subtreeNodes: List<MegaNode>,
+        photoChanges: PhotoChanges,
+    ) = withContext(photosDispatcher) {
+        subtreeNodes.forEach { megaNode ->
+            val nodeId = NodeId(megaNode.handle)
+            if (photosCache.containsKey(nodeId.longValue)) {
+                putOrRemovePhoto(nodeId, mapMegaNodeToTimelinePhoto(megaNode), photoChanges)
             }
         }
+    }
+
+    /**
+     * Refreshes all the cached photos, used if the folder whose sensitive flag changed could not
+     * be searched
+     */
+    private suspend fun refreshSensitivePhotos(
+        photoChanges: PhotoChanges,
+    ) = withContext(photosDispatcher) {
+        photosCache.keys.forEach { id ->
+            val nodeId = NodeId(id)
+            val photo = getMegaNode(nodeId)?.let { mapMegaNodeToTimelinePhoto(it) }
+            putOrRemovePhoto(nodeId, photo, photoChanges)
+        }
+    }
 
+    private fun putOrRemovePhoto(nodeId: NodeId, photo: Photo?, photoChanges: PhotoChanges) {
         if (photo == null) {
-            photosCache.remove(node.id)
+            if (photosCache.containsKey(nodeId.longValue)) {
+                photosCache = photosCache.remove(nodeId.longValue)
+                photoChanges.onRemoved(nodeId.longValue)
+            }
         } else {
-            photosCache[NodeId(photo.id)] = photo
+            val isNew = !photosCache.containsKey(photo.id)
+            photosCache = photosCache.put(photo.id, photo)
+            photoChanges.onPut(photo.id, isNew = isNew)
         }
     }
 
-    private suspend fun refreshSensitivePhotos() = withContext(photosDispatcher) {
-        val photos = photosCache.mapNotNull { (nodeId, _) ->
-            getMegaNode(nodeId)?.let { megaNode ->
-                if (isImageNodeValid(megaNode)) {
-                    mapMegaNodeToImage(megaNode)
-                } else if (isVideoNodeValid(megaNode)) {
-                    mapMegaNodeToVideo(megaNode)
-                } else {
-                    null
-                }
-            }
+    private suspend fun mapMegaNodeToTimelinePhoto(megaNode: MegaNode): Photo? =
+        if (isImageNodeValid(megaNode)) {
+            mapMegaNodeToImage(megaNode)
+        } else if (isVideoNodeValid(megaNode)) {
+            mapMegaNodeToVideo(megaNode)
+        } else {
+            null
         }
 
-        photosCache.clear()
-        photosCache.putAll(photos.associateBy { NodeId(it.id) })
-    }
+    private suspend fun fetchMediaNodesInFolder(folderId: NodeId): List<MegaNode> =
+        withContext(ioDispatcher) {
+            awaitAll(
+                async {
+                    getMegaNodeByCategory(parentId = folderId, searchCategory = SearchCategory.IMAGES)
+                },
+                async {
+                    getMegaNodeByCategory(parentId = folderId, searchCategory = SearchCategory.VIDEO)
+                },
+            ).flatten()
+        }
 
     private suspend fun refreshImageNodes(
         node: Node,
@@ -361,13 +489,22 @@ internal class DefaultPhotosRepository @Inject constructor(
         }
     }
 
-    private suspend fun refreshSensitiveImageNodes() = withContext(imageNodesDispatcher) {
-        val imageNodes = imageNodesCache.mapNotNull { (nodeId, _) ->
-            fetchImageNode(nodeId)
-        }
-
-        imageNodesCache.clear()
-        imageNodesCache.putAll(imageNodes.associateBy { it.id })
+    /**
+     * @param nodeIds the ids of the nodes to refresh, all the cached nodes if null
+     */
+    private suspend fun refreshSensitiveImageNodes(
+        nodeIds: Set<NodeId>? = null,
+    ) = withContext(imageNodesDispatcher) {
+        imageNodesCache.keys
+            .filter { nodeIds == null || it in nodeIds }
+            .forEach { nodeId ->
+                val imageNode = fetchImageNode(nodeId)
+                if (imageNode == null) {
+                    imageNodesCache.remove(nodeId)
+                } else {
+                    imageNodesCache[nodeId] = imageNode
+                }
+            }
     }
 
     override fun monitorImageNodes(): Flow<List<ImageNode>> = imageNodesFlow
@@ -408,7 +545,7 @@ internal class DefaultPhotosRepository @Inject constructor(
         albumPhotoId: AlbumPhotoId?,
         refresh: Boolean,
     ): Photo? {
-        return when (val photo = photosCache[nodeId].takeIf { !refresh }) {
+        return when (val photo = photosCache[nodeId.longValue].takeIf { !refresh }) {
             is Photo.Image -> {
                 photo.copy(albumPhotoId = albumPhotoId?.id)
             }
@@ -656,7 +793,7 @@ internal class DefaultPhotosRepository @Inject constructor(
     override suspend fun getPhotosByIds(ids: List<NodeId>): List<Photo> =
         withContext(ioDispatcher) {
             ids.mapNotNull { id ->
-                val cache = photosCache[id]
+                val cache = photosCache[id.longValue]
                 if (cache != null) {
                     cache
                 } else {
@@ -1012,11 +1149,37 @@ internal class DefaultPhotosRepository @Inject constructor(
         monitorNodeUpdatesJob = null
 
         offlineNodesCache = mapOf()
-        photosCache.clear()
+        photosCache = persistentMapOf()
         imageNodesCache.clear()
         imageResultCache.clear()
 
-        photosFlow.value = null
+        photoChangesFlow.value = null
         imageNodesFlow.value = null
     }
+
+    /**
+     * Accumulates the changes of the photos made while handling a node update
+     */
+    private class PhotoChanges {
+        val addedIds = mutableSetOf<Long>()
+        val updatedIds = mutableSetOf<Long>()
+        val removedIds = mutableSetOf<Long>()
+
+        fun onPut(id: Long, isNew: Boolean) {
+            when {
+                removedIds.remove(id) -> updatedIds.add(id)
+                isNew -> addedIds.add(id)
+                id !in addedIds -> updatedIds.add(id)
+            }
+        }
+
+        fun isEmpty() = addedIds.isEmpty() && updatedIds.isEmpty() && removedIds.isEmpty()
+
+        fun onRemoved(id: Long) {
+            if (!addedIds.remove(id)) {
+                updatedIds.remove(id)
+                removedIds.add(id)
+            }
+        }
+    }
 }
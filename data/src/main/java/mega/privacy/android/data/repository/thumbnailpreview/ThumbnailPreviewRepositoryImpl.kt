@@ -1,8 +1,11 @@
 package mega.privacy.android.data.repository.thumbnailpreview
 
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.ThumbnailPreviewDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.constant.FileConstant
 import mega.privacy.android.data.extensions.getPreviewFileName
@@ -11,13 +14,13 @@ import mega.privacy.android.data.extensions.getThumbnailFileName
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
-import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
 import mega.privacy.android.data.mapper.node.MegaNodeMapper
 import mega.privacy.android.data.wrapper.StringWrapper
 import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestMetrics
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.thumbnailpreview.ThumbnailPreviewRepository
-import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaNode
 import timber.log.Timber
 import java.io.File
@@ -30,14 +33,26 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
     private val cacheGateway: CacheGateway,
     private val stringWrapper: StringWrapper,
     private val megaNodeMapper: MegaNodeMapper,
+    private val thumbnailPreviewDiskCache: ThumbnailPreviewDiskCache,
+    private val thumbnailRequestScheduler: ThumbnailRequestScheduler,
 ) : ThumbnailPreviewRepository {
 
+    /**
+     * Key of a download in [thumbnailRequestScheduler]
+     */
+    private data class DownloadKey(
+        val folderName: String,
+        val handle: Long,
+        val isPublicNode: Boolean = false,
+    )
+
     override suspend fun getThumbnailFromLocal(handle: Long): File? =
         withContext(ioDispatcher) {
             cacheGateway.getCacheFile(
                 CacheFolderConstant.THUMBNAIL_FOLDER,
                 getThumbnailOrPreviewFileName(handle)
             )?.takeIf { it.exists() }
+                ?.also { thumbnailPreviewDiskCache.onRead(CacheFolderConstant.THUMBNAIL_FOLDER, it) }
         }
 
     override suspend fun getPublicNodeThumbnailFromLocal(handle: Long): File? =
@@ -46,7 +61,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
                 getThumbnailFile(this).takeIf {
                     it?.exists() ?: false
                 }
-            }
+            }?.also { thumbnailPreviewDiskCache.onRead(CacheFolderConstant.THUMBNAIL_FOLDER, it) }
         }
 
     private suspend fun getThumbnailFile(node: MegaNode): File? =
@@ -60,11 +75,14 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
             megaApi.getMegaNodeByHandle(handle)?.let { node ->
                 if (!node.hasThumbnail()) return@withContext null
                 getThumbnailFile(node)?.let { thumbnail ->
-                    suspendCancellableCoroutine { continuation ->
-                        val listener = continuation.getRequestListener("getThumbnailFromServer") {
-                            thumbnail
-                        }
-                        megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
+                    scheduleThumbnail(handle, ThumbnailRequestPriority.VISIBLE) {
+                        suspendCancellableCoroutine { continuation ->
+                            val listener =
+                                continuation.getRequestListener("getThumbnailFromServer") {
+                                    thumbnail
+                                }
+                            megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
+                        }.also { onThumbnailWritten(it) }
                     }
                 }
             }
@@ -74,12 +92,14 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         withContext(ioDispatcher) {
             megaApiFolder.getMegaNodeByHandle(handle)?.let { node ->
                 getThumbnailFile(node)?.let { thumbnail ->
-                    suspendCancellableCoroutine { continuation ->
-                        val listener =
-                            continuation.getRequestListener("getPublicNodeThumbnailFromServer") {
-                                thumbnail
-                            }
-                        megaApiFolder.getThumbnail(node, thumbnail.absolutePath, listener)
+                    scheduleThumbnail(handle, ThumbnailRequestPriority.VISIBLE, true) {
+                        suspendCancellableCoroutine { continuation ->
+                            val listener =
+                                continuation.getRequestListener("getPublicNodeThumbnailFromServer") {
+                                    thumbnail
+                                }
+                            megaApiFolder.getThumbnail(node, thumbnail.absolutePath, listener)
+                        }.also { onThumbnailWritten(it) }
                     }
                 }
             }
@@ -99,7 +119,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
                     getPreviewFile(this).takeIf {
                         it?.exists() ?: false
                     }
-                }
+                }?.also { thumbnailPreviewDiskCache.onRead(CacheFolderConstant.PREVIEW_FOLDER, it) }
             }.onFailure {
                 Timber.e(it)
             }.getOrNull()
@@ -110,11 +130,14 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
             runCatching {
                 megaNodeMapper(typedNode)?.let { node ->
                     getPreviewFile(node)?.let { preview ->
-                        suspendCancellableCoroutine { continuation ->
-                            val listener = continuation.getRequestListener("getPreviewFromServer") {
-                                preview
-                            }
-                            megaApi.getPreview(node, preview.absolutePath, listener)
+                        schedulePreview(node.handle) {
+                            suspendCancellableCoroutine { continuation ->
+                                val listener =
+                                    continuation.getRequestListener("getPreviewFromServer") {
+                                        preview
+                                    }
+                                megaApi.getPreview(node, preview.absolutePath, listener)
+                            }.also { onPreviewWritten(it) }
                         }
                     }
                 }
@@ -125,6 +148,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
 
     override suspend fun downloadThumbnail(
         handle: Long,
+        priority: ThumbnailRequestPriority,
         callback: (success: Boolean) -> Unit,
     ) = withContext(ioDispatcher) {
         val node = megaApi.getMegaNodeByHandle(handle)
@@ -134,14 +158,24 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || thumbnailFolderPath == null || !node.hasThumbnail()) {
             callback(false)
         } else {
-            megaApi.getThumbnail(
-                node,
-                getThumbnailPath(thumbnailFolderPath, node),
-                OptionalMegaRequestListenerInterface(
-                    onRequestFinish = { _, error ->
-                        callback(error.errorCode == MegaError.API_OK)
+            val thumbnail = File(getThumbnailPath(thumbnailFolderPath, node))
+            if (thumbnail.exists()) {
+                thumbnailRequestScheduler.onCacheHit()
+                thumbnailPreviewDiskCache.onRead(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnail)
+                callback(true)
+                return@withContext
+            }
+            callback(
+                isSuccessful {
+                    scheduleThumbnail(handle, priority) {
+                        suspendCancellableCoroutine { continuation ->
+                            val listener = continuation.getRequestListener("downloadThumbnail") {
+                                thumbnail
+                            }
+                            megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
+                        }.also { onThumbnailWritten(it) }
                     }
-                )
+                }
             )
         }
     }
@@ -157,14 +191,18 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || previewFolderPath == null || !node.hasPreview()) {
             callback(false)
         } else {
-            megaApi.getPreview(
-                node,
-                getPreviewPath(previewFolderPath, node),
-                OptionalMegaRequestListenerInterface(
-                    onRequestFinish = { _, error ->
-                        callback(error.errorCode == MegaError.API_OK)
+            val preview = File(getPreviewPath(previewFolderPath, node))
+            callback(
+                isSuccessful {
+                    schedulePreview(handle) {
+                        suspendCancellableCoroutine { continuation ->
+                            val listener = continuation.getRequestListener("downloadPreview") {
+                                preview
+                            }
+                            megaApi.getPreview(node, preview.absolutePath, listener)
+                        }.also { onPreviewWritten(it) }
                     }
-                )
+                }
             )
         }
     }
@@ -179,16 +217,16 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || thumbnailFolderPath == null || !node.hasThumbnail()) {
             return@withContext false
         } else {
-            return@withContext suspendCancellableCoroutine { continuation ->
-                val listener = continuation.getRequestListener("getThumbnail") {
-                    true
-                }
-                megaApi.getThumbnail(
-                    node,
-                    getThumbnailPath(thumbnailFolderPath, node),
-                    listener
-                )
+            val thumbnail = File(getThumbnailPath(thumbnailFolderPath, node))
+            scheduleThumbnail(handle, ThumbnailRequestPriority.VISIBLE, true) {
+                suspendCancellableCoroutine { continuation ->
+                    val listener = continuation.getRequestListener("getThumbnail") {
+                        thumbnail
+                    }
+                    megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
+                }.also { onThumbnailWritten(it) }
             }
+            return@withContext true
         }
     }
 
@@ -202,20 +240,62 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || previewFolderPath == null || !node.hasPreview()) {
             return@withContext false
         } else {
-            return@withContext suspendCancellableCoroutine { continuation ->
-                val listener = continuation.getRequestListener("getThumbnail") {
-                    true
-                }
-                megaApi.getPreview(
-                    node,
-                    getPreviewPath(previewFolderPath, node),
-                    listener
-                )
-
+            val preview = File(getPreviewPath(previewFolderPath, node))
+            schedulePreview(handle, true) {
+                suspendCancellableCoroutine { continuation ->
+                    val listener = continuation.getRequestListener("getThumbnail") {
+                        preview
+                    }
+                    megaApi.getPreview(node, preview.absolutePath, listener)
+                }.also { onPreviewWritten(it) }
             }
+            return@withContext true
         }
     }
 
+    /**
+     * Runs a download, returning whether it finished successfully
+     */
+    private suspend fun isSuccessful(download: suspend () -> Unit) = try {
+        download()
+        true
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: Exception) {
+        Timber.e(e)
+        false
+    }
+
+    override fun monitorThumbnailRequestMetrics(): Flow<ThumbnailRequestMetrics> =
+        thumbnailRequestScheduler.metrics
+
+    private suspend fun scheduleThumbnail(
+        handle: Long,
+        priority: ThumbnailRequestPriority,
+        isPublicNode: Boolean = false,
+        download: suspend () -> File,
+    ) = thumbnailRequestScheduler.schedule(
+        key = DownloadKey(CacheFolderConstant.THUMBNAIL_FOLDER, handle, isPublicNode),
+        priority = priority,
+        download = download,
+    )
+
+    private suspend fun schedulePreview(
+        handle: Long,
+        isPublicNode: Boolean = false,
+        download: suspend () -> File,
+    ) = thumbnailRequestScheduler.schedule(
+        key = DownloadKey(CacheFolderConstant.PREVIEW_FOLDER, handle, isPublicNode),
+        priority = ThumbnailRequestPriority.VISIBLE,
+        download = download,
+    )
+
+    private suspend fun onThumbnailWritten(thumbnail: File) =
+        thumbnailPreviewDiskCache.onWrite(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnail)
+
+    private suspend fun onPreviewWritten(preview: File) =
+        thumbnailPreviewDiskCache.onWrite(CacheFolderConstant.PREVIEW_FOLDER, preview)
+
     private fun getPreviewPath(previewFolderPath: String, megaNode: MegaNode) =
         "$previewFolderPath${File.separator}${megaNode.getPreviewFileName()}"
 
@@ -247,6 +327,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         val thumbnailFile = getThumbnailFile(thumbnailFileName)
         requireNotNull(thumbnailFile)
         megaApi.createThumbnail(file.absolutePath, thumbnailFile.absolutePath)
+            .also { created -> if (created) onThumbnailWritten(thumbnailFile) }
     }
 
 
@@ -255,6 +336,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         val previewFile = getPreviewFile(previewFileName)
         requireNotNull(previewFile)
         megaApi.createPreview(file.absolutePath, previewFile.absolutePath)
+            .also { created -> if (created) onPreviewWritten(previewFile) }
     }
 
     override suspend fun createPreview(name: String, file: File) =
@@ -263,16 +345,25 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
             val previewFile = getPreviewFile(previewFileName)
             requireNotNull(previewFile)
             megaApi.createPreview(file.absolutePath, previewFile.absolutePath)
+                .also { created -> if (created) onPreviewWritten(previewFile) }
         }
 
     override suspend fun deleteThumbnail(handle: Long) = withContext(ioDispatcher) {
         val thumbnailFileName = getThumbnailOrPreviewFileName(handle)
-        getThumbnailFile(thumbnailFileName)?.takeIf { it.exists() }?.delete()
+        getThumbnailFile(thumbnailFileName)?.takeIf { it.exists() }?.let { thumbnail ->
+            thumbnail.delete().also {
+                thumbnailPreviewDiskCache.onDelete(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnail)
+            }
+        }
     }
 
     override suspend fun deletePreview(handle: Long) = withContext(ioDispatcher) {
         val previewFileName = getThumbnailOrPreviewFileName(handle)
-        getPreviewFile(previewFileName)?.takeIf { it.exists() }?.delete()
+        getPreviewFile(previewFileName)?.takeIf { it.exists() }?.let { preview ->
+            preview.delete().also {
+                thumbnailPreviewDiskCache.onDelete(CacheFolderConstant.PREVIEW_FOLDER, preview)
+            }
+        }
     }
 
     override suspend fun getThumbnailOrPreviewFileName(nodeHandle: Long) =
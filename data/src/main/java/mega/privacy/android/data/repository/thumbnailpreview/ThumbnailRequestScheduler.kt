@@ -0,0 +1,167 @@
+package mega.privacy.android.data.repository.thumbnailpreview
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestMetrics
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Schedules the thumbnail and preview downloads
+ *
+ * - At most [MAX_CONCURRENT_REQUESTS] downloads run at the same time, the rest wait in a queue.
+ * - Queued downloads start by priority and, for the same priority, the most recently requested
+ * first, as those are the images that just scrolled into view.
+ * - Requests for a download already queued or in progress join it instead of downloading again,
+ * raising its priority if needed.
+ * - A queued download is dropped once all its requesters are cancelled, for instance because the
+ * image scrolled out of view. Downloads in progress can not be cancelled on the SDK, so they run
+ * until finished.
+ */
+@Singleton
+internal class ThumbnailRequestScheduler(
+    private val scope: CoroutineScope,
+    private val ioDispatcher: CoroutineDispatcher,
+    private val maxConcurrentRequests: Int,
+) {
+
+    @Inject
+    constructor(
+        @ApplicationScope scope: CoroutineScope,
+        @IoDispatcher ioDispatcher: CoroutineDispatcher,
+    ) : this(scope, ioDispatcher, MAX_CONCURRENT_REQUESTS)
+
+    private class Request(
+        val key: Any,
+        val download: suspend () -> Any?,
+        var priority: ThumbnailRequestPriority,
+        var sequence: Long,
+    ) {
+        val result = CompletableDeferred<Any?>()
+        var requesters = 0
+        var isStarted = false
+    }
+
+    private val lock = Any()
+
+    private val requests = HashMap<Any, Request>()
+
+    private val queue = mutableListOf<Request>()
+
+    private var inFlight = 0
+
+    private var sequence = 0L
+
+    private val _metrics = MutableStateFlow(ThumbnailRequestMetrics())
+
+    /**
+     * Metrics of the scheduled downloads
+     */
+    val metrics: StateFlow<ThumbnailRequestMetrics> = _metrics.asStateFlow()
+
+    /**
+     * Schedules a download, or joins the one already scheduled with the same key
+     *
+     * @param key the key of the download, identifying the node and the kind of image
+     * @param priority the priority of the download
+     * @param download the download
+     * @return the result of the download
+     */
+    suspend fun <T> schedule(
+        key: Any,
+        priority: ThumbnailRequestPriority,
+        download: suspend () -> T,
+    ): T {
+        val request = synchronized(lock) {
+            sequence++
+            val existing = requests[key]
+            val request = existing?.apply {
+                if (priority > this.priority) this.priority = priority
+                this.sequence = this@ThumbnailRequestScheduler.sequence
+            } ?: Request(key, download, priority, sequence).also {
+                requests[key] = it
+                queue.add(it)
+            }
+            request.requesters++
+            _metrics.update {
+                it.copy(
+                    requested = it.requested + 1,
+                    deduplicated = it.deduplicated + if (existing != null) 1 else 0,
+                )
+            }
+            startNext()
+            request
+        }
+        try {
+            @Suppress("UNCHECKED_CAST")
+            return request.result.await() as T
+        } finally {
+            synchronized(lock) {
+                request.requesters--
+                if (request.requesters == 0 && !request.isStarted) {
+                    requests.remove(key)
+                    queue.remove(request)
+                    _metrics.update { it.copy(cancelled = it.cancelled + 1) }
+                    updateQueueMetrics()
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a request answered from the cache folder, without scheduling a download
+     */
+    fun onCacheHit() {
+        _metrics.update { it.copy(requested = it.requested + 1, cacheHits = it.cacheHits + 1) }
+    }
+
+    /**
+     * Starts the queued downloads with the highest priority while there are free slots
+     */
+    private fun startNext() {
+        while (inFlight < maxConcurrentRequests && queue.isNotEmpty()) {
+            val next = queue.maxWith(compareBy<Request> { it.priority }.thenBy { it.sequence })
+            queue.remove(next)
+            next.isStarted = true
+            inFlight++
+            scope.launch(ioDispatcher) { run(next) }
+        }
+        updateQueueMetrics()
+    }
+
+    private suspend fun run(request: Request) {
+        val result = runCatching { request.download() }
+        synchronized(lock) {
+            requests.remove(request.key)
+            inFlight--
+            if (request.requesters == 0) {
+                _metrics.update { it.copy(wasted = it.wasted + 1) }
+            }
+            startNext()
+        }
+        result.fold(
+            onSuccess = { request.result.complete(it) },
+            onFailure = { request.result.completeExceptionally(it) },
+        )
+    }
+
+    private fun updateQueueMetrics() {
+        _metrics.update { it.copy(queueDepth = queue.size, inFlight = inFlight) }
+    }
+
+    companion object {
+        /**
+         * Maximum number of downloads running at the same time
+         */
+        const val MAX_CONCURRENT_REQUESTS = 4
+    }
+}
@@ -0,0 +1,140 @@
+package mega.privacy.android.data.cache
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+class DiskLruIndexTest {
+
+    @TempDir
+    lateinit var directory: File
+
+    private lateinit var underTest: DiskLruIndex
+
+    @BeforeEach
+    fun setUp() {
+        underTest = DiskLruIndex(directory = directory, maxBytes = MAX_BYTES)
+    }
+
+    @Test
+    fun `test that written files are added to the size`() {
+        write("a", 10)
+        write("b", 20)
+
+        assertThat(underTest.size()).isEqualTo(30)
+    }
+
+    @Test
+    fun `test that the least recently accessed files are deleted when above the maximum size`() {
+        write("a", 40)
+        write("b", 40)
+        underTest.onRead("a")
+
+        write("c", 40)
+
+        assertThat(File(directory, "a").exists()).isTrue()
+        assertThat(File(directory, "b").exists()).isFalse()
+        assertThat(File(directory, "c").exists()).isTrue()
+        assertThat(underTest.size()).isEqualTo(80)
+    }
+
+    @Test
+    fun `test that deleted files are removed from the size`() {
+        write("a", 10)
+        write("b", 20)
+
+        File(directory, "a").delete()
+        underTest.onDelete("a")
+
+        assertThat(underTest.size()).isEqualTo(20)
+    }
+
+    @Test
+    fun `test that the index is restored from the journal`() {
+        write("a", 40)
+        write("b", 40)
+        underTest.onRead("a")
+        write("c", 40)
+
+        val restored = DiskLruIndex(directory = directory, maxBytes = MAX_BYTES)
+        assertThat(restored.size()).isEqualTo(80)
+        createFile("d", 40)
+        restored.onWrite("d")
+
+        assertThat(File(directory, "a").exists()).isFalse()
+        assertThat(File(directory, "c").exists()).isTrue()
+        assertThat(File(directory, "d").exists()).isTrue()
+    }
+
+    @Test
+    fun `test that the files missing in the journal are adopted as the least recently accessed`() {
+        write("a", 30)
+        createFile("b", 30)
+
+        val restored = DiskLruIndex(directory = directory, maxBytes = MAX_BYTES)
+        assertThat(restored.size()).isEqualTo(60)
+        createFile("c", 50)
+        restored.onWrite("c")
+
+        assertThat(File(directory, "a").exists()).isTrue()
+        assertThat(File(directory, "b").exists()).isFalse()
+        assertThat(restored.size()).isEqualTo(80)
+    }
+
+    @Test
+    fun `test that the files deleted outside the index are dropped when it is loaded`() {
+        write("a", 30)
+        write("b", 20)
+        File(directory, "a").delete()
+
+        val restored = DiskLruIndex(directory = directory, maxBytes = MAX_BYTES)
+
+        assertThat(restored.size()).isEqualTo(20)
+    }
+
+    @Test
+    fun `test that the index is rebuilt from the folder if there is no journal`() {
+        createFile("a", 40).setLastModified(1_000)
+        createFile("b", 40).setLastModified(2_000)
+        createFile("c", 40).setLastModified(3_000)
+
+        assertThat(underTest.size()).isEqualTo(80)
+        assertThat(File(directory, "a").exists()).isFalse()
+        assertThat(File(directory, DiskLruIndex.JOURNAL_FILE_NAME).exists()).isTrue()
+    }
+
+    @Test
+    fun `test that the index is reloaded if the folder was cleared`() {
+        write("a", 40)
+        directory.listFiles()?.forEach { it.delete() }
+
+        write("b", 20)
+
+        assertThat(underTest.size()).isEqualTo(20)
+    }
+
+    @Test
+    fun `test that reading a file not written through the index adds it`() {
+        createFile("a", 10)
+
+        underTest.onRead("a")
+
+        assertThat(underTest.size()).isEqualTo(10)
+    }
+
+    private fun write(name: String, size: Int) {
+        createFile(name, size)
+        underTest.onWrite(name)
+    }
+
+    private fun createFile(name: String, size: Int) =
+        File(directory, name).apply { writeBytes(ByteArray(size)) }
+
+    companion object {
+        private const val MAX_BYTES = 100L
+    }
+}
@@ -0,0 +1,117 @@
+package mega.privacy.android.data.cache
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.domain.entity.Offline
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OfflineHandleIndexTest {
+
+    private lateinit var underTest: OfflineHandleIndex
+
+    private val offlineDao = mock<OfflineDao>()
+    private val offlineModelMapper = mock<OfflineModelMapper>()
+
+    private val entities = listOf<OfflineEntity>(mock(), mock())
+    private val offline1 = createOffline(id = 1, handle = 11L)
+    private val offline2 = createOffline(id = 2, handle = 22L)
+
+    @BeforeEach
+    fun setUp() = runTest {
+        reset(offlineDao, offlineModelMapper)
+        whenever(offlineDao.getOfflineFiles()).thenReturn(entities)
+        whenever(offlineModelMapper(entities)).thenReturn(listOf(offline1, offline2))
+        underTest = OfflineHandleIndex(
+            offlineDao = { offlineDao },
+            offlineModelMapper = offlineModelMapper,
+        )
+    }
+
+    @Test
+    fun `test that the offline information is loaded from the database on first use`() =
+        runTest {
+            assertThat(underTest.get(11L)).isEqualTo(offline1)
+            assertThat(underTest.isAvailableOffline(22L)).isTrue()
+            assertThat(underTest.isAvailableOffline(33L)).isFalse()
+        }
+
+    @Test
+    fun `test that the offline information is loaded only once`() = runTest {
+        underTest.get(11L)
+        underTest.get(22L)
+        underTest.getAll()
+
+        verify(offlineDao, times(1)).getOfflineFiles()
+    }
+
+    @Test
+    fun `test that updates before the first use do not load the offline information`() =
+        runTest {
+            underTest.put(createOffline(id = 3, handle = 33L))
+            underTest.remove(11L)
+
+            verify(offlineDao, never()).getOfflineFiles()
+        }
+
+    @Test
+    fun `test that put adds the offline information to the index`() = runTest {
+        val offline3 = createOffline(id = 3, handle = 33L)
+        underTest.getAll()
+
+        underTest.put(offline3)
+
+        assertThat(underTest.get(33L)).isEqualTo(offline3)
+    }
+
+    @Test
+    fun `test that remove removes the offline information of the handle`() = runTest {
+        underTest.getAll()
+
+        underTest.remove(11L)
+
+        assertThat(underTest.getAll()).containsExactly(22L, offline2)
+    }
+
+    @Test
+    fun `test that removeByIds removes the offline information with the given ids`() = runTest {
+        underTest.getAll()
+
+        underTest.removeByIds(listOf(2))
+
+        assertThat(underTest.getAll()).containsExactly(11L, offline1)
+    }
+
+    @Test
+    fun `test that clear removes all the offline information`() = runTest {
+        underTest.getAll()
+
+        underTest.clear()
+
+        assertThat(underTest.getAll()).isEmpty()
+        verify(offlineModelMapper, times(1)).invoke(any<List<OfflineEntity>>())
+    }
+
+    private fun createOffline(id: Int, handle: Long) = Offline(
+        id = id,
+        handle = handle.toString(),
+        path = "/path",
+        name = "name$id",
+        parentId = -1,
+        type = Offline.FILE,
+        origin = 0,
+        handleIncoming = "",
+    )
+}
@@ -0,0 +1,126 @@
+package mega.privacy.android.data.cache
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransferProgressStoreTest {
+
+    private lateinit var underTest: TransferProgressStore<Long>
+
+    @BeforeEach
+    fun setUp() {
+        underTest = TransferProgressStore(INTERVAL)
+    }
+
+    @Test
+    fun `test that snapshot contains the last value put for each tag`() {
+        underTest.put(1, 10L)
+        underTest.put(2, 20L)
+        underTest.put(1, 15L)
+
+        assertThat(underTest.snapshot()).containsExactly(1, 15L, 2, 20L)
+    }
+
+    @Test
+    fun `test that putAll adds and updates all the values`() {
+        underTest.put(1, 10L)
+
+        underTest.putAll(mapOf(1 to 11L, 3 to 30L))
+
+        assertThat(underTest.snapshot()).containsExactly(1, 11L, 3, 30L)
+    }
+
+    @Test
+    fun `test that remove and removeAll remove the values of the given tags`() {
+        underTest.putAll(mapOf(1 to 10L, 2 to 20L, 3 to 30L, 4 to 40L))
+
+        underTest.remove(1)
+        underTest.removeAll(setOf(2, 3, 5))
+
+        assertThat(underTest.snapshot()).containsExactly(4, 40L)
+    }
+
+    @Test
+    fun `test that the values are kept when many tags are added and removed`() {
+        val tags = (-500..1_500)
+        underTest.putAll(tags.associateWith { it * 10L })
+
+        underTest.removeAll(tags.filter { it % 3 == 0 }.toSet())
+        tags.filter { it % 3 == 1 }.forEach { underTest.put(it, it * 20L) }
+
+        assertThat(underTest.snapshot()).isEqualTo(
+            tags.filter { it % 3 != 0 }
+                .associateWith { if (it % 3 == 1) it * 20L else it * 10L }
+        )
+    }
+
+    @Test
+    fun `test that clear removes all the values`() {
+        underTest.putAll(mapOf(1 to 10L, 2 to 20L))
+
+        underTest.clear()
+
+        assertThat(underTest.snapshot()).isEmpty()
+    }
+
+    @Test
+    fun `test that snapshot is not modified by later changes`() {
+        underTest.put(1, 10L)
+        val snapshot = underTest.snapshot()
+
+        underTest.put(1, 20L)
+
+        assertThat(snapshot).containsExactly(1, 10L)
+    }
+
+    @Test
+    fun `test that monitor emits the current values immediately`() = runTest {
+        underTest.put(1, 10L)
+
+        underTest.monitor().test {
+            assertThat(awaitItem()).containsExactly(1, 10L)
+        }
+    }
+
+    @Test
+    fun `test that monitor coalesces the changes done within the snapshot interval`() = runTest {
+        underTest.monitor().test {
+            assertThat(awaitItem()).isEmpty()
+
+            underTest.put(1, 10L)
+            underTest.put(1, 20L)
+            underTest.put(2, 30L)
+            advanceTimeBy(INTERVAL - 1)
+            expectNoEvents()
+
+            assertThat(awaitItem()).containsExactly(1, 20L, 2, 30L)
+        }
+    }
+
+    @Test
+    fun `test that monitor does not emit when the values did not change`() = runTest {
+        underTest.put(1, 10L)
+
+        underTest.monitor().test {
+            assertThat(awaitItem()).containsExactly(1, 10L)
+
+            underTest.put(1, 10L)
+            underTest.remove(2)
+            advanceTimeBy(INTERVAL * 2)
+
+            expectNoEvents()
+        }
+    }
+
+    companion object {
+        private const val INTERVAL = 250L
+    }
+}
@@ -0,0 +1,49 @@
+package mega.privacy.android.data.cryptography
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BlindIndexTest {
+
+    private val underTest = BlindIndex(aesKey = ByteArray(32) { it.toByte() })
+
+    @Test
+    fun `test that the tokens of a query are contained in the tokens of a value containing it`() {
+        val valueTokens = underTest.getIndexTokens("Holiday PHOTO 2024.jpg")
+
+        assertThat(valueTokens).containsAtLeastElementsIn(underTest.getQueryTokens("photo"))
+    }
+
+    @Test
+    fun `test that the tokens of a query are not contained in the tokens of a value not containing it`() {
+        val valueTokens = underTest.getIndexTokens("Holiday video.mp4")
+
+        assertThat(valueTokens.containsAll(underTest.getQueryTokens("photo"))).isFalse()
+    }
+
+    @Test
+    fun `test that a query shorter than an n-gram has no tokens`() {
+        assertThat(underTest.getQueryTokens("ph")).isEmpty()
+    }
+
+    @Test
+    fun `test that a value shorter than an n-gram is still indexed`() {
+        assertThat(underTest.getIndexTokens("a")).hasSize(1)
+    }
+
+    @Test
+    fun `test that tokens do not contain the indexed value`() {
+        val tokens = underTest.getIndexTokens("abc")
+
+        assertThat(tokens).doesNotContain("abc")
+    }
+
+    @Test
+    fun `test that tokens depend on the key`() {
+        val other = BlindIndex(aesKey = ByteArray(32) { (it + 1).toByte() })
+
+        assertThat(other.getIndexTokens("photo")).containsNoneIn(underTest.getIndexTokens("photo"))
+    }
+}
@@ -5,6 +5,8 @@ import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.single
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.OfflineHandleIndex
+import mega.privacy.android.data.cryptography.BlindIndex
 import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.dao.ActiveTransferDao
@@ -16,6 +18,7 @@ import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
+import mega.privacy.android.data.database.dao.TimelinePhotoDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
 import mega.privacy.android.data.database.entity.ActiveTransferEntity
 import mega.privacy.android.data.database.entity.BackupEntity
@@ -23,8 +26,11 @@ import mega.privacy.android.data.database.entity.CameraUploadsRecordEntity
 import mega.privacy.android.data.database.entity.ChatPendingChangesEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntityLegacy
+import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.database.entity.OfflineNameIndexEntity
 import mega.privacy.android.data.database.entity.PendingTransferEntity
 import mega.privacy.android.data.database.entity.SdTransferEntity
+import mega.privacy.android.data.database.entity.TimelinePhotoEntity
 import mega.privacy.android.data.database.entity.VideoRecentlyWatchedEntity
 import mega.privacy.android.data.facade.MegaLocalRoomFacade.Companion.MAX_INSERT_LIST_SIZE
 import mega.privacy.android.data.mapper.backup.BackupEntityMapper
@@ -38,6 +44,8 @@ import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.data.mapper.photos.TimelinePhotoEntityMapper
+import mega.privacy.android.data.mapper.photos.TimelinePhotoModelMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferLegacyModelMapper
@@ -51,6 +59,7 @@ import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedEntityM
 import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedItemMapper
 import mega.privacy.android.data.model.VideoRecentlyWatchedItem
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.Offline
 import mega.privacy.android.domain.entity.SdTransfer
 import mega.privacy.android.domain.entity.backup.Backup
 import mega.privacy.android.domain.entity.backup.BackupInfoType
@@ -58,6 +67,7 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.chat.ChatPendingChanges
+import mega.privacy.android.domain.entity.photos.Photo
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
 import mega.privacy.android.domain.entity.transfer.Transfer
 import mega.privacy.android.domain.entity.transfer.TransferType
@@ -105,6 +115,8 @@ internal class MegaLocalRoomFacadeTest {
     private val offlineDao: OfflineDao = mock()
     private val offlineModelMapper: OfflineModelMapper = mock()
     private val offlineEntityMapper: OfflineEntityMapper = mock()
+    private val blindIndex: BlindIndex = mock()
+    private val offlineHandleIndex: OfflineHandleIndex = mock()
     private val cameraUploadsRecordDao: CameraUploadsRecordDao = mock()
     private val cameraUploadsRecordEntityMapper: CameraUploadsRecordEntityMapper = mock()
     private val cameraUploadsRecordModelMapper: CameraUploadsRecordModelMapper = mock()
@@ -119,6 +131,9 @@ internal class MegaLocalRoomFacadeTest {
     private val pendingTransferEntityMapper = mock<PendingTransferEntityMapper>()
     private val pendingTransferModelMapper = mock<PendingTransferModelMapper>()
     private val insertPendingTransferRequestMapper = mock<InsertPendingTransferRequestMapper>()
+    private val timelinePhotoDao = mock<TimelinePhotoDao>()
+    private val timelinePhotoEntityMapper = mock<TimelinePhotoEntityMapper>()
+    private val timelinePhotoModelMapper = mock<TimelinePhotoModelMapper>()
 
     @BeforeAll
     fun setUp() {
@@ -133,6 +148,7 @@ internal class MegaLocalRoomFacadeTest {
             activeTransferEntityMapper = activeTransferEntityMapper,
             encryptData = encryptData,
             decryptData = decryptData,
+            blindIndex = blindIndex,
             completedTransferEntityMapper = completedTransferEntityMapper,
             completedTransferLegacyModelMapper = completedTransferLegacyModelMapper,
             sdTransferDao = { sdTransferDao },
@@ -145,6 +161,7 @@ internal class MegaLocalRoomFacadeTest {
             offlineDao = { offlineDao },
             offlineEntityMapper = offlineEntityMapper,
             offlineModelMapper = offlineModelMapper,
+            offlineHandleIndex = offlineHandleIndex,
             cameraUploadsRecordDao = { cameraUploadsRecordDao },
             cameraUploadsRecordEntityMapper = cameraUploadsRecordEntityMapper,
             cameraUploadsRecordModelMapper = cameraUploadsRecordModelMapper,
@@ -158,6 +175,9 @@ internal class MegaLocalRoomFacadeTest {
             pendingTransferEntityMapper = pendingTransferEntityMapper,
             pendingTransferModelMapper = pendingTransferModelMapper,
             insertPendingTransferRequestMapper = insertPendingTransferRequestMapper,
+            timelinePhotoDao = { timelinePhotoDao },
+            timelinePhotoEntityMapper = timelinePhotoEntityMapper,
+            timelinePhotoModelMapper = timelinePhotoModelMapper,
         )
     }
 
@@ -190,6 +210,14 @@ internal class MegaLocalRoomFacadeTest {
             pendingTransferModelMapper,
             pendingTransferEntityMapper,
             insertPendingTransferRequestMapper,
+            offlineDao,
+            offlineModelMapper,
+            offlineEntityMapper,
+            blindIndex,
+            offlineHandleIndex,
+            timelinePhotoDao,
+            timelinePhotoEntityMapper,
+            timelinePhotoModelMapper,
         )
     }
 
@@ -925,4 +953,183 @@ internal class MegaLocalRoomFacadeTest {
 
             verify(pendingTransferDao).deleteAllPendingTransfers()
         }
+
+    @Test
+    fun `test that saveOfflineInformation inserts the entity with the blind index tokens of its name`() =
+        runTest {
+            val offline = createOffline()
+            val entity = mock<OfflineEntity>()
+            val tokens = setOf("token1", "token2")
+            whenever(offlineEntityMapper(offline)).thenReturn(entity)
+            whenever(blindIndex.getIndexTokens(offline.name)).thenReturn(tokens)
+            whenever(offlineDao.insertOrUpdateOffline(entity, tokens)).thenReturn(3L)
+
+            assertThat(underTest.saveOfflineInformation(offline)).isEqualTo(3L)
+        }
+
+    @Test
+    fun `test that saveOfflineInformation adds the saved offline information to the handle index`() =
+        runTest {
+            val offline = createOffline()
+            val entity = mock<OfflineEntity>()
+            whenever(offlineEntityMapper(offline)).thenReturn(entity)
+            whenever(blindIndex.getIndexTokens(offline.name)).thenReturn(emptySet())
+            whenever(offlineDao.insertOrUpdateOffline(entity, emptySet())).thenReturn(3L)
+
+            underTest.saveOfflineInformation(offline)
+
+            verify(offlineHandleIndex).put(offline.copy(id = 3))
+        }
+
+    @Test
+    fun `test that getOfflineInformation returns the offline information from the handle index`() =
+        runTest {
+            val offline = createOffline()
+            whenever(offlineHandleIndex.get(123L)).thenReturn(offline)
+
+            assertThat(underTest.getOfflineInformation(123L)).isEqualTo(offline)
+        }
+
+    @Test
+    fun `test that getOfflineInformationByHandle returns the handle index`() = runTest {
+        val offlineByHandle = mapOf(123L to createOffline())
+        whenever(offlineHandleIndex.getAll()).thenReturn(offlineByHandle)
+
+        assertThat(underTest.getOfflineInformationByHandle()).isEqualTo(offlineByHandle)
+    }
+
+    @Test
+    fun `test that removeOfflineInformation removes the node from the handle index`() = runTest {
+        whenever(encryptData("123")).thenReturn("encrypted")
+
+        underTest.removeOfflineInformation("123")
+
+        verify(offlineDao).deleteOfflineByHandle("encrypted")
+        verify(offlineHandleIndex).remove(123L)
+    }
+
+    @Test
+    fun `test that removeOfflineInformationByIds removes the ids from the handle index`() =
+        runTest {
+            val ids = listOf(1, 2)
+
+            underTest.removeOfflineInformationByIds(ids)
+
+            verify(offlineDao).deleteOfflineByIds(ids)
+            verify(offlineHandleIndex).removeByIds(ids)
+        }
+
+    @Test
+    fun `test that clearOffline clears the handle index`() = runTest {
+        underTest.clearOffline()
+
+        verify(offlineDao).deleteAllOffline()
+        verify(offlineHandleIndex).clear()
+    }
+
+    @Test
+    fun `test that searchOfflineInfo returns the blind index matches whose name contains the query`() =
+        runTest {
+            val query = "PhO"
+            val parentId = 12
+            val entities = listOf<OfflineEntity>(mock(), mock())
+            val matching = mock<Offline> {
+                on { name } doReturn "my photo.jpg"
+            }
+            val falsePositive = mock<Offline> {
+                on { name } doReturn "hop.jpg"
+            }
+            whenever(offlineDao.getOfflineWithoutNameIndex()).thenReturn(emptyList())
+            whenever(blindIndex.getQueryTokens(query)).thenReturn(setOf("token1", "token2"))
+            whenever(offlineDao.getOfflineByNameTokens(listOf("token1", "token2"), 2, parentId))
+                .thenReturn(entities)
+            whenever(offlineModelMapper(entities)).thenReturn(listOf(matching, falsePositive))
+
+            assertThat(underTest.searchOfflineInfo(query, parentId)).containsExactly(matching)
+        }
+
+    @Test
+    fun `test that searchOfflineInfo filters all the offline nodes when the query is too short for the blind index`() =
+        runTest {
+            val query = "p"
+            val entities = listOf<OfflineEntity>(mock(), mock())
+            val matching = mock<Offline> {
+                on { name } doReturn "Photo.jpg"
+            }
+            val notMatching = mock<Offline> {
+                on { name } doReturn "video.mp4"
+            }
+            whenever(offlineDao.getOfflineWithoutNameIndex()).thenReturn(emptyList())
+            whenever(blindIndex.getQueryTokens(query)).thenReturn(emptySet())
+            whenever(offlineDao.getOfflineFiles()).thenReturn(entities)
+            whenever(offlineModelMapper(entities)).thenReturn(listOf(matching, notMatching))
+
+            assertThat(underTest.searchOfflineInfo(query, -1)).containsExactly(matching)
+        }
+
+    @Test
+    fun `test that searchOfflineInfo indexes the names of the offline nodes not indexed yet`() =
+        runTest {
+            val entity = mock<OfflineEntity> {
+                on { id } doReturn 7
+            }
+            val offline = mock<Offline> {
+                on { name } doReturn "name"
+            }
+            whenever(offlineDao.getOfflineWithoutNameIndex()).thenReturn(listOf(entity))
+            whenever(offlineModelMapper(listOf(entity))).thenReturn(listOf(offline))
+            whenever(blindIndex.getIndexTokens("name")).thenReturn(setOf("token"))
+            whenever(blindIndex.getQueryTokens(any())).thenReturn(emptySet())
+            whenever(offlineDao.getOfflineFiles()).thenReturn(emptyList())
+            whenever(offlineModelMapper(emptyList<OfflineEntity>())).thenReturn(emptyList())
+
+            underTest.searchOfflineInfo("query", -1)
+
+            verify(offlineDao).insertOfflineNameIndex(
+                listOf(OfflineNameIndexEntity(token = "token", offlineId = 7))
+            )
+        }
+
+    private fun createOffline() = Offline(
+        id = -1,
+        handle = "123",
+        path = "/path",
+        name = "name",
+        parentId = -1,
+        type = Offline.FILE,
+        origin = 0,
+        handleIncoming = "",
+    )
+
+    @Test
+    fun `test that getTimelinePhotos returns the mapped timeline photos`() = runTest {
+        val entities = listOf<TimelinePhotoEntity>(mock(), mock())
+        val photo = mock<Photo.Image>()
+        whenever(timelinePhotoDao.getAllTimelinePhotos()).thenReturn(entities)
+        whenever(timelinePhotoModelMapper(eq(entities[0]), any())).thenReturn(photo)
+        whenever(timelinePhotoModelMapper(eq(entities[1]), any())).thenReturn(null)
+
+        assertThat(underTest.getTimelinePhotos()).containsExactly(photo)
+    }
+
+    @Test
+    fun `test that setTimelinePhotos replaces the timeline photos`() = runTest {
+        val photo = mock<Photo.Image>()
+        val entity = mock<TimelinePhotoEntity>()
+        whenever(timelinePhotoEntityMapper(photo)).thenReturn(entity)
+
+        underTest.setTimelinePhotos(listOf(photo))
+
+        verify(timelinePhotoDao).replaceTimelinePhotos(listOf(entity))
+    }
+
+    @Test
+    fun `test that deleteTimelinePhotos deletes the photos in chunks`() = runTest {
+        val ids = List(TimelinePhotoDao.MAX_DELETE_SIZE + 1) { it.toLong() }
+
+        underTest.deleteTimelinePhotos(ids)
+
+        verify(timelinePhotoDao).deleteTimelinePhotosByIds(ids.take(TimelinePhotoDao.MAX_DELETE_SIZE))
+        verify(timelinePhotoDao).deleteTimelinePhotosByIds(listOf(ids.last()))
+    }
 }
@@ -8,6 +8,7 @@ import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.data.gateway.VideoCompressorGateway
 import mega.privacy.android.domain.entity.VideoAttachment
 import mega.privacy.android.domain.entity.VideoCompressionState
+import mega.privacy.android.domain.entity.VideoQuality
 import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
@@ -79,4 +80,19 @@ class VideoCompressionFacadeTest {
                 cancelAndConsumeRemainingEvents()
             }
         }
+
+    @Test
+    fun `test that a single compression emits insufficient storage and finishes when there is not enough storage`() =
+        runTest {
+            whenever(fileGateway.hasEnoughStorage(any(), any())).thenReturn(false)
+            underTest.compress(compressPrimaryVideo, "/path/to/root", VideoQuality.MEDIUM).test {
+                assertThat(awaitItem())
+                    .isInstanceOf(VideoCompressionState.InsufficientStorage::class.java)
+                assertThat(awaitItem())
+                    .isInstanceOf(VideoCompressionState.Successful::class.java)
+                assertThat(awaitItem()).isEqualTo(VideoCompressionState.Finished)
+                awaitComplete()
+            }
+            assertThat(underTest.isRunning()).isFalse()
+        }
 }
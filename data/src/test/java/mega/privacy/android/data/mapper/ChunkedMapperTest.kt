@@ -0,0 +1,72 @@
+package mega.privacy.android.data.mapper
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.util.concurrent.atomic.AtomicInteger
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChunkedMapperTest {
+
+    @Test
+    fun `test that mapInBatches emits every batch in the order of the items`() = runTest {
+        val underTest = ChunkedMapper(
+            dispatcher = StandardTestDispatcher(testScheduler),
+            batchSize = 4,
+            parallelism = 2,
+        )
+
+        underTest.mapInBatches((1..10).toList()) { it * 10 }.test {
+            assertThat(awaitItem()).containsExactly(10, 20, 30, 40).inOrder()
+            assertThat(awaitItem()).containsExactly(50, 60, 70, 80).inOrder()
+            assertThat(awaitItem()).containsExactly(90, 100).inOrder()
+            awaitComplete()
+        }
+    }
+
+    @Test
+    fun `test that mapAll returns all the items mapped in order`() = runTest {
+        val underTest = ChunkedMapper(
+            dispatcher = StandardTestDispatcher(testScheduler),
+            batchSize = 3,
+            parallelism = 2,
+        )
+
+        val actual = underTest.mapAll((1..10).toList()) { it.toString() }
+
+        assertThat(actual).isEqualTo((1..10).map { it.toString() })
+    }
+
+    @Test
+    fun `test that an empty list emits no batches`() = runTest {
+        val underTest = ChunkedMapper(StandardTestDispatcher(testScheduler))
+
+        underTest.mapInBatches(emptyList<Int>()) { it }.test {
+            awaitComplete()
+        }
+    }
+
+    @Test
+    fun `test that no more items than the parallelism are mapped at the same time`() = runTest {
+        val parallelism = 3
+        val underTest = ChunkedMapper(
+            dispatcher = StandardTestDispatcher(testScheduler),
+            batchSize = 12,
+            parallelism = parallelism,
+        )
+        val running = AtomicInteger()
+        val maxRunning = AtomicInteger()
+
+        underTest.mapAll((1..24).toList()) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), ::maxOf)
+            delay(10)
+            running.decrementAndGet()
+        }
+
+        assertThat(maxRunning.get()).isEqualTo(parallelism)
+    }
+}
@@ -18,6 +18,8 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import javax.inject.Inject
 import kotlin.time.Duration.Companion.seconds
@@ -419,4 +421,24 @@ class FileTypeInfoMapperTest @Inject constructor() {
             )
         )
     }
+
+    @Test
+    fun `test that the mime type of an extension is resolved once when the mime types are shared`() {
+        val expectedMimeType = "video/mp4"
+        val expectedExtension = "m4v"
+        val mimeTypes = mutableMapOf<String, String>()
+        whenever(mimeTypeMapper(expectedExtension)).thenReturn(expectedMimeType)
+
+        underTest("first.$expectedExtension", 10, mimeTypes)
+        val actual = underTest("second.$expectedExtension", 20, mimeTypes)
+
+        assertThat(actual).isEqualTo(
+            VideoFileTypeInfo(
+                mimeType = expectedMimeType,
+                extension = expectedExtension,
+                duration = 20.seconds
+            )
+        )
+        verify(mimeTypeMapper, times(1)).invoke(expectedExtension)
+    }
 }
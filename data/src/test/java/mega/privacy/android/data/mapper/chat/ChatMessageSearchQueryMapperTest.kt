@@ -0,0 +1,33 @@
+package mega.privacy.android.data.mapper.chat
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.DynamicTest.dynamicTest
+import org.junit.jupiter.api.TestFactory
+import org.junit.jupiter.api.TestInstance
+
+/**
+ * Test class for [ChatMessageSearchQueryMapper]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class ChatMessageSearchQueryMapperTest {
+    private lateinit var underTest: ChatMessageSearchQueryMapper
+
+    @BeforeAll
+    fun setUp() {
+        underTest = ChatMessageSearchQueryMapper()
+    }
+
+    @TestFactory
+    fun `test that the mapping is correct`() = listOf(
+        "link" to "\"link*\"",
+        "  shared   link " to "\"shared*\" \"link*\"",
+        "mega.nz/file" to "\"mega.nz/file*\"",
+        "say \"hi\" OR NEAR" to "\"say*\" \"hi*\" \"OR*\" \"NEAR*\"",
+        "   " to "",
+    ).map { (input, expected) ->
+        dynamicTest("test that $input is mapped to $expected") {
+            assertThat(underTest(input)).isEqualTo(expected)
+        }
+    }
+}
@@ -44,4 +44,39 @@ internal class ContactModelMapperTest {
         whenever(decryptData(entity.lastName)).thenReturn(expected.lastName)
         Truth.assertThat(underTest(entity)).isEqualTo(expected)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that mapper decrypts the fields of all the entities in a single batch when invoked with a list`() =
+        runTest {
+            val entities = (1..2).map {
+                ContactEntity(
+                    handle = "handle$it",
+                    mail = "mail$it",
+                    nickName = "nickName$it",
+                    firstName = "firstName$it",
+                    lastName = "lastName$it"
+                )
+            }
+            val expected = (1..2).map {
+                Contact(
+                    userId = it.toLong(),
+                    email = "lh$it@mega.co.nz",
+                    nickname = "Jayce$it",
+                    firstName = "Hai$it",
+                    lastName = "Luong$it"
+                )
+            }
+            whenever(
+                decryptData.decryptAll(
+                    entities.flatMap {
+                        listOf(it.handle, it.firstName, it.lastName, it.nickName, it.mail)
+                    }
+                )
+            ).thenReturn(
+                expected.flatMap {
+                    listOf(it.userId.toString(), it.firstName, it.lastName, it.nickname, it.email)
+                }
+            )
+            Truth.assertThat(underTest(entities)).isEqualTo(expected)
+        }
+}
@@ -51,4 +51,58 @@ internal class OfflineModelMapperTest {
         whenever(decryptData(model.encryptedIncomingHandle)).thenReturn(expected.handleIncoming)
         Truth.assertThat(underTest(model)).isEqualTo(expected)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that mapper decrypts the fields of all the entities in a single batch when invoked with a list`() =
+        runTest {
+            val entities = (1..2).map {
+                OfflineEntity(
+                    id = it,
+                    encryptedHandle = "handle$it",
+                    encryptedName = "name$it",
+                    encryptedPath = "path$it",
+                    parentId = 1234,
+                    encryptedType = "type$it",
+                    incoming = 0,
+                    encryptedIncomingHandle = "incomingHandle$it",
+                    lastModifiedTime = it.toLong()
+                )
+            }
+            val expected = (1..2).map {
+                Offline(
+                    id = it,
+                    handle = "decryptedHandle$it",
+                    name = "decryptedName$it",
+                    path = "decryptedPath$it",
+                    parentId = 1234,
+                    type = "decryptedType$it",
+                    origin = 0,
+                    handleIncoming = "decryptedIncomingHandle$it",
+                    lastModifiedTime = it.toLong()
+                )
+            }
+            whenever(
+                decryptData.decryptAll(
+                    entities.flatMap {
+                        listOf(
+                            it.encryptedHandle,
+                            it.encryptedPath,
+                            it.encryptedName,
+                            it.encryptedType,
+                            it.encryptedIncomingHandle,
+                        )
+                    }
+                )
+            ).thenReturn(
+                expected.flatMap {
+                    listOf(it.handle, it.path, it.name, it.type, it.handleIncoming)
+                }
+            )
+            Truth.assertThat(underTest(entities)).isEqualTo(expected)
+        }
+
+    @Test
+    fun `test that mapper returns an empty list when invoked with an empty list`() = runTest {
+        Truth.assertThat(underTest(emptyList<OfflineEntity>())).isEmpty()
+    }
+}
@@ -0,0 +1,83 @@
+package mega.privacy.android.data.preferences.base
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.appstart.DataStoreLoadMetrics
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import kotlin.time.Duration.Companion.milliseconds
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DataStoreLoadMetricsRecorderTest {
+
+    private lateinit var underTest: DataStoreLoadMetricsRecorder
+
+    @BeforeEach
+    fun setUp() {
+        underTest = DataStoreLoadMetricsRecorder()
+    }
+
+    @Test
+    fun `test that the first read and decrypt of a store are recorded together`() = runTest {
+        underTest.recordPreloadStart(STORE_NAME)
+        underTest.recordDecrypt(STORE_NAME, 5.milliseconds)
+        underTest.recordFirstRead(STORE_NAME, 20.milliseconds)
+
+        underTest.monitorMetrics().test {
+            assertThat(awaitItem()).containsExactly(
+                DataStoreLoadMetrics(
+                    storeName = STORE_NAME,
+                    firstReadDuration = 20.milliseconds,
+                    decryptDuration = 5.milliseconds,
+                    isPreloaded = true,
+                )
+            )
+        }
+    }
+
+    @Test
+    fun `test that later reads and decrypts of a store are not recorded`() = runTest {
+        underTest.recordPreloadStart(STORE_NAME)
+        underTest.recordFirstRead(STORE_NAME, 20.milliseconds)
+        underTest.recordDecrypt(STORE_NAME, 5.milliseconds)
+        underTest.recordFirstRead(STORE_NAME, 1.milliseconds)
+        underTest.recordDecrypt(STORE_NAME, 1.milliseconds)
+
+        underTest.monitorMetrics().test {
+            val metrics = awaitItem().single()
+            assertThat(metrics.firstReadDuration).isEqualTo(20.milliseconds)
+            assertThat(metrics.decryptDuration).isEqualTo(5.milliseconds)
+            assertThat(metrics.isPreloaded).isTrue()
+        }
+    }
+
+    @Test
+    fun `test that a store read before its preload is not recorded as preloaded`() = runTest {
+        underTest.recordFirstRead(STORE_NAME, 20.milliseconds)
+        underTest.recordPreloadStart(STORE_NAME)
+        underTest.recordFirstRead(STORE_NAME, 1.milliseconds)
+
+        underTest.monitorMetrics().test {
+            assertThat(awaitItem().single().isPreloaded).isFalse()
+        }
+    }
+
+    @Test
+    fun `test that the stores are monitored in load order`() = runTest {
+        underTest.recordFirstRead(STORE_NAME, 20.milliseconds)
+        underTest.recordFirstRead(OTHER_STORE_NAME, 10.milliseconds)
+
+        underTest.monitorMetrics().test {
+            assertThat(awaitItem().map { it.storeName })
+                .containsExactly(STORE_NAME, OTHER_STORE_NAME)
+                .inOrder()
+        }
+    }
+
+    companion object {
+        private const val STORE_NAME = "store"
+        private const val OTHER_STORE_NAME = "other"
+    }
+}
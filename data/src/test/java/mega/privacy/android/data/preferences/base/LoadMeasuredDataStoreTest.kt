@@ -0,0 +1,55 @@
+package mega.privacy.android.data.preferences.base
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.emptyPreferences
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadMeasuredDataStoreTest {
+
+    private val dataStore = mock<DataStore<Preferences>>()
+    private val recorder = mock<DataStoreLoadMetricsRecorder>()
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(dataStore, recorder)
+    }
+
+    @Test
+    fun `test that the first value of every collection is recorded as a read`() = runTest {
+        whenever(dataStore.data).thenReturn(flowOf(emptyPreferences(), emptyPreferences()))
+        val underTest = dataStore.withLoadMetrics(STORE_NAME, recorder)
+
+        assertThat(underTest.data.toList()).hasSize(2)
+        underTest.data.first()
+
+        verify(recorder, times(2)).recordFirstRead(eq(STORE_NAME), any())
+    }
+
+    @Test
+    fun `test that nothing is recorded until the data is read`() {
+        dataStore.withLoadMetrics(STORE_NAME, recorder)
+
+        verify(recorder, never()).recordFirstRead(any(), any())
+    }
+
+    companion object {
+        private const val STORE_NAME = "store"
+    }
+}
@@ -103,7 +103,7 @@ class AudioSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(node, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getOfflineInformationByHandle()).thenReturn(emptyMap())
         whenever(
             fileNodeMapper(
                 megaNode = node,
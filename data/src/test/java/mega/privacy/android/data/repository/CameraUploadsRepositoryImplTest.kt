@@ -33,8 +33,10 @@ import mega.privacy.android.data.mapper.camerauploads.CameraUploadsStatusInfoMap
 import mega.privacy.android.data.mapper.camerauploads.HeartbeatStatusIntMapper
 import mega.privacy.android.data.mapper.camerauploads.UploadOptionIntMapper
 import mega.privacy.android.data.mapper.camerauploads.UploadOptionMapper
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.VideoQuality
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsStatusInfo
 import mega.privacy.android.domain.entity.settings.camerauploads.UploadOption
@@ -234,6 +236,56 @@ class CameraUploadsRepositoryImplTest {
                 )
                 assertThat(underTest.getMediaSelectionQuery(parentPath)).isEqualTo(expected)
             }
+
+        @Test
+        fun `test that getIncrementalMediaSelectionQuery returns the result of cameraUploadsMediaGateway getIncrementalMediaSelectionQuery`() =
+            runTest {
+                val expected = "incrementalSelectionQuery"
+                val parentPath = "parentPath"
+                val scanCursor = 1000L
+                whenever(
+                    cameraUploadsMediaGateway.getIncrementalMediaSelectionQuery(
+                        parentPath,
+                        scanCursor
+                    )
+                ).thenReturn(expected)
+                assertThat(underTest.getIncrementalMediaSelectionQuery(parentPath, scanCursor))
+                    .isEqualTo(expected)
+            }
+
+        @Test
+        fun `test that the media store scan cursor is retrieved`() = runTest {
+            val expected = 1000L
+            whenever(
+                cameraUploadsSettingsPreferenceGateway.getMediaStoreScanCursor(
+                    CameraUploadFolderType.Primary,
+                    CameraUploadsRecordType.TYPE_PHOTO,
+                )
+            ).thenReturn(expected)
+            assertThat(
+                underTest.getMediaStoreScanCursor(
+                    CameraUploadFolderType.Primary,
+                    CameraUploadsRecordType.TYPE_PHOTO,
+                )
+            ).isEqualTo(expected)
+        }
+
+        @ParameterizedTest(name = "upload option: {0}")
+        @EnumSource(UploadOption::class)
+        fun `test that the media store scan cursors are reset when a new upload option is set`(
+            uploadOption: UploadOption,
+        ) = runTest {
+            underTest.setUploadOption(uploadOption)
+            CameraUploadFolderType.entries.forEach { folderType ->
+                CameraUploadsRecordType.entries.forEach { fileType ->
+                    verify(cameraUploadsSettingsPreferenceGateway).setMediaStoreScanCursor(
+                        folderType,
+                        fileType,
+                        null,
+                    )
+                }
+            }
+        }
     }
 
     @Nested
@@ -86,7 +86,7 @@ class DocumentSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(node, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getOfflineInformationByHandle()).thenReturn(emptyMap())
         whenever(nodeMapper(megaNode = node, offline = null)).thenReturn(fileNode)
 
         val actual = underTest.getAllDocuments(SortOrder.ORDER_MODIFICATION_DESC)
@@ -1,6 +1,7 @@
 package mega.privacy.android.data.repository
 
 import android.content.Context
+import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ExperimentalCoroutinesApi
@@ -45,6 +46,7 @@ import mega.privacy.android.domain.entity.PdfFileTypeInfo
 import mega.privacy.android.domain.entity.ShareData
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.node.FileNode
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedFolderNode
 import mega.privacy.android.domain.entity.node.TypedImageNode
@@ -81,8 +83,10 @@ import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
+import org.junit.jupiter.params.provider.ValueSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.clearInvocations
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
@@ -1399,59 +1403,30 @@ internal class NodeRepositoryImplTest {
         assertThat(underTest.hasSensitiveInherited(nodeId)).isTrue()
     }
 
-    @Test
-    fun `test that all offline nodes are fetched when getOfflineNodesByQuery is called with parent id -1`() =
-        runTest {
-            val query = "test"
-            val parentId = -1
-            val firstNodeName = "TeSt file name"
-
-            val offlineNode1 = mock<Offline> {
-                on { name }.thenReturn(firstNodeName)
-            }
-            val offlineNodeInformation1 = mock<OtherOfflineNodeInformation> {
-                on { name }.thenReturn(firstNodeName)
-
-            }
-            whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(
-                listOf(offlineNode1)
-            )
-            whenever(offlineNodeInformationMapper(offlineNode1)).thenReturn(offlineNodeInformation1)
+    @ParameterizedTest(name = "parent id {0}")
+    @ValueSource(ints = [-1, 123])
+    fun `test that getOfflineNodesByQuery returns the mapped offline nodes found by the gateway search`(
+        parentId: Int,
+    ) = runTest {
+        val query = "test"
+        val firstNodeName = "TeSt file name"
 
-            val result = underTest.getOfflineNodesByQuery(query, parentId)
-            assertThat(result.size).isEqualTo(1)
-            assertThat(result.first().name).isEqualTo(firstNodeName)
+        val offlineNode1 = mock<Offline> {
+            on { name }.thenReturn(firstNodeName)
         }
+        val offlineNodeInformation1 = mock<OtherOfflineNodeInformation> {
+            on { name }.thenReturn(firstNodeName)
 
-    @Test
-    fun `test that getOfflineNodesByQuery filters nodes by case-insensitive name when invoked with query`() =
-        runTest {
-            val query = "test"
-            val parentId = 123
-            val firstNodeName = "TeSt file name"
-
-            val offlineNode1 = mock<Offline> {
-                on { name }.thenReturn(firstNodeName)
-            }
-            val offlineNodeInformation1 = mock<OtherOfflineNodeInformation> {
-                on { name }.thenReturn(firstNodeName)
-
-            }
-            val offlineNode2 = mock<Offline> {
-                on { name }.thenReturn("file name")
-            }
-            whenever(megaLocalRoomGateway.getOfflineInfoByParentId(parentId)).thenReturn(
-                listOf(
-                    offlineNode1,
-                    offlineNode2
-                )
-            )
-            whenever(offlineNodeInformationMapper(offlineNode1)).thenReturn(offlineNodeInformation1)
-
-            val result = underTest.getOfflineNodesByQuery(query, parentId)
-            assertThat(result.size).isEqualTo(1)
-            assertThat(result.first().name).isEqualTo(firstNodeName)
         }
+        whenever(megaLocalRoomGateway.searchOfflineInfo(query, parentId)).thenReturn(
+            listOf(offlineNode1)
+        )
+        whenever(offlineNodeInformationMapper(offlineNode1)).thenReturn(offlineNodeInformation1)
+
+        val result = underTest.getOfflineNodesByQuery(query, parentId)
+        assertThat(result.size).isEqualTo(1)
+        assertThat(result.first().name).isEqualTo(firstNodeName)
+    }
 
     @Test
     fun `test that getAllNodeTags returns all tags from gateway`() = runTest {
@@ -1500,6 +1475,46 @@ internal class NodeRepositoryImplTest {
         assertThat(fileTypes.first()).isEqualTo(targetFileType)
     }
 
+    @Test
+    fun `test that getNodeChildren resolves the cache folders once for all the children`() =
+        runTest {
+            val nodeId = NodeId(1L)
+            val children = listOf(mockMegaNodeForConversion(), mockMegaNodeForConversion())
+            stubNodeChildren(nodeId, children)
+
+            val actual = underTest.getNodeChildren(nodeId)
+
+            assertThat(actual.map { it.id }).containsExactly(NodeId(987L), NodeId(987L))
+            assertThat(actual.map { (it as FileNode).type })
+                .containsExactly(PdfFileTypeInfo, PdfFileTypeInfo)
+            verify(cacheGateway, times(1)).getThumbnailCacheFolder()
+        }
+
+    @Test
+    fun `test that getNodeChildrenInBatches emits the mapped children`() = runTest {
+        val nodeId = NodeId(1L)
+        val children = listOf(mockMegaNodeForConversion(), mockMegaNodeForConversion())
+        stubNodeChildren(nodeId, children)
+
+        underTest.getNodeChildrenInBatches(nodeId).test {
+            assertThat(awaitItem().map { it.id }).containsExactly(NodeId(987L), NodeId(987L))
+            awaitComplete()
+        }
+    }
+
+    private fun stubNodeChildren(nodeId: NodeId, children: List<MegaNode>) {
+        val filter = mock<MegaSearchFilter>()
+        val token = mock<MegaCancelToken>()
+        clearInvocations(cacheGateway)
+        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        whenever(sortOrderIntMapper(SortOrder.ORDER_NONE)).thenReturn(MegaApiJava.ORDER_NONE)
+        whenever(megaSearchFilterMapper(parentHandle = nodeId)).thenReturn(filter)
+        whenever(megaApiGateway.getChildren(filter, MegaApiJava.ORDER_NONE, token))
+            .thenReturn(children)
+        whenever(fileTypeInfoMapper.invoke(any(), any(), any<MutableMap<String, String>>()))
+            .thenReturn(PdfFileTypeInfo)
+    }
+
     private fun provideNodeId() = Stream.of(
         Arguments.of(null),
         Arguments.of(NodeId(2L)),
@@ -14,6 +14,8 @@ import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.whenever
@@ -66,7 +68,13 @@ class VideoRepositoryImplTest {
                 emit(VideoCompressionState.Finished)
             }
 
-            whenever(videoCompressorGateway.start()).thenReturn(flow)
+            whenever(
+                videoCompressorGateway.compress(
+                    videoAttachment = any(),
+                    outputRoot = eq(""),
+                    videoQuality = eq(VideoQuality.MEDIUM),
+                )
+            ).thenReturn(flow)
             underTest.compressVideo(
                 root = "",
                 quality = VideoQuality.MEDIUM,
@@ -91,4 +99,12 @@ class VideoRepositoryImplTest {
             }
         }
     }
+
+    @Test
+    fun `test that the max concurrent video compressions of the gateway are returned`() =
+        runTest {
+            whenever(videoCompressorGateway.getMaxConcurrentCompressions()).thenReturn(3)
+
+            Truth.assertThat(underTest.getMaxConcurrentVideoCompressions()).isEqualTo(3)
+        }
 }
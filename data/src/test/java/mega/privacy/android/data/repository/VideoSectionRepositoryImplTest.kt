@@ -84,7 +84,7 @@ class VideoSectionRepositoryImplTest {
     }
 
     private fun initUnderTest() {
-        wheneverBlocking { megaLocalRoomGateway.getAllOfflineInfo() }.thenReturn(emptyList())
+        wheneverBlocking { megaLocalRoomGateway.getOfflineInformationByHandle() }.thenReturn(emptyMap())
         underTest = VideoSectionRepositoryImpl(
             megaApiGateway = megaApiGateway,
             sortOrderIntMapper = sortOrderIntMapper,
@@ -151,7 +151,7 @@ class VideoSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(node, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getOfflineInformationByHandle()).thenReturn(emptyMap())
         whenever(
             fileNodeMapper(
                 megaNode = node,
@@ -727,7 +727,7 @@ class VideoSectionRepositoryImplTest {
                     token
                 )
             ).thenReturn(megaNodes)
-            whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(emptyList())
+            whenever(megaLocalRoomGateway.getOfflineInformationByHandle()).thenReturn(emptyMap())
             megaNodes.mapIndexed { index, node ->
                 whenever(
                     fileNodeMapper(megaNode = node, requireSerializedData = false, offline = null)
@@ -862,7 +862,7 @@ class VideoSectionRepositoryImplTest {
                 flowOf(jsonString)
             )
             whenever(megaLocalRoomGateway.getAllRecentlyWatchedVideos()).thenReturn(flowOf(testItems))
-            whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(emptyList())
+            whenever(megaLocalRoomGateway.getOfflineInformationByHandle()).thenReturn(emptyMap())
             val megaSetElement = mock<MegaSetElement> {
                 on { node() }.thenReturn(testHandles[collectionIdIndex])
             }
@@ -1,11 +1,15 @@
 package mega.privacy.android.data.repository
 
+import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.last
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.mapper.zipbrowser.ZipTreeNodeMapper
 import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
+import mega.privacy.android.domain.entity.zipbrowser.ZipExtractionProgress
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.repository.ZipBrowserRepository
 import org.junit.jupiter.api.BeforeAll
@@ -13,6 +17,7 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.api.io.TempDir
+import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
@@ -21,6 +26,7 @@ import java.io.File
 import java.util.Enumeration
 import java.util.zip.ZipEntry
 import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
 
 
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -57,7 +63,7 @@ class ZipBrowserRepositoryImplTest {
             on { entries() }.thenReturn(mockEnumeration)
         }
         whenever(mockEnumeration.hasMoreElements()).thenReturn(false)
-        val actual = underTest.getZipNodeTree(testZipFile)
+        val actual = underTest.monitorZipNodeTree(testZipFile).last()
         assertThat(actual).isEmpty()
     }
 
@@ -86,12 +92,106 @@ class ZipBrowserRepositoryImplTest {
             testEntry3,
             testEntry4,
         )
+        mapZipTreeNodes()
 
-        val actual = underTest.getZipNodeTree(testZipFile)
+        val actual = underTest.monitorZipNodeTree(testZipFile).last()
         assertThat(actual).isNotEmpty()
         assertThat(actual.keys.size).isEqualTo(4)
     }
 
+    @Test
+    fun `test that the ZipNodeTree nodes contain their nested children`() = runTest {
+        val testEnumeration = mock<Enumeration<out ZipEntry>>()
+        val testZipFile = mock<ZipFile> {
+            on { entries() }.thenReturn(testEnumeration)
+        }
+        val testEntry1 = initZipEntry("zipFolder/zipSubFolder/file.txt", false)
+        val testEntry2 = initZipEntry("zipFolder/zipSubFolder/zipFile.zip", false)
+        val testEntry3 = initZipEntry("zipFolder/other.txt", false)
+
+        whenever(testEnumeration.hasMoreElements()).thenReturn(true, true, true, false)
+        whenever(testEnumeration.nextElement()).thenReturn(testEntry1, testEntry2, testEntry3)
+        mapZipTreeNodes()
+
+        val actual = underTest.monitorZipNodeTree(testZipFile).last()
+        assertThat(actual.keys).containsExactly(
+            "zipFolder",
+            "zipFolder/zipSubFolder",
+            "zipFolder/zipSubFolder/file.txt",
+            "zipFolder/zipSubFolder/zipFile.zip",
+            "zipFolder/other.txt",
+        ).inOrder()
+        val rootNode = actual["zipFolder"]
+        assertThat(rootNode?.parentPath).isNull()
+        assertThat(rootNode?.zipEntryType).isEqualTo(ZipEntryType.Folder)
+        assertThat(rootNode?.children).containsExactly(
+            actual["zipFolder/zipSubFolder"],
+            actual["zipFolder/other.txt"],
+        ).inOrder()
+        assertThat(actual["zipFolder/zipSubFolder"]?.children?.map { it.zipEntryType })
+            .containsExactly(ZipEntryType.File, ZipEntryType.Zip)
+            .inOrder()
+        assertThat(actual["zipFolder/zipSubFolder/zipFile.zip"]?.parentPath)
+            .isEqualTo("zipFolder/zipSubFolder")
+    }
+
+    @Test
+    fun `test that monitorZipNodeTree emits the complete ZipNodeTree`() = runTest {
+        val testEnumeration = mock<Enumeration<out ZipEntry>>()
+        val testZipFile = mock<ZipFile> {
+            on { entries() }.thenReturn(testEnumeration)
+        }
+        val testEntry1 = initZipEntry("zipFolder/", true)
+        val testEntry2 = initZipEntry("zipFolder/file.txt", false)
+
+        whenever(testEnumeration.hasMoreElements()).thenReturn(true, true, false)
+        whenever(testEnumeration.nextElement()).thenReturn(testEntry1, testEntry2)
+        mapZipTreeNodes()
+
+        underTest.monitorZipNodeTree(testZipFile).test {
+            val actual = awaitItem()
+            assertThat(actual.keys).containsExactly("zipFolder", "zipFolder/file.txt")
+            assertThat(actual["zipFolder"]?.children).containsExactly(actual["zipFolder/file.txt"])
+            awaitComplete()
+        }
+    }
+
+    @Test
+    fun `test that monitorZipNodeTree emits the top level first for big zip files`() = runTest {
+        val entryCount = 1_500
+        val testEntries = (0 until entryCount).map {
+            initZipEntry("folder${it % 2}/file$it.txt", false)
+        }.iterator()
+        val testZipFile = mock<ZipFile> {
+            on { entries() }.thenReturn(object : Enumeration<ZipEntry> {
+                override fun hasMoreElements() = testEntries.hasNext()
+                override fun nextElement() = testEntries.next()
+            })
+        }
+        mapZipTreeNodes()
+
+        underTest.monitorZipNodeTree(testZipFile).test {
+            val partial = awaitItem()
+            assertThat(partial.values.filter { it.parentPath == null }.map { it.path })
+                .containsExactly("folder0", "folder1")
+            assertThat(partial.size).isLessThan(entryCount + 2)
+            assertThat(awaitItem().size).isEqualTo(entryCount + 2)
+            awaitComplete()
+        }
+    }
+
+    private fun mapZipTreeNodes() {
+        whenever(zipTreeNodeMapper(any(), any(), any(), anyOrNull(), any())).thenAnswer {
+            ZipTreeNodeMapper().invoke(
+                zipEntry = it.getArgument(0),
+                name = it.getArgument(1),
+                path = it.getArgument(2),
+                parentPath = it.getArgument(3),
+                zipEntryType = it.getArgument(4),
+            )
+        }
+    }
+
     private fun initZipEntry(
         expectedName: String,
         expectedIsDirectory: Boolean,
@@ -127,7 +227,7 @@ class ZipBrowserRepositoryImplTest {
                 testZipTreeNode
             )
 
-            val actual = underTest.getZipNodeTree(testZipFile)
+            val actual = underTest.monitorZipNodeTree(testZipFile).last()
             assertThat(actual).isNotEmpty()
             assertThat(actual.keys.size).isEqualTo(1)
             assertThat(actual[testPath]).isEqualTo(testZipTreeNode)
@@ -172,7 +272,7 @@ class ZipBrowserRepositoryImplTest {
                 testZipTreeNode
             )
 
-            val actual = underTest.getZipNodeTree(testZipFile)
+            val actual = underTest.monitorZipNodeTree(testZipFile).last()
             assertThat(actual).isNotEmpty()
             assertThat(actual.keys.size).isEqualTo(1)
             assertThat(actual[testName]).isEqualTo(testZipTreeNode)
@@ -234,4 +334,100 @@ class ZipBrowserRepositoryImplTest {
             val actual = underTest.unzipFile(testZipFile, testPath)
             assertThat(actual).isFalse()
         }
+
+    @Test
+    fun `test that monitorUnzipFile extracts all the files and reports the extracted bytes`() =
+        runTest {
+            val zipFile = createZipFile(
+                "extractAll.zip",
+                mapOf(
+                    "folder/" to null,
+                    "folder/file.txt" to ByteArray(300_000) { it.toByte() },
+                    "folder/subFolder/other.txt" to "other".toByteArray(),
+                    "root.txt" to "root".toByteArray(),
+                )
+            )
+            val unzipRoot = File(temporaryFolder, "extractAll").canonicalPath + File.separator
+
+            val progress = zipFile.use { underTest.monitorUnzipFile(it, unzipRoot).toList() }
+
+            assertThat(progress.first().extractedBytes).isEqualTo(0)
+            assertThat(progress.map { it.extractedBytes }).isInOrder()
+            assertThat(progress.last().totalBytes).isEqualTo(300_009)
+            assertThat(progress.last().extractedBytes).isEqualTo(300_009)
+
+            assertThat(File(unzipRoot, "folder/file.txt").readBytes())
+                .isEqualTo(ByteArray(300_000) { it.toByte() })
+            assertThat(File(unzipRoot, "folder/subFolder/other.txt").readText()).isEqualTo("other")
+            assertThat(File(unzipRoot, "root.txt").readText()).isEqualTo("root")
+        }
+
+    @Test
+    fun `test that monitorUnzipFile extracts only the files of the zip tree node`() = runTest {
+        val zipFile = createZipFile(
+            "extractFolder.zip",
+            mapOf(
+                "folder/file.txt" to "file".toByteArray(),
+                "folderSibling/file.txt" to "sibling".toByteArray(),
+                "root.txt" to "root".toByteArray(),
+            )
+        )
+        val unzipRoot = File(temporaryFolder, "extractFolder").canonicalPath + File.separator
+
+        val progress = zipFile.use {
+            underTest.monitorUnzipFile(it, unzipRoot, zipTreeNodePath = "folder").toList()
+        }
+
+        assertThat(progress.last()).isEqualTo(ZipExtractionProgress(4, 4))
+
+        assertThat(File(unzipRoot, "folder/file.txt").readText()).isEqualTo("file")
+        assertThat(File(unzipRoot, "folderSibling").exists()).isFalse()
+        assertThat(File(unzipRoot, "root.txt").exists()).isFalse()
+    }
+
+    @Test
+    fun `test that monitorUnzipFile estimates the entries without uncompressed size`() =
+        runTest {
+            val compressedEntry = mock<ZipEntry> {
+                on { name }.thenReturn("compressed.txt")
+                on { size }.thenReturn(-1L)
+                on { compressedSize }.thenReturn(4L)
+            }
+            val unknownEntry = mock<ZipEntry> {
+                on { name }.thenReturn("unknown.txt")
+                on { size }.thenReturn(-1L)
+                on { compressedSize }.thenReturn(-1L)
+            }
+            val testEntries = listOf(compressedEntry, unknownEntry).iterator()
+            val testZipFile = mock<ZipFile> {
+                on { entries() }.thenReturn(object : Enumeration<ZipEntry> {
+                    override fun hasMoreElements() = testEntries.hasNext()
+                    override fun nextElement() = testEntries.next()
+                })
+                on { getInputStream(compressedEntry) }
+                    .thenReturn("compressed text".byteInputStream())
+                on { getInputStream(unknownEntry) }.thenReturn("unknown".byteInputStream())
+            }
+            val unzipRoot = File(temporaryFolder, "unknownSize").canonicalPath + File.separator
+
+            val progress = underTest.monitorUnzipFile(testZipFile, unzipRoot).toList()
+
+            assertThat(progress.map { it.extractedBytes }).isInOrder()
+            assertThat(progress.all { it.extractedBytes <= it.totalBytes }).isTrue()
+            assertThat(progress.last()).isEqualTo(ZipExtractionProgress(5, 5))
+            assertThat(File(unzipRoot, "compressed.txt").readText()).isEqualTo("compressed text")
+            assertThat(File(unzipRoot, "unknown.txt").readText()).isEqualTo("unknown")
+        }
+
+    private fun createZipFile(name: String, entries: Map<String, ByteArray?>): ZipFile {
+        val file = File(temporaryFolder, name)
+        ZipOutputStream(file.outputStream()).use { outputStream ->
+            entries.forEach { (entryName, bytes) ->
+                outputStream.putNextEntry(ZipEntry(entryName))
+                bytes?.let { outputStream.write(it) }
+                outputStream.closeEntry()
+            }
+        }
+        return ZipFile(file)
+    }
 }
\ No newline at end of file
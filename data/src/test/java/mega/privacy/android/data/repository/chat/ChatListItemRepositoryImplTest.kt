@@ -0,0 +1,47 @@
+package mega.privacy.android.data.repository.chat
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.chat.ChatRoomItem
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChatListItemRepositoryImplTest {
+
+    private lateinit var underTest: ChatListItemRepositoryImpl
+
+    private val firstItem = ChatRoomItem.GroupChatRoomItem(chatId = 1L, title = "First")
+    private val secondItem = ChatRoomItem.GroupChatRoomItem(chatId = 2L, title = "Second")
+
+    @BeforeEach
+    fun setUp() {
+        underTest = ChatListItemRepositoryImpl()
+    }
+
+    @Test
+    fun `test that each chat list keeps its own items`() = runTest {
+        val firstListId = underTest.createChatList()
+        val secondListId = underTest.createChatList()
+
+        underTest.setChatListItems(firstListId, listOf(firstItem))
+        underTest.setChatListItems(secondListId, listOf(secondItem))
+
+        assertThat(firstListId).isNotEqualTo(secondListId)
+        assertThat(underTest.getChatListItems(firstListId)).containsExactly(firstItem)
+        assertThat(underTest.getChatListItems(secondListId)).containsExactly(secondItem)
+    }
+
+    @Test
+    fun `test that a cleared chat list has no items and ignores the changes`() = runTest {
+        val listId = underTest.createChatList()
+        underTest.setChatListItems(listId, listOf(firstItem))
+
+        underTest.clearChatList(listId)
+
+        assertThat(underTest.getChatListItems(listId)).isEmpty()
+        assertThat(underTest.putEnrichedChatListItem(listId, firstItem)).isFalse()
+        assertThat(underTest.getEnrichedChatListItem(listId, firstItem.chatId)).isNull()
+    }
+}
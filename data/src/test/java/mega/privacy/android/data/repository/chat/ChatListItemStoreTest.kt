@@ -0,0 +1,64 @@
+package mega.privacy.android.data.repository.chat
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.chat.ChatRoomItem
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChatListItemStoreTest {
+
+    private lateinit var underTest: ChatListItemStore
+
+    private val firstItem = ChatRoomItem.GroupChatRoomItem(chatId = 1L, title = "First")
+    private val secondItem = ChatRoomItem.GroupChatRoomItem(chatId = 2L, title = "Second")
+
+    @BeforeEach
+    fun setUp() = runTest {
+        underTest = ChatListItemStore()
+        underTest.setItems(listOf(firstItem, secondItem))
+    }
+
+    @Test
+    fun `test that items are not enriched until their derived fields are put`() = runTest {
+        assertThat(underTest.getEnrichedItem(firstItem.chatId)).isNull()
+
+        val enrichedItem = firstItem.copy(lastMessage = "Hello")
+        assertThat(underTest.putEnriched(enrichedItem)).isTrue()
+
+        assertThat(underTest.getEnrichedItem(firstItem.chatId)).isEqualTo(enrichedItem)
+        assertThat(underTest.getItems()).containsExactly(enrichedItem, secondItem).inOrder()
+    }
+
+    @Test
+    fun `test that an enriched item is not replaced by an earlier enrichment`() = runTest {
+        val laterItem = firstItem.copy(lastMessage = "Later")
+        underTest.putEnriched(laterItem)
+
+        val earlierItem = firstItem.copy(lastMessage = "Earlier")
+        assertThat(underTest.putEnriched(earlierItem, onlyIfNotEnriched = true)).isFalse()
+
+        assertThat(underTest.getEnrichedItem(firstItem.chatId)).isEqualTo(laterItem)
+    }
+
+    @Test
+    fun `test that a removed item is not added again by an earlier enrichment`() = runTest {
+        assertThat(underTest.remove(firstItem.chatId)).isTrue()
+
+        assertThat(underTest.putEnriched(firstItem, onlyIfNotEnriched = true)).isFalse()
+
+        assertThat(underTest.getItems()).containsExactly(secondItem)
+    }
+
+    @Test
+    fun `test that an update only reports a change if the item changed`() = runTest {
+        assertThat(underTest.update(firstItem.chatId) { it }).isFalse()
+        assertThat(underTest.update(3L) { it.copyChatRoomItem(isMuted = true) }).isFalse()
+
+        assertThat(underTest.update(firstItem.chatId) { it.copyChatRoomItem(isMuted = true) })
+            .isTrue()
+        assertThat(underTest.getItems().first().isMuted).isTrue()
+    }
+}
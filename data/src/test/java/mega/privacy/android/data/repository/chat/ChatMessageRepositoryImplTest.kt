@@ -1,6 +1,7 @@
 package mega.privacy.android.data.repository.chat
 
 import android.content.res.Resources.NotFoundException
+import androidx.paging.PagingSource
 import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
@@ -16,6 +17,7 @@ import mega.privacy.android.data.gateway.chat.ChatStorageGateway
 import mega.privacy.android.data.listener.OptionalMegaChatRequestListenerInterface
 import mega.privacy.android.data.mapper.StringListMapper
 import mega.privacy.android.data.mapper.chat.ChatMessageMapper
+import mega.privacy.android.data.mapper.chat.ChatMessageSearchQueryMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageEntityMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageMapper
 import mega.privacy.android.data.mapper.chat.paging.TypedMessagePagingSourceMapper
@@ -30,6 +32,7 @@ import mega.privacy.android.domain.entity.chat.messages.UserMessage
 import mega.privacy.android.domain.entity.chat.messages.pending.SavePendingMessageRequest
 import mega.privacy.android.domain.entity.chat.messages.pending.UpdatePendingMessageStateRequest
 import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
+import mega.privacy.android.domain.entity.chat.messages.search.ChatMessageSearchResult
 import mega.privacy.android.domain.entity.node.NodeId
 import nz.mega.sdk.MegaChatError
 import nz.mega.sdk.MegaChatMessage
@@ -71,6 +74,7 @@ class ChatMessageRepositoryImplTest {
     private val originalPathCache = mock<Cache<Map<NodeId, String>>>()
     private val originalPathForPendingMessageCache = mock<Cache<Map<Long, String>>>()
     private val typedMessagePagingSourceMapper = mock<TypedMessagePagingSourceMapper>()
+    private val chatMessageSearchQueryMapper = mock<ChatMessageSearchQueryMapper>()
     private val megaChatErrorSuccess = mock<MegaChatError> {
         on { errorCode }.thenReturn(MegaChatError.ERROR_OK)
     }
@@ -95,6 +99,7 @@ class ChatMessageRepositoryImplTest {
             originalPathCache = originalPathCache,
             originalPathForPendingMessageCache = originalPathForPendingMessageCache,
             typedMessagePagingSourceMapper = typedMessagePagingSourceMapper,
+            chatMessageSearchQueryMapper = chatMessageSearchQueryMapper,
         )
     }
 
@@ -111,6 +116,7 @@ class ChatMessageRepositoryImplTest {
             pendingMessageMapper,
             typedMessageEntityConverters,
             originalPathCache,
+            chatMessageSearchQueryMapper,
         )
     }
 
@@ -544,6 +550,32 @@ class ChatMessageRepositoryImplTest {
             verify(chatStorageGateway).truncateMessages(chatId, truncateTimestamp)
         }
 
+    @Test
+    internal fun `test that cached message ids are returned from the gateway`() = runTest {
+        whenever(chatStorageGateway.getMessageIds(chatId)).thenReturn(listOf(1L, 2L, 2L))
+
+        assertThat(underTest.getCachedMessageIds(chatId)).containsExactly(1L, 2L)
+    }
+
+    @Test
+    internal fun `test that delete stale messages calls the function on the message gateway`() =
+        runTest {
+            val fromTimestamp = 23456L
+            val keptMessageIds = setOf(1L, 2L)
+            underTest.deleteStaleMessages(chatId, fromTimestamp, keptMessageIds)
+
+            verify(chatStorageGateway).deleteStaleMessages(chatId, fromTimestamp, keptMessageIds)
+        }
+
+    @Test
+    internal fun `test that search messages returns the paging source of the gateway for the mapped query`() {
+        val pagingSource = mock<PagingSource<Int, ChatMessageSearchResult>>()
+        whenever(chatMessageSearchQueryMapper("link")).thenReturn("\"link\"*")
+        whenever(chatStorageGateway.searchMessages("\"link\"*", chatId)).thenReturn(pagingSource)
+
+        assertThat(underTest.searchMessages("link", chatId)).isEqualTo(pagingSource)
+    }
+
     @Test
     internal fun `test that clear chat pending messages invokes gateway`() = runTest {
         underTest.clearChatPendingMessages(chatId)
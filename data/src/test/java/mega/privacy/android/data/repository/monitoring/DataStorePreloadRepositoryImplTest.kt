@@ -0,0 +1,98 @@
+package mega.privacy.android.data.repository.monitoring
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.emptyPreferences
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.preferences.base.DataStoreLoadMetricsRecorder
+import mega.privacy.android.domain.entity.appstart.DataStoreLoadMetrics
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import javax.inject.Provider
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DataStorePreloadRepositoryImplTest {
+
+    private lateinit var underTest: DataStorePreloadRepositoryImpl
+
+    private val dataStoreLoadMetricsRecorder = mock<DataStoreLoadMetricsRecorder>()
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(dataStoreLoadMetricsRecorder)
+    }
+
+    private fun initUnderTest(vararg dataStores: Pair<String, Flow<Preferences>>) {
+        underTest = DataStorePreloadRepositoryImpl(
+            startupDataStores = dataStores.associate { (storeName, data) ->
+                val dataStore = mock<DataStore<Preferences>>()
+                whenever(dataStore.data).thenReturn(data)
+                storeName to Provider { dataStore }
+            },
+            dataStoreLoadMetricsRecorder = dataStoreLoadMetricsRecorder,
+            ioDispatcher = UnconfinedTestDispatcher(),
+        )
+    }
+
+    @Test
+    fun `test that the startup stores are read in parallel`() = runTest {
+        val otherStoreRead = CompletableDeferred<Unit>()
+        initUnderTest(
+            STORE_NAME to flow {
+                otherStoreRead.await()
+                emit(emptyPreferences())
+            },
+            OTHER_STORE_NAME to flow {
+                otherStoreRead.complete(Unit)
+                emit(emptyPreferences())
+            },
+        )
+
+        underTest.preloadStartupDataStores()
+
+        assertThat(otherStoreRead.isCompleted).isTrue()
+        verify(dataStoreLoadMetricsRecorder).recordPreloadStart(STORE_NAME)
+        verify(dataStoreLoadMetricsRecorder).recordPreloadStart(OTHER_STORE_NAME)
+    }
+
+    @Test
+    fun `test that a failed store does not stop the rest`() = runTest {
+        val otherStoreRead = CompletableDeferred<Unit>()
+        initUnderTest(
+            STORE_NAME to flow { throw RuntimeException() },
+            OTHER_STORE_NAME to flow {
+                otherStoreRead.complete(Unit)
+                emit(emptyPreferences())
+            },
+        )
+
+        underTest.preloadStartupDataStores()
+
+        assertThat(otherStoreRead.isCompleted).isTrue()
+    }
+
+    @Test
+    fun `test that the metrics are monitored from the recorder`() {
+        initUnderTest()
+        val metrics = flowOf(emptyList<DataStoreLoadMetrics>())
+        whenever(dataStoreLoadMetricsRecorder.monitorMetrics()).thenReturn(metrics)
+
+        assertThat(underTest.monitorDataStoreLoadMetrics()).isSameInstanceAs(metrics)
+    }
+
+    companion object {
+        private const val STORE_NAME = "store"
+        private const val OTHER_STORE_NAME = "other"
+    }
+}
@@ -0,0 +1,118 @@
+package mega.privacy.android.data.repository.paging
+
+import androidx.paging.PagingSource
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NodePagingSourceTest {
+
+    private val handles = (1L..10L).toList()
+
+    private var fetchCount = 0
+
+    private val mappedHandles = mutableListOf<List<Long>>()
+
+    private fun createUnderTest(
+        getHandles: suspend () -> List<Long> = { handles },
+    ): NodePagingSource {
+        fetchCount = 0
+        mappedHandles.clear()
+        return NodePagingSource(
+            getHandles = {
+                fetchCount++
+                getHandles()
+            },
+            mapNodes = { pageHandles ->
+                mappedHandles.add(pageHandles)
+                pageHandles.map { handle ->
+                    mock<UnTypedNode> { on { id }.thenReturn(NodeId(handle)) }
+                }
+            },
+        )
+    }
+
+    @Test
+    fun `test that the first load maps only the first page`() = runTest {
+        val underTest = createUnderTest()
+
+        val page = underTest.load(refresh(key = null, loadSize = 4)).asPage()
+
+        assertThat(page.data.map { it.id.longValue }).containsExactly(1L, 2L, 3L, 4L).inOrder()
+        assertThat(page.prevKey).isNull()
+        assertThat(page.nextKey).isEqualTo(4)
+        assertThat(page.itemsBefore).isEqualTo(0)
+        assertThat(page.itemsAfter).isEqualTo(6)
+        assertThat(mappedHandles).containsExactly(listOf(1L, 2L, 3L, 4L))
+    }
+
+    @Test
+    fun `test that appending loads the following page and ends at the last handle`() = runTest {
+        val underTest = createUnderTest()
+        underTest.load(refresh(key = null, loadSize = 4))
+
+        val page = underTest.load(
+            PagingSource.LoadParams.Append(key = 8, loadSize = 4, placeholdersEnabled = true)
+        ).asPage()
+
+        assertThat(page.data.map { it.id.longValue }).containsExactly(9L, 10L).inOrder()
+        assertThat(page.nextKey).isNull()
+        assertThat(page.prevKey).isEqualTo(8)
+    }
+
+    @Test
+    fun `test that prepending loads the page ending at the key`() = runTest {
+        val underTest = createUnderTest()
+
+        val page = underTest.load(
+            PagingSource.LoadParams.Prepend(key = 3, loadSize = 4, placeholdersEnabled = true)
+        ).asPage()
+
+        assertThat(page.data.map { it.id.longValue }).containsExactly(1L, 2L, 3L).inOrder()
+        assertThat(page.prevKey).isNull()
+        assertThat(page.nextKey).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that the handles are fetched only once`() = runTest {
+        val underTest = createUnderTest()
+
+        underTest.load(refresh(key = null, loadSize = 4))
+        underTest.load(
+            PagingSource.LoadParams.Append(key = 4, loadSize = 4, placeholdersEnabled = true)
+        )
+
+        assertThat(fetchCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a handle fetched more than once is paged once`() = runTest {
+        val underTest = createUnderTest(getHandles = { listOf(1L, 2L, 1L, 3L) })
+
+        val page = underTest.load(refresh(key = null, loadSize = 4)).asPage()
+
+        assertThat(page.data.map { it.id.longValue }).containsExactly(1L, 2L, 3L).inOrder()
+        assertThat(page.itemsAfter).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that an error is returned if the handles cannot be fetched`() = runTest {
+        val exception = RuntimeException()
+        val underTest = createUnderTest(getHandles = { throw exception })
+
+        val result = underTest.load(refresh(key = null, loadSize = 4))
+
+        assertThat(result).isEqualTo(PagingSource.LoadResult.Error<Int, UnTypedNode>(exception))
+    }
+
+    private fun refresh(key: Int?, loadSize: Int) =
+        PagingSource.LoadParams.Refresh(key = key, loadSize = loadSize, placeholdersEnabled = true)
+
+    private fun PagingSource.LoadResult<Int, UnTypedNode>.asPage() =
+        this as PagingSource.LoadResult.Page<Int, UnTypedNode>
+}
@@ -3,12 +3,16 @@ package mega.privacy.android.data.repository.photos
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.FileGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -31,7 +35,10 @@ import mega.privacy.android.domain.entity.GifFileTypeInfo
 import mega.privacy.android.domain.entity.RawFileTypeInfo
 import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
 import mega.privacy.android.domain.entity.VideoFileTypeInfo
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.photos.Photo
 import mega.privacy.android.domain.entity.search.SearchCategory
 import mega.privacy.android.domain.entity.search.SearchTarget
@@ -48,8 +55,10 @@ import nz.mega.sdk.MegaStringMap
 import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.time.LocalDateTime
 import kotlin.time.Duration.Companion.seconds
@@ -91,6 +100,7 @@ class DefaultPhotosRepositoryTest {
     private val monitorFetchNodesFinishUseCase = mock<MonitorFetchNodesFinishUseCase> {
         onBlocking { invoke() }.thenReturn(emptyFlow())
     }
+    private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
 
     @Before
     fun setUp() {
@@ -297,6 +307,87 @@ class DefaultPhotosRepositoryTest {
             .isEqualTo(expectedMegaStringMapValue.toString())
     }
 
+    @Test
+    fun `test that monitorPhotos emits the photos of the timeline index before the search finishes`() =
+        runTest {
+            val indexedPhoto = createIndexedPhoto()
+            whenever(megaLocalRoomGateway.getTimelinePhotos()).thenReturn(listOf(indexedPhoto))
+            whenever(megaApiGateway.searchWithFilter(anyOrNull(), any(), anyOrNull()))
+                .thenReturn(emptyList())
+
+            underTest = createUnderTest(this)
+
+            assertThat(underTest.monitorPhotos().first()).containsExactly(indexedPhoto)
+        }
+
+    @Test
+    fun `test that the timeline index is replaced with the photos found by the search`() =
+        runTest {
+            whenever(megaLocalRoomGateway.getTimelinePhotos()).thenReturn(
+                listOf(createIndexedPhoto())
+            )
+            whenever(megaApiGateway.searchWithFilter(anyOrNull(), any(), anyOrNull()))
+                .thenReturn(emptyList())
+
+            underTest = createUnderTest(this)
+            underTest.monitorPhotos()
+            advanceUntilIdle()
+
+            verify(megaLocalRoomGateway).setTimelinePhotos(emptyList())
+        }
+
+    @Test
+    fun `test that a node update emits a change set with only the changed photos`() = runTest {
+        val nodeUpdates = MutableSharedFlow<NodeUpdate>()
+        val fileNode = mock<FileNode> {
+            on { id }.thenReturn(NodeId(1L))
+            on { type }.thenReturn(StaticImageFileTypeInfo(mimeType = "", extension = "jpg"))
+        }
+        val megaNode = createMegaNode(handle = 1L, name = "image.jpg")
+        whenever(nodeRepository.monitorNodeUpdates()).thenReturn(nodeUpdates)
+        whenever(megaLocalRoomGateway.getTimelinePhotos()).thenReturn(emptyList())
+        whenever(megaApiGateway.searchWithFilter(anyOrNull(), any(), anyOrNull()))
+            .thenReturn(emptyList())
+        whenever(megaApiGateway.getMegaNodeByHandle(1L)).thenReturn(megaNode)
+        whenever(nodeRepository.isNodeInCloudDrive(1L)).thenReturn(true)
+        whenever(nodeRepository.isNodeInRubbishBin(NodeId(1L))).thenReturn(false)
+        whenever(fileTypeInfoMapper(megaNode.name, megaNode.duration)).thenReturn(
+            StaticImageFileTypeInfo(mimeType = "", extension = "jpg")
+        )
+
+        underTest = createUnderTest(this)
+        val changes = underTest.monitorPhotoChanges()
+        advanceUntilIdle()
+        val initial = changes.first()
+        nodeUpdates.emit(NodeUpdate(mapOf(fileNode to listOf(NodeChanges.Attributes))))
+        advanceUntilIdle()
+        val actual = changes.first()
+
+        assertThat(initial.isReset).isTrue()
+        assertThat(initial.photos).isEmpty()
+        assertThat(actual.isIncrementalFrom(initial.version)).isTrue()
+        assertThat(actual.addedIds).containsExactly(1L)
+        assertThat(actual.updatedIds).isEmpty()
+        assertThat(actual.photos.keys).containsExactly(1L)
+        verify(megaLocalRoomGateway).insertOrUpdateTimelinePhotos(listOf(actual.photos.getValue(1L)))
+    }
+
+    private fun createIndexedPhoto() = createImage(
+        id = 1L,
+        parentId = 2L,
+        name = "image.jpg",
+        isFavourite = false,
+        creationTime = LocalDateTime.now(),
+        modificationTime = LocalDateTime.now(),
+        thumbnailFilePath = null,
+        previewFilePath = null,
+        fileTypeInfo = StaticImageFileTypeInfo(mimeType = "", extension = "jpg"),
+        size = 1L,
+        isTakenDown = false,
+        isSensitive = false,
+        isSensitiveInherited = false,
+    )
+
     private fun createUnderTest(coroutineScope: CoroutineScope) = DefaultPhotosRepository(
         nodeRepository = nodeRepository,
         megaApiFacade = megaApiGateway,
@@ -322,6 +413,7 @@ class DefaultPhotosRepositoryTest {
         cancelTokenProvider = cancelTokenProvider,
         megaSearchFilterMapper = megaSearchFilterMapper,
         monitorFetchNodesFinishUseCase = monitorFetchNodesFinishUseCase,
+        megaLocalRoomGateway = megaLocalRoomGateway,
     )
 
     private fun createMegaNode(
@@ -1,16 +1,20 @@
 package mega.privacy.android.data.repository.thumbnailpreview
 
 import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.ThumbnailPreviewDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.node.MegaNodeMapper
 import mega.privacy.android.data.wrapper.StringWrapper
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
 import mega.privacy.android.domain.exception.MegaException
 import mega.privacy.android.domain.repository.thumbnailpreview.ThumbnailPreviewRepository
 import nz.mega.sdk.MegaApiJava
@@ -28,6 +32,7 @@ import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.io.File
@@ -43,6 +48,7 @@ class ThumbnailPreviewRepositoryImplTest {
     private val cacheGateway = mock<CacheGateway>()
     private val stringWrapper = mock<StringWrapper>()
     private val megaNodeMapper = mock<MegaNodeMapper>()
+    private val thumbnailPreviewDiskCache = mock<ThumbnailPreviewDiskCache>()
 
     private val cacheDir = File("cache")
     private val thumbnailName = "thumbnailName"
@@ -60,13 +66,26 @@ class ThumbnailPreviewRepositoryImplTest {
             ioDispatcher = UnconfinedTestDispatcher(),
             cacheGateway = cacheGateway,
             stringWrapper = stringWrapper,
-            megaNodeMapper = megaNodeMapper
+            megaNodeMapper = megaNodeMapper,
+            thumbnailPreviewDiskCache = thumbnailPreviewDiskCache,
+            thumbnailRequestScheduler = ThumbnailRequestScheduler(
+                scope = CoroutineScope(UnconfinedTestDispatcher()),
+                ioDispatcher = UnconfinedTestDispatcher(),
+                maxConcurrentRequests = 4,
+            ),
         )
     }
 
     @BeforeEach
     fun resetMocks() {
-        reset(megaApi, megaApiFolder, cacheGateway, stringWrapper, megaNodeMapper)
+        reset(
+            megaApi,
+            megaApiFolder,
+            cacheGateway,
+            stringWrapper,
+            megaNodeMapper,
+            thumbnailPreviewDiskCache,
+        )
     }
 
     @Test
@@ -96,6 +115,62 @@ class ThumbnailPreviewRepositoryImplTest {
         }
     }
 
+    @Test
+    fun `test that a thumbnail downloaded from server is recorded in the disk cache`() = runTest {
+        whenever(megaNode.base64Handle).thenReturn(thumbnailName)
+        whenever(megaNode.hasThumbnail()).thenReturn(true)
+        whenever(megaApi.getMegaNodeByHandle(nodeHandle)).thenReturn(megaNode)
+        whenever(cacheGateway.getCacheFile(any(), anyOrNull())).thenReturn(thumbnailFile)
+        val error = mock<MegaError> {
+            on { errorCode }.thenReturn(MegaError.API_OK)
+        }
+        whenever(megaApi.getThumbnail(any(), any(), any())).thenAnswer {
+            (it.arguments[2] as MegaRequestListenerInterface).onRequestFinish(
+                mock(),
+                mock(),
+                error
+            )
+        }
+
+        underTest.getThumbnailFromServer(nodeHandle)
+
+        verify(thumbnailPreviewDiskCache).onWrite(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnailFile)
+    }
+
+    @Test
+    fun `test that concurrent thumbnail downloads of the same node are requested once`() =
+        runTest {
+            whenever(megaNode.base64Handle).thenReturn(thumbnailName)
+            whenever(megaNode.hasThumbnail()).thenReturn(true)
+            whenever(megaApi.getMegaNodeByHandle(nodeHandle)).thenReturn(megaNode)
+            whenever(cacheGateway.getOrCreateCacheFolder(CacheFolderConstant.THUMBNAIL_FOLDER))
+                .thenReturn(File(cacheDir, CacheFolderConstant.THUMBNAIL_FOLDER))
+            val listeners = mutableListOf<MegaRequestListenerInterface>()
+            whenever(megaApi.getThumbnail(any(), any(), any())).thenAnswer {
+                listeners.add(it.arguments[2] as MegaRequestListenerInterface)
+                Unit
+            }
+            val results = mutableListOf<Boolean>()
+
+            repeat(3) {
+                launch {
+                    underTest.downloadThumbnail(
+                        handle = nodeHandle,
+                        priority = ThumbnailRequestPriority.VISIBLE,
+                    ) { results.add(it) }
+                }
+            }
+            advanceUntilIdle()
+            val error = mock<MegaError> {
+                on { errorCode }.thenReturn(MegaError.API_OK)
+            }
+            listeners.single().onRequestFinish(mock(), mock(), error)
+            advanceUntilIdle()
+
+            verify(megaApi, times(1)).getThumbnail(any(), any(), any())
+            assertThat(results).containsExactly(true, true, true)
+        }
+
     @Test
     fun `test that get thumbnail from server doesn't returns successfully`() {
         runTest {
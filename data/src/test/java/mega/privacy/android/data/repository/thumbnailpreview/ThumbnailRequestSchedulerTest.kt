@@ -0,0 +1,146 @@
+package mega.privacy.android.data.repository.thumbnailpreview
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.assertThrows
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ThumbnailRequestSchedulerTest {
+
+    private val responses = mutableMapOf<Long, CompletableDeferred<String>>()
+    private val started = mutableListOf<Long>()
+
+    private fun TestScope.createScheduler(maxConcurrentRequests: Int = 1) =
+        ThumbnailRequestScheduler(
+            scope = backgroundScope,
+            ioDispatcher = StandardTestDispatcher(testScheduler),
+            maxConcurrentRequests = maxConcurrentRequests,
+        ).also {
+            responses.clear()
+            started.clear()
+        }
+
+    private suspend fun ThumbnailRequestScheduler.download(
+        handle: Long,
+        priority: ThumbnailRequestPriority = ThumbnailRequestPriority.VISIBLE,
+    ) = schedule(handle, priority) {
+        started.add(handle)
+        responses.getOrPut(handle) { CompletableDeferred() }.await()
+    }
+
+    @Test
+    fun `test that concurrent requests with the same key are downloaded once`() = runTest {
+        val underTest = createScheduler()
+
+        val results = List(3) { async { underTest.download(1L) } }
+        advanceUntilIdle()
+        responses.getValue(1L).complete("thumbnail")
+
+        assertThat(results.map { it.await() })
+            .containsExactly("thumbnail", "thumbnail", "thumbnail")
+        assertThat(started).containsExactly(1L)
+        assertThat(underTest.metrics.value.deduplicated).isEqualTo(2)
+        assertThat(underTest.metrics.value.requested).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that no more than the maximum number of downloads run at the same time`() =
+        runTest {
+            val underTest = createScheduler(maxConcurrentRequests = 2)
+
+            List(5) { backgroundScope.async { underTest.download(it.toLong()) } }
+            advanceUntilIdle()
+
+            assertThat(started).hasSize(2)
+            assertThat(underTest.metrics.value.inFlight).isEqualTo(2)
+            assertThat(underTest.metrics.value.queueDepth).isEqualTo(3)
+        }
+
+    @Test
+    fun `test that queued downloads start by priority and then most recent first`() = runTest {
+        val underTest = createScheduler()
+        val running = async { underTest.download(0L) }
+        advanceUntilIdle()
+
+        backgroundScope.async { underTest.download(1L, ThumbnailRequestPriority.PREFETCH) }
+        async { underTest.download(2L) }
+        async { underTest.download(3L) }
+        async { underTest.download(4L, ThumbnailRequestPriority.PREFETCH) }
+        advanceUntilIdle()
+        listOf(0L, 3L, 2L, 4L).forEach {
+            responses.getOrPut(it) { CompletableDeferred() }.complete("done")
+            advanceUntilIdle()
+        }
+
+        assertThat(running.await()).isEqualTo("done")
+        assertThat(started).containsExactly(0L, 3L, 2L, 4L, 1L).inOrder()
+    }
+
+    @Test
+    fun `test that a queued download is dropped when its requesters are cancelled`() = runTest {
+        val underTest = createScheduler()
+        async { underTest.download(0L) }
+        val queued = async { underTest.download(1L) }
+        advanceUntilIdle()
+
+        queued.cancel()
+        advanceUntilIdle()
+        responses.getValue(0L).complete("done")
+        advanceUntilIdle()
+
+        assertThat(started).containsExactly(0L)
+        assertThat(underTest.metrics.value.cancelled).isEqualTo(1)
+        assertThat(underTest.metrics.value.queueDepth).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that a download finished after its requesters are cancelled is counted as wasted`() =
+        runTest {
+            val underTest = createScheduler()
+            val running = async { underTest.download(0L) }
+            advanceUntilIdle()
+
+            running.cancel()
+            advanceUntilIdle()
+            responses.getValue(0L).complete("done")
+            advanceUntilIdle()
+
+            assertThat(underTest.metrics.value.wasted).isEqualTo(1)
+            assertThat(underTest.metrics.value.inFlight).isEqualTo(0)
+        }
+
+    @Test
+    fun `test that the failure of a download is received by its requesters`() = runTest {
+        val underTest = createScheduler()
+        val results = List(2) { async { runCatching { underTest.download(0L) } } }
+        advanceUntilIdle()
+
+        responses.getValue(0L).completeExceptionally(IllegalStateException())
+
+        results.forEach { result ->
+            assertThrows<IllegalStateException> { result.await().getOrThrow() }
+        }
+    }
+
+    @Test
+    fun `test that cache hits are counted in the hit ratio`() = runTest {
+        val underTest = createScheduler()
+        underTest.onCacheHit()
+        val results = List(2) { async { underTest.download(0L) } }
+        advanceUntilIdle()
+        responses.getValue(0L).complete("done")
+        results.forEach { it.await() }
+
+        assertThat(underTest.metrics.value.hitRatio).isEqualTo(2f / 3)
+    }
+}
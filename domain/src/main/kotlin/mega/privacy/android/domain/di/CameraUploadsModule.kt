@@ -0,0 +1,12 @@
+package mega.privacy.android.domain.di
+
+import dagger.Module
+import dagger.hilt.InstallIn
+import dagger.hilt.components.SingletonComponent
+
+/**
+ * Domain Camera Uploads module
+ */
+@Module(includes = [InternalCameraUploadsModule::class])
+@InstallIn(SingletonComponent::class)
+abstract class CameraUploadsModule
@@ -0,0 +1,21 @@
+package mega.privacy.android.domain.di
+
+import dagger.Binds
+import dagger.Module
+import dagger.hilt.migration.DisableInstallInCheck
+import mega.privacy.android.domain.usecase.camerauploads.concurrency.AimdUploadConcurrencyStrategy
+import mega.privacy.android.domain.usecase.camerauploads.concurrency.UploadConcurrencyStrategy
+
+/**
+ * Module to provide Camera Uploads implementations
+ */
+@Module
+@DisableInstallInCheck
+internal abstract class InternalCameraUploadsModule {
+
+    /**
+     * Provide the default [UploadConcurrencyStrategy] implementation
+     */
+    @Binds
+    abstract fun bindUploadConcurrencyStrategy(implementation: AimdUploadConcurrencyStrategy): UploadConcurrencyStrategy
+}
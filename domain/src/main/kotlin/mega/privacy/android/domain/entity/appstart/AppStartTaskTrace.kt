@@ -0,0 +1,24 @@
+package mega.privacy.android.domain.entity.appstart
+
+import kotlin.time.Duration
+
+/**
+ * Trace of an app start task
+ *
+ * @property taskName the name of the task
+ * @property duration the time the task took to run, without the time waiting for its dependencies
+ * @property isMainThread true if the task ran in the main thread, false otherwise
+ * @property error the error the task failed with, null if it finished without errors
+ */
+data class AppStartTaskTrace(
+    val taskName: String,
+    val duration: Duration,
+    val isMainThread: Boolean,
+    val error: Throwable? = null,
+) {
+    /**
+     * True if the task finished without errors, false otherwise
+     */
+    val isSuccess: Boolean
+        get() = error == null
+}
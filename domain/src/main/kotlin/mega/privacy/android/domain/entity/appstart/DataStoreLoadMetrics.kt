@@ -0,0 +1,20 @@
+package mega.privacy.android.domain.entity.appstart
+
+import kotlin.time.Duration
+
+/**
+ * Load metrics of a DataStore
+ *
+ * @property storeName the name of the store
+ * @property firstReadDuration the time the first read of the store took, or null if it has not
+ * been read yet
+ * @property decryptDuration the time decrypting the file of the store took, or null if the store
+ * is not encrypted or it has not been read yet
+ * @property isPreloaded true if the store is read at start up, false if it is read on first use
+ */
+data class DataStoreLoadMetrics(
+    val storeName: String,
+    val firstReadDuration: Duration?,
+    val decryptDuration: Duration?,
+    val isPreloaded: Boolean,
+)
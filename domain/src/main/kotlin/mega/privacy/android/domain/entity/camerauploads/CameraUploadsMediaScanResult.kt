@@ -0,0 +1,13 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Result of scanning the media store for new Camera Uploads content
+ *
+ * @property records the [CameraUploadsRecord] created from the media not yet known by Camera Uploads
+ * @property scanCursor the high-water mark from which the next scan can resume, in milliseconds.
+ *                      null if the next scan has to be a full scan
+ */
+data class CameraUploadsMediaScanResult(
+    val records: List<CameraUploadsRecord>,
+    val scanCursor: Long?,
+)
@@ -0,0 +1,35 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Hashed index of the [CameraUploadsRecord] saved in the database
+ *
+ * A [CameraUploadsRecord] is uniquely identified by its mediaId, timestamp and folder type, so the
+ * index allows to check in constant time whether a media retrieved from the media store has
+ * already been processed by Camera Uploads
+ *
+ * @param records the list of [CameraUploadsRecord] saved in the database
+ */
+class CameraUploadsRecordIndex(records: List<CameraUploadsRecord>) {
+
+    private val keys: Map<CameraUploadFolderType, Set<RecordKey>> =
+        records.groupBy(
+            keySelector = { it.folderType },
+            valueTransform = { RecordKey(mediaId = it.mediaId, timestamp = it.timestamp) },
+        ).mapValues { (_, recordKeys) -> recordKeys.toHashSet() }
+
+    /**
+     * Check if a media has already been inserted in the database for the given folder type
+     *
+     * @param folderType the [CameraUploadFolderType] to check
+     * @param mediaId the media store id of the media
+     * @param timestamp the timestamp of the media
+     * @return true if a record with the same mediaId and timestamp exists for the folder type
+     */
+    fun contains(
+        folderType: CameraUploadFolderType,
+        mediaId: Long,
+        timestamp: Long,
+    ): Boolean = keys[folderType]?.contains(RecordKey(mediaId, timestamp)) == true
+
+    private data class RecordKey(val mediaId: Long, val timestamp: Long)
+}
@@ -0,0 +1,22 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Observation of the Camera Uploads transfers over a sampling interval,
+ * used to adapt the number of concurrent uploads
+ *
+ * @property concurrentUploadsLimit the concurrent uploads limit in effect during the interval
+ * @property activeUploads the number of uploads in progress at the end of the interval
+ * @property uploadSpeed the current upload speed, in bytes per second
+ * @property completedUploads the number of uploads finished during the interval
+ * @property averageUploadLatency the average duration of the uploads finished during the interval,
+ *                                in milliseconds. null if no upload finished
+ * @property temporaryErrors the number of temporary errors received during the interval
+ */
+data class UploadConcurrencySample(
+    val concurrentUploadsLimit: Int,
+    val activeUploads: Int,
+    val uploadSpeed: Long,
+    val completedUploads: Int,
+    val averageUploadLatency: Long?,
+    val temporaryErrors: Int,
+)
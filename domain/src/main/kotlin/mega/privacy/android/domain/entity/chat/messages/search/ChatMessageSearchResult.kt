@@ -0,0 +1,29 @@
+package mega.privacy.android.domain.entity.chat.messages.search
+
+/**
+ * Chat message matching a search
+ *
+ * @property chatId Chat ID
+ * @property messageId Message ID
+ * @property timestamp Timestamp of the message
+ * @property snippet Fragment of the message text around the matches, with every match between
+ * [MATCH_START] and [MATCH_END]
+ */
+data class ChatMessageSearchResult(
+    val chatId: Long,
+    val messageId: Long,
+    val timestamp: Long,
+    val snippet: String,
+) {
+    companion object {
+        /**
+         * Marks the start of a match in the [snippet]
+         */
+        const val MATCH_START = "\u0002"
+
+        /**
+         * Marks the end of a match in the [snippet]
+         */
+        const val MATCH_END = "\u0003"
+    }
+}
@@ -0,0 +1,36 @@
+package mega.privacy.android.domain.entity.photos
+
+/**
+ * Changes of the timeline photos
+ *
+ * Every change set has a version one higher than the previous one. A consumer that applied the
+ * previous version can apply only the added, updated and removed photos, otherwise it needs to
+ * rebuild from [photos], which is always the full snapshot after the changes.
+ *
+ * @property version the version of the snapshot
+ * @property photos the snapshot of all the photos by id, it is immutable and shared with the
+ * later versions, so it is not copied for every change
+ * @property addedIds the ids of the added photos
+ * @property updatedIds the ids of the updated photos
+ * @property removedIds the ids of the removed photos
+ * @property isReset true if the photos were reloaded and the changes are not known
+ */
+data class PhotoChangeSet(
+    val version: Long,
+    val photos: Map<Long, Photo>,
+    val addedIds: Set<Long> = emptySet(),
+    val updatedIds: Set<Long> = emptySet(),
+    val removedIds: Set<Long> = emptySet(),
+    val isReset: Boolean = false,
+) {
+
+    /**
+     * Checks if the changes can be applied on top of a previously applied version
+     *
+     * @param appliedVersion the version applied by the consumer, null if none
+     * @return true if only the changes need to be applied, false if the consumer needs to rebuild
+     * from [photos]
+     */
+    fun isIncrementalFrom(appliedVersion: Long?): Boolean =
+        !isReset && appliedVersion != null && version == appliedVersion + 1
+}
@@ -0,0 +1,297 @@
+package mega.privacy.android.domain.entity.photos
+
+import java.time.LocalDate
+import java.util.PriorityQueue
+import java.util.TreeMap
+import java.util.TreeSet
+
+/**
+ * Timeline photos grouped in buckets by day, kept sorted as photos are added and removed
+ *
+ * Every day keeps a sorted bucket per kind of photo: image or video, camera uploads or cloud drive
+ * and sensitive or not. Adding or removing a photo only updates its bucket, in O(log n). A
+ * [TimelinePhotoFilter] selects the buckets to show, so filtering does not go through all the
+ * photos again. The selected buckets of a day are merged in order and kept until the day changes,
+ * so only the changed days are merged again.
+ *
+ * It is not thread safe, it needs to be used from a single thread or coroutine at a time.
+ *
+ * @param newestFirst true to sort the photos from the newest to the oldest, false otherwise
+ */
+class TimelinePhotoBuckets(newestFirst: Boolean = true) {
+
+    private class Entry(val photo: Photo, val epochDay: Long, val bucket: Int)
+
+    private val entries = HashMap<Long, Entry>()
+
+    private var comparator = createComparator(newestFirst)
+
+    private var days = createDays(newestFirst)
+
+    /**
+     * The merged photos of the days for [mergedFilter], a day is removed when it changes
+     */
+    private val mergedDays = HashMap<Long, List<Photo>>()
+
+    private var mergedFilter: TimelinePhotoFilter? = null
+
+    /**
+     * True if the photos are sorted from the newest to the oldest, false otherwise
+     */
+    var newestFirst: Boolean = newestFirst
+        private set
+
+    /**
+     * Number of photos, in all the buckets
+     */
+    val size: Int
+        get() = entries.size
+
+    /**
+     * Replaces all the photos
+     *
+     * @param photos the photos
+     * @param cameraUploadPhotoIds the ids of the photos in the camera uploads folders
+     */
+    fun setPhotos(photos: Collection<Photo>, cameraUploadPhotoIds: Set<Long>) {
+        entries.clear()
+        days.clear()
+        mergedDays.clear()
+        photos.forEach { insert(it, it.id in cameraUploadPhotoIds) }
+    }
+
+    /**
+     * Adds a photo, or replaces it if it was already added
+     *
+     * @param photo the photo
+     * @param isCameraUpload true if the photo is in the camera uploads folders
+     */
+    fun put(photo: Photo, isCameraUpload: Boolean) {
+        remove(photo.id)
+        insert(photo, isCameraUpload)
+    }
+
+    /**
+     * Removes a photo
+     *
+     * @param id the id of the photo
+     * @return true if the photo was removed, false if it was not added
+     */
+    fun remove(id: Long): Boolean {
+        val entry = entries.remove(id) ?: return false
+        mergedDays.remove(entry.epochDay)
+        val buckets = days[entry.epochDay] ?: return true
+        buckets[entry.bucket]?.remove(entry.photo)
+        if (buckets.all { it.isNullOrEmpty() }) days.remove(entry.epochDay)
+        return true
+    }
+
+    /**
+     * Changes the sort order of the photos, sorting them again if it changed
+     *
+     * @param newestFirst true to sort the photos from the newest to the oldest, false otherwise
+     */
+    fun setNewestFirst(newestFirst: Boolean) {
+        if (this.newestFirst == newestFirst) return
+        this.newestFirst = newestFirst
+        comparator = createComparator(newestFirst)
+        val currentEntries = entries.values.toList()
+        entries.clear()
+        days = createDays(newestFirst)
+        mergedDays.clear()
+        currentEntries.forEach { insert(it.photo, it.bucket and CAMERA_UPLOAD != 0) }
+    }
+
+    /**
+     * Gets the sorted photos of the buckets selected by a filter
+     *
+     * @param filter the filter
+     * @return the sorted photos
+     */
+    fun getPhotos(filter: TimelinePhotoFilter = TimelinePhotoFilter()): List<Photo> =
+        getPhotosByDay(filter).flatMapTo(ArrayList(size)) { it.photos }
+
+    /**
+     * Gets the sorted photos of the buckets selected by a filter grouped by day, in the sort order
+     *
+     * The photos of a day are the same list while the day does not change, so the consumers can
+     * reuse what they built from it.
+     *
+     * @param filter the filter
+     * @return the days with photos
+     */
+    fun getPhotosByDay(
+        filter: TimelinePhotoFilter = TimelinePhotoFilter(),
+    ): List<TimelinePhotoDay> {
+        if (filter != mergedFilter) {
+            mergedDays.clear()
+            mergedFilter = filter
+        }
+        return days.mapNotNull { (epochDay, buckets) ->
+            val photos = mergedDays.getOrPut(epochDay) { merge(buckets.selectedBy(filter)) }
+            if (photos.isEmpty()) return@mapNotNull null
+            TimelinePhotoDay(date = LocalDate.ofEpochDay(epochDay), photos = photos)
+        }
+    }
+
+    /**
+     * Gets the days with photos in the buckets selected by a filter, in the sort order
+     *
+     * @param filter the filter
+     * @return the days
+     */
+    fun getDays(filter: TimelinePhotoFilter = TimelinePhotoFilter()): List<TimelinePhotoGroup> =
+        getPhotosByDay(filter).map { day ->
+            TimelinePhotoGroup(date = day.date, cover = day.photos.first(), count = day.photos.size)
+        }
+
+    /**
+     * Gets the months with photos in the buckets selected by a filter, in the sort order
+     *
+     * @param filter the filter
+     * @return the months, dated on their first day
+     */
+    fun getMonths(filter: TimelinePhotoFilter = TimelinePhotoFilter()): List<TimelinePhotoGroup> =
+        getDays(filter).groupByMonth()
+
+    /**
+     * Gets the years with photos in the buckets selected by a filter, in the sort order
+     *
+     * @param filter the filter
+     * @return the years, dated on their first day
+     */
+    fun getYears(filter: TimelinePhotoFilter = TimelinePhotoFilter()): List<TimelinePhotoGroup> =
+        getDays(filter).groupByYear()
+
+    private fun insert(photo: Photo, isCameraUpload: Boolean) {
+        val bucket = (if (photo is Photo.Video) VIDEO else 0) or
+                (if (isCameraUpload) CAMERA_UPLOAD else 0) or
+                (if (photo.isSensitive || photo.isSensitiveInherited) SENSITIVE else 0)
+        val epochDay = photo.modificationTime.toLocalDate().toEpochDay()
+        entries[photo.id] = Entry(photo, epochDay, bucket)
+        mergedDays.remove(epochDay)
+        days.getOrPut(epochDay) { arrayOfNulls(BUCKET_COUNT) }
+            .let { buckets -> buckets[bucket] ?: TreeSet(comparator).also { buckets[bucket] = it } }
+            .add(photo)
+    }
+
+    /**
+     * Merges the sorted buckets of a day, taking the next photo from the bucket with the first one
+     */
+    private fun merge(buckets: List<TreeSet<Photo>>): List<Photo> {
+        buckets.singleOrNull()?.let { return it.toList() }
+        val photos = ArrayList<Photo>(buckets.sumOf { it.size })
+        val heads = PriorityQueue<Pair<Photo, Iterator<Photo>>>(
+            maxOf(buckets.size, 1),
+            compareBy(comparator) { it.first },
+        )
+        buckets.forEach { bucket ->
+            val iterator = bucket.iterator()
+            if (iterator.hasNext()) heads.add(iterator.next() to iterator)
+        }
+        while (heads.isNotEmpty()) {
+            val (photo, iterator) = heads.poll()
+            photos.add(photo)
+            if (iterator.hasNext()) heads.add(iterator.next() to iterator)
+        }
+        return photos
+    }
+
+    private fun Array<TreeSet<Photo>?>.selectedBy(filter: TimelinePhotoFilter) =
+        filterIndexed { bucket, photos -> !photos.isNullOrEmpty() && filter.matches(bucket) }
+            .filterNotNull()
+
+    private fun TimelinePhotoFilter.matches(bucket: Int) =
+        (if (bucket and VIDEO != 0) includeVideos else includeImages) &&
+                (if (bucket and CAMERA_UPLOAD != 0) includeCameraUploads else includeCloudDrive) &&
+                (bucket and SENSITIVE == 0 || includeSensitive)
+
+    private companion object {
+        const val VIDEO = 1
+        const val CAMERA_UPLOAD = 2
+        const val SENSITIVE = 4
+        const val BUCKET_COUNT = 8
+
+        fun createComparator(newestFirst: Boolean): Comparator<Photo> = if (newestFirst) {
+            compareByDescending<Photo> { it.modificationTime }.thenByDescending { it.id }
+        } else {
+            compareBy<Photo> { it.modificationTime }.thenByDescending { it.id }
+        }
+
+        fun createDays(newestFirst: Boolean) = TreeMap<Long, Array<TreeSet<Photo>?>>(
+            if (newestFirst) reverseOrder() else naturalOrder()
+        )
+    }
+}
+
+/**
+ * Filter of the [TimelinePhotoBuckets]
+ *
+ * @property includeImages true to include the images
+ * @property includeVideos true to include the videos
+ * @property includeCameraUploads true to include the photos in the camera uploads folders
+ * @property includeCloudDrive true to include the photos in the rest of the cloud drive
+ * @property includeSensitive true to include the sensitive photos
+ */
+data class TimelinePhotoFilter(
+    val includeImages: Boolean = true,
+    val includeVideos: Boolean = true,
+    val includeCameraUploads: Boolean = true,
+    val includeCloudDrive: Boolean = true,
+    val includeSensitive: Boolean = true,
+)
+
+/**
+ * Sorted photos of a day of the [TimelinePhotoBuckets]
+ *
+ * @property date the day
+ * @property photos the photos of the day, in the sort order
+ */
+data class TimelinePhotoDay(
+    val date: LocalDate,
+    val photos: List<Photo>,
+)
+
+/**
+ * Photos of a day, month or year of the [TimelinePhotoBuckets]
+ *
+ * @property date the day, or the first day of the month or year
+ * @property cover the first photo in the sort order
+ * @property count the number of photos
+ */
+data class TimelinePhotoGroup(
+    val date: LocalDate,
+    val cover: Photo,
+    val count: Int,
+)
+
+/**
+ * Groups the sorted days of the [TimelinePhotoBuckets] by month
+ *
+ * @return the months, dated on their first day
+ */
+fun List<TimelinePhotoGroup>.groupByMonth(): List<TimelinePhotoGroup> =
+    mergeBy { it.withDayOfMonth(1) }
+
+/**
+ * Groups the sorted days of the [TimelinePhotoBuckets] by year
+ *
+ * @return the years, dated on their first day
+ */
+fun List<TimelinePhotoGroup>.groupByYear(): List<TimelinePhotoGroup> =
+    mergeBy { it.withDayOfYear(1) }
+
+/**
+ * Merges consecutive groups with the same key, keeping the cover of the first one
+ */
+private fun List<TimelinePhotoGroup>.mergeBy(key: (LocalDate) -> LocalDate) =
+    fold(mutableListOf<TimelinePhotoGroup>()) { groups, day ->
+        val date = key(day.date)
+        val last = groups.lastOrNull()
+        if (last?.date == date) {
+            groups[groups.lastIndex] = last.copy(count = last.count + day.count)
+        } else {
+            groups.add(day.copy(date = date))
+        }
+        groups
+    }
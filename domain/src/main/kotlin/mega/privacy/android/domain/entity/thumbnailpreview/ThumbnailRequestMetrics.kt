@@ -0,0 +1,28 @@
+package mega.privacy.android.domain.entity.thumbnailpreview
+
+/**
+ * Metrics of the thumbnail and preview downloads since the app started
+ *
+ * @property queueDepth the number of downloads waiting to start
+ * @property inFlight the number of downloads in progress
+ * @property requested the number of downloads requested
+ * @property cacheHits the number of requests answered from the cache folder, without downloading
+ * @property deduplicated the number of requests joining a download already queued or in progress
+ * @property cancelled the number of downloads cancelled before they started
+ * @property wasted the number of downloads finished after every requester was cancelled
+ */
+data class ThumbnailRequestMetrics(
+    val queueDepth: Int = 0,
+    val inFlight: Int = 0,
+    val requested: Long = 0,
+    val cacheHits: Long = 0,
+    val deduplicated: Long = 0,
+    val cancelled: Long = 0,
+    val wasted: Long = 0,
+) {
+    /**
+     * Share of the requests answered without starting a new download
+     */
+    val hitRatio: Float
+        get() = if (requested == 0L) 0f else (cacheHits + deduplicated).toFloat() / requested
+}
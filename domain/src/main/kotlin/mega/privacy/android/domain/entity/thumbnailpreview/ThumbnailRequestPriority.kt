@@ -0,0 +1,16 @@
+package mega.privacy.android.domain.entity.thumbnailpreview
+
+/**
+ * Priority of a thumbnail or preview download, downloads with a higher priority are started first
+ */
+enum class ThumbnailRequestPriority {
+    /**
+     * The image is not on screen yet, it is downloaded ahead of time
+     */
+    PREFETCH,
+
+    /**
+     * The image is on screen
+     */
+    VISIBLE,
+}
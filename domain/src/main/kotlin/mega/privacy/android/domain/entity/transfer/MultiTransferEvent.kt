@@ -23,6 +23,7 @@ sealed interface MultiTransferEvent {
      * @property totalBytesTransferred the total amount of bytes already transferred in all involved transfers.
      * @property totalBytesToTransfer the total amount of bytes to be transferred in all involved transfers. May be inaccurate if [scanningFinished] is false since some nodes may not have been processed yet
      * @property startedFiles the amount of files scanned for the transfer of the involved nodes
+     * @property startedIds the ids of the nodes of the started files
      * @property alreadyTransferred the amount of already transferred files
      * @property alreadyTransferredIds the ids of the nodes already transferred
      * @property scanningFinished All transfers has been scanned by the sdk, starting from this event transfers can be retried by sdk if the app is closed
@@ -35,6 +36,7 @@ sealed interface MultiTransferEvent {
         val totalBytesTransferred: Long,
         val totalBytesToTransfer: Long,
         val startedFiles: Int = 0,
+        val startedIds: Set<NodeId> = emptySet(),
         val alreadyTransferred: Int = 0,
         val alreadyTransferredIds: Set<NodeId> = emptySet(),
         val scanningFinished: Boolean = false,
@@ -0,0 +1,20 @@
+package mega.privacy.android.domain.entity.zipbrowser
+
+import mega.privacy.android.domain.entity.Progress
+
+/**
+ * Progress of the extraction of a zip file
+ *
+ * @property extractedBytes uncompressed bytes extracted so far
+ * @property totalBytes uncompressed bytes of all the zip entries to extract
+ */
+data class ZipExtractionProgress(
+    val extractedBytes: Long,
+    val totalBytes: Long,
+) {
+    /**
+     * Progress of the extraction, from 0 to 1
+     */
+    val progress: Progress
+        get() = Progress(extractedBytes, totalBytes)
+}
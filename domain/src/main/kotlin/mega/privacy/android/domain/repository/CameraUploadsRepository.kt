@@ -484,6 +484,40 @@ interface CameraUploadsRepository {
      */
     fun getMediaSelectionQuery(parentPath: String): String
 
+    /**
+     * Get the selection query to filter the media based on the parent path, restricted to the media
+     * added or modified since the given scan cursor
+     *
+     * @param parentPath path that contains the media
+     * @param scanCursor the high-water mark of the previous scan, in milliseconds
+     */
+    fun getIncrementalMediaSelectionQuery(parentPath: String, scanCursor: Long): String
+
+    /**
+     * Get the high-water mark of the last media store scan
+     *
+     * @param folderType the [CameraUploadFolderType] scanned
+     * @param fileType the [CameraUploadsRecordType] scanned
+     * @return the scan cursor in milliseconds, or null if the next scan has to be a full scan
+     */
+    suspend fun getMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ): Long?
+
+    /**
+     * Set the high-water mark of the last media store scan
+     *
+     * @param folderType the [CameraUploadFolderType] scanned
+     * @param fileType the [CameraUploadsRecordType] scanned
+     * @param scanCursor the scan cursor in milliseconds, or null to force a full scan next time
+     */
+    suspend fun setMediaStoreScanCursor(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        scanCursor: Long?,
+    )
+
     /**
      * Save a list of [CameraUploadsRecord] in the database
      *
@@ -1,5 +1,6 @@
 package mega.privacy.android.domain.repository
 
+import androidx.paging.PagingSource
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.domain.entity.FileTypeInfo
 import mega.privacy.android.domain.entity.FolderTreeInfo
@@ -138,6 +139,33 @@ interface NodeRepository {
      */
     suspend fun getNodeChildren(nodeId: NodeId, order: SortOrder? = null): List<UnTypedNode>
 
+    /**
+     * Get node children in batches
+     *
+     * @param nodeId [NodeId]
+     * @param order [SortOrder]
+     * @return flow emitting the children of each batch as soon as they are mapped, in [order]
+     */
+    fun getNodeChildrenInBatches(
+        nodeId: NodeId,
+        order: SortOrder? = null,
+    ): Flow<List<UnTypedNode>>
+
+    /**
+     * Get a paging source of the node children
+     *
+     * The children are fetched on the first load and only the loaded pages are mapped, the paging
+     * source needs to be invalidated to fetch them again
+     *
+     * @param nodeId [NodeId]
+     * @param order [SortOrder]
+     * @return [PagingSource] of the children, keyed by position
+     */
+    fun getNodeChildrenPagingSource(
+        nodeId: NodeId,
+        order: SortOrder? = null,
+    ): PagingSource<Int, UnTypedNode>
+
     /**
      * Get node children file types
      * @param nodeId [NodeId]
@@ -8,6 +8,7 @@ import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedFileNode
 import mega.privacy.android.domain.entity.photos.AlbumPhotoId
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotoChangeSet
 import java.io.File
 
 /**
@@ -19,6 +20,11 @@ interface PhotosRepository {
      */
     fun monitorPhotos(): Flow<List<Photo>>
 
+    /**
+     * Monitor the changes of the timeline photos, see [PhotoChangeSet]
+     */
+    fun monitorPhotoChanges(): Flow<PhotoChangeSet>
+
     /**
      * Get public links count
      */
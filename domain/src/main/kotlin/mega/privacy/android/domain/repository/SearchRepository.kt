@@ -1,5 +1,6 @@
 package mega.privacy.android.domain.repository
 
+import androidx.paging.PagingSource
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.UnTypedNode
@@ -35,6 +36,30 @@ interface SearchRepository {
         parameters: SearchParameters,
     ): List<UnTypedNode>
 
+    /**
+     * Get a paging source of the search results, only the loaded pages are mapped
+     * @param nodeId [NodeId] place to be searched
+     * @param order [SortOrder] locally saved user selected sort order
+     * @param parameters [SearchParameters] additional search parameters
+     */
+    fun getSearchPagingSource(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+    ): PagingSource<Int, UnTypedNode>
+
+    /**
+     * Get a paging source of the children of a node, only the loaded pages are mapped
+     * @param nodeId [NodeId] place to be searched
+     * @param order [SortOrder] locally saved user selected sort order
+     * @param parameters [SearchParameters] additional search parameters
+     */
+    fun getChildrenPagingSource(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+    ): PagingSource<Int, UnTypedNode>
+
     /**
      * get incoming shares node list
      */
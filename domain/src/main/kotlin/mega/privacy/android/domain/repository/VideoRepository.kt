@@ -23,4 +23,11 @@ interface VideoRepository {
         newFilePath: String,
         quality: VideoQuality,
     ): Flow<VideoCompressionState>
+
+    /**
+     * Get the number of videos that can be compressed at the same time
+     *
+     * @return the number of concurrent compressions the video codecs of the device support, at least 1
+     */
+    suspend fun getMaxConcurrentVideoCompressions(): Int
 }
@@ -1,5 +1,7 @@
 package mega.privacy.android.domain.repository
 
+import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.domain.entity.zipbrowser.ZipExtractionProgress
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import java.util.zip.ZipFile
 
@@ -9,10 +11,12 @@ import java.util.zip.ZipFile
 interface ZipBrowserRepository {
 
     /**
-     * Get ZipNodeTree
+     * Monitor ZipNodeTree while it is built
      *
      * @param zipFile ZipFile
-     * @return ZipNodeTree Map<String, ZipTreeNode>
+     * @return Flow of the ZipNodeTree Map<String, ZipTreeNode>. Big zip files first emit the
+     * ZipNodeTree of the zip entries indexed so far, so the top level can be shown earlier, and
+     * then the complete one
      *
      * The ZipNodeTree contains all zip tree nodes converted from zip entries.
      * It represents the complete structure of the zip file, is used for the
@@ -34,7 +38,7 @@ interface ZipBrowserRepository {
      * [Folder/SubFolder, ZipTreeNode],
      * [older/SubFolder/file.zip, ZipTreeNode]
      */
-    suspend fun getZipNodeTree(zipFile: ZipFile?): Map<String, ZipTreeNode>
+    fun monitorZipNodeTree(zipFile: ZipFile?): Flow<Map<String, ZipTreeNode>>
 
     /**
      * Unzip file
@@ -43,4 +47,21 @@ interface ZipBrowserRepository {
      * @return true is unzip succeed.
      */
     suspend fun unzipFile(zipFile: ZipFile, unzipRootPath: String): Boolean
+
+    /**
+     * Monitor the extraction of a zip file
+     *
+     * The extraction starts when the flow is collected and is cancelled with the collection.
+     *
+     * @param zipFile ZipFile
+     * @param unzipRootPath unzip destination path
+     * @param zipTreeNodePath path of the ZipTreeNode to extract with all its children, or null to
+     * extract the whole zip file
+     * @return Flow of the extraction progress, completed when all the zip entries are extracted
+     */
+    fun monitorUnzipFile(
+        zipFile: ZipFile,
+        unzipRootPath: String,
+        zipTreeNodePath: String? = null,
+    ): Flow<ZipExtractionProgress>
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package mega.privacy.android.domain.repository.chat
+
+import mega.privacy.android.domain.entity.chat.ChatRoomItem
+
+/**
+ * Chat list item repository
+ *
+ * Keeps the items of every chat list being monitored, by chat id. An item is enriched once its
+ * derived fields (avatars, mute state, last message, call, online status and peer email) have
+ * been fetched. From then on, those fields are kept in the item and only the ones invalidated by
+ * an update are fetched again, replacing that single item.
+ */
+interface ChatListItemRepository {
+
+    /**
+     * Creates an empty chat list
+     *
+     * @return the id of the chat list
+     */
+    fun createChatList(): Long
+
+    /**
+     * Replaces all the items of a chat list, none of them enriched yet
+     *
+     * @param listId the chat list id
+     * @param items the items
+     */
+    suspend fun setChatListItems(listId: Long, items: List<ChatRoomItem>)
+
+    /**
+     * Gets all the items of a chat list
+     *
+     * @param listId the chat list id
+     * @return the items, in insertion order
+     */
+    suspend fun getChatListItems(listId: Long): List<ChatRoomItem>
+
+    /**
+     * Gets an item of a chat list if its derived fields have been fetched
+     *
+     * @param listId the chat list id
+     * @param chatId the chat id
+     * @return the enriched item, or null if there is no item or it is not enriched yet
+     */
+    suspend fun getEnrichedChatListItem(listId: Long, chatId: Long): ChatRoomItem?
+
+    /**
+     * Finds the chat id of the first item of a chat list matching a predicate
+     *
+     * @param listId the chat list id
+     * @param predicate the predicate
+     * @return the chat id, or null if no item matches
+     */
+    suspend fun findChatListItemId(listId: Long, predicate: (ChatRoomItem) -> Boolean): Long?
+
+    /**
+     * Adds or replaces an enriched item of a chat list
+     *
+     * @param listId the chat list id
+     * @param item the item with all its derived fields
+     * @param onlyIfNotEnriched true to only replace a current item that is not enriched yet, as
+     * an enriched one comes from a later update and a missing one has been removed since
+     * @return true if the items changed, false otherwise
+     */
+    suspend fun putEnrichedChatListItem(
+        listId: Long,
+        item: ChatRoomItem,
+        onlyIfNotEnriched: Boolean = false,
+    ): Boolean
+
+    /**
+     * Updates an existing item of a chat list
+     *
+     * @param listId the chat list id
+     * @param chatId the chat id
+     * @param transform the update of the item
+     * @return true if the item exists and changed, false otherwise
+     */
+    suspend fun updateChatListItem(
+        listId: Long,
+        chatId: Long,
+        transform: (ChatRoomItem) -> ChatRoomItem,
+    ): Boolean
+
+    /**
+     * Removes an item of a chat list
+     *
+     * @param listId the chat list id
+     * @param chatId the chat id
+     * @return true if the item was removed, false if there was no item
+     */
+    suspend fun removeChatListItem(listId: Long, chatId: Long): Boolean
+
+    /**
+     * Removes a chat list and all its items
+     *
+     * @param listId the chat list id
+     */
+    fun clearChatList(listId: Long)
+}
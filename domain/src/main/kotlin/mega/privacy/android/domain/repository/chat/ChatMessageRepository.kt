@@ -12,6 +12,7 @@ import mega.privacy.android.domain.entity.chat.messages.UserMessage
 import mega.privacy.android.domain.entity.chat.messages.pending.SavePendingMessageRequest
 import mega.privacy.android.domain.entity.chat.messages.pending.UpdatePendingMessageRequest
 import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
+import mega.privacy.android.domain.entity.chat.messages.search.ChatMessageSearchResult
 import mega.privacy.android.domain.entity.node.NodeId
 
 /**
@@ -536,6 +537,32 @@ interface ChatMessageRepository {
      */
     suspend fun truncateMessages(chatId: Long, truncateTimestamp: Long)
 
+    /**
+     * Get the ids of the messages of a chat stored from previous sessions
+     *
+     * @param chatId
+     * @return message ids
+     */
+    suspend fun getCachedMessageIds(chatId: Long): Set<Long>
+
+    /**
+     * Deletes the stored messages of a chat that are no longer in its history
+     *
+     * @param chatId
+     * @param fromTimestamp only messages with the same or a newer timestamp are deleted
+     * @param keptMessageIds ids of the messages still in the history, they are not deleted
+     */
+    suspend fun deleteStaleMessages(chatId: Long, fromTimestamp: Long, keptMessageIds: Set<Long>)
+
+    /**
+     * Searches the text of the stored messages
+     *
+     * @param query the words to search, all of them need to match as a word or its start
+     * @param chatId the chat to search in, null to search in all the chats
+     * @return paging source of the matching messages, ranked by relevance
+     */
+    fun searchMessages(query: String, chatId: Long?): PagingSource<Int, ChatMessageSearchResult>
+
     /**
      * Delete all pending messages in a chat.
      *
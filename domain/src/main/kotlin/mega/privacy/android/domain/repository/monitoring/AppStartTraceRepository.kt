@@ -0,0 +1,32 @@
+package mega.privacy.android.domain.repository.monitoring
+
+import mega.privacy.android.domain.entity.appstart.AppStartTaskTrace
+
+/**
+ * Repository of the startup trace, the time taken by the app start tasks
+ */
+interface AppStartTraceRepository {
+
+    /**
+     * Starts a section of the startup trace. Sections can start and stop in different threads.
+     *
+     * @param sectionName   Section name
+     * @param cookie        Identifier of the section, unique among the sections running at a time
+     */
+    fun startSection(sectionName: String, cookie: Int)
+
+    /**
+     * Stops a section of the startup trace
+     *
+     * @param sectionName   Section name
+     * @param cookie        Identifier given when the section started
+     */
+    fun stopSection(sectionName: String, cookie: Int)
+
+    /**
+     * Records the trace of a finished app start task
+     *
+     * @param taskTrace     The trace of the task
+     */
+    fun recordTaskTrace(taskTrace: AppStartTaskTrace)
+}
@@ -0,0 +1,23 @@
+package mega.privacy.android.domain.repository.monitoring
+
+import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.domain.entity.appstart.DataStoreLoadMetrics
+
+/**
+ * Repository to preload the DataStores needed at start up and to monitor their load metrics
+ */
+interface DataStorePreloadRepository {
+
+    /**
+     * Reads the DataStores needed at start up in parallel, so their files are loaded and
+     * decrypted before their first use. The rest of the stores are loaded on first use.
+     */
+    suspend fun preloadStartupDataStores()
+
+    /**
+     * Monitors the load metrics of the DataStores
+     *
+     * @return flow of the metrics of the stores loaded so far
+     */
+    fun monitorDataStoreLoadMetrics(): Flow<List<DataStoreLoadMetrics>>
+}
@@ -1,6 +1,9 @@
 package mega.privacy.android.domain.repository.thumbnailpreview
 
+import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestMetrics
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
 import mega.privacy.android.domain.exception.MegaException
 import java.io.File
 
@@ -57,9 +60,14 @@ interface ThumbnailPreviewRepository {
      * Download thumbnail
      *
      * @param handle
+     * @param priority the priority of the download
      * @param callback is download success
      */
-    suspend fun downloadThumbnail(handle: Long, callback: (success: Boolean) -> Unit)
+    suspend fun downloadThumbnail(
+        handle: Long,
+        priority: ThumbnailRequestPriority,
+        callback: (success: Boolean) -> Unit,
+    )
 
     /**
      * Download preview
@@ -177,4 +185,9 @@ interface ThumbnailPreviewRepository {
      * @param srcFilePath Source path of the file that will be set as preview
      */
     suspend fun setPreview(nodeHandle: Long, srcFilePath: String)
-}
\ No newline at end of file
+
+    /**
+     * Monitor the metrics of the thumbnail and preview downloads
+     */
+    fun monitorThumbnailRequestMetrics(): Flow<ThumbnailRequestMetrics>
+}
@@ -1,12 +1,29 @@
 package mega.privacy.android.domain.usecase.appstart
 
+import kotlin.reflect.KClass
+
 /**
  * Interface for a task that should be executed when the app starts.
  * Extend this interface to create a new app start task. The task should be added to the DI module
+ *
+ * Tasks run in parallel with [RunAppStartTasksUseCase], a task only waits for its [dependencies].
  */
 fun interface AppStartTask {
+    /**
+     * Tasks that need to finish before this one starts.
+     * A dependency that is not added to the DI module is ignored.
+     */
+    val dependencies: Set<KClass<out AppStartTask>>
+        get() = emptySet()
+
+    /**
+     * True if the task needs to run in the main thread, false to run it in a background thread
+     */
+    val isMainThreadRequired: Boolean
+        get() = false
+
     /**
      * Executes the task
      */
     suspend operator fun invoke()
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package mega.privacy.android.domain.usecase.appstart
+
+import mega.privacy.android.domain.repository.monitoring.DataStorePreloadRepository
+import javax.inject.Inject
+import kotlin.reflect.KClass
+
+/**
+ * Task to preload the DataStores needed at start up, so their first read is not a stall in the
+ * screen that happens to use them first
+ */
+class PreloadStartupDataStoresTask @Inject constructor(
+    private val dataStorePreloadRepository: DataStorePreloadRepository,
+) : AppStartTask {
+
+    /**
+     * The DataStores only need the application context, so it does not wait for other tasks
+     */
+    override val dependencies: Set<KClass<out AppStartTask>> = emptySet()
+
+    /**
+     * Reading and decrypting the DataStores is disk and CPU work, so it runs in the background
+     */
+    override val isMainThreadRequired = false
+
+    override suspend fun invoke() {
+        dataStorePreloadRepository.preloadStartupDataStores()
+    }
+}
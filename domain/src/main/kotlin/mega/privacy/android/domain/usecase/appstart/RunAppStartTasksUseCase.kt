@@ -0,0 +1,120 @@
+package mega.privacy.android.domain.usecase.appstart
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.withContext
+import mega.privacy.android.domain.entity.appstart.AppStartTaskTrace
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import mega.privacy.android.domain.qualifier.MainDispatcher
+import mega.privacy.android.domain.repository.monitoring.AppStartTraceRepository
+import javax.inject.Inject
+import kotlin.reflect.KClass
+import kotlin.time.TimeSource
+
+/**
+ * Use case to run the app start tasks
+ *
+ * Every task starts as soon as its dependencies finish, so independent tasks run in parallel.
+ * Tasks run in a background thread unless they require the main thread. A failed task does not
+ * stop the rest, its dependent tasks still run, and its error is recorded in its trace.
+ *
+ * Every task is recorded in the startup trace, in a section named [APP_START_TASK_SECTION_PREFIX]
+ * followed by the task name, inside the [APP_START_TASKS_SECTION] of the whole run.
+ */
+class RunAppStartTasksUseCase @Inject constructor(
+    private val appStartTasks: Set<@JvmSuppressWildcards AppStartTask>,
+    private val appStartTraceRepository: AppStartTraceRepository,
+    @MainDispatcher private val mainDispatcher: CoroutineDispatcher,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) {
+
+    /**
+     * Invoke
+     *
+     * @return the traces of the tasks
+     * @throws IllegalStateException if the dependencies of the tasks are circular
+     */
+    suspend operator fun invoke(): List<AppStartTaskTrace> {
+        val tasks = appStartTasks.associateBy { it::class }
+        checkNoCircularDependencies(tasks)
+        appStartTraceRepository.startSection(APP_START_TASKS_SECTION, RUN_COOKIE)
+        try {
+            return coroutineScope {
+                val runs = HashMap<KClass<out AppStartTask>, Deferred<AppStartTaskTrace>>()
+                // Lazy, so every run finds the runs of its dependencies when it starts
+                tasks.values.forEachIndexed { index, task ->
+                    runs[task::class] = async(start = CoroutineStart.LAZY) {
+                        task.dependencies.mapNotNull { runs[it] }.awaitAll()
+                        runTask(task, cookie = RUN_COOKIE + index + 1)
+                    }
+                }
+                runs.values.awaitAll()
+            }
+        } finally {
+            appStartTraceRepository.stopSection(APP_START_TASKS_SECTION, RUN_COOKIE)
+        }
+    }
+
+    private suspend fun runTask(task: AppStartTask, cookie: Int): AppStartTaskTrace {
+        val taskName = task::class.simpleName ?: AppStartTask::class.simpleName.orEmpty()
+        val sectionName = APP_START_TASK_SECTION_PREFIX + taskName
+        appStartTraceRepository.startSection(sectionName, cookie)
+        try {
+            val start = TimeSource.Monotonic.markNow()
+            val error = try {
+                withContext(if (task.isMainThreadRequired) mainDispatcher else ioDispatcher) {
+                    task()
+                }
+                null
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                e
+            }
+            return AppStartTaskTrace(
+                taskName = taskName,
+                duration = start.elapsedNow(),
+                isMainThread = task.isMainThreadRequired,
+                error = error,
+            ).also { appStartTraceRepository.recordTaskTrace(it) }
+        } finally {
+            appStartTraceRepository.stopSection(sectionName, cookie)
+        }
+    }
+
+    private fun checkNoCircularDependencies(tasks: Map<KClass<out AppStartTask>, AppStartTask>) {
+        val checked = HashSet<KClass<out AppStartTask>>()
+        val path = LinkedHashSet<KClass<out AppStartTask>>()
+
+        fun visit(taskClass: KClass<out AppStartTask>) {
+            if (taskClass in checked) return
+            check(path.add(taskClass)) {
+                "Circular app start task dependencies: ${path.joinToString { it.simpleName.orEmpty() }}"
+            }
+            tasks[taskClass]?.dependencies?.forEach { visit(it) }
+            path.remove(taskClass)
+            checked.add(taskClass)
+        }
+
+        tasks.keys.forEach { visit(it) }
+    }
+
+    companion object {
+        /**
+         * Name of the startup trace section of all the app start tasks
+         */
+        const val APP_START_TASKS_SECTION = "AppStartTasks"
+
+        /**
+         * Prefix of the name of the startup trace section of every app start task
+         */
+        const val APP_START_TASK_SECTION_PREFIX = "AppStartTask:"
+
+        private const val RUN_COOKIE = 0
+    }
+}
@@ -1,20 +1,32 @@
 package mega.privacy.android.domain.usecase.camerauploads
 
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
 import kotlinx.coroutines.async
 import kotlinx.coroutines.coroutineScope
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMediaScanResult
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordIndex
+import mega.privacy.android.domain.repository.CameraUploadsRepository
 import javax.inject.Inject
 
 /**
  * Use case to retrieve media from the media stores, and save them in the database
  * to be uploaded by Camera Uploads
  *
+ * The records already saved in the database are loaded once and indexed, and shared between
+ * the scans of every folder and file type. Once the new records are saved, the scan cursors are
+ * updated so that the next scan only queries the media added or modified in the meantime.
+ *
  * @property getPrimaryFolderPathUseCase
  * @property getSecondaryFolderPathUseCase
  * @property getMediaStoreFileTypesUseCase
  * @property isMediaUploadsEnabledUseCase
  * @property retrieveMediaFromMediaStoreUseCase
+ * @property saveCameraUploadsRecordUseCase
+ * @property cameraUploadsRepository
  */
 class ProcessCameraUploadsMediaUseCase @Inject constructor(
     private val getPrimaryFolderPathUseCase: GetPrimaryFolderPathUseCase,
@@ -23,6 +35,7 @@ class ProcessCameraUploadsMediaUseCase @Inject constructor(
     private val isMediaUploadsEnabledUseCase: IsMediaUploadsEnabledUseCase,
     private val retrieveMediaFromMediaStoreUseCase: RetrieveMediaFromMediaStoreUseCase,
     private val saveCameraUploadsRecordUseCase: SaveCameraUploadsRecordUseCase,
+    private val cameraUploadsRepository: CameraUploadsRepository,
 ) {
 
     /**
@@ -33,71 +46,96 @@ class ProcessCameraUploadsMediaUseCase @Inject constructor(
         tempRoot: String,
     ) = coroutineScope {
         val (photoMediaStoreTypes, videoMediaStoreTypes) = getMediaStoreFileTypesUseCase().partition { it.isImageFileType() }
+        val recordIndex =
+            CameraUploadsRecordIndex(cameraUploadsRepository.getAllCameraUploadsRecords())
         val primaryFolderPath = getPrimaryFolderPathUseCase()
 
-        val primaryPhotoMedia = async {
-            photoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                retrieveMediaFromMediaStoreUseCase(
+        val scans = buildList {
+            add(
+                retrieveMediaAsync(
                     parentPath = primaryFolderPath,
-                    types = it,
+                    types = photoMediaStoreTypes,
                     folderType = CameraUploadFolderType.Primary,
                     fileType = CameraUploadsRecordType.TYPE_PHOTO,
                     tempRoot = tempRoot,
+                    recordIndex = recordIndex,
                 )
-            } ?: emptyList()
-        }
-
-        val primaryVideoMedia = async {
-            videoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                retrieveMediaFromMediaStoreUseCase(
+            )
+            add(
+                retrieveMediaAsync(
                     parentPath = primaryFolderPath,
-                    types = it,
+                    types = videoMediaStoreTypes,
                     folderType = CameraUploadFolderType.Primary,
                     fileType = CameraUploadsRecordType.TYPE_VIDEO,
                     tempRoot = tempRoot,
+                    recordIndex = recordIndex,
                 )
-            } ?: emptyList()
-        }
-
-        val isSecondaryFolderEnabled = isMediaUploadsEnabledUseCase()
-        val secondaryFolderPath = getSecondaryFolderPathUseCase()
+            )
 
-        val secondaryPhotoMedia =
-            if (isSecondaryFolderEnabled) {
-                async {
-                    photoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                        retrieveMediaFromMediaStoreUseCase(
-                            parentPath = secondaryFolderPath,
-                            types = it,
-                            folderType = CameraUploadFolderType.Secondary,
-                            fileType = CameraUploadsRecordType.TYPE_PHOTO,
-                            tempRoot = tempRoot,
-                        )
-                    }.orEmpty()
-                }
-            } else null
+            if (isMediaUploadsEnabledUseCase()) {
+                val secondaryFolderPath = getSecondaryFolderPathUseCase()
+                add(
+                    retrieveMediaAsync(
+                        parentPath = secondaryFolderPath,
+                        types = photoMediaStoreTypes,
+                        folderType = CameraUploadFolderType.Secondary,
+                        fileType = CameraUploadsRecordType.TYPE_PHOTO,
+                        tempRoot = tempRoot,
+                        recordIndex = recordIndex,
+                    )
+                )
+                add(
+                    retrieveMediaAsync(
+                        parentPath = secondaryFolderPath,
+                        types = videoMediaStoreTypes,
+                        folderType = CameraUploadFolderType.Secondary,
+                        fileType = CameraUploadsRecordType.TYPE_VIDEO,
+                        tempRoot = tempRoot,
+                        recordIndex = recordIndex,
+                    )
+                )
+            }
+        }.mapNotNull { it?.await() }
 
-        val secondaryVideoMedia =
-            if (isSecondaryFolderEnabled) {
-                async {
-                    videoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                        retrieveMediaFromMediaStoreUseCase(
-                            parentPath = secondaryFolderPath,
-                            types = it,
-                            folderType = CameraUploadFolderType.Secondary,
-                            fileType = CameraUploadsRecordType.TYPE_VIDEO,
-                            tempRoot = tempRoot,
-                        )
-                    }.orEmpty()
-                }
-            } else null
+        saveCameraUploadsRecordUseCase(scans.flatMap { (_, result) -> result.records })
 
-        val combinedList = buildList {
-            addAll(primaryPhotoMedia.await())
-            addAll(primaryVideoMedia.await())
-            secondaryPhotoMedia?.let { addAll(it.await()) }
-            secondaryVideoMedia?.let { addAll(it.await()) }
+        // The cursors are only moved forward once the records are saved, so that no media
+        // is lost if the process is interrupted in between
+        scans.forEach { (scanKey, result) ->
+            result.scanCursor?.let {
+                cameraUploadsRepository.setMediaStoreScanCursor(
+                    folderType = scanKey.first,
+                    fileType = scanKey.second,
+                    scanCursor = it,
+                )
+            }
         }
-        saveCameraUploadsRecordUseCase(combinedList)
     }
+
+    /**
+     * Retrieve asynchronously the media of the given types from the media store
+     *
+     * @return a [Deferred] of the scan result, associated to its folder and file types,
+     * or null if there are no types to retrieve
+     */
+    private fun CoroutineScope.retrieveMediaAsync(
+        parentPath: String,
+        types: List<MediaStoreFileType>,
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        tempRoot: String,
+        recordIndex: CameraUploadsRecordIndex,
+    ): Deferred<Pair<Pair<CameraUploadFolderType, CameraUploadsRecordType>, CameraUploadsMediaScanResult>>? =
+        types.takeUnless { it.isEmpty() }?.let {
+            async {
+                (folderType to fileType) to retrieveMediaFromMediaStoreUseCase(
+                    parentPath = parentPath,
+                    types = it,
+                    folderType = folderType,
+                    fileType = fileType,
+                    tempRoot = tempRoot,
+                    recordIndex = recordIndex,
+                )
+            }
+        }
 }
@@ -10,17 +10,24 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMediaScanResult
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordIndex
 import mega.privacy.android.domain.repository.CameraUploadsRepository
+import mega.privacy.android.domain.usecase.GetDeviceCurrentTimeUseCase
 import mega.privacy.android.domain.usecase.camerauploads.mapper.CameraUploadsRecordMapper
 import javax.inject.Inject
 
 /**
  * Retrieve a list of [CameraUploadsMedia] from the media store
+ *
+ * If a scan cursor has been saved for the folder and file types, only the media added or modified
+ * since the previous scan are queried. Otherwise, the whole media store is scanned.
  */
 class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
     private val cameraUploadsRepository: CameraUploadsRepository,
     private val cameraUploadsRecordMapper: CameraUploadsRecordMapper,
+    private val getDeviceCurrentTimeUseCase: GetDeviceCurrentTimeUseCase,
 ) {
 
     /**
@@ -28,8 +35,13 @@ class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
      *
      * @param parentPath used for filtering the media contained in the parent path
      * @param types types of files that we want to retrieve. This types will be converted to proper Uri
+     * @param folderType the [CameraUploadFolderType] of the media
+     * @param fileType the [CameraUploadsRecordType] of the media
+     * @param tempRoot the temporary root folder used to generate the temporary file paths
+     * @param recordIndex the [CameraUploadsRecordIndex] of the records already saved in the database
      *
-     * @return a list of [CameraUploadsRecord]
+     * @return a [CameraUploadsMediaScanResult] containing the new [CameraUploadsRecord] and the
+     * scan cursor to save once they are persisted
      */
     suspend operator fun invoke(
         parentPath: String,
@@ -37,58 +49,67 @@ class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
         folderType: CameraUploadFolderType,
         fileType: CameraUploadsRecordType,
         tempRoot: String,
-    ): List<CameraUploadsRecord> = coroutineScope {
-        val selectionQuery = cameraUploadsRepository.getMediaSelectionQuery(parentPath)
+        recordIndex: CameraUploadsRecordIndex,
+    ): CameraUploadsMediaScanResult = coroutineScope {
+        val scanCursor = cameraUploadsRepository.getMediaStoreScanCursor(folderType, fileType)
+        val selectionQuery = scanCursor?.let {
+            cameraUploadsRepository.getIncrementalMediaSelectionQuery(parentPath, it)
+        } ?: cameraUploadsRepository.getMediaSelectionQuery(parentPath)
 
-        val (recordsInPrimaryFolder, recordsInSecondaryFolder) =
-            cameraUploadsRepository.getAllCameraUploadsRecords()
-                .partition { it.folderType == CameraUploadFolderType.Primary }
-
-        val semaphore = Semaphore(8)
-        return@coroutineScope types.flatMap {
+        val mediaList = types.flatMap {
             cameraUploadsRepository.getMediaList(
                 mediaStoreFileType = it,
                 selectionQuery = selectionQuery,
-            ).map {
+            )
+        }
+
+        val semaphore = Semaphore(8)
+        val mappedMedia = mediaList
+            .filterNot { recordIndex.contains(folderType, it.mediaId, it.timestamp) }
+            .map {
                 async {
                     semaphore.withPermit {
                         yield()
-                        runCatching {
-                            val exists = checkCameraUploadsRecordAlreadyExists(
-                                cameraUploadsMedia = it,
-                                recordsToCheck =
-                                if (folderType == CameraUploadFolderType.Primary)
-                                    recordsInPrimaryFolder
-                                else recordsInSecondaryFolder,
+                        it to runCatching {
+                            cameraUploadsRecordMapper(
+                                media = it,
+                                folderType = folderType,
+                                fileType = fileType,
+                                tempRoot = tempRoot,
                             )
-                            if (!exists) {
-                                cameraUploadsRecordMapper(
-                                    media = it,
-                                    folderType = folderType,
-                                    fileType = fileType,
-                                    tempRoot = tempRoot,
-                                )
-                            } else null
                         }.getOrNull()
                     }
                 }
-            }.awaitAll().filterNotNull()
-        }
+            }.awaitAll()
+
+        CameraUploadsMediaScanResult(
+            records = mappedMedia.mapNotNull { (_, record) -> record },
+            scanCursor = getNextScanCursor(
+                previousScanCursor = scanCursor,
+                mediaList = mediaList,
+                unprocessedMedia = mappedMedia.mapNotNull { (media, record) ->
+                    media.takeIf { record == null }
+                },
+            ),
+        )
     }
 
     /**
-     * Check if the camera uploads media has already been inserted in the database
+     * Compute the high-water mark from which the next scan can resume
+     *
+     * The media that could not be processed are retried on the next scan, so the cursor does not
+     * move past the oldest of them. It does not move past the current time either, so a media
+     * with a modification date in the future does not hide the media taken until then
      *
-     * @param cameraUploadsMedia the [CameraUploadsMedia] to check
-     * @param recordsToCheck the list of [CameraUploadsRecord] saved in the database
+     * @param previousScanCursor the scan cursor used for the current scan
+     * @param mediaList all the media retrieved from the media store
+     * @param unprocessedMedia the media that could not be converted to a [CameraUploadsRecord]
      */
-    private fun checkCameraUploadsRecordAlreadyExists(
-        cameraUploadsMedia: CameraUploadsMedia,
-        recordsToCheck: List<CameraUploadsRecord>,
-    ): Boolean {
-        return recordsToCheck.find {
-            it.mediaId == cameraUploadsMedia.mediaId && it.timestamp == cameraUploadsMedia.timestamp
-        } != null
-    }
+    private fun getNextScanCursor(
+        previousScanCursor: Long?,
+        mediaList: List<CameraUploadsMedia>,
+        unprocessedMedia: List<CameraUploadsMedia>,
+    ): Long? = unprocessedMedia.minOfOrNull { it.timestamp }
+        ?: mediaList.maxOfOrNull { it.timestamp }?.coerceAtMost(getDeviceCurrentTimeUseCase())
+        ?: previousScanCursor
 }
-
@@ -9,6 +9,7 @@ import kotlinx.coroutines.flow.cancellable
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.channelFlow
 import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.combine
 import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flow
@@ -34,6 +35,7 @@ import mega.privacy.android.domain.exception.NotEnoughStorageException
 import mega.privacy.android.domain.repository.FileSystemRepository
 import mega.privacy.android.domain.usecase.CreateTempFileAndRemoveCoordinatesUseCase
 import mega.privacy.android.domain.usecase.GetNodeByIdUseCase
+import mega.privacy.android.domain.usecase.camerauploads.concurrency.UploadConcurrencyController
 import mega.privacy.android.domain.usecase.environment.GetAvailableProcessorsUseCase
 import mega.privacy.android.domain.usecase.environment.MonitorBatteryInfoUseCase
 import mega.privacy.android.domain.usecase.file.GetFingerprintUseCase
@@ -46,12 +48,14 @@ import mega.privacy.android.domain.usecase.thumbnailpreview.DeletePreviewUseCase
 import mega.privacy.android.domain.usecase.thumbnailpreview.DeleteThumbnailUseCase
 import mega.privacy.android.domain.usecase.transfers.uploads.StartUploadUseCase
 import mega.privacy.android.domain.usecase.video.CompressVideoUseCase
+import mega.privacy.android.domain.usecase.video.GetMaxConcurrentVideoCompressionsUseCase
 import java.io.File
 import java.io.FileNotFoundException
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicInteger
 import javax.inject.Inject
 import kotlin.math.max
+import kotlin.math.min
 
 /**
  * Camera Uploads upload process
@@ -66,6 +70,9 @@ import kotlin.math.max
  * - the user set the option to remove gps coordinates
  * - the user set the option to compress the video
  *
+ * The number of concurrent uploads is adapted to the observed upload speed, upload latency and
+ * temporary errors by the [UploadConcurrencyController], and restricted by the device state.
+ *
  * The use case is also responsible of setting the upload status in the database.
  * It will return a flow of events representing the status progress for an individual record.
  * The caller is responsible to aggregate the information.
@@ -93,12 +100,10 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
     private val isChargingRequiredForVideoCompressionUseCase: IsChargingRequiredForVideoCompressionUseCase,
     private val monitorConcurrentUploadsLimitUseCase: MonitorConcurrentUploadsLimitUseCase,
     private val getAvailableProcessorsUseCase: GetAvailableProcessorsUseCase,
+    private val uploadConcurrencyController: UploadConcurrencyController,
+    private val getMaxConcurrentVideoCompressionsUseCase: GetMaxConcurrentVideoCompressionsUseCase,
 ) {
 
-    companion object {
-        private const val CONCURRENT_VIDEO_COMPRESSION_LIMIT = 1
-    }
-
     /**
      * Camera Uploads upload process
      *
@@ -117,28 +122,43 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
         // Calculate the default number of concurrent uploads based on the available processors
         val defaultConcurrentUploadsCount = max(2, getAvailableProcessorsUseCase())
 
-        // Limit the number of concurrent uploads to defaultConcurrentUploadsCount
-        val semaphore = Semaphore(defaultConcurrentUploadsCount)
+        // The adaptive limit can widen the number of concurrent uploads up to this count
+        val maxConcurrentUploadsCount =
+            uploadConcurrencyController.getMaxLimit(defaultConcurrentUploadsCount)
 
-        // Limit the number of concurrent uploads based on the device state
-        val deviceStateSemaphore = Semaphore(defaultConcurrentUploadsCount)
+        // Limit the number of concurrent uploads to maxConcurrentUploadsCount
+        val semaphore = Semaphore(maxConcurrentUploadsCount)
+
+        // Limit the number of concurrent uploads based on the device state and the adaptive limit
+        val deviceStateSemaphore = Semaphore(maxConcurrentUploadsCount)
+
+        // Start with defaultConcurrentUploadsCount until the first limits are computed
+        repeat(maxConcurrentUploadsCount - defaultConcurrentUploadsCount) {
+            deviceStateSemaphore.tryAcquire()
+        }
 
         // Keep tracks of number of permits preempted in [deviceStateSemaphore]
         // to avoid releasing more than acquired
-        val preemptedPermitsCount = AtomicInteger(0)
+        val preemptedPermitsCount =
+            AtomicInteger(maxConcurrentUploadsCount - defaultConcurrentUploadsCount)
 
-        // Limit the number of concurrent video compression to [CONCURRENT_VIDEO_COMPRESSION_LIMIT]
-        // to not overload the memory and cache size of the app
-        val videoCompressionSemaphore = Semaphore(CONCURRENT_VIDEO_COMPRESSION_LIMIT)
+        // Limit the number of concurrent video compression to the codec instances of the device,
+        // every compressed video being uploaded while the next ones are still compressed
+        val videoCompressionSemaphore = Semaphore(getMaxConcurrentVideoCompressionsUseCase())
 
         val videoQuality = getUploadVideoQualityUseCase()
         val locationTagsDisabled = !areLocationTagsEnabledUseCase()
         val isChargingRequiredForVideoCompression = isChargingRequiredForVideoCompressionUseCase()
 
         launch {
-            monitorConcurrentUploadsLimitUseCase(defaultConcurrentUploadsCount)
+            combine(
+                monitorConcurrentUploadsLimitUseCase(maxConcurrentUploadsCount),
+                uploadConcurrencyController.monitorConcurrentUploadsLimit(
+                    defaultConcurrentUploadsCount
+                ),
+            ) { deviceStateLimit, adaptiveLimit -> min(deviceStateLimit, adaptiveLimit) }
                 .collectLatest { concurrentUploadsLimit ->
-                    val permitsToRestrict = defaultConcurrentUploadsCount - concurrentUploadsLimit
+                    val permitsToRestrict = maxConcurrentUploadsCount - concurrentUploadsLimit
                     while (permitsToRestrict != preemptedPermitsCount.get()) {
                         when {
                             preemptedPermitsCount.get() < permitsToRestrict -> {
@@ -309,80 +329,90 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
                         yield()
 
                         // upload
-                        startUploadUseCase(
-                            localPath = path,
-                            parentNodeId = parentNodeId,
-                            fileName = record.generatedFileName,
-                            modificationTime = record.timestamp / 1000,
-                            appData = TransferAppData.CameraUpload,
-                            isSourceTemporary = false,
-                            shouldStartFirst = false,
-                        ).collect { transferEvent ->
-                            when (transferEvent) {
-                                is TransferEvent.TransferStartEvent -> {
-                                    // set status to STARTED
-                                    setCameraUploadsRecordUploadStatus(
-                                        record = record,
-                                        status = CameraUploadsRecordUploadStatus.STARTED,
-                                    ).onFailure {
-                                        trySend(CameraUploadsTransferProgress.Error(record, it))
-                                    }
-
-                                    trySend(
-                                        CameraUploadsTransferProgress.ToUpload(
+                        try {
+                            startUploadUseCase(
+                                localPath = path,
+                                parentNodeId = parentNodeId,
+                                fileName = record.generatedFileName,
+                                modificationTime = record.timestamp / 1000,
+                                appData = TransferAppData.CameraUpload,
+                                isSourceTemporary = false,
+                                shouldStartFirst = false,
+                            ).collect { transferEvent ->
+                                when (transferEvent) {
+                                    is TransferEvent.TransferStartEvent -> {
+                                        uploadConcurrencyController.onUploadStarted(record)
+
+                                        // set status to STARTED
+                                        setCameraUploadsRecordUploadStatus(
                                             record = record,
-                                            transferEvent = transferEvent,
-                                        )
-                                    )
-                                }
-
-                                is TransferEvent.TransferFinishEvent -> {
-                                    yield()
-                                    processTransferFinishEvent(record, transferEvent)
-                                        .collect {
+                                            status = CameraUploadsRecordUploadStatus.STARTED,
+                                        ).onFailure {
                                             trySend(CameraUploadsTransferProgress.Error(record, it))
                                         }
 
-                                    // Make sure that the generated fingerprint has complete
-                                    setGeneratedFingerprintJob.join()
+                                        trySend(
+                                            CameraUploadsTransferProgress.ToUpload(
+                                                record = record,
+                                                transferEvent = transferEvent,
+                                            )
+                                        )
+                                    }
 
-                                    // delete temp file
-                                    deleteTempFile(record)
-                                        .onFailure {
-                                            trySend(CameraUploadsTransferProgress.Error(record, it))
-                                        }
+                                    is TransferEvent.TransferFinishEvent -> {
+                                        uploadConcurrencyController.onUploadFinished(record)
+                                        yield()
+                                        processTransferFinishEvent(record, transferEvent)
+                                            .collect {
+                                                trySend(CameraUploadsTransferProgress.Error(record, it))
+                                            }
 
-                                    trySend(
-                                        CameraUploadsTransferProgress.Uploaded(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                            nodeId = NodeId(transferEvent.transfer.nodeHandle),
+                                        // Make sure that the generated fingerprint has complete
+                                        setGeneratedFingerprintJob.join()
+
+                                        // delete temp file
+                                        deleteTempFile(record)
+                                            .onFailure {
+                                                trySend(CameraUploadsTransferProgress.Error(record, it))
+                                            }
+
+                                        trySend(
+                                            CameraUploadsTransferProgress.Uploaded(
+                                                record = record,
+                                                transferEvent = transferEvent,
+                                                nodeId = NodeId(transferEvent.transfer.nodeHandle),
+                                            )
                                         )
-                                    )
 
-                                    deviceStateSemaphore.release()
-                                    semaphore.release()
-                                }
+                                        deviceStateSemaphore.release()
+                                        semaphore.release()
+                                    }
 
-                                is TransferEvent.TransferUpdateEvent -> {
-                                    trySend(
-                                        CameraUploadsTransferProgress.UploadInProgress.TransferUpdate(
-                                            record = record,
-                                            transferEvent = transferEvent,
+                                    is TransferEvent.TransferUpdateEvent -> {
+                                        trySend(
+                                            CameraUploadsTransferProgress.UploadInProgress.TransferUpdate(
+                                                record = record,
+                                                transferEvent = transferEvent,
+                                            )
                                         )
-                                    )
-                                }
+                                    }
 
-                                is TransferEvent.TransferTemporaryErrorEvent ->
-                                    trySend(
-                                        CameraUploadsTransferProgress.UploadInProgress.TransferTemporaryError(
-                                            record = record,
-                                            transferEvent = transferEvent,
+                                    is TransferEvent.TransferTemporaryErrorEvent -> {
+                                        uploadConcurrencyController.onUploadTemporaryError()
+                                        trySend(
+                                            CameraUploadsTransferProgress.UploadInProgress.TransferTemporaryError(
+                                                record = record,
+                                                transferEvent = transferEvent,
+                                            )
                                         )
-                                    )
+                                    }
 
-                                else -> Unit
+                                    else -> Unit
+                                }
                             }
+                        } finally {
+                            // Cancelled or failed uploads are no longer active
+                            uploadConcurrencyController.onUploadStopped(record)
                         }
                     }
 
@@ -0,0 +1,79 @@
+package mega.privacy.android.domain.usecase.camerauploads.concurrency
+
+import mega.privacy.android.domain.entity.camerauploads.UploadConcurrencySample
+import javax.inject.Inject
+
+/**
+ * Additive increase / multiplicative decrease [UploadConcurrencyStrategy]
+ *
+ * The limit is increased by one upload at a time as long as it improves the upload speed,
+ * and halved as soon as the transfers show signs of congestion:
+ * - the rate of temporary errors is too high
+ * - the upload speed dropped after the limit was increased
+ * - the uploads take much longer to complete without any gain in upload speed
+ */
+class AimdUploadConcurrencyStrategy @Inject constructor() : UploadConcurrencyStrategy {
+
+    override val sampleIntervalMillis = SAMPLE_INTERVAL_MILLIS
+
+    override fun getMaxLimit(defaultLimit: Int) = defaultLimit * MAX_LIMIT_FACTOR
+
+    override fun getNextLimit(
+        sample: UploadConcurrencySample,
+        previousSample: UploadConcurrencySample?,
+        maxLimit: Int,
+    ): Int {
+        val currentLimit = sample.concurrentUploadsLimit
+        val nextLimit = when {
+            isCongested(sample, previousSample) -> (currentLimit * DECREASE_FACTOR).toInt()
+            // The limit is not reached, so adding more permits would not change anything
+            sample.activeUploads < currentLimit -> currentLimit
+            isUploadSpeedSaturated(sample, previousSample) -> currentLimit
+            else -> currentLimit + 1
+        }
+        return nextLimit.coerceIn(1, maxLimit)
+    }
+
+    private fun isCongested(
+        sample: UploadConcurrencySample,
+        previousSample: UploadConcurrencySample?,
+    ): Boolean {
+        val sampledEvents = sample.completedUploads + sample.temporaryErrors
+        val temporaryErrorRate =
+            if (sampledEvents > 0) sample.temporaryErrors.toDouble() / sampledEvents else 0.0
+        if (temporaryErrorRate > MAX_TEMPORARY_ERROR_RATE) return true
+        if (previousSample == null) return false
+
+        val wasIncreased = previousSample.concurrentUploadsLimit < sample.concurrentUploadsLimit
+        val hasUploadSpeedDropped =
+            sample.uploadSpeed < previousSample.uploadSpeed * (1 - UPLOAD_SPEED_DROP_TOLERANCE)
+        if (wasIncreased && hasUploadSpeedDropped) return true
+
+        val latency = sample.averageUploadLatency ?: return false
+        val previousLatency = previousSample.averageUploadLatency ?: return false
+        return latency > previousLatency * MAX_LATENCY_GROWTH
+                && !hasUploadSpeedGrown(sample, previousSample)
+    }
+
+    private fun isUploadSpeedSaturated(
+        sample: UploadConcurrencySample,
+        previousSample: UploadConcurrencySample?,
+    ) = previousSample != null
+            && previousSample.concurrentUploadsLimit < sample.concurrentUploadsLimit
+            && !hasUploadSpeedGrown(sample, previousSample)
+
+    private fun hasUploadSpeedGrown(
+        sample: UploadConcurrencySample,
+        previousSample: UploadConcurrencySample,
+    ) = sample.uploadSpeed >= previousSample.uploadSpeed * (1 + MIN_UPLOAD_SPEED_GAIN)
+
+    companion object {
+        internal const val SAMPLE_INTERVAL_MILLIS = 10_000L
+        internal const val MAX_LIMIT_FACTOR = 2
+        internal const val DECREASE_FACTOR = 0.5
+        internal const val MAX_TEMPORARY_ERROR_RATE = 0.2
+        internal const val UPLOAD_SPEED_DROP_TOLERANCE = 0.1
+        internal const val MIN_UPLOAD_SPEED_GAIN = 0.05
+        internal const val MAX_LATENCY_GROWTH = 1.5
+    }
+}
@@ -0,0 +1,135 @@
+package mega.privacy.android.domain.usecase.camerauploads.concurrency
+
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.isActive
+import mega.privacy.android.domain.entity.camerauploads.UploadConcurrencySample
+import mega.privacy.android.domain.usecase.GetDeviceCurrentNanoTimeUseCase
+import mega.privacy.android.domain.usecase.transfers.uploads.GetCurrentUploadSpeedUseCase
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+
+/**
+ * Feedback loop adapting the number of Camera Uploads concurrent uploads to the observed transfers
+ *
+ * The caller reports the start, the end and the temporary errors of each upload. An upload that
+ * stops without finishing, because it is cancelled or fails, must be reported too, so it is no
+ * longer counted as active. At every interval
+ * of the [UploadConcurrencyStrategy], the controller samples these events together with the current
+ * upload speed, and asks the strategy for the limit to apply next.
+ *
+ * A new instance is created on each injection, so its state is scoped to its caller.
+ */
+class UploadConcurrencyController @Inject constructor(
+    private val uploadConcurrencyStrategy: UploadConcurrencyStrategy,
+    private val getCurrentUploadSpeedUseCase: GetCurrentUploadSpeedUseCase,
+    private val getDeviceCurrentNanoTimeUseCase: GetDeviceCurrentNanoTimeUseCase,
+) {
+    private val uploadStartTimes = ConcurrentHashMap<Any, Long>()
+    private val completedUploads = AtomicInteger(0)
+    private val completedUploadsLatency = AtomicLong(0)
+    private val temporaryErrors = AtomicInteger(0)
+
+    /**
+     * Get the maximum number of concurrent uploads the controller can reach
+     *
+     * @param defaultLimit the default concurrent uploads limit
+     */
+    fun getMaxLimit(defaultLimit: Int) =
+        uploadConcurrencyStrategy.getMaxLimit(defaultLimit).coerceAtLeast(defaultLimit)
+
+    /**
+     * Report that an upload started
+     *
+     * @param key the key identifying the upload
+     */
+    fun onUploadStarted(key: Any) {
+        uploadStartTimes[key] = getDeviceCurrentNanoTimeUseCase()
+    }
+
+    /**
+     * Report that an upload finished
+     *
+     * @param key the key identifying the upload
+     */
+    fun onUploadFinished(key: Any) {
+        uploadStartTimes.remove(key)?.let { startTime ->
+            completedUploadsLatency.addAndGet(getDeviceCurrentNanoTimeUseCase() - startTime)
+            completedUploads.incrementAndGet()
+        }
+    }
+
+    /**
+     * Report that an upload stopped without finishing, because it was cancelled or failed.
+     * It has no effect if the upload already finished or never started.
+     *
+     * @param key the key identifying the upload
+     */
+    fun onUploadStopped(key: Any) {
+        uploadStartTimes.remove(key)
+    }
+
+    /**
+     * Report that an upload received a temporary error
+     */
+    fun onUploadTemporaryError() {
+        temporaryErrors.incrementAndGet()
+    }
+
+    /**
+     * Monitor the concurrent uploads limit
+     *
+     * The flow starts by emitting the default limit, then emits the new limit every time
+     * it is changed by the [UploadConcurrencyStrategy]
+     *
+     * @param defaultLimit the default concurrent uploads limit
+     * @return a flow of the concurrent uploads limit
+     */
+    fun monitorConcurrentUploadsLimit(defaultLimit: Int): Flow<Int> = flow {
+        val maxLimit = getMaxLimit(defaultLimit)
+        var limit = defaultLimit.coerceIn(1, maxLimit)
+        var previousSample: UploadConcurrencySample? = null
+        completedUploads.set(0)
+        completedUploadsLatency.set(0)
+        temporaryErrors.set(0)
+        emit(limit)
+
+        while (currentCoroutineContext().isActive) {
+            delay(uploadConcurrencyStrategy.sampleIntervalMillis)
+            val sample = takeSample(limit)
+            val nextLimit = uploadConcurrencyStrategy
+                .getNextLimit(sample, previousSample, maxLimit)
+                .coerceIn(1, maxLimit)
+            previousSample = sample
+            if (nextLimit != limit) {
+                limit = nextLimit
+                emit(limit)
+            }
+        }
+    }
+
+    /**
+     * Take a sample of the events reported since the previous sample, and reset the counters
+     *
+     * @param concurrentUploadsLimit the limit in effect during the sampled interval
+     */
+    private suspend fun takeSample(concurrentUploadsLimit: Int): UploadConcurrencySample {
+        val completedUploadsCount = completedUploads.getAndSet(0)
+        val latency = completedUploadsLatency.getAndSet(0)
+        return UploadConcurrencySample(
+            concurrentUploadsLimit = concurrentUploadsLimit,
+            activeUploads = uploadStartTimes.size,
+            uploadSpeed = getCurrentUploadSpeedUseCase(),
+            completedUploads = completedUploadsCount,
+            averageUploadLatency = if (completedUploadsCount > 0) {
+                TimeUnit.NANOSECONDS.toMillis(latency / completedUploadsCount)
+            } else null,
+            temporaryErrors = temporaryErrors.getAndSet(0),
+        )
+    }
+}
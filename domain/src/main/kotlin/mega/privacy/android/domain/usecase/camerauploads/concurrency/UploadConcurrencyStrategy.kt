@@ -0,0 +1,36 @@
+package mega.privacy.android.domain.usecase.camerauploads.concurrency
+
+import mega.privacy.android.domain.entity.camerauploads.UploadConcurrencySample
+
+/**
+ * Strategy deciding the number of Camera Uploads concurrent uploads from the observed transfers
+ */
+interface UploadConcurrencyStrategy {
+
+    /**
+     * Interval between two samples of the transfers, in milliseconds
+     */
+    val sampleIntervalMillis: Long
+
+    /**
+     * Get the maximum number of concurrent uploads the strategy can reach
+     *
+     * @param defaultLimit the default concurrent uploads limit
+     * @return the maximum concurrent uploads limit
+     */
+    fun getMaxLimit(defaultLimit: Int): Int
+
+    /**
+     * Get the concurrent uploads limit to apply for the next interval
+     *
+     * @param sample the [UploadConcurrencySample] of the last interval
+     * @param previousSample the [UploadConcurrencySample] of the interval before, if any
+     * @param maxLimit the maximum concurrent uploads limit
+     * @return the new concurrent uploads limit, between 1 and [maxLimit]
+     */
+    fun getNextLimit(
+        sample: UploadConcurrencySample,
+        previousSample: UploadConcurrencySample?,
+        maxLimit: Int,
+    ): Int
+}
@@ -16,8 +16,6 @@ import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.mapLatest
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.merge
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
 import mega.privacy.android.data.mapper.chat.ChatRoomItemMapper
 import mega.privacy.android.domain.entity.chat.ChatAvatarItem
 import mega.privacy.android.domain.entity.call.ChatCall
@@ -35,6 +33,7 @@ import mega.privacy.android.domain.repository.ChatRepository
 import mega.privacy.android.domain.repository.ContactsRepository
 import mega.privacy.android.domain.repository.NotificationsRepository
 import mega.privacy.android.domain.repository.PushesRepository
+import mega.privacy.android.domain.repository.chat.ChatListItemRepository
 import mega.privacy.android.domain.usecase.ChatRoomItemStatusMapper
 import mega.privacy.android.domain.usecase.contact.GetContactEmail
 import mega.privacy.android.domain.usecase.contact.GetUserOnlineStatusByHandleUseCase
@@ -65,12 +64,28 @@ class GetChatsUseCase @Inject constructor(
     private val monitorScheduledMeetingOccurrencesUpdatesUseCase: MonitorScheduledMeetingOccurrencesUpdatesUseCase,
     private val notificationsRepository: NotificationsRepository,
     private val getArchivedChatRoomsUseCase: GetArchivedChatRoomsUseCase,
+    private val chatListItemRepository: ChatListItemRepository,
 ) {
 
     companion object {
         private const val MAX_CONCURRENT_JOBS = 8
     }
 
+    /**
+     * Fields of the chat room items fetched from other sources than the chat room
+     */
+    private enum class ChatField {
+        Avatars,
+        Muted,
+        LastMessage,
+        Call,
+        UserStatus,
+        PeerEmail,
+        ScheduledMeeting,
+    }
+
+    private val allChatFields = ChatField.values().toSet()
+
     /**
      * Chat room request type
      */
@@ -108,38 +123,69 @@ class GetChatsUseCase @Inject constructor(
         headerTimeMapper: (ChatRoomItem, ChatRoomItem?) -> String?,
     ): Flow<List<ChatRoomItem>> =
         flow {
-            val mutex = Mutex()
-            val chats = mutableMapOf<Long, ChatRoomItem>()
-
-            emit(chats.addChatRooms(chatRoomType))
-
-            emitAll(
-                flowOf(
-                    chats.updateFields(
-                        mutex,
-                        chatRoomType,
-                        lastMessage,
-                        lastTimeMapper,
-                        meetingTimeMapper
-                    ),
-                    chats.monitorMutedChats(mutex, chatRoomType),
-                    chats.monitorChatCalls(mutex, chatRoomType),
-                    chats.monitorChatOnlineStatusUpdates(mutex, chatRoomType),
-                    chats.monitorSchedMeetingUpdates(mutex, chatRoomType, meetingTimeMapper),
-                    chats.monitorChatUpdates(
-                        mutex,
-                        chatRoomType,
-                        lastMessage,
-                        lastTimeMapper,
-                        meetingTimeMapper
-                    ),
-                ).flattenMerge().mapLatest {
-                    it.sorted(chatRoomType).addHeaders(chatRoomType, headerTimeMapper)
-                }
-            )
+            val chatList = ChatList(chatListItemRepository.createChatList())
+
+            try {
+                emit(chatList.addChatRooms(chatRoomType))
+
+                emitAll(
+                    flowOf(
+                        chatList.updateFields(
+                            chatRoomType,
+                            lastMessage,
+                            lastTimeMapper,
+                            meetingTimeMapper
+                        ),
+                        chatList.monitorMutedChats(chatRoomType),
+                        chatList.monitorChatCalls(chatRoomType),
+                        chatList.monitorChatOnlineStatusUpdates(chatRoomType),
+                        chatList.monitorSchedMeetingUpdates(chatRoomType, meetingTimeMapper),
+                        chatList.monitorChatUpdates(
+                            chatRoomType,
+                            lastMessage,
+                            lastTimeMapper,
+                            meetingTimeMapper
+                        ),
+                    ).flattenMerge().mapLatest {
+                        it.sorted(chatRoomType).addHeaders(chatRoomType, headerTimeMapper)
+                    }
+                )
+            } finally {
+                chatListItemRepository.clearChatList(chatList.id)
+            }
         }
 
-    private suspend fun MutableMap<Long, ChatRoomItem>.addChatRooms(
+    /**
+     * Chat list of a single collection of the chat rooms, its items are kept in
+     * [ChatListItemRepository] until the collection completes
+     *
+     * @property id the chat list id
+     */
+    private inner class ChatList(val id: Long) {
+
+        suspend fun setItems(items: List<ChatRoomItem>) =
+            chatListItemRepository.setChatListItems(id, items)
+
+        suspend fun getItems(): List<ChatRoomItem> =
+            chatListItemRepository.getChatListItems(id)
+
+        suspend fun getEnrichedItem(chatId: Long): ChatRoomItem? =
+            chatListItemRepository.getEnrichedChatListItem(id, chatId)
+
+        suspend fun findChatId(predicate: (ChatRoomItem) -> Boolean): Long? =
+            chatListItemRepository.findChatListItemId(id, predicate)
+
+        suspend fun putEnriched(item: ChatRoomItem, onlyIfNotEnriched: Boolean = false): Boolean =
+            chatListItemRepository.putEnrichedChatListItem(id, item, onlyIfNotEnriched)
+
+        suspend fun update(chatId: Long, transform: (ChatRoomItem) -> ChatRoomItem): Boolean =
+            chatListItemRepository.updateChatListItem(id, chatId, transform)
+
+        suspend fun remove(chatId: Long): Boolean =
+            chatListItemRepository.removeChatListItem(id, chatId)
+    }
+
+    private suspend fun ChatList.addChatRooms(
         chatRoomType: ChatRoomType,
     ): List<ChatRoomItem> =
         when (chatRoomType) {
@@ -148,63 +194,136 @@ class GetChatsUseCase @Inject constructor(
             ChatRoomType.ARCHIVED_CHATS -> getArchivedChatRoomsUseCase()
         }
             .sortedByDescending(CombinedChatRoom::lastTimestamp)
-            .forEach { chatRoom ->
-                if (!chatRoom.isPreview && (chatRoomType == ChatRoomType.ARCHIVED_CHATS || !chatRoom.isArchived)) {
-                    put(chatRoom.chatId, chatRoomItemMapper(chatRoom))
-                }
-            }.let { values.toList() }
+            .filter { chatRoom ->
+                !chatRoom.isPreview && (chatRoomType == ChatRoomType.ARCHIVED_CHATS || !chatRoom.isArchived)
+            }
+            .map(chatRoomItemMapper::invoke)
+            .let { items ->
+                setItems(items)
+                getItems()
+            }
 
-    private fun MutableMap<Long, ChatRoomItem>.updateFields(
-        mutex: Mutex,
+    private fun ChatList.updateFields(
         chatRoomType: ChatRoomType,
         getLastMessage: suspend (Long) -> String,
         lastTimeMapper: (Long) -> String,
         meetingTimeMapper: (Long, Long) -> String,
-    ): Flow<List<ChatRoomItem>> =
-        values.asFlow().flatMapMerge(MAX_CONCURRENT_JOBS) { currentItem ->
-            flow {
-                val newItem = currentItem.updateChatFields(getLastMessage, lastTimeMapper)
-                val updatedItem = if (currentItem is MeetingChatRoomItem) {
-                    newItem.updateMeetingFields(chatRoomType, meetingTimeMapper)
-                } else {
-                    newItem
-                }
-
-                mutex.withLock {
-                    put(currentItem.chatId, updatedItem)
+    ): Flow<List<ChatRoomItem>> = flow {
+        emitAll(
+            getItems().asFlow().flatMapMerge(MAX_CONCURRENT_JOBS) { currentItem ->
+                flow {
+                    val updatedItem = currentItem
+                        .updateChatFields(allChatFields, getLastMessage, lastTimeMapper)
+                        .updateMeetingFields(chatRoomType, meetingTimeMapper)
+
+                    if (putEnriched(updatedItem, onlyIfNotEnriched = true)) {
+                        emit(getItems())
+                    }
                 }
-
-                emit(values.toList())
             }
-        }
+        )
+    }
 
+    /**
+     * Fetch the derived fields of the chat room item
+     *
+     * @param fields            the fields to fetch, the rest are kept as they are
+     * @param getLastMessage
+     * @param lastTimeMapper
+     */
     private suspend fun ChatRoomItem.updateChatFields(
+        fields: Set<ChatField>,
         getLastMessage: suspend (Long) -> String,
         lastTimeMapper: (Long) -> String,
     ): ChatRoomItem = coroutineScope {
-        val avatarItems = async { getParticipantsAvatar(chatId) }
-        val isMuted = async { isChatMuted(chatId) }
-        val lastMessage = async { runCatching { getLastMessage(chatId) }.getOrNull() }
-        val lastTimestampFormatted =
-            async { runCatching { lastTimeMapper(lastTimestamp) }.getOrNull() }
-        val call = async { getCall(chatId) }
-        val userStatus = async { getUserOnlineStatus() }
-        val peerEmail = async { getUserEmail() }
+        val item = this@updateChatFields
+        val avatarItems = async {
+            if (ChatField.Avatars in fields) getParticipantsAvatar(chatId) else null
+        }
+        val isMuted = async {
+            if (ChatField.Muted in fields) isChatMuted(chatId) else item.isMuted
+        }
+        val lastMessage = async {
+            if (ChatField.LastMessage in fields) {
+                runCatching { getLastMessage(chatId) }.getOrNull()
+            } else {
+                item.lastMessage
+            }
+        }
+        val lastTimestampFormatted = async {
+            if (ChatField.LastMessage in fields || item.lastTimestampFormatted == null) {
+                runCatching { lastTimeMapper(lastTimestamp) }.getOrNull()
+            } else {
+                item.lastTimestampFormatted
+            }
+        }
+        val call = async {
+            if (ChatField.Call in fields) getCall(chatId) else item.call
+        }
+        val userStatus = async {
+            if (ChatField.UserStatus in fields) getUserOnlineStatus() else null
+        }
+        val peerEmail = async {
+            if (ChatField.PeerEmail in fields) getUserEmail() else null
+        }
 
         copyChatRoomItem(
             avatarItems = avatarItems.await(),
             isMuted = isMuted.await(),
             lastMessage = lastMessage.await(),
             lastTimestampFormatted = lastTimestampFormatted.await(),
-            currentCallStatus = call.await()?.let {
-                chatRoomItemStatusMapper(it)
-            } ?: ChatRoomItemStatus.NotStarted,
+            currentCallStatus = if (ChatField.Call in fields) {
+                call.await()?.let { chatRoomItemStatusMapper(it) } ?: ChatRoomItemStatus.NotStarted
+            } else {
+                currentCallStatus
+            },
             call = call.await(),
             userChatStatus = userStatus.await(),
             peerEmail = peerEmail.await(),
         )
     }
 
+    /**
+     * Copy the derived fields of the previous chat room item, the ones that the chat room does not
+     * provide and are fetched from other sources
+     *
+     * @param previousItem      the enriched previous item of the same chat
+     * @param fields            the fields that will be fetched again, and so are not copied
+     */
+    private fun ChatRoomItem.withDerivedFieldsOf(
+        previousItem: ChatRoomItem,
+        fields: Set<ChatField>,
+    ): ChatRoomItem {
+        val item = copyChatRoomItem(
+            avatarItems = previousItem.getChatAvatars(),
+            isMuted = previousItem.isMuted,
+            lastMessage = previousItem.lastMessage,
+            lastTimestampFormatted = previousItem.lastTimestampFormatted
+                .takeIf { previousItem.lastTimestamp == lastTimestamp },
+            call = previousItem.call,
+            currentCallStatus = previousItem.currentCallStatus,
+            userChatStatus = (previousItem as? IndividualChatRoomItem)?.userChatStatus,
+            peerEmail = (previousItem as? IndividualChatRoomItem)?.peerEmail,
+        )
+        return if (ChatField.ScheduledMeeting !in fields
+            && item is MeetingChatRoomItem && previousItem is MeetingChatRoomItem
+        ) {
+            item.copy(
+                title = previousItem.title,
+                schedId = previousItem.schedId,
+                isPending = previousItem.isPending,
+                isRecurringDaily = previousItem.isRecurringDaily,
+                isRecurringWeekly = previousItem.isRecurringWeekly,
+                isRecurringMonthly = previousItem.isRecurringMonthly,
+                scheduledStartTimestamp = previousItem.scheduledStartTimestamp,
+                scheduledEndTimestamp = previousItem.scheduledEndTimestamp,
+                scheduledTimestampFormatted = previousItem.scheduledTimestampFormatted,
+            )
+        } else {
+            item
+        }
+    }
+
     private suspend fun ChatRoomItem.updateMeetingFields(
         chatRoomType: ChatRoomType,
         meetingTimeMapper: (Long, Long) -> String,
@@ -225,60 +344,42 @@ class GetChatsUseCase @Inject constructor(
             } ?: this
         } else this
 
-    private fun MutableMap<Long, ChatRoomItem>.monitorMutedChats(
-        mutex: Mutex,
+    private fun ChatList.monitorMutedChats(
         chatRoomType: ChatRoomType,
     ): Flow<List<ChatRoomItem>> =
         if (chatRoomType != ChatRoomType.ARCHIVED_CHATS) {
             pushesRepository.monitorPushNotificationSettings().mapNotNull {
                 var listUpdated = false
-                values.toList().forEach { item ->
+                getItems().forEach { item ->
                     val itemMuted = isChatMuted(item.chatId)
                     if (item.isMuted != itemMuted) {
-                        listUpdated = true
-                        mutex.withLock {
-                            get(item.chatId)?.let { currentItem ->
-                                val newItem = currentItem.copyChatRoomItem(
-                                    isMuted = itemMuted,
-                                )
-
-                                put(item.chatId, newItem)
-                            }
-                        }
+                        listUpdated = update(item.chatId) { currentItem ->
+                            currentItem.copyChatRoomItem(isMuted = itemMuted)
+                        } || listUpdated
                     }
                 }
-                values.toList().takeIf { listUpdated }
+                getItems().takeIf { listUpdated }
             }
         } else emptyFlow()
 
-    private fun MutableMap<Long, ChatRoomItem>.monitorChatCalls(
-        mutex: Mutex,
+    private fun ChatList.monitorChatCalls(
         chatRoomType: ChatRoomType,
     ): Flow<List<ChatRoomItem>> =
         if (chatRoomType != ChatRoomType.ARCHIVED_CHATS) {
             monitorChatCallUpdatesUseCase()
-                .filter { containsKey(it.chatId) }
                 .mapNotNull { chatCall ->
-                    chatCall.let(chatRoomItemStatusMapper::invoke).let { chatCallItem ->
-                        mutex.withLock {
-                            get(chatCall.chatId)?.let { currentItem ->
-                                val updatedItem = currentItem.copyChatRoomItem(
-                                    call = chatCall,
-                                    currentCallStatus = chatCallItem
-                                )
-
-                                if (currentItem != updatedItem) {
-                                    put(chatCall.chatId, updatedItem)
-                                }
-                            }
-                        }
-                        values.toList()
+                    val chatCallItem = chatRoomItemStatusMapper(chatCall)
+                    val updated = update(chatCall.chatId) { currentItem ->
+                        currentItem.copyChatRoomItem(
+                            call = chatCall,
+                            currentCallStatus = chatCallItem
+                        )
                     }
+                    getItems().takeIf { updated }
                 }
         } else emptyFlow()
 
-    private fun MutableMap<Long, ChatRoomItem>.monitorSchedMeetingUpdates(
-        mutex: Mutex,
+    private fun ChatList.monitorSchedMeetingUpdates(
         chatRoomType: ChatRoomType,
         meetingTimeMapper: (Long, Long) -> String,
     ): Flow<List<ChatRoomItem>> = if (chatRoomType == ChatRoomType.MEETINGS) {
@@ -292,33 +393,27 @@ class GetChatsUseCase @Inject constructor(
                 else -> null
             }
         }
-            .filter(::containsKey)
+            .filter { chatId -> findChatId { it.chatId == chatId } != null }
             .mapNotNull { chatId ->
                 getMeetingScheduleData(chatId, meetingTimeMapper)?.let { schedData ->
-                    mutex.withLock {
-                        get(chatId)?.let { currentItem ->
-                            val newItem = currentItem.copyChatRoomItem(
-                                schedId = schedData.schedId,
-                                title = schedData.title ?: currentItem.title,
-                                isPending = schedData.isPending,
-                                isRecurringDaily = schedData.isRecurringDaily,
-                                isRecurringWeekly = schedData.isRecurringWeekly,
-                                isRecurringMonthly = schedData.isRecurringMonthly,
-                                scheduledStartTimestamp = schedData.scheduledStartTimestamp,
-                                scheduledEndTimestamp = schedData.scheduledEndTimestamp,
-                            )
-                            if (currentItem != newItem) {
-                                put(currentItem.chatId, newItem)
-                            }
-                        }
+                    val updated = update(chatId) { currentItem ->
+                        currentItem.copyChatRoomItem(
+                            schedId = schedData.schedId,
+                            title = schedData.title ?: currentItem.title,
+                            isPending = schedData.isPending,
+                            isRecurringDaily = schedData.isRecurringDaily,
+                            isRecurringWeekly = schedData.isRecurringWeekly,
+                            isRecurringMonthly = schedData.isRecurringMonthly,
+                            scheduledStartTimestamp = schedData.scheduledStartTimestamp,
+                            scheduledEndTimestamp = schedData.scheduledEndTimestamp,
+                        )
                     }
-                    values.toList()
+                    getItems().takeIf { updated }
                 }
             }
     } else emptyFlow()
 
-    private fun MutableMap<Long, ChatRoomItem>.monitorChatUpdates(
-        mutex: Mutex,
+    private fun ChatList.monitorChatUpdates(
         chatRoomType: ChatRoomType,
         getLastMessage: suspend (Long) -> String,
         lastTimeMapper: (Long) -> String,
@@ -330,8 +425,7 @@ class GetChatsUseCase @Inject constructor(
                 || chatListItem.changes == ChatListItemChanges.Deleted ||
                 chatListItem.changes == ChatListItemChanges.Closed
             ) {
-                mutex.withLock { remove(chatListItem.chatId) }
-                return@mapNotNull values.toList()
+                return@mapNotNull getItems().takeIf { remove(chatListItem.chatId) }
             }
 
             delay(500) // Required to wait for new SDK values
@@ -342,43 +436,64 @@ class GetChatsUseCase @Inject constructor(
                             || (!it.isMeeting && chatRoomType == ChatRoomType.NON_MEETINGS)
                 }
                 ?.let(chatRoomItemMapper::invoke)
-                ?.updateChatFields(getLastMessage, lastTimeMapper)
-                ?.updateMeetingFields(chatRoomType, meetingTimeMapper)
-                ?.let { newItem ->
-                    mutex.withLock {
-                        if (newItem != get(chatListItem.chatId)) {
-                            put(chatListItem.chatId, newItem)
-                        }
+                ?.let { item ->
+                    val previousItem = getEnrichedItem(item.chatId)
+                    val fields = if (previousItem != null) {
+                        chatListItem.changes.invalidatedFields()
+                    } else {
+                        allChatFields
                     }
-                    values.toList()
+                    val newItem = (previousItem?.let { item.withDerivedFieldsOf(it, fields) }
+                        ?: item)
+                        .updateChatFields(fields, getLastMessage, lastTimeMapper)
+                        .let {
+                            if (ChatField.ScheduledMeeting in fields) {
+                                it.updateMeetingFields(chatRoomType, meetingTimeMapper)
+                            } else {
+                                it
+                            }
+                        }
+
+                    getItems().takeIf { putEnriched(newItem) }
                 }
         }
 
-    private fun MutableMap<Long, ChatRoomItem>.monitorChatOnlineStatusUpdates(
-        mutex: Mutex,
+    private fun ChatList.monitorChatOnlineStatusUpdates(
         chatRoomType: ChatRoomType,
     ): Flow<List<ChatRoomItem>> =
         if (chatRoomType != ChatRoomType.ARCHIVED_CHATS) {
             contactsRepository.monitorChatOnlineStatusUpdates().mapNotNull { update ->
-                values.firstOrNull { item ->
+                findChatId { item ->
                     item is IndividualChatRoomItem && item.peerHandle == update.userHandle
-                }?.chatId?.let { chatId ->
-                    mutex.withLock {
-                        get(chatId)?.let { currentItem ->
-                            val updatedItem = currentItem.copyChatRoomItem(
-                                userChatStatus = update.status,
-                            )
-
-                            if (currentItem != updatedItem) {
-                                put(updatedItem.chatId, updatedItem)
-                            }
-                        }
+                }?.let { chatId ->
+                    val updated = update(chatId) { currentItem ->
+                        currentItem.copyChatRoomItem(userChatStatus = update.status)
                     }
-                    values.toList()
+                    getItems().takeIf { updated }
                 }
             }
         } else emptyFlow()
 
+    /**
+     * Fields of the chat room items that are invalidated by a chat list item change, the rest of
+     * the derived fields are kept from the previous item of the chat
+     */
+    private fun ChatListItemChanges?.invalidatedFields(): Set<ChatField> = when (this) {
+        ChatListItemChanges.LastMessage, ChatListItemChanges.LastTS -> setOf(ChatField.LastMessage)
+        ChatListItemChanges.Participants -> setOf(ChatField.Avatars)
+        ChatListItemChanges.Call -> setOf(ChatField.Call)
+        ChatListItemChanges.Title -> setOf(ChatField.ScheduledMeeting)
+        ChatListItemChanges.Status,
+        ChatListItemChanges.OwnPrivilege,
+        ChatListItemChanges.UnreadCount,
+        ChatListItemChanges.Archive,
+        ChatListItemChanges.ChatMode,
+        ChatListItemChanges.UpdatePreviewers,
+        -> emptySet()
+
+        else -> allChatFields
+    }
+
     private fun List<ChatRoomItem>.sorted(chatRoomType: ChatRoomType): List<ChatRoomItem> =
         if (chatRoomType == ChatRoomType.MEETINGS) {
             sortedWith { firstItem, secondItem ->
@@ -0,0 +1,22 @@
+package mega.privacy.android.domain.usecase.chat.message.paging
+
+import mega.privacy.android.domain.repository.chat.ChatMessageRepository
+import javax.inject.Inject
+
+/**
+ * Get the ids of the messages of a chat stored from previous sessions
+ *
+ * @property chatMessageRepository
+ */
+class GetCachedChatMessageIdsUseCase @Inject constructor(
+    private val chatMessageRepository: ChatMessageRepository,
+) {
+    /**
+     * Invoke
+     *
+     * @param chatId
+     * @return message ids
+     */
+    suspend operator fun invoke(chatId: Long): Set<Long> =
+        chatMessageRepository.getCachedMessageIds(chatId)
+}
@@ -0,0 +1,51 @@
+package mega.privacy.android.domain.usecase.chat.message.paging
+
+import mega.privacy.android.domain.entity.chat.ChatMessage
+import mega.privacy.android.domain.repository.chat.ChatMessageRepository
+import javax.inject.Inject
+
+/**
+ * Reconcile the stored messages of a chat with the newest page of its history
+ *
+ * The fetched messages are saved, which applies the edits and deletions, and the stored messages
+ * the history no longer has are deleted. Stored messages older than the fetched ones are kept if
+ * the fetched messages reach them, as they are still contiguous with the history. Otherwise there
+ * is a gap of unknown messages between them and they are deleted too.
+ *
+ * @property chatMessageRepository
+ * @property saveChatMessagesUseCase
+ */
+class ReconcileChatMessagesUseCase @Inject constructor(
+    private val chatMessageRepository: ChatMessageRepository,
+    private val saveChatMessagesUseCase: SaveChatMessagesUseCase,
+) {
+    /**
+     * Invoke
+     *
+     * @param chatId
+     * @param messages the newest messages of the history, from the newest to the oldest
+     * @param isHistoryComplete true if there are no older messages in the history
+     */
+    suspend operator fun invoke(
+        chatId: Long,
+        messages: List<ChatMessage>,
+        isHistoryComplete: Boolean,
+    ) {
+        val oldestTimestamp = messages.minOfOrNull { it.timestamp }
+        if (oldestTimestamp != null || isHistoryComplete) {
+            val fetchedIds = messages.mapTo(HashSet()) { it.messageId }
+            val cachedIds = chatMessageRepository.getCachedMessageIds(chatId)
+            val reachesCachedMessages = cachedIds.any { it in fetchedIds }
+            chatMessageRepository.deleteStaleMessages(
+                chatId = chatId,
+                fromTimestamp = if (isHistoryComplete || !reachesCachedMessages) {
+                    Long.MIN_VALUE
+                } else {
+                    oldestTimestamp ?: Long.MIN_VALUE
+                },
+                keptMessageIds = fetchedIds,
+            )
+        }
+        saveChatMessagesUseCase(chatId, messages)
+    }
+}
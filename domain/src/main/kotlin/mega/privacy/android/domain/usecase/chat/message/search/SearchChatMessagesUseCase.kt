@@ -0,0 +1,28 @@
+package mega.privacy.android.domain.usecase.chat.message.search
+
+import androidx.paging.PagingSource
+import mega.privacy.android.domain.entity.chat.messages.search.ChatMessageSearchResult
+import mega.privacy.android.domain.repository.chat.ChatMessageRepository
+import javax.inject.Inject
+
+/**
+ * Search the text of the chat messages stored on the device
+ *
+ * @property chatMessageRepository
+ */
+class SearchChatMessagesUseCase @Inject constructor(
+    private val chatMessageRepository: ChatMessageRepository,
+) {
+    /**
+     * Invoke
+     *
+     * @param query the words to search
+     * @param chatId the chat to search in, null to search in all the chats
+     * @return paging source of the matching messages, ranked by relevance
+     */
+    operator fun invoke(
+        query: String,
+        chatId: Long? = null,
+    ): PagingSource<Int, ChatMessageSearchResult> =
+        chatMessageRepository.searchMessages(query = query, chatId = chatId)
+}
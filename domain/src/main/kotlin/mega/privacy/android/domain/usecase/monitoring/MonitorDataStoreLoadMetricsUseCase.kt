@@ -0,0 +1,19 @@
+package mega.privacy.android.domain.usecase.monitoring
+
+import mega.privacy.android.domain.repository.monitoring.DataStorePreloadRepository
+import javax.inject.Inject
+
+/**
+ * Use case to monitor the load metrics of the DataStores
+ */
+class MonitorDataStoreLoadMetricsUseCase @Inject constructor(
+    private val dataStorePreloadRepository: DataStorePreloadRepository,
+) {
+
+    /**
+     * Invoke
+     *
+     * @return flow of the metrics of the stores loaded so far
+     */
+    operator fun invoke() = dataStorePreloadRepository.monitorDataStoreLoadMetrics()
+}
@@ -1,5 +1,7 @@
 package mega.privacy.android.domain.usecase.node
 
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
 import mega.privacy.android.domain.entity.FolderType
 import mega.privacy.android.domain.entity.node.DefaultTypedFileNode
 import mega.privacy.android.domain.entity.node.DefaultTypedFolderNode
@@ -26,11 +28,34 @@ class AddNodesTypeUseCase @Inject constructor(
      *
      * @param nodes
      */
-    suspend operator fun invoke(nodes: List<UnTypedNode>): List<TypedNode> {
-        val groupFolderTypes = getGroupFolderTypeUseCase()
-        val parentBackups = mutableMapOf<NodeId, Boolean>()
-        val backupNodeId = groupFolderTypes.entries.find { it.value == FolderType.RootBackup }?.key
-        return nodes.map { node ->
+    suspend operator fun invoke(nodes: List<UnTypedNode>): List<TypedNode> =
+        FolderTypeLookups(getGroupFolderTypeUseCase()).addTypes(nodes)
+
+    /**
+     * Invoke
+     *
+     * The folder types are looked up once, on the first batch, and reused for the next ones
+     *
+     * @param batches batches of nodes of the same list
+     * @return the batches of typed nodes
+     */
+    operator fun invoke(batches: Flow<List<UnTypedNode>>): Flow<List<TypedNode>> = flow {
+        var lookups: FolderTypeLookups? = null
+        batches.collect { batch ->
+            val batchLookups = lookups
+                ?: FolderTypeLookups(getGroupFolderTypeUseCase()).also { lookups = it }
+            emit(batchLookups.addTypes(batch))
+        }
+    }
+
+    private inner class FolderTypeLookups(
+        private val groupFolderTypes: Map<NodeId, FolderType>,
+    ) {
+        private val parentBackups = mutableMapOf<NodeId, Boolean>()
+        private val backupNodeId =
+            groupFolderTypes.entries.find { it.value == FolderType.RootBackup }?.key
+
+        suspend fun addTypes(nodes: List<UnTypedNode>): List<TypedNode> = nodes.map { node ->
             when (node) {
                 is TypedNode -> node
                 is FileNode -> DefaultTypedFileNode(node)
@@ -66,4 +91,4 @@ class AddNodesTypeUseCase @Inject constructor(
             else -> FolderType.Default
         }
     }
-}
\ No newline at end of file
+}
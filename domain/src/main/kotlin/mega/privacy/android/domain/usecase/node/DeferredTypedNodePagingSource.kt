@@ -0,0 +1,52 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.domain.entity.node.TypedNode
+
+/**
+ * Paging source of typed nodes that creates the paging source it loads from on the first load,
+ * so the suspending lookups needed to pick it can be done from a [androidx.paging.Pager] factory
+ *
+ * Invalidating either of the paging sources invalidates the other one.
+ *
+ * @property createSource creates the paging source to load from
+ */
+internal class DeferredTypedNodePagingSource(
+    private val createSource: suspend () -> PagingSource<Int, TypedNode>,
+) : PagingSource<Int, TypedNode>() {
+
+    private val mutex = Mutex()
+
+    @Volatile
+    private var source: PagingSource<Int, TypedNode>? = null
+
+    init {
+        registerInvalidatedCallback { source?.invalidate() }
+    }
+
+    override fun getRefreshKey(state: PagingState<Int, TypedNode>) =
+        state.anchorPosition?.let { maxOf(0, it - (state.config.initialLoadSize / 2)) }
+
+    override suspend fun load(params: LoadParams<Int>): LoadResult<Int, TypedNode> {
+        val source = try {
+            getSource()
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            return LoadResult.Error(e)
+        }
+        return source.load(params)
+    }
+
+    private suspend fun getSource() = mutex.withLock {
+        source ?: createSource().also { created ->
+            created.registerInvalidatedCallback(::invalidate)
+            source = created
+            if (invalid) created.invalidate()
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.repository.NodeRepository
+import javax.inject.Inject
+
+/**
+ * Use case to get a paging source of the typed children of a node, for folders too large to map as
+ * a whole, such as the Camera Uploads folder
+ */
+class GetNodeChildrenPagingSourceUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+    private val addNodesTypeUseCase: AddNodesTypeUseCase,
+) {
+
+    /**
+     * Invoke
+     *
+     * @param parentNodeId Parent [NodeId]
+     * @param order [SortOrder] of the children
+     * @return paging source of the children, to be invalidated when they change
+     */
+    operator fun invoke(
+        parentNodeId: NodeId,
+        order: SortOrder,
+    ): PagingSource<Int, TypedNode> = TypedNodePagingSource(
+        source = nodeRepository.getNodeChildrenPagingSource(parentNodeId, order),
+        addNodesType = { addNodesTypeUseCase(it) },
+    )
+}
@@ -0,0 +1,28 @@
+package mega.privacy.android.domain.usecase.node
+
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.repository.NodeRepository
+import javax.inject.Inject
+
+/**
+ * Use case to get typed node children for a given node, batch by batch, so the first children
+ * can be shown before the rest of them are mapped
+ */
+class GetTypedChildrenNodeInBatchesUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+    private val addNodesTypeUseCase: AddNodesTypeUseCase,
+) {
+
+    /**
+     * Get children nodes of a parent node in batches
+     *
+     * @param parentNodeId Parent [NodeId]
+     * @param order [SortOrder] for the returned batches
+     * @return Flow emitting each batch of children [mega.privacy.android.domain.entity.node.TypedNode]
+     */
+    operator fun invoke(
+        parentNodeId: NodeId,
+        order: SortOrder,
+    ) = addNodesTypeUseCase(nodeRepository.getNodeChildrenInBatches(parentNodeId, order))
+}
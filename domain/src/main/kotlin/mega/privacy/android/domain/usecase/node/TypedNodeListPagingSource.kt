@@ -0,0 +1,52 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.domain.entity.node.TypedNode
+
+/**
+ * Paging source of a list of typed nodes loaded as a whole, for the lists that are not paged at
+ * the repository layer, such as the shares, so they can be shown in the same paged views
+ *
+ * The list is loaded on the first load, the paging source needs to be invalidated to load it again.
+ *
+ * @property loadNodes loads the nodes
+ */
+internal class TypedNodeListPagingSource(
+    private val loadNodes: suspend () -> List<TypedNode>,
+) : PagingSource<Int, TypedNode>() {
+
+    private val mutex = Mutex()
+
+    private var nodes: List<TypedNode>? = null
+
+    override val jumpingSupported = true
+
+    override fun getRefreshKey(state: PagingState<Int, TypedNode>) =
+        state.anchorPosition?.let { maxOf(0, it - (state.config.initialLoadSize / 2)) }
+
+    override suspend fun load(params: LoadParams<Int>): LoadResult<Int, TypedNode> = try {
+        val nodes = mutex.withLock {
+            nodes ?: loadNodes().distinctBy { it.id.longValue }.also { nodes = it }
+        }
+        val key = (params.key ?: 0).coerceIn(0, nodes.size)
+        val (start, end) = when (params) {
+            is LoadParams.Prepend -> (key - params.loadSize).coerceAtLeast(0) to key
+            else -> key to (key + params.loadSize).coerceAtMost(nodes.size)
+        }
+        LoadResult.Page(
+            data = nodes.subList(start, end),
+            prevKey = start.takeIf { it > 0 },
+            nextKey = end.takeIf { it < nodes.size },
+            itemsBefore = start,
+            itemsAfter = nodes.size - end,
+        )
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: Exception) {
+        LoadResult.Error(e)
+    }
+}
@@ -0,0 +1,53 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import kotlinx.coroutines.CancellationException
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
+
+/**
+ * Paging source of typed nodes, that types each page loaded by [source]
+ *
+ * Invalidating either of the paging sources invalidates the other one, so the typed source can be
+ * invalidated by whoever owns it.
+ *
+ * @property source the paging source of the nodes to type
+ * @property addNodesType types the nodes of a page
+ */
+internal class TypedNodePagingSource(
+    private val source: PagingSource<Int, UnTypedNode>,
+    private val addNodesType: suspend (List<UnTypedNode>) -> List<TypedNode>,
+) : PagingSource<Int, TypedNode>() {
+
+    init {
+        source.registerInvalidatedCallback(::invalidate)
+        registerInvalidatedCallback(source::invalidate)
+    }
+
+    override val jumpingSupported: Boolean
+        get() = source.jumpingSupported
+
+    override fun getRefreshKey(state: PagingState<Int, TypedNode>) =
+        state.anchorPosition?.let { maxOf(0, it - (state.config.initialLoadSize / 2)) }
+
+    override suspend fun load(params: LoadParams<Int>): LoadResult<Int, TypedNode> =
+        when (val result = source.load(params)) {
+            is LoadResult.Page -> try {
+                LoadResult.Page(
+                    data = addNodesType(result.data),
+                    prevKey = result.prevKey,
+                    nextKey = result.nextKey,
+                    itemsBefore = result.itemsBefore,
+                    itemsAfter = result.itemsAfter,
+                )
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                LoadResult.Error(e)
+            }
+
+            is LoadResult.Error -> LoadResult.Error(result.throwable)
+            is LoadResult.Invalid -> LoadResult.Invalid()
+        }
+}
@@ -0,0 +1,30 @@
+package mega.privacy.android.domain.usecase.photos.mediadiscovery
+
+import mega.privacy.android.domain.entity.ImageFileTypeInfo
+import mega.privacy.android.domain.entity.SvgFileTypeInfo
+import mega.privacy.android.domain.entity.VideoFileTypeInfo
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.repository.NodeRepository
+import javax.inject.Inject
+
+/**
+ * Use case to check if a folder has any image or video child, without mapping its children
+ *
+ * @property nodeRepository NodeRepository to manage nodes
+ */
+class ContainsMediaChildrenUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+) {
+
+    /**
+     * Invoke
+     *
+     * @param parentNodeId [NodeId] of the folder
+     * @return true if any child is an image or a video
+     */
+    suspend operator fun invoke(parentNodeId: NodeId) =
+        nodeRepository.getNodeChildrenFileTypes(nodeId = parentNodeId).any { fileType ->
+            fileType !is SvgFileTypeInfo &&
+                    (fileType is ImageFileTypeInfo || fileType is VideoFileTypeInfo)
+        }
+}
@@ -0,0 +1,88 @@
+package mega.privacy.android.domain.usecase.search
+
+import androidx.paging.PagingSource
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.search.SearchCategory
+import mega.privacy.android.domain.entity.search.SearchParameters
+import mega.privacy.android.domain.entity.search.SearchTarget
+import mega.privacy.android.domain.repository.SearchRepository
+import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
+import mega.privacy.android.domain.usecase.node.DeferredTypedNodePagingSource
+import mega.privacy.android.domain.usecase.node.TypedNodeListPagingSource
+import mega.privacy.android.domain.usecase.node.TypedNodePagingSource
+import javax.inject.Inject
+
+/**
+ * Use case to get a paging source of the search results, the paged counterpart of [SearchUseCase]
+ */
+class GetSearchPagingSourceUseCase @Inject constructor(
+    private val getCloudSortOrder: GetCloudSortOrder,
+    private val searchRepository: SearchRepository,
+    private val addNodesTypeUseCase: AddNodesTypeUseCase,
+    private val searchUseCase: SearchUseCase,
+) {
+
+    /**
+     * Invocation
+     *
+     * @param parentHandle search parent
+     * @param nodeSourceType search type [NodeSourceType]
+     * @param searchParameters search parameters [SearchParameters]
+     *
+     * @return paging source of the search results. The root of the shares and links is not paged
+     * by the repository, so it is loaded as a whole with [SearchUseCase] and then paged.
+     */
+    operator fun invoke(
+        parentHandle: NodeId,
+        nodeSourceType: NodeSourceType,
+        searchParameters: SearchParameters,
+    ): PagingSource<Int, TypedNode> = DeferredTypedNodePagingSource {
+        createPagingSource(parentHandle, nodeSourceType, searchParameters)
+    }
+
+    private suspend fun createPagingSource(
+        parentHandle: NodeId,
+        nodeSourceType: NodeSourceType,
+        searchParameters: SearchParameters,
+    ): PagingSource<Int, TypedNode> {
+        val (query, searchTarget, searchCategory, modificationDate, creationDate) = searchParameters
+        val invalidNodeHandle = searchRepository.getInvalidHandle()
+        val isSharesRoot = query.isEmpty() && parentHandle == invalidNodeHandle &&
+                searchTarget in sharesTargets
+        if (isSharesRoot) {
+            return TypedNodeListPagingSource {
+                searchUseCase(parentHandle, nodeSourceType, searchParameters)
+            }
+        }
+
+        val nodeId = searchRepository.getSearchParentNodeId(
+            nodeSourceType,
+            parentHandle,
+            invalidNodeHandle
+        )
+        val source =
+            if (query.isEmpty() && searchCategory == SearchCategory.ALL && modificationDate == null && creationDate == null) {
+                searchRepository.getChildrenPagingSource(
+                    nodeId = nodeId,
+                    order = getCloudSortOrder(),
+                    parameters = searchParameters,
+                )
+            } else {
+                searchRepository.getSearchPagingSource(
+                    nodeId = nodeId,
+                    order = getCloudSortOrder(),
+                    parameters = searchParameters,
+                )
+            }
+        return TypedNodePagingSource(source = source, addNodesType = { addNodesTypeUseCase(it) })
+    }
+
+    private val sharesTargets = setOf(
+        SearchTarget.INCOMING_SHARE,
+        SearchTarget.OUTGOING_SHARE,
+        SearchTarget.LINKS_SHARE,
+    )
+}
@@ -0,0 +1,28 @@
+package mega.privacy.android.domain.usecase.search
+
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.repository.SearchRepository
+
+/**
+ * Returns the [NodeId] to search in for respective selected [NodeSourceType]
+ *
+ * @param nodeSourceType
+ * @param parentHandle
+ * @param invalidNodeHandle
+ * @return the root node of [nodeSourceType] if [parentHandle] is invalid, else [parentHandle]
+ */
+internal suspend fun SearchRepository.getSearchParentNodeId(
+    nodeSourceType: NodeSourceType,
+    parentHandle: NodeId,
+    invalidNodeHandle: NodeId,
+): NodeId? = if (parentHandle.longValue == invalidNodeHandle.longValue) {
+    when (nodeSourceType) {
+        NodeSourceType.CLOUD_DRIVE -> getRootNodeId()
+        NodeSourceType.RUBBISH_BIN -> getRubbishNodeId()
+        NodeSourceType.BACKUPS -> getBackUpNodeId()
+        else -> null
+    }
+} else {
+    parentHandle
+}
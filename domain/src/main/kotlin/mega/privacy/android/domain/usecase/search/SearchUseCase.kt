@@ -1,6 +1,5 @@
 package mega.privacy.android.domain.usecase.search
 
-import mega.privacy.android.domain.entity.node.Node
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeSourceType
 import mega.privacy.android.domain.entity.node.TypedNode
@@ -44,39 +43,25 @@ class SearchUseCase @Inject constructor(
             query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.OUTGOING_SHARE -> searchRepository.getOutShares()
             query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.LINKS_SHARE -> searchRepository.getPublicLinks()
             query.isEmpty() && searchCategory == SearchCategory.ALL && modificationDate == null && creationDate == null -> searchRepository.getChildren(
-                nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
+                nodeId = searchRepository.getSearchParentNodeId(
+                    nodeSourceType,
+                    parentHandle,
+                    invalidNodeHandle
+                ),
                 order = getCloudSortOrder(),
                 parameters = searchParameters,
             )
 
             else -> searchRepository.search(
-                nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
+                nodeId = searchRepository.getSearchParentNodeId(
+                    nodeSourceType,
+                    parentHandle,
+                    invalidNodeHandle
+                ),
                 order = getCloudSortOrder(),
                 parameters = searchParameters,
             )
         }
         return addNodesTypeUseCase(searchList)
     }
-
-    /**
-     * This method Returns [Node] for respective selected [NodeSourceType]
-     *
-     * @param nodeSourceType
-     * @param parentHandle
-     * @return [Node]
-     */
-    private suspend fun getSearchParentNode(
-        nodeSourceType: NodeSourceType,
-        parentHandle: NodeId,
-        invalidNodeHandle: NodeId,
-    ): NodeId? = if (parentHandle.longValue == invalidNodeHandle.longValue) {
-        when (nodeSourceType) {
-            NodeSourceType.CLOUD_DRIVE -> searchRepository.getRootNodeId()
-            NodeSourceType.RUBBISH_BIN -> searchRepository.getRubbishNodeId()
-            NodeSourceType.BACKUPS -> searchRepository.getBackUpNodeId()
-            else -> null
-        }
-    } else {
-        parentHandle
-    }
-}
\ No newline at end of file
+}
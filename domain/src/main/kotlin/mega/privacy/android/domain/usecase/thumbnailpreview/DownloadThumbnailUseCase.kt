@@ -1,5 +1,6 @@
 package mega.privacy.android.domain.usecase.thumbnailpreview
 
+import mega.privacy.android.domain.entity.thumbnailpreview.ThumbnailRequestPriority
 import mega.privacy.android.domain.repository.thumbnailpreview.ThumbnailPreviewRepository
 import javax.inject.Inject
 
@@ -11,8 +12,16 @@ class DownloadThumbnailUseCase @Inject constructor(
 ) {
     /**
      * Download thumbnail
+     *
+     * Cancelling the caller drops the download if it has not started yet
+     *
+     * @param priority the priority of the download, [ThumbnailRequestPriority.VISIBLE] if the
+     * image is on screen, [ThumbnailRequestPriority.PREFETCH] if it is downloaded ahead of time
      * @param callback success true, fail false
      */
-    suspend operator fun invoke(nodeId: Long, callback: (success: Boolean) -> Unit) =
-        thumbnailPreviewRepository.downloadThumbnail(nodeId, callback)
-}
\ No newline at end of file
+    suspend operator fun invoke(
+        nodeId: Long,
+        priority: ThumbnailRequestPriority,
+        callback: (success: Boolean) -> Unit,
+    ) = thumbnailPreviewRepository.downloadThumbnail(nodeId, priority, callback)
+}
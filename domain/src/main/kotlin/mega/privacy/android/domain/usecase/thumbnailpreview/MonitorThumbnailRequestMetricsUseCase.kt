@@ -0,0 +1,17 @@
+package mega.privacy.android.domain.usecase.thumbnailpreview
+
+import mega.privacy.android.domain.repository.thumbnailpreview.ThumbnailPreviewRepository
+import javax.inject.Inject
+
+/**
+ * Use case to monitor the metrics of the thumbnail and preview downloads, like the queue depth,
+ * the hit ratio or the wasted downloads
+ */
+class MonitorThumbnailRequestMetricsUseCase @Inject constructor(
+    private val thumbnailPreviewRepository: ThumbnailPreviewRepository,
+) {
+    /**
+     * Invoke
+     */
+    operator fun invoke() = thumbnailPreviewRepository.monitorThumbnailRequestMetrics()
+}
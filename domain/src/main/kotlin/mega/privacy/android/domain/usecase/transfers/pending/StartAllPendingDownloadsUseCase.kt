@@ -1,26 +1,45 @@
 package mega.privacy.android.domain.usecase.transfers.pending
 
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.channelFlow
 import kotlinx.coroutines.flow.conflate
 import kotlinx.coroutines.flow.lastOrNull
+import kotlinx.coroutines.flow.onCompletion
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withLock
 import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.transfer.MultiTransferEvent
+import mega.privacy.android.domain.entity.transfer.TransferAppData
 import mega.privacy.android.domain.entity.transfer.TransferEvent
 import mega.privacy.android.domain.entity.transfer.TransferType
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransferState
+import mega.privacy.android.domain.entity.transfer.pending.UpdateAlreadyTransferredFilesCount
 import mega.privacy.android.domain.entity.transfer.pending.UpdateScanningFoldersData
+import mega.privacy.android.domain.exception.UnknownException
 import mega.privacy.android.domain.repository.TransferRepository
 import mega.privacy.android.domain.usecase.transfers.downloads.DownloadNodesUseCase
 import javax.inject.Inject
+import kotlin.time.Duration.Companion.seconds
 
 /**
  * Use case to start all pending transfers of download type
+ *
+ * Files sharing the destination, app data and priority are started with a single download. The
+ * nodes are got by [MAX_CONCURRENT_LOOKUPS] workers and at most [MAX_CONCURRENT_STARTS] downloads
+ * are being started at the same time, until the SDK has updated all their transfers. The scanning data of the folders is kept in memory and saved in
+ * batches every [SCANNING_FOLDERS_DATA_SAVE_INTERVAL].
  */
 class StartAllPendingDownloadsUseCase @Inject constructor(
     private val transferRepository: TransferRepository,
@@ -28,7 +47,6 @@ class StartAllPendingDownloadsUseCase @Inject constructor(
     private val updatePendingTransferStateUseCase: UpdatePendingTransferStateUseCase,
     private val getTypedNodeFromPendingTransferUseCase: GetTypedNodeFromPendingTransferUseCase,
     private val downloadNodesUseCase: DownloadNodesUseCase,
-    private val updatePendingTransferStartedCountUseCase: UpdatePendingTransferStartedCountUseCase,
 ) {
     /**
      * Invoke
@@ -37,6 +55,10 @@ class StartAllPendingDownloadsUseCase @Inject constructor(
      */
     suspend operator fun invoke(): Flow<Int> =
         channelFlow {
+            val startSemaphore = Semaphore(MAX_CONCURRENT_STARTS)
+            val scanningFoldersDataBuffer = ScanningFoldersDataBuffer(this) {
+                transferRepository.updatePendingTransfers(it)
+            }
             getPendingTransfersByTypeAndStateUseCase(
                 TransferType.DOWNLOAD,
                 PendingTransferState.NotSentToSdk,
@@ -48,59 +70,180 @@ class StartAllPendingDownloadsUseCase @Inject constructor(
                         PendingTransferState.SdkScanning
                     )
                     send(pendingTransfers.size)
-                    pendingTransfers.forEach { pendingTransfer ->
-                        //start all downloads in parallel to get the scanning result without the need to finish previous downloads.
+                    launch {
+                        startPendingTransfers(
+                            pendingTransfers = pendingTransfers,
+                            startSemaphore = startSemaphore,
+                            scanningFoldersDataBuffer = scanningFoldersDataBuffer,
+                        )
+                    }
+                }
+        }
+
+    /**
+     * Gets the nodes of the pending transfers with [MAX_CONCURRENT_LOOKUPS] workers and starts
+     * their downloads in parallel, to get the scanning result without the need to finish previous
+     * downloads. A folder is started as soon as its node is got, and the files with the same
+     * [DownloadGroupKey] as soon as the nodes of all the pending transfers with that key are got.
+     */
+    private suspend fun startPendingTransfers(
+        pendingTransfers: List<PendingTransfer>,
+        startSemaphore: Semaphore,
+        scanningFoldersDataBuffer: ScanningFoldersDataBuffer,
+    ) = coroutineScope {
+        val lookups = Channel<PendingTransfer>(Channel.UNLIMITED)
+        pendingTransfers.forEach { lookups.send(it) }
+        lookups.close()
+        val fileGroups = FileGroups(pendingTransfers.map { it.downloadGroupKey })
+        repeat(minOf(MAX_CONCURRENT_LOOKUPS, pendingTransfers.size)) {
+            launch {
+                for (pendingTransfer in lookups) {
+                    val node = runCatching {
+                        getTypedNodeFromPendingTransferUseCase(pendingTransfer)
+                    }.onFailure {
+                        errorOnStartingPendingTransfer(pendingTransfer, null, it)
+                    }.getOrNull()
+                    if (node != null && node !is FileNode) {
                         launch {
-                            val node = runCatching {
-                                getTypedNodeFromPendingTransferUseCase(pendingTransfer)
-                            }.getOrElse {
-                                errorOnStartingPendingTransfer(pendingTransfer, null, it)
-                                return@launch
+                            startDownload(
+                                pendingTransfers = listOf(pendingTransfer),
+                                nodes = listOf(node),
+                                startSemaphore = startSemaphore,
+                                scanningFoldersDataBuffer = scanningFoldersDataBuffer,
+                            )
+                        }
+                    }
+                    fileGroups.lookupFinished(pendingTransfer, node?.takeIf { it is FileNode })
+                        ?.takeIf { it.isNotEmpty() }
+                        ?.let { group ->
+                            launch {
+                                startDownload(
+                                    pendingTransfers = group.map { it.first },
+                                    nodes = group.map { it.second },
+                                    startSemaphore = startSemaphore,
+                                    scanningFoldersDataBuffer = scanningFoldersDataBuffer,
+                                )
                             }
-                            downloadNodesUseCase(
-                                nodes = listOfNotNull(node),
-                                destinationPath = pendingTransfer.path,
-                                appData = pendingTransfer.appData,
-                                isHighPriority = pendingTransfer.isHighPriority,
+                        }
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the download of the nodes of some pending transfers with the same destination, app
+     * data and priority, holding a permit of [startSemaphore] until all their transfers are updated
+     */
+    private suspend fun startDownload(
+        pendingTransfers: List<PendingTransfer>,
+        nodes: List<TypedNode>,
+        startSemaphore: Semaphore,
+        scanningFoldersDataBuffer: ScanningFoldersDataBuffer,
+    ) {
+        val firstPendingTransfer = pendingTransfers.first()
+        var isStarting = true
+        var scanningFinished = false
+        val notStartedExceptions = mutableMapOf<NodeId, Throwable?>()
+        startSemaphore.acquire()
+        downloadNodesUseCase(
+            nodes = nodes,
+            destinationPath = firstPendingTransfer.path,
+            appData = firstPendingTransfer.appData,
+            isHighPriority = firstPendingTransfer.isHighPriority,
+        )
+            .onEach { transferEvent ->
+                (transferEvent as? MultiTransferEvent.TransferNotStarted<*>)?.let {
+                    (it.item as? NodeId)?.let { nodeId -> notStartedExceptions[nodeId] = it.exception }
+                }
+                // Wait for SDK scanning process to be finished. In the meanwhile update the state. At the end delete the pending transfers.
+                (transferEvent as? MultiTransferEvent.SingleTransferEvent)?.let { singleTransferEvent ->
+                    if (singleTransferEvent.allTransfersUpdated) {
+                        if (isStarting) {
+                            isStarting = false
+                            updateStartedCount(
+                                pendingTransfers,
+                                nodes,
+                                singleTransferEvent,
+                                notStartedExceptions,
+                            )
+                            startSemaphore.release()
+                        }
+                    } else {
+                        if (singleTransferEvent.scanningFinished && !scanningFinished) {
+                            scanningFinished = true
+                            updatePendingTransferStateUseCase(
+                                pendingTransfers,
+                                PendingTransferState.SdkScanned
+                            )
+                        }
+                        (singleTransferEvent.transferEvent as? TransferEvent.FolderTransferUpdateEvent)?.let {
+                            // Folders are not grouped, so the event is from the only pending transfer
+                            scanningFoldersDataBuffer.put(
+                                UpdateScanningFoldersData(
+                                    firstPendingTransfer.pendingTransferId,
+                                    stage = it.stage,
+                                    fileCount = it.fileCount.toInt(),
+                                    folderCount = it.folderCount.toInt(),
+                                    createdFolderCount = it.createdFolderCount.toInt(),
+                                )
                             )
-                                .onEach { transferEvent ->
-                                    // Wait for SDK scanning process to be finished. In the meanwhile update the state. At the end delete the pending transfers.
-                                    (transferEvent as? MultiTransferEvent.SingleTransferEvent)?.let { singleTransferEvent ->
-                                        if (singleTransferEvent.allTransfersUpdated) {
-                                            updatePendingTransferStartedCountUseCase(
-                                                pendingTransfer,
-                                                singleTransferEvent.startedFiles,
-                                                singleTransferEvent.alreadyTransferred,
-                                            )
-                                        } else {
-                                            if (singleTransferEvent.scanningFinished) {
-                                                updatePendingTransferStateUseCase(
-                                                    listOf(pendingTransfer),
-                                                    PendingTransferState.SdkScanned
-                                                )
-                                            }
-                                            (singleTransferEvent.transferEvent as? TransferEvent.FolderTransferUpdateEvent)?.let {
-                                                transferRepository.updatePendingTransfer(
-                                                    UpdateScanningFoldersData(
-                                                        pendingTransfer.pendingTransferId,
-                                                        stage = it.stage,
-                                                        fileCount = it.fileCount.toInt(),
-                                                        folderCount = it.folderCount.toInt(),
-                                                        createdFolderCount = it.createdFolderCount.toInt(),
-                                                    )
-                                                )
-                                            }
-                                        }
-                                    }
-                                }
-                                .catch {
-                                    errorOnStartingPendingTransfer(pendingTransfer, node, it)
-                                }
-                                .lastOrNull()
                         }
                     }
                 }
+            }
+            .catch { exception ->
+                pendingTransfers.zip(nodes).forEach { (pendingTransfer, node) ->
+                    errorOnStartingPendingTransfer(pendingTransfer, node, exception)
+                }
+            }
+            .onCompletion {
+                if (isStarting) startSemaphore.release()
+                scanningFoldersDataBuffer.save()
+            }
+            .lastOrNull()
+    }
+
+    /**
+     * Updates the started files of the pending transfers in a single batch. The counters of the
+     * event are for all the nodes, so the ones of a group of files are set from the started and
+     * already transferred ids. The files that were not started are set as errors.
+     */
+    private suspend fun updateStartedCount(
+        pendingTransfers: List<PendingTransfer>,
+        nodes: List<TypedNode>,
+        singleTransferEvent: MultiTransferEvent.SingleTransferEvent,
+        notStartedExceptions: Map<NodeId, Throwable?>,
+    ) {
+        val updates = mutableListOf<UpdateAlreadyTransferredFilesCount>()
+        pendingTransfers.zip(nodes).forEach { (pendingTransfer, node) ->
+            when {
+                node !is FileNode -> updates.add(
+                    // Folders are not grouped, so the counters are the ones of the folder
+                    UpdateAlreadyTransferredFilesCount(
+                        pendingTransfer.pendingTransferId,
+                        singleTransferEvent.startedFiles,
+                        singleTransferEvent.alreadyTransferred,
+                    )
+                )
+
+                node.id in singleTransferEvent.startedIds -> updates.add(
+                    UpdateAlreadyTransferredFilesCount(
+                        pendingTransfer.pendingTransferId,
+                        1,
+                        if (node.id in singleTransferEvent.alreadyTransferredIds) 1 else 0,
+                    )
+                )
+
+                else -> errorOnStartingPendingTransfer(
+                    pendingTransfer,
+                    node,
+                    notStartedExceptions[node.id]
+                        ?: UnknownException("The transfer of the node was not started", null),
+                )
+            }
         }
+        if (updates.isNotEmpty()) transferRepository.updatePendingTransfers(updates)
+    }
 
     private suspend fun errorOnStartingPendingTransfer(
         pendingTransfer: PendingTransfer,
@@ -117,4 +260,82 @@ class StartAllPendingDownloadsUseCase @Inject constructor(
             exception,
         )
     }
-}
\ No newline at end of file
+
+    /**
+     * Pending transfers of files with the same key are started with a single download
+     */
+    private data class DownloadGroupKey(
+        val destinationPath: String,
+        val appData: TransferAppData?,
+        val isHighPriority: Boolean,
+    )
+
+    private val PendingTransfer.downloadGroupKey
+        get() = DownloadGroupKey(
+            destinationPath = path,
+            appData = appData,
+            isHighPriority = isHighPriority,
+        )
+
+    /**
+     * Collects the file nodes of every [DownloadGroupKey] while the nodes of the pending transfers
+     * are got, until the lookups of all the pending transfers with that key are finished
+     */
+    private class FileGroups(keys: List<DownloadGroupKey>) {
+        private val mutex = Mutex()
+        private val pendingLookups = keys.groupingBy { it }.eachCount().toMutableMap()
+        private val files = mutableMapOf<DownloadGroupKey, MutableList<Pair<PendingTransfer, TypedNode>>>()
+
+        /**
+         * @return the files of the group of [pendingTransfer] if this was its last lookup
+         */
+        suspend fun lookupFinished(
+            pendingTransfer: PendingTransfer,
+            fileNode: TypedNode?,
+        ): List<Pair<PendingTransfer, TypedNode>>? = mutex.withLock {
+            val key = pendingTransfer.downloadGroupKey
+            fileNode?.let {
+                files.getOrPut(key) { mutableListOf() }.add(pendingTransfer to it)
+            }
+            val remaining = pendingLookups.getValue(key) - 1
+            pendingLookups[key] = remaining
+            if (remaining == 0) files.remove(key).orEmpty() else null
+        }
+    }
+
+    /**
+     * Keeps the latest scanning folders data of every pending transfer in memory and saves them
+     * together, [SCANNING_FOLDERS_DATA_SAVE_INTERVAL] after the first update of the batch
+     */
+    private class ScanningFoldersDataBuffer(
+        private val scope: CoroutineScope,
+        private val saveAll: suspend (List<UpdateScanningFoldersData>) -> Unit,
+    ) {
+        private val mutex = Mutex()
+        private val updates = LinkedHashMap<Long, UpdateScanningFoldersData>()
+        private var saveJob: Job? = null
+
+        suspend fun put(update: UpdateScanningFoldersData) = mutex.withLock {
+            updates[update.pendingTransferId] = update
+            if (saveJob?.isActive != true) {
+                saveJob = scope.launch {
+                    delay(SCANNING_FOLDERS_DATA_SAVE_INTERVAL)
+                    save()
+                }
+            }
+        }
+
+        suspend fun save() {
+            val batch = mutex.withLock {
+                updates.values.toList().also { updates.clear() }
+            }
+            if (batch.isNotEmpty()) saveAll(batch)
+        }
+    }
+
+    companion object {
+        private const val MAX_CONCURRENT_STARTS = 10
+        private const val MAX_CONCURRENT_LOOKUPS = 10
+        private val SCANNING_FOLDERS_DATA_SAVE_INTERVAL = 1.seconds
+    }
+}
@@ -50,6 +50,7 @@ abstract class AbstractTransferNodesUseCase<T, R>(
             mutableSetOf<R>() // to check if all [items] have been updated (children not needed here)
         val filesStarted =
             mutableSetOf<R>() //to count the number of files that have been started (no folders but including children)
+        val startedNodeIds = mutableSetOf<NodeId>()
         val alreadyTransferredFiles = mutableSetOf<R>()
         val alreadyTransferredNodeIds = mutableSetOf<NodeId>()
         val allIds = items.map(::generateIdFromItem)
@@ -86,6 +87,7 @@ abstract class AbstractTransferNodesUseCase<T, R>(
                             if (transferEvent.isFileTransfer) {
                                 val id = generateIdFromTransferEvent(transferEvent)
                                 filesStarted.add(id)
+                                startedNodeIds.add(NodeId(transferEvent.transfer.nodeHandle))
                                 if (transferEvent.isAlreadyTransferredEvent) {
                                     alreadyTransferredFiles.add(id)
                                     alreadyTransferredNodeIds.add(NodeId(transferEvent.transfer.nodeHandle))
@@ -122,6 +124,7 @@ abstract class AbstractTransferNodesUseCase<T, R>(
                                     totalBytesTransferred = transferredBytes,
                                     totalBytesToTransfer = totalBytes,
                                     startedFiles = filesStarted.size,
+                                    startedIds = startedNodeIds,
                                     alreadyTransferred = alreadyTransferredFiles.size,
                                     alreadyTransferredIds = alreadyTransferredNodeIds,
                                     scanningFinished = scanningFinished || allTransfersUpdated,
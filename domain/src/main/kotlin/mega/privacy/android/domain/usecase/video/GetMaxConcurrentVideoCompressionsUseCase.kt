@@ -0,0 +1,19 @@
+package mega.privacy.android.domain.usecase.video
+
+import mega.privacy.android.domain.repository.VideoRepository
+import javax.inject.Inject
+
+/**
+ * Get the number of videos that can be compressed at the same time
+ */
+class GetMaxConcurrentVideoCompressionsUseCase @Inject constructor(
+    private val videoRepository: VideoRepository,
+) {
+    /**
+     * Invoke
+     *
+     * @return the number of concurrent video compressions, at least 1
+     */
+    suspend operator fun invoke() =
+        videoRepository.getMaxConcurrentVideoCompressions().coerceAtLeast(1)
+}
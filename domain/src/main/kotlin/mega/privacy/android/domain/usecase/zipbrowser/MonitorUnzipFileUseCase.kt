@@ -0,0 +1,30 @@
+package mega.privacy.android.domain.usecase.zipbrowser
+
+import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.domain.entity.zipbrowser.ZipExtractionProgress
+import mega.privacy.android.domain.repository.ZipBrowserRepository
+import java.util.zip.ZipFile
+import javax.inject.Inject
+
+/**
+ * Use case for unzipping a file, or one of its folders, monitoring the progress
+ */
+class MonitorUnzipFileUseCase @Inject constructor(
+    private val zipBrowserRepository: ZipBrowserRepository,
+) {
+
+    /**
+     * Unzip file
+     *
+     * @param zipFile ZipFile
+     * @param unzipRootPath unzip destination path
+     * @param zipTreeNodePath path of the ZipTreeNode to extract, or null to extract all
+     * @return Flow of the extraction progress, cancelling the collection cancels the extraction
+     */
+    operator fun invoke(
+        zipFile: ZipFile,
+        unzipRootPath: String,
+        zipTreeNodePath: String? = null,
+    ): Flow<ZipExtractionProgress> =
+        zipBrowserRepository.monitorUnzipFile(zipFile, unzipRootPath, zipTreeNodePath)
+}
@@ -0,0 +1,24 @@
+package mega.privacy.android.domain.usecase.zipbrowser
+
+import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
+import mega.privacy.android.domain.repository.ZipBrowserRepository
+import java.util.zip.ZipFile
+import javax.inject.Inject
+
+/**
+ * The use case for monitoring the zip tree map while it is built
+ */
+class MonitorZipTreeMapUseCase @Inject constructor(
+    private val zipBrowserRepository: ZipBrowserRepository,
+) {
+
+    /**
+     * Monitoring zip tree map
+     *
+     * @param zipFile ZipFile
+     * @return Flow of the zip tree map, the partial ones of big zip files first
+     */
+    operator fun invoke(zipFile: ZipFile?): Flow<Map<String, ZipTreeNode>> =
+        zipBrowserRepository.monitorZipNodeTree(zipFile)
+}
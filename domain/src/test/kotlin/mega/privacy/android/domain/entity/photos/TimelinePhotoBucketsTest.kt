@@ -0,0 +1,188 @@
+package mega.privacy.android.domain.entity.photos
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.VideoFileTypeInfo
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.time.LocalDate
+import java.time.LocalDateTime
+import kotlin.time.Duration.Companion.seconds
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TimelinePhotoBucketsTest {
+
+    private lateinit var underTest: TimelinePhotoBuckets
+
+    private val today = LocalDateTime.of(2024, 3, 10, 12, 0)
+
+    @BeforeEach
+    fun setUp() {
+        underTest = TimelinePhotoBuckets()
+    }
+
+    @Test
+    fun `test that photos are returned from the newest to the oldest`() {
+        val oldest = image(id = 1L, modificationTime = today.minusMonths(1))
+        val newest = image(id = 2L, modificationTime = today)
+        val middle = video(id = 3L, modificationTime = today.minusHours(1))
+
+        underTest.setPhotos(listOf(oldest, newest, middle), emptySet())
+
+        assertThat(underTest.getPhotos()).containsExactly(newest, middle, oldest).inOrder()
+    }
+
+    @Test
+    fun `test that photos are returned from the oldest to the newest when sorted by oldest`() {
+        val oldest = image(id = 1L, modificationTime = today.minusMonths(1))
+        val newest = image(id = 2L, modificationTime = today)
+        underTest.setPhotos(listOf(oldest, newest), emptySet())
+
+        underTest.setNewestFirst(false)
+
+        assertThat(underTest.getPhotos()).containsExactly(oldest, newest).inOrder()
+    }
+
+    @Test
+    fun `test that an updated photo moves to its new day`() {
+        val photo = image(id = 1L, modificationTime = today)
+        underTest.put(photo, isCameraUpload = false)
+
+        val updated = photo.copy(modificationTime = today.minusDays(2))
+        underTest.put(updated, isCameraUpload = false)
+
+        assertThat(underTest.getPhotos()).containsExactly(updated)
+        assertThat(underTest.getDays().map { it.date })
+            .containsExactly(today.toLocalDate().minusDays(2))
+    }
+
+    @Test
+    fun `test that a day is removed with its last photo`() {
+        val photo = image(id = 1L, modificationTime = today)
+        underTest.put(photo, isCameraUpload = false)
+
+        assertThat(underTest.remove(photo.id)).isTrue()
+
+        assertThat(underTest.getDays()).isEmpty()
+        assertThat(underTest.size).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that the days have the count and cover of the filtered photos`() {
+        val image = image(id = 1L, modificationTime = today)
+        val cameraUploadVideo = video(id = 2L, modificationTime = today.plusHours(1))
+        val sensitiveImage = image(id = 3L, modificationTime = today.plusHours(2))
+            .copy(isSensitiveInherited = true)
+        underTest.setPhotos(
+            listOf(image, cameraUploadVideo, sensitiveImage),
+            cameraUploadPhotoIds = setOf(cameraUploadVideo.id),
+        )
+
+        assertThat(underTest.getDays()).containsExactly(
+            TimelinePhotoGroup(date = today.toLocalDate(), cover = sensitiveImage, count = 3)
+        )
+        assertThat(underTest.getDays(TimelinePhotoFilter(includeSensitive = false)))
+            .containsExactly(
+                TimelinePhotoGroup(date = today.toLocalDate(), cover = cameraUploadVideo, count = 2)
+            )
+        assertThat(underTest.getPhotos(TimelinePhotoFilter(includeCameraUploads = false)))
+            .containsExactly(sensitiveImage, image)
+            .inOrder()
+        assertThat(underTest.getPhotos(TimelinePhotoFilter(includeImages = false)))
+            .containsExactly(cameraUploadVideo)
+    }
+
+    @Test
+    fun `test that months and years add up the counts of their days`() {
+        val first = image(id = 1L, modificationTime = today)
+        val second = image(id = 2L, modificationTime = today.minusDays(5))
+        val third = image(id = 3L, modificationTime = today.minusYears(1))
+        underTest.setPhotos(listOf(first, second, third), emptySet())
+
+        assertThat(underTest.getMonths()).containsExactly(
+            TimelinePhotoGroup(date = LocalDate.of(2024, 3, 1), cover = first, count = 2),
+            TimelinePhotoGroup(date = LocalDate.of(2023, 3, 1), cover = third, count = 1),
+        ).inOrder()
+        assertThat(underTest.getYears()).containsExactly(
+            TimelinePhotoGroup(date = LocalDate.of(2024, 1, 1), cover = first, count = 2),
+            TimelinePhotoGroup(date = LocalDate.of(2023, 1, 1), cover = third, count = 1),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that the buckets of a day are merged in the sort order`() {
+        val video = video(id = 1L, modificationTime = today)
+        val cameraUploadImage = image(id = 2L, modificationTime = today.minusHours(1))
+        val image = image(id = 3L, modificationTime = today.minusHours(2))
+        val cameraUploadVideo = video(id = 4L, modificationTime = today.minusHours(3))
+        underTest.setPhotos(
+            listOf(cameraUploadVideo, image, cameraUploadImage, video),
+            cameraUploadPhotoIds = setOf(2L, 4L),
+        )
+
+        assertThat(underTest.getPhotosByDay()).containsExactly(
+            TimelinePhotoDay(
+                date = today.toLocalDate(),
+                photos = listOf(video, cameraUploadImage, image, cameraUploadVideo),
+            )
+        )
+    }
+
+    @Test
+    fun `test that only the changed days are merged again`() {
+        val first = image(id = 1L, modificationTime = today)
+        val second = image(id = 2L, modificationTime = today.minusDays(1))
+        underTest.setPhotos(listOf(first, second), emptySet())
+        val before = underTest.getPhotosByDay()
+
+        val third = image(id = 3L, modificationTime = today.minusHours(1))
+        underTest.put(third, isCameraUpload = false)
+        val after = underTest.getPhotosByDay()
+
+        assertThat(after[0].photos).containsExactly(first, third).inOrder()
+        assertThat(after[1].photos).isSameInstanceAs(before[1].photos)
+    }
+
+    @Test
+    fun `test that the days are merged again when the filter changes`() {
+        val image = image(id = 1L, modificationTime = today)
+        val video = video(id = 2L, modificationTime = today.minusHours(1))
+        underTest.setPhotos(listOf(image, video), emptySet())
+        underTest.getPhotosByDay()
+
+        assertThat(underTest.getPhotosByDay(TimelinePhotoFilter(includeImages = false)))
+            .containsExactly(TimelinePhotoDay(date = today.toLocalDate(), photos = listOf(video)))
+        assertThat(underTest.getPhotosByDay().single().photos)
+            .containsExactly(image, video)
+            .inOrder()
+    }
+
+    private fun image(id: Long, modificationTime: LocalDateTime) = Photo.Image(
+        id = id,
+        parentId = 0L,
+        name = "image_$id.jpg",
+        isFavourite = false,
+        creationTime = modificationTime,
+        modificationTime = modificationTime,
+        thumbnailFilePath = null,
+        previewFilePath = null,
+        fileTypeInfo = StaticImageFileTypeInfo(mimeType = "image/jpeg", extension = "jpg"),
+    )
+
+    private fun video(id: Long, modificationTime: LocalDateTime) = Photo.Video(
+        id = id,
+        parentId = 0L,
+        name = "video_$id.mp4",
+        isFavourite = false,
+        creationTime = modificationTime,
+        modificationTime = modificationTime,
+        thumbnailFilePath = null,
+        previewFilePath = null,
+        fileTypeInfo = VideoFileTypeInfo(
+            mimeType = "video/mp4",
+            extension = "mp4",
+            duration = 10.seconds,
+        ),
+    )
+}
@@ -0,0 +1,178 @@
+package mega.privacy.android.domain.usecase.appstart
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.appstart.AppStartTaskTrace
+import mega.privacy.android.domain.repository.monitoring.AppStartTraceRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.inOrder
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import kotlin.coroutines.ContinuationInterceptor
+import kotlin.reflect.KClass
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RunAppStartTasksUseCaseTest {
+
+    private lateinit var underTest: RunAppStartTasksUseCase
+
+    private val appStartTraceRepository = mock<AppStartTraceRepository>()
+
+    private val mainDispatcher = UnconfinedTestDispatcher(name = "main")
+    private val ioDispatcher = UnconfinedTestDispatcher(name = "io")
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(appStartTraceRepository)
+    }
+
+    private fun initUnderTest(vararg tasks: AppStartTask) {
+        underTest = RunAppStartTasksUseCase(
+            appStartTasks = tasks.toSet(),
+            appStartTraceRepository = appStartTraceRepository,
+            mainDispatcher = mainDispatcher,
+            ioDispatcher = ioDispatcher,
+        )
+    }
+
+    @Test
+    fun `test that a task runs after its dependencies`() = runTest {
+        val executed = mutableListOf<String>()
+        initUnderTest(
+            FirstTask(dependencies = setOf(SecondTask::class, ThirdTask::class)) {
+                executed.add("first")
+            },
+            SecondTask(dependencies = setOf(ThirdTask::class)) { executed.add("second") },
+            ThirdTask { executed.add("third") },
+        )
+
+        underTest()
+
+        assertThat(executed).containsExactly("third", "second", "first").inOrder()
+    }
+
+    @Test
+    fun `test that independent tasks run in parallel`() = runTest {
+        val secondTaskStarted = CompletableDeferred<Unit>()
+        initUnderTest(
+            FirstTask { secondTaskStarted.await() },
+            SecondTask { secondTaskStarted.complete(Unit) },
+        )
+
+        val traces = underTest()
+
+        assertThat(traces.map { it.isSuccess }).containsExactly(true, true)
+    }
+
+    @Test
+    fun `test that tasks run in the dispatcher of their thread`() = runTest {
+        val dispatchers = mutableMapOf<String, CoroutineDispatcher?>()
+        initUnderTest(
+            FirstTask(isMainThreadRequired = true) {
+                dispatchers["first"] = currentDispatcher()
+            },
+            SecondTask { dispatchers["second"] = currentDispatcher() },
+        )
+
+        val traces = underTest()
+
+        assertThat(dispatchers).containsExactly("first", mainDispatcher, "second", ioDispatcher)
+        assertThat(traces.map { it.isMainThread }).containsExactly(true, false).inOrder()
+    }
+
+    @Test
+    fun `test that a failed task does not stop its dependent tasks`() = runTest {
+        var isSecondTaskExecuted = false
+        val error = RuntimeException()
+        initUnderTest(
+            FirstTask { throw error },
+            SecondTask(dependencies = setOf(FirstTask::class)) { isSecondTaskExecuted = true },
+        )
+
+        val traces = underTest()
+
+        assertThat(isSecondTaskExecuted).isTrue()
+        assertThat(traces.map { it.taskName to it.isSuccess })
+            .containsExactly("FirstTask" to false, "SecondTask" to true)
+            .inOrder()
+        assertThat(traces.first().error).isSameInstanceAs(error)
+    }
+
+    @Test
+    fun `test that every task is recorded in the startup trace`() = runTest {
+        initUnderTest(FirstTask {}, SecondTask {})
+
+        val traces = underTest()
+
+        val taskTraceCaptor = argumentCaptor<AppStartTaskTrace>()
+        verify(appStartTraceRepository, times(2)).recordTaskTrace(taskTraceCaptor.capture())
+        assertThat(taskTraceCaptor.allValues).containsExactlyElementsIn(traces)
+        inOrder(appStartTraceRepository) {
+            verify(appStartTraceRepository)
+                .startSection(RunAppStartTasksUseCase.APP_START_TASKS_SECTION, 0)
+            verify(appStartTraceRepository)
+                .startSection(RunAppStartTasksUseCase.APP_START_TASK_SECTION_PREFIX + "FirstTask", 1)
+            verify(appStartTraceRepository)
+                .stopSection(RunAppStartTasksUseCase.APP_START_TASK_SECTION_PREFIX + "FirstTask", 1)
+            verify(appStartTraceRepository)
+                .stopSection(RunAppStartTasksUseCase.APP_START_TASKS_SECTION, 0)
+        }
+        verify(appStartTraceRepository)
+            .stopSection(RunAppStartTasksUseCase.APP_START_TASK_SECTION_PREFIX + "SecondTask", 2)
+    }
+
+    @Test
+    fun `test that circular dependencies throw an exception without running any task`() =
+        runTest {
+            var isTaskExecuted = false
+            initUnderTest(
+                FirstTask(dependencies = setOf(SecondTask::class)) { isTaskExecuted = true },
+                SecondTask(dependencies = setOf(FirstTask::class)) { isTaskExecuted = true },
+            )
+
+            assertThat(runCatching { underTest() }.exceptionOrNull())
+                .isInstanceOf(IllegalStateException::class.java)
+            assertThat(isTaskExecuted).isFalse()
+            verify(appStartTraceRepository, never()).startSection(any(), any())
+        }
+
+    private suspend fun currentDispatcher() =
+        currentCoroutineContext()[ContinuationInterceptor] as? CoroutineDispatcher
+
+    private open class TestTask(
+        override val dependencies: Set<KClass<out AppStartTask>>,
+        override val isMainThreadRequired: Boolean,
+        private val block: suspend () -> Unit,
+    ) : AppStartTask {
+        override suspend fun invoke() = block()
+    }
+
+    private class FirstTask(
+        dependencies: Set<KClass<out AppStartTask>> = emptySet(),
+        isMainThreadRequired: Boolean = false,
+        block: suspend () -> Unit,
+    ) : TestTask(dependencies, isMainThreadRequired, block)
+
+    private class SecondTask(
+        dependencies: Set<KClass<out AppStartTask>> = emptySet(),
+        isMainThreadRequired: Boolean = false,
+        block: suspend () -> Unit,
+    ) : TestTask(dependencies, isMainThreadRequired, block)
+
+    private class ThirdTask(
+        dependencies: Set<KClass<out AppStartTask>> = emptySet(),
+        isMainThreadRequired: Boolean = false,
+        block: suspend () -> Unit,
+    ) : TestTask(dependencies, isMainThreadRequired, block)
+}
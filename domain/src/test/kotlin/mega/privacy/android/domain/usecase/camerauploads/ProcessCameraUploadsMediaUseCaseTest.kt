@@ -4,20 +4,25 @@ import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMediaScanResult
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.repository.CameraUploadsRepository
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.DisplayName
 import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.eq
+import org.mockito.kotlin.inOrder
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.stub
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.util.stream.Stream
@@ -33,6 +38,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
     private val isMediaUploadsEnabledUseCase = mock<IsMediaUploadsEnabledUseCase>()
     private val retrieveMediaFromMediaStoreUseCase = mock<RetrieveMediaFromMediaStoreUseCase>()
     private val saveCameraUploadsRecordUseCase = mock<SaveCameraUploadsRecordUseCase>()
+    private val cameraUploadsRepository = mock<CameraUploadsRepository>()
 
     @BeforeAll
     fun setUp() {
@@ -43,6 +49,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             isMediaUploadsEnabledUseCase = isMediaUploadsEnabledUseCase,
             retrieveMediaFromMediaStoreUseCase = retrieveMediaFromMediaStoreUseCase,
             saveCameraUploadsRecordUseCase = saveCameraUploadsRecordUseCase,
+            cameraUploadsRepository = cameraUploadsRepository,
         )
     }
 
@@ -55,7 +62,11 @@ class ProcessCameraUploadsMediaUseCaseTest {
             isMediaUploadsEnabledUseCase,
             retrieveMediaFromMediaStoreUseCase,
             saveCameraUploadsRecordUseCase,
+            cameraUploadsRepository,
         )
+        cameraUploadsRepository.stub {
+            onBlocking { getAllCameraUploadsRecords() }.thenReturn(emptyList())
+        }
     }
 
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -74,8 +85,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
             val (photoFileTypes, videoFileTypes) = mediaStoreFileType.partition { it.isImageFileType() }
@@ -83,18 +94,20 @@ class ProcessCameraUploadsMediaUseCaseTest {
             underTest("tempRoot")
 
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                primaryFolderPath,
-                photoFileTypes,
-                folderType,
-                fileType,
-                tempRoot,
+                eq(primaryFolderPath),
+                eq(photoFileTypes),
+                eq(folderType),
+                eq(fileType),
+                eq(tempRoot),
+                any(),
             )
             verify(retrieveMediaFromMediaStoreUseCase, never()).invoke(
-                primaryFolderPath,
-                videoFileTypes,
-                folderType,
-                fileType,
-                tempRoot,
+                eq(primaryFolderPath),
+                eq(videoFileTypes),
+                eq(folderType),
+                eq(fileType),
+                eq(tempRoot),
+                any(),
             )
         }
 
@@ -108,8 +121,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
             val (photoFileTypes, videoFileTypes) = mediaStoreFileType.partition { it.isImageFileType() }
@@ -117,18 +130,20 @@ class ProcessCameraUploadsMediaUseCaseTest {
             underTest("tempRoot")
 
             verify(retrieveMediaFromMediaStoreUseCase, never()).invoke(
-                primaryFolderPath,
-                photoFileTypes,
-                folderType,
-                CameraUploadsRecordType.TYPE_PHOTO,
-                tempRoot,
+                eq(primaryFolderPath),
+                eq(photoFileTypes),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_PHOTO),
+                eq(tempRoot),
+                any(),
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                primaryFolderPath,
-                videoFileTypes,
-                folderType,
-                CameraUploadsRecordType.TYPE_VIDEO,
-                tempRoot,
+                eq(primaryFolderPath),
+                eq(videoFileTypes),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_VIDEO),
+                eq(tempRoot),
+                any(),
             )
         }
 
@@ -142,8 +157,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
             val types = mediaStoreFileType.partition { it.isImageFileType() }
@@ -151,18 +166,20 @@ class ProcessCameraUploadsMediaUseCaseTest {
             underTest("tempRoot")
 
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                primaryFolderPath,
-                types.first,
-                folderType,
-                CameraUploadsRecordType.TYPE_PHOTO,
-                tempRoot,
+                eq(primaryFolderPath),
+                eq(types.first),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_PHOTO),
+                eq(tempRoot),
+                any(),
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                primaryFolderPath,
-                types.second,
-                folderType,
-                CameraUploadsRecordType.TYPE_VIDEO,
-                tempRoot,
+                eq(primaryFolderPath),
+                eq(types.second),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_VIDEO),
+                eq(tempRoot),
+                any(),
             )
         }
 
@@ -175,8 +192,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val secondaryFolderPath = "secondaryFolderPath"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -188,6 +205,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 any(),
                 any(),
                 any(),
+                any(),
             )
         }
 
@@ -202,8 +220,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -212,18 +230,20 @@ class ProcessCameraUploadsMediaUseCaseTest {
             underTest("tempRoot")
 
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                secondaryFolderPath,
-                types.first,
-                folderType,
-                CameraUploadsRecordType.TYPE_PHOTO,
-                tempRoot,
+                eq(secondaryFolderPath),
+                eq(types.first),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_PHOTO),
+                eq(tempRoot),
+                any(),
             )
             verify(retrieveMediaFromMediaStoreUseCase, never()).invoke(
-                secondaryFolderPath,
-                types.second,
-                folderType,
-                CameraUploadsRecordType.TYPE_VIDEO,
-                tempRoot
+                eq(secondaryFolderPath),
+                eq(types.second),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_VIDEO),
+                eq(tempRoot),
+                any(),
             )
         }
 
@@ -238,8 +258,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -248,18 +268,20 @@ class ProcessCameraUploadsMediaUseCaseTest {
             underTest("tempRoot")
 
             verify(retrieveMediaFromMediaStoreUseCase, never()).invoke(
-                secondaryFolderPath,
-                types.first,
-                folderType,
-                CameraUploadsRecordType.TYPE_PHOTO,
-                tempRoot,
+                eq(secondaryFolderPath),
+                eq(types.first),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_PHOTO),
+                eq(tempRoot),
+                any(),
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                secondaryFolderPath,
-                types.second,
-                folderType,
-                CameraUploadsRecordType.TYPE_VIDEO,
-                tempRoot,
+                eq(secondaryFolderPath),
+                eq(types.second),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_VIDEO),
+                eq(tempRoot),
+                any(),
             )
         }
 
@@ -274,8 +296,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -284,18 +306,20 @@ class ProcessCameraUploadsMediaUseCaseTest {
             underTest("tempRoot")
 
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                secondaryFolderPath,
-                types.first,
-                folderType,
-                CameraUploadsRecordType.TYPE_PHOTO,
-                tempRoot,
+                eq(secondaryFolderPath),
+                eq(types.first),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_PHOTO),
+                eq(tempRoot),
+                any(),
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
-                secondaryFolderPath,
-                types.second,
-                folderType,
-                CameraUploadsRecordType.TYPE_VIDEO,
-                tempRoot,
+                eq(secondaryFolderPath),
+                eq(types.second),
+                eq(folderType),
+                eq(CameraUploadsRecordType.TYPE_VIDEO),
+                eq(tempRoot),
+                any(),
             )
         }
     }
@@ -338,40 +362,44 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
                 whenever(
                     retrieveMediaFromMediaStoreUseCase(
-                        primaryFolderPath,
-                        types.first,
-                        primaryFolderType,
-                        photoRecordType,
-                        tempRoot
+                        eq(primaryFolderPath),
+                        eq(types.first),
+                        eq(primaryFolderType),
+                        eq(photoRecordType),
+                        eq(tempRoot),
+                        any(),
                     )
-                ).thenReturn(photoPrimaryRecordList)
+                ).thenReturn(CameraUploadsMediaScanResult(photoPrimaryRecordList, null))
                 whenever(
                     retrieveMediaFromMediaStoreUseCase(
-                        primaryFolderPath,
-                        types.second,
-                        primaryFolderType,
-                        videoRecordType,
-                        tempRoot
+                        eq(primaryFolderPath),
+                        eq(types.second),
+                        eq(primaryFolderType),
+                        eq(videoRecordType),
+                        eq(tempRoot),
+                        any(),
                     )
-                ).thenReturn(videoPrimaryRecordList)
+                ).thenReturn(CameraUploadsMediaScanResult(videoPrimaryRecordList, null))
                 whenever(
                     retrieveMediaFromMediaStoreUseCase(
-                        secondaryFolderPath,
-                        types.first,
-                        secondaryFolderType,
-                        photoRecordType,
-                        tempRoot
+                        eq(secondaryFolderPath),
+                        eq(types.first),
+                        eq(secondaryFolderType),
+                        eq(photoRecordType),
+                        eq(tempRoot),
+                        any(),
                     )
-                ).thenReturn(photoSecondaryRecordList)
+                ).thenReturn(CameraUploadsMediaScanResult(photoSecondaryRecordList, null))
                 whenever(
                     retrieveMediaFromMediaStoreUseCase(
-                        secondaryFolderPath,
-                        types.second,
-                        secondaryFolderType,
-                        videoRecordType,
-                        tempRoot
+                        eq(secondaryFolderPath),
+                        eq(types.second),
+                        eq(secondaryFolderType),
+                        eq(videoRecordType),
+                        eq(tempRoot),
+                        any(),
                     )
-                ).thenReturn(videoSecondaryRecordList)
+                ).thenReturn(CameraUploadsMediaScanResult(videoSecondaryRecordList, null))
                 whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
                 whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -383,6 +411,77 @@ class ProcessCameraUploadsMediaUseCaseTest {
             }
     }
 
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @Nested
+    @DisplayName("test that the scan cursors are saved")
+    inner class ScanCursorSaved {
+
+        @Test
+        fun `test that the scan cursor of each scan is saved after the records are saved`() =
+            runTest {
+                val primaryFolderPath = "primaryFolderPath"
+                val tempRoot = "tempRoot"
+                val photoTypes = listOf(MediaStoreFileType.IMAGES_EXTERNAL)
+                val videoTypes = listOf(MediaStoreFileType.VIDEO_EXTERNAL)
+                val photoRecords = listOf<CameraUploadsRecord>(mock())
+                whenever(getMediaStoreFileTypesUseCase()).thenReturn(photoTypes + videoTypes)
+                whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
+                whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
+                whenever(
+                    retrieveMediaFromMediaStoreUseCase(
+                        eq(primaryFolderPath),
+                        eq(photoTypes),
+                        eq(CameraUploadFolderType.Primary),
+                        eq(CameraUploadsRecordType.TYPE_PHOTO),
+                        eq(tempRoot),
+                        any(),
+                    )
+                ).thenReturn(CameraUploadsMediaScanResult(photoRecords, 1000L))
+                whenever(
+                    retrieveMediaFromMediaStoreUseCase(
+                        eq(primaryFolderPath),
+                        eq(videoTypes),
+                        eq(CameraUploadFolderType.Primary),
+                        eq(CameraUploadsRecordType.TYPE_VIDEO),
+                        eq(tempRoot),
+                        any(),
+                    )
+                ).thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
+
+                underTest(tempRoot)
+
+                inOrder(saveCameraUploadsRecordUseCase, cameraUploadsRepository) {
+                    verify(saveCameraUploadsRecordUseCase).invoke(photoRecords)
+                    verify(cameraUploadsRepository).setMediaStoreScanCursor(
+                        CameraUploadFolderType.Primary,
+                        CameraUploadsRecordType.TYPE_PHOTO,
+                        1000L,
+                    )
+                }
+                verify(cameraUploadsRepository, never()).setMediaStoreScanCursor(
+                    eq(CameraUploadFolderType.Primary),
+                    eq(CameraUploadsRecordType.TYPE_VIDEO),
+                    any(),
+                )
+            }
+
+        @Test
+        fun `test that the records saved in the database are only retrieved once`() = runTest {
+            whenever(getMediaStoreFileTypesUseCase()).thenReturn(
+                listOf(MediaStoreFileType.IMAGES_EXTERNAL, MediaStoreFileType.VIDEO_EXTERNAL)
+            )
+            whenever(getPrimaryFolderPathUseCase()).thenReturn("primaryFolderPath")
+            whenever(getSecondaryFolderPathUseCase()).thenReturn("secondaryFolderPath")
+            whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CameraUploadsMediaScanResult(emptyList(), null))
+
+            underTest("tempRoot")
+
+            verify(cameraUploadsRepository).getAllCameraUploadsRecords()
+        }
+    }
+
     companion object {
         @JvmStatic
         fun provideImageMediaStoreFileTypeParameters(): Stream<Arguments> = Stream.of(
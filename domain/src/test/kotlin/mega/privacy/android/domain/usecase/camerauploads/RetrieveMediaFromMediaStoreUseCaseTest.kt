@@ -8,14 +8,19 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordIndex
 import mega.privacy.android.domain.repository.CameraUploadsRepository
+import mega.privacy.android.domain.usecase.GetDeviceCurrentTimeUseCase
 import mega.privacy.android.domain.usecase.camerauploads.mapper.CameraUploadsRecordMapper
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
 /**
@@ -29,12 +34,16 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
 
     private val cameraUploadsRepository = mock<CameraUploadsRepository>()
     private val cameraUploadsRecordMapper = mock<CameraUploadsRecordMapper>()
+    private val getDeviceCurrentTimeUseCase = mock<GetDeviceCurrentTimeUseCase>()
+
+    private val emptyRecordIndex = CameraUploadsRecordIndex(emptyList())
 
     @BeforeAll
     fun setUp() {
         underTest = RetrieveMediaFromMediaStoreUseCase(
             cameraUploadsRepository = cameraUploadsRepository,
             cameraUploadsRecordMapper = cameraUploadsRecordMapper,
+            getDeviceCurrentTimeUseCase = getDeviceCurrentTimeUseCase,
         )
     }
 
@@ -43,7 +52,9 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
         reset(
             cameraUploadsRepository,
             cameraUploadsRecordMapper,
+            getDeviceCurrentTimeUseCase,
         )
+        whenever(getDeviceCurrentTimeUseCase()).thenReturn(NOW)
     }
 
     @Test
@@ -53,7 +64,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             val mediaStoreFileType1 = mock<MediaStoreFileType>()
             val mediaStoreFileType2 = mock<MediaStoreFileType>()
             val types = listOf(mediaStoreFileType1, mediaStoreFileType2)
-            val folderType = mock<CameraUploadFolderType>()
+            val folderType = CameraUploadFolderType.Primary
             val fileType = mock<CameraUploadsRecordType>()
             val tempRoot = "tempRoot"
             val selectionQuery = "selectionQuery"
@@ -103,12 +114,12 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
                 )
             }
 
-            whenever(cameraUploadsRepository.getAllCameraUploadsRecords()).thenReturn(emptyList())
-
             val expected = cameraUploadsRecordList1 + cameraUploadsRecordList2
 
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
-                .isEqualTo(expected)
+            assertThat(
+                underTest(parentPath, types, folderType, fileType, tempRoot, emptyRecordIndex)
+                    .records
+            ).isEqualTo(expected)
         }
 
     @Test
@@ -118,7 +129,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             val mediaStoreFileType1 = mock<MediaStoreFileType>()
             val mediaStoreFileType2 = mock<MediaStoreFileType>()
             val types = listOf(mediaStoreFileType1, mediaStoreFileType2)
-            val folderType = mock<CameraUploadFolderType>()
+            val folderType = CameraUploadFolderType.Primary
             val fileType = mock<CameraUploadsRecordType>()
             val tempRoot = "tempRoot"
             val selectionQuery = "selectionQuery"
@@ -167,10 +178,10 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
                 )
             }
 
-            whenever(cameraUploadsRepository.getAllCameraUploadsRecords()).thenReturn(emptyList())
-
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
-                .isEqualTo(cameraUploadsRecordList1)
+            assertThat(
+                underTest(parentPath, types, folderType, fileType, tempRoot, emptyRecordIndex)
+                    .records
+            ).isEqualTo(cameraUploadsRecordList1)
         }
 
     @Test
@@ -179,7 +190,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             val parentPath = ""
             val mediaStoreFileType1 = mock<MediaStoreFileType>()
             val types = listOf(mediaStoreFileType1)
-            val folderType = mock<CameraUploadFolderType>()
+            val folderType = CameraUploadFolderType.Primary
             val fileType = mock<CameraUploadsRecordType>()
             val tempRoot = "tempRoot"
             val selectionQuery = "selectionQuery"
@@ -211,14 +222,190 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
                 )
             }
 
-            whenever(cameraUploadsRepository.getAllCameraUploadsRecords())
-                .thenReturn(listOf(cameraUploadsRecord1))
+            val expected = listOf(cameraUploadsRecordList1[1])
+
+            assertThat(
+                underTest(
+                    parentPath,
+                    types,
+                    folderType,
+                    fileType,
+                    tempRoot,
+                    CameraUploadsRecordIndex(listOf(cameraUploadsRecord1)),
+                ).records
+            ).isEqualTo(expected)
+        }
+
+    @Test
+    fun `test that the media are not filtered out if the existing record belongs to another folder type`() =
+        runTest {
+            val parentPath = ""
+            val mediaStoreFileType1 = mock<MediaStoreFileType>()
+            val fileType = mock<CameraUploadsRecordType>()
+            val tempRoot = "tempRoot"
+            val selectionQuery = "selectionQuery"
+            val media = mock<CameraUploadsMedia> {
+                on { mediaId }.thenReturn(1111L)
+                on { timestamp }.thenReturn(1234L)
+            }
+            val existingRecord = mock<CameraUploadsRecord> {
+                on { mediaId }.thenReturn(1111L)
+                on { timestamp }.thenReturn(1234L)
+                on { folderType }.thenReturn(CameraUploadFolderType.Secondary)
+            }
+            val record = mock<CameraUploadsRecord>()
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
+                .thenReturn(selectionQuery)
+            whenever(cameraUploadsRepository.getMediaList(mediaStoreFileType1, selectionQuery))
+                .thenReturn(listOf(media))
+            whenever(
+                cameraUploadsRecordMapper(media, CameraUploadFolderType.Primary, fileType, tempRoot)
+            ).thenReturn(record)
+
+            assertThat(
+                underTest(
+                    parentPath,
+                    listOf(mediaStoreFileType1),
+                    CameraUploadFolderType.Primary,
+                    fileType,
+                    tempRoot,
+                    CameraUploadsRecordIndex(listOf(existingRecord)),
+                ).records
+            ).containsExactly(record)
+        }
 
+    @Test
+    fun `test that the incremental selection query is used when a scan cursor exists`() =
+        runTest {
+            val parentPath = "parentPath"
+            val mediaStoreFileType1 = mock<MediaStoreFileType>()
+            val folderType = CameraUploadFolderType.Primary
+            val fileType = CameraUploadsRecordType.TYPE_PHOTO
+            val scanCursor = 1000L
+            val incrementalSelectionQuery = "incrementalSelectionQuery"
+            whenever(cameraUploadsRepository.getMediaStoreScanCursor(folderType, fileType))
+                .thenReturn(scanCursor)
+            whenever(
+                cameraUploadsRepository.getIncrementalMediaSelectionQuery(parentPath, scanCursor)
+            ).thenReturn(incrementalSelectionQuery)
+            whenever(
+                cameraUploadsRepository.getMediaList(
+                    mediaStoreFileType1,
+                    incrementalSelectionQuery
+                )
+            ).thenReturn(emptyList())
 
-            val expected =
-                cameraUploadsRecordList1.filterNot { it.mediaId == 1111L && it.timestamp == 1234L }
+            val actual = underTest(
+                parentPath,
+                listOf(mediaStoreFileType1),
+                folderType,
+                fileType,
+                "tempRoot",
+                emptyRecordIndex,
+            )
 
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
-                .isEqualTo(expected)
+            verify(cameraUploadsRepository, never()).getMediaSelectionQuery(any())
+            assertThat(actual.scanCursor).isEqualTo(scanCursor)
         }
+
+    @Test
+    fun `test that the scan cursor returned is the most recent timestamp of the media retrieved`() =
+        runTest {
+            val parentPath = ""
+            val mediaStoreFileType1 = mock<MediaStoreFileType>()
+            val folderType = CameraUploadFolderType.Primary
+            val fileType = CameraUploadsRecordType.TYPE_PHOTO
+            val tempRoot = "tempRoot"
+            val selectionQuery = "selectionQuery"
+            val existingMedia = CameraUploadsMedia(1L, "name1", "path1", 3000L)
+            val newMedia = CameraUploadsMedia(2L, "name2", "path2", 2000L)
+            val existingRecord = mock<CameraUploadsRecord> {
+                on { mediaId }.thenReturn(1L)
+                on { timestamp }.thenReturn(3000L)
+                on { this.folderType }.thenReturn(folderType)
+            }
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
+                .thenReturn(selectionQuery)
+            whenever(cameraUploadsRepository.getMediaList(mediaStoreFileType1, selectionQuery))
+                .thenReturn(listOf(newMedia, existingMedia))
+            whenever(cameraUploadsRecordMapper(newMedia, folderType, fileType, tempRoot))
+                .thenReturn(mock())
+
+            val actual = underTest(
+                parentPath,
+                listOf(mediaStoreFileType1),
+                folderType,
+                fileType,
+                tempRoot,
+                CameraUploadsRecordIndex(listOf(existingRecord)),
+            )
+
+            assertThat(actual.scanCursor).isEqualTo(3000L)
+        }
+
+    @Test
+    fun `test that the scan cursor returned does not move past the oldest media that could not be processed`() =
+        runTest {
+            val parentPath = ""
+            val mediaStoreFileType1 = mock<MediaStoreFileType>()
+            val folderType = CameraUploadFolderType.Primary
+            val fileType = CameraUploadsRecordType.TYPE_PHOTO
+            val tempRoot = "tempRoot"
+            val selectionQuery = "selectionQuery"
+            val failedMedia = CameraUploadsMedia(1L, "name1", "path1", 2000L)
+            val processedMedia = CameraUploadsMedia(2L, "name2", "path2", 3000L)
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
+                .thenReturn(selectionQuery)
+            whenever(cameraUploadsRepository.getMediaList(mediaStoreFileType1, selectionQuery))
+                .thenReturn(listOf(failedMedia, processedMedia))
+            whenever(cameraUploadsRecordMapper(failedMedia, folderType, fileType, tempRoot))
+                .thenReturn(null)
+            whenever(cameraUploadsRecordMapper(processedMedia, folderType, fileType, tempRoot))
+                .thenReturn(mock())
+
+            val actual = underTest(
+                parentPath,
+                listOf(mediaStoreFileType1),
+                folderType,
+                fileType,
+                tempRoot,
+                emptyRecordIndex,
+            )
+
+            assertThat(actual.scanCursor).isEqualTo(2000L)
+        }
+
+    @Test
+    fun `test that the scan cursor returned does not move past the current time`() =
+        runTest {
+            val parentPath = ""
+            val mediaStoreFileType1 = mock<MediaStoreFileType>()
+            val folderType = CameraUploadFolderType.Primary
+            val fileType = CameraUploadsRecordType.TYPE_PHOTO
+            val tempRoot = "tempRoot"
+            val selectionQuery = "selectionQuery"
+            val media = CameraUploadsMedia(1L, "name1", "path1", 2000L)
+            val futureMedia = CameraUploadsMedia(2L, "name2", "path2", NOW + 5000L)
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
+                .thenReturn(selectionQuery)
+            whenever(cameraUploadsRepository.getMediaList(mediaStoreFileType1, selectionQuery))
+                .thenReturn(listOf(media, futureMedia))
+            whenever(cameraUploadsRecordMapper(any(), any(), any(), any()))
+                .thenReturn(mock())
+
+            val actual = underTest(
+                parentPath,
+                listOf(mediaStoreFileType1),
+                folderType,
+                fileType,
+                tempRoot,
+                emptyRecordIndex,
+            )
+
+            assertThat(actual.scanCursor).isEqualTo(NOW)
+        }
+
+    companion object {
+        private const val NOW = 10_000L
+    }
 }
@@ -28,6 +28,7 @@ import mega.privacy.android.domain.exception.NotEnoughStorageException
 import mega.privacy.android.domain.repository.FileSystemRepository
 import mega.privacy.android.domain.usecase.CreateTempFileAndRemoveCoordinatesUseCase
 import mega.privacy.android.domain.usecase.GetNodeByIdUseCase
+import mega.privacy.android.domain.usecase.camerauploads.concurrency.UploadConcurrencyController
 import mega.privacy.android.domain.usecase.environment.GetAvailableProcessorsUseCase
 import mega.privacy.android.domain.usecase.environment.MonitorBatteryInfoUseCase
 import mega.privacy.android.domain.usecase.file.GetFingerprintUseCase
@@ -40,6 +41,7 @@ import mega.privacy.android.domain.usecase.thumbnailpreview.DeletePreviewUseCase
 import mega.privacy.android.domain.usecase.thumbnailpreview.DeleteThumbnailUseCase
 import mega.privacy.android.domain.usecase.transfers.uploads.StartUploadUseCase
 import mega.privacy.android.domain.usecase.video.CompressVideoUseCase
+import mega.privacy.android.domain.usecase.video.GetMaxConcurrentVideoCompressionsUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Nested
@@ -92,6 +94,9 @@ internal class UploadCameraUploadsRecordsUseCaseTest {
         mock()
     private val monitorConcurrentUploadsLimitUseCase: MonitorConcurrentUploadsLimitUseCase = mock()
     private val getAvailableProcessorsUseCase: GetAvailableProcessorsUseCase = mock()
+    private val uploadConcurrencyController: UploadConcurrencyController = mock()
+    private val getMaxConcurrentVideoCompressionsUseCase =
+        mock<GetMaxConcurrentVideoCompressionsUseCase>()
 
     private val primaryUploadNodeId = NodeId(1111L)
     private val secondaryUploadNodeId = NodeId(2222L)
@@ -144,6 +149,8 @@ internal class UploadCameraUploadsRecordsUseCaseTest {
             isChargingRequiredForVideoCompressionUseCase = isChargingRequiredForVideoCompressionUseCase,
             monitorConcurrentUploadsLimitUseCase = monitorConcurrentUploadsLimitUseCase,
             getAvailableProcessorsUseCase = getAvailableProcessorsUseCase,
+            uploadConcurrencyController = uploadConcurrencyController,
+            getMaxConcurrentVideoCompressionsUseCase = getMaxConcurrentVideoCompressionsUseCase,
         )
     }
 
@@ -170,6 +177,8 @@ internal class UploadCameraUploadsRecordsUseCaseTest {
             getNodeByIdUseCase,
             monitorConcurrentUploadsLimitUseCase,
             getAvailableProcessorsUseCase,
+            uploadConcurrencyController,
+            getMaxConcurrentVideoCompressionsUseCase,
         )
     }
 
@@ -180,6 +189,10 @@ internal class UploadCameraUploadsRecordsUseCaseTest {
         whenever(monitorBatteryInfoUseCase()).thenReturn(flowOf(BatteryInfo(100, true)))
         whenever(monitorConcurrentUploadsLimitUseCase(8)).thenReturn(flowOf(8))
         whenever(getAvailableProcessorsUseCase()).thenReturn(8)
+        whenever(uploadConcurrencyController.getMaxLimit(8)).thenReturn(8)
+        whenever(uploadConcurrencyController.monitorConcurrentUploadsLimit(8))
+            .thenReturn(flowOf(8))
+        whenever(getMaxConcurrentVideoCompressionsUseCase()).thenReturn(2)
     }
 
     private fun getUploadNodeId(cameraUploadFolderType: CameraUploadFolderType) =
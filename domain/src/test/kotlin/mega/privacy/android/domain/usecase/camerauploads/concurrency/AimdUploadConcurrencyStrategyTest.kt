@@ -0,0 +1,107 @@
+package mega.privacy.android.domain.usecase.camerauploads.concurrency
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.camerauploads.UploadConcurrencySample
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AimdUploadConcurrencyStrategyTest {
+
+    private lateinit var underTest: AimdUploadConcurrencyStrategy
+
+    private val maxLimit = 16
+
+    @BeforeAll
+    fun setUp() {
+        underTest = AimdUploadConcurrencyStrategy()
+    }
+
+    private fun createSample(
+        limit: Int = 8,
+        activeUploads: Int = limit,
+        uploadSpeed: Long = 1_000_000L,
+        completedUploads: Int = 10,
+        averageUploadLatency: Long? = 2_000L,
+        temporaryErrors: Int = 0,
+    ) = UploadConcurrencySample(
+        concurrentUploadsLimit = limit,
+        activeUploads = activeUploads,
+        uploadSpeed = uploadSpeed,
+        completedUploads = completedUploads,
+        averageUploadLatency = averageUploadLatency,
+        temporaryErrors = temporaryErrors,
+    )
+
+    @Test
+    fun `test that the max limit is twice the default limit`() {
+        assertThat(underTest.getMaxLimit(8)).isEqualTo(16)
+    }
+
+    @Test
+    fun `test that the limit is increased by one when there is no previous sample`() {
+        assertThat(underTest.getNextLimit(createSample(), null, maxLimit)).isEqualTo(9)
+    }
+
+    @Test
+    fun `test that the limit is increased by one when the upload speed grows with the limit`() {
+        val previousSample = createSample(limit = 8, uploadSpeed = 1_000_000L)
+        val sample = createSample(limit = 9, uploadSpeed = 1_200_000L)
+
+        assertThat(underTest.getNextLimit(sample, previousSample, maxLimit)).isEqualTo(10)
+    }
+
+    @Test
+    fun `test that the limit is not increased above the max limit`() {
+        val previousSample = createSample(limit = 15, uploadSpeed = 1_000_000L)
+        val sample = createSample(limit = 16, uploadSpeed = 1_200_000L)
+
+        assertThat(underTest.getNextLimit(sample, previousSample, maxLimit)).isEqualTo(16)
+    }
+
+    @Test
+    fun `test that the limit is kept when the upload speed does not grow after an increase`() {
+        val previousSample = createSample(limit = 8, uploadSpeed = 1_000_000L)
+        val sample = createSample(limit = 9, uploadSpeed = 1_010_000L)
+
+        assertThat(underTest.getNextLimit(sample, previousSample, maxLimit)).isEqualTo(9)
+    }
+
+    @Test
+    fun `test that the limit is kept when fewer uploads than the limit are active`() {
+        val sample = createSample(limit = 8, activeUploads = 3)
+
+        assertThat(underTest.getNextLimit(sample, null, maxLimit)).isEqualTo(8)
+    }
+
+    @Test
+    fun `test that the limit is halved when the temporary error rate is too high`() {
+        val sample = createSample(limit = 8, completedUploads = 6, temporaryErrors = 4)
+
+        assertThat(underTest.getNextLimit(sample, null, maxLimit)).isEqualTo(4)
+    }
+
+    @Test
+    fun `test that the limit is halved when the upload speed drops after an increase`() {
+        val previousSample = createSample(limit = 8, uploadSpeed = 1_000_000L)
+        val sample = createSample(limit = 9, uploadSpeed = 800_000L)
+
+        assertThat(underTest.getNextLimit(sample, previousSample, maxLimit)).isEqualTo(4)
+    }
+
+    @Test
+    fun `test that the limit is halved when the latency grows without any upload speed gain`() {
+        val previousSample = createSample(limit = 8, averageUploadLatency = 2_000L)
+        val sample = createSample(limit = 8, averageUploadLatency = 4_000L)
+
+        assertThat(underTest.getNextLimit(sample, previousSample, maxLimit)).isEqualTo(4)
+    }
+
+    @Test
+    fun `test that the limit is never decreased below one`() {
+        val sample = createSample(limit = 1, completedUploads = 0, temporaryErrors = 3)
+
+        assertThat(underTest.getNextLimit(sample, null, maxLimit)).isEqualTo(1)
+    }
+}
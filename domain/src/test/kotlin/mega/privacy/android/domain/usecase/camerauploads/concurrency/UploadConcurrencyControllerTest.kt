@@ -0,0 +1,165 @@
+package mega.privacy.android.domain.usecase.camerauploads.concurrency
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.camerauploads.UploadConcurrencySample
+import mega.privacy.android.domain.usecase.GetDeviceCurrentNanoTimeUseCase
+import mega.privacy.android.domain.usecase.transfers.uploads.GetCurrentUploadSpeedUseCase
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+import java.util.concurrent.TimeUnit
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UploadConcurrencyControllerTest {
+
+    private lateinit var underTest: UploadConcurrencyController
+
+    private val getCurrentUploadSpeedUseCase = mock<GetCurrentUploadSpeedUseCase>()
+    private val getDeviceCurrentNanoTimeUseCase = mock<GetDeviceCurrentNanoTimeUseCase>()
+
+    private val sampleInterval = 1_000L
+
+    /**
+     * Fake strategy recording the samples and applying the scripted limits
+     */
+    private inner class FakeUploadConcurrencyStrategy : UploadConcurrencyStrategy {
+        val samples = mutableListOf<Pair<UploadConcurrencySample, UploadConcurrencySample?>>()
+        var nextLimits = ArrayDeque<Int>()
+
+        override val sampleIntervalMillis = sampleInterval
+
+        override fun getMaxLimit(defaultLimit: Int) = defaultLimit * 2
+
+        override fun getNextLimit(
+            sample: UploadConcurrencySample,
+            previousSample: UploadConcurrencySample?,
+            maxLimit: Int,
+        ): Int {
+            samples.add(sample to previousSample)
+            return nextLimits.removeFirstOrNull() ?: sample.concurrentUploadsLimit
+        }
+    }
+
+    private lateinit var strategy: FakeUploadConcurrencyStrategy
+
+    @BeforeEach
+    fun setUp() {
+        reset(getCurrentUploadSpeedUseCase, getDeviceCurrentNanoTimeUseCase)
+        strategy = FakeUploadConcurrencyStrategy()
+        underTest = UploadConcurrencyController(
+            uploadConcurrencyStrategy = strategy,
+            getCurrentUploadSpeedUseCase = getCurrentUploadSpeedUseCase,
+            getDeviceCurrentNanoTimeUseCase = getDeviceCurrentNanoTimeUseCase,
+        )
+    }
+
+    @Test
+    fun `test that the max limit is retrieved from the strategy`() {
+        assertThat(underTest.getMaxLimit(4)).isEqualTo(8)
+    }
+
+    @Test
+    fun `test that the default limit is emitted first`() = runTest {
+        val limits = mutableListOf<Int>()
+        underTest.monitorConcurrentUploadsLimit(4)
+            .onEach { limits.add(it) }
+            .launchIn(backgroundScope)
+        runCurrent()
+
+        assertThat(limits).containsExactly(4)
+    }
+
+    @Test
+    fun `test that the limits decided by the strategy are emitted at every sample interval`() =
+        runTest {
+            whenever(getCurrentUploadSpeedUseCase()).thenReturn(1_000L)
+            strategy.nextLimits = ArrayDeque(listOf(5, 5, 2))
+            val limits = mutableListOf<Int>()
+            underTest.monitorConcurrentUploadsLimit(4)
+                .onEach { limits.add(it) }
+                .launchIn(backgroundScope)
+
+            advanceTimeBy(3 * sampleInterval + 1)
+
+            assertThat(limits).containsExactly(4, 5, 2).inOrder()
+            assertThat(strategy.samples.map { it.first.concurrentUploadsLimit })
+                .containsExactly(4, 5, 5).inOrder()
+        }
+
+    @Test
+    fun `test that the sample contains the upload speed, latency and errors reported during the interval`() =
+        runTest {
+            var nanoTime = 0L
+            whenever(getDeviceCurrentNanoTimeUseCase()).thenAnswer { nanoTime }
+            whenever(getCurrentUploadSpeedUseCase()).thenReturn(2_000L)
+            underTest.monitorConcurrentUploadsLimit(4).launchIn(backgroundScope)
+            runCurrent()
+
+            underTest.onUploadStarted("first")
+            underTest.onUploadStarted("second")
+            underTest.onUploadStarted("third")
+            nanoTime = TimeUnit.MILLISECONDS.toNanos(300)
+            underTest.onUploadFinished("first")
+            nanoTime = TimeUnit.MILLISECONDS.toNanos(500)
+            underTest.onUploadFinished("second")
+            underTest.onUploadTemporaryError()
+            advanceTimeBy(sampleInterval + 1)
+
+            assertThat(strategy.samples.single()).isEqualTo(
+                UploadConcurrencySample(
+                    concurrentUploadsLimit = 4,
+                    activeUploads = 1,
+                    uploadSpeed = 2_000L,
+                    completedUploads = 2,
+                    averageUploadLatency = 400L,
+                    temporaryErrors = 1,
+                ) to null
+            )
+        }
+
+    @Test
+    fun `test that the counters are reset after each sample`() = runTest {
+        whenever(getDeviceCurrentNanoTimeUseCase()).thenReturn(0L)
+        whenever(getCurrentUploadSpeedUseCase()).thenReturn(2_000L)
+        underTest.monitorConcurrentUploadsLimit(4).launchIn(backgroundScope)
+        runCurrent()
+
+        underTest.onUploadStarted("first")
+        underTest.onUploadFinished("first")
+        underTest.onUploadTemporaryError()
+        advanceTimeBy(2 * sampleInterval + 1)
+
+        val (sample, previousSample) = strategy.samples.last()
+        assertThat(previousSample?.completedUploads).isEqualTo(1)
+        assertThat(sample.completedUploads).isEqualTo(0)
+        assertThat(sample.averageUploadLatency).isNull()
+        assertThat(sample.temporaryErrors).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that stopped uploads are no longer active nor completed`() = runTest {
+        whenever(getDeviceCurrentNanoTimeUseCase()).thenReturn(0L)
+        whenever(getCurrentUploadSpeedUseCase()).thenReturn(2_000L)
+        underTest.monitorConcurrentUploadsLimit(4).launchIn(backgroundScope)
+        runCurrent()
+
+        underTest.onUploadStarted("first")
+        underTest.onUploadStarted("second")
+        underTest.onUploadStopped("first")
+        underTest.onUploadFinished("second")
+        underTest.onUploadStopped("second")
+        advanceTimeBy(sampleInterval + 1)
+
+        val sample = strategy.samples.single().first
+        assertThat(sample.activeUploads).isEqualTo(0)
+        assertThat(sample.completedUploads).isEqualTo(1)
+    }
+}
@@ -5,8 +5,10 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.emptyFlow
 import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.last
 import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.resetMain
@@ -14,6 +16,8 @@ import kotlinx.coroutines.test.runTest
 import kotlinx.coroutines.test.setMain
 import mega.privacy.android.data.mapper.chat.ChatRoomItemMapper
 import mega.privacy.android.domain.entity.call.ChatCall
+import mega.privacy.android.domain.entity.chat.ChatListItem
+import mega.privacy.android.domain.entity.chat.ChatListItemChanges
 import mega.privacy.android.domain.entity.chat.ChatRoomItem
 import mega.privacy.android.domain.entity.chat.CombinedChatRoom
 import mega.privacy.android.domain.entity.meeting.ChatRoomItemStatus
@@ -21,6 +25,7 @@ import mega.privacy.android.domain.repository.ChatRepository
 import mega.privacy.android.domain.repository.ContactsRepository
 import mega.privacy.android.domain.repository.NotificationsRepository
 import mega.privacy.android.domain.repository.PushesRepository
+import mega.privacy.android.domain.repository.chat.ChatListItemRepository
 import mega.privacy.android.domain.usecase.ChatRoomItemStatusMapper
 import mega.privacy.android.domain.usecase.contact.GetContactEmail
 import mega.privacy.android.domain.usecase.contact.GetUserOnlineStatusByHandleUseCase
@@ -63,6 +68,7 @@ internal class GetChatsUseCaseTest {
         mock<MonitorScheduledMeetingOccurrencesUpdatesUseCase>()
     private val notificationsRepository = mock<NotificationsRepository>()
     private val getArchivedChatRoomsUseCase = mock<GetArchivedChatRoomsUseCase>()
+    private val chatListItemRepository = FakeChatListItemRepository()
 
     private val lastMessage: suspend (Long) -> String = { "test" }
     private val lastTimeMapper: (Long) -> String = { "test" }
@@ -111,7 +117,8 @@ internal class GetChatsUseCaseTest {
             monitorScheduledMeetingUpdatesUseCase,
             monitorScheduledMeetingOccurrencesUpdatesUseCase,
             notificationsRepository,
-            getArchivedChatRoomsUseCase
+            getArchivedChatRoomsUseCase,
+            chatListItemRepository,
         )
 
         runBlocking {
@@ -359,4 +366,147 @@ internal class GetChatsUseCaseTest {
 
         verify(monitorChatCallUpdatesUseCase, times(1)).invoke()
     }
+
+    @Test
+    fun `test that a last message change only fetches the last message of that chat again`() =
+        runTest {
+            val chatRoomType = GetChatsUseCase.ChatRoomType.NON_MEETINGS
+            val updatedChatRoom = chatRooms.first()
+            val lastMessageCalls = mutableListOf<Long>()
+
+            whenever(chatRoomItemMapper(any())).thenAnswer {
+                val chatRoom = ((it.arguments[0]) as CombinedChatRoom)
+                ChatRoomItem.GroupChatRoomItem(chatId = chatRoom.chatId, title = chatRoom.title)
+            }
+            whenever(chatRepository.getCombinedChatRoom(updatedChatRoom.chatId))
+                .thenReturn(updatedChatRoom)
+            whenever(chatRepository.monitorChatListItemUpdates()).thenReturn(
+                flowOf(
+                    ChatListItem(
+                        chatId = updatedChatRoom.chatId,
+                        changes = ChatListItemChanges.LastMessage,
+                    )
+                )
+            )
+
+            val result = underTest.invoke(
+                chatRoomType = chatRoomType,
+                lastMessage = { chatId ->
+                    lastMessageCalls.add(chatId)
+                    "message ${lastMessageCalls.size}"
+                },
+                lastTimeMapper = lastTimeMapper,
+                meetingTimeMapper = meetingTimeMapper,
+                headerTimeMapper = headerTimeMapper,
+            ).toList().last()
+
+            assertThat(lastMessageCalls.count { it == updatedChatRoom.chatId }).isEqualTo(2)
+            assertThat(result.first { it.chatId == updatedChatRoom.chatId }.lastMessage)
+                .isEqualTo("message ${chatRooms.size + 1}")
+            verify(getChatGroupAvatarUseCase, times(chatRooms.size)).invoke(anyLong())
+            verify(getChatCallUseCase, times(chatRooms.size)).invoke(anyLong())
+            verify(notificationsRepository, times(chatRooms.size)).isChatEnabled(anyLong())
+        }
+
+    @Test
+    fun `test that the chat list is cleared when the collection completes`() = runTest {
+        whenever(chatRoomItemMapper(any())).thenAnswer {
+            val chatRoom = ((it.arguments[0]) as CombinedChatRoom)
+            ChatRoomItem.GroupChatRoomItem(chatId = chatRoom.chatId, title = chatRoom.title)
+        }
+
+        underTest.invoke(
+            chatRoomType = GetChatsUseCase.ChatRoomType.NON_MEETINGS,
+            lastMessage = lastMessage,
+            lastTimeMapper = lastTimeMapper,
+            meetingTimeMapper = meetingTimeMapper,
+            headerTimeMapper = headerTimeMapper,
+        ).first()
+
+        assertThat(chatListItemRepository.chatLists).isEmpty()
+    }
+
+    /**
+     * In memory [ChatListItemRepository]
+     */
+    private class FakeChatListItemRepository : ChatListItemRepository {
+
+        val chatLists = mutableMapOf<Long, LinkedHashMap<Long, ChatRoomItem>>()
+
+        private val enrichedChatIds = mutableMapOf<Long, MutableSet<Long>>()
+
+        private var lastListId = 0L
+
+        override fun createChatList(): Long = synchronized(this) {
+            (++lastListId).also {
+                chatLists[it] = LinkedHashMap()
+                enrichedChatIds[it] = mutableSetOf()
+            }
+        }
+
+        override suspend fun setChatListItems(listId: Long, items: List<ChatRoomItem>) =
+            synchronized(this) {
+                chatLists[listId]?.run {
+                    clear()
+                    items.forEach { put(it.chatId, it) }
+                }
+                enrichedChatIds[listId]?.clear()
+                Unit
+            }
+
+        override suspend fun getChatListItems(listId: Long): List<ChatRoomItem> =
+            synchronized(this) { chatLists[listId]?.values?.toList().orEmpty() }
+
+        override suspend fun getEnrichedChatListItem(listId: Long, chatId: Long): ChatRoomItem? =
+            synchronized(this) {
+                chatLists[listId]?.get(chatId)
+                    ?.takeIf { enrichedChatIds[listId]?.contains(chatId) == true }
+            }
+
+        override suspend fun findChatListItemId(
+            listId: Long,
+            predicate: (ChatRoomItem) -> Boolean,
+        ): Long? = synchronized(this) {
+            chatLists[listId]?.values?.firstOrNull(predicate)?.chatId
+        }
+
+        override suspend fun putEnrichedChatListItem(
+            listId: Long,
+            item: ChatRoomItem,
+            onlyIfNotEnriched: Boolean,
+        ): Boolean = synchronized(this) {
+            val items = chatLists[listId] ?: return false
+            val enriched = enrichedChatIds.getValue(listId)
+            if (onlyIfNotEnriched && (item.chatId in enriched || !items.containsKey(item.chatId))) {
+                return false
+            }
+            enriched.add(item.chatId)
+            items.put(item.chatId, item) != item
+        }
+
+        override suspend fun updateChatListItem(
+            listId: Long,
+            chatId: Long,
+            transform: (ChatRoomItem) -> ChatRoomItem,
+        ): Boolean = synchronized(this) {
+            val items = chatLists[listId] ?: return false
+            val currentItem = items[chatId] ?: return false
+            val updatedItem = transform(currentItem)
+            if (updatedItem == currentItem) return false
+            items[chatId] = updatedItem
+            true
+        }
+
+        override suspend fun removeChatListItem(listId: Long, chatId: Long): Boolean =
+            synchronized(this) {
+                enrichedChatIds[listId]?.remove(chatId)
+                chatLists[listId]?.remove(chatId) != null
+            }
+
+        override fun clearChatList(listId: Long) = synchronized(this) {
+            chatLists.remove(listId)
+            enrichedChatIds.remove(listId)
+            Unit
+        }
+    }
 }
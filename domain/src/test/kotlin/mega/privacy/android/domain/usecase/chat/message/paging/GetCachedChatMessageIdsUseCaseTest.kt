@@ -0,0 +1,31 @@
+package mega.privacy.android.domain.usecase.chat.message.paging
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.repository.chat.ChatMessageRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetCachedChatMessageIdsUseCaseTest {
+    private lateinit var underTest: GetCachedChatMessageIdsUseCase
+
+    private val chatMessageRepository = mock<ChatMessageRepository>()
+
+    @BeforeAll
+    internal fun setUp() {
+        underTest = GetCachedChatMessageIdsUseCase(chatMessageRepository = chatMessageRepository)
+    }
+
+    @Test
+    internal fun `test that the cached message ids of the repository are returned`() = runTest {
+        val chatId = 123L
+        val expected = setOf(1L, 2L)
+        whenever(chatMessageRepository.getCachedMessageIds(chatId)).thenReturn(expected)
+
+        assertThat(underTest(chatId)).isEqualTo(expected)
+    }
+}
@@ -0,0 +1,109 @@
+package mega.privacy.android.domain.usecase.chat.message.paging
+
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.chat.ChatMessage
+import mega.privacy.android.domain.repository.chat.ChatMessageRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReconcileChatMessagesUseCaseTest {
+    private lateinit var underTest: ReconcileChatMessagesUseCase
+
+    private val chatMessageRepository = mock<ChatMessageRepository>()
+    private val saveChatMessagesUseCase = mock<SaveChatMessagesUseCase>()
+
+    private val chatId = 123L
+
+    @BeforeEach
+    internal fun setUp() {
+        reset(
+            chatMessageRepository,
+            saveChatMessagesUseCase,
+        )
+        underTest = ReconcileChatMessagesUseCase(
+            chatMessageRepository = chatMessageRepository,
+            saveChatMessagesUseCase = saveChatMessagesUseCase,
+        )
+    }
+
+    @Test
+    internal fun `test that fetched messages are saved`() = runTest {
+        val messages = listOf(message(id = 3L, timestamp = 30L), message(id = 2L, timestamp = 20L))
+        whenever(chatMessageRepository.getCachedMessageIds(chatId)).thenReturn(emptySet())
+
+        underTest(chatId, messages, isHistoryComplete = false)
+
+        verify(saveChatMessagesUseCase).invoke(chatId, messages)
+    }
+
+    @Test
+    internal fun `test that older cached messages are kept if the fetched messages reach them`() =
+        runTest {
+            val messages =
+                listOf(message(id = 3L, timestamp = 30L), message(id = 2L, timestamp = 20L))
+            whenever(chatMessageRepository.getCachedMessageIds(chatId))
+                .thenReturn(setOf(1L, 2L))
+
+            underTest(chatId, messages, isHistoryComplete = false)
+
+            verify(chatMessageRepository).deleteStaleMessages(
+                chatId = chatId,
+                fromTimestamp = 20L,
+                keptMessageIds = setOf(3L, 2L),
+            )
+        }
+
+    @Test
+    internal fun `test that all the other cached messages are deleted if the fetched messages do not reach them`() =
+        runTest {
+            val messages =
+                listOf(message(id = 5L, timestamp = 50L), message(id = 4L, timestamp = 40L))
+            whenever(chatMessageRepository.getCachedMessageIds(chatId))
+                .thenReturn(setOf(1L, 2L))
+
+            underTest(chatId, messages, isHistoryComplete = false)
+
+            verify(chatMessageRepository).deleteStaleMessages(
+                chatId = chatId,
+                fromTimestamp = Long.MIN_VALUE,
+                keptMessageIds = setOf(5L, 4L),
+            )
+        }
+
+    @Test
+    internal fun `test that all the other cached messages are deleted if the history is complete`() =
+        runTest {
+            val messages = listOf(message(id = 2L, timestamp = 20L))
+            whenever(chatMessageRepository.getCachedMessageIds(chatId))
+                .thenReturn(setOf(1L, 2L))
+
+            underTest(chatId, messages, isHistoryComplete = true)
+
+            verify(chatMessageRepository).deleteStaleMessages(
+                chatId = chatId,
+                fromTimestamp = Long.MIN_VALUE,
+                keptMessageIds = setOf(2L),
+            )
+        }
+
+    @Test
+    internal fun `test that no cached message is deleted if nothing was fetched and the history is not complete`() =
+        runTest {
+            underTest(chatId, emptyList(), isHistoryComplete = false)
+
+            verify(chatMessageRepository, never()).deleteStaleMessages(any(), any(), any())
+        }
+
+    private fun message(id: Long, timestamp: Long) = mock<ChatMessage> {
+        on { messageId }.thenReturn(id)
+        on { this.timestamp }.thenReturn(timestamp)
+    }
+}
@@ -0,0 +1,40 @@
+package mega.privacy.android.domain.usecase.chat.message.search
+
+import androidx.paging.PagingSource
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.chat.messages.search.ChatMessageSearchResult
+import mega.privacy.android.domain.repository.chat.ChatMessageRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchChatMessagesUseCaseTest {
+    private lateinit var underTest: SearchChatMessagesUseCase
+
+    private val chatMessageRepository = mock<ChatMessageRepository>()
+
+    @BeforeAll
+    internal fun setUp() {
+        underTest = SearchChatMessagesUseCase(chatMessageRepository = chatMessageRepository)
+    }
+
+    @Test
+    internal fun `test that the messages are searched in all the chats by default`() {
+        val pagingSource = mock<PagingSource<Int, ChatMessageSearchResult>>()
+        whenever(chatMessageRepository.searchMessages("link", null)).thenReturn(pagingSource)
+
+        assertThat(underTest("link")).isEqualTo(pagingSource)
+    }
+
+    @Test
+    internal fun `test that the messages are searched in the selected chat`() {
+        val chatId = 123L
+        val pagingSource = mock<PagingSource<Int, ChatMessageSearchResult>>()
+        whenever(chatMessageRepository.searchMessages("link", chatId)).thenReturn(pagingSource)
+
+        assertThat(underTest("link", chatId)).isEqualTo(pagingSource)
+    }
+}
@@ -1,6 +1,9 @@
 package mega.privacy.android.domain.usecase.node
 
+import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.DeviceType
 import mega.privacy.android.domain.entity.FolderType
@@ -13,8 +16,12 @@ import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -160,4 +167,39 @@ class AddNodesTypeUseCaseTest {
         assertThat(result.first()).isInstanceOf(DefaultTypedFolderNode::class.java)
         assertThat((result.first() as DefaultTypedFolderNode).type).isEqualTo(FolderType.Default)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that the folder types are looked up once for all the batches`() = runTest {
+        val folderNodes = (1L..3L).map { handle ->
+            mock<FolderNode> {
+                on { id }.thenReturn(NodeId(handle))
+                on { parentId }.thenReturn(NodeId(10))
+            }
+        }
+        val groupFolderTypes = mapOf(
+            NodeId(1) to FolderType.MediaSyncFolder,
+            NodeId(20) to FolderType.RootBackup,
+        )
+        whenever(getGroupFolderTypeUseCase()).thenReturn(groupFolderTypes)
+        whenever(hasAncestor(NodeId(10), NodeId(20))).thenReturn(false)
+
+        addNodesTypeUseCase(flowOf(folderNodes.take(1), folderNodes.drop(1))).test {
+            assertThat((awaitItem().single() as DefaultTypedFolderNode).type)
+                .isEqualTo(FolderType.MediaSyncFolder)
+            assertThat(awaitItem().map { (it as DefaultTypedFolderNode).type })
+                .containsExactly(FolderType.Default, FolderType.Default)
+            awaitComplete()
+        }
+        verify(getGroupFolderTypeUseCase, times(1)).invoke()
+        verify(hasAncestor, times(1)).invoke(NodeId(10), NodeId(20))
+    }
+
+    @Test
+    fun `test that the folder types are not looked up if there are no batches`() = runTest {
+        addNodesTypeUseCase(emptyFlow()).test {
+            awaitComplete()
+        }
+        verify(getGroupFolderTypeUseCase, never()).invoke()
+        verify(hasAncestor, never()).invoke(any(), any())
+    }
+}
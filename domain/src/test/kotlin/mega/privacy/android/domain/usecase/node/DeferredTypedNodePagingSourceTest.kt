@@ -0,0 +1,64 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedFolderNode
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DeferredTypedNodePagingSourceTest {
+
+    private val nodes = (1L..3L).map { handle ->
+        mock<TypedFolderNode> { on { id }.thenReturn(NodeId(handle)) }
+    }
+
+    private val refresh =
+        PagingSource.LoadParams.Refresh<Int>(key = null, loadSize = 10, placeholdersEnabled = true)
+
+    @Test
+    fun `test that the source is created once and loaded from`() = runTest {
+        var createCount = 0
+        val underTest = DeferredTypedNodePagingSource {
+            createCount++
+            TypedNodeListPagingSource { nodes }
+        }
+
+        val first = underTest.load(refresh)
+        underTest.load(refresh)
+
+        assertThat((first as PagingSource.LoadResult.Page).data)
+            .containsExactlyElementsIn(nodes).inOrder()
+        assertThat(createCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that an error is returned if the source cannot be created`() = runTest {
+        val exception = RuntimeException()
+        val underTest = DeferredTypedNodePagingSource { throw exception }
+
+        val result = underTest.load(refresh)
+
+        assertThat((result as PagingSource.LoadResult.Error).throwable).isSameInstanceAs(exception)
+    }
+
+    @Test
+    fun `test that invalidation is propagated both ways`() = runTest {
+        val created = TypedNodeListPagingSource { nodes }
+        val underTest = DeferredTypedNodePagingSource { created }
+        underTest.load(refresh)
+
+        underTest.invalidate()
+        assertThat(created.invalid).isTrue()
+
+        val otherCreated = TypedNodeListPagingSource { nodes }
+        val other = DeferredTypedNodePagingSource { otherCreated }
+        other.load(refresh)
+
+        otherCreated.invalidate()
+        assertThat(other.invalid).isTrue()
+    }
+}
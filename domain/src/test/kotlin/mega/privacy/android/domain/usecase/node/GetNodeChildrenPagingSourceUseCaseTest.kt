@@ -0,0 +1,62 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedFileNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.repository.NodeRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetNodeChildrenPagingSourceUseCaseTest {
+
+    private val nodeRepository = mock<NodeRepository>()
+    private val addNodesTypeUseCase = mock<AddNodesTypeUseCase>()
+
+    private val underTest = GetNodeChildrenPagingSourceUseCase(nodeRepository, addNodesTypeUseCase)
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(nodeRepository, addNodesTypeUseCase)
+    }
+
+    @Test
+    fun `test that the pages of the children are typed`() = runTest {
+        val untypedNodes = listOf<FileNode>(mock(), mock())
+        val typedNodes = listOf<TypedFileNode>(mock(), mock())
+        val pagingSource = mock<PagingSource<Int, UnTypedNode>> {
+            onBlocking { load(any()) }.thenReturn(
+                PagingSource.LoadResult.Page(
+                    data = untypedNodes,
+                    prevKey = null,
+                    nextKey = 2,
+                    itemsBefore = 0,
+                    itemsAfter = 3,
+                )
+            )
+        }
+        val parentNodeId = NodeId(123L)
+        whenever(
+            nodeRepository.getNodeChildrenPagingSource(parentNodeId, SortOrder.ORDER_DEFAULT_ASC)
+        ).thenReturn(pagingSource)
+        whenever(addNodesTypeUseCase(untypedNodes)).thenReturn(typedNodes)
+
+        val actual = underTest(parentNodeId, SortOrder.ORDER_DEFAULT_ASC).load(
+            PagingSource.LoadParams.Refresh(key = null, loadSize = 2, placeholdersEnabled = true)
+        ) as PagingSource.LoadResult.Page
+
+        assertThat(actual.data).containsExactlyElementsIn(typedNodes).inOrder()
+        assertThat(actual.nextKey).isEqualTo(2)
+        assertThat(actual.itemsAfter).isEqualTo(3)
+    }
+}
@@ -0,0 +1,62 @@
+package mega.privacy.android.domain.usecase.node
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedFileNode
+import mega.privacy.android.domain.repository.NodeRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+/**
+ * Test class for [GetTypedChildrenNodeInBatchesUseCase]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetTypedChildrenNodeInBatchesUseCaseTest {
+
+    private lateinit var underTest: GetTypedChildrenNodeInBatchesUseCase
+
+    private val nodeRepository = mock<NodeRepository>()
+    private val addNodesTypeUseCase = mock<AddNodesTypeUseCase>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = GetTypedChildrenNodeInBatchesUseCase(
+            nodeRepository = nodeRepository,
+            addNodesTypeUseCase = addNodesTypeUseCase
+        )
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(nodeRepository, addNodesTypeUseCase)
+    }
+
+    @Test
+    fun `test that each batch of children is typed and emitted in order`() = runTest {
+        val untypedNodes = listOf<FileNode>(mock(), mock(), mock())
+        val typedNodes = listOf<TypedFileNode>(mock(), mock(), mock())
+        val parentNodeId = NodeId(123L)
+        val sortOrder = SortOrder.ORDER_DEFAULT_ASC
+        val batches = flowOf(untypedNodes.take(2), untypedNodes.drop(2))
+        whenever(nodeRepository.getNodeChildrenInBatches(parentNodeId, sortOrder))
+            .thenReturn(batches)
+        whenever(addNodesTypeUseCase(batches))
+            .thenReturn(flowOf(typedNodes.take(2), typedNodes.drop(2)))
+
+        underTest(parentNodeId, sortOrder).test {
+            assertThat(awaitItem()).containsExactlyElementsIn(typedNodes.take(2)).inOrder()
+            assertThat(awaitItem()).containsExactlyElementsIn(typedNodes.drop(2)).inOrder()
+            awaitComplete()
+        }
+    }
+}
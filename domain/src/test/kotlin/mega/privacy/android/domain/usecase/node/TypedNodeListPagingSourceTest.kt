@@ -0,0 +1,67 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedFolderNode
+import mega.privacy.android.domain.entity.node.TypedNode
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TypedNodeListPagingSourceTest {
+
+    private val nodes = (1L..5L).map { handle ->
+        mock<TypedFolderNode> { on { id }.thenReturn(NodeId(handle)) }
+    }
+
+    @Test
+    fun `test that the list is loaded once and paged`() = runTest {
+        var loadCount = 0
+        val underTest = TypedNodeListPagingSource {
+            loadCount++
+            nodes
+        }
+
+        val first = underTest.load(
+            PagingSource.LoadParams.Refresh(key = null, loadSize = 3, placeholdersEnabled = true)
+        ).asPage()
+        val second = underTest.load(
+            PagingSource.LoadParams.Append(key = 3, loadSize = 3, placeholdersEnabled = true)
+        ).asPage()
+
+        assertThat(first.data).containsExactlyElementsIn(nodes.take(3)).inOrder()
+        assertThat(first.nextKey).isEqualTo(3)
+        assertThat(second.data).containsExactlyElementsIn(nodes.drop(3)).inOrder()
+        assertThat(second.nextKey).isNull()
+        assertThat(loadCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a node loaded more than once is paged once`() = runTest {
+        val underTest = TypedNodeListPagingSource { nodes + nodes.first() }
+
+        val page = underTest.load(
+            PagingSource.LoadParams.Refresh(key = null, loadSize = 10, placeholdersEnabled = true)
+        ).asPage()
+
+        assertThat(page.data).containsExactlyElementsIn(nodes).inOrder()
+    }
+
+    @Test
+    fun `test that an error is returned if the list cannot be loaded`() = runTest {
+        val exception = RuntimeException()
+        val underTest = TypedNodeListPagingSource { throw exception }
+
+        val result = underTest.load(
+            PagingSource.LoadParams.Refresh(key = null, loadSize = 3, placeholdersEnabled = true)
+        )
+
+        assertThat(result).isEqualTo(PagingSource.LoadResult.Error<Int, TypedNode>(exception))
+    }
+
+    private fun PagingSource.LoadResult<Int, TypedNode>.asPage() =
+        this as PagingSource.LoadResult.Page<Int, TypedNode>
+}
@@ -0,0 +1,84 @@
+package mega.privacy.android.domain.usecase.node
+
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.TypedFileNode
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TypedNodePagingSourceTest {
+
+    private val refresh =
+        PagingSource.LoadParams.Refresh(key = null, loadSize = 2, placeholdersEnabled = true)
+
+    @Test
+    fun `test that each page is typed as a whole`() = runTest {
+        val untypedNodes = listOf<FileNode>(mock(), mock())
+        val typedNodes = listOf<TypedFileNode>(mock(), mock())
+        val typedPages = mutableListOf<List<UnTypedNode>>()
+        val underTest = TypedNodePagingSource(
+            source = FakeSource(
+                PagingSource.LoadResult.Page(untypedNodes, null, 2, 0, 8)
+            ),
+            addNodesType = {
+                typedPages.add(it)
+                typedNodes
+            },
+        )
+
+        val actual = underTest.load(refresh) as PagingSource.LoadResult.Page
+
+        assertThat(actual.data).containsExactlyElementsIn(typedNodes).inOrder()
+        assertThat(actual.prevKey).isNull()
+        assertThat(actual.nextKey).isEqualTo(2)
+        assertThat(actual.itemsAfter).isEqualTo(8)
+        assertThat(typedPages).containsExactly(untypedNodes)
+    }
+
+    @Test
+    fun `test that an error is returned if the page cannot be typed`() = runTest {
+        val exception = RuntimeException()
+        val underTest = TypedNodePagingSource(
+            source = FakeSource(PagingSource.LoadResult.Page(emptyList(), null, null)),
+            addNodesType = { throw exception },
+        )
+
+        assertThat(underTest.load(refresh))
+            .isEqualTo(PagingSource.LoadResult.Error<Int, TypedNode>(exception))
+    }
+
+    @Test
+    fun `test that invalidating the typed source invalidates the source`() {
+        val source = FakeSource(PagingSource.LoadResult.Page(emptyList(), null, null))
+        val underTest = TypedNodePagingSource(source = source, addNodesType = { emptyList() })
+
+        underTest.invalidate()
+
+        assertThat(source.invalid).isTrue()
+    }
+
+    @Test
+    fun `test that invalidating the source invalidates the typed source`() {
+        val source = FakeSource(PagingSource.LoadResult.Page(emptyList(), null, null))
+        val underTest = TypedNodePagingSource(source = source, addNodesType = { emptyList() })
+
+        source.invalidate()
+
+        assertThat(underTest.invalid).isTrue()
+    }
+
+    private class FakeSource(
+        private val result: PagingSource.LoadResult<Int, UnTypedNode>,
+    ) : PagingSource<Int, UnTypedNode>() {
+        override fun getRefreshKey(state: PagingState<Int, UnTypedNode>): Int? = null
+
+        override suspend fun load(params: LoadParams<Int>) = result
+    }
+}
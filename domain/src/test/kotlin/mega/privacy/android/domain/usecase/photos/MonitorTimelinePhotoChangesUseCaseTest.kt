@@ -0,0 +1,52 @@
+package mega.privacy.android.domain.usecase.photos
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotoChangeSet
+import mega.privacy.android.domain.repository.PhotosRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MonitorTimelinePhotoChangesUseCaseTest {
+    private lateinit var underTest: MonitorTimelinePhotoChangesUseCase
+
+    private val photosRepository = mock<PhotosRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = MonitorTimelinePhotoChangesUseCase(photosRepository = photosRepository)
+    }
+
+    @Test
+    fun `test that the photo changes of the repository are returned`() = runTest {
+        val photo = mock<Photo.Image>()
+        val expected = PhotoChangeSet(
+            version = 2L,
+            photos = mapOf(1L to photo),
+            updatedIds = setOf(1L),
+        )
+        whenever(photosRepository.monitorPhotoChanges()).thenReturn(flowOf(expected))
+
+        underTest().test {
+            assertThat(awaitItem()).isEqualTo(expected)
+            awaitComplete()
+        }
+    }
+
+    @Test
+    fun `test that changes are incremental only from the previous version`() {
+        val changeSet = PhotoChangeSet(version = 3L, photos = emptyMap())
+
+        assertThat(changeSet.isIncrementalFrom(2L)).isTrue()
+        assertThat(changeSet.isIncrementalFrom(1L)).isFalse()
+        assertThat(changeSet.isIncrementalFrom(null)).isFalse()
+        assertThat(changeSet.copy(isReset = true).isIncrementalFrom(2L)).isFalse()
+    }
+}
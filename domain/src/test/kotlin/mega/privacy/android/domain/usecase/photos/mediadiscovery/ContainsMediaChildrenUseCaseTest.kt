@@ -0,0 +1,49 @@
+package mega.privacy.android.domain.usecase.photos.mediadiscovery
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.AudioFileTypeInfo
+import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.SvgFileTypeInfo
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.repository.NodeRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+import kotlin.time.Duration
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ContainsMediaChildrenUseCaseTest {
+
+    private val nodeRepository = mock<NodeRepository>()
+
+    private val underTest = ContainsMediaChildrenUseCase(nodeRepository)
+
+    private val parentNodeId = NodeId(1234L)
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(nodeRepository)
+    }
+
+    @Test
+    fun `test that true is returned if any child is an image`() = runTest {
+        whenever(nodeRepository.getNodeChildrenFileTypes(nodeId = parentNodeId)).thenReturn(
+            listOf(AudioFileTypeInfo("", "", Duration.ZERO), StaticImageFileTypeInfo("", ""))
+        )
+
+        assertThat(underTest(parentNodeId)).isTrue()
+    }
+
+    @Test
+    fun `test that false is returned if no child is an image or a video`() = runTest {
+        whenever(nodeRepository.getNodeChildrenFileTypes(nodeId = parentNodeId)).thenReturn(
+            listOf(AudioFileTypeInfo("", "", Duration.ZERO), SvgFileTypeInfo("", ""))
+        )
+
+        assertThat(underTest(parentNodeId)).isFalse()
+    }
+}
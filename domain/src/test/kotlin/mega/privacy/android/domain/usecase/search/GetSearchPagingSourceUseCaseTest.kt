@@ -0,0 +1,134 @@
+package mega.privacy.android.domain.usecase.search
+
+import androidx.paging.PagingSource
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.entity.node.TypedFolderNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.entity.search.SearchCategory
+import mega.privacy.android.domain.entity.search.SearchParameters
+import mega.privacy.android.domain.entity.search.SearchTarget
+import mega.privacy.android.domain.repository.SearchRepository
+import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetSearchPagingSourceUseCaseTest {
+
+    private val getCloudSortOrder: GetCloudSortOrder = mock()
+    private val searchRepository: SearchRepository = mock()
+    private val addNodesTypeUseCase: AddNodesTypeUseCase = mock()
+    private val searchUseCase: SearchUseCase = mock()
+    private val underTest = GetSearchPagingSourceUseCase(
+        getCloudSortOrder = getCloudSortOrder,
+        searchRepository = searchRepository,
+        addNodesTypeUseCase = addNodesTypeUseCase,
+        searchUseCase = searchUseCase,
+    )
+
+    private val sharedNode = mock<TypedFolderNode> { on { id }.thenReturn(NodeId(3L)) }
+    private val unTypedSource = mock<PagingSource<Int, UnTypedNode>>()
+    private val refresh =
+        PagingSource.LoadParams.Refresh<Int>(key = null, loadSize = 10, placeholdersEnabled = true)
+
+    @BeforeEach
+    fun resetMocks() = runTest {
+        reset(getCloudSortOrder, searchRepository, addNodesTypeUseCase, searchUseCase, unTypedSource)
+        whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
+        whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+        whenever(unTypedSource.load(refresh)).thenReturn(
+            PagingSource.LoadResult.Page(data = emptyList(), prevKey = null, nextKey = null)
+        )
+        whenever(addNodesTypeUseCase(emptyList())).thenReturn(emptyList())
+    }
+
+    @Test
+    fun `test that the incoming shares root is paged from the whole list`() = runTest {
+        whenever(searchUseCase(NodeId(any()), any(), any())).thenReturn(listOf(sharedNode))
+
+        val actual = underTest(
+            parentHandle = NodeId(-1),
+            nodeSourceType = NodeSourceType.INCOMING_SHARES,
+            searchParameters = SearchParameters(
+                query = "",
+                searchTarget = SearchTarget.INCOMING_SHARE,
+                searchCategory = SearchCategory.ALL
+            )
+        )
+
+        verifyNoInteractions(searchUseCase)
+        val page = actual.load(refresh) as PagingSource.LoadResult.Page
+        assertThat(page.data).containsExactly(sharedNode)
+        verify(searchRepository, never()).getChildrenPagingSource(anyOrNull(), any(), any())
+        verify(searchRepository, never()).getSearchPagingSource(anyOrNull(), any(), any())
+    }
+
+    @Test
+    fun `test that the children paging source of the root node is returned when query is empty`() =
+        runTest {
+            val parameters = SearchParameters(query = "", searchCategory = SearchCategory.ALL)
+            whenever(searchRepository.getRootNodeId()).thenReturn(NodeId(1L))
+            whenever(
+                searchRepository.getChildrenPagingSource(
+                    nodeId = NodeId(1L),
+                    order = SortOrder.ORDER_NONE,
+                    parameters = parameters,
+                )
+            ).thenReturn(unTypedSource)
+
+            val actual = underTest(
+                parentHandle = NodeId(-1),
+                nodeSourceType = NodeSourceType.CLOUD_DRIVE,
+                searchParameters = parameters,
+            )
+
+            assertThat(actual.load(refresh)).isInstanceOf(PagingSource.LoadResult.Page::class.java)
+            verify(unTypedSource).load(refresh)
+        }
+
+    @Test
+    fun `test that the search paging source is returned when query is not empty`() = runTest {
+        val parameters = SearchParameters(query = "query", searchCategory = SearchCategory.ALL)
+        whenever(
+            searchRepository.getSearchPagingSource(
+                nodeId = NodeId(2L),
+                order = SortOrder.ORDER_NONE,
+                parameters = parameters,
+            )
+        ).thenReturn(unTypedSource)
+
+        val actual = underTest(
+            parentHandle = NodeId(2L),
+            nodeSourceType = NodeSourceType.CLOUD_DRIVE,
+            searchParameters = parameters,
+        )
+
+        assertThat(actual.load(refresh)).isInstanceOf(PagingSource.LoadResult.Page::class.java)
+        verify(unTypedSource).load(refresh)
+    }
+
+    @Test
+    fun `test that the repository is not queried until the paging source is loaded`() = runTest {
+        underTest(
+            parentHandle = NodeId(2L),
+            nodeSourceType = NodeSourceType.CLOUD_DRIVE,
+            searchParameters = SearchParameters(query = "query"),
+        )
+
+        verifyNoInteractions(searchRepository, getCloudSortOrder)
+    }
+}
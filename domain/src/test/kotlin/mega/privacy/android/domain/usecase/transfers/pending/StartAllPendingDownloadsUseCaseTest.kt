@@ -2,28 +2,40 @@ package mega.privacy.android.domain.usecase.transfers.pending
 
 import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.flow.emptyFlow
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
 import kotlinx.coroutines.yield
 import mega.privacy.android.domain.entity.node.DefaultTypedFileNode
+import mega.privacy.android.domain.entity.node.DefaultTypedFolderNode
+import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.transfer.MultiTransferEvent
 import mega.privacy.android.domain.entity.transfer.TransferAppData
+import mega.privacy.android.domain.entity.transfer.TransferEvent
+import mega.privacy.android.domain.entity.transfer.TransferStage
 import mega.privacy.android.domain.entity.transfer.TransferType
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransferState
+import mega.privacy.android.domain.entity.transfer.pending.UpdateAlreadyTransferredFilesCount
+import mega.privacy.android.domain.entity.transfer.pending.UpdateScanningFoldersData
+import mega.privacy.android.domain.exception.node.NodeDoesNotExistsException
 import mega.privacy.android.domain.repository.TransferRepository
 import mega.privacy.android.domain.usecase.transfers.downloads.DownloadNodesUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.doSuspendableAnswer
 import org.mockito.kotlin.doThrow
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
@@ -39,8 +51,6 @@ class StartAllPendingDownloadsUseCaseTest {
     private val getTypedNodeFromPendingTransferUseCase =
         mock<GetTypedNodeFromPendingTransferUseCase>()
     private val downloadNodesUseCase = mock<DownloadNodesUseCase>()
-    private val updatePendingTransferStartedCountUseCase =
-        mock<UpdatePendingTransferStartedCountUseCase>()
 
     @BeforeAll
     fun setUp() {
@@ -50,7 +60,6 @@ class StartAllPendingDownloadsUseCaseTest {
             updatePendingTransferStateUseCase,
             getTypedNodeFromPendingTransferUseCase,
             downloadNodesUseCase,
-            updatePendingTransferStartedCountUseCase,
         )
     }
 
@@ -62,7 +71,6 @@ class StartAllPendingDownloadsUseCaseTest {
             updatePendingTransferStateUseCase,
             getTypedNodeFromPendingTransferUseCase,
             downloadNodesUseCase,
-            updatePendingTransferStartedCountUseCase,
         )
     }
 
@@ -188,11 +196,13 @@ class StartAllPendingDownloadsUseCaseTest {
         }
 
     @Test
-    fun `test that updatePendingTransferStartedCountUseCase is invoked when allTransfersUpdated event is received`() =
+    fun `test that the started count of a folder is set from the event counters when allTransfersUpdated event is received`() =
         runTest {
-            val pendingTransfer = mock<PendingTransfer>()
+            val pendingTransfer = mock<PendingTransfer> {
+                on { pendingTransferId } doReturn 5L
+            }
             stubNotSentPendingTransfers(listOf(pendingTransfer))
-            val typedNode = mock<DefaultTypedFileNode>()
+            val typedNode = mock<DefaultTypedFolderNode>()
             val event = mock<MultiTransferEvent.SingleTransferEvent> {
                 on { allTransfersUpdated } doReturn true
                 on { startedFiles } doReturn 45
@@ -213,10 +223,8 @@ class StartAllPendingDownloadsUseCaseTest {
                 cancelAndIgnoreRemainingEvents()
             }
 
-            verify(updatePendingTransferStartedCountUseCase)(
-                pendingTransfer,
-                event.startedFiles,
-                event.alreadyTransferred,
+            verify(transferRepository).updatePendingTransfers(
+                listOf(UpdateAlreadyTransferredFilesCount(5L, 45, 1))
             )
         }
 
@@ -282,6 +290,177 @@ class StartAllPendingDownloadsUseCaseTest {
             )
         }
 
+    @Test
+    fun `test that files with the same destination are downloaded together and their started count is set in a single batch`() =
+        runTest {
+            val appData = mock<TransferAppData.ChatUpload>()
+            val pendingTransfers = (1..2).map { index ->
+                mock<PendingTransfer> {
+                    on { path } doReturn "path/"
+                    on { this.appData } doReturn appData
+                    on { isHighPriority } doReturn false
+                    on { pendingTransferId } doReturn index.toLong()
+                }
+            }
+            val nodes = pendingTransfers.mapIndexed { index, pendingTransfer ->
+                mock<DefaultTypedFileNode> {
+                    on { id } doReturn NodeId(index.toLong())
+                }.also {
+                    whenever(getTypedNodeFromPendingTransferUseCase(pendingTransfer)) doReturn it
+                }
+            }
+            val event = mock<MultiTransferEvent.SingleTransferEvent> {
+                on { allTransfersUpdated } doReturn true
+                on { startedIds } doReturn nodes.map { it.id }.toSet()
+                on { alreadyTransferredIds } doReturn setOf(nodes[1].id)
+            }
+            whenever(
+                downloadNodesUseCase(eq(nodes), eq("path/"), eq(appData), eq(false))
+            ) doReturn flowOf(event, event)
+            stubNotSentPendingTransfers(pendingTransfers)
+
+            underTest().test {
+                awaitItem()
+                cancelAndIgnoreRemainingEvents()
+            }
+
+            verify(downloadNodesUseCase).invoke(nodes, "path/", appData, false)
+            verify(transferRepository).updatePendingTransfers(
+                listOf(
+                    UpdateAlreadyTransferredFilesCount(1L, 1, 0),
+                    UpdateAlreadyTransferredFilesCount(2L, 1, 1),
+                )
+            )
+            verify(transferRepository, never()).updatePendingTransfer(any())
+        }
+
+    @Test
+    fun `test that the files of a group that were not started are set as errors`() =
+        runTest {
+            val pendingTransfers = (1..2).map { index ->
+                mock<PendingTransfer> {
+                    on { path } doReturn "path/"
+                    on { pendingTransferId } doReturn index.toLong()
+                }
+            }
+            val nodes = pendingTransfers.mapIndexed { index, pendingTransfer ->
+                mock<DefaultTypedFileNode> {
+                    on { id } doReturn NodeId(index.toLong())
+                    on { size } doReturn 10L
+                }.also {
+                    whenever(getTypedNodeFromPendingTransferUseCase(pendingTransfer)) doReturn it
+                }
+            }
+            val exception = NodeDoesNotExistsException()
+            val event = mock<MultiTransferEvent.SingleTransferEvent> {
+                on { allTransfersUpdated } doReturn true
+                on { startedIds } doReturn setOf(nodes[0].id)
+            }
+            whenever(
+                downloadNodesUseCase(eq(nodes), eq("path/"), anyOrNull(), eq(false))
+            ) doReturn flowOf(MultiTransferEvent.TransferNotStarted(nodes[1].id, exception), event)
+            stubNotSentPendingTransfers(pendingTransfers)
+
+            underTest().test {
+                awaitItem()
+                cancelAndIgnoreRemainingEvents()
+            }
+
+            verify(transferRepository).updatePendingTransfers(
+                listOf(UpdateAlreadyTransferredFilesCount(1L, 1, 0))
+            )
+            verify(updatePendingTransferStateUseCase)(
+                listOf(pendingTransfers[1]),
+                PendingTransferState.ErrorStarting
+            )
+            verify(transferRepository).addCompletedTransferFromFailedPendingTransfer(
+                pendingTransfers[1],
+                10L,
+                exception,
+            )
+        }
+
+    @Test
+    fun `test that a folder is started without waiting for the lookups of a group of files`() =
+        runTest {
+            val pendingTransfers = (1..3).map { index ->
+                mock<PendingTransfer> {
+                    on { path } doReturn "path/"
+                    on { pendingTransferId } doReturn index.toLong()
+                }
+            }
+            val fileNodes = (1..2).map { mock<DefaultTypedFileNode>() }
+            val folderNode = mock<DefaultTypedFolderNode>()
+            val lastFileLookup = CompletableDeferred<Unit>()
+            whenever(getTypedNodeFromPendingTransferUseCase(pendingTransfers[0])) doReturn fileNodes[0]
+            whenever(getTypedNodeFromPendingTransferUseCase(pendingTransfers[1])) doSuspendableAnswer {
+                lastFileLookup.await()
+                fileNodes[1]
+            }
+            whenever(getTypedNodeFromPendingTransferUseCase(pendingTransfers[2])) doReturn folderNode
+            whenever(downloadNodesUseCase(any(), any(), anyOrNull(), any())) doReturn emptyFlow()
+            stubNotSentPendingTransfers(pendingTransfers)
+
+            underTest().test {
+                awaitItem()
+                advanceUntilIdle()
+                verify(downloadNodesUseCase).invoke(listOf(folderNode), "path/", null, false)
+                verify(downloadNodesUseCase, never()).invoke(fileNodes, "path/", null, false)
+
+                lastFileLookup.complete(Unit)
+                advanceUntilIdle()
+                verify(downloadNodesUseCase).invoke(fileNodes, "path/", null, false)
+                cancelAndIgnoreRemainingEvents()
+            }
+        }
+
+    @Test
+    fun `test that the scanning folders data is saved in a single batch with the latest values`() =
+        runTest {
+            val pendingTransfer = mock<PendingTransfer> {
+                on { pendingTransferId } doReturn 5L
+            }
+            stubNotSentPendingTransfers(listOf(pendingTransfer))
+            val typedNode = mock<DefaultTypedFolderNode>()
+            val events = (1L..3L).map { count ->
+                mock<MultiTransferEvent.SingleTransferEvent> {
+                    on { transferEvent } doReturn mock<TransferEvent.FolderTransferUpdateEvent> {
+                        on { stage } doReturn TransferStage.STAGE_SCANNING
+                        on { fileCount } doReturn count
+                        on { folderCount } doReturn count
+                        on { createdFolderCount } doReturn 0L
+                    }
+                }
+            }
+            whenever(getTypedNodeFromPendingTransferUseCase(pendingTransfer)) doReturn typedNode
+            whenever(
+                downloadNodesUseCase(
+                    eq(listOf(typedNode)),
+                    anyOrNull(),
+                    anyOrNull(),
+                    anyOrNull(),
+                )
+            ) doReturn flowOf(*events.toTypedArray())
+
+            underTest().test {
+                awaitItem()
+                cancelAndIgnoreRemainingEvents()
+            }
+
+            verify(transferRepository).updatePendingTransfers(
+                listOf(
+                    UpdateScanningFoldersData(
+                        pendingTransferId = 5L,
+                        stage = TransferStage.STAGE_SCANNING,
+                        fileCount = 3,
+                        folderCount = 3,
+                        createdFolderCount = 0,
+                    )
+                )
+            )
+            verify(transferRepository, never()).updatePendingTransfer(any())
+        }
+
     private fun stubNotSentPendingTransfers(vararg pendingTransfers: List<PendingTransfer>) {
         whenever(
             getPendingTransfersByTypeAndStateUseCase(
@@ -0,0 +1,41 @@
+package mega.privacy.android.domain.usecase.video
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.repository.VideoRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetMaxConcurrentVideoCompressionsUseCaseTest {
+    private lateinit var underTest: GetMaxConcurrentVideoCompressionsUseCase
+
+    private val videoRepository = mock<VideoRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = GetMaxConcurrentVideoCompressionsUseCase(videoRepository = videoRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(videoRepository)
+    }
+
+    @ParameterizedTest(name = "repository: {0}, expected: {1}")
+    @CsvSource("0,1", "1,1", "3,3")
+    fun `test that at least one concurrent video compression is returned`(
+        repositoryValue: Int,
+        expected: Int,
+    ) = runTest {
+        whenever(videoRepository.getMaxConcurrentVideoCompressions()).thenReturn(repositoryValue)
+
+        assertThat(underTest()).isEqualTo(expected)
+    }
+}
@@ -0,0 +1,49 @@
+package mega.privacy.android.domain.usecase.zipbrowser
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.zipbrowser.ZipExtractionProgress
+import mega.privacy.android.domain.repository.ZipBrowserRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+import java.util.zip.ZipFile
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MonitorUnzipFileUseCaseTest {
+    private lateinit var underTest: MonitorUnzipFileUseCase
+    private val zipBrowserRepository = mock<ZipBrowserRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = MonitorUnzipFileUseCase(zipBrowserRepository = zipBrowserRepository)
+    }
+
+    @BeforeEach
+    fun resetMock() {
+        reset(zipBrowserRepository)
+    }
+
+    @Test
+    fun `test that the extraction progress of the zip tree node is returned`() = runTest {
+        val zipFile = mock<ZipFile>()
+        val unzipRootPath = "/unzip/"
+        val zipTreeNodePath = "folder"
+        val started = ZipExtractionProgress(extractedBytes = 0, totalBytes = 100)
+        val finished = ZipExtractionProgress(extractedBytes = 100, totalBytes = 100)
+        whenever(zipBrowserRepository.monitorUnzipFile(zipFile, unzipRootPath, zipTreeNodePath))
+            .thenReturn(flowOf(started, finished))
+
+        underTest(zipFile, unzipRootPath, zipTreeNodePath).test {
+            assertThat(awaitItem()).isEqualTo(started)
+            assertThat(awaitItem().progress.floatValue).isEqualTo(1f)
+            awaitComplete()
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package mega.privacy.android.domain.usecase.zipbrowser
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
+import mega.privacy.android.domain.repository.ZipBrowserRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MonitorZipTreeMapUseCaseTest {
+    private lateinit var underTest: MonitorZipTreeMapUseCase
+    private val zipBrowserRepository = mock<ZipBrowserRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = MonitorZipTreeMapUseCase(zipBrowserRepository = zipBrowserRepository)
+    }
+
+    @BeforeEach
+    fun resetMock() {
+        reset(zipBrowserRepository)
+    }
+
+    @Test
+    fun `test that the partial and complete ZipNodeTrees are returned`() =
+        runTest {
+            val partialMap = mapOf("folder" to mock<ZipTreeNode>())
+            val completeMap = partialMap + ("folder/file.txt" to mock<ZipTreeNode>())
+            whenever(zipBrowserRepository.monitorZipNodeTree(anyOrNull()))
+                .thenReturn(flowOf(partialMap, completeMap))
+
+            underTest(mock()).test {
+                assertThat(awaitItem()).isEqualTo(partialMap)
+                assertThat(awaitItem()).isEqualTo(completeMap)
+                awaitComplete()
+            }
+        }
+}
@@ -0,0 +1,14 @@
+package mega.privacy.android.feature.sync.data.gateway
+
+import kotlinx.coroutines.flow.Flow
+
+internal interface SyncDebrisObserverGateway {
+
+    /**
+     * Monitor the changes in the debris folders of the syncs
+     *
+     * @param localFolderPaths local folders of the syncs
+     * @return a flow emitting every time a debris folder, or one of its folders, changes
+     */
+    fun monitorDebrisChanges(localFolderPaths: List<String>): Flow<Unit>
+}
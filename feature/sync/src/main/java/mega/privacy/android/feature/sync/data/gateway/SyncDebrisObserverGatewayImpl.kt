@@ -0,0 +1,85 @@
+package mega.privacy.android.feature.sync.data.gateway
+
+import android.os.FileObserver
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.callbackFlow
+import java.io.File
+import javax.inject.Inject
+
+/**
+ * Gateway to observe the sync debris folders with [FileObserver]
+ *
+ * [FileObserver] is not recursive, so it observes the local folder of every sync, to know when
+ * its debris folder is created or removed, the debris folder and each of its folders.
+ */
+internal class SyncDebrisObserverGatewayImpl @Inject constructor() : SyncDebrisObserverGateway {
+
+    override fun monitorDebrisChanges(localFolderPaths: List<String>): Flow<Unit> = callbackFlow {
+        val observers = DebrisObservers(localFolderPaths) { trySend(Unit) }
+        observers.start()
+        awaitClose { observers.stop() }
+    }
+
+    private class DebrisObservers(
+        private val localFolderPaths: List<String>,
+        private val onChange: () -> Unit,
+    ) {
+        private val observers = HashMap<String, FileObserver>()
+
+        fun start() = refresh()
+
+        fun stop() = synchronized(observers) {
+            observers.values.forEach(FileObserver::stopWatching)
+            observers.clear()
+        }
+
+        /**
+         * Observes the debris folders and their folders that exist now, and stops observing the
+         * ones that do not exist anymore
+         */
+        private fun refresh() = synchronized(observers) {
+            val localFolders = localFolderPaths.toSet()
+            val debrisFolders = localFolderPaths
+                .map { File(it, DEBRIS_FOLDER_NAME) }
+                .filter(File::isDirectory)
+            val folders = debrisFolders.flatMap { debrisFolder ->
+                debrisFolder.listFiles(File::isDirectory).orEmpty().map(File::getPath)
+            }
+            val paths = localFolders + debrisFolders.map(File::getPath) + folders
+            (observers.keys - paths).forEach { observers.remove(it)?.stopWatching() }
+            localFolders.forEach { path ->
+                observe(path, STRUCTURE_EVENTS) { name ->
+                    if (name == DEBRIS_FOLDER_NAME) {
+                        refresh()
+                        onChange()
+                    }
+                }
+            }
+            debrisFolders.forEach { debrisFolder ->
+                observe(debrisFolder.path, CONTENT_EVENTS) {
+                    refresh()
+                    onChange()
+                }
+            }
+            folders.forEach { path ->
+                observe(path, CONTENT_EVENTS) { onChange() }
+            }
+        }
+
+        @Suppress("DEPRECATION")
+        private fun observe(path: String, mask: Int, callback: (name: String?) -> Unit) {
+            if (observers.containsKey(path)) return
+            observers[path] = object : FileObserver(path, mask) {
+                override fun onEvent(event: Int, name: String?) = callback(name)
+            }.apply { startWatching() }
+        }
+    }
+
+    private companion object {
+        const val DEBRIS_FOLDER_NAME = ".debris"
+        const val STRUCTURE_EVENTS = FileObserver.CREATE or FileObserver.DELETE or
+                FileObserver.MOVED_FROM or FileObserver.MOVED_TO
+        const val CONTENT_EVENTS = STRUCTURE_EVENTS or FileObserver.CLOSE_WRITE
+    }
+}
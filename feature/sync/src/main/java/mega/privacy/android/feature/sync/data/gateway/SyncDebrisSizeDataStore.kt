@@ -0,0 +1,12 @@
+package mega.privacy.android.feature.sync.data.gateway
+
+import mega.privacy.android.feature.sync.data.model.SyncDebrisSize
+
+internal interface SyncDebrisSizeDataStore {
+
+    suspend fun get(): List<SyncDebrisSize>
+
+    suspend fun set(debrisSizes: List<SyncDebrisSize>)
+
+    suspend fun clear()
+}
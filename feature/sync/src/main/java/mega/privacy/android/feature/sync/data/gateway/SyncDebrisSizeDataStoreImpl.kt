@@ -0,0 +1,53 @@
+package mega.privacy.android.feature.sync.data.gateway
+
+import android.content.Context
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import androidx.datastore.preferences.core.stringPreferencesKey
+import androidx.datastore.preferences.preferencesDataStore
+import com.google.gson.Gson
+import com.google.gson.reflect.TypeToken
+import kotlinx.coroutines.flow.firstOrNull
+import mega.privacy.android.feature.sync.data.model.SyncDebrisSize
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Named
+
+internal const val syncDebrisSizeDataStoreName = "syncDebrisSizeDataStore"
+
+/**
+ * Data store of the last computed sizes of the sync debris folders
+ */
+internal class SyncDebrisSizeDataStoreImpl @Inject constructor(
+    @Named(syncDebrisSizeDataStoreName) private val dataStore: DataStore<Preferences>,
+    private val gson: Gson,
+) : SyncDebrisSizeDataStore {
+
+    private val debrisSizesKey = stringPreferencesKey(name = "debrisSizes")
+
+    private val debrisSizesType = object : TypeToken<List<SyncDebrisSize>>() {}.type
+
+    override suspend fun get(): List<SyncDebrisSize> =
+        dataStore.data.firstOrNull()?.get(debrisSizesKey)?.let { json ->
+            runCatching { gson.fromJson<List<SyncDebrisSize>>(json, debrisSizesType) }
+                .onFailure { Timber.e(it, "Error reading the sync debris sizes") }
+                .getOrNull()
+        }.orEmpty()
+
+    override suspend fun set(debrisSizes: List<SyncDebrisSize>) {
+        dataStore.edit {
+            it[debrisSizesKey] = gson.toJson(debrisSizes, debrisSizesType)
+        }
+    }
+
+    override suspend fun clear() {
+        dataStore.edit {
+            it.remove(debrisSizesKey)
+        }
+    }
+}
+
+internal val Context.syncDebrisSizeDataStore: DataStore<Preferences> by preferencesDataStore(
+    name = syncDebrisSizeDataStoreName,
+)
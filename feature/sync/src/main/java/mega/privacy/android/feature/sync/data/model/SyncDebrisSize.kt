@@ -0,0 +1,30 @@
+package mega.privacy.android.feature.sync.data.model
+
+/**
+ * Persisted size of the debris folder of a sync
+ *
+ * @property syncId id of the sync
+ * @property path absolute path of the debris folder
+ * @property sizeInBytes total size of the debris folder
+ * @property folders size of each folder inside the debris folder, by name
+ */
+internal data class SyncDebrisSize(
+    val syncId: Long,
+    val path: String,
+    val sizeInBytes: Long,
+    val folders: Map<String, SyncDebrisFolderSize>,
+)
+
+/**
+ * Persisted size of a folder inside a debris folder
+ *
+ * The SDK moves the removed files to a folder per day, so only the folders whose last modified
+ * time changed need to be walked again.
+ *
+ * @property lastModified last modified time of the folder when its size was computed
+ * @property sizeInBytes total size of the folder
+ */
+internal data class SyncDebrisFolderSize(
+    val lastModified: Long,
+    val sizeInBytes: Long,
+)
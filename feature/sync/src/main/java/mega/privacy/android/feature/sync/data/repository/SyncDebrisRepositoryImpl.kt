@@ -1,47 +1,119 @@
 package mega.privacy.android.feature.sync.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.debounce
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.feature.sync.data.gateway.SyncDebrisGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisObserverGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisSizeDataStore
+import mega.privacy.android.feature.sync.data.model.SyncDebrisFolderSize
+import mega.privacy.android.feature.sync.data.model.SyncDebrisSize
 import mega.privacy.android.feature.sync.domain.entity.FolderPair
 import mega.privacy.android.feature.sync.domain.entity.SyncDebris
 import mega.privacy.android.feature.sync.domain.repository.SyncDebrisRepository
+import java.io.File
 import javax.inject.Inject
+import kotlin.time.Duration.Companion.seconds
 
 internal class SyncDebrisRepositoryImpl @Inject constructor(
     private val fileGateway: FileGateway,
     private val syncDebrisGateway: SyncDebrisGateway,
+    private val syncDebrisSizeDataStore: SyncDebrisSizeDataStore,
+    private val syncDebrisObserverGateway: SyncDebrisObserverGateway,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : SyncDebrisRepository {
 
+    private val debrisSizeMutex = Mutex()
+
     override suspend fun clear() {
         withContext(ioDispatcher) {
             syncDebrisGateway.get().forEach { debris ->
                 fileGateway.deleteDirectory(debris.path)
             }.also {
                 syncDebrisGateway.set(emptyList())
+                syncDebrisSizeDataStore.clear()
             }
         }
     }
 
     override suspend fun getSyncDebrisForSyncs(syncs: List<FolderPair>): List<SyncDebris> =
         withContext(ioDispatcher) {
-            syncs.mapNotNull { sync ->
-                val syncDebrisFolder =
+            debrisSizeMutex.withLock {
+                val cachedSizes = syncDebrisSizeDataStore.get()
+                val cachedSizesByPath = cachedSizes.associateBy { it.path }
+                val debrisSizes = syncs.mapNotNull { sync ->
                     fileGateway.findFileInDirectory(sync.localFolderPath, DEBRIS_FOLDER_NAME)
-                syncDebrisFolder?.let {
-                    SyncDebris(
-                        syncId = sync.id,
-                        path = syncDebrisFolder.absolutePath,
-                        sizeInBytes = fileGateway.getTotalSize(syncDebrisFolder)
-                    )
+                        ?.let { debrisFolder ->
+                            getDebrisSize(
+                                syncId = sync.id,
+                                debrisFolder = debrisFolder,
+                                cachedSize = cachedSizesByPath[debrisFolder.absolutePath],
+                            )
+                        }
+                }
+                if (debrisSizes != cachedSizes) {
+                    syncDebrisSizeDataStore.set(debrisSizes)
                 }
-            }.also(syncDebrisGateway::set)
+                debrisSizes.map { it.toSyncDebris() }.also(syncDebrisGateway::set)
+            }
         }
 
+    override suspend fun getCachedSyncDebris(): List<SyncDebris> = withContext(ioDispatcher) {
+        syncDebrisSizeDataStore.get().map { it.toSyncDebris() }
+    }
+
+    @OptIn(FlowPreview::class)
+    override fun monitorSyncDebrisChanges(syncs: List<FolderPair>): Flow<Unit> =
+        syncDebrisObserverGateway.monitorDebrisChanges(syncs.map { it.localFolderPath })
+            .debounce(DEBRIS_CHANGES_DEBOUNCE)
+            .flowOn(ioDispatcher)
+
+    /**
+     * Computes the size of a debris folder, walking in parallel only its folders that changed
+     * since the cached size was computed
+     */
+    private suspend fun getDebrisSize(
+        syncId: Long,
+        debrisFolder: File,
+        cachedSize: SyncDebrisSize?,
+    ): SyncDebrisSize = coroutineScope {
+        val files = debrisFolder.listFiles().orEmpty()
+        val folders = files.filter(File::isDirectory).map { folder ->
+            async {
+                val lastModified = folder.lastModified()
+                val folderSize = cachedSize?.folders?.get(folder.name)
+                    ?.takeIf { it.lastModified == lastModified }
+                    ?: SyncDebrisFolderSize(
+                        lastModified = lastModified,
+                        sizeInBytes = fileGateway.getTotalSize(folder),
+                    )
+                folder.name to folderSize
+            }
+        }.awaitAll().toMap()
+        SyncDebrisSize(
+            syncId = syncId,
+            path = debrisFolder.absolutePath,
+            sizeInBytes = files.filter(File::isFile).sumOf(File::length) +
+                    folders.values.sumOf { it.sizeInBytes },
+            folders = folders,
+        )
+    }
+
+    private fun SyncDebrisSize.toSyncDebris() =
+        SyncDebris(syncId = syncId, path = path, sizeInBytes = sizeInBytes)
+
     private companion object {
         private const val DEBRIS_FOLDER_NAME = ".debris"
+        private val DEBRIS_CHANGES_DEBOUNCE = 1.seconds
     }
-}
\ No newline at end of file
+}
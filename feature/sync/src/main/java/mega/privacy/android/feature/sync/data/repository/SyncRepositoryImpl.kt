@@ -2,17 +2,23 @@ package mega.privacy.android.feature.sync.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.channelFlow
 import kotlinx.coroutines.flow.filter
 import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.merge
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.onStart
 import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.backup.SyncErrorMapper
@@ -28,6 +34,7 @@ import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncWorkManagerGateway
 import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
 import mega.privacy.android.feature.sync.data.mapper.SyncByWifiToNetworkTypeMapper
+import mega.privacy.android.feature.sync.data.mapper.SyncStatusMapper
 import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssuesMapper
 import mega.privacy.android.feature.sync.data.model.MegaSyncListenerEvent
 import mega.privacy.android.feature.sync.domain.entity.FolderPair
@@ -36,7 +43,10 @@ import mega.privacy.android.feature.sync.domain.repository.SyncRepository
 import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaSyncList
 import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.seconds
 
 internal class SyncRepositoryImpl @Inject constructor(
     private val syncWorkManagerGateway: SyncWorkManagerGateway,
@@ -44,6 +54,7 @@ internal class SyncRepositoryImpl @Inject constructor(
     private val syncStatsCacheGateway: SyncStatsCacheGateway,
     private val megaApiGateway: MegaApiGateway,
     private val folderPairMapper: FolderPairMapper,
+    private val syncStatusMapper: SyncStatusMapper,
     private val stalledIssuesMapper: StalledIssuesMapper,
     private val syncErrorMapper: SyncErrorMapper,
     private val syncTypeMapper: SyncTypeMapper,
@@ -54,6 +65,14 @@ internal class SyncRepositoryImpl @Inject constructor(
 
     private val _refreshShow = MutableSharedFlow<Unit>()
 
+    /**
+     * Running state of the folder pairs by id, to map the status of a single folder pair when
+     * its stats change
+     */
+    private val folderPairRunStates = ConcurrentHashMap<Long, Int>()
+
+    private val syncStateMetrics = SyncStateMetrics()
+
     override suspend fun setupFolderPair(
         syncType: SyncType,
         name: String?,
@@ -91,6 +110,7 @@ internal class SyncRepositoryImpl @Inject constructor(
                 val megaFolderName =
                     megaApiGateway.getMegaNodeByHandle(folderPairModel.megaHandle)?.name ?: ""
                 val syncStats = syncStatsCacheGateway.getSyncStatsById(folderPairModel.backupId)
+                folderPairRunStates[folderPairModel.backupId] = folderPairModel.runState
                 folderPairMapper(
                     folderPairModel,
                     megaFolderName,
@@ -122,6 +142,33 @@ internal class SyncRepositoryImpl @Inject constructor(
     }
     override val syncChanges: Flow<MegaSyncListenerEvent> = _syncChanges
 
+    /**
+     * Sync changes coalesced in windows of [SYNC_CHANGES_WINDOW], so a burst of stats updates
+     * during an active sync only refreshes the folder pairs and stalled issues once
+     */
+    private val _syncChangesBatches by lazy {
+        channelFlow {
+            val mutex = Mutex()
+            var pendingBatch: SyncChangesBatch? = null
+            _syncChanges.collect { event ->
+                syncStateMetrics.onEvent()
+                mutex.withLock {
+                    val isWindowOpen = pendingBatch != null
+                    pendingBatch = (pendingBatch ?: SyncChangesBatch()) + event
+                    if (!isWindowOpen) {
+                        launch {
+                            delay(SYNC_CHANGES_WINDOW)
+                            mutex.withLock { pendingBatch.also { pendingBatch = null } }
+                                ?.let { send(it) }
+                        }
+                    }
+                }
+            }
+        }
+            .flowOn(ioDispatcher)
+            .shareIn(appScope, SharingStarted.Eagerly)
+    }
+
     override suspend fun getSyncStalledIssues(): List<StalledIssue> = withContext(ioDispatcher) {
         runCatching {
             syncGateway.getSyncStalledIssues()?.let { stalledIssues ->
@@ -136,8 +183,9 @@ internal class SyncRepositoryImpl @Inject constructor(
     }
 
     private val _syncStalledIssues by lazy {
-        _syncChanges
-            .map { getSyncStalledIssues() }
+        _syncChangesBatches
+            .filter { it.refreshStalledIssues }
+            .map { syncStateMetrics.measureStalledIssues { getSyncStalledIssues() } }
             .onStart { emit(getSyncStalledIssues()) }
             .flowOn(ioDispatcher)
             .shareIn(appScope, SharingStarted.Eagerly, replay = 1)
@@ -146,13 +194,50 @@ internal class SyncRepositoryImpl @Inject constructor(
     override fun monitorStalledIssues() = _syncStalledIssues
 
     private val _folderPair by lazy {
-        _syncChanges
-            .map { getFolderPairs() }
-            .onStart { emit(getFolderPairs()) }
+        flow {
+            var folderPairs = getFolderPairs()
+            emit(folderPairs)
+            _syncChangesBatches.collect { batch ->
+                val updatedFolderPairs = syncStateMetrics.measureFolderPairs {
+                    if (batch.refreshFolderPairs) {
+                        getFolderPairs()
+                    } else {
+                        folderPairs.withSyncStats(batch.statsFolderPairIds) ?: getFolderPairs()
+                    }
+                }
+                if (updatedFolderPairs != folderPairs) {
+                    folderPairs = updatedFolderPairs
+                    emit(updatedFolderPairs)
+                }
+            }
+        }
             .flowOn(ioDispatcher)
             .shareIn(appScope, SharingStarted.Eagerly, replay = 1)
     }
 
+    /**
+     * Maps again the status of the folder pairs whose stats changed, from the cached stats
+     *
+     * @param folderPairIds the ids of the folder pairs with new stats
+     * @return the folder pairs, or null if a folder pair is unknown and they need to be fetched
+     */
+    private fun List<FolderPair>.withSyncStats(folderPairIds: Set<Long>): List<FolderPair>? {
+        if (folderPairIds.any { id -> none { it.id == id } }) return null
+        return map { folderPair ->
+            if (folderPair.id in folderPairIds) {
+                val runState = folderPairRunStates[folderPair.id] ?: return null
+                folderPair.copy(
+                    syncStatus = syncStatusMapper(
+                        syncStatsCacheGateway.getSyncStatsById(folderPair.id),
+                        runState
+                    )
+                )
+            } else {
+                folderPair
+            }
+        }
+    }
+
     override fun monitorFolderPairChanges() = _folderPair
 
     override suspend fun refreshSync() {
@@ -187,4 +272,98 @@ internal class SyncRepositoryImpl @Inject constructor(
     override suspend fun stopSyncWorker() {
         syncWorkManagerGateway.cancelSyncWorkerRequest()
     }
+
+    /**
+     * Sync changes received within a window
+     *
+     * @property statsFolderPairIds ids of the folder pairs with new stats
+     * @property refreshFolderPairs true if the folder pairs need to be fetched again
+     * @property refreshStalledIssues true if the stalled issues need to be fetched again
+     */
+    private data class SyncChangesBatch(
+        val statsFolderPairIds: Set<Long> = emptySet(),
+        val refreshFolderPairs: Boolean = false,
+        val refreshStalledIssues: Boolean = false,
+    ) {
+        operator fun plus(event: MegaSyncListenerEvent) = when (event) {
+            is MegaSyncListenerEvent.OnSyncStatsUpdated ->
+                copy(statsFolderPairIds = statsFolderPairIds + event.syncStats.backupId)
+
+            is MegaSyncListenerEvent.OnSyncStateChanged,
+            is MegaSyncListenerEvent.OnSyncDeleted,
+            MegaSyncListenerEvent.OnGlobalSyncStateChanged,
+            MegaSyncListenerEvent.OnRefreshSyncState,
+            -> copy(refreshFolderPairs = true, refreshStalledIssues = true)
+        }
+    }
+
+    /**
+     * Metrics of the sync state updates, logged every [METRICS_INTERVAL]
+     */
+    private class SyncStateMetrics {
+        private val lock = Any()
+        private var intervalStart = System.nanoTime()
+        private var eventCount = 0
+        private var folderPairsCount = 0
+        private var folderPairsNanos = 0L
+        private var stalledIssuesCount = 0
+        private var stalledIssuesNanos = 0L
+
+        fun onEvent() = synchronized(lock) {
+            eventCount++
+            logIfIntervalElapsed()
+        }
+
+        inline fun <T> measureFolderPairs(block: () -> T): T {
+            val start = System.nanoTime()
+            return block().also {
+                onFolderPairs(System.nanoTime() - start)
+            }
+        }
+
+        inline fun <T> measureStalledIssues(block: () -> T): T {
+            val start = System.nanoTime()
+            return block().also {
+                onStalledIssues(System.nanoTime() - start)
+            }
+        }
+
+        fun onFolderPairs(nanos: Long) = synchronized(lock) {
+            folderPairsCount++
+            folderPairsNanos += nanos
+        }
+
+        fun onStalledIssues(nanos: Long) = synchronized(lock) {
+            stalledIssuesCount++
+            stalledIssuesNanos += nanos
+        }
+
+        private fun logIfIntervalElapsed() {
+            val elapsed = System.nanoTime() - intervalStart
+            if (elapsed < METRICS_INTERVAL.inWholeNanoseconds) return
+            Timber.d(
+                "Sync state: %.1f events/s, %d folder pair updates (avg %d ms), " +
+                        "%d stalled issue updates (avg %d ms)",
+                eventCount * 1_000_000_000.0 / elapsed,
+                folderPairsCount,
+                folderPairsNanos.averageMillis(folderPairsCount),
+                stalledIssuesCount,
+                stalledIssuesNanos.averageMillis(stalledIssuesCount),
+            )
+            intervalStart += elapsed
+            eventCount = 0
+            folderPairsCount = 0
+            folderPairsNanos = 0L
+            stalledIssuesCount = 0
+            stalledIssuesNanos = 0L
+        }
+
+        private fun Long.averageMillis(count: Int) =
+            if (count == 0) 0L else this / count / 1_000_000L
+    }
+
+    companion object {
+        private val SYNC_CHANGES_WINDOW = 300.milliseconds
+        private val METRICS_INTERVAL = 30.seconds
+    }
 }
\ No newline at end of file
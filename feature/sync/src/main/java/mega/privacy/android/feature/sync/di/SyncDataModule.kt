@@ -12,6 +12,10 @@ import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
 import mega.privacy.android.feature.sync.data.gateway.SyncDebrisGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncDebrisGatewayImpl
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisObserverGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisObserverGatewayImpl
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisSizeDataStore
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisSizeDataStoreImpl
 import mega.privacy.android.feature.sync.data.gateway.SyncGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncGatewayImpl
 import mega.privacy.android.feature.sync.data.gateway.SyncPreferencesDatastore
@@ -28,6 +32,8 @@ import mega.privacy.android.feature.sync.data.gateway.UserPausedSyncGateway
 import mega.privacy.android.feature.sync.data.gateway.UserPausedSyncGatewayImpl
 import mega.privacy.android.feature.sync.data.gateway.notification.SyncNotificationGateway
 import mega.privacy.android.feature.sync.data.gateway.notification.SyncNotificationGatewayImpl
+import mega.privacy.android.feature.sync.data.gateway.syncDebrisSizeDataStore
+import mega.privacy.android.feature.sync.data.gateway.syncDebrisSizeDataStoreName
 import mega.privacy.android.feature.sync.data.gateway.syncPrefsDataStore
 import mega.privacy.android.feature.sync.data.gateway.syncPrefsDataStoreName
 import mega.privacy.android.feature.sync.data.gateway.syncPromotionDataStore
@@ -113,6 +119,14 @@ internal interface SyncDataModule {
     @Singleton
     fun bindSyncDebrisGateway(implementation: SyncDebrisGatewayImpl): SyncDebrisGateway
 
+    @Binds
+    @Singleton
+    fun bindSyncDebrisSizeDataStore(implementation: SyncDebrisSizeDataStoreImpl): SyncDebrisSizeDataStore
+
+    @Binds
+    @Singleton
+    fun bindSyncDebrisObserverGateway(implementation: SyncDebrisObserverGatewayImpl): SyncDebrisObserverGateway
+
     @Binds
     @Singleton
     fun bindSyncWorkManagerGateway(implementation: SyncWorkManagerGatewayImpl): SyncWorkManagerGateway
@@ -130,6 +144,12 @@ internal interface SyncDataModule {
         fun provideSyncPromotionDataStore(@ApplicationContext context: Context): DataStore<Preferences> =
             context.syncPromotionDataStore
 
+        @Provides
+        @Named(syncDebrisSizeDataStoreName)
+        @Singleton
+        fun provideSyncDebrisSizeDataStore(@ApplicationContext context: Context): DataStore<Preferences> =
+            context.syncDebrisSizeDataStore
+
         @Provides
         fun provideGson(): Gson =
             Gson()
@@ -1,5 +1,6 @@
 package mega.privacy.android.feature.sync.domain.repository
 
+import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.feature.sync.domain.entity.FolderPair
 import mega.privacy.android.feature.sync.domain.entity.SyncDebris
 
@@ -8,4 +9,14 @@ internal interface SyncDebrisRepository {
     suspend fun clear()
 
     suspend fun getSyncDebrisForSyncs(syncs: List<FolderPair>): List<SyncDebris>
-}
\ No newline at end of file
+
+    /**
+     * Get the sync debris computed the last time, without walking the debris folders
+     */
+    suspend fun getCachedSyncDebris(): List<SyncDebris>
+
+    /**
+     * Monitor the changes in the debris folders of the syncs
+     */
+    fun monitorSyncDebrisChanges(syncs: List<FolderPair>): Flow<Unit>
+}
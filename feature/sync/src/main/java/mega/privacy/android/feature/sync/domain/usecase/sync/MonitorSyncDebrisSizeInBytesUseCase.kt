@@ -0,0 +1,49 @@
+package mega.privacy.android.feature.sync.domain.usecase.sync
+
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.distinctUntilChangedBy
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onStart
+import mega.privacy.android.feature.sync.domain.repository.SyncDebrisRepository
+import javax.inject.Inject
+
+/**
+ * Use case for monitoring the total size of all sync debris
+ *
+ * It emits the size computed the last time first, and then the size computed again every time
+ * the syncs or their debris folders change.
+ */
+internal class MonitorSyncDebrisSizeInBytesUseCase @Inject constructor(
+    private val monitorSyncsUseCase: MonitorSyncsUseCase,
+    private val syncDebrisRepository: SyncDebrisRepository,
+) {
+
+    /**
+     * Invoke.
+     *
+     * @return A [Flow] that emits the total size of all sync debris in bytes
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    operator fun invoke(): Flow<Long> = flow {
+        emit(syncDebrisRepository.getCachedSyncDebris().sumOf { it.sizeInBytes })
+        emitAll(
+            monitorSyncsUseCase()
+                .distinctUntilChangedBy { syncs -> syncs.map { it.id to it.localFolderPath } }
+                .flatMapLatest { syncs ->
+                    syncDebrisRepository.monitorSyncDebrisChanges(syncs)
+                        .onStart { emit(Unit) }
+                        .conflate()
+                        .map {
+                            syncDebrisRepository.getSyncDebrisForSyncs(syncs)
+                                .sumOf { it.sizeInBytes }
+                        }
+                }
+        )
+    }.distinctUntilChanged()
+}
@@ -2,6 +2,7 @@ package mega.privacy.android.feature.sync.domain.usecase.sync.worker
 
 import mega.privacy.android.domain.usecase.appstart.AppStartTask
 import javax.inject.Inject
+import kotlin.reflect.KClass
 
 /**
  * Task to stop the sync worker when the app starts.
@@ -13,6 +14,16 @@ class StopSyncWorkerTask @Inject constructor(
     private val stopSyncWorkerUseCase: StopSyncWorkerUseCase,
 ) : AppStartTask {
 
+    /**
+     * Cancelling the work does not need anything else to be ready
+     */
+    override val dependencies: Set<KClass<out AppStartTask>> = emptySet()
+
+    /**
+     * WorkManager can be used from any thread
+     */
+    override val isMainThreadRequired = false
+
     override suspend fun invoke() {
         stopSyncWorkerUseCase()
     }
@@ -5,11 +5,13 @@ import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.ClearSyncDebrisUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.GetSyncDebrisSizeInBytesUseCase
+import mega.privacy.android.feature.sync.domain.usecase.sync.MonitorSyncDebrisSizeInBytesUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.option.MonitorSyncByWiFiUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.option.SetSyncByWiFiUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.worker.GetSyncFrequencyUseCase
@@ -26,6 +28,7 @@ internal class SettingsSyncViewModel @Inject constructor(
     monitorSyncByWiFiUseCase: MonitorSyncByWiFiUseCase,
     private val setSyncByWiFiUseCase: SetSyncByWiFiUseCase,
     private val getSyncDebrisSizeUseCase: GetSyncDebrisSizeInBytesUseCase,
+    private val monitorSyncDebrisSizeUseCase: MonitorSyncDebrisSizeInBytesUseCase,
     private val clearSyncDebrisUseCase: ClearSyncDebrisUseCase,
     private val getFeatureFlagValueUseCase: GetFeatureFlagValueUseCase,
     private val getSyncFrequencyUseCase: GetSyncFrequencyUseCase,
@@ -49,10 +52,22 @@ internal class SettingsSyncViewModel @Inject constructor(
                 }
             }
         }
-        fetchSyncDebris()
+        monitorSyncDebris()
         loadSyncFrequency()
     }
 
+    private fun monitorSyncDebris() {
+        viewModelScope.launch {
+            monitorSyncDebrisSizeUseCase()
+                .catch { Timber.e(it) }
+                .collect { debrisSize ->
+                    _uiState.update {
+                        it.copy(syncDebrisSizeInBytes = debrisSize)
+                    }
+                }
+        }
+    }
+
     private fun loadSyncFrequency() {
         viewModelScope.launch {
             runCatching {
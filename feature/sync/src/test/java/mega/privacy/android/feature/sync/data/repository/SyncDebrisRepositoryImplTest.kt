@@ -7,6 +7,10 @@ import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.domain.entity.sync.SyncType
 import mega.privacy.android.feature.sync.data.gateway.SyncDebrisGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisObserverGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncDebrisSizeDataStore
+import mega.privacy.android.feature.sync.data.model.SyncDebrisFolderSize
+import mega.privacy.android.feature.sync.data.model.SyncDebrisSize
 import mega.privacy.android.feature.sync.domain.entity.FolderPair
 import mega.privacy.android.feature.sync.domain.entity.RemoteFolder
 import mega.privacy.android.feature.sync.domain.entity.SyncDebris
@@ -18,6 +22,8 @@ import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.api.io.TempDir
 import org.mockito.Mockito.mock
 import org.mockito.Mockito.reset
+import org.mockito.kotlin.any
+import org.mockito.kotlin.never
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.io.File
@@ -29,6 +35,8 @@ class SyncDebrisRepositoryImplTest {
     private lateinit var underTest: SyncDebrisRepositoryImpl
     private val fileGateway: FileGateway = mock()
     private val syncDebrisGateway: SyncDebrisGateway = mock()
+    private val syncDebrisSizeDataStore: SyncDebrisSizeDataStore = mock()
+    private val syncDebrisObserverGateway: SyncDebrisObserverGateway = mock()
     private val ioDispatcher = UnconfinedTestDispatcher()
 
     @TempDir
@@ -42,13 +50,17 @@ class SyncDebrisRepositoryImplTest {
         underTest = SyncDebrisRepositoryImpl(
             fileGateway,
             syncDebrisGateway,
+            syncDebrisSizeDataStore,
+            syncDebrisObserverGateway,
             ioDispatcher
         )
     }
 
     @AfterEach
     fun tearDown() {
-        reset(fileGateway)
+        reset(fileGateway, syncDebrisSizeDataStore)
+        temporaryFolderOne.listFiles()?.forEach { it.deleteRecursively() }
+        temporaryFolderTwo.listFiles()?.forEach { it.deleteRecursively() }
     }
 
     @Test
@@ -64,6 +76,7 @@ class SyncDebrisRepositoryImplTest {
         verify(fileGateway).deleteDirectory("path1")
         verify(fileGateway).deleteDirectory("path2")
         verify(syncDebrisGateway).set(emptyList())
+        verify(syncDebrisSizeDataStore).clear()
     }
 
     @Test
@@ -86,14 +99,17 @@ class SyncDebrisRepositoryImplTest {
                 syncStatus = SyncStatus.SYNCED
             ),
         )
+        val dayFolderOne = File(temporaryFolderOne, "2024-01-01").apply { mkdir() }
+        val dayFolderTwo = File(temporaryFolderTwo, "2024-01-02").apply { mkdir() }
+        whenever(syncDebrisSizeDataStore.get()).thenReturn(emptyList())
         whenever(
             fileGateway.findFileInDirectory(syncs[0].localFolderPath, ".debris")
         ).thenReturn(temporaryFolderOne)
         whenever(
             fileGateway.findFileInDirectory(syncs[1].localFolderPath, ".debris")
         ).thenReturn(temporaryFolderTwo)
-        whenever(fileGateway.getTotalSize(temporaryFolderOne)).thenReturn(1000L)
-        whenever(fileGateway.getTotalSize(temporaryFolderTwo)).thenReturn(2000L)
+        whenever(fileGateway.getTotalSize(dayFolderOne)).thenReturn(1000L)
+        whenever(fileGateway.getTotalSize(dayFolderTwo)).thenReturn(2000L)
         val expected = listOf(
             SyncDebris(
                 syncId = 123L, path = temporaryFolderOne.absolutePath, sizeInBytes = 1000L
@@ -106,5 +122,77 @@ class SyncDebrisRepositoryImplTest {
 
         assertThat(actual).isEqualTo(expected)
         verify(syncDebrisGateway).set(expected)
+        verify(syncDebrisSizeDataStore).set(
+            listOf(
+                SyncDebrisSize(
+                    syncId = 123L,
+                    path = temporaryFolderOne.absolutePath,
+                    sizeInBytes = 1000L,
+                    folders = mapOf(
+                        dayFolderOne.name to SyncDebrisFolderSize(dayFolderOne.lastModified(), 1000L)
+                    ),
+                ),
+                SyncDebrisSize(
+                    syncId = 345L,
+                    path = temporaryFolderTwo.absolutePath,
+                    sizeInBytes = 2000L,
+                    folders = mapOf(
+                        dayFolderTwo.name to SyncDebrisFolderSize(dayFolderTwo.lastModified(), 2000L)
+                    ),
+                ),
+            )
+        )
+    }
+
+    @Test
+    fun `test that unchanged debris folders are not walked again`() = runTest {
+        val sync = FolderPair(
+            id = 123L,
+            syncType = SyncType.TYPE_TWOWAY,
+            pairName = "",
+            localFolderPath = "storage/emulated/0/sync",
+            remoteFolder = RemoteFolder(id = 12L, name = "some folder"),
+            syncStatus = SyncStatus.SYNCED
+        )
+        val unchangedFolder = File(temporaryFolderOne, "2024-01-01").apply { mkdir() }
+        val changedFolder = File(temporaryFolderOne, "2024-01-02").apply { mkdir() }
+        whenever(syncDebrisSizeDataStore.get()).thenReturn(
+            listOf(
+                SyncDebrisSize(
+                    syncId = sync.id,
+                    path = temporaryFolderOne.absolutePath,
+                    sizeInBytes = 1500L,
+                    folders = mapOf(
+                        unchangedFolder.name to
+                                SyncDebrisFolderSize(unchangedFolder.lastModified(), 1000L),
+                        changedFolder.name to
+                                SyncDebrisFolderSize(changedFolder.lastModified() - 1, 500L),
+                    ),
+                )
+            )
+        )
+        whenever(fileGateway.findFileInDirectory(sync.localFolderPath, ".debris"))
+            .thenReturn(temporaryFolderOne)
+        whenever(fileGateway.getTotalSize(changedFolder)).thenReturn(700L)
+
+        val actual = underTest.getSyncDebrisForSyncs(listOf(sync))
+
+        assertThat(actual).containsExactly(
+            SyncDebris(syncId = sync.id, path = temporaryFolderOne.absolutePath, sizeInBytes = 1700L)
+        )
+        verify(fileGateway).getTotalSize(changedFolder)
+        verify(fileGateway, never()).getTotalSize(unchangedFolder)
+    }
+
+    @Test
+    fun `test that cached debris is returned without walking the debris folders`() = runTest {
+        whenever(syncDebrisSizeDataStore.get()).thenReturn(
+            listOf(SyncDebrisSize(123L, "path1", 1000L, emptyMap()))
+        )
+
+        val actual = underTest.getCachedSyncDebris()
+
+        assertThat(actual).containsExactly(SyncDebris(123L, "path1", 1000L))
+        verify(fileGateway, never()).getTotalSize(any())
     }
 }
\ No newline at end of file
@@ -22,13 +22,16 @@ import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncWorkManagerGateway
 import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
 import mega.privacy.android.feature.sync.data.mapper.SyncByWifiToNetworkTypeMapper
+import mega.privacy.android.feature.sync.data.mapper.SyncStatusMapper
 import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssueTypeMapper
 import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssuesMapper
 import mega.privacy.android.feature.sync.data.model.MegaSyncListenerEvent
+import mega.privacy.android.feature.sync.domain.entity.SyncStatus
 import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaSync
 import nz.mega.sdk.MegaSyncList
+import nz.mega.sdk.MegaSyncStats
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -40,6 +43,7 @@ import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.util.stream.Stream
@@ -77,6 +81,7 @@ class SyncRepositoryImplTest {
             syncStatsCacheGateway = syncStatsCacheGateway,
             megaApiGateway = megaApiGateway,
             folderPairMapper = folderPairMapper,
+            syncStatusMapper = SyncStatusMapper(),
             stalledIssuesMapper = stalledIssuesMapper,
             ioDispatcher = unconfinedTestDispatcher,
             syncErrorMapper = syncErrorMapper,
@@ -196,6 +201,62 @@ class SyncRepositoryImplTest {
         verify(syncWorkManagerGateway).cancelSyncWorkerRequest()
     }
 
+    @Test
+    fun `test that stats updates within a window only update the status of their folder pair`() =
+        runTest {
+            val syncUpdates = MutableSharedFlow<MegaSyncListenerEvent>()
+            val backupId = 1L
+            val megaSync = mock<MegaSync> {
+                on { it.backupId } doReturn backupId
+                on { it.runState } doReturn MegaSync.SyncRunningState.RUNSTATE_RUNNING.swigValue()
+                on { it.name } doReturn "name"
+                on { it.localFolder } doReturn "localFolder"
+            }
+            val megaSyncList = mock<MegaSyncList> {
+                on { size() } doReturn 1
+                on { get(0) } doReturn megaSync
+            }
+            val syncStats = mock<MegaSyncStats> {
+                on { it.backupId } doReturn backupId
+                on { isSyncing } doReturn true
+            }
+            whenever(syncGateway.syncUpdate).thenReturn(syncUpdates)
+            whenever(megaApiGateway.globalUpdates).thenReturn(fakeGlobalUpdatesFlow)
+            whenever(syncGateway.getFolderPairs()).thenReturn(megaSyncList)
+            val repository = SyncRepositoryImpl(
+                syncGateway = syncGateway,
+                syncStatsCacheGateway = syncStatsCacheGateway,
+                megaApiGateway = megaApiGateway,
+                folderPairMapper = FolderPairMapper(
+                    SyncStatusMapper(),
+                    SyncErrorMapper(),
+                    SyncTypeMapper(),
+                ),
+                syncStatusMapper = SyncStatusMapper(),
+                stalledIssuesMapper = stalledIssuesMapper,
+                ioDispatcher = unconfinedTestDispatcher,
+                syncErrorMapper = syncErrorMapper,
+                syncTypeMapper = syncTypeMapper,
+                syncWorkManagerGateway = syncWorkManagerGateway,
+                syncByWifiToNetworkTypeMapper = syncByWifiToNetworkTypeMapper,
+                appScope = testScope,
+            )
+            val folderPairs = repository.monitorFolderPairChanges()
+            repository.monitorStalledIssues()
+            assertThat(folderPairs.replayCache.single().single().syncStatus)
+                .isEqualTo(SyncStatus.SYNCED)
+
+            whenever(syncStatsCacheGateway.getSyncStatsById(backupId)).thenReturn(syncStats)
+            repeat(3) { syncUpdates.emit(MegaSyncListenerEvent.OnSyncStatsUpdated(syncStats)) }
+            scheduler.advanceTimeBy(1_000)
+            scheduler.runCurrent()
+
+            assertThat(folderPairs.replayCache.single().single().syncStatus)
+                .isEqualTo(SyncStatus.SYNCING)
+            verify(syncGateway, times(1)).getFolderPairs()
+            verify(syncGateway, times(1)).getSyncStalledIssues()
+        }
+
     private fun provideSyncTypeMapperParametersDirect(): Stream<Arguments> = Stream.of(
         Arguments.of(SyncType.TYPE_TWOWAY, MegaSync.SyncType.TYPE_TWOWAY),
         Arguments.of(SyncType.TYPE_BACKUP, MegaSync.SyncType.TYPE_BACKUP),
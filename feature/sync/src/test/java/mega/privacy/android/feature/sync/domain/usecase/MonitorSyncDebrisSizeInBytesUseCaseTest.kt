@@ -0,0 +1,71 @@
+package mega.privacy.android.feature.sync.domain.usecase
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.sync.SyncType
+import mega.privacy.android.feature.sync.domain.entity.FolderPair
+import mega.privacy.android.feature.sync.domain.entity.RemoteFolder
+import mega.privacy.android.feature.sync.domain.entity.SyncDebris
+import mega.privacy.android.feature.sync.domain.entity.SyncStatus
+import mega.privacy.android.feature.sync.domain.repository.SyncDebrisRepository
+import mega.privacy.android.feature.sync.domain.usecase.sync.MonitorSyncDebrisSizeInBytesUseCase
+import mega.privacy.android.feature.sync.domain.usecase.sync.MonitorSyncsUseCase
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MonitorSyncDebrisSizeInBytesUseCaseTest {
+
+    private lateinit var underTest: MonitorSyncDebrisSizeInBytesUseCase
+
+    private val monitorSyncsUseCase: MonitorSyncsUseCase = mock()
+    private val syncDebrisRepository: SyncDebrisRepository = mock()
+
+    private val sync = FolderPair(
+        id = 343L,
+        syncType = SyncType.TYPE_TWOWAY,
+        pairName = "Sync",
+        localFolderPath = "/storage/emulated/0/Sync",
+        remoteFolder = RemoteFolder(1244L, "sync_mobile"),
+        syncStatus = SyncStatus.SYNCED,
+    )
+
+    @BeforeAll
+    fun setup() {
+        underTest = MonitorSyncDebrisSizeInBytesUseCase(monitorSyncsUseCase, syncDebrisRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(monitorSyncsUseCase, syncDebrisRepository)
+    }
+
+    @Test
+    fun `test that the cached size is emitted before the debris folders are walked`() = runTest {
+        val debrisChanges = MutableSharedFlow<Unit>()
+        whenever(syncDebrisRepository.getCachedSyncDebris())
+            .thenReturn(listOf(SyncDebris(sync.id, sync.localFolderPath, 1000L)))
+        whenever(monitorSyncsUseCase()).thenReturn(flowOf(listOf(sync)))
+        whenever(syncDebrisRepository.monitorSyncDebrisChanges(listOf(sync)))
+            .thenReturn(debrisChanges)
+        whenever(syncDebrisRepository.getSyncDebrisForSyncs(listOf(sync))).thenReturn(
+            listOf(SyncDebris(sync.id, sync.localFolderPath, 1500L)),
+            listOf(SyncDebris(sync.id, sync.localFolderPath, 2000L)),
+        )
+
+        underTest().test {
+            assertThat(awaitItem()).isEqualTo(1000L)
+            assertThat(awaitItem()).isEqualTo(1500L)
+            debrisChanges.emit(Unit)
+            assertThat(awaitItem()).isEqualTo(2000L)
+        }
+    }
+}
@@ -9,6 +9,7 @@ import mega.privacy.android.core.test.extension.CoroutineMainDispatcherExtension
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.ClearSyncDebrisUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.GetSyncDebrisSizeInBytesUseCase
+import mega.privacy.android.feature.sync.domain.usecase.sync.MonitorSyncDebrisSizeInBytesUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.option.MonitorSyncByWiFiUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.option.SetSyncByWiFiUseCase
 import mega.privacy.android.feature.sync.domain.usecase.sync.worker.GetSyncFrequencyUseCase
@@ -41,6 +42,7 @@ class SettingsSyncViewModelTest {
     private val monitorSyncByWiFiUseCase: MonitorSyncByWiFiUseCase = mock()
     private val setSyncByWiFiUseCase: SetSyncByWiFiUseCase = mock()
     private val getSyncDebrisSizeUseCase: GetSyncDebrisSizeInBytesUseCase = mock()
+    private val monitorSyncDebrisSizeUseCase: MonitorSyncDebrisSizeInBytesUseCase = mock()
     private val clearSyncDebrisUseCase: ClearSyncDebrisUseCase = mock()
     private val getFeatureFlagValueUseCase: GetFeatureFlagValueUseCase = mock()
     private val getSyncFrequencyUseCase: GetSyncFrequencyUseCase = mock()
@@ -54,6 +56,7 @@ class SettingsSyncViewModelTest {
         getSyncDebrisSizeUseCase.stub {
             onBlocking { invoke() }.thenReturn(0L)
         }
+        whenever(monitorSyncDebrisSizeUseCase()).thenReturn(flowOf(0L))
     }
 
     @AfterEach
@@ -62,6 +65,7 @@ class SettingsSyncViewModelTest {
             monitorSyncByWiFiUseCase,
             setSyncByWiFiUseCase,
             getSyncDebrisSizeUseCase,
+            monitorSyncDebrisSizeUseCase,
             clearSyncDebrisUseCase,
             getFeatureFlagValueUseCase,
             getSyncFrequencyUseCase,
@@ -113,7 +117,7 @@ class SettingsSyncViewModelTest {
     @Test
     fun `test that the debris size is loaded upon viewmodel initialization`() = runTest {
         val debrisSize = 23L
-        whenever(getSyncDebrisSizeUseCase()).thenReturn(debrisSize)
+        whenever(monitorSyncDebrisSizeUseCase()).thenReturn(flowOf(debrisSize))
 
         initViewModel()
 
@@ -219,6 +223,7 @@ class SettingsSyncViewModelTest {
             monitorSyncByWiFiUseCase,
             setSyncByWiFiUseCase,
             getSyncDebrisSizeUseCase,
+            monitorSyncDebrisSizeUseCase,
             clearSyncDebrisUseCase,
             getFeatureFlagValueUseCase,
             getSyncFrequencyUseCase,
@@ -52,6 +52,7 @@ include(":analytics")
 include(":core-test")
 include(":core-ui-test")
 include(":baselineprofile")
+include(":benchmark")
 include(":navigation")
 include(":legacy-core-ui")
 include(":icon-pack")